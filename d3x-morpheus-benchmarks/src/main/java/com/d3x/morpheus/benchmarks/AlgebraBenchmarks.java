@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.d3x.morpheus.array.ArrayStyle;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameAlgebra;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the DataFrame dot product, inverse and solve for each array style and linear algebra library.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class AlgebraBenchmarks {
+
+    @Param({"DENSE", "SPARSE", "MAPPED"})
+    private ArrayStyle style;
+
+    @Param({"JAMA", "APACHE"})
+    private DataFrameAlgebra.Lib lib;
+
+    @Param({"100", "500"})
+    private int order;
+
+    private DataFrame<Integer,Integer> frame;
+    private DataFrame<Integer,Integer> rhs;
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.frame = BenchmarkFrames.square(order, style, 1L);
+        this.rhs = BenchmarkFrames.square(order, style, 2L).cols().select(col -> col.ordinal() < 10);
+    }
+
+    @Setup(Level.Iteration)
+    public void library() {
+        DataFrameAlgebra.LIBRARY.set(lib);
+    }
+
+
+    @Benchmark
+    public DataFrame<Integer,Integer> dot() {
+        return frame.dot(frame);
+    }
+
+    @Benchmark
+    public DataFrame<Integer,Integer> transposeDot() {
+        return frame.transpose().dot(frame);
+    }
+
+    @Benchmark
+    public DataFrame<Integer,Integer> inverse() {
+        return frame.inverse();
+    }
+
+    @Benchmark
+    public DataFrame<Integer,Integer> solve() {
+        return frame.solve(rhs);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.benchmarks;
+
+import java.util.Random;
+
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.array.ArrayStyle;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.range.Range;
+
+/**
+ * Creates the seeded random frames shared by the benchmarks, so that every array style is measured on identical data.
+ */
+final class BenchmarkFrames {
+
+    /** The keys of the double columns in every benchmark frame */
+    static final String[] COLUMNS = {"A", "B", "C", "D"};
+
+    /** The key of the integer group column in a grouped frame */
+    static final String GROUP = "Group";
+
+    /**
+     * Private constructor
+     */
+    private BenchmarkFrames() {
+        super();
+    }
+
+
+    /**
+     * Returns a frame of uniform random doubles with the columns stored in the array style specified
+     * @param rowCount  the row count
+     * @param style     the array style for each column
+     * @param seed      the random seed
+     * @return          the newly created frame
+     */
+    static DataFrame<Integer,String> random(int rowCount, ArrayStyle style, long seed) {
+        final Random random = new Random(seed);
+        return DataFrame.of(Range.of(0, rowCount), String.class, columns -> {
+            for (String key : COLUMNS) {
+                final Array<Double> values = Array.of(Double.class, rowCount, Double.NaN, style);
+                values.applyDoubles(v -> random.nextDouble());
+                columns.add(key, values);
+            }
+        });
+    }
+
+
+    /**
+     * Returns a frame of uniform random doubles plus an integer column that assigns each row to one of the groups
+     * @param rowCount      the row count
+     * @param groupCount    the number of distinct groups
+     * @param style         the array style for each column
+     * @param seed          the random seed
+     * @return              the newly created frame
+     */
+    static DataFrame<Integer,String> grouped(int rowCount, int groupCount, ArrayStyle style, long seed) {
+        final Random random = new Random(seed);
+        final DataFrame<Integer,String> frame = random(rowCount, style, seed);
+        final Array<Integer> groups = Array.of(Integer.class, rowCount, 0, style);
+        groups.applyInts(v -> random.nextInt(groupCount));
+        frame.cols().add(GROUP, groups);
+        return frame;
+    }
+
+
+    /**
+     * Returns a square frame of random doubles with a dominant diagonal, so that it is well conditioned
+     * @param order     the row and column count
+     * @param style     the array style for each column
+     * @param seed      the random seed
+     * @return          the newly created frame
+     */
+    static DataFrame<Integer,Integer> square(int order, ArrayStyle style, long seed) {
+        final Random random = new Random(seed);
+        return DataFrame.of(Range.of(0, order), Integer.class, columns -> {
+            for (int j = 0; j < order; ++j) {
+                final int colOrdinal = j;
+                final Array<Double> values = Array.of(Double.class, order, Double.NaN, style);
+                values.applyDoubles(v -> random.nextDouble() + (v.index() == colOrdinal ? order : 0d));
+                columns.add(j, values);
+            }
+        });
+    }
+}
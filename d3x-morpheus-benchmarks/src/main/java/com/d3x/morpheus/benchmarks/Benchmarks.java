@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The entry point of the benchmarks jar, which runs JMH and writes the results as JSON by default.
+ *
+ * <p>All the standard JMH command line options are supported, for example
+ * <code>java -jar benchmarks.jar FrameBenchmarks -p style=DENSE -rff baseline.json</code>.
+ * Unless a result format is given with <code>-rf</code>, the results are written as JSON to the file
+ * named by <code>-rff</code>, or to <code>morpheus-benchmarks.json</code> in the working directory.</p>
+ */
+public class Benchmarks {
+
+    /** The default file for the JSON results */
+    static final String DEFAULT_RESULT_FILE = "morpheus-benchmarks.json";
+
+    /**
+     * Private constructor
+     */
+    private Benchmarks() {
+        super();
+    }
+
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(withDefaults(args));
+    }
+
+
+    /**
+     * Returns the command line with the JSON result defaults appended where not specified
+     * @param args  the command line arguments
+     * @return      the arguments to pass to JMH
+     */
+    static String[] withDefaults(String[] args) {
+        final List<String> result = new ArrayList<>(Arrays.asList(args));
+        if (!result.contains("-rf")) {
+            result.add("-rf");
+            result.add("json");
+        }
+        if (!result.contains("-rff")) {
+            result.add("-rff");
+            result.add(DEFAULT_RESULT_FILE);
+        }
+        return result.toArray(new String[0]);
+    }
+}
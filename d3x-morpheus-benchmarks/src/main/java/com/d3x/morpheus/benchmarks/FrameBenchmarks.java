@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.d3x.morpheus.array.ArrayStyle;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.util.Tuple;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the core DataFrame operations, construction, cursor access, applyDoubles, sorting, grouping and rolling
+ * statistics, for each array style.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class FrameBenchmarks {
+
+    @Param({"DENSE", "SPARSE", "MAPPED"})
+    private ArrayStyle style;
+
+    @Param({"100000", "1000000"})
+    private int rowCount;
+
+    private DataFrame<Integer,String> frame;
+    private DataFrame<Integer,String> grouped;
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.frame = BenchmarkFrames.random(rowCount, style, 1L);
+        this.grouped = BenchmarkFrames.grouped(rowCount, 100, style, 2L);
+    }
+
+
+    /**
+     * A copy of the frame whose row order is restored before each sort
+     */
+    @State(Scope.Thread)
+    public static class Unsorted {
+
+        private DataFrame<Integer,String> frame;
+
+        @Setup(Level.Trial)
+        public void setup(FrameBenchmarks benchmarks) {
+            this.frame = benchmarks.frame.copy();
+        }
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            this.frame.rows().sort(null);
+        }
+    }
+
+
+    @Benchmark
+    public DataFrame<Integer,String> create() {
+        return BenchmarkFrames.random(rowCount, style, 1L);
+    }
+
+    @Benchmark
+    public double cursorRead() {
+        double sum = 0d;
+        final int colCount = frame.colCount();
+        final var cursor = frame.cursor();
+        for (int j = 0; j < colCount; ++j) {
+            for (int i = 0; i < rowCount; ++i) {
+                sum += cursor.atOrdinals(i, j).getDouble();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public DataFrame<Integer,String> applyDoubles() {
+        return frame.sequential().applyDoubles(v -> Math.min(v.getDouble(), 0.99d));
+    }
+
+    @Benchmark
+    public DataFrame<Integer,String> applyDoublesParallel() {
+        return frame.parallel().applyDoubles(v -> Math.min(v.getDouble(), 0.99d));
+    }
+
+    @Benchmark
+    public DataFrame<Integer,String> sort(Unsorted unsorted) {
+        return unsorted.frame.rows().sort(true, "A");
+    }
+
+    @Benchmark
+    public DataFrame<Tuple,String> groupByMean() {
+        return grouped.rows().groupBy(BenchmarkFrames.GROUP).stats(0).mean();
+    }
+
+    @Benchmark
+    public DataFrame<Integer,String> rollingMean() {
+        return frame.cols().stats().rolling(20).mean();
+    }
+
+    @Benchmark
+    public DataFrame<Integer,String> rollingStdDev() {
+        return frame.cols().stats().rolling(20).stdDev();
+    }
+}
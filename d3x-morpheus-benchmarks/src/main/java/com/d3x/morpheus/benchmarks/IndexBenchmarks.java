@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.benchmarks;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.index.Index;
+import com.d3x.morpheus.range.Range;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures index construction and key lookups for the common key types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class IndexBenchmarks {
+
+    /** The number of lookups per benchmark invocation */
+    private static final int LOOKUPS = 10000;
+
+    public enum KeyType { INTEGER, LONG, STRING, LOCAL_DATE }
+
+    @Param({"INTEGER", "LONG", "STRING", "LOCAL_DATE"})
+    private KeyType keyType;
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private Array<Object> keys;
+    private Index<Object> index;
+    private Object[] hits;
+    private Object[] misses;
+
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        final Random random = new Random(size);
+        final Range<Integer> range = Range.of(0, size);
+        final LocalDate start = LocalDate.of(1900, 1, 1);
+        switch (keyType) {
+            case INTEGER:       keys = (Array<Object>)(Array<?>)range.toArray();                                 break;
+            case LONG:          keys = (Array<Object>)(Array<?>)range.map(i -> i * 7L).toArray();                  break;
+            case STRING:        keys = (Array<Object>)(Array<?>)range.map(i -> "Key-" + i).toArray();              break;
+            case LOCAL_DATE:    keys = (Array<Object>)(Array<?>)range.map(i -> start.plusDays(i)).toArray();      break;
+            default:            throw new IllegalStateException("Unsupported key type: " + keyType);
+        }
+        this.index = Index.of(keys);
+        this.hits = new Object[LOOKUPS];
+        this.misses = new Object[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; ++i) {
+            hits[i] = keys.getValue(random.nextInt(size));
+            misses[i] = miss(random.nextInt(size));
+        }
+    }
+
+
+    /**
+     * Returns a key of the benchmark type that is not in the index
+     * @param i     a random seed value
+     * @return      the missing key
+     */
+    private Object miss(int i) {
+        switch (keyType) {
+            case INTEGER:       return -1 - i;
+            case LONG:          return i * 7L + 3L;
+            case STRING:        return "Missing-" + i;
+            case LOCAL_DATE:    return LocalDate.of(1800, 1, 1).minusDays(i);
+            default:            throw new IllegalStateException("Unsupported key type: " + keyType);
+        }
+    }
+
+
+    @Benchmark
+    public Index<Object> create() {
+        return Index.of(keys);
+    }
+
+    @Benchmark
+    public long getCoordinate() {
+        long sum = 0L;
+        for (Object key : hits) {
+            sum += index.getCoordinate(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int containsMiss() {
+        int count = 0;
+        for (Object key : misses) {
+            if (index.contains(key)) {
+                ++count;
+            }
+        }
+        return count;
+    }
+}
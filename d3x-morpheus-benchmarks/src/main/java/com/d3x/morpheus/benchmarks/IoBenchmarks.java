@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import com.d3x.morpheus.array.ArrayStyle;
+import com.d3x.morpheus.db.DbSink;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.json.JsonSink;
+import com.d3x.morpheus.json.JsonSource;
+import com.d3x.morpheus.json.JsonStyle;
+import com.d3x.morpheus.util.IO;
+import com.d3x.morpheus.util.functions.Function1;
+
+import org.h2.jdbcx.JdbcDataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading and writing frames as CSV, as JSON, and through JDBC against an in-memory H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class IoBenchmarks {
+
+    private static final String TABLE = "BENCHMARK";
+
+    @Param({"DENSE", "SPARSE", "MAPPED"})
+    private ArrayStyle style;
+
+    @Param({"10000", "100000"})
+    private int rowCount;
+
+    private File dir;
+    private File csvFile;
+    private File jsonFile;
+    private DataFrame<Integer,String> frame;
+    private JdbcDataSource dataSource;
+    private Connection connection;
+
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SQLException {
+        this.dir = Files.createTempDirectory("morpheus-benchmarks").toFile();
+        this.csvFile = new File(dir, "frame.csv");
+        this.jsonFile = new File(dir, "frame.json");
+        this.frame = BenchmarkFrames.random(rowCount, style, 1L);
+        this.frame.write().csv(csvFile).apply();
+        JsonSink.<Integer,String>create().write(frame, JsonStyle.DEFAULT, jsonFile);
+        this.dataSource = new JdbcDataSource();
+        this.dataSource.setURL("jdbc:h2:mem:" + dir.getName() + ";DB_CLOSE_DELAY=-1");
+        this.connection = dataSource.getConnection();
+        this.dropTable();
+        this.writeDb();
+    }
+
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        IO.close(connection);
+        final File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+
+    /**
+     * A state that drops the benchmark table before each write
+     */
+    @State(Scope.Thread)
+    public static class EmptyTable {
+
+        @Setup(Level.Invocation)
+        public void drop(IoBenchmarks benchmarks) throws SQLException {
+            benchmarks.dropTable();
+        }
+    }
+
+
+    /**
+     * Drops the benchmark table if it exists
+     */
+    private void dropTable() throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + TABLE);
+        }
+    }
+
+
+    @Benchmark
+    public void writeCsv() {
+        frame.write().csv(csvFile).apply();
+    }
+
+    @Benchmark
+    public DataFrame<Integer,String> readCsv() {
+        return DataFrame.read(csvFile).csv();
+    }
+
+    @Benchmark
+    public void writeJson() {
+        JsonSink.<Integer,String>create().write(frame, JsonStyle.DEFAULT, jsonFile);
+    }
+
+    @Benchmark
+    public DataFrame<Integer,String> readJson() {
+        return JsonSource.<Integer,String>create().read(JsonStyle.DEFAULT, jsonFile);
+    }
+
+    @Benchmark
+    public void writeDb(EmptyTable empty) {
+        writeDb();
+    }
+
+    @Benchmark
+    public DataFrame<Integer,String> readDb() throws SQLException {
+        final var resultSet = connection.createStatement().executeQuery("select * from " + TABLE);
+        return DataFrame.read(resultSet).apply("RowKey");
+    }
+
+
+    /**
+     * Writes the frame to the benchmark table
+     */
+    private void writeDb() {
+        new DbSink(dataSource).write(frame, options -> {
+            options.setTableName(TABLE);
+            options.setBatchSize(1000);
+            options.setRowKeyMapping("RowKey", Integer.class, Function1.toInt(v -> v));
+        });
+    }
+}
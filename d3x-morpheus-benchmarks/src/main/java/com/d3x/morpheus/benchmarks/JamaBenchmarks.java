@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.d3x.morpheus.jama.CholeskyDecomposition;
+import com.d3x.morpheus.jama.LUDecomposition;
+import com.d3x.morpheus.jama.Matrix;
+import com.d3x.morpheus.jama.QRDecomposition;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the classic JAMA matrix product and decompositions against the cache-blocked, fork-join parallel versions.
+ *
+ * <p>Run with <code>java -jar target/benchmarks.jar JamaBenchmarks -rf json</code>, and vary the pool size with
+ * <code>-jvmArgsAppend -Djava.util.concurrent.ForkJoinPool.common.parallelism=N</code> to measure the scaling.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class JamaBenchmarks {
+
+    @Param({"256", "1024", "2048"})
+    private int order;
+
+    @Param({"false", "true"})
+    private boolean blocked;
+
+    private Matrix matrix;
+    private Matrix covariance;
+
+
+    @Setup
+    public void setup() {
+        this.matrix = Matrix.random(order, order);
+        this.covariance = matrix.transpose().times(matrix, true);
+    }
+
+
+    @Benchmark
+    public Matrix times() {
+        return matrix.times(matrix, blocked);
+    }
+
+    @Benchmark
+    public LUDecomposition lu() {
+        return new LUDecomposition(matrix, blocked);
+    }
+
+    @Benchmark
+    public CholeskyDecomposition cholesky() {
+        return new CholeskyDecomposition(covariance, blocked);
+    }
+
+    @Benchmark
+    public QRDecomposition qr() {
+        return new QRDecomposition(matrix, blocked);
+    }
+
+    @Benchmark
+    public Matrix inverse() {
+        return covariance.inverse(blocked);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.d3x.morpheus.linalg.DenseKernels;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the scalar and SIMD dense kernels against the equivalent commons-math operations.
+ *
+ * <p>Run with <code>java -jar target/benchmarks.jar KernelBenchmarks -rf json</code>; pass
+ * <code>-jvmArgsAppend -Dmorpheus.simd=false</code> to force the scalar kernels throughout.
+ * The SIMD kernels come from the d3x-morpheus-simd module, which is shaded into the benchmarks jar.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class KernelBenchmarks {
+
+    private static final DenseKernels scalar = DenseKernels.scalar();
+    private static final DenseKernels simd = DenseKernels.isSimdAvailable() ? DenseKernels.simd() : scalar;
+
+
+    @State(Scope.Thread)
+    public static class Vectors {
+
+        @Param({"64", "1024", "65536"})
+        private int length;
+
+        private double[] x;
+        private double[] y;
+        private ArrayRealVector apacheX;
+        private ArrayRealVector apacheY;
+
+        @Setup
+        public void setup() {
+            var random = new Random(length);
+            this.x = random.doubles(length).toArray();
+            this.y = random.doubles(length).toArray();
+            this.apacheX = new ArrayRealVector(x, false);
+            this.apacheY = new ArrayRealVector(y, false);
+        }
+    }
+
+
+    @State(Scope.Thread)
+    public static class Matrices {
+
+        @Param({"64", "256"})
+        private int order;
+
+        private double[][] A;
+        private double[][] B;
+        private double[][] C;
+        private double[] x;
+        private double[] y;
+        private Array2DRowRealMatrix apacheA;
+        private Array2DRowRealMatrix apacheB;
+
+        @Setup
+        public void setup() {
+            var random = new Random(order);
+            this.A = random(random, order);
+            this.B = random(random, order);
+            this.C = new double[order][order];
+            this.x = random.doubles(order).toArray();
+            this.y = new double[order];
+            this.apacheA = new Array2DRowRealMatrix(A, false);
+            this.apacheB = new Array2DRowRealMatrix(B, false);
+        }
+
+        private static double[][] random(Random random, int order) {
+            var values = new double[order][];
+            for (int i = 0; i < order; ++i) {
+                values[i] = random.doubles(order).toArray();
+            }
+            return values;
+        }
+    }
+
+
+    @Benchmark
+    public double dotApache(Vectors state) {
+        return state.apacheX.dotProduct(state.apacheY);
+    }
+
+    @Benchmark
+    public double dotScalar(Vectors state) {
+        return scalar.dot(state.x, 0, state.y, 0, state.length);
+    }
+
+    @Benchmark
+    public double dotSimd(Vectors state) {
+        return simd.dot(state.x, 0, state.y, 0, state.length);
+    }
+
+    @Benchmark
+    public void axpyScalar(Vectors state, Blackhole blackhole) {
+        scalar.axpy(1.0E-9, state.x, 0, state.y, 0, state.length);
+        blackhole.consume(state.y);
+    }
+
+    @Benchmark
+    public void axpySimd(Vectors state, Blackhole blackhole) {
+        simd.axpy(1.0E-9, state.x, 0, state.y, 0, state.length);
+        blackhole.consume(state.y);
+    }
+
+    @Benchmark
+    public double[] gemvApache(Matrices state) {
+        return state.apacheA.operate(state.x);
+    }
+
+    @Benchmark
+    public double[] gemvScalar(Matrices state) {
+        scalar.gemv(state.A, state.x, state.y);
+        return state.y;
+    }
+
+    @Benchmark
+    public double[] gemvSimd(Matrices state) {
+        simd.gemv(state.A, state.x, state.y);
+        return state.y;
+    }
+
+    @Benchmark
+    public Object gemmApache(Matrices state) {
+        return state.apacheA.multiply(state.apacheB);
+    }
+
+    @Benchmark
+    public double[][] gemmScalar(Matrices state) {
+        scalar.gemm(state.A, state.B, state.C);
+        return state.C;
+    }
+
+    @Benchmark
+    public double[][] gemmSimd(Matrices state) {
+        simd.gemm(state.A, state.B, state.C);
+        return state.C;
+    }
+}
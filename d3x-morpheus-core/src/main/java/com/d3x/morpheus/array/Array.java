@@ -15,6 +15,7 @@
  */
 package com.d3x.morpheus.array;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
@@ -33,6 +34,7 @@ import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
 
+import com.d3x.morpheus.array.mapped.MappedArrayConstructor;
 import com.d3x.morpheus.util.IntComparator;
 import org.apache.commons.math3.distribution.NormalDistribution;
 import org.apache.commons.math3.distribution.RealDistribution;
@@ -662,6 +664,50 @@ public interface Array<T> extends Iterable<T>, Serializable, Cloneable {
         return ArrayFactory.mapped().apply(type, length, defaultValue, path);
     }
 
+    /**
+     * Returns a memory mapped array over all the values stored in an existing file, which persist across JVM restarts
+     * @param file          the file that holds the values
+     * @param type          the element type for array
+     * @param readOnly      true to map the file read only, so its pages can be shared by many processes
+     * @param <V>           the type for array
+     * @return              the memory mapped array
+     * @see MappedArrayConstructor#open(Class, File, int, Object, boolean)
+     */
+    static <V> Array<V> mmap(File file, Class<V> type, boolean readOnly) {
+        return MappedArrayConstructor.open(type, file, -1, ArrayType.defaultValue(type), readOnly);
+    }
+
+    /**
+     * Returns a memory mapped array over the values stored in a file, which persist across JVM restarts
+     * Unlike map(), values already stored in the file are preserved, and a writable array is extended to the length with the default value
+     * @param file          the file that holds the values, which is created if writable and it does not exist
+     * @param type          the element type for array
+     * @param length        the length of the array
+     * @param readOnly      true to map the file read only, so its pages can be shared by many processes
+     * @param <V>           the type for array
+     * @return              the memory mapped array
+     * @see MappedArrayConstructor#open(Class, File, int, Object, boolean)
+     */
+    static <V> Array<V> mmap(File file, Class<V> type, int length, boolean readOnly) {
+        return MappedArrayConstructor.open(type, file, length, ArrayType.defaultValue(type), readOnly);
+    }
+
+    /**
+     * Returns a memory mapped array over the values stored in a file, which persist across JVM restarts
+     * Unlike map(), values already stored in the file are preserved, and a writable array is extended to the length with the default value
+     * @param file          the file that holds the values, which is created if writable and it does not exist
+     * @param type          the element type for array
+     * @param length        the length of the array
+     * @param defaultValue  the default value for the array
+     * @param readOnly      true to map the file read only, so its pages can be shared by many processes
+     * @param <V>           the type for array
+     * @return              the memory mapped array
+     * @see MappedArrayConstructor#open(Class, File, int, Object, boolean)
+     */
+    static <V> Array<V> mmap(File file, Class<V> type, int length, V defaultValue, boolean readOnly) {
+        return MappedArrayConstructor.open(type, file, length, defaultValue, readOnly);
+    }
+
 
     /**
      * Returns a newly created dense Array that wraps the boolean array specified
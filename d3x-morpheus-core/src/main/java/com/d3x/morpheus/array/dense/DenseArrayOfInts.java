@@ -239,6 +239,12 @@ class DenseArrayOfInts extends ArrayBase<Integer> {
     }
 
 
+    @Override
+    public final long getLong(int index) {
+        return values[index];
+    }
+
+
     @Override
     public final double getDouble(int index) {
         return values[index];
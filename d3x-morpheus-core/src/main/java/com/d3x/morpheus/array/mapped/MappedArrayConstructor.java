@@ -16,6 +16,7 @@
 package com.d3x.morpheus.array.mapped;
 
 import java.io.File;
+import java.nio.channels.FileChannel;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -104,6 +105,108 @@ public class MappedArrayConstructor implements ArrayFactory.Constructor {
         }
     }
 
+    /**
+     * Returns a memory mapped array over the values stored in a file, which persist across JVM restarts
+     * <p>The file holds nothing but the values, stored big-endian with booleans as 2-byte shorts and coded types as
+     * their int or long codes. A read only array maps pages that are shared through the operating system page cache
+     * by every process that maps the same file, and cannot be modified or expanded. A writable array creates the file
+     * if necessary, preserves any values already stored, fills values beyond the end of the file with the default value,
+     * and grows the file when expanded. Files beyond 2GB are mapped in chunks.</p>
+     * @param type          the array element type
+     * @param file          the file that holds the values
+     * @param length        the length of the array, or -1 for as many values as the file holds
+     * @param defaultValue  the default value for array
+     * @param readOnly      true to map the file read only
+     * @return              the memory mapped array
+     */
+    public static <T> Array<T> open(Class<T> type, File file, int length, T defaultValue, boolean readOnly) {
+        var width = width(type);
+        if (readOnly && !file.exists()) {
+            throw new ArrayException("No file exists to memory map read only at: " + file.getAbsolutePath());
+        }
+        var existing = createDir(file).exists() ? (int)Math.min(file.length() / width, Integer.MAX_VALUE) : 0;
+        var region = MappedRegion.open(file, width, length, readOnly);
+        return create(type, region, defaultValue, Math.min(existing, region.length()));
+    }
+
+    /**
+     * Returns a memory mapped array attached to values already stored in a region of a file, without copying or initialising them
+     * <p>Values are stored big-endian, with booleans as 2-byte shorts and coded types as their int or long codes</p>
+     * @param type          the array element type
+     * @param file          the file that holds the values
+     * @param channel       the channel for file, which need only remain open until this method returns
+     * @param offset        the byte offset of the first value in the file
+     * @param length        the length of the array
+     * @param defaultValue  the default value for array
+     * @param mode          the map mode, either READ_ONLY or PRIVATE for copy-on-write
+     * @return              the memory mapped array
+     */
+    public static <T> Array<T> attach(Class<T> type, File file, FileChannel channel, long offset, int length, T defaultValue, FileChannel.MapMode mode) {
+        var region = MappedRegion.attach(file, channel, offset, width(type), length, mode);
+        return create(type, region, defaultValue, length);
+    }
+
+    /**
+     * Returns the number of bytes used to store each value of the type specified in a memory mapped region
+     * @param type  the array element type
+     * @return      the value width in bytes
+     */
+    private static int width(Class<?> type) {
+        if (type.isEnum()) {
+            return MappedArrayWithIntCoding.BYTE_COUNT;
+        } else {
+            switch (ArrayType.of(type)) {
+                case BOOLEAN:           return MappedArrayOfBooleans.BYTE_COUNT;
+                case INTEGER:           return MappedArrayOfInts.BYTE_COUNT;
+                case LONG:              return MappedArrayOfLongs.BYTE_COUNT;
+                case DOUBLE:            return MappedArrayOfDoubles.BYTE_COUNT;
+                case CURRENCY:          return MappedArrayWithIntCoding.BYTE_COUNT;
+                case YEAR:              return MappedArrayWithIntCoding.BYTE_COUNT;
+                case ZONE_ID:           return MappedArrayWithIntCoding.BYTE_COUNT;
+                case TIME_ZONE:         return MappedArrayWithIntCoding.BYTE_COUNT;
+                case DATE:              return MappedArrayWithLongCoding.BYTE_COUNT;
+                case INSTANT:           return MappedArrayWithLongCoding.BYTE_COUNT;
+                case LOCAL_DATE:        return MappedArrayWithLongCoding.BYTE_COUNT;
+                case LOCAL_TIME:        return MappedArrayWithLongCoding.BYTE_COUNT;
+                case LOCAL_DATETIME:    return MappedArrayWithLongCoding.BYTE_COUNT;
+                default:                throw new UnsupportedOperationException("Data type cannot be stored in a memory mapped file region: " + type);
+            }
+        }
+    }
+
+    /**
+     * Returns a memory mapped array over the region specified
+     * @param type          the array element type
+     * @param region        the memory mapped region that holds the values
+     * @param defaultValue  the default value for array
+     * @param initialised   the number of leading values in the region that are already initialised
+     * @return              the memory mapped array
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Array<T> create(Class<T> type, MappedRegion region, T defaultValue, int initialised) {
+        if (type.isEnum()) {
+            final IntCoding<T> enumCoding = (IntCoding<T>)IntCoding.ofEnum((Class<Enum>) type);
+            return new MappedArrayWithIntCoding<>(region, defaultValue, enumCoding, initialised);
+        } else {
+            switch (ArrayType.of(type)) {
+                case BOOLEAN:           return (Array<T>)new MappedArrayOfBooleans(region, (Boolean)defaultValue, initialised);
+                case INTEGER:           return (Array<T>)new MappedArrayOfInts(region, (Integer)defaultValue, initialised);
+                case LONG:              return (Array<T>)new MappedArrayOfLongs(region, (Long)defaultValue, initialised);
+                case DOUBLE:            return (Array<T>)new MappedArrayOfDoubles(region, (Double)defaultValue, initialised);
+                case CURRENCY:          return (Array<T>)new MappedArrayWithIntCoding<>(region, (Currency)defaultValue, currencyCoding, initialised);
+                case YEAR:              return (Array<T>)new MappedArrayWithIntCoding<>(region, (Year)defaultValue, yearCoding, initialised);
+                case ZONE_ID:           return (Array<T>)new MappedArrayWithIntCoding<>(region, (ZoneId)defaultValue, zoneIdCoding, initialised);
+                case TIME_ZONE:         return (Array<T>)new MappedArrayWithIntCoding<>(region, (TimeZone)defaultValue, timeZoneCoding, initialised);
+                case DATE:              return (Array<T>)new MappedArrayWithLongCoding<>(region, (Date)defaultValue, dateCoding, initialised);
+                case INSTANT:           return (Array<T>)new MappedArrayWithLongCoding<>(region, (Instant)defaultValue, instantCoding, initialised);
+                case LOCAL_DATE:        return (Array<T>)new MappedArrayWithLongCoding<>(region, (LocalDate)defaultValue, localDateCoding, initialised);
+                case LOCAL_TIME:        return (Array<T>)new MappedArrayWithLongCoding<>(region, (LocalTime)defaultValue, localTimeCoding, initialised);
+                case LOCAL_DATETIME:    return (Array<T>)new MappedArrayWithLongCoding<>(region, (LocalDateTime)defaultValue, localDateTimeCoding, initialised);
+                default:                throw new UnsupportedOperationException("Data type cannot be stored in a memory mapped file region: " + type);
+            }
+        }
+    }
+
     /**
      * Returns a newly created random file to store an array
      * @return      newly created random file
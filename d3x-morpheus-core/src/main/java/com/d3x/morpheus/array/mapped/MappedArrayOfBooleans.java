@@ -19,9 +19,6 @@ import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.io.RandomAccessFile;
-import java.nio.ShortBuffer;
-import java.nio.channels.FileChannel;
 import java.util.function.Predicate;
 
 import com.d3x.morpheus.array.ArrayBuilder;
@@ -44,13 +41,12 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
 
     private static final long serialVersionUID = 1L;
 
-    private static final long BYTE_COUNT = 2L;
+    static final int BYTE_COUNT = 2;
 
     private File file;
     private int length;
     private boolean defaultValue;
-    private FileChannel channel;
-    private ShortBuffer buffer;
+    private MappedRegion region;
 
     /**
      * Constructor
@@ -58,18 +54,23 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
      * @param defaultValue  the default value for array
      * @param file          the memory mapped file reference
      */
-    MappedArrayOfBooleans(int length, Boolean defaultValue , File file) {
+    MappedArrayOfBooleans(int length, Boolean defaultValue, File file) {
+        this(MappedRegion.create(file, BYTE_COUNT, length), defaultValue, 0);
+    }
+
+    /**
+     * Constructor for an array over a memory mapped region, which fills the values beyond those already initialised with the default value
+     * @param region        the memory mapped region that holds the values
+     * @param defaultValue  the default value for array
+     * @param initialised   the number of leading values in the region that are already initialised
+     */
+    MappedArrayOfBooleans(MappedRegion region, Boolean defaultValue, int initialised) {
         super(Boolean.class, ArrayStyle.MAPPED, false);
-        try {
-            this.file = file;
-            this.length = length;
-            this.defaultValue = defaultValue == null ? false : defaultValue;
-            this.channel = new RandomAccessFile(file, "rw").getChannel();
-            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asShortBuffer();
-            this.fill(defaultValue);
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to initialise memory mapped array on file: " + file.getAbsolutePath(), ex);
-        }
+        this.file = region.file();
+        this.length = region.length();
+        this.region = region;
+        this.defaultValue = defaultValue == null ? false : defaultValue;
+        this.fill(this.defaultValue, initialised, length);
     }
 
     /**
@@ -82,8 +83,7 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
         this.file = source.file;
         this.length = source.length;
         this.defaultValue = source.defaultValue;
-        this.channel = source.channel;
-        this.buffer = source.buffer;
+        this.region = source.region;
     }
 
 
@@ -93,6 +93,12 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
     }
 
 
+    @Override
+    public final boolean isReadOnly() {
+        return region.isReadOnly();
+    }
+
+
     @Override
     public float loadFactor() {
         return 1F;
@@ -119,20 +125,9 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
 
     @Override()
     public final Array<Boolean> copy() {
-        try {
-            final File newFile = MappedArrayConstructor.randomFile(true);
-            final short defaultShort = defaultValue ? (short)1 : (short)0;
-            final MappedArrayOfBooleans copy = new MappedArrayOfBooleans(length, defaultValue, newFile);
-            for (int i=0; i<length; ++i) {
-                final short value = buffer.get(i);
-                if (value != defaultShort) {
-                    copy.buffer.put(i, value);
-                }
-            }
-            return copy;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to copy Array: " + this, ex);
-        }
+        var copy = MappedRegion.create(MappedArrayConstructor.randomFile(true), BYTE_COUNT, length);
+        this.region.copyTo(0, copy, 0, length);
+        return new MappedArrayOfBooleans(copy, defaultValue, length);
     }
 
 
@@ -143,9 +138,9 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
             var defaultShort = defaultValue ? (short)1 : (short)0;
             var copy = new MappedArrayOfBooleans(indexes.length, defaultValue, newFile);
             for (int i=0; i<indexes.length; ++i) {
-                var value = buffer.get(indexes[i]);
+                var value = region.getShort(indexes[i]);
                 if (value != defaultShort) {
-                    copy.buffer.put(i, value);
+                    copy.region.putShort(i, value);
                 }
             }
             return copy;
@@ -162,9 +157,9 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
             var defaultShort = defaultValue ? (short)1 : (short)0;
             var copy = new MappedArrayOfBooleans(indexes.length(), defaultValue, newFile);
             for (int i=0; i<indexes.length(); ++i) {
-                var value = buffer.get(indexes.getInt(i));
+                var value = region.getShort(indexes.getInt(i));
                 if (value != defaultShort) {
-                    copy.buffer.put(i, value);
+                    copy.region.putShort(i, value);
                 }
             }
             return copy;
@@ -176,29 +171,18 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
 
     @Override()
     public final Array<Boolean> copy(int start, int end) {
-        try {
-            final int newLength = end - start;
-            final File newFile = MappedArrayConstructor.randomFile(true);
-            final short defaultShort = defaultValue ? (short)1 : (short)0;
-            final MappedArrayOfBooleans copy = new MappedArrayOfBooleans(newLength, defaultValue, newFile);
-            for (int i=0; i<newLength; ++i) {
-                final short value = buffer.get(start + i);
-                if (value != defaultShort) {
-                    copy.buffer.put(i, value);
-                }
-            }
-            return copy;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed top copy subset of Array", ex);
-        }
+        var newLength = end - start;
+        var copy = MappedRegion.create(MappedArrayConstructor.randomFile(true), BYTE_COUNT, newLength);
+        this.region.copyTo(start, copy, 0, newLength);
+        return new MappedArrayOfBooleans(copy, defaultValue, newLength);
     }
 
 
     @Override
     protected final Array<Boolean> sort(int start, int end, int multiplier) {
         return doSort(start, end, (i, j) -> {
-            final boolean v1 = buffer.get(i) == 1;
-            final boolean v2 = buffer.get(j) == 1;
+            final boolean v1 = region.getShort(i) == 1;
+            final boolean v2 = region.getShort(j) == 1;
             return multiplier * Boolean.compare(v1, v2);
         });
     }
@@ -206,18 +190,18 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
 
     @Override
     public final int compare(int i, int j) {
-        final boolean v1 = buffer.get(i) == 1;
-        final boolean v2 = buffer.get(j) == 1;
+        final boolean v1 = region.getShort(i) == 1;
+        final boolean v2 = region.getShort(j) == 1;
         return Boolean.compare(v1, v2);
     }
 
 
     @Override
     public final Array<Boolean> swap(int i, int j) {
-        final short v1 = buffer.get(i);
-        final short v2 = buffer.get(j);
-        this.buffer.put(j, v1);
-        this.buffer.put(i, v2);
+        final short v1 = region.getShort(i);
+        final short v2 = region.getShort(j);
+        this.region.putShort(j, v1);
+        this.region.putShort(i, v2);
         return this;
     }
 
@@ -265,16 +249,12 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
 
     @Override
     public final Array<Boolean> expand(int newLength) {
-        try {
-            if (newLength > length) {
-                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * newLength).asShortBuffer();
-                this.fill(defaultValue, length, newLength);
-                this.length = newLength;
-            }
-            return this;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to expand size of memory mapped array at " + file.getAbsolutePath(), ex);
+        if (newLength > length) {
+            this.region.grow(newLength);
+            this.fill(defaultValue, length, newLength);
+            this.length = newLength;
         }
+        return this;
     }
 
 
@@ -283,7 +263,7 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
         final boolean fillValue = value == null ? defaultValue : value;
         final short fillShort = fillValue ? (short)1 : (short)0;
         for (int i=start; i<end; ++i) {
-            this.buffer.put(i, fillShort);
+            this.region.putShort(i, fillShort);
         }
         return this;
     }
@@ -304,14 +284,14 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
     @Override
     public final boolean getBoolean(int index) {
         this.checkBounds(index, length);
-        return this.buffer.get(index) == 1;
+        return this.region.getShort(index) == 1;
     }
 
 
     @Override
     public final Boolean getValue(int index) {
         this.checkBounds(index, length);
-        return this.buffer.get(index) == 1 ? Boolean.TRUE : Boolean.FALSE;
+        return this.region.getShort(index) == 1 ? Boolean.TRUE : Boolean.FALSE;
     }
 
 
@@ -319,7 +299,7 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
     public final boolean setBoolean(int index, boolean value) {
         this.checkBounds(index, length);
         final boolean oldValue = getBoolean(index);
-        this.buffer.put(index, value ? (short)1 : (short)0);
+        this.region.putShort(index, value ? (short)1 : (short)0);
         return oldValue;
     }
 
@@ -328,10 +308,10 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
     public final Boolean setValue(int index, Boolean value) {
         final boolean oldValue = getBoolean(index);
         if (value == null) {
-            this.buffer.put(index, defaultValue ? (short)1 : (short)0);
+            this.region.putShort(index, defaultValue ? (short)1 : (short)0);
             return oldValue;
         } else {
-            this.buffer.put(index, value ? (short)1 : (short)0);
+            this.region.putShort(index, value ? (short)1 : (short)0);
             return oldValue;
         }
     }
@@ -407,8 +387,7 @@ class MappedArrayOfBooleans extends ArrayBase<Boolean> {
         this.file = MappedArrayConstructor.randomFile(true);
         this.length = is.readInt();
         this.defaultValue = is.readBoolean();
-        this.channel = new RandomAccessFile(file, "rw").getChannel();
-        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asShortBuffer();
+        this.region = MappedRegion.create(file, BYTE_COUNT, length);
         for (int i=0; i<length; ++i) {
             final boolean value = is.readBoolean();
             this.setBoolean(i, value);
@@ -19,9 +19,6 @@ import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.io.RandomAccessFile;
-import java.nio.DoubleBuffer;
-import java.nio.channels.FileChannel;
 import java.util.function.Predicate;
 
 import com.d3x.morpheus.array.Array;
@@ -42,32 +39,36 @@ import org.eclipse.collections.impl.factory.primitive.DoubleSets;
  */
 class MappedArrayOfDoubles extends ArrayBase<Double> {
 
-    private static final long BYTE_COUNT = 8L;
+    static final int BYTE_COUNT = 8;
 
     private File file;
     private int length;
     private double defaultValue;
-    private FileChannel channel;
-    private DoubleBuffer buffer;
+    private MappedRegion region;
 
     /**
      * Constructor
-     * @param length        the length of the array
+     * @param length        the length for this array
      * @param defaultValue  the default value for array
      * @param file          the memory mapped file reference
      */
     MappedArrayOfDoubles(int length, Double defaultValue, File file) {
+        this(MappedRegion.create(file, BYTE_COUNT, length), defaultValue, 0);
+    }
+
+    /**
+     * Constructor for an array over a memory mapped region, which fills the values beyond those already initialised with the default value
+     * @param region        the memory mapped region that holds the values
+     * @param defaultValue  the default value for array
+     * @param initialised   the number of leading values in the region that are already initialised
+     */
+    MappedArrayOfDoubles(MappedRegion region, Double defaultValue, int initialised) {
         super(Double.class, ArrayStyle.MAPPED, false);
-        try {
-            this.file = file;
-            this.length = length;
-            this.defaultValue = defaultValue == null ? Double.NaN : defaultValue;
-            this.channel = new RandomAccessFile(file, "rw").getChannel();
-            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asDoubleBuffer();
-            this.fill(defaultValue);
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to initialise memory mapped array on file: " + file.getAbsolutePath(), ex);
-        }
+        this.file = region.file();
+        this.length = region.length();
+        this.region = region;
+        this.defaultValue = defaultValue == null ? Double.NaN : defaultValue;
+        this.fill(this.defaultValue, initialised, length);
     }
 
     /**
@@ -80,8 +81,7 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
         this.file = source.file;
         this.length = source.length;
         this.defaultValue = source.defaultValue;
-        this.channel = source.channel;
-        this.buffer = source.buffer;
+        this.region = source.region;
     }
 
 
@@ -100,6 +100,12 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
     }
 
 
+    @Override
+    public final boolean isReadOnly() {
+        return region.isReadOnly();
+    }
+
+
     @Override
     public float loadFactor() {
         return 1F;
@@ -126,17 +132,9 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
 
     @Override()
     public final Array<Double> copy() {
-        try {
-            final File newFile = MappedArrayConstructor.randomFile(true);
-            final MappedArrayOfDoubles copy = new MappedArrayOfDoubles(length, defaultValue, newFile);
-            for (int i=0; i<length; ++i) {
-                final double v = buffer.get(i);
-                copy.buffer.put(i, v);
-            }
-            return copy;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to copy Array: " + this, ex);
-        }
+        var copy = MappedRegion.create(MappedArrayConstructor.randomFile(true), BYTE_COUNT, length);
+        this.region.copyTo(0, copy, 0, length);
+        return new MappedArrayOfDoubles(copy, defaultValue, length);
     }
 
 
@@ -148,7 +146,7 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
             for (int i=0; i<indexes.length; ++i) {
                 var value = getDouble(indexes[i]);
                 if (Double.compare(value, defaultValue) != 0) {
-                    copy.buffer.put(i, value);
+                    copy.region.putDouble(i, value);
                 }
             }
             return copy;
@@ -166,7 +164,7 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
             for (int i=0; i<indexes.length(); ++i) {
                 var value = getDouble(indexes.getInt(i));
                 if (Double.compare(value, defaultValue) != 0) {
-                    copy.buffer.put(i, value);
+                    copy.region.putDouble(i, value);
                 }
             }
             return copy;
@@ -178,20 +176,10 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
 
     @Override()
     public final Array<Double> copy(int start, int end) {
-        try {
-            final int newLength = end - start;
-            final File newFile = MappedArrayConstructor.randomFile(true);
-            final MappedArrayOfDoubles copy = new MappedArrayOfDoubles(newLength, defaultValue, newFile);
-            for (int i=0; i<newLength; ++i) {
-                final double value = buffer.get(start + i);
-                if (Double.compare(value, defaultValue) != 0) {
-                    copy.buffer.put(i, value);
-                }
-            }
-            return copy;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed top copy subset of Array", ex);
-        }
+        var newLength = end - start;
+        var copy = MappedRegion.create(MappedArrayConstructor.randomFile(true), BYTE_COUNT, newLength);
+        this.region.copyTo(start, copy, 0, newLength);
+        return new MappedArrayOfDoubles(copy, defaultValue, newLength);
     }
 
 
@@ -266,16 +254,12 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
 
     @Override
     public final Array<Double> expand(int newLength) {
-        try {
-            if (newLength > length) {
-                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * newLength).asDoubleBuffer();
-                this.fill(defaultValue, length, newLength);
-                this.length = newLength;
-            }
-            return this;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to expand size of memory mapped array at " + file.getAbsolutePath(), ex);
+        if (newLength > length) {
+            this.region.grow(newLength);
+            this.fill(defaultValue, length, newLength);
+            this.length = newLength;
         }
+        return this;
     }
 
 
@@ -283,7 +267,7 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
     public final Array<Double> fill(Double value, int start, int end) {
         final double fillValue = value == null ? defaultValue : value;
         for (int i=start; i<end; ++i) {
-            this.buffer.put(i, fillValue);
+            this.region.putDouble(i, fillValue);
         }
         return this;
     }
@@ -304,22 +288,22 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
     @Override
     public final double getDouble(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return region.getDouble(index);
     }
 
 
     @Override
     public final Double getValue(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return region.getDouble(index);
     }
 
 
     @Override
     public final double setDouble(int index, double value) {
         this.checkBounds(index, length);
-        final double oldValue = buffer.get(index);
-        this.buffer.put(index, value);
+        final double oldValue = region.getDouble(index);
+        this.region.putDouble(index, value);
         return oldValue;
     }
 
@@ -328,7 +312,7 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
     public final Double setValue(int index, Double value) {
         this.checkBounds(index, length);
         final Double oldValue = getValue(index);
-        this.buffer.put(index, value != null ? value : defaultValue);
+        this.region.putDouble(index, value != null ? value : defaultValue);
         return oldValue;
     }
 
@@ -340,7 +324,7 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
             int high = end - 1;
             while (low <= high) {
                 final int midIndex = (low + high) >>> 1;
-                final double midValue = buffer.get(midIndex);
+                final double midValue = region.getDouble(midIndex);
                 final int result = Double.compare(midValue, value);
                 if (result < 0) {
                     low = midIndex + 1;
@@ -382,7 +366,7 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
         result.setDouble(0, getDouble(0));
         for (int i=1; i<length; ++i) {
             final double prior = result.getDouble(i-1);
-            final double current = buffer.get(i);
+            final double current = region.getDouble(i);
             if (Double.isNaN(prior)) {
                 result.setDouble(i, current);
             } else if (Double.isNaN(current)) {
@@ -429,8 +413,7 @@ class MappedArrayOfDoubles extends ArrayBase<Double> {
         this.file = MappedArrayConstructor.randomFile(true);
         this.length = is.readInt();
         this.defaultValue = is.readDouble();
-        this.channel = new RandomAccessFile(file, "rw").getChannel();
-        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asDoubleBuffer();
+        this.region = MappedRegion.create(file, BYTE_COUNT, length);
         for (int i=0; i<length; ++i) {
             final double value = is.readDouble();
             this.setDouble(i, value);
@@ -19,9 +19,6 @@ import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.io.RandomAccessFile;
-import java.nio.IntBuffer;
-import java.nio.channels.FileChannel;
 import java.util.function.Predicate;
 
 import com.d3x.morpheus.array.Array;
@@ -42,32 +39,36 @@ import org.eclipse.collections.impl.factory.primitive.IntSets;
  */
 class MappedArrayOfInts extends ArrayBase<Integer> {
 
-    private static final long BYTE_COUNT = 4L;
+    static final int BYTE_COUNT = 4;
 
     private File file;
     private int length;
     private int defaultValue;
-    private FileChannel channel;
-    private IntBuffer buffer;
+    private MappedRegion region;
 
     /**
      * Constructor
-     * @param length        the length of the array
+     * @param length        the length for this array
      * @param defaultValue  the default value for array
      * @param file          the memory mapped file reference
      */
     MappedArrayOfInts(int length, Integer defaultValue, File file) {
+        this(MappedRegion.create(file, BYTE_COUNT, length), defaultValue, 0);
+    }
+
+    /**
+     * Constructor for an array over a memory mapped region, which fills the values beyond those already initialised with the default value
+     * @param region        the memory mapped region that holds the values
+     * @param defaultValue  the default value for array
+     * @param initialised   the number of leading values in the region that are already initialised
+     */
+    MappedArrayOfInts(MappedRegion region, Integer defaultValue, int initialised) {
         super(Integer.class, ArrayStyle.MAPPED, false);
-        try {
-            this.file = file;
-            this.length = length;
-            this.defaultValue = defaultValue == null ? 0 : defaultValue;
-            this.channel = new RandomAccessFile(file, "rw").getChannel();
-            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asIntBuffer();
-            this.fill(defaultValue);
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to initialise memory mapped array on file: " + file.getAbsolutePath(), ex);
-        }
+        this.file = region.file();
+        this.length = region.length();
+        this.region = region;
+        this.defaultValue = defaultValue == null ? 0 : defaultValue;
+        this.fill(this.defaultValue, initialised, length);
     }
 
     /**
@@ -80,8 +81,7 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
         this.file = source.file;
         this.length = source.length;
         this.defaultValue = source.defaultValue;
-        this.channel = source.channel;
-        this.buffer = source.buffer;
+        this.region = source.region;
     }
 
     /**
@@ -99,6 +99,12 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
     }
 
 
+    @Override
+    public final boolean isReadOnly() {
+        return region.isReadOnly();
+    }
+
+
     @Override
     public float loadFactor() {
         return 1F;
@@ -125,17 +131,9 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
 
     @Override()
     public final Array<Integer> copy() {
-        try {
-            final File newFile = MappedArrayConstructor.randomFile(true);
-            final MappedArrayOfInts copy = new MappedArrayOfInts(length, defaultValue, newFile);
-            for (int i=0; i<length; ++i) {
-                var v = getInt(i);
-                copy.buffer.put(i, v);
-            }
-            return copy;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to copy Array: " + this, ex);
-        }
+        var copy = MappedRegion.create(MappedArrayConstructor.randomFile(true), BYTE_COUNT, length);
+        this.region.copyTo(0, copy, 0, length);
+        return new MappedArrayOfInts(copy, defaultValue, length);
     }
 
 
@@ -147,7 +145,7 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
             for (int i=0; i<indexes.length; ++i) {
                 var value = getInt(indexes[i]);
                 if (value != defaultValue) {
-                    copy.buffer.put(i, value);
+                    copy.region.putInt(i, value);
                 }
             }
             return copy;
@@ -165,7 +163,7 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
             for (int i=0; i<indexes.length(); ++i) {
                 var value = getInt(indexes.getInt(i));
                 if (value != defaultValue) {
-                    copy.buffer.put(i, value);
+                    copy.region.putInt(i, value);
                 }
             }
             return copy;
@@ -177,20 +175,10 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
 
     @Override()
     public final Array<Integer> copy(int start, int end) {
-        try {
-            var newLength = end - start;
-            final File newFile = MappedArrayConstructor.randomFile(true);
-            final MappedArrayOfInts copy = new MappedArrayOfInts(newLength, defaultValue, newFile);
-            for (int i=0; i<newLength; ++i) {
-                var value = buffer.get(start + i);
-                if (Integer.compare(value, defaultValue) != 0) {
-                    copy.buffer.put(i, value);
-                }
-            }
-            return copy;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed top copy subset of Array", ex);
-        }
+        var newLength = end - start;
+        var copy = MappedRegion.create(MappedArrayConstructor.randomFile(true), BYTE_COUNT, newLength);
+        this.region.copyTo(start, copy, 0, newLength);
+        return new MappedArrayOfInts(copy, defaultValue, newLength);
     }
 
 
@@ -265,16 +253,12 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
 
     @Override
     public final Array<Integer> expand(int newLength) {
-        try {
-            if (newLength > length) {
-                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * newLength).asIntBuffer();
-                this.fill(defaultValue, length, newLength);
-                this.length = newLength;
-            }
-            return this;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to expand size of memory mapped array at " + file.getAbsolutePath(), ex);
+        if (newLength > length) {
+            this.region.grow(newLength);
+            this.fill(defaultValue, length, newLength);
+            this.length = newLength;
         }
+        return this;
     }
 
 
@@ -282,7 +266,7 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
     public final Array<Integer> fill(Integer value, int start, int end) {
         var fillValue = value == null ? defaultValue : value;
         for (int i=start; i<end; ++i) {
-            this.buffer.put(i, fillValue);
+            this.region.putInt(i, fillValue);
         }
         return this;
     }
@@ -296,43 +280,43 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
 
     @Override
     public final boolean isEqualTo(int index, Integer value) {
-        return value != null && value == buffer.get(index);
+        return value != null && value == region.getInt(index);
     }
 
 
     @Override
     public final int getInt(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return region.getInt(index);
     }
 
 
     @Override
     public final long getLong(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return region.getInt(index);
     }
 
 
     @Override
     public final double getDouble(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return region.getInt(index);
     }
 
 
     @Override
     public final Integer getValue(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return region.getInt(index);
     }
 
 
     @Override
     public final int setInt(int index, int value) {
         this.checkBounds(index, length);
-        var oldValue = buffer.get(index);
-        this.buffer.put(index, value);
+        var oldValue = region.getInt(index);
+        this.region.putInt(index, value);
         return oldValue;
     }
 
@@ -340,7 +324,7 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
     @Override
     public final Integer setValue(int index, Integer value) {
         var oldValue = getValue(index);
-        this.buffer.put(index, value != null ? value : defaultValue);
+        this.region.putInt(index, value != null ? value : defaultValue);
         return oldValue;
     }
 
@@ -352,7 +336,7 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
             int high = end - 1;
             while (low <= high) {
                 var midIndex = (low + high) >>> 1;
-                var midValue = buffer.get(midIndex);
+                var midValue = region.getInt(midIndex);
                 var result = Integer.compare(midValue, value);
                 if (result < 0) {
                     low = midIndex + 1;
@@ -391,10 +375,10 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
     public final Array<Integer> cumSum() {
         var length = length();
         final Array<Integer> result = Array.of(Integer.class, length);
-        result.setInt(0, buffer.get(0));
+        result.setInt(0, region.getInt(0));
         for (int i=1; i<length; ++i) {
             var prior = result.getInt(i-1);
-            var current = buffer.get(i);
+            var current = region.getInt(i);
             result.setInt(i, prior + current);
         }
         return result;
@@ -435,8 +419,7 @@ class MappedArrayOfInts extends ArrayBase<Integer> {
         this.length = is.readInt();
         this.defaultValue = is.readInt();
         this.file = MappedArrayConstructor.randomFile(true);
-        this.channel = new RandomAccessFile(file, "rw").getChannel();
-        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asIntBuffer();
+        this.region = MappedRegion.create(file, BYTE_COUNT, length);
         for (int i=0; i<length; ++i) {
             var value = is.readInt();
             this.setInt(i, value);
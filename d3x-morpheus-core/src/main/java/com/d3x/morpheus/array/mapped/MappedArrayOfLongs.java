@@ -19,9 +19,6 @@ import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.io.RandomAccessFile;
-import java.nio.LongBuffer;
-import java.nio.channels.FileChannel;
 import java.util.function.Predicate;
 
 import com.d3x.morpheus.array.Array;
@@ -42,32 +39,36 @@ import org.eclipse.collections.impl.factory.primitive.LongSets;
  */
 class MappedArrayOfLongs extends ArrayBase<Long> {
 
-    private static final long BYTE_COUNT = 8L;
+    static final int BYTE_COUNT = 8;
 
     private File file;
     private int length;
     private long defaultValue;
-    private FileChannel channel;
-    private LongBuffer buffer;
+    private MappedRegion region;
 
     /**
      * Constructor
-     * @param length        the length of the array
+     * @param length        the length for this array
      * @param defaultValue  the default value for array
      * @param file          the memory mapped file reference
      */
     MappedArrayOfLongs(int length, Long defaultValue, File file) {
+        this(MappedRegion.create(file, BYTE_COUNT, length), defaultValue, 0);
+    }
+
+    /**
+     * Constructor for an array over a memory mapped region, which fills the values beyond those already initialised with the default value
+     * @param region        the memory mapped region that holds the values
+     * @param defaultValue  the default value for array
+     * @param initialised   the number of leading values in the region that are already initialised
+     */
+    MappedArrayOfLongs(MappedRegion region, Long defaultValue, int initialised) {
         super(Long.class, ArrayStyle.MAPPED, false);
-        try {
-            this.file = file;
-            this.length = length;
-            this.defaultValue = defaultValue == null ? 0 : defaultValue;
-            this.channel = new RandomAccessFile(file, "rw").getChannel();
-            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asLongBuffer();
-            this.fill(defaultValue);
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to initialise memory mapped array on file: " + file.getAbsolutePath(), ex);
-        }
+        this.file = region.file();
+        this.length = region.length();
+        this.region = region;
+        this.defaultValue = defaultValue == null ? 0 : defaultValue;
+        this.fill(this.defaultValue, initialised, length);
     }
 
     /**
@@ -80,8 +81,7 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
         this.file = source.file;
         this.length = source.length;
         this.defaultValue = source.defaultValue;
-        this.channel = source.channel;
-        this.buffer = source.buffer;
+        this.region = source.region;
     }
 
     /**
@@ -99,6 +99,12 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
     }
 
 
+    @Override
+    public final boolean isReadOnly() {
+        return region.isReadOnly();
+    }
+
+
     @Override
     public float loadFactor() {
         return 1F;
@@ -125,17 +131,9 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
 
     @Override()
     public final Array<Long> copy() {
-        try {
-            final File newFile = MappedArrayConstructor.randomFile(true);
-            final MappedArrayOfLongs copy = new MappedArrayOfLongs(length, defaultValue, newFile);
-            for (int i=0; i<length; ++i) {
-                final long v = getLong(i);
-                copy.buffer.put(i, v);
-            }
-            return copy;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to copy Array: " + this, ex);
-        }
+        var copy = MappedRegion.create(MappedArrayConstructor.randomFile(true), BYTE_COUNT, length);
+        this.region.copyTo(0, copy, 0, length);
+        return new MappedArrayOfLongs(copy, defaultValue, length);
     }
 
 
@@ -147,7 +145,7 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
             for (int i=0; i<indexes.length; ++i) {
                 final long value = getLong(indexes[i]);
                 if (value != defaultValue) {
-                    copy.buffer.put(i, value);
+                    copy.region.putLong(i, value);
                 }
             }
             return copy;
@@ -165,7 +163,7 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
             for (int i=0; i<indexes.length(); ++i) {
                 final long value = getLong(indexes.getInt(i));
                 if (value != defaultValue) {
-                    copy.buffer.put(i, value);
+                    copy.region.putLong(i, value);
                 }
             }
             return copy;
@@ -177,20 +175,10 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
 
     @Override()
     public final Array<Long> copy(int start, int end) {
-        try {
-            var newLength = end - start;
-            final File newFile = MappedArrayConstructor.randomFile(true);
-            final MappedArrayOfLongs copy = new MappedArrayOfLongs(newLength, defaultValue, newFile);
-            for (int i=0; i<newLength; ++i) {
-                final long value = buffer.get(start + i);
-                if (Long.compare(value, defaultValue) != 0) {
-                    copy.buffer.put(i, value);
-                }
-            }
-            return copy;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed top copy subset of Array", ex);
-        }
+        var newLength = end - start;
+        var copy = MappedRegion.create(MappedArrayConstructor.randomFile(true), BYTE_COUNT, newLength);
+        this.region.copyTo(start, copy, 0, newLength);
+        return new MappedArrayOfLongs(copy, defaultValue, newLength);
     }
 
 
@@ -265,16 +253,12 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
 
     @Override
     public final Array<Long> expand(int newLength) {
-        try {
-            if (newLength > length) {
-                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * newLength).asLongBuffer();
-                this.fill(defaultValue, length, newLength);
-                this.length = newLength;
-            }
-            return this;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to expand size of memory mapped array at " + file.getAbsolutePath(), ex);
+        if (newLength > length) {
+            this.region.grow(newLength);
+            this.fill(defaultValue, length, newLength);
+            this.length = newLength;
         }
+        return this;
     }
 
 
@@ -282,7 +266,7 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
     public final Array<Long> fill(Long value, int start, int end) {
         final long fillValue = value == null ? defaultValue : value;
         for (int i=start; i<end; ++i) {
-            this.buffer.put(i, fillValue);
+            this.region.putLong(i, fillValue);
         }
         return this;
     }
@@ -296,36 +280,36 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
 
     @Override
     public final boolean isEqualTo(int index, Long value) {
-        return value != null && value == buffer.get(index);
+        return value != null && value == region.getLong(index);
     }
 
 
     @Override
     public final long getLong(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return region.getLong(index);
     }
 
 
     @Override
     public final double getDouble(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return region.getLong(index);
     }
 
 
     @Override
     public final Long getValue(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return region.getLong(index);
     }
 
 
     @Override
     public final long setLong(int index, long value) {
         this.checkBounds(index, length);
-        final long oldValue = buffer.get(index);
-        this.buffer.put(index, value);
+        final long oldValue = region.getLong(index);
+        this.region.putLong(index, value);
         return oldValue;
     }
 
@@ -334,7 +318,7 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
     public final Long setValue(int index, Long value) {
         this.checkBounds(index, length);
         final Long oldValue = getValue(index);
-        this.buffer.put(index, value != null ? value : defaultValue);
+        this.region.putLong(index, value != null ? value : defaultValue);
         return oldValue;
     }
 
@@ -346,7 +330,7 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
             int high = end - 1;
             while (low <= high) {
                 var midIndex = (low + high) >>> 1;
-                final long midValue = buffer.get(midIndex);
+                final long midValue = region.getLong(midIndex);
                 var result = Long.compare(midValue, value);
                 if (result < 0) {
                     low = midIndex + 1;
@@ -385,10 +369,10 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
     public final Array<Long> cumSum() {
         var length = length();
         final Array<Long> result = Array.of(Long.class, length);
-        result.setLong(0, buffer.get(0));
+        result.setLong(0, region.getLong(0));
         for (int i=1; i<length; ++i) {
             final long prior = result.getLong(i-1);
-            final long current = buffer.get(i);
+            final long current = region.getLong(i);
             result.setLong(i, prior + current);
         }
         return result;
@@ -429,8 +413,7 @@ class MappedArrayOfLongs extends ArrayBase<Long> {
         this.file = MappedArrayConstructor.randomFile(true);
         this.length = is.readInt();
         this.defaultValue = is.readLong();
-        this.channel = new RandomAccessFile(file, "rw").getChannel();
-        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asLongBuffer();
+        this.region = MappedRegion.create(file, BYTE_COUNT, length);
         for (int i=0; i<length; ++i) {
             final long value = is.readLong();
             this.setLong(i, value);
@@ -19,9 +19,6 @@ import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.io.RandomAccessFile;
-import java.nio.IntBuffer;
-import java.nio.channels.FileChannel;
 import java.util.function.Predicate;
 
 import com.d3x.morpheus.array.Array;
@@ -46,15 +43,14 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
 
     private static final long serialVersionUID = 1L;
 
-    private static final long BYTE_COUNT = 4L;
+    static final int BYTE_COUNT = 4;
 
     private File file;
     private int length;
     private T defaultValue;
     private int defaultCode;
     private IntCoding<T> coding;
-    private FileChannel channel;
-    private IntBuffer buffer;
+    private MappedRegion region;
 
     /**
      * Constructor
@@ -64,21 +60,26 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
      * @param file          the memory mapped file reference
      */
     MappedArrayWithIntCoding(int length, T defaultValue, IntCoding<T> coding, File file) {
-        super(coding.getType(), ArrayStyle.MAPPED, false);
-        try {
-            this.file = file;
-            this.length = length;
-            this.coding = coding;
-            this.defaultValue = defaultValue;
-            this.defaultCode = coding.getCode(defaultValue);
-            this.channel = new RandomAccessFile(file, "rw").getChannel();
-            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asIntBuffer();
-            this.fill(defaultValue);
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to initialise memory mapped array on file: " + file.getAbsolutePath(), ex);
-        }
+        this(MappedRegion.create(file, BYTE_COUNT, length), defaultValue, coding, 0);
     }
 
+    /**
+     * Constructor for an array over a memory mapped region, which fills the values beyond those already initialised with the default value
+     * @param region        the memory mapped region that holds the values
+     * @param defaultValue  the default value for array
+     * @param coding        the coding for this array
+     * @param initialised   the number of leading values in the region that are already initialised
+     */
+    MappedArrayWithIntCoding(MappedRegion region, T defaultValue, IntCoding<T> coding, int initialised) {
+        super(coding.getType(), ArrayStyle.MAPPED, false);
+        this.file = region.file();
+        this.length = region.length();
+        this.region = region;
+        this.coding = coding;
+        this.defaultValue = defaultValue;
+        this.defaultCode = coding.getCode(defaultValue);
+        this.fill(this.defaultValue, initialised, length);
+    }
 
     /**
      * Constructor
@@ -92,8 +93,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
         this.coding = source.coding;
         this.defaultValue = source.defaultValue;
         this.defaultCode = source.defaultCode;
-        this.channel = source.channel;
-        this.buffer = source.buffer;
+        this.region = source.region;
     }
 
 
@@ -109,6 +109,12 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     }
 
 
+    @Override
+    public final boolean isReadOnly() {
+        return region.isReadOnly();
+    }
+
+
     @Override
     public float loadFactor() {
         return 1F;
@@ -136,17 +142,9 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     @Override()
     @SuppressWarnings("unchecked")
     public final Array<T> copy() {
-        try {
-            final File newFile = MappedArrayConstructor.randomFile(true);
-            final MappedArrayWithIntCoding<T> copy = new MappedArrayWithIntCoding<>(length, defaultValue, coding, newFile);
-            for (int i=0; i<length; ++i) {
-                var v = buffer.get(i);
-                copy.buffer.put(i, v);
-            }
-            return copy;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to copy Array: " + this, ex);
-        }
+        var copy = MappedRegion.create(MappedArrayConstructor.randomFile(true), BYTE_COUNT, length);
+        this.region.copyTo(0, copy, 0, length);
+        return new MappedArrayWithIntCoding<>(copy, defaultValue, coding, length);
     }
 
 
@@ -156,9 +154,9 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
             var newFile = MappedArrayConstructor.randomFile(true);
             var copy = new MappedArrayWithIntCoding<T>(indexes.length, defaultValue, coding, newFile);
             for (int i=0; i<indexes.length; ++i) {
-                var value = buffer.get(indexes[i]);
+                var value = region.getInt(indexes[i]);
                 if (value != defaultCode) {
-                    copy.buffer.put(i, value);
+                    copy.region.putInt(i, value);
                 }
             }
             return copy;
@@ -174,9 +172,9 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
             var newFile = MappedArrayConstructor.randomFile(true);
             var copy = new MappedArrayWithIntCoding<T>(indexes.length(), defaultValue, coding, newFile);
             for (int i=0; i<indexes.length(); ++i) {
-                var value = buffer.get(indexes.getInt(i));
+                var value = region.getInt(indexes.getInt(i));
                 if (value != defaultCode) {
-                    copy.buffer.put(i, value);
+                    copy.region.putInt(i, value);
                 }
             }
             return copy;
@@ -188,28 +186,18 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
 
     @Override()
     public final Array<T> copy(int start, int end) {
-        try {
-            var newLength = end - start;
-            final File newFile = MappedArrayConstructor.randomFile(true);
-            final MappedArrayWithIntCoding<T> copy = new MappedArrayWithIntCoding<>(newLength, defaultValue, coding, newFile);
-            for (int i=0; i<newLength; ++i) {
-                var value = buffer.get(start + i);
-                if (Integer.compare(value, defaultCode) != 0) {
-                    copy.buffer.put(i, value);
-                }
-            }
-            return copy;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed top copy subset of Array", ex);
-        }
+        var newLength = end - start;
+        var copy = MappedRegion.create(MappedArrayConstructor.randomFile(true), BYTE_COUNT, newLength);
+        this.region.copyTo(start, copy, 0, newLength);
+        return new MappedArrayWithIntCoding<>(copy, defaultValue, coding, newLength);
     }
 
 
     @Override
     protected final Array<T> sort(int start, int end, int multiplier) {
         return doSort(start, end, (i, j) -> {
-            var v1 = buffer.get(i);
-            var v2 = buffer.get(j);
+            var v1 = region.getInt(i);
+            var v2 = region.getInt(j);
             return multiplier * Integer.compare(v1, v2);
         });
     }
@@ -217,18 +205,18 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
 
     @Override
     public final int compare(int i, int j) {
-        var v1 = buffer.get(i);
-        var v2 = buffer.get(j);
+        var v1 = region.getInt(i);
+        var v2 = region.getInt(j);
         return Integer.compare(v1, v2);
     }
 
 
     @Override
     public final Array<T> swap(int i, int j) {
-        var v1 = buffer.get(i);
-        var v2 = buffer.get(j);
-        this.buffer.put(j, v1);
-        this.buffer.put(i, v2);
+        var v1 = region.getInt(i);
+        var v2 = region.getInt(j);
+        this.region.putInt(j, v1);
+        this.region.putInt(i, v2);
         return this;
     }
 
@@ -269,7 +257,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
         if (from instanceof MappedArrayWithIntCoding) {
             final MappedArrayWithIntCoding other = (MappedArrayWithIntCoding) from;
             for (int i = 0; i < length; ++i) {
-                this.buffer.put(toIndex + i, other.buffer.get(fromIndex + i));
+                this.region.putInt(toIndex + i, other.region.getInt(fromIndex + i));
             }
         } else {
             for (int i=0; i<length; ++i) {
@@ -283,17 +271,12 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
 
     @Override
     public final Array<T> expand(int newLength) {
-        try {
-            if (newLength > length) {
-                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * newLength).asIntBuffer();
-                this.fill(defaultValue, length, newLength);
-                this.length = newLength;
-            }
-            return this;
-
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to expand size of memory mapped array at " + file.getAbsolutePath(), ex);
+        if (newLength > length) {
+            this.region.grow(newLength);
+            this.fill(defaultValue, length, newLength);
+            this.length = newLength;
         }
+        return this;
     }
 
 
@@ -301,7 +284,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     public Array<T> fill(T value, int start, int end) {
         var code = coding.getCode(value);
         for (int i=start; i<end; ++i) {
-            this.buffer.put(i, code);
+            this.region.putInt(i, code);
         }
         return this;
     }
@@ -309,7 +292,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
 
     @Override
     public final boolean isNull(int index) {
-        return buffer.get(index) == coding.getCode(null);
+        return region.getInt(index) == coding.getCode(null);
     }
 
 
@@ -319,7 +302,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
             return isNull(index);
         } else {
             var code = coding.getCode(value);
-            return code == buffer.get(index);
+            return code == region.getInt(index);
         }
     }
 
@@ -327,14 +310,14 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     @Override
     public int getInt(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return region.getInt(index);
     }
 
 
     @Override
     public final T getValue(int index) {
         this.checkBounds(index, length);
-        var code = buffer.get(index);
+        var code = region.getInt(index);
         return coding.getValue(code);
     }
 
@@ -342,7 +325,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     @Override
     public int setInt(int index, int value) {
         var oldValue = getInt(index);
-        this.buffer.put(index, value);
+        this.region.putInt(index, value);
         return oldValue;
     }
 
@@ -350,7 +333,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     public final T setValue(int index, T value) {
         this.checkBounds(index, length);
         final T oldValue = getValue(index);
-        this.buffer.put(index, coding.getCode(value));
+        this.region.putInt(index, coding.getCode(value));
         return oldValue;
     }
 
@@ -378,7 +361,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     public final void read(ObjectInputStream is, int count) throws IOException {
         for (int i=0; i<count; ++i) {
             var code = is.readInt();
-            this.buffer.put(i, code);
+            this.region.putInt(i, code);
         }
     }
 
@@ -386,7 +369,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
     @Override
     public final void write(ObjectOutputStream os, int[] indexes) throws IOException {
         for (int index : indexes) {
-            var code = buffer.get(index);
+            var code = region.getInt(index);
             os.writeInt(code);
         }
     }
@@ -398,7 +381,7 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
         os.writeObject(defaultValue);
         os.writeObject(coding);
         for (int i=0; i<length; ++i) {
-            var value = buffer.get(i);
+            var value = region.getInt(i);
             os.writeInt(value);
         }
     }
@@ -412,11 +395,10 @@ class MappedArrayWithIntCoding<T> extends ArrayBase<T> implements WithIntCoding<
         this.defaultCode = is.readInt();
         this.defaultValue = (T)is.readObject();
         this.coding = (IntCoding<T>)is.readObject();
-        this.channel = new RandomAccessFile(file, "rw").getChannel();
-        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asIntBuffer();
+        this.region = MappedRegion.create(file, BYTE_COUNT, length);
         for (int i=0; i<length; ++i) {
             var value = is.readInt();
-            this.buffer.put(i, value);
+            this.region.putInt(i, value);
         }
     }
 
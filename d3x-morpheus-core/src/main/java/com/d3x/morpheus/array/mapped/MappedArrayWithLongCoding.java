@@ -19,9 +19,6 @@ import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.io.RandomAccessFile;
-import java.nio.LongBuffer;
-import java.nio.channels.FileChannel;
 import java.util.function.Predicate;
 
 import com.d3x.morpheus.array.Array;
@@ -45,15 +42,14 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
 
     private static final long serialVersionUID = 1L;
 
-    private static final long BYTE_COUNT = 8L;
+    static final int BYTE_COUNT = 8;
 
     private File file;
     private int length;
     private T defaultValue;
     private long defaultCode;
     private LongCoding<T> coding;
-    private FileChannel channel;
-    private LongBuffer buffer;
+    private MappedRegion region;
 
 
     /**
@@ -64,19 +60,25 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
      * @param file          the memory mapped file reference
      */
     MappedArrayWithLongCoding(int length, T defaultValue, LongCoding<T> coding, File file) {
+        this(MappedRegion.create(file, BYTE_COUNT, length), defaultValue, coding, 0);
+    }
+
+    /**
+     * Constructor for an array over a memory mapped region, which fills the values beyond those already initialised with the default value
+     * @param region        the memory mapped region that holds the values
+     * @param defaultValue  the default value for array
+     * @param coding        the coding for this array
+     * @param initialised   the number of leading values in the region that are already initialised
+     */
+    MappedArrayWithLongCoding(MappedRegion region, T defaultValue, LongCoding<T> coding, int initialised) {
         super(coding.getType(), ArrayStyle.MAPPED, false);
-        try {
-            this.file = file;
-            this.length = length;
-            this.coding = coding;
-            this.defaultValue = defaultValue;
-            this.defaultCode = coding.getCode(defaultValue);
-            this.channel = new RandomAccessFile(file, "rw").getChannel();
-            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asLongBuffer();
-            this.fill(defaultValue);
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to initialise memory mapped array on file: " + file.getAbsolutePath(), ex);
-        }
+        this.file = region.file();
+        this.length = region.length();
+        this.region = region;
+        this.coding = coding;
+        this.defaultValue = defaultValue;
+        this.defaultCode = coding.getCode(defaultValue);
+        this.fill(this.defaultValue, initialised, length);
     }
 
     /**
@@ -91,8 +93,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
         this.coding = source.coding;
         this.defaultValue = source.defaultValue;
         this.defaultCode = source.defaultCode;
-        this.channel = source.channel;
-        this.buffer = source.buffer;
+        this.region = source.region;
     }
 
 
@@ -102,6 +103,12 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
     }
 
 
+    @Override
+    public final boolean isReadOnly() {
+        return region.isReadOnly();
+    }
+
+
     @Override()
     public final float loadFactor() {
         return 1F;
@@ -129,17 +136,9 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
     @Override()
     @SuppressWarnings("unchecked")
     public final Array<T> copy() {
-        try {
-            final File newFile = MappedArrayConstructor.randomFile(true);
-            final MappedArrayWithLongCoding<T> copy = new MappedArrayWithLongCoding<>(length, defaultValue, coding, newFile);
-            for (int i=0; i<length; ++i) {
-                final long v = buffer.get(i);
-                copy.buffer.put(i, v);
-            }
-            return copy;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to copy Array: " + this, ex);
-        }
+        var copy = MappedRegion.create(MappedArrayConstructor.randomFile(true), BYTE_COUNT, length);
+        this.region.copyTo(0, copy, 0, length);
+        return new MappedArrayWithLongCoding<>(copy, defaultValue, coding, length);
     }
 
 
@@ -149,9 +148,9 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
             var newFile = MappedArrayConstructor.randomFile(true);
             var copy = new MappedArrayWithLongCoding<T>(indexes.length, defaultValue, coding, newFile);
             for (int i=0; i<indexes.length; ++i) {
-                var value = buffer.get(indexes[i]);
+                var value = region.getLong(indexes[i]);
                 if (value != defaultCode) {
-                    copy.buffer.put(i, value);
+                    copy.region.putLong(i, value);
                 }
             }
             return copy;
@@ -167,9 +166,9 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
             var newFile = MappedArrayConstructor.randomFile(true);
             var copy = new MappedArrayWithLongCoding<T>(indexes.length(), defaultValue, coding, newFile);
             for (int i=0; i<indexes.length(); ++i) {
-                var value = buffer.get(indexes.getInt(i));
+                var value = region.getLong(indexes.getInt(i));
                 if (value != defaultCode) {
-                    copy.buffer.put(i, value);
+                    copy.region.putLong(i, value);
                 }
             }
             return copy;
@@ -181,37 +180,27 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
 
     @Override()
     public final Array<T> copy(int start, int end) {
-        try {
-            var newLength = end - start;
-            final File newFile = MappedArrayConstructor.randomFile(true);
-            final MappedArrayWithLongCoding<T> copy = new MappedArrayWithLongCoding<>(newLength, defaultValue, coding, newFile);
-            for (int i=0; i<newLength; ++i) {
-                final long value = buffer.get(start + i);
-                if (Long.compare(value, defaultCode) != 0) {
-                    copy.buffer.put(i, value);
-                }
-            }
-            return copy;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed top copy subset of Array", ex);
-        }
+        var newLength = end - start;
+        var copy = MappedRegion.create(MappedArrayConstructor.randomFile(true), BYTE_COUNT, newLength);
+        this.region.copyTo(start, copy, 0, newLength);
+        return new MappedArrayWithLongCoding<>(copy, defaultValue, coding, newLength);
     }
 
 
     @Override
     public final int compare(int i, int j) {
-        final long v1 = buffer.get(i);
-        final long v2 = buffer.get(j);
+        final long v1 = region.getLong(i);
+        final long v2 = region.getLong(j);
         return Long.compare(v1, v2);
     }
 
 
     @Override
     public final Array<T> swap(int i, int j) {
-        final long v1 = buffer.get(i);
-        final long v2 = buffer.get(j);
-        this.buffer.put(i, v2);
-        this.buffer.put(j, v1);
+        final long v1 = region.getLong(i);
+        final long v2 = region.getLong(j);
+        this.region.putLong(i, v2);
+        this.region.putLong(j, v1);
         return this;
     }
 
@@ -252,7 +241,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
         if (from instanceof MappedArrayWithLongCoding) {
             final MappedArrayWithLongCoding other = (MappedArrayWithLongCoding) from;
             for (int i = 0; i < length; ++i) {
-                this.buffer.put(toIndex + i, other.buffer.get(fromIndex + i));
+                this.region.putLong(toIndex + i, other.region.getLong(fromIndex + i));
             }
         } else {
             for (int i=0; i<length; ++i) {
@@ -266,16 +255,12 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
 
     @Override
     public final Array<T> expand(int newLength) {
-        try {
-            if (newLength > length) {
-                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * newLength).asLongBuffer();
-                this.fill(defaultValue, length, newLength);
-                this.length = newLength;
-            }
-            return this;
-        } catch (Exception ex) {
-            throw new ArrayException("Failed to expand size of memory mapped array at " + file.getAbsolutePath(), ex);
+        if (newLength > length) {
+            this.region.grow(newLength);
+            this.fill(defaultValue, length, newLength);
+            this.length = newLength;
         }
+        return this;
     }
 
 
@@ -283,7 +268,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
     public Array<T> fill(T value, int start, int end) {
         final long code = coding.getCode(value);
         for (int i=start; i<end; ++i) {
-            this.buffer.put(i, code);
+            this.region.putLong(i, code);
         }
         return this;
     }
@@ -291,7 +276,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
 
     @Override
     public final boolean isNull(int index) {
-        return buffer.get(index) == coding.getCode(null);
+        return region.getLong(index) == coding.getCode(null);
     }
 
 
@@ -301,7 +286,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
             return isNull(index);
         } else {
             final long code = coding.getCode(value);
-            return code == buffer.get(index);
+            return code == region.getLong(index);
         }
     }
 
@@ -309,14 +294,14 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
     @Override
     public final long getLong(int index) {
         this.checkBounds(index, length);
-        return buffer.get(index);
+        return region.getLong(index);
     }
 
 
     @Override
     public final T getValue(int index) {
         this.checkBounds(index, length);
-        final long code = buffer.get(index);
+        final long code = region.getLong(index);
         return coding.getValue(code);
     }
 
@@ -324,8 +309,8 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
     @Override
     public final long setLong(int index, long value) {
         this.checkBounds(index, length);
-        final long oldCode = buffer.get(index);
-        this.buffer.put(index, value);
+        final long oldCode = region.getLong(index);
+        this.region.putLong(index, value);
         return oldCode;
     }
 
@@ -335,7 +320,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
         this.checkBounds(index, length);
         final T oldValue = getValue(index);
         final long code = coding.getCode(value);
-        this.buffer.put(index, code);
+        this.region.putLong(index, code);
         return oldValue;
     }
 
@@ -363,7 +348,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
     public final void read(ObjectInputStream is, int count) throws IOException {
         for (int i=0; i<count; ++i) {
             final long value = is.readLong();
-            this.buffer.put(i, value);
+            this.region.putLong(i, value);
         }
     }
 
@@ -384,7 +369,7 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
         os.writeObject(defaultValue);
         os.writeObject(coding);
         for (int i=0; i<length; ++i) {
-            final long value = buffer.get(i);
+            final long value = region.getLong(i);
             os.writeLong(value);
         }
     }
@@ -398,11 +383,10 @@ class MappedArrayWithLongCoding<T> extends ArrayBase<T> {
         this.defaultCode = is.readLong();
         this.defaultValue = (T)is.readObject();
         this.coding = (LongCoding<T>)is.readObject();
-        this.channel = new RandomAccessFile(file, "rw").getChannel();
-        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, BYTE_COUNT * length).asLongBuffer();
+        this.region = MappedRegion.create(file, BYTE_COUNT, length);
         for (int i=0; i<length; ++i) {
             final long value = is.readLong();
-            this.buffer.put(i, value);
+            this.region.putLong(i, value);
         }
     }
 
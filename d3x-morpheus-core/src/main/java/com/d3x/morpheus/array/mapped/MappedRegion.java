@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2018-2019 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.array.mapped;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import com.d3x.morpheus.array.ArrayException;
+
+/**
+ * A region of a file holding fixed width values that is memory mapped in chunks, so that arrays can span more than the
+ * 2GB a single MappedByteBuffer can address.
+ *
+ * <p>Each chunk covers a power of two number of elements so that an element index resolves to a chunk and position
+ * with a shift and a mask, and no element ever straddles two chunks. Growing a region only remaps the last partially
+ * filled chunk and maps any new chunks, leaving the existing full chunks untouched. Values are stored big-endian.</p>
+ *
+ * <p>A region does not hold the file open: a mapping remains valid after the channel it was created from is closed,
+ * so the file is only opened while chunks are being mapped.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+final class MappedRegion {
+
+    /** The maximum number of bytes mapped by a single chunk */
+    static final int MAX_CHUNK_BYTES = 1 << 30;
+
+    private final File file;
+    private final FileChannel.MapMode mode;
+    private final long offset;
+    private final int width;
+    private final int shift;
+    private final int mask;
+    private final boolean growable;
+    private MappedByteBuffer[] chunks;
+    private int length;
+
+    /**
+     * Constructor
+     * @param file      the file that holds the values
+     * @param channel   the channel for file, which is only used to map the initial chunks
+     * @param mode      the map mode
+     * @param offset    the byte offset of the first value in the file
+     * @param width     the width in bytes of each value
+     * @param length    the number of values in the region
+     * @param growable  true if the region ends the file and can be grown
+     * @param chunkBytes the maximum number of bytes mapped by a single chunk
+     */
+    MappedRegion(File file, FileChannel channel, FileChannel.MapMode mode, long offset, int width, int length, boolean growable, int chunkBytes) {
+        if (width <= 0 || width > chunkBytes) {
+            throw new ArrayException("Invalid value width for memory mapped region: " + width);
+        } else if (length < 0) {
+            throw new ArrayException("The length of a memory mapped region cannot be negative: " + length);
+        }
+        this.file = file;
+        this.mode = mode;
+        this.offset = offset;
+        this.width = width;
+        this.shift = 31 - Integer.numberOfLeadingZeros(chunkBytes / width);
+        this.mask = (1 << shift) - 1;
+        this.growable = growable;
+        this.chunks = new MappedByteBuffer[0];
+        this.map(channel, length);
+    }
+
+
+    /**
+     * Returns a newly created region over the whole of a file, which is created if it does not exist
+     * @param file      the file to hold the values
+     * @param width     the width in bytes of each value
+     * @param length    the number of values in the region
+     * @return          the newly created region, whose values must be initialised by the caller
+     */
+    static MappedRegion create(File file, int width, int length) {
+        try (var raf = new RandomAccessFile(file, "rw")) {
+            return new MappedRegion(file, raf.getChannel(), FileChannel.MapMode.READ_WRITE, 0L, width, length, true, MAX_CHUNK_BYTES);
+        } catch (IOException ex) {
+            throw new ArrayException("Failed to initialise memory mapped array on file: " + file.getAbsolutePath(), ex);
+        }
+    }
+
+
+    /**
+     * Returns a region over the values already stored in a file, which is extended if the length exceeds its contents
+     * <p>The file is closed as soon as the region is mapped. A read only region shares its pages through the
+     * operating system page cache with every other process that maps the same file, and modifications to a
+     * writable region are written through to the file.</p>
+     * @param file      the file that holds the values
+     * @param width     the width in bytes of each value
+     * @param length    the number of values in the region, or -1 for as many complete values as the file holds
+     * @param readOnly  true to map the file read only
+     * @return          the region over the file
+     */
+    static MappedRegion open(File file, int width, int length, boolean readOnly) {
+        try {
+            if (readOnly) {
+                try (var raf = new RandomAccessFile(file, "r")) {
+                    var channel = raf.getChannel();
+                    var available = count(channel.size(), width, file);
+                    var count = length < 0 ? available : length;
+                    if (count > available) {
+                        throw new ArrayException("Read only memory mapped file holds only " + available + " values, not " + count + ": " + file.getAbsolutePath());
+                    }
+                    return new MappedRegion(file, channel, FileChannel.MapMode.READ_ONLY, 0L, width, count, false, MAX_CHUNK_BYTES);
+                }
+            } else {
+                try (var raf = new RandomAccessFile(file, "rw")) {
+                    var channel = raf.getChannel();
+                    var count = length < 0 ? count(channel.size(), width, file) : length;
+                    return new MappedRegion(file, channel, FileChannel.MapMode.READ_WRITE, 0L, width, count, true, MAX_CHUNK_BYTES);
+                }
+            }
+        } catch (IOException ex) {
+            throw new ArrayException("Failed to open memory mapped array on file: " + file.getAbsolutePath(), ex);
+        }
+    }
+
+
+    /**
+     * Returns a region attached to values in part of a file, which cannot be grown
+     * @param file      the file that holds the values
+     * @param channel   the channel for file
+     * @param offset    the byte offset of the first value in the file
+     * @param width     the width in bytes of each value
+     * @param length    the number of values in the region
+     * @param mode      the map mode
+     * @return          the region over the values
+     */
+    static MappedRegion attach(File file, FileChannel channel, long offset, int width, int length, FileChannel.MapMode mode) {
+        return new MappedRegion(file, channel, mode, offset, width, length, false, MAX_CHUNK_BYTES);
+    }
+
+
+    /**
+     * Returns the number of complete values of the width specified in a file of the size specified
+     * @param size      the file size in bytes
+     * @param width     the width in bytes of each value
+     * @param file      the file, for error reporting
+     * @return          the number of values
+     */
+    private static int count(long size, int width, File file) {
+        var count = size / width;
+        if (count > Integer.MAX_VALUE) {
+            throw new ArrayException("Memory mapped file holds more values than an array can address: " + file.getAbsolutePath());
+        }
+        return (int)count;
+    }
+
+
+    /**
+     * Maps the chunks to cover the length specified, reusing existing chunks that are already full
+     * @param channel   the open channel for file
+     * @param newLength the new number of values in region
+     */
+    private void map(FileChannel channel, int newLength) {
+        try {
+            var chunkLength = 1 << shift;
+            var chunkCount = newLength == 0 ? 0 : ((newLength - 1) >>> shift) + 1;
+            var fullChunks = length >>> shift;
+            var newChunks = Arrays.copyOf(chunks, chunkCount);
+            for (int k=fullChunks; k<chunkCount; ++k) {
+                var first = (long)k << shift;
+                var count = Math.min(chunkLength, newLength - first);
+                newChunks[k] = channel.map(mode, offset + first * width, count * width);
+            }
+            this.chunks = newChunks;
+            this.length = newLength;
+        } catch (IOException ex) {
+            throw new ArrayException("Failed to memory map " + newLength + " values in file: " + file.getAbsolutePath(), ex);
+        }
+    }
+
+
+    /**
+     * Grows this region to the length specified, extending the file if necessary
+     * @param newLength the new number of values in region
+     */
+    void grow(int newLength) {
+        if (mode == FileChannel.MapMode.READ_ONLY) {
+            throw new ArrayException("Cannot expand read only memory mapped array on " + file.getAbsolutePath());
+        } else if (!growable) {
+            throw new ArrayException("Cannot expand memory mapped array attached to a region of " + file.getAbsolutePath());
+        } else if (newLength > length) {
+            try (var raf = new RandomAccessFile(file, "rw")) {
+                this.map(raf.getChannel(), newLength);
+            } catch (IOException ex) {
+                throw new ArrayException("Failed to expand memory mapped array on " + file.getAbsolutePath(), ex);
+            }
+        }
+    }
+
+
+    /**
+     * Returns the file that holds this region
+     * @return  the file for region
+     */
+    File file() {
+        return file;
+    }
+
+
+    /**
+     * Returns the number of values in this region
+     * @return  the number of values
+     */
+    int length() {
+        return length;
+    }
+
+
+    /**
+     * Returns true if this region is mapped read only
+     * @return  true if read only
+     */
+    boolean isReadOnly() {
+        return mode == FileChannel.MapMode.READ_ONLY;
+    }
+
+
+    /**
+     * Returns the number of chunks currently mapped
+     * @return  the chunk count
+     */
+    int chunkCount() {
+        return chunks.length;
+    }
+
+
+    /**
+     * Copies values from this region into another region of the same value width
+     * @param fromIndex the index of the first value to copy in this region
+     * @param target    the target region
+     * @param toIndex   the index of the first value to write in the target
+     * @param count     the number of values to copy
+     */
+    void copyTo(int fromIndex, MappedRegion target, int toIndex, int count) {
+        if (target.width != width) {
+            throw new ArrayException("Memory mapped regions have different value widths: " + width + " and " + target.width);
+        }
+        while (count > 0) {
+            var n = Math.min(count, Math.min((1 << shift) - (fromIndex & mask), (1 << target.shift) - (toIndex & target.mask)));
+            var source = chunks[fromIndex >>> shift];
+            var dest = target.chunks[toIndex >>> target.shift];
+            dest.put((toIndex & target.mask) * width, source, (fromIndex & mask) * width, n * width);
+            fromIndex += n;
+            toIndex += n;
+            count -= n;
+        }
+    }
+
+
+    short getShort(int index) {
+        return chunks[index >>> shift].getShort((index & mask) * width);
+    }
+
+    void putShort(int index, short value) {
+        this.chunks[index >>> shift].putShort((index & mask) * width, value);
+    }
+
+    int getInt(int index) {
+        return chunks[index >>> shift].getInt((index & mask) * width);
+    }
+
+    void putInt(int index, int value) {
+        this.chunks[index >>> shift].putInt((index & mask) * width, value);
+    }
+
+    long getLong(int index) {
+        return chunks[index >>> shift].getLong((index & mask) * width);
+    }
+
+    void putLong(int index, long value) {
+        this.chunks[index >>> shift].putLong((index & mask) * width, value);
+    }
+
+    double getDouble(int index) {
+        return chunks[index >>> shift].getDouble((index & mask) * width);
+    }
+
+    void putDouble(int index, double value) {
+        this.chunks[index >>> shift].putDouble((index & mask) * width, value);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2018-2019 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.binary;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import com.d3x.morpheus.frame.DataFrameException;
+
+/**
+ * A buffered input for the DataFrame codec that reads the blocks written by a CodecOutput
+ *
+ * <p>The input reads exactly the bytes of one encoded stream, up to and including the end marker, so the underlying
+ * stream can carry further data after it.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+final class CodecInput {
+
+    private final int blockSize;
+    private final DataInputStream is;
+    private final ByteBuffer buffer;
+    private final ByteBuffer header;
+    private byte[] packed;
+
+
+    /**
+     * Constructor
+     * @param is    the input stream to read from, which is not closed by this input
+     * @throws IOException  if reading the preamble fails
+     */
+    CodecInput(InputStream is) throws IOException {
+        this.is = is instanceof DataInputStream ? (DataInputStream)is : new DataInputStream(is);
+        this.header = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        this.is.readFully(header.array(), 0, 12);
+        var magic = header.getInt();
+        var version = header.getInt();
+        this.blockSize = header.getInt();
+        if (magic != CodecOutput.MAGIC) {
+            throw new DataFrameException("The stream does not start with a DataFrame codec preamble");
+        } else if (version != CodecOutput.VERSION) {
+            throw new DataFrameException("Unsupported DataFrame codec version: " + version);
+        } else if (blockSize <= 0) {
+            throw new DataFrameException("Invalid block size in DataFrame codec stream: " + blockSize);
+        }
+        this.buffer = ByteBuffer.allocate(blockSize).order(ByteOrder.LITTLE_ENDIAN);
+        this.buffer.limit(0);
+    }
+
+
+    int getByte() throws IOException {
+        this.require();
+        return buffer.get();
+    }
+
+    int getInt() throws IOException {
+        this.require();
+        return buffer.getInt();
+    }
+
+    long getLong() throws IOException {
+        this.require();
+        return buffer.getLong();
+    }
+
+    double getDouble() throws IOException {
+        this.require();
+        return buffer.getDouble();
+    }
+
+    /**
+     * Reads an unsigned variable length integer
+     * @return  the value
+     */
+    long getVarLong() throws IOException {
+        this.require();
+        long result = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            var value = buffer.get();
+            result |= (long)(value & 0x7F) << shift;
+            if (value >= 0) {
+                return result;
+            }
+        }
+        throw new DataFrameException("Malformed variable length integer in DataFrame codec stream");
+    }
+
+    /**
+     * Reads an unsigned variable length integer that must fit in an int
+     * @return  the value
+     */
+    int getVarInt() throws IOException {
+        var value = getVarLong();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new DataFrameException("Length out of range in DataFrame codec stream: " + value);
+        } else {
+            return (int)value;
+        }
+    }
+
+    /**
+     * Reads a zig-zag encoded signed variable length integer
+     * @return  the signed value
+     */
+    long getZigZag() throws IOException {
+        var value = getVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a string written by CodecOutput.putString()
+     * @return  the string, which may be null
+     */
+    String getString() throws IOException {
+        var length = getVarInt();
+        if (length == 0) {
+            return null;
+        } else {
+            var bytes = new byte[length - 1];
+            this.getBytes(bytes, 0, bytes.length);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Reads a run of bytes, which may span blocks
+     * @param bytes     the bytes to read into
+     * @param offset    the offset of the first byte
+     * @param length    the number of bytes
+     */
+    void getBytes(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            this.require();
+            var count = Math.min(length, buffer.remaining());
+            this.buffer.get(bytes, offset, count);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Reads the end of stream marker, checking that all values in the last block were consumed
+     */
+    void finish() throws IOException {
+        if (buffer.hasRemaining() || readHeader() != 0) {
+            throw new DataFrameException("Unexpected trailing data in DataFrame codec stream");
+        }
+    }
+
+    /**
+     * Reads the next block if the current block is exhausted
+     */
+    private void require() throws IOException {
+        if (!buffer.hasRemaining()) {
+            var length = readHeader();
+            var storedLength = header.getInt();
+            if (length <= 0 || length > blockSize) {
+                throw new DataFrameException("Unexpected end of DataFrame codec stream");
+            } else if (storedLength == length) {
+                this.is.readFully(buffer.array(), 0, length);
+            } else if (storedLength > 0 && storedLength < length) {
+                this.packed = packed != null ? packed : new byte[LZ4Block.maxCompressedLength(blockSize)];
+                this.is.readFully(packed, 0, storedLength);
+                LZ4Block.decompress(packed, 0, storedLength, buffer.array(), 0, length);
+            } else {
+                throw new DataFrameException("Invalid block length in DataFrame codec stream: " + storedLength);
+            }
+            this.buffer.position(0).limit(length);
+        }
+    }
+
+    /**
+     * Reads a block header and returns the uncompressed length, leaving the stored length to be read from the header
+     * @return  the uncompressed length of the block, zero for the end marker
+     */
+    private int readHeader() throws IOException {
+        try {
+            this.header.clear();
+            this.is.readFully(header.array(), 0, 8);
+            this.header.limit(8);
+            return header.getInt();
+        } catch (EOFException ex) {
+            throw new DataFrameException("Unexpected end of DataFrame codec stream", ex);
+        }
+    }
+}
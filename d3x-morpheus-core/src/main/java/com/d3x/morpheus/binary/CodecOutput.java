@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2018-2019 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A buffered output for the DataFrame codec that writes little-endian values in blocks, optionally LZ4 compressed
+ *
+ * <p>The stream starts with a preamble holding a magic number, the version and the block size, followed by a sequence
+ * of blocks, each prefixed by its uncompressed and stored lengths, and a final empty block that marks the end. A block
+ * that does not shrink when compressed is stored as is, which is signalled by equal lengths. Primitive values are never
+ * split across blocks, so a reader only needs to fetch the next block once the current one is exhausted.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+final class CodecOutput {
+
+    /** The magic number that starts every stream, "MDFC" in ASCII */
+    static final int MAGIC = 0x4D444643;
+    /** The current version of the stream format */
+    static final int VERSION = 1;
+
+    private final OutputStream os;
+    private final ByteBuffer buffer;
+    private final ByteBuffer header;
+    private final byte[] packed;
+
+
+    /**
+     * Constructor
+     * @param os            the output stream to write to, which is not closed by this output
+     * @param blockSize     the uncompressed size of each block in bytes
+     * @param compressed    true to LZ4 compress each block
+     * @throws IOException  if writing the preamble fails
+     */
+    CodecOutput(OutputStream os, int blockSize, boolean compressed) throws IOException {
+        this.os = os;
+        this.buffer = ByteBuffer.allocate(blockSize).order(ByteOrder.LITTLE_ENDIAN);
+        this.header = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        this.packed = compressed ? new byte[LZ4Block.maxCompressedLength(blockSize)] : null;
+        this.header.putInt(MAGIC).putInt(VERSION).putInt(blockSize);
+        this.os.write(header.array(), 0, 12);
+    }
+
+
+    void putByte(int value) throws IOException {
+        this.ensure(1);
+        this.buffer.put((byte)value);
+    }
+
+    void putInt(int value) throws IOException {
+        this.ensure(4);
+        this.buffer.putInt(value);
+    }
+
+    void putLong(long value) throws IOException {
+        this.ensure(8);
+        this.buffer.putLong(value);
+    }
+
+    void putDouble(double value) throws IOException {
+        this.ensure(8);
+        this.buffer.putDouble(value);
+    }
+
+    /**
+     * Writes an unsigned variable length integer, using 7 bits per byte
+     * @param value the value, treated as unsigned
+     */
+    void putVarLong(long value) throws IOException {
+        this.ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            this.buffer.put((byte)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        this.buffer.put((byte)value);
+    }
+
+    /**
+     * Writes a signed variable length integer, zig-zag encoded so that small negative values are also short
+     * @param value the signed value
+     */
+    void putZigZag(long value) throws IOException {
+        this.putVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a string as its UTF-8 length plus one followed by the bytes, with a zero length for null
+     * @param value the value, which may be null
+     */
+    void putString(String value) throws IOException {
+        if (value == null) {
+            this.putVarLong(0);
+        } else {
+            var bytes = value.getBytes(StandardCharsets.UTF_8);
+            this.putVarLong(bytes.length + 1L);
+            this.putBytes(bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * Writes a run of bytes, which may span blocks
+     * @param bytes     the bytes
+     * @param offset    the offset of the first byte
+     * @param length    the number of bytes
+     */
+    void putBytes(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            this.ensure(1);
+            var count = Math.min(length, buffer.remaining());
+            this.buffer.put(bytes, offset, count);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Writes any buffered bytes and the end of stream marker, and flushes the underlying stream
+     */
+    void finish() throws IOException {
+        this.flushBlock();
+        this.writeHeader(0, 0);
+        this.os.flush();
+    }
+
+    /**
+     * Writes the current block if it has fewer than the bytes remaining
+     * @param bytes the number of bytes about to be written
+     */
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            this.flushBlock();
+        }
+    }
+
+    /**
+     * Writes the current block, compressed if that makes it smaller
+     */
+    private void flushBlock() throws IOException {
+        var length = buffer.position();
+        if (length > 0) {
+            var packedLength = packed != null ? LZ4Block.compress(buffer.array(), 0, length, packed, 0) : length;
+            if (packedLength < length) {
+                this.writeHeader(length, packedLength);
+                this.os.write(packed, 0, packedLength);
+            } else {
+                this.writeHeader(length, length);
+                this.os.write(buffer.array(), 0, length);
+            }
+            this.buffer.clear();
+        }
+    }
+
+    /**
+     * Writes the block header
+     * @param length        the uncompressed length of the block
+     * @param storedLength  the number of bytes that follow
+     */
+    private void writeHeader(int length, int storedLength) throws IOException {
+        this.header.clear();
+        this.header.putInt(length).putInt(storedLength);
+        this.os.write(header.array(), 0, 8);
+    }
+}
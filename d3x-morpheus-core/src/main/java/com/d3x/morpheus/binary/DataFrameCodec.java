@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2018-2019 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.util.Initialiser;
+
+/**
+ * Interface to a component that encodes a DataFrame to a compact binary stream and decodes it back, for example to
+ * ship frames between services, as a faster and smaller alternative to java.io.Serializable.
+ *
+ * <p>The default codec writes primitive columns as raw little-endian blocks, delta encodes integral keys and
+ * date-time values, dictionary encodes low cardinality string columns, and falls back to Java serialization for types it
+ * has no specialised encoding for. The stream is written in blocks that are optionally LZ4 compressed. Decoding always
+ * yields a column store, and the stream is self describing, so the options only affect encoding.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public interface DataFrameCodec {
+
+    /**
+     * Returns a codec with the default options
+     * @return  the newly created codec
+     */
+    static DataFrameCodec create() {
+        return new DataFrameCodecDefault(new Options());
+    }
+
+    /**
+     * Returns a codec configured by the consumer
+     * @param configurator  the options configurator
+     * @return              the newly created codec
+     */
+    static DataFrameCodec create(Consumer<Options> configurator) {
+        return new DataFrameCodecDefault(Initialiser.apply(new Options(), configurator));
+    }
+
+    /**
+     * Encodes the DataFrame to the output stream, which is flushed but not closed
+     * @param frame     the frame to encode
+     * @param os        the output stream
+     * @param <R>       the row key type
+     * @param <C>       the column key type
+     */
+    <R,C> void encode(DataFrame<R,C> frame, OutputStream os);
+
+    /**
+     * Decodes a DataFrame from the input stream, consuming exactly the bytes of one encoded frame
+     * @param rowType   the row key type, which must be assignable from the encoded row key type
+     * @param colType   the column key type, which must be assignable from the encoded column key type
+     * @param is        the input stream
+     * @param <R>       the row key type
+     * @param <C>       the column key type
+     * @return          the decoded frame
+     */
+    <R,C> DataFrame<R,C> decode(Class<R> rowType, Class<C> colType, InputStream is);
+
+    /**
+     * Encodes the DataFrame to a byte array
+     * @param frame     the frame to encode
+     * @param <R>       the row key type
+     * @param <C>       the column key type
+     * @return          the encoded bytes
+     */
+    default <R,C> byte[] encode(DataFrame<R,C> frame) {
+        var bytes = new ByteArrayOutputStream();
+        this.encode(frame, bytes);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a DataFrame from a byte array
+     * @param rowType   the row key type, which must be assignable from the encoded row key type
+     * @param colType   the column key type, which must be assignable from the encoded column key type
+     * @param bytes     the encoded bytes
+     * @param <R>       the row key type
+     * @param <C>       the column key type
+     * @return          the decoded frame
+     */
+    default <R,C> DataFrame<R,C> decode(Class<R> rowType, Class<C> colType, byte[] bytes) {
+        return decode(rowType, colType, new ByteArrayInputStream(bytes));
+    }
+
+
+    /**
+     * The options for the DataFrameCodec
+     */
+    @lombok.Data()
+    class Options {
+
+        /** True to LZ4 compress each block of the stream */
+        private boolean compressed;
+        /** The uncompressed size in bytes of each block of the stream */
+        private int blockSize;
+
+        /**
+         * Constructor
+         */
+        public Options() {
+            this.compressed = true;
+            this.blockSize = 65536;
+        }
+    }
+}
@@ -0,0 +1,449 @@
+/*
+ * Copyright (C) 2018-2019 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.array.ArrayType;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameException;
+import com.d3x.morpheus.index.Index;
+import com.d3x.morpheus.util.Asserts;
+
+/**
+ * The default implementation of the DataFrameCodec interface
+ *
+ * <p>After the row and column counts, the stream holds the row keys, the column keys and then each column, where
+ * each sequence of values is written as its data type name and an encoding tag followed by the encoded values.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class DataFrameCodecDefault implements DataFrameCodec {
+
+    private final Options options;
+
+
+    /**
+     * Constructor
+     * @param options   the codec options
+     */
+    public DataFrameCodecDefault(@lombok.NonNull Options options) {
+        Asserts.check(options.getBlockSize() > 0, "The block size must be > 0");
+        this.options = options;
+    }
+
+
+    @Override
+    public <R,C> void encode(DataFrame<R,C> frame, OutputStream os) {
+        try {
+            var rowCount = frame.rowCount();
+            var colCount = frame.colCount();
+            var colKeys = frame.cols().keyArray();
+            var output = new CodecOutput(os, options.getBlockSize(), options.isCompressed());
+            output.putVarLong(rowCount);
+            output.putVarLong(colCount);
+            write(output, Values.of(frame.rows().keyClass(), frame.rows().keyArray()), rowCount, true);
+            write(output, Values.of(frame.cols().keyClass(), colKeys), colCount, true);
+            for (int j=0; j<colCount; ++j) {
+                var type = frame.cols().type(colKeys.getValue(j));
+                write(output, Values.of(frame, type, j), rowCount, false);
+            }
+            output.finish();
+        } catch (IOException ex) {
+            throw new DataFrameException("Failed to encode DataFrame", ex);
+        }
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R,C> DataFrame<R,C> decode(Class<R> rowType, Class<C> colType, InputStream is) {
+        try {
+            var input = new CodecInput(is);
+            var rowCount = input.getVarInt();
+            var colCount = input.getVarInt();
+            var rowKeys = (Array<R>)read(input, rowCount);
+            var colKeys = (Array<C>)read(input, colCount);
+            if (!rowType.isAssignableFrom(rowKeys.type())) {
+                throw new DataFrameException("Row key type " + rowType.getSimpleName() + " does not match encoded type " + rowKeys.type().getName());
+            } else if (!colType.isAssignableFrom(colKeys.type())) {
+                throw new DataFrameException("Column key type " + colType.getSimpleName() + " does not match encoded type " + colKeys.type().getName());
+            }
+            var arrays = new ArrayList<Array<?>>(colCount);
+            for (int j=0; j<colCount; ++j) {
+                arrays.add(read(input, rowCount));
+            }
+            input.finish();
+            return DataFrame.of(Index.of(rowKeys), colType, columns -> {
+                for (int j=0; j<colCount; ++j) {
+                    columns.add(colKeys.getValue(j), arrays.get(j));
+                }
+            });
+        } catch (IOException ex) {
+            throw new DataFrameException("Failed to decode DataFrame", ex);
+        }
+    }
+
+
+    /**
+     * Writes a sequence of values to the output
+     * @param output    the output to write to
+     * @param values    the values to write
+     * @param length    the number of values
+     * @param keys      true if the values are the keys of an axis, which are unique and usually ordered
+     * @throws IOException  if write fails
+     */
+    private void write(CodecOutput output, Values values, int length, boolean keys) throws IOException {
+        var type = values.type();
+        var encoding = Encoding.of(type, keys);
+        var dictionary = encoding == Encoding.STRING_DICT ? new ObjectIntHashMap<String>() : null;
+        var codes = encoding == Encoding.STRING_DICT ? dictionary(values, length, dictionary) : null;
+        encoding = encoding == Encoding.STRING_DICT && codes == null ? Encoding.STRING : encoding;
+        output.putString(type.getName());
+        output.putByte(encoding.ordinal());
+        switch (encoding) {
+            case BOOLEAN:
+                for (int i=0; i<length; i+=8) {
+                    var bits = 0;
+                    for (int k=0; k<8 && i+k<length; ++k) {
+                        bits |= values.getBoolean(i+k) ? 1 << k : 0;
+                    }
+                    output.putByte(bits);
+                }
+                break;
+            case INT:
+                for (int i=0; i<length; ++i) {
+                    output.putInt(values.getInt(i));
+                }
+                break;
+            case INT_DELTA:
+                var priorInt = 0;
+                for (int i=0; i<length; ++i) {
+                    var value = values.getInt(i);
+                    output.putZigZag((long)value - priorInt);
+                    priorInt = value;
+                }
+                break;
+            case LONG:
+                for (int i=0; i<length; ++i) {
+                    output.putLong(values.getLong(i));
+                }
+                break;
+            case LONG_DELTA:
+                var priorLong = 0L;
+                for (int i=0; i<length; ++i) {
+                    var value = values.getLong(i);
+                    output.putZigZag(value - priorLong);
+                    priorLong = value;
+                }
+                break;
+            case DOUBLE:
+                for (int i=0; i<length; ++i) {
+                    output.putDouble(values.getDouble(i));
+                }
+                break;
+            case CODED:
+                var coding = MorpheusFormat.coding(type);
+                var priorCode = 0L;
+                for (int i=0; i<length; ++i) {
+                    var code = coding.getCode(values.getValue(i));
+                    output.putZigZag(code - priorCode);
+                    priorCode = code;
+                }
+                break;
+            case ZONED:
+                writeZoned(output, values, length);
+                break;
+            case STRING:
+                for (int i=0; i<length; ++i) {
+                    output.putString((String)values.getValue(i));
+                }
+                break;
+            case STRING_DICT:
+                var entries = new String[dictionary.size()];
+                dictionary.forEachKeyValue((value, code) -> entries[code] = value);
+                output.putVarLong(entries.length);
+                for (String entry : entries) {
+                    output.putString(entry);
+                }
+                for (int i=0; i<length; ++i) {
+                    output.putVarLong(codes[i]);
+                }
+                break;
+            case OBJECT:
+                var bytes = new ByteArrayOutputStream();
+                try (var os = new ObjectOutputStream(bytes)) {
+                    for (int i=0; i<length; ++i) {
+                        os.writeObject(values.getValue(i));
+                    }
+                }
+                output.putVarLong(bytes.size());
+                output.putBytes(bytes.toByteArray(), 0, bytes.size());
+                break;
+            default:
+                throw new DataFrameException("Unsupported codec encoding: " + encoding);
+        }
+    }
+
+
+    /**
+     * Writes zoned date times as a dictionary of zones followed by a zone code and a delta encoded epoch milli per value
+     * @param output    the output to write to
+     * @param values    the values to write
+     * @param length    the number of values
+     * @throws IOException  if write fails
+     */
+    private void writeZoned(CodecOutput output, Values values, int length) throws IOException {
+        var zones = new ObjectIntHashMap<ZoneId>();
+        var codes = new int[length];
+        var millis = new long[length];
+        for (int i=0; i<length; ++i) {
+            var value = (ZonedDateTime)values.getValue(i);
+            if (value != null) {
+                codes[i] = zones.getIfAbsentPut(value.getZone(), zones.size()) + 1;
+                millis[i] = value.toInstant().toEpochMilli();
+            }
+        }
+        var entries = new ZoneId[zones.size()];
+        zones.forEachKeyValue((zone, code) -> entries[code] = zone);
+        output.putVarLong(entries.length);
+        for (ZoneId zone : entries) {
+            output.putString(zone.getId());
+        }
+        var prior = 0L;
+        for (int i=0; i<length; ++i) {
+            output.putVarLong(codes[i]);
+            if (codes[i] > 0) {
+                output.putZigZag(millis[i] - prior);
+                prior = millis[i];
+            }
+        }
+    }
+
+
+    /**
+     * Dictionary encodes string values, giving up if the dictionary would hold more than half as many entries as values
+     * @param values        the string values
+     * @param length        the number of values
+     * @param dictionary    the dictionary to populate with the distinct non-null values and their codes
+     * @return              the code plus one of each value with zero for null, or null if the values are too distinct
+     */
+    private int[] dictionary(Values values, int length, ObjectIntHashMap<String> dictionary) {
+        var limit = length / 2;
+        var codes = new int[length];
+        for (int i=0; i<length; ++i) {
+            var value = (String)values.getValue(i);
+            if (value != null) {
+                codes[i] = dictionary.getIfAbsentPut(value, dictionary.size()) + 1;
+                if (dictionary.size() > limit) {
+                    return null;
+                }
+            }
+        }
+        return codes;
+    }
+
+
+    /**
+     * Reads a sequence of values written by write()
+     * @param input     the input to read from
+     * @param length    the number of values
+     * @return          the array of values
+     * @throws IOException  if read fails
+     */
+    @SuppressWarnings("unchecked")
+    private Array<?> read(CodecInput input, int length) throws IOException {
+        var type = type(input.getString());
+        var tag = input.getByte();
+        if (tag < 0 || tag >= Encoding.values().length) {
+            throw new DataFrameException("Unsupported codec encoding tag: " + tag);
+        }
+        var encoding = Encoding.values()[tag];
+        var array = (Array<Object>)Array.of(type, length);
+        switch (encoding) {
+            case BOOLEAN:
+                for (int i=0; i<length; i+=8) {
+                    var bits = input.getByte();
+                    for (int k=0; k<8 && i+k<length; ++k) {
+                        array.setBoolean(i+k, (bits & (1 << k)) != 0);
+                    }
+                }
+                return array;
+            case INT:
+                for (int i=0; i<length; ++i) {
+                    array.setInt(i, input.getInt());
+                }
+                return array;
+            case INT_DELTA:
+                var priorInt = 0;
+                for (int i=0; i<length; ++i) {
+                    priorInt += (int)input.getZigZag();
+                    array.setInt(i, priorInt);
+                }
+                return array;
+            case LONG:
+                for (int i=0; i<length; ++i) {
+                    array.setLong(i, input.getLong());
+                }
+                return array;
+            case LONG_DELTA:
+                var priorLong = 0L;
+                for (int i=0; i<length; ++i) {
+                    priorLong += input.getZigZag();
+                    array.setLong(i, priorLong);
+                }
+                return array;
+            case DOUBLE:
+                for (int i=0; i<length; ++i) {
+                    array.setDouble(i, input.getDouble());
+                }
+                return array;
+            case CODED:
+                var coding = MorpheusFormat.coding(type);
+                var priorCode = 0L;
+                for (int i=0; i<length; ++i) {
+                    priorCode += input.getZigZag();
+                    array.setValue(i, coding.getValue(priorCode));
+                }
+                return array;
+            case ZONED:
+                var zones = new ZoneId[input.getVarInt()];
+                for (int k=0; k<zones.length; ++k) {
+                    zones[k] = ZoneId.of(input.getString());
+                }
+                var priorMillis = 0L;
+                for (int i=0; i<length; ++i) {
+                    var code = input.getVarInt();
+                    if (code > 0) {
+                        priorMillis += input.getZigZag();
+                        array.setValue(i, ZonedDateTime.ofInstant(Instant.ofEpochMilli(priorMillis), zones[code - 1]));
+                    } else {
+                        array.setValue(i, null);
+                    }
+                }
+                return array;
+            case STRING:
+                for (int i=0; i<length; ++i) {
+                    array.setValue(i, input.getString());
+                }
+                return array;
+            case STRING_DICT:
+                var entries = new String[input.getVarInt() + 1];
+                for (int k=1; k<entries.length; ++k) {
+                    entries[k] = input.getString();
+                }
+                for (int i=0; i<length; ++i) {
+                    array.setValue(i, entries[input.getVarInt()]);
+                }
+                return array;
+            case OBJECT:
+                var bytes = new byte[input.getVarInt()];
+                input.getBytes(bytes, 0, bytes.length);
+                try (var is = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    for (int i=0; i<length; ++i) {
+                        array.setValue(i, is.readObject());
+                    }
+                } catch (ClassNotFoundException ex) {
+                    throw new DataFrameException("Unable to resolve class of value in DataFrame codec stream", ex);
+                }
+                return array;
+            default:
+                throw new DataFrameException("Unsupported codec encoding: " + encoding);
+        }
+    }
+
+
+    /**
+     * Returns the class for the data type name specified
+     * @param name  the class name
+     * @return      the class
+     */
+    private Class<?> type(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException ex) {
+            throw new DataFrameException("Unable to resolve data type in DataFrame codec stream: " + name, ex);
+        }
+    }
+
+
+    /**
+     * The encodings used to write a sequence of values
+     */
+    private enum Encoding {
+
+        /** Booleans packed 8 per byte */
+        BOOLEAN,
+        /** Raw little-endian ints */
+        INT,
+        /** Zig-zag variable length deltas between successive ints */
+        INT_DELTA,
+        /** Raw little-endian longs */
+        LONG,
+        /** Zig-zag variable length deltas between successive longs */
+        LONG_DELTA,
+        /** Raw little-endian doubles */
+        DOUBLE,
+        /** Zig-zag variable length deltas between the long codes of successive date-time values */
+        CODED,
+        /** A dictionary of zones, then the zone code and delta encoded epoch milli of each value */
+        ZONED,
+        /** UTF-8 strings prefixed by their length */
+        STRING,
+        /** A dictionary of distinct strings followed by the code of each value */
+        STRING_DICT,
+        /** Java serialization of all the values, for types without a specialised encoding */
+        OBJECT;
+
+        /**
+         * Returns the encoding for the data type specified
+         * @param type  the data type
+         * @param keys  true if the values are the keys of an axis
+         * @return      the encoding for type
+         */
+        static Encoding of(Class<?> type, boolean keys) {
+            switch (ArrayType.of(type)) {
+                case BOOLEAN:           return BOOLEAN;
+                case INTEGER:           return keys ? INT_DELTA : INT;
+                case LONG:              return keys ? LONG_DELTA : LONG;
+                case DOUBLE:            return DOUBLE;
+                case DATE:              return CODED;
+                case INSTANT:           return CODED;
+                case LOCAL_DATE:        return CODED;
+                case LOCAL_TIME:        return CODED;
+                case LOCAL_DATETIME:    return CODED;
+                case ZONED_DATETIME:    return ZONED;
+                case STRING:            return keys ? STRING : STRING_DICT;
+                default:                return OBJECT;
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (C) 2018-2019 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.binary;
+
+import com.d3x.morpheus.frame.DataFrameException;
+
+/**
+ * A compressor for blocks of bytes in the LZ4 block format, which favours speed over compression ratio
+ *
+ * <p>A block is a sequence of tokens, each holding a run of literal bytes followed by a match that copies bytes
+ * already decoded from an offset of at most 64KB back. The compressor finds matches of at least 4 bytes with a single
+ * probe of a hash table, and as the format requires, the last 5 bytes of a block are always literals.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+final class LZ4Block {
+
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MATCH_FIND_LIMIT = 12;
+    private static final int MAX_DISTANCE = 65535;
+    private static final int HASH_LOG = 12;
+
+    /**
+     * Private constructor
+     */
+    private LZ4Block() {
+        super();
+    }
+
+
+    /**
+     * Returns the maximum number of bytes a block of the length specified can compress to
+     * @param length    the uncompressed length
+     * @return          the worst case compressed length
+     */
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+
+    /**
+     * Compresses bytes from the source into the destination, which must have room for maxCompressedLength() bytes
+     * @param src       the source bytes
+     * @param srcOff    the offset of the first source byte
+     * @param srcLen    the number of source bytes
+     * @param dst       the destination bytes
+     * @param dstOff    the offset in destination to write from
+     * @return          the number of compressed bytes written
+     */
+    static int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+        final int end = srcOff + srcLen;
+        final int matchLimit = end - LAST_LITERALS;
+        final int findLimit = end - MATCH_FIND_LIMIT;
+        final int[] table = new int[1 << HASH_LOG];
+        int anchor = srcOff;
+        int ip = srcOff;
+        int op = dstOff;
+        while (ip < findLimit) {
+            final int sequence = readInt(src, ip);
+            final int hash = hash(sequence);
+            final int ref = table[hash] - 1 + srcOff;
+            table[hash] = ip - srcOff + 1;
+            if (ref < srcOff || ip - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+                ip++;
+            } else {
+                int start = ip;
+                int match = ref;
+                while (start > anchor && match > srcOff && src[start - 1] == src[match - 1]) {
+                    start--;
+                    match--;
+                }
+                int length = MIN_MATCH + (ip - start);
+                while (start + length < matchLimit && src[match + length] == src[start + length]) {
+                    length++;
+                }
+                op = writeSequence(src, anchor, start - anchor, start - match, length, dst, op);
+                ip = start + length;
+                anchor = ip;
+                if (ip - 2 >= srcOff && ip < findLimit) {
+                    table[hash(readInt(src, ip - 2))] = ip - 2 - srcOff + 1;
+                }
+            }
+        }
+        final int literals = end - anchor;
+        op = writeLength(literals, Math.min(literals, 15) << 4, dst, op);
+        System.arraycopy(src, anchor, dst, op, literals);
+        return op + literals - dstOff;
+    }
+
+
+    /**
+     * Decompresses a block into the destination, which must be exactly the uncompressed length
+     * @param src       the compressed bytes
+     * @param srcOff    the offset of the first compressed byte
+     * @param srcLen    the number of compressed bytes
+     * @param dst       the destination bytes
+     * @param dstOff    the offset in destination to write from
+     * @param dstLen    the uncompressed length
+     * @throws DataFrameException   if the block is corrupt
+     */
+    static void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) {
+        final int end = srcOff + srcLen;
+        final int dstEnd = dstOff + dstLen;
+        int ip = srcOff;
+        int op = dstOff;
+        while (ip < end) {
+            final int token = src[ip++] & 0xFF;
+            int literals = token >>> 4;
+            if (literals == 15) {
+                int value;
+                do {
+                    check(ip < end);
+                    value = src[ip++] & 0xFF;
+                    literals += value;
+                } while (value == 255);
+            }
+            check(ip + literals <= end && op + literals <= dstEnd);
+            System.arraycopy(src, ip, dst, op, literals);
+            ip += literals;
+            op += literals;
+            if (ip == end) {
+                break;
+            }
+            check(ip + 2 <= end);
+            final int offset = (src[ip] & 0xFF) | (src[ip + 1] & 0xFF) << 8;
+            ip += 2;
+            int length = token & 0x0F;
+            if (length == 15) {
+                int value;
+                do {
+                    check(ip < end);
+                    value = src[ip++] & 0xFF;
+                    length += value;
+                } while (value == 255);
+            }
+            length += MIN_MATCH;
+            final int ref = op - offset;
+            check(offset > 0 && ref >= dstOff && op + length <= dstEnd);
+            if (offset >= length) {
+                System.arraycopy(dst, ref, dst, op, length);
+            } else {
+                for (int i=0; i<length; ++i) {
+                    dst[op + i] = dst[ref + i];
+                }
+            }
+            op += length;
+        }
+        check(op == dstEnd);
+    }
+
+
+    /**
+     * Writes a sequence of literals followed by a match
+     * @param src       the source bytes
+     * @param literalOff    the offset of the first literal
+     * @param literals      the number of literals
+     * @param offset        the distance back to the match
+     * @param length        the match length
+     * @param dst       the destination bytes
+     * @param op        the destination offset
+     * @return          the destination offset after the sequence
+     */
+    private static int writeSequence(byte[] src, int literalOff, int literals, int offset, int length, byte[] dst, int op) {
+        final int matchCode = length - MIN_MATCH;
+        op = writeLength(literals, Math.min(literals, 15) << 4 | Math.min(matchCode, 15), dst, op);
+        System.arraycopy(src, literalOff, dst, op, literals);
+        op += literals;
+        dst[op++] = (byte)offset;
+        dst[op++] = (byte)(offset >>> 8);
+        if (matchCode >= 15) {
+            op = writeExtraLength(matchCode - 15, dst, op);
+        }
+        return op;
+    }
+
+
+    /**
+     * Writes a token followed by the extra bytes for a literal length of 15 or more
+     * @param literals  the literal length
+     * @param token     the token
+     * @param dst       the destination bytes
+     * @param op        the destination offset
+     * @return          the destination offset after the token and length
+     */
+    private static int writeLength(int literals, int token, byte[] dst, int op) {
+        dst[op++] = (byte)token;
+        return literals >= 15 ? writeExtraLength(literals - 15, dst, op) : op;
+    }
+
+
+    /**
+     * Writes the remainder of a length as a run of 255 bytes and a final byte less than 255
+     * @param value     the remainder of the length
+     * @param dst       the destination bytes
+     * @param op        the destination offset
+     * @return          the destination offset after the length
+     */
+    private static int writeExtraLength(int value, byte[] dst, int op) {
+        while (value >= 255) {
+            dst[op++] = (byte)255;
+            value -= 255;
+        }
+        dst[op++] = (byte)value;
+        return op;
+    }
+
+
+    /**
+     * Returns the little-endian int at the offset specified
+     * @param bytes     the bytes
+     * @param offset    the offset of the first byte
+     * @return          the int value
+     */
+    private static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8 | (bytes[offset + 2] & 0xFF) << 16 | (bytes[offset + 3] & 0xFF) << 24;
+    }
+
+
+    /**
+     * Returns the hash table slot for the 4 byte sequence specified
+     * @param sequence  the sequence
+     * @return          the hash table slot
+     */
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+
+
+    /**
+     * Checks a condition that holds for every well formed block
+     * @param condition the condition
+     */
+    private static void check(boolean condition) {
+        if (!condition) {
+            throw new DataFrameException("Corrupt compressed block in DataFrame codec stream");
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2018-2019 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.binary;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import com.d3x.morpheus.array.ArrayType;
+import com.d3x.morpheus.array.coding.LongCoding;
+import com.d3x.morpheus.frame.DataFrameException;
+
+/**
+ * Defines the layout of the Morpheus columnar binary format shared by the MorpheusSink and MorpheusSource
+ *
+ * <p>A file starts with a 16 byte preamble holding a magic number, the format version and the offset of the header,
+ * which is written after the data once all the section offsets are known. The header holds the row count, column
+ * count and block size followed by a section descriptor for the row keys, the column keys and each column. All
+ * values are big-endian, which is the native order of Java mapped buffers. Fixed width sections are aligned to
+ * 8 bytes, and variable width sections are split into blocks of rows whose offsets are recorded in the header.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+final class MorpheusFormat {
+
+    /** The magic number that starts every file, "MRPH" in ASCII */
+    static final int MAGIC = 0x4D525048;
+    /** The current version of the format */
+    static final int VERSION = 1;
+    /** The size of the preamble that precedes the data */
+    static final int PREAMBLE_SIZE = 16;
+    /** The alignment for fixed width sections */
+    static final int ALIGNMENT = 8;
+
+    /**
+     * Private constructor
+     */
+    private MorpheusFormat() {
+        super();
+    }
+
+
+    /**
+     * The encodings used to store a sequence of values
+     */
+    enum Encoding {
+
+        BOOLEAN(2),
+        INT(4),
+        LONG(8),
+        DOUBLE(8),
+        CODED(8),
+        STRING(-1),
+        OBJECT(-1);
+
+        private final int width;
+
+        /**
+         * Constructor
+         * @param width     the width in bytes of each value, -1 for variable width
+         */
+        Encoding(int width) {
+            this.width = width;
+        }
+
+        /**
+         * Returns the width in bytes of each value
+         * @return  the value width, -1 for variable width
+         */
+        int width() {
+            return width;
+        }
+
+        /**
+         * Returns true if every value occupies the same number of bytes
+         * @return  true for fixed width encodings
+         */
+        boolean isFixedWidth() {
+            return width > 0;
+        }
+
+        /**
+         * Returns the encoding for the data type specified
+         * @param type  the data type
+         * @return      the encoding for type
+         */
+        static Encoding of(Class<?> type) {
+            switch (ArrayType.of(type)) {
+                case BOOLEAN:           return BOOLEAN;
+                case INTEGER:           return INT;
+                case LONG:              return LONG;
+                case DOUBLE:            return DOUBLE;
+                case DATE:              return CODED;
+                case INSTANT:           return CODED;
+                case LOCAL_DATE:        return CODED;
+                case LOCAL_TIME:        return CODED;
+                case LOCAL_DATETIME:    return CODED;
+                case STRING:            return STRING;
+                default:                return OBJECT;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the long coding used to store values of the type specified with the CODED encoding
+     * @param type  the data type
+     * @return      the long coding for type
+     */
+    @SuppressWarnings("unchecked")
+    static LongCoding<Object> coding(Class<?> type) {
+        switch (ArrayType.of(type)) {
+            case DATE:              return (LongCoding<Object>)(LongCoding<?>)LongCoding.ofDate();
+            case INSTANT:           return (LongCoding<Object>)(LongCoding<?>)LongCoding.ofInstant();
+            case LOCAL_DATE:        return (LongCoding<Object>)(LongCoding<?>)LongCoding.ofLocalDate();
+            case LOCAL_TIME:        return (LongCoding<Object>)(LongCoding<?>)LongCoding.ofLocalTime();
+            case LOCAL_DATETIME:    return (LongCoding<Object>)(LongCoding<?>)LongCoding.ofLocalDateTime();
+            default:    throw new DataFrameException("No long coding for type: " + type);
+        }
+    }
+
+
+    /**
+     * Describes where and how a sequence of values, namely the row keys, column keys or a column, is stored in the file
+     */
+    @lombok.AllArgsConstructor()
+    static final class Section {
+
+        /** The data type of the values */
+        final Class<?> type;
+        /** The encoding of the values */
+        final Encoding encoding;
+        /** The default value for the array the values are read into */
+        final Object defaultValue;
+        /** The number of values */
+        final int length;
+        /** The file offset of the first value */
+        final long offset;
+        /** The file offsets of each block of variable width values followed by the end offset, empty if fixed width */
+        final long[] blocks;
+
+        /**
+         * Writes this section descriptor to the header
+         * @param os    the header output stream
+         * @throws IOException  if write fails
+         */
+        void write(DataOutputStream os) throws IOException {
+            os.writeUTF(type.getName());
+            os.writeByte(encoding.ordinal());
+            os.writeInt(length);
+            os.writeLong(offset);
+            switch (encoding) {
+                case BOOLEAN:   os.writeBoolean((Boolean)defaultValue);     break;
+                case INT:       os.writeInt((Integer)defaultValue);         break;
+                case LONG:      os.writeLong((Long)defaultValue);           break;
+                case DOUBLE:    os.writeDouble((Double)defaultValue);       break;
+                case CODED:     os.writeLong(coding(type).getCode(defaultValue)); break;
+                default:        break;
+            }
+            os.writeInt(blocks.length);
+            for (long block : blocks) {
+                os.writeLong(block);
+            }
+        }
+
+        /**
+         * Returns a section descriptor read from the header
+         * @param is    the header input stream
+         * @return      the section descriptor
+         * @throws IOException  if read fails
+         */
+        static Section read(DataInputStream is) throws IOException {
+            try {
+                var type = Class.forName(is.readUTF());
+                var encoding = Encoding.values()[is.readByte()];
+                var length = is.readInt();
+                var offset = is.readLong();
+                Object defaultValue = null;
+                switch (encoding) {
+                    case BOOLEAN:   defaultValue = is.readBoolean();    break;
+                    case INT:       defaultValue = is.readInt();        break;
+                    case LONG:      defaultValue = is.readLong();       break;
+                    case DOUBLE:    defaultValue = is.readDouble();     break;
+                    case CODED:     defaultValue = coding(type).getValue(is.readLong());  break;
+                    default:        break;
+                }
+                var blocks = new long[is.readInt()];
+                for (int i=0; i<blocks.length; ++i) {
+                    blocks[i] = is.readLong();
+                }
+                return new Section(type, encoding, defaultValue, length, offset, blocks);
+            } catch (ClassNotFoundException ex) {
+                throw new DataFrameException("Unable to resolve data type in Morpheus file header", ex);
+            }
+        }
+    }
+}
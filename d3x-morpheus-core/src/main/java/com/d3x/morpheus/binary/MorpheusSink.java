@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2018-2019 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.binary;
+
+import java.util.function.Consumer;
+
+/**
+ * Interface to a component that can write the contents of a DataFrame to a file in the Morpheus columnar binary format
+ *
+ * <p>Fixed width columns are written as contiguous big-endian values that can later be memory mapped without a copy,
+ * while variable width columns are written in blocks of rows so that a range of rows can be read without decoding the
+ * entire column. A header at the end of the file describes the key types, column types and column offsets.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public interface MorpheusSink<R,C> {
+
+    /**
+     * Writes the data frame out to the Morpheus format
+     */
+    void apply();
+
+    /**
+     * Writes the data frame out to the Morpheus format
+     * @param configurator the options configurator
+     */
+    void apply(Consumer<Options> configurator);
+
+
+    /**
+     * The options for the MorpheusSink
+     */
+    @lombok.Data()
+    class Options {
+
+        /** The number of rows per block for variable width columns such as strings */
+        private int blockSize;
+
+        /**
+         * Constructor
+         */
+        public Options() {
+            this.blockSize = 65536;
+        }
+    }
+}
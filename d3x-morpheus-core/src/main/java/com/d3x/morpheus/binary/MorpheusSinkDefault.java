@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2018-2019 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+import com.d3x.morpheus.array.ArrayType;
+import com.d3x.morpheus.binary.MorpheusFormat.Encoding;
+import com.d3x.morpheus.binary.MorpheusFormat.Section;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameException;
+import com.d3x.morpheus.util.Asserts;
+import com.d3x.morpheus.util.Initialiser;
+import com.d3x.morpheus.util.Resource;
+
+/**
+ * The default implementation of the MorpheusSink interface
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+@lombok.AllArgsConstructor()
+public class MorpheusSinkDefault<R,C> implements MorpheusSink<R,C> {
+
+    @lombok.NonNull
+    private Resource resource;
+    @lombok.NonNull
+    private DataFrame<R,C> frame;
+
+
+    @Override
+    public void apply() {
+        this.apply(o -> {});
+    }
+
+
+    @Override
+    public void apply(Consumer<Options> configurator) {
+        var options = Initialiser.apply(new Options(), configurator);
+        var blockSize = options.getBlockSize();
+        Asserts.check(blockSize > 0, "The block size must be > 0");
+        if (resource.getType() != Resource.Type.FILE) {
+            throw new DataFrameException("The Morpheus format can only be written to a file, not " + resource.getType());
+        }
+        var file = resource.asFile();
+        var dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new DataFrameException("Unable to create directory for Morpheus file: " + file.getAbsolutePath());
+        }
+        var openOptions = new StandardOpenOption[] {StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING};
+        try (var channel = FileChannel.open(file.toPath(), openOptions)) {
+            var rowCount = frame.rowCount();
+            var colCount = frame.colCount();
+            var rowKeys = frame.rows().keyArray();
+            var colKeys = frame.cols().keyArray();
+            var output = new Output(channel, MorpheusFormat.PREAMBLE_SIZE);
+            var rowSection = write(output, Values.of(frame.rows().keyClass(), rowKeys), rowCount, blockSize);
+            var colSection = write(output, Values.of(frame.cols().keyClass(), colKeys), colCount, blockSize);
+            var sections = new ArrayList<Section>(colCount);
+            for (int j=0; j<colCount; ++j) {
+                var type = frame.cols().type(colKeys.getValue(j));
+                sections.add(write(output, Values.of(frame, type, j), rowCount, blockSize));
+            }
+            var headerOffset = output.position();
+            var bytes = new ByteArrayOutputStream();
+            var os = new DataOutputStream(bytes);
+            os.writeInt(rowCount);
+            os.writeInt(colCount);
+            os.writeInt(blockSize);
+            rowSection.write(os);
+            colSection.write(os);
+            for (Section section : sections) {
+                section.write(os);
+            }
+            os.flush();
+            output.put(bytes.toByteArray());
+            output.flush();
+            var preamble = ByteBuffer.allocate(MorpheusFormat.PREAMBLE_SIZE);
+            preamble.putInt(MorpheusFormat.MAGIC).putInt(MorpheusFormat.VERSION).putLong(headerOffset).flip();
+            while (preamble.hasRemaining()) {
+                channel.write(preamble, preamble.position());
+            }
+        } catch (IOException ex) {
+            throw new DataFrameException("Failed to write DataFrame to Morpheus file: " + file.getAbsolutePath(), ex);
+        }
+    }
+
+
+    /**
+     * Writes a sequence of values to the output and returns the section that describes them
+     * @param output    the output to write to
+     * @param values    the values to write
+     * @param length    the number of values
+     * @param blockSize the number of values per block for variable width encodings
+     * @return          the section descriptor
+     * @throws IOException  if write fails
+     */
+    private Section write(Output output, Values values, int length, int blockSize) throws IOException {
+        var type = values.type();
+        var encoding = Encoding.of(type);
+        if (encoding.isFixedWidth()) {
+            output.align(MorpheusFormat.ALIGNMENT);
+            var offset = output.position();
+            switch (encoding) {
+                case BOOLEAN:   for (int i=0; i<length; ++i) output.putShort(values.getBoolean(i) ? (short)1 : (short)0);  break;
+                case INT:       for (int i=0; i<length; ++i) output.putInt(values.getInt(i));        break;
+                case LONG:      for (int i=0; i<length; ++i) output.putLong(values.getLong(i));      break;
+                case DOUBLE:    for (int i=0; i<length; ++i) output.putDouble(values.getDouble(i));  break;
+                case CODED:
+                    var coding = MorpheusFormat.coding(type);
+                    for (int i=0; i<length; ++i) output.putLong(coding.getCode(values.getValue(i)));
+                    break;
+                default:    throw new DataFrameException("Unsupported fixed width encoding: " + encoding);
+            }
+            return new Section(type, encoding, ArrayType.defaultValue(type), length, offset, new long[0]);
+        } else {
+            var blockCount = (length + blockSize - 1) / blockSize;
+            var blocks = new long[blockCount + 1];
+            var bytes = new ByteArrayOutputStream();
+            for (int b=0; b<blockCount; ++b) {
+                var start = b * blockSize;
+                var end = Math.min(length, start + blockSize);
+                blocks[b] = output.position();
+                bytes.reset();
+                if (encoding == Encoding.STRING) {
+                    var os = new DataOutputStream(bytes);
+                    for (int i=start; i<end; ++i) {
+                        var value = (String)values.getValue(i);
+                        if (value == null) {
+                            os.writeInt(-1);
+                        } else {
+                            var utf8 = value.getBytes(StandardCharsets.UTF_8);
+                            os.writeInt(utf8.length);
+                            os.write(utf8);
+                        }
+                    }
+                    os.flush();
+                } else {
+                    try (var os = new ObjectOutputStream(bytes)) {
+                        for (int i=start; i<end; ++i) {
+                            os.writeObject(values.getValue(i));
+                        }
+                    }
+                }
+                output.put(bytes.toByteArray());
+            }
+            blocks[blockCount] = output.position();
+            return new Section(type, encoding, null, length, blocks[0], blocks);
+        }
+    }
+
+
+    /**
+     * A buffered output to a file channel that tracks the absolute file position
+     */
+    private static class Output {
+
+        private long position;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+
+        /**
+         * Constructor
+         * @param channel   the channel to write to
+         * @param position  the file position to start writing at
+         * @throws IOException  if the channel position cannot be set
+         */
+        Output(FileChannel channel, long position) throws IOException {
+            this.channel = channel;
+            this.position = position;
+            this.channel.position(position);
+        }
+
+        /**
+         * Returns the file position of the next byte written
+         * @return  the file position
+         */
+        long position() {
+            return position;
+        }
+
+        /**
+         * Writes zero bytes until the position is a multiple of the alignment
+         * @param alignment the alignment in bytes
+         */
+        void align(int alignment) throws IOException {
+            while (position % alignment != 0) {
+                this.ensure(1);
+                this.buffer.put((byte)0);
+                this.position++;
+            }
+        }
+
+        void putShort(short value) throws IOException {
+            this.ensure(2);
+            this.buffer.putShort(value);
+            this.position += 2;
+        }
+
+        void putInt(int value) throws IOException {
+            this.ensure(4);
+            this.buffer.putInt(value);
+            this.position += 4;
+        }
+
+        void putLong(long value) throws IOException {
+            this.ensure(8);
+            this.buffer.putLong(value);
+            this.position += 8;
+        }
+
+        void putDouble(double value) throws IOException {
+            this.ensure(8);
+            this.buffer.putDouble(value);
+            this.position += 8;
+        }
+
+        void put(byte[] bytes) throws IOException {
+            if (bytes.length <= buffer.capacity()) {
+                this.ensure(bytes.length);
+                this.buffer.put(bytes);
+            } else {
+                this.flush();
+                var wrapper = ByteBuffer.wrap(bytes);
+                while (wrapper.hasRemaining()) {
+                    channel.write(wrapper);
+                }
+            }
+            this.position += bytes.length;
+        }
+
+        /**
+         * Flushes the buffer if it has fewer than the bytes remaining
+         * @param bytes the number of bytes about to be written
+         */
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                this.flush();
+            }
+        }
+
+        /**
+         * Writes any buffered bytes to the channel
+         */
+        void flush() throws IOException {
+            this.buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            this.buffer.clear();
+        }
+    }
+}
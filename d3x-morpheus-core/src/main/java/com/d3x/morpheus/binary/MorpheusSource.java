@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2018-2019 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.binary;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.util.Predicates;
+
+/**
+ * Interface to a component that can read a DataFrame from a file in the Morpheus columnar binary format
+ *
+ * <p>By default, fixed width columns (booleans, ints, longs, doubles and the common date-time types) are memory mapped
+ * read-only straight into <code>ArrayStyle.MAPPED</code> arrays, so opening a frame touches only the file header and
+ * the row and column keys. Restricting the columns or the range of rows limits the bytes read or mapped accordingly.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public interface MorpheusSource {
+
+    /**
+     * Reads the full contents of the underlying file into a DataFrame
+     * @param rowType   the row key type, which must be assignable from the stored row key type
+     * @param colType   the column key type, which must be assignable from the stored column key type
+     * @return          the DataFrame result
+     */
+    <R,C> DataFrame<R,C> read(Class<R> rowType, Class<C> colType);
+
+    /**
+     * Reads the contents of the underlying file into a DataFrame
+     * @param rowType       the row key type, which must be assignable from the stored row key type
+     * @param colType       the column key type, which must be assignable from the stored column key type
+     * @param configurator  the options configurator
+     * @return              the DataFrame result
+     */
+    <R,C> DataFrame<R,C> read(Class<R> rowType, Class<C> colType, Consumer<Options> configurator);
+
+
+    /**
+     * The options for the MorpheusSource
+     */
+    @lombok.Data()
+    class Options {
+
+        /** True to memory map fixed width columns, false to copy them onto the heap */
+        private boolean mapped;
+        /** True for read-only mappings, false for private copy-on-write mappings that never modify the file */
+        private boolean readOnly;
+        /** The ordinal of the first row to read */
+        private int rowStart;
+        /** The ordinal after the last row to read, which is capped at the row count */
+        private int rowEnd;
+        /** The predicate to select columns by key, null for all columns */
+        private Predicate<Object> colPredicate;
+
+        /**
+         * Constructor
+         */
+        public Options() {
+            this.mapped = true;
+            this.readOnly = true;
+            this.rowStart = 0;
+            this.rowEnd = Integer.MAX_VALUE;
+        }
+
+        /**
+         * Sets the range of row ordinals to read
+         * @param start     the ordinal of the first row, inclusive
+         * @param end       the ordinal of the last row, exclusive
+         */
+        public void setRowRange(int start, int end) {
+            this.rowStart = start;
+            this.rowEnd = end;
+        }
+
+        /**
+         * Sets the keys of the columns to read
+         * @param columns   the column keys to include
+         */
+        public void setIncludeColumns(Object... columns) {
+            this.setColPredicate(Predicates.in(columns));
+        }
+
+        /**
+         * Sets the keys of the columns to skip
+         * @param columns   the column keys to exclude
+         */
+        public void setExcludeColumns(Object... columns) {
+            this.setColPredicate(Predicates.in(columns).negate());
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2018-2019 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.array.mapped.MappedArrayConstructor;
+import com.d3x.morpheus.binary.MorpheusFormat.Encoding;
+import com.d3x.morpheus.binary.MorpheusFormat.Section;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameException;
+import com.d3x.morpheus.index.Index;
+import com.d3x.morpheus.util.Initialiser;
+import com.d3x.morpheus.util.Resource;
+
+/**
+ * The default implementation of the MorpheusSource interface
+ *
+ * <p>Memory mapped columns remain valid after the file is closed, but they are bound to their region of the file
+ * and so cannot be expanded. Adding rows to a frame read with mapping therefore requires a copy of the frame.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+@lombok.AllArgsConstructor()
+public class MorpheusSourceDefault implements MorpheusSource {
+
+    /** The number of bytes read at a time when loading fixed width values onto the heap */
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+    @lombok.NonNull
+    private Resource resource;
+
+
+    @Override
+    public <R,C> DataFrame<R,C> read(Class<R> rowType, Class<C> colType) {
+        return read(rowType, colType, o -> {});
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R,C> DataFrame<R,C> read(Class<R> rowType, Class<C> colType, Consumer<Options> configurator) {
+        var options = Initialiser.apply(new Options(), configurator);
+        if (resource.getType() != Resource.Type.FILE) {
+            throw new DataFrameException("The Morpheus format can only be read from a file, not " + resource.getType());
+        }
+        var file = resource.asFile();
+        var mapped = options.isMapped();
+        var writable = mapped && !options.isReadOnly();
+        try (var raf = new RandomAccessFile(file, writable ? "rw" : "r")) {
+            var channel = raf.getChannel();
+            var preamble = read(channel, 0L, MorpheusFormat.PREAMBLE_SIZE);
+            if (preamble.getInt() != MorpheusFormat.MAGIC) {
+                throw new DataFrameException("The file is not in the Morpheus format: " + file.getAbsolutePath());
+            }
+            var version = preamble.getInt();
+            if (version > MorpheusFormat.VERSION) {
+                throw new DataFrameException("Unsupported Morpheus format version " + version + " in " + file.getAbsolutePath());
+            }
+            var headerOffset = preamble.getLong();
+            var header = read(channel, headerOffset, (int)(channel.size() - headerOffset));
+            var is = new DataInputStream(new ByteArrayInputStream(header.array()));
+            var rowCount = is.readInt();
+            var colCount = is.readInt();
+            var blockSize = is.readInt();
+            var rowSection = Section.read(is);
+            var colSection = Section.read(is);
+            var sections = new Section[colCount];
+            for (int j=0; j<colCount; ++j) {
+                sections[j] = Section.read(is);
+            }
+            if (!rowType.isAssignableFrom(rowSection.type)) {
+                throw new DataFrameException("Row key type " + rowType.getSimpleName() + " does not match stored type " + rowSection.type.getName());
+            } else if (!colType.isAssignableFrom(colSection.type)) {
+                throw new DataFrameException("Column key type " + colType.getSimpleName() + " does not match stored type " + colSection.type.getName());
+            }
+            var start = Math.max(0, Math.min(options.getRowStart(), rowCount));
+            var count = Math.max(start, Math.min(options.getRowEnd(), rowCount)) - start;
+            var mode = options.isReadOnly() ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.PRIVATE;
+            var predicate = options.getColPredicate();
+            var rowKeys = (Array<R>)load(channel, rowSection, blockSize, start, count);
+            var colKeys = (Array<C>)load(channel, colSection, blockSize, 0, colCount);
+            return DataFrame.of(Index.of(rowKeys), colType, columns -> {
+                for (int j=0; j<colCount; ++j) {
+                    var colKey = colKeys.getValue(j);
+                    if (predicate == null || predicate.test(colKey)) {
+                        var section = sections[j];
+                        if (mapped && count > 0 && section.encoding.isFixedWidth()) {
+                            var type = (Class<Object>)section.type;
+                            var offset = section.offset + (long)start * section.encoding.width();
+                            columns.add(colKey, MappedArrayConstructor.attach(type, file, channel, offset, count, section.defaultValue, mode));
+                        } else {
+                            columns.add(colKey, load(channel, section, blockSize, start, count));
+                        }
+                    }
+                }
+            });
+        } catch (IOException ex) {
+            throw new DataFrameException("Failed to read DataFrame from Morpheus file: " + file.getAbsolutePath(), ex);
+        }
+    }
+
+
+    /**
+     * Loads a range of values from a section onto the heap, reading only the bytes or blocks that cover the range
+     * @param channel   the file channel
+     * @param section   the section descriptor
+     * @param blockSize the number of values per block for variable width encodings
+     * @param start     the ordinal of the first value to load
+     * @param count     the number of values to load
+     * @return          the array of values
+     */
+    @SuppressWarnings("unchecked")
+    private Array<?> load(FileChannel channel, Section section, int blockSize, int start, int count) {
+        try {
+            var array = Array.of((Class<Object>)section.type, count, section.defaultValue);
+            if (count == 0) {
+                return array;
+            } else if (section.encoding.isFixedWidth()) {
+                var width = section.encoding.width();
+                var position = section.offset + (long)start * width;
+                var coding = section.encoding == Encoding.CODED ? MorpheusFormat.coding(section.type) : null;
+                var batch = READ_BUFFER_SIZE / width;
+                for (int i=0; i<count; i+=batch) {
+                    var n = Math.min(batch, count - i);
+                    var buffer = read(channel, position + (long)i * width, n * width);
+                    for (int k=0; k<n; ++k) {
+                        switch (section.encoding) {
+                            case BOOLEAN:   array.setBoolean(i + k, buffer.getShort() == 1);            break;
+                            case INT:       array.setInt(i + k, buffer.getInt());                       break;
+                            case LONG:      array.setLong(i + k, buffer.getLong());                     break;
+                            case DOUBLE:    array.setDouble(i + k, buffer.getDouble());                 break;
+                            case CODED:     array.setValue(i + k, coding.getValue(buffer.getLong()));   break;
+                            default:    throw new DataFrameException("Unsupported fixed width encoding: " + section.encoding);
+                        }
+                    }
+                }
+                return array;
+            } else {
+                var end = start + count;
+                for (int b=start / blockSize; b <= (end - 1) / blockSize; ++b) {
+                    var first = b * blockSize;
+                    var last = Math.min(end, first + blockSize);
+                    var bytes = read(channel, section.blocks[b], (int)(section.blocks[b+1] - section.blocks[b])).array();
+                    if (section.encoding == Encoding.STRING) {
+                        var is = new DataInputStream(new ByteArrayInputStream(bytes));
+                        for (int i=first; i<last; ++i) {
+                            var length = is.readInt();
+                            if (length < 0) {
+                                if (i >= start) array.setValue(i - start, null);
+                            } else if (i < start) {
+                                is.skipBytes(length);
+                            } else {
+                                var utf8 = new byte[length];
+                                is.readFully(utf8);
+                                array.setValue(i - start, new String(utf8, StandardCharsets.UTF_8));
+                            }
+                        }
+                    } else {
+                        try (var is = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                            for (int i=first; i<last; ++i) {
+                                var value = is.readObject();
+                                if (i >= start) array.setValue(i - start, value);
+                            }
+                        }
+                    }
+                }
+                return array;
+            }
+        } catch (IOException | ClassNotFoundException ex) {
+            throw new DataFrameException("Failed to load values of type " + section.type.getName() + " from Morpheus file", ex);
+        }
+    }
+
+
+    /**
+     * Reads bytes from the channel at the position specified
+     * @param channel   the file channel
+     * @param position  the file position
+     * @param length    the number of bytes to read
+     * @return          the heap buffer holding the bytes, positioned at zero
+     * @throws IOException  if the read fails or the file ends early
+     */
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        var buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            var read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of Morpheus file at position " + (position + buffer.position()));
+            }
+        }
+        return buffer.flip();
+    }
+}
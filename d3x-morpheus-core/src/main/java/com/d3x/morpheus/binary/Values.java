@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2018-2019 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.binary;
+
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.frame.DataFrame;
+
+/**
+ * An interface to access a sequence of values by ordinal, namely the row keys, column keys or a column of a DataFrame
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+interface Values {
+
+    /**
+     * Returns the data type of the values
+     * @return  the data type
+     */
+    Class<?> type();
+
+    boolean getBoolean(int index);
+
+    int getInt(int index);
+
+    long getLong(int index);
+
+    double getDouble(int index);
+
+    Object getValue(int index);
+
+
+    /**
+     * Returns a Values implementation over a Morpheus array, used for the row and column keys
+     * @param type      the data type, which for keys is the key class of the axis
+     * @param array     the array of values
+     * @return          the values
+     */
+    static Values of(Class<?> type, Array<?> array) {
+        return new ArrayValues(type, array);
+    }
+
+    /**
+     * Returns a Values implementation over a column of a DataFrame
+     * @param frame         the frame
+     * @param type          the column data type
+     * @param colOrdinal    the column ordinal
+     * @return              the values
+     */
+    static Values of(DataFrame<?,?> frame, Class<?> type, int colOrdinal) {
+        return new ColumnValues(frame, type, colOrdinal);
+    }
+
+
+    /**
+     * A Values implementation over a Morpheus array
+     */
+    @lombok.AllArgsConstructor()
+    class ArrayValues implements Values {
+
+        private Class<?> type;
+        private Array<?> array;
+
+        @Override
+        public Class<?> type() {
+            return type;
+        }
+
+        @Override
+        public boolean getBoolean(int index) {
+            return array.getBoolean(index);
+        }
+
+        @Override
+        public int getInt(int index) {
+            return array.getInt(index);
+        }
+
+        @Override
+        public long getLong(int index) {
+            return array.getLong(index);
+        }
+
+        @Override
+        public double getDouble(int index) {
+            return array.getDouble(index);
+        }
+
+        @Override
+        public Object getValue(int index) {
+            return array.getValue(index);
+        }
+    }
+
+
+    /**
+     * A Values implementation over a column of a DataFrame
+     */
+    @lombok.AllArgsConstructor()
+    class ColumnValues implements Values {
+
+        private DataFrame<?,?> frame;
+        private Class<?> type;
+        private int colOrdinal;
+
+        @Override
+        public Class<?> type() {
+            return type;
+        }
+
+        @Override
+        public boolean getBoolean(int index) {
+            return frame.getBooleanAt(index, colOrdinal);
+        }
+
+        @Override
+        public int getInt(int index) {
+            return frame.getIntAt(index, colOrdinal);
+        }
+
+        @Override
+        public long getLong(int index) {
+            return frame.getLongAt(index, colOrdinal);
+        }
+
+        @Override
+        public double getDouble(int index) {
+            return frame.getDoubleAt(index, colOrdinal);
+        }
+
+        @Override
+        public Object getValue(int index) {
+            return frame.getValueAt(index, colOrdinal);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains a source and a sink to read/write DataFrames in the Morpheus columnar binary format, and a codec to encode
+ * DataFrames to compact binary streams.
+ */
+package com.d3x.morpheus.binary;
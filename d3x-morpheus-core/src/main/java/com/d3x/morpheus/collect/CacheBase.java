@@ -1,34 +1,39 @@
 package com.d3x.morpheus.collect;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-import com.d3x.morpheus.concurrent.ConcurrentObject;
-
 import lombok.NonNull;
 
 /**
  * Provides a base class for concurrent in-memory caches.
  *
+ * <p>Subclasses supply the storage, which must support concurrent
+ * access without a cache-wide lock.  This base class layers a
+ * single-flight protocol over the storage so that concurrent calls
+ * to {@code getOrAssign} or {@code getOrCompute} with the same
+ * missing key invoke the supplier exactly once: the first caller
+ * computes the value while the others wait for its result.</p>
+ *
  * @author Scott Shaffer
  */
-public abstract class CacheBase<K, V> extends ConcurrentObject {
+public abstract class CacheBase<K, V> {
     /**
-     * The underlying map storage.
+     * The computations in progress, keyed by the missing key.
      */
-    @NonNull
-    protected final Map<K, V> map;
+    private final ConcurrentMap<K, Loader<V>> loaders = new ConcurrentHashMap<>();
 
     /**
-     * Creates a cache backed by a map.
+     * Creates an empty cache.
      */
-    protected CacheBase(@NonNull Map<K, V> map) {
-        this.map = map;
+    protected CacheBase() {
     }
 
     /**
@@ -38,9 +43,7 @@ public abstract class CacheBase<K, V> extends ConcurrentObject {
      *
      * @return {@code true} iff this cache contains the given key.
      */
-    public boolean containsKey(@NonNull K key) {
-        return read(map::containsKey, key);
-    }
+    public abstract boolean containsKey(@NonNull K key);
 
     /**
      * Retrieves a value from this cache.
@@ -50,42 +53,101 @@ public abstract class CacheBase<K, V> extends ConcurrentObject {
      * @return the value associated with the specified key, or
      * {@code null} if there is no match.
      */
-    public V get(@NonNull K key) {
-        return read(map::get, key);
-    }
+    public abstract V get(@NonNull K key);
+
+    /**
+     * Assigns a key/value pair.
+     *
+     * @param key   the key to associate with the value.
+     * @param value the value to associate with the key.
+     */
+    public abstract void put(@NonNull K key, @NonNull V value);
+
+    /**
+     * Assigns a key/value pair unless the key is already present.
+     *
+     * @param key   the key to associate with the value.
+     * @param value the value to associate with the key.
+     *
+     * @return the value already associated with the key, or the
+     * specified value if the key was absent.
+     */
+    protected abstract V putIfAbsent(@NonNull K key, @NonNull V value);
+
+    /**
+     * Returns the number of items in this cache.
+     * @return the number of items in this cache.
+     */
+    public abstract int size();
+
+    /**
+     * Returns a read-only set view of the keys in this cache.
+     * @return a read-only set view of the keys in this cache.
+     */
+    public abstract Set<K> keys();
+
+    /**
+     * Returns a read-only view of the items in this cache.
+     * @return a read-only view of the items in this cache.
+     */
+    public abstract Collection<V> values();
 
     /**
      * Retrieves an existing value from this cache or assigns a value.
      *
+     * <p>Concurrent callers that miss on the same key share a single
+     * invocation of the supplier.  If the supplier throws, every
+     * waiting caller receives the same exception and nothing is
+     * assigned.</p>
+     *
      * @param targetKey the key associated with the value.
      * @param supplier  supplies the value to assign and return if there
      *                  is no match for the key.
      *
      * @return the value associated with the specified key, or the value
      * returned by the supplier if there is no match.
+     *
+     * @throws IllegalStateException if the supplier attempts to assign
+     * the same key recursively.
      */
     public V getOrAssign(@NonNull K targetKey, @NonNull Supplier<V> supplier) {
         V result = get(targetKey);
 
-        if (result != null) {
+        if (result != null)
             return result;
+
+        Loader<V> loader = new Loader<>();
+        Loader<V> existing = loaders.putIfAbsent(targetKey, loader);
+
+        if (existing != null)
+            return existing.await(targetKey);
+
+        try {
+            // Another thread might have finished assigning the same key
+            // between the first lookup and the registration of our loader,
+            // so we must retrieve the value associated with the key again...
+            result = get(targetKey);
+
+            if (result == null)
+                result = putIfAbsent(targetKey, requireValue(targetKey, supplier.get()));
+
+            loader.complete(result);
+            return result;
+        }
+        catch (RuntimeException | Error ex) {
+            loader.completeExceptionally(ex);
+            throw ex;
         }
-        else {
-            write(this::putIfAbsent, targetKey, supplier.get());
-            // Another thread might have acquired the write-lock and assigned
-            // the same key during the interval when this thread did not hold
-            // the write-lock, so we must retrieve the value associated with
-            // the key again...
-            return get(targetKey);
+        finally {
+            loaders.remove(targetKey, loader);
         }
     }
 
-    private void putIfAbsent(@NonNull K key, @NonNull V value) {
-        // Another thread might have acquired the write-lock and assigned
-        // the same key during the interval when this thread did not hold
-        // the write-lock.  If so, we cannot overwrite...
-        if (!map.containsKey(key))
-            map.put(key, value);
+    private static <V> V requireValue(Object key, V value) {
+        if (value != null)
+            return value;
+        else
+            throw new NullPointerException(String.format("Null value supplied for key [%s].", key));
     }
 
     /**
@@ -107,7 +169,9 @@ public abstract class CacheBase<K, V> extends ConcurrentObject {
      * assigns a value.
      *
      * @param target  the key associated with the value.
-     * @param compute the function to compute missing values.
+     * @param compute the function to compute missing values, which is
+     *                invoked at most once for concurrent misses on the
+     *                same key.
      *
      * @return the value associated with the specified keys, or the
      * computed value if there is no match.
@@ -156,40 +220,31 @@ public abstract class CacheBase<K, V> extends ConcurrentObject {
      * @return {@code true} iff this cache contains no items.
      */
     public boolean isEmpty() {
-        return read(map::isEmpty);
+        return size() == 0;
     }
 
     /**
-     * Returns a read-only set view of the keys in this cache.
-     * @return a read-only set view of the keys in this cache.
+     * A pending computation that records its owning thread so that
+     * recursive assignment of the same key fails instead of deadlocking.
      */
-    public Set<K> keys() {
-        return Collections.unmodifiableSet(read(map::keySet));
-    }
-
-    /**
-     * Assigns a key/value pair.
-     *
-     * @param key   the key to associate with the value.
-     * @param value the value to associate with the key.
-     */
-    public void put(@NonNull K key, @NonNull V value) {
-        write(map::put, key, value);
-    }
-
-    /**
-     * Returns the number of items in this cache.
-     * @return the number of items in this cache.
-     */
-    public int size() {
-        return read(map::size);
-    }
-
-    /**
-     * Returns a read-only view of the items in this cache.
-     * @return a read-only view of the items in this cache.
-     */
-    public Collection<V> values() {
-        return Collections.unmodifiableCollection(read(map::values));
+    private static final class Loader<V> extends CompletableFuture<V> {
+        private final Thread owner = Thread.currentThread();
+
+        private V await(Object key) {
+            if (owner == Thread.currentThread())
+                throw new IllegalStateException(String.format("Recursive assignment of key [%s].", key));
+
+            try {
+                return join();
+            }
+            catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) ex.getCause();
+                else if (ex.getCause() instanceof Error)
+                    throw (Error) ex.getCause();
+                else
+                    throw ex;
+            }
+        }
     }
 }
@@ -0,0 +1,540 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.collect;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntBiFunction;
+
+import lombok.NonNull;
+
+/**
+ * A bounded in-memory cache designed for high concurrency, which
+ * evicts items once the total weight of its contents exceeds a limit.
+ *
+ * <p>Lookups read from a {@code ConcurrentHashMap} and never block.
+ * Eviction order is maintained by lock-striped segments: each key is
+ * assigned to one segment by its hash code, each segment owns an equal
+ * share of the weight limit and keeps its items in access order.
+ * Writers lock only the segment that owns the key.  Readers record an
+ * access only if the segment lock is free, so under heavy contention
+ * some accesses go unrecorded and eviction order becomes approximate
+ * rather than serializing the readers.</p>
+ *
+ * <p>Two eviction policies are supported. {@code LRU} evicts the least
+ * recently used item in the segment.  {@code LFU} samples the least
+ * recently used items in the segment and evicts the one with the fewest
+ * hits, halving the hit counts of the survivors so that items which
+ * were popular long ago eventually age out.</p>
+ *
+ * <p>An item heavier than the weight limit of its segment is never
+ * held: assigning one discards it (and any previous value for its key)
+ * without evicting other items.</p>
+ *
+ * <p>With a single segment and no contention the {@code LRU} policy is
+ * exact.  With several segments each segment is exact on its own share
+ * of the items, so the cache as a whole approximates global LRU.</p>
+ *
+ * @param <K> the runtime key type.
+ * @param <V> the runtime value type.
+ *
+ * @author Scott Shaffer
+ */
+public class ConcurrentCache<K, V> extends CacheBase<K, V> {
+    /**
+     * The eviction policies supported by this cache.
+     */
+    public enum Eviction {
+        /**
+         * Evicts the least recently used item.
+         */
+        LRU,
+
+        /**
+         * Evicts the least frequently used item among a sample of
+         * the least recently used items.
+         */
+        LFU
+    }
+
+    /**
+     * The maximum number of segments used by any cache.
+     */
+    private static final int MAX_SEGMENTS = 64;
+
+    /**
+     * The number of least recently used items examined for LFU eviction.
+     */
+    private static final int SAMPLE_SIZE = 8;
+
+    /**
+     * The saturation limit for item hit counts.
+     */
+    private static final int MAX_HITS = 1 << 16;
+
+    private final Eviction eviction;
+    private final long maxWeight;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final ConcurrentMap<K, Node<K, V>> table;
+    private final Segment<K, V>[] segments;
+
+    /**
+     * Creates an empty cache with a weight limit.
+     *
+     * @param eviction         the eviction policy.
+     * @param maxWeight        the maximum total weight of the items held in the cache.
+     * @param weigher          computes the weight of each key/value pair, which must be non-negative.
+     * @param concurrencyLevel the expected number of concurrent writers, which determines
+     *                         the number of segments (limited to 64 and to the maximum weight).
+     *
+     * @throws IllegalArgumentException unless the maximum weight and
+     * concurrency level are positive.
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentCache(@NonNull Eviction eviction,
+                           long maxWeight,
+                           @NonNull ToIntBiFunction<? super K, ? super V> weigher,
+                           int concurrencyLevel) {
+        if (maxWeight <= 0)
+            throw new IllegalArgumentException("Maximum weight must be positive.");
+
+        if (concurrencyLevel <= 0)
+            throw new IllegalArgumentException("Concurrency level must be positive.");
+
+        int count = Integer.highestOneBit((int) Math.min(Math.min(concurrencyLevel, MAX_SEGMENTS), maxWeight));
+
+        this.eviction = eviction;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.table = new ConcurrentHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        Segment<K, V>[] segments = (Segment<K, V>[]) new Segment<?, ?>[count];
+
+        for (int index = 0; index < count; ++index)
+            segments[index] = new Segment<>(maxWeight / count + (index < maxWeight % count ? 1 : 0));
+
+        this.segments = segments;
+    }
+
+    /**
+     * Creates an empty LRU cache with a fixed capacity and a segment
+     * for each available processor.
+     *
+     * @param <K>      the runtime key type.
+     * @param <V>      the runtime value type.
+     * @param capacity the maximum number of items to be held in the cache.
+     *
+     * @return a new empty LRU cache with the specified capacity.
+     *
+     * @throws IllegalArgumentException unless the capacity is positive.
+     */
+    public static <K, V> ConcurrentCache<K, V> lru(int capacity) {
+        return new ConcurrentCache<>(Eviction.LRU, capacity, (key, value) -> 1, defaultConcurrency());
+    }
+
+    /**
+     * Creates an empty LFU cache with a fixed capacity and a segment
+     * for each available processor.
+     *
+     * @param <K>      the runtime key type.
+     * @param <V>      the runtime value type.
+     * @param capacity the maximum number of items to be held in the cache.
+     *
+     * @return a new empty LFU cache with the specified capacity.
+     *
+     * @throws IllegalArgumentException unless the capacity is positive.
+     */
+    public static <K, V> ConcurrentCache<K, V> lfu(int capacity) {
+        return new ConcurrentCache<>(Eviction.LFU, capacity, (key, value) -> 1, defaultConcurrency());
+    }
+
+    /**
+     * Creates an empty cache bounded by the total weight of its items
+     * with a segment for each available processor.
+     *
+     * @param <K>       the runtime key type.
+     * @param <V>       the runtime value type.
+     * @param eviction  the eviction policy.
+     * @param maxWeight the maximum total weight of the items held in the cache.
+     * @param weigher   computes the weight of each key/value pair.
+     *
+     * @return a new empty weighted cache.
+     *
+     * @throws IllegalArgumentException unless the maximum weight is positive.
+     */
+    public static <K, V> ConcurrentCache<K, V> weighted(Eviction eviction, long maxWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+        return new ConcurrentCache<>(eviction, maxWeight, weigher, defaultConcurrency());
+    }
+
+    private static int defaultConcurrency() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Returns the eviction policy for this cache.
+     * @return the eviction policy for this cache.
+     */
+    public Eviction getEviction() {
+        return eviction;
+    }
+
+    /**
+     * Returns the maximum total weight of the items in this cache.
+     * @return the maximum total weight of the items in this cache.
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Returns the number of lock-striped segments in this cache.
+     * @return the number of lock-striped segments in this cache.
+     */
+    public int getConcurrencyLevel() {
+        return segments.length;
+    }
+
+    /**
+     * Returns the current total weight of the items in this cache.
+     * @return the current total weight of the items in this cache.
+     */
+    public long getWeight() {
+        long result = 0L;
+
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+
+            try {
+                result += segment.weight;
+            }
+            finally {
+                segment.lock.unlock();
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean containsKey(@NonNull K key) {
+        return table.containsKey(key);
+    }
+
+    @Override
+    public V get(@NonNull K key) {
+        Node<K, V> node = table.get(key);
+
+        if (node == null)
+            return null;
+
+        recordAccess(node);
+        return node.value;
+    }
+
+    @Override
+    public void put(@NonNull K key, @NonNull V value) {
+        int weight = weigh(key, value);
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+
+        try {
+            Node<K, V> node = table.get(key);
+
+            if (weight > segment.maxWeight) {
+                // An item that can never fit is discarded rather than
+                // flushing the rest of the segment...
+                if (node != null) {
+                    table.remove(key, node);
+                    segment.unlink(node);
+                    segment.weight -= node.weight;
+                }
+            }
+            else if (node != null) {
+                segment.weight += weight - node.weight;
+                node.weight = weight;
+                node.value = value;
+                segment.moveToEnd(node);
+            }
+            else {
+                node = new Node<>(key, value, weight);
+                table.put(key, node);
+                segment.linkLast(node);
+                segment.weight += weight;
+            }
+
+            evict(segment);
+        }
+        finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    protected V putIfAbsent(@NonNull K key, @NonNull V value) {
+        int weight = weigh(key, value);
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+
+        try {
+            Node<K, V> node = table.get(key);
+
+            if (node != null) {
+                segment.moveToEnd(node);
+                return node.value;
+            }
+
+            if (weight > segment.maxWeight)
+                return value;
+
+            node = new Node<>(key, value, weight);
+            table.put(key, node);
+            segment.linkLast(node);
+            segment.weight += weight;
+            evict(segment);
+            return value;
+        }
+        finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes an item from this cache.
+     *
+     * @param key the key of the item to remove.
+     *
+     * @return the value that was associated with the key, or
+     * {@code null} if there was no match.
+     */
+    public V remove(@NonNull K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+
+        try {
+            Node<K, V> node = table.remove(key);
+
+            if (node == null)
+                return null;
+
+            segment.unlink(node);
+            segment.weight -= node.weight;
+            return node.value;
+        }
+        finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all items from this cache.
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+
+            try {
+                for (Node<K, V> node = segment.head; node != null; node = node.next) {
+                    node.linked = false;
+                    table.remove(node.key, node);
+                }
+
+                segment.head = null;
+                segment.tail = null;
+                segment.weight = 0L;
+            }
+            finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public Set<K> keys() {
+        return Collections.unmodifiableSet(table.keySet());
+    }
+
+    /**
+     * Returns a read-only snapshot of the items in this cache, listed
+     * segment by segment from the least to the most recently used.
+     *
+     * @return a read-only snapshot of the items in this cache.
+     */
+    @Override
+    public Collection<V> values() {
+        List<V> result = new ArrayList<>(table.size());
+
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+
+            try {
+                for (Node<K, V> node = segment.head; node != null; node = node.next)
+                    result.add(node.value);
+            }
+            finally {
+                segment.lock.unlock();
+            }
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    private int weigh(K key, V value) {
+        int weight = weigher.applyAsInt(key, value);
+
+        if (weight >= 0)
+            return weight;
+        else
+            throw new IllegalArgumentException(String.format("Negative weight for key [%s].", key));
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private void recordAccess(Node<K, V> node) {
+        if (eviction == Eviction.LFU && node.hits < MAX_HITS)
+            node.hits++;
+
+        Segment<K, V> segment = segmentFor(node.key);
+
+        // Readers never wait for the segment lock: if another thread
+        // holds it, this access simply goes unrecorded...
+        if (segment.tail != node && segment.lock.tryLock()) {
+            try {
+                if (node.linked)
+                    segment.moveToEnd(node);
+            }
+            finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    private void evict(Segment<K, V> segment) {
+        while (segment.weight > segment.maxWeight && segment.head != null) {
+            Node<K, V> victim = eviction == Eviction.LFU ? sampleVictim(segment) : segment.head;
+            segment.unlink(victim);
+            segment.weight -= victim.weight;
+            table.remove(victim.key, victim);
+        }
+    }
+
+    private Node<K, V> sampleVictim(Segment<K, V> segment) {
+        Node<K, V> victim = segment.head;
+        Node<K, V> node = victim.next;
+
+        for (int count = 1; count < SAMPLE_SIZE && node != null; ++count, node = node.next) {
+            if (node.hits < victim.hits) {
+                victim.hits >>>= 1;
+                victim = node;
+            }
+            else {
+                node.hits >>>= 1;
+            }
+        }
+
+        return victim;
+    }
+
+    /**
+     * A cached item, which is linked into the access-ordered list of its segment.
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private volatile V value;
+
+        // Guarded by the segment lock...
+        private int weight;
+        private boolean linked;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        // Updated without synchronization, so concurrent hits may be lost...
+        private int hits;
+
+        private Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * A lock-striped share of the cache that keeps its items in access order.
+     */
+    private static final class Segment<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long maxWeight;
+
+        // Guarded by the lock, except that readers may peek at the tail...
+        private long weight;
+        private Node<K, V> head;
+        private volatile Node<K, V> tail;
+
+        private Segment(long maxWeight) {
+            this.maxWeight = maxWeight;
+        }
+
+        private void linkLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            node.linked = true;
+
+            if (tail == null)
+                head = node;
+            else
+                tail.next = node;
+
+            tail = node;
+        }
+
+        private void unlink(Node<K, V> node) {
+            if (node.prev == null)
+                head = node.next;
+            else
+                node.prev.next = node.next;
+
+            if (node.next == null)
+                tail = node.prev;
+            else
+                node.next.prev = node.prev;
+
+            node.prev = null;
+            node.next = null;
+            node.linked = false;
+        }
+
+        private void moveToEnd(Node<K, V> node) {
+            if (tail != node) {
+                unlink(node);
+                linkLast(node);
+            }
+        }
+    }
+}
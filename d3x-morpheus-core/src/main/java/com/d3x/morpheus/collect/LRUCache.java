@@ -15,16 +15,19 @@
  */
 package com.d3x.morpheus.collect;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-
 /**
  * An in-memory cache that removes the least recently used (LRU) item
  * after reaching a given size limit.
  *
+ * <p>Lookups never block.  By default the cache uses a single segment
+ * so that eviction order is exact whenever readers do not contend;
+ * caches shared by many writers may be split into several segments,
+ * in which case each segment evicts its own least recently used item.
+ * See {@link ConcurrentCache} for details.</p>
+ *
  * @author Scott Shaffer
  */
-public final class LRUCache<K, V> extends CacheBase<K, V> {
+public final class LRUCache<K, V> extends ConcurrentCache<K, V> {
     /**
      * Creates an empty LRU cache with a fixed capacity.
      *
@@ -33,7 +36,21 @@ public final class LRUCache<K, V> extends CacheBase<K, V> {
      * @throws RuntimeException unless the capacity is positive.
      */
     public LRUCache(int capacity) {
-        super(new CacheMap<>(capacity));
+        this(capacity, 1);
+    }
+
+    /**
+     * Creates an empty LRU cache with a fixed capacity shared among
+     * lock-striped segments.
+     *
+     * @param capacity         the maximum number of items to be held in the cache.
+     * @param concurrencyLevel the expected number of concurrent writers.
+     *
+     * @throws RuntimeException unless the capacity and concurrency level
+     * are positive.
+     */
+    public LRUCache(int capacity, int concurrencyLevel) {
+        super(Eviction.LRU, validateCapacity(capacity), (key, value) -> 1, concurrencyLevel);
     }
 
     /**
@@ -51,37 +68,18 @@ public final class LRUCache<K, V> extends CacheBase<K, V> {
         return new LRUCache<>(capacity);
     }
 
-    /**
-     * Removes all items from this cache.
-     */
-    public void clear() {
-        withWriteLock(map::clear);
-    }
-
     /**
      * Returns the fixed capacity of this cache.
      * @return the fixed capacity of this cache.
      */
     public int getCapacity() {
-        return ((CacheMap<K, V>) map).capacity;
+        return (int) getMaxWeight();
     }
 
-    private static final class CacheMap<K, V> extends LinkedHashMap<K, V> {
-        private final int capacity;
-
-        private CacheMap(int capacity) {
-            super(capacity, 1.0f, true);
-
-            if (capacity > 0)
-                this.capacity = capacity;
-            else
-                throw new IllegalArgumentException("Capacity must be positive.");
-        }
-
-        @Override
-        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
-            // Called by put() and putAll() after inserting a new element...
-            return size() > capacity;
-        }
+    private static int validateCapacity(int capacity) {
+        if (capacity > 0)
+            return capacity;
+        else
+            throw new IllegalArgumentException("Capacity must be positive.");
     }
 }
@@ -15,7 +15,11 @@
  */
 package com.d3x.morpheus.collect;
 
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import lombok.NonNull;
 
@@ -25,7 +29,9 @@ import lombok.NonNull;
  * may be assigned at most once.  A second attempt to assign a value
  * to the same key will trigger a runtime exception.
  *
- * <p>This implementation is synchronized and thread-safe.</p>
+ * <p>This implementation is thread-safe and lock-free for readers:
+ * values are held in a {@code ConcurrentHashMap} and assignments
+ * use its atomic {@code putIfAbsent} operation.</p>
  *
  * @param <K> the runtime key type.
  * @param <V> the runtime value type.
@@ -33,11 +39,16 @@ import lombok.NonNull;
  * @author Scott Shaffer
  */
 public class WormCache<K, V> extends CacheBase<K, V> {
+    /**
+     * The underlying map storage.
+     */
+    private final ConcurrentMap<K, V> map = new ConcurrentHashMap<>();
+
     /**
      * Creates an empty cache.
      */
     public WormCache() {
-        super(new HashMap<>());
+        super();
     }
 
     /**
@@ -46,7 +57,7 @@ public class WormCache<K, V> extends CacheBase<K, V> {
      * @param <K> the runtime key type.
      * @param <V> the runtime value type.
      *
-     * @return a new empty cache using a HashMap for the underlying storage.
+     * @return a new empty cache using a ConcurrentHashMap for the underlying storage.
      */
     public static <K, V> WormCache<K, V> create() {
         return new WormCache<>();
@@ -65,13 +76,38 @@ public class WormCache<K, V> extends CacheBase<K, V> {
      */
     @Override
     public void put(@NonNull K key, @NonNull V value) {
-        write(this::putUnique, key, value);
+        if (map.putIfAbsent(key, value) != null)
+            throw new IllegalStateException(String.format("Key [%s] has already been assigned.", key));
     }
 
-    private void putUnique(@NonNull K key, @NonNull V value) {
-        if (map.containsKey(key))
-            throw new IllegalStateException(String.format("Key [%s] has already been assigned.", key));
-        else
-            map.put(key, value);
+    @Override
+    protected V putIfAbsent(@NonNull K key, @NonNull V value) {
+        V existing = map.putIfAbsent(key, value);
+        return existing != null ? existing : value;
+    }
+
+    @Override
+    public boolean containsKey(@NonNull K key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public V get(@NonNull K key) {
+        return map.get(key);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public Set<K> keys() {
+        return Collections.unmodifiableSet(map.keySet());
+    }
+
+    @Override
+    public Collection<V> values() {
+        return Collections.unmodifiableCollection(map.values());
     }
 }
@@ -0,0 +1,705 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.conreg;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.linalg.SVDSolver;
+import com.d3x.morpheus.matrix.D3xMatrix;
+import com.d3x.morpheus.util.DoubleComparator;
+import com.d3x.morpheus.util.ExecutorContext;
+import com.d3x.morpheus.util.MorpheusException;
+import com.d3x.morpheus.vector.D3xVector;
+
+/**
+ * Estimates a batch of constrained linear regressions, one for each cross
+ * section (date) in a panel of observations (date x asset x regressor), in
+ * parallel.
+ *
+ * <p>Every cross section shares the same regressor keys and constraints. The
+ * regressand values and optional weights are supplied as frames with one row
+ * per cross section and one column per observation (asset), and the regressor
+ * values for each cross section are supplied as a frame with one row per
+ * observation and one column per regressor. An observation is included in a
+ * cross section if its regressand, weight, and regressor values are all finite.
+ * Each cross section is solved exactly as {@link ConstrainedRegressionSolver}
+ * would solve the equivalent {@link ConstrainedRegressionModel}.</p>
+ *
+ * <p><b>Shared decompositions.</b> The cross sections are divided into blocks
+ * of consecutive dates that are solved in parallel by the fork-join pool of an
+ * {@link ExecutorContext}, and each block reuses a single set of working arrays.
+ * When the weighted design matrix of a cross section is equal to that of the
+ * previous cross section (for example, when the regressor frame is updated less
+ * frequently than the regressand), the singular value decomposition of the
+ * augmented matrix is reused and only the right-hand side of the system is
+ * rebuilt. The decompositions of designs that span the boundary between two
+ * blocks are shared by both blocks for the duration of the batch, so a parallel
+ * batch never computes more decompositions than a sequential batch.</p>
+ *
+ * @param <D> the runtime type of the cross section (date) keys.
+ * @param <R> the runtime type of the observation (asset) keys.
+ * @param <C> the runtime type of the regressor keys.
+ *
+ * <p>This is open source software released under the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></p>
+ *
+ * @author  Scott Shaffer
+ */
+public final class ConstrainedRegressionBatch<D,R,C> {
+    /** The keys of the regressor variables, common to every cross section. */
+    @Getter @NonNull
+    private final List<C> regressorKeys;
+
+    /** The execution context that solves the cross sections in parallel. */
+    @Getter @NonNull
+    private ExecutorContext executorContext = ExecutorContext.getDefault();
+
+    // Singular values below this threshold will be treated as if they are exactly
+    // zero; a NaN value calls for the default threshold of the SVD solver...
+    private double singularValueThreshold = Double.NaN;
+
+    private final List<RegressionConstraint<C>> constraintList = new ArrayList<>();
+
+    private ConstrainedRegressionBatch(List<C> regressorKeys) {
+        if (regressorKeys.isEmpty())
+            throw new MorpheusException("At least one regressor must be specified.");
+
+        this.regressorKeys = List.copyOf(regressorKeys);
+    }
+
+    /**
+     * Creates a new batch of constrained regressions with fixed regressor
+     * variables.  The constraints should be added by calling the
+     * {@code withConstraint()} method.
+     *
+     * @param regressorKeys the keys of the regressor variables, which must be
+     *                      columns in the regressor frame of every cross section.
+     *
+     * @return a new batch of constrained regressions.
+     */
+    public static <D,R,C> ConstrainedRegressionBatch<D,R,C> create(List<C> regressorKeys) {
+        return new ConstrainedRegressionBatch<>(regressorKeys);
+    }
+
+    /**
+     * Adds linear equality constraints on the regression coefficients.
+     *
+     * @param constraints the constraints to add.
+     *
+     * @return this batch, updated, for operator chaining.
+     */
+    public ConstrainedRegressionBatch<D,R,C> withConstraints(Iterable<RegressionConstraint<C>> constraints) {
+        for (RegressionConstraint<C> constraint : constraints)
+            withConstraint(constraint);
+
+        return this;
+    }
+
+    /**
+     * Adds a linear equality constraint on the regression coefficients.
+     *
+     * @param constraint the constraint to add.
+     *
+     * @return this batch, updated, for operator chaining.
+     */
+    public ConstrainedRegressionBatch<D,R,C> withConstraint(@NonNull RegressionConstraint<C> constraint) {
+        this.constraintList.add(constraint);
+        return this;
+    }
+
+    /**
+     * Specifies the execution context that solves the cross sections in parallel.
+     *
+     * @param executorContext the execution context to use.
+     *
+     * @return this batch, updated, for operator chaining.
+     */
+    public ConstrainedRegressionBatch<D,R,C> withExecutor(@NonNull ExecutorContext executorContext) {
+        this.executorContext = executorContext;
+        return this;
+    }
+
+    /**
+     * Specifies a singular value threshold for the SVD solution of the constrained
+     * normal equations.
+     *
+     * @param threshold the threshold for singular values.
+     *
+     * @return this batch, updated, for operator chaining.
+     *
+     * @throws RuntimeException if the threshold is less than the machine tolerance.
+     */
+    public ConstrainedRegressionBatch<D,R,C> withSingularValueThreshold(double threshold) {
+        SVDSolver.validateThreshold(threshold);
+        this.singularValueThreshold = threshold;
+        return this;
+    }
+
+    /**
+     * Estimates the regression for every cross section with equal observation weights.
+     *
+     * @param regressandFrame the regressand values, with one row per cross section
+     *                        and one column per observation.
+     * @param regressorFrames a function that returns the regressor frame for a cross
+     *                        section, with one row per observation and one column per
+     *                        regressor; the same frame may be returned for many cross
+     *                        sections.
+     *
+     * @return the stacked estimates for every cross section.
+     */
+    public ConstrainedRegressionBatchResult<D,R,C> solve(DataFrame<D,R> regressandFrame,
+                                                         Function<D,DataFrame<R,C>> regressorFrames) {
+        return solve(regressandFrame, regressorFrames, null);
+    }
+
+    /**
+     * Estimates the regression for every cross section.
+     *
+     * @param regressandFrame the regressand values, with one row per cross section
+     *                        and one column per observation.
+     * @param regressorFrames a function that returns the regressor frame for a cross
+     *                        section, with one row per observation and one column per
+     *                        regressor; the same frame may be returned for many cross
+     *                        sections.
+     * @param weightFrame     the non-negative observation weights, with one row per cross
+     *                        section and one column per observation, or {@code null} to
+     *                        weight all observations equally.
+     *
+     * @return the stacked estimates for every cross section.
+     *
+     * @throws RuntimeException if any observation weight is negative.
+     */
+    public ConstrainedRegressionBatchResult<D,R,C> solve(@NonNull DataFrame<D,R> regressandFrame,
+                                                         @NonNull Function<D,DataFrame<R,C>> regressorFrames,
+                                                         DataFrame<D,R> weightFrame) {
+        Batch batch = new Batch(regressandFrame, regressorFrames, weightFrame);
+        int dateCount = regressandFrame.rowCount();
+        int workPerDate = regressorKeys.size() * regressorKeys.size();
+
+        executorContext.invoke(new BatchTask(batch, 0, dateCount, executorContext.splitThreshold(dateCount, workPerDate)));
+        return batch.createResult();
+    }
+
+    /**
+     * The inputs and outputs shared by all tasks in a batch.
+     */
+    private final class Batch {
+        private final DataFrame<D,R> regressandFrame;
+        private final Function<D,DataFrame<R,C>> regressorFrames;
+        private final DataFrame<D,R> weightFrame;
+
+        private final List<D> dateKeys;
+        private final List<String> constraintKeys;
+        private final double[][] constraintMatrix;
+        private final double[] constraintValues;
+
+        private final double[][] betas;
+        private final double[][] duals;
+        private final double[][] residuals;
+        private final double[][] statistics;
+        private final AtomicInteger decompositionCount = new AtomicInteger();
+
+        // The decompositions shared between blocks, at most two per block: the
+        // first design in each block and the design that continues past its end...
+        private final Map<DesignKey,SVDSolver> sharedSolvers = new ConcurrentHashMap<>();
+
+        private Batch(DataFrame<D,R> regressandFrame, Function<D,DataFrame<R,C>> regressorFrames, DataFrame<D,R> weightFrame) {
+            RegressionConstraintSet<C> constraintSet = RegressionConstraintSet.create(constraintList);
+            D3xMatrix C = constraintSet.getConstraintMatrix(regressorKeys);
+            D3xVector d = constraintSet.getConstraintValues();
+
+            int dateCount = regressandFrame.rowCount();
+            int N = regressorKeys.size();
+            int P = constraintSet.countConstraints();
+
+            this.regressandFrame = regressandFrame;
+            this.regressorFrames = regressorFrames;
+            this.weightFrame = weightFrame;
+
+            this.dateKeys = regressandFrame.listRowKeys();
+            this.constraintKeys = constraintSet.getConstraintNames();
+            this.constraintMatrix = new double[P][N];
+            this.constraintValues = new double[P];
+
+            for (int row = 0; row < P; ++row) {
+                constraintValues[row] = d.get(row);
+
+                for (int col = 0; col < N; ++col)
+                    constraintMatrix[row][col] = C.get(row, col);
+            }
+
+            this.betas = new double[dateCount][N];
+            this.duals = new double[dateCount][P];
+            this.residuals = new double[dateCount][regressandFrame.colCount()];
+            this.statistics = new double[dateCount][ConstrainedRegressionStat.values().length];
+        }
+
+        private ConstrainedRegressionBatchResult<D,R,C> createResult() {
+            List<R> observationKeys = regressandFrame.listColumnKeys();
+            List<ConstrainedRegressionStat> statKeys = List.of(ConstrainedRegressionStat.values());
+
+            return new ConstrainedRegressionBatchResult<>(
+                    stack(regressorKeys, betas),
+                    stack(constraintKeys, duals),
+                    stack(observationKeys, residuals),
+                    stack(statKeys, statistics),
+                    decompositionCount.get());
+        }
+
+        private <K> DataFrame<D,K> stack(List<K> colKeys, double[][] values) {
+            // Bare arrays may have zero rows or columns (no cross sections or
+            // no constraints), which cannot be wrapped in a D3xMatrix...
+            return DataFrame.ofDoubles(dateKeys, colKeys, v -> values[v.rowOrdinal()][v.colOrdinal()]);
+        }
+    }
+
+    /**
+     * Solves a block of consecutive cross sections, splitting the block for
+     * parallel execution until it falls below the split threshold.
+     */
+    private final class BatchTask extends RecursiveAction {
+        private final Batch batch;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        private BatchTask(Batch batch, int from, int to, int threshold) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > threshold) {
+                int split = from + (to - from) / 2;
+                invokeAll(new BatchTask(batch, from, split, threshold), new BatchTask(batch, split, to, threshold));
+            }
+            else {
+                Workspace workspace = new Workspace(batch, to);
+
+                for (int dateIndex = from; dateIndex < to; ++dateIndex)
+                    workspace.solve(dateIndex);
+            }
+        }
+    }
+
+    /**
+     * The working arrays used to solve a block of consecutive cross sections,
+     * reused from one cross section to the next.
+     */
+    private final class Workspace {
+        private final Batch batch;
+        private final int end;
+        private final int N;
+        private final int P;
+
+        // The regressor frame last seen and its row mappings: the column ordinal in the
+        // regressand and weight frames of the observation in each regressor frame row...
+        private DataFrame<R,C> regressorFrame;
+        private int[] regressorCols;
+        private int[] regressandCols;
+        private int[] weightCols;
+
+        // The weighted design of the current and previous cross sections...
+        private int obsCount;
+        private int prevCount = -1;
+        private double[][] design = new double[0][];
+        private double[][] prevDesign = new double[0][];
+        private double[] weights = new double[0];
+        private double[] prevWeights = new double[0];
+        private double[] regressand = new double[0];
+        private int[] obsCols = new int[0];
+
+        private SVDSolver solver;
+        private final double[] augmentedVector;
+
+        // The design of the first cross section after this block with a positive
+        // weight, or null if there is none, loaded on first use...
+        private Workspace nextDesign;
+        private boolean nextLoaded;
+
+        private Workspace(Batch batch, int end) {
+            this.batch = batch;
+            this.end = end;
+            this.N = regressorKeys.size();
+            this.P = batch.constraintValues.length;
+            this.augmentedVector = new double[N + P];
+        }
+
+        private int load(int dateIndex) {
+            D dateKey = batch.dateKeys.get(dateIndex);
+            loadRegressorFrame(batch.regressorFrames.apply(dateKey));
+            loadObservations(dateIndex, dateKey);
+            return normalizeWeights();
+        }
+
+        private void solve(int dateIndex) {
+            int positiveCount = load(dateIndex);
+
+            double[] betas = batch.betas[dateIndex];
+            double[] duals = batch.duals[dateIndex];
+            double[] residuals = batch.residuals[dateIndex];
+            double[] statistics = batch.statistics[dateIndex];
+
+            Arrays.fill(residuals, Double.NaN);
+
+            if (positiveCount == 0) {
+                Arrays.fill(betas, Double.NaN);
+                Arrays.fill(duals, Double.NaN);
+                Arrays.fill(statistics, Double.NaN);
+                statistics[ConstrainedRegressionStat.OBSERVATIONS.ordinal()] = 0.0;
+                return;
+            }
+
+            if (!isDesignUnchanged())
+                solver = isDesignShared() ? sharedSolver() : buildSolver();
+
+            buildAugmentedVector();
+            D3xVector solution = solver.solve(D3xVector.wrap(augmentedVector));
+
+            for (int col = 0; col < N; ++col)
+                betas[col] = solution.get(col);
+
+            for (int con = 0; con < P; ++con)
+                duals[con] = solution.get(N + con);
+
+            computeResiduals(betas, residuals, statistics, positiveCount);
+            swapDesign();
+        }
+
+        private void loadRegressorFrame(DataFrame<R,C> frame) {
+            if (frame == regressorFrame)
+                return;
+
+            int rowCount = frame.rowCount();
+            List<R> rowKeys = frame.listRowKeys();
+            DataFrame<D,R> weightFrame = batch.weightFrame;
+
+            regressorFrame = frame;
+            regressorCols = new int[N];
+            regressandCols = new int[rowCount];
+            weightCols = new int[rowCount];
+
+            for (int col = 0; col < N; ++col)
+                regressorCols[col] = frame.cols().ordinal(regressorKeys.get(col));
+
+            for (int row = 0; row < rowCount; ++row) {
+                R rowKey = rowKeys.get(row);
+                regressandCols[row] = batch.regressandFrame.cols().contains(rowKey) ? batch.regressandFrame.cols().ordinal(rowKey) : -1;
+                weightCols[row] = weightFrame != null && weightFrame.cols().contains(rowKey) ? weightFrame.cols().ordinal(rowKey) : -1;
+            }
+
+            ensureCapacity(rowCount);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (design.length >= capacity)
+                return;
+
+            design = Arrays.copyOf(design, capacity);
+            prevDesign = Arrays.copyOf(prevDesign, capacity);
+
+            for (int row = 0; row < capacity; ++row) {
+                if (design[row] == null)
+                    design[row] = new double[N];
+
+                if (prevDesign[row] == null)
+                    prevDesign[row] = new double[N];
+            }
+
+            weights = Arrays.copyOf(weights, capacity);
+            prevWeights = Arrays.copyOf(prevWeights, capacity);
+            regressand = Arrays.copyOf(regressand, capacity);
+            obsCols = Arrays.copyOf(obsCols, capacity);
+        }
+
+        private void loadObservations(int dateIndex, D dateKey) {
+            DataFrame<D,R> weightFrame = batch.weightFrame;
+            int weightRow = weightFrame != null && weightFrame.rows().contains(dateKey) ? weightFrame.rows().ordinal(dateKey) : -1;
+
+            obsCount = 0;
+
+            for (int row = 0; row < regressandCols.length; ++row) {
+                if (regressandCols[row] < 0)
+                    continue;
+
+                double value = batch.regressandFrame.getDoubleAt(dateIndex, regressandCols[row]);
+                double weight = 1.0;
+
+                if (weightFrame != null)
+                    weight = weightRow >= 0 && weightCols[row] >= 0 ? weightFrame.getDoubleAt(weightRow, weightCols[row]) : Double.NaN;
+
+                if (!Double.isFinite(value) || !Double.isFinite(weight))
+                    continue;
+
+                if (DoubleComparator.DEFAULT.isNegative(weight))
+                    throw new MorpheusException("Regression weight for observation [%s] on [%s] is negative.", regressorFrame.rows().key(row), dateKey);
+
+                if (loadDesignRow(row, design[obsCount])) {
+                    weights[obsCount] = weight;
+                    regressand[obsCount] = value;
+                    obsCols[obsCount] = regressandCols[row];
+                    ++obsCount;
+                }
+            }
+        }
+
+        private boolean loadDesignRow(int row, double[] designRow) {
+            for (int col = 0; col < N; ++col) {
+                double value = regressorFrame.getDoubleAt(row, regressorCols[col]);
+
+                if (!Double.isFinite(value))
+                    return false;
+
+                designRow[col] = value;
+            }
+
+            return true;
+        }
+
+        private int normalizeWeights() {
+            // Scale the weights to sum to the number of positive weights, exactly as
+            // the ConstrainedRegressionSystem does, so the dual values agree...
+            int positiveCount = 0;
+            double totalWeight = 0.0;
+
+            for (int obs = 0; obs < obsCount; ++obs) {
+                if (DoubleComparator.DEFAULT.isPositive(weights[obs]))
+                    ++positiveCount;
+
+                totalWeight += weights[obs];
+            }
+
+            if (positiveCount > 0) {
+                double scale = positiveCount / totalWeight;
+
+                for (int obs = 0; obs < obsCount; ++obs)
+                    weights[obs] *= scale;
+            }
+
+            return positiveCount;
+        }
+
+        private boolean isDesignUnchanged() {
+            return solver != null && isDesignEqual(prevCount, prevDesign, prevWeights);
+        }
+
+        private boolean isDesignEqual(int otherCount, double[][] otherDesign, double[] otherWeights) {
+            if (obsCount != otherCount)
+                return false;
+
+            for (int obs = 0; obs < obsCount; ++obs) {
+                if (weights[obs] != otherWeights[obs] || !Arrays.equals(design[obs], otherDesign[obs]))
+                    return false;
+            }
+
+            return true;
+        }
+
+        private boolean isDesignShared() {
+            // The first design in this block may continue from the previous block,
+            // and a design equal to the first design after this block continues
+            // into the next block; both blocks must then share one decomposition...
+            if (solver == null)
+                return true;
+
+            if (!nextLoaded) {
+                nextDesign = loadNextDesign();
+                nextLoaded = true;
+            }
+
+            return nextDesign != null && isDesignEqual(nextDesign.obsCount, nextDesign.design, nextDesign.weights);
+        }
+
+        private Workspace loadNextDesign() {
+            int dateCount = batch.dateKeys.size();
+            Workspace next = new Workspace(batch, dateCount);
+
+            for (int dateIndex = end; dateIndex < dateCount; ++dateIndex) {
+                if (next.load(dateIndex) > 0)
+                    return next;
+            }
+
+            return null;
+        }
+
+        private SVDSolver sharedSolver() {
+            return batch.sharedSolvers.computeIfAbsent(new DesignKey(obsCount, design, weights), key -> buildSolver());
+        }
+
+        private void swapDesign() {
+            double[][] designSwap = design;
+            design = prevDesign;
+            prevDesign = designSwap;
+
+            double[] weightSwap = weights;
+            weights = prevWeights;
+            prevWeights = weightSwap;
+
+            prevCount = obsCount;
+        }
+
+        private SVDSolver buildSolver() {
+            //
+            // Builds the augmented matrix:
+            //
+            //    +-            -+
+            //    |  2A'WA   C'  |
+            //    |              |
+            //    |    C     0   |
+            //    +-            -+
+            //
+            double[][] augmat = new double[N + P][N + P];
+
+            for (int obs = 0; obs < obsCount; ++obs) {
+                double[] designRow = design[obs];
+                double twoW = 2.0 * weights[obs];
+
+                for (int row = 0; row < N; ++row) {
+                    double twoWA = twoW * designRow[row];
+
+                    for (int col = 0; col <= row; ++col)
+                        augmat[row][col] += twoWA * designRow[col];
+                }
+            }
+
+            for (int row = 0; row < N; ++row) {
+                for (int col = 0; col < row; ++col)
+                    augmat[col][row] = augmat[row][col];
+            }
+
+            for (int con = 0; con < P; ++con) {
+                for (int col = 0; col < N; ++col) {
+                    augmat[N + con][col] = batch.constraintMatrix[con][col];
+                    augmat[col][N + con] = batch.constraintMatrix[con][col];
+                }
+            }
+
+            SVDSolver solver = SVDSolver.apache(D3xMatrix.wrap(augmat));
+            batch.decompositionCount.incrementAndGet();
+
+            if (!Double.isNaN(singularValueThreshold))
+                solver.withThreshold(singularValueThreshold);
+
+            return solver;
+        }
+
+        private void buildAugmentedVector() {
+            //
+            // Builds the augmented vector:
+            //
+            //    +-       -+
+            //    |  2A'Wb  |
+            //    |         |
+            //    |    d    |
+            //    +-       -+
+            //
+            Arrays.fill(augmentedVector, 0.0);
+
+            for (int obs = 0; obs < obsCount; ++obs) {
+                double[] designRow = design[obs];
+                double twoWb = 2.0 * weights[obs] * regressand[obs];
+
+                for (int col = 0; col < N; ++col)
+                    augmentedVector[col] += twoWb * designRow[col];
+            }
+
+            System.arraycopy(batch.constraintValues, 0, augmentedVector, N, P);
+        }
+
+        private void computeResiduals(double[] betas, double[] residuals, double[] statistics, int positiveCount) {
+            double sumW = 0.0;
+            double sumWY = 0.0;
+            double rss = 0.0;
+
+            for (int obs = 0; obs < obsCount; ++obs) {
+                double[] designRow = design[obs];
+                double fitted = 0.0;
+
+                for (int col = 0; col < N; ++col)
+                    fitted += designRow[col] * betas[col];
+
+                double residual = regressand[obs] - fitted;
+                residuals[obsCols[obs]] = residual;
+
+                rss += weights[obs] * residual * residual;
+                sumW += weights[obs];
+                sumWY += weights[obs] * regressand[obs];
+            }
+
+            double mean = sumWY / sumW;
+            double tss = 0.0;
+
+            for (int obs = 0; obs < obsCount; ++obs) {
+                double deviation = regressand[obs] - mean;
+                tss += weights[obs] * deviation * deviation;
+            }
+
+            int dof = positiveCount - N + P;
+
+            statistics[ConstrainedRegressionStat.OBSERVATIONS.ordinal()] = positiveCount;
+            statistics[ConstrainedRegressionStat.RSS.ordinal()] = rss;
+            statistics[ConstrainedRegressionStat.R_SQUARED.ordinal()] = 1.0 - rss / tss;
+            statistics[ConstrainedRegressionStat.STD_ERROR.ordinal()] = dof > 0 ? Math.sqrt(rss / dof) : Double.NaN;
+        }
+    }
+
+    /**
+     * An immutable copy of a weighted design matrix, used to share decompositions
+     * between blocks.
+     */
+    private static final class DesignKey {
+        private final double[][] design;
+        private final double[] weights;
+        private final int hashCode;
+
+        private DesignKey(int obsCount, double[][] design, double[] weights) {
+            this.design = new double[obsCount][];
+            this.weights = Arrays.copyOf(weights, obsCount);
+
+            for (int obs = 0; obs < obsCount; ++obs)
+                this.design[obs] = design[obs].clone();
+
+            this.hashCode = 31 * Arrays.deepHashCode(this.design) + Arrays.hashCode(this.weights);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof DesignKey that
+                    && hashCode == that.hashCode
+                    && Arrays.equals(weights, that.weights)
+                    && Arrays.deepEquals(design, that.design);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
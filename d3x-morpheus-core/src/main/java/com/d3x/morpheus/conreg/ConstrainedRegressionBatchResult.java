@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.conreg;
+
+import com.d3x.morpheus.frame.DataFrame;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Encapsulates the parameters estimated for a batch of constrained linear
+ * regressions, stacked with one row per cross section (date).
+ *
+ * <p>Rows for cross sections that could not be estimated, because they had
+ * no observations with a positive weight, contain {@code NaN} values.</p>
+ *
+ * @param <D> the runtime type of the cross section (date) keys.
+ * @param <R> the runtime type of the observation (asset) keys.
+ * @param <C> the runtime type of the regressor keys.
+ *
+ * <p>This is open source software released under the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></p>
+ *
+ * @author  Scott Shaffer
+ */
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public final class ConstrainedRegressionBatchResult<D,R,C> {
+    /**
+     * A DataFrame containing the regression coefficients, with one row
+     * per cross section and one column per regressor.
+     */
+    @Getter @NonNull
+    private final DataFrame<D,C> betaCoefficients;
+
+    /**
+     * A DataFrame containing the dual values for the linear equality
+     * constraints, with one row per cross section and one column per
+     * constraint.
+     */
+    @Getter @NonNull
+    private final DataFrame<D,String> dualValues;
+
+    /**
+     * A DataFrame containing the regression residuals, equal to {@code b - Ax},
+     * with one row per cross section and one column per observation; the
+     * residuals for observations excluded from a cross section are {@code NaN}.
+     */
+    @Getter @NonNull
+    private final DataFrame<D,R> residuals;
+
+    /**
+     * A DataFrame containing the summary statistics, with one row per
+     * cross section and one column per statistic.
+     */
+    @Getter @NonNull
+    private final DataFrame<D,ConstrainedRegressionStat> statistics;
+
+    /**
+     * The number of singular value decompositions computed for the batch,
+     * which is less than the number of cross sections when consecutive cross
+     * sections share the same weighted design matrix.
+     */
+    @Getter
+    private final int decompositionCount;
+
+    /**
+     * Returns the value of a regression coefficient for a particular cross section.
+     *
+     * @param crossSection the key of the cross section of interest.
+     * @param regressor    the regressor key of interest.
+     *
+     * @return the value of the regression coefficient for the specified cross
+     * section and regressor.
+     *
+     * @throws RuntimeException unless the keys are valid.
+     */
+    public double getBetaCoefficient(D crossSection, C regressor) {
+        return betaCoefficients.getDouble(crossSection, regressor);
+    }
+}
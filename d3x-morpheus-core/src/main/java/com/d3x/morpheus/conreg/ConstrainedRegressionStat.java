@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.conreg;
+
+/**
+ * Enumerates the summary statistics reported for each cross section in a
+ * batch of constrained regressions.
+ *
+ * <p>This is open source software released under the
+ * <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></p>
+ *
+ * @author  Scott Shaffer
+ */
+public enum ConstrainedRegressionStat {
+    /**
+     * The number of observations with a positive regression weight.
+     */
+    OBSERVATIONS,
+
+    /**
+     * The weighted residual sum of squares, with the weights normalized to
+     * sum to the number of observations.
+     */
+    RSS,
+
+    /**
+     * The weighted coefficient of determination: one minus the ratio of the
+     * weighted residual sum of squares to the weighted sum of squared
+     * deviations of the regressand from its weighted mean.
+     */
+    R_SQUARED,
+
+    /**
+     * The regression standard error: the square root of the weighted residual
+     * sum of squares divided by the residual degrees of freedom, equal to the
+     * number of observations less the number of regressors plus the number of
+     * constraints.
+     */
+    STD_ERROR;
+}
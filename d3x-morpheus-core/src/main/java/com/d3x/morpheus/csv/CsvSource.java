@@ -92,6 +92,10 @@ public interface CsvSource {
         private Predicate<Integer> colIndexPredicate;
         /** The optional column name mapping function */
         private ObjectIntBiFunction<String,String> columnNameMapping;
+        /** True to parse file resources in parallel over newline aligned chunks (values must not contain line breaks) */
+        private boolean parallel;
+        /** The max number of chunks to parse concurrently when parallel is enabled */
+        private int parallelism;
 
 
         /**
@@ -108,6 +112,8 @@ public interface CsvSource {
             this.formats = new Formats();
             this.charset = StandardCharsets.UTF_8;
             this.colTypeMap = new HashMap<>();
+            this.parallel = false;
+            this.parallelism = Runtime.getRuntime().availableProcessors();
         }
 
 
@@ -16,18 +16,25 @@
 package com.d3x.morpheus.csv;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import com.d3x.morpheus.array.Array;
@@ -36,6 +43,7 @@ import com.d3x.morpheus.array.ArrayType;
 import com.d3x.morpheus.frame.DataFrame;
 import com.d3x.morpheus.frame.DataFrameException;
 import com.d3x.morpheus.range.Range;
+import com.d3x.morpheus.util.ExecutorContext;
 import com.d3x.morpheus.util.IO;
 import com.d3x.morpheus.util.Resource;
 import com.d3x.morpheus.util.http.HttpClient;
@@ -56,6 +64,9 @@ import com.univocity.parsers.csv.CsvParserSettings;
 @lombok.AllArgsConstructor()
 public class CsvSourceDefault implements CsvSource {
 
+    /** The minimum number of bytes per chunk when parsing a file in parallel */
+    private static final long MIN_CHUNK_BYTES = 1024L * 1024L;
+
     @lombok.NonNull
     private final Resource resource;
 
@@ -71,7 +82,7 @@ public class CsvSourceDefault implements CsvSource {
             var options = new Options();
             configurator.accept(options);
             switch (resource.getType()) {
-                case FILE:          return parse(rowType, options, resource.toInputStream());
+                case FILE:          return options.isParallel() ? parse(rowType, options, resource.asFile()) : parse(rowType, options, resource.toInputStream());
                 case URL:           return parse(rowType, options, resource.asURL());
                 case INPUT_STREAM:  return parse(rowType, options, resource.toInputStream());
                 default:    throw new DataFrameException("Unsupported resource specified in CSVRequest: " + resource);
@@ -121,18 +132,7 @@ public class CsvSourceDefault implements CsvSource {
     private <R> DataFrame<R,String> parse(Class<R> rowType, Options options, InputStream stream) throws IOException {
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, options.getCharset()))) {
             var handler = new CsvProcessor<R>(options, rowType);
-            var settings = new CsvParserSettings();
-            settings.getFormat().setDelimiter(options.getDelimiter());
-            settings.setHeaderExtractionEnabled(options.isHeader());
-            settings.setLineSeparatorDetectionEnabled(true);
-            settings.setProcessor(handler);
-            settings.setIgnoreTrailingWhitespaces(true);
-            settings.setIgnoreLeadingWhitespaces(true);
-            settings.setSkipEmptyLines(true);
-            settings.setMaxColumns(options.getMaxColumns());
-            settings.setNumberOfRowsToSkip(options.getSkipRowCount());
-            settings.setNumberOfRecordsToRead(options.getReadRowCount());
-            settings.setReadInputOnSeparateThread(true);
+            var settings = settings(options, handler, options.isHeader());
             var parser = new CsvParser(settings);
             parser.parse(reader);
             return handler.build();
@@ -140,6 +140,226 @@ public class CsvSourceDefault implements CsvSource {
     }
 
 
+    /**
+     * Returns a DataFrame parsed from the file by splitting it into newline aligned chunks that are parsed concurrently
+     * @param rowType   the row type
+     * @param options   the CSV options
+     * @param file      the file to parse
+     * @return          the DataFrame parsed from file
+     * @throws IOException      if there stream read error
+     */
+    private <R> DataFrame<R,String> parse(Class<R> rowType, Options options, File file) throws IOException {
+        if (!isParallelSupported(options)) {
+            return parse(rowType, options, resource.toInputStream());
+        } else {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                var bounds = bounds(channel, options);
+                if (bounds.size() < 3) {
+                    return parse(rowType, options, resource.toInputStream());
+                } else {
+                    var sample = new CsvProcessor<R>(options, rowType, null, null);
+                    var sampleSettings = settings(options, sample, options.isHeader());
+                    sampleSettings.setNumberOfRecordsToRead(Math.max(1, options.getReadBatchSize()));
+                    sampleSettings.setReadInputOnSeparateThread(false);
+                    new CsvParser(sampleSettings).parse(reader(channel, 0L, bounds.get(bounds.size()-1), options));
+                    if (sample.columns == null || sample.rowCounter == 0) {
+                        return DataFrame.empty(rowType, String.class);
+                    } else {
+                        sample.columns.forEach(CsvColumn::resolveParser);
+                        var results = new ArrayList<CsvProcessor<R>>(Collections.nCopies(bounds.size()-1, null));
+                        var task = new ChunkTask<>(rowType, options, channel, bounds, sample.columns, results, 0, bounds.size()-2);
+                        ExecutorContext.getDefault().invoke(task);
+                        var rowCount = results.stream().mapToInt(CsvProcessor::getRowCounter).sum();
+                        var names = sample.columns.stream().map(v -> v.name).collect(Collectors.toList());
+                        var arrays = IntStream.range(0, names.size()).mapToObj(i -> concat(results, i)).collect(Collectors.<Array<?>>toList());
+                        return createFrame(rowType, options, names, arrays, rowCount);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Returns true if the options are compatible with parsing newline aligned chunks independently
+     * @param options   the CSV options
+     * @return          true if parallel parsing can be applied
+     */
+    private static boolean isParallelSupported(Options options) {
+        if (options.getParallelism() < 2) {
+            return false;
+        } else if (options.getSkipRowCount() > 0 || options.getReadRowCount() < Integer.MAX_VALUE) {
+            return false;
+        } else {
+            var newLine = "\n".getBytes(options.getCharset());
+            return newLine.length == 1 && newLine[0] == '\n';
+        }
+    }
+
+
+    /**
+     * Returns the chunk boundaries for the file, where each boundary is the byte offset at the start of a line
+     * @param channel   the file channel
+     * @param options   the CSV options
+     * @return          the chunk boundaries, starting with zero and ending with file size
+     * @throws IOException  if there is an I/O error
+     */
+    private static List<Long> bounds(FileChannel channel, Options options) throws IOException {
+        var size = channel.size();
+        var count = (int)Math.max(1L, Math.min(options.getParallelism(), size / MIN_CHUNK_BYTES));
+        var buffer = ByteBuffer.allocate(1024 * 8);
+        var bounds = new ArrayList<Long>(count + 1);
+        bounds.add(0L);
+        for (int i=1; i<count; ++i) {
+            var last = bounds.get(bounds.size()-1);
+            var target = Math.max(last, size * i / count);
+            var boundary = nextLineStart(channel, target, buffer);
+            if (boundary > last && boundary < size) {
+                bounds.add(boundary);
+            }
+        }
+        bounds.add(size);
+        return bounds;
+    }
+
+
+    /**
+     * Returns the offset of the first line that starts at or after the position specified
+     * @param channel   the file channel
+     * @param position  the position to search from
+     * @param buffer    the buffer to read into
+     * @return          the offset of the start of the next line, or file size if none
+     * @throws IOException  if there is an I/O error
+     */
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        var offset = Math.max(0L, position - 1);
+        while (true) {
+            buffer.clear();
+            var count = channel.read(buffer, offset);
+            if (count <= 0) {
+                return channel.size();
+            } else {
+                for (int i=0; i<count; ++i) {
+                    if (buffer.get(i) == '\n') {
+                        return offset + i + 1;
+                    }
+                }
+                offset += count;
+            }
+        }
+    }
+
+
+    /**
+     * Returns a reader over the byte range of the file channel specified
+     * @param channel   the file channel
+     * @param start     the start offset, inclusive
+     * @param end       the end offset, exclusive
+     * @param options   the CSV options
+     * @return          the reader for byte range
+     */
+    private static Reader reader(FileChannel channel, long start, long end, Options options) {
+        var stream = new ChunkInputStream(channel, start, end);
+        return new BufferedReader(new InputStreamReader(stream, options.getCharset()), 1024 * 64);
+    }
+
+
+    /**
+     * Returns the parser settings for the options and processor specified
+     * @param options   the CSV options
+     * @param processor the row processor
+     * @param header    true to extract header from first row
+     * @return          the parser settings
+     */
+    private static CsvParserSettings settings(Options options, RowProcessor processor, boolean header) {
+        var settings = new CsvParserSettings();
+        settings.getFormat().setDelimiter(options.getDelimiter());
+        settings.setHeaderExtractionEnabled(header);
+        settings.setLineSeparatorDetectionEnabled(true);
+        settings.setProcessor(processor);
+        settings.setIgnoreTrailingWhitespaces(true);
+        settings.setIgnoreLeadingWhitespaces(true);
+        settings.setSkipEmptyLines(true);
+        settings.setMaxColumns(options.getMaxColumns());
+        settings.setNumberOfRowsToSkip(options.getSkipRowCount());
+        settings.setNumberOfRecordsToRead(options.getReadRowCount());
+        settings.setReadInputOnSeparateThread(true);
+        return settings;
+    }
+
+
+    /**
+     * Returns the concatenation of the column arrays across the chunk results, in chunk order
+     * @param results   the chunk results
+     * @param colIndex  the index of column in results
+     * @return          the concatenated array
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> Array<?> concat(List<CsvProcessor<R>> results, int colIndex) {
+        var arrays = new ArrayList<Array<Object>>(results.size());
+        for (CsvProcessor<R> result : results) {
+            if (result.columns != null) {
+                arrays.add((Array<Object>)result.columns.get(colIndex).toArray());
+            }
+        }
+        var type = arrays.get(0).type();
+        return arrays.size() == 1 ? arrays.get(0) : Array.concat(type, arrays);
+    }
+
+
+    /**
+     * Creates the DataFrame from the named column arrays specified
+     * @param rowType   the row type
+     * @param options   the CSV options
+     * @param names     the column names
+     * @param arrays    the column arrays, in the same order as names
+     * @param rowCount  the row count
+     * @return          the newly created DataFrame
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> DataFrame<R,String> createFrame(Class<R> rowType, Options options, List<String> names, List<Array<?>> arrays, int rowCount) {
+        try {
+            if (rowCount == 0) {
+                return DataFrame.empty(rowType, String.class);
+            } else if (options.getRowKeyColumnName() != null) {
+                var rowKeyColumn = options.getRowKeyColumnName();
+                var rowKeyIndex = names.indexOf(rowKeyColumn);
+                if (rowKeyIndex < 0) throw new DataFrameException("No column in content matching: " + rowKeyColumn);
+                var rowKeys = (Array<R>)arrays.get(rowKeyIndex);
+                return DataFrame.of(rowKeys, String.class, cols -> {
+                    for (int i=0; i<names.size(); ++i) {
+                        if (!names.get(i).equals(rowKeyColumn)) {
+                            cols.add(names.get(i), arrays.get(i));
+                        }
+                    }
+                });
+            } else if (options.getRowKeyColumnIndex() != null) {
+                var rowKeyIndex = options.getRowKeyColumnIndex().intValue();
+                var rowKeyColumn = names.get(rowKeyIndex);
+                var rowKeys = (Array<R>)arrays.get(rowKeyIndex);
+                return DataFrame.of(rowKeys, String.class, cols -> {
+                    for (int i=0; i<names.size(); ++i) {
+                        if (!names.get(i).equals(rowKeyColumn)) {
+                            cols.add(names.get(i), arrays.get(i));
+                        }
+                    }
+                });
+            } else {
+                var rowKeys = (Range<R>)Range.of(0, rowCount);
+                return DataFrame.of(rowKeys, String.class, cols -> {
+                    for (int i=0; i<names.size(); ++i) {
+                        cols.add(names.get(i), arrays.get(i));
+                    }
+                });
+            }
+        } catch (DataFrameException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new DataFrameException("Failed to process CSV parse end", ex);
+        }
+    }
+
+
 
 
 
@@ -157,6 +377,7 @@ public class CsvSourceDefault implements CsvSource {
         private List<CsvColumn> columns;
         private final Class<R> rowType;
         private final Options options;
+        private final List<CsvColumn> template;
         private final Predicate<String[]> rowPredicate;
 
         /**
@@ -165,9 +386,21 @@ public class CsvSourceDefault implements CsvSource {
          * @param rowType   the row type
          */
         CsvProcessor(Options options, Class<R> rowType) {
+            this(options, rowType, null, options.getRowPredicate());
+        }
+
+        /**
+         * Constructor
+         * @param options       the options
+         * @param rowType       the row type
+         * @param template      the optional columns with resolved parsers to replicate, rather than resolving from headers
+         * @param rowPredicate  the optional row predicate
+         */
+        CsvProcessor(Options options, Class<R> rowType, List<CsvColumn> template, Predicate<String[]> rowPredicate) {
             this.options = options;
             this.rowType = rowType;
-            this.rowPredicate = options.getRowPredicate();
+            this.template = template;
+            this.rowPredicate = rowPredicate;
         }
 
 
@@ -177,6 +410,11 @@ public class CsvSourceDefault implements CsvSource {
          * @param context       the parsing context
          */
         private void initColumns(int colCount, ParsingContext context) {
+            if (template != null) {
+                var capacity = options.getRowCapacity();
+                this.columns = template.stream().map(v -> v.copy(capacity)).collect(Collectors.toList());
+                return;
+            }
             this.columns = new ArrayList<>();
             var headers = options.isHeader() ? context.headers() : IntStream.range(0, colCount).mapToObj(i -> "Column-" + i).toArray(String[]::new);
             for (int colIndex=0; colIndex<colCount; ++colIndex) {
@@ -223,7 +461,7 @@ public class CsvSourceDefault implements CsvSource {
                 }
                 if (rowPredicate == null || rowPredicate.test(row)) {
                     this.rowCounter++;
-                    if (rowCounter % 10000 == 0) {
+                    if (template == null && rowCounter % 10000 == 0) {
                         var time = System.currentTimeMillis() - startTime;
                         IO.println("Loaded " + rowCounter + " rows in " + time + " millis");
                     }
@@ -243,41 +481,119 @@ public class CsvSourceDefault implements CsvSource {
          * Builds the data frame from the contents in this handler
          * @return      the newly built data frame
          */
-        @SuppressWarnings("unchecked")
         private DataFrame<R,String> build() {
-            try {
-                if (rowCounter == 0) {
-                    return DataFrame.empty(rowType, String.class);
-                } else if (options.getRowKeyColumnName() != null) {
-                    var rowKeyColumn = options.getRowKeyColumnName();
-                    var rowColumn = columns.stream().filter(v -> v.name.equals(rowKeyColumn)).findFirst().orElse(null);
-                    if (rowColumn == null) throw new DataFrameException("No column in content matching: " + rowKeyColumn);
-                    var rowKeys = (Array<R>)rowColumn.toArray();
-                    var selection = columns.stream().filter(v -> !v.name.equals(rowKeyColumn));
-                    return DataFrame.of(rowKeys, String.class, cols -> selection.forEach(v -> {
-                        var values = v.toArray();
-                        cols.add(v.name, values);
-                    }));
-                } else if (options.getRowKeyColumnIndex() != null) {
-                    var rowKeyIndex = options.getRowKeyColumnIndex();
-                    var rowColumn = columns.get(rowKeyIndex);
-                    var rowKeys = (Array<R>)rowColumn.toArray();
-                    var selection = columns.stream().filter(v -> !v.name.equals(rowColumn.name));
-                    return DataFrame.of(rowKeys, String.class, cols -> selection.forEach(v -> {
-                        var values = v.toArray();
-                        cols.add(v.name, values);
-                    }));
+            if (rowCounter == 0) {
+                return DataFrame.empty(rowType, String.class);
+            } else {
+                var names = columns.stream().map(v -> v.name).collect(Collectors.toList());
+                var arrays = columns.stream().map(CsvColumn::toArray).collect(Collectors.toList());
+                return createFrame(rowType, options, names, arrays, rowCounter);
+            }
+        }
+    }
+
+
+
+    /**
+     * A RecursiveAction that parses a range of newline aligned file chunks, splitting the range until it covers one chunk
+     */
+    private static class ChunkTask<R> extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final Class<R> rowType;
+        private final Options options;
+        private final FileChannel channel;
+        private final List<Long> bounds;
+        private final List<CsvColumn> template;
+        private final List<CsvProcessor<R>> results;
+
+        /**
+         * Constructor
+         * @param rowType   the row type
+         * @param options   the CSV options
+         * @param channel   the file channel to read from
+         * @param bounds    the chunk boundaries in bytes
+         * @param template  the columns with resolved parsers
+         * @param results   the list to store results, one per chunk
+         * @param from      the first chunk index, inclusive
+         * @param to        the last chunk index, inclusive
+         */
+        ChunkTask(Class<R> rowType, Options options, FileChannel channel, List<Long> bounds, List<CsvColumn> template, List<CsvProcessor<R>> results, int from, int to) {
+            this.from = from;
+            this.to = to;
+            this.rowType = rowType;
+            this.options = options;
+            this.channel = channel;
+            this.bounds = bounds;
+            this.template = template;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (from == to) {
+                var start = bounds.get(from);
+                var end = bounds.get(from + 1);
+                var handler = new CsvProcessor<R>(options, rowType, template, options.getRowPredicate());
+                var settings = settings(options, handler, from == 0 && options.isHeader());
+                settings.setReadInputOnSeparateThread(false);
+                new CsvParser(settings).parse(reader(channel, start, end, options));
+                this.results.set(from, handler);
+            } else {
+                var splitIndex = from + (to - from) / 2;
+                var left = new ChunkTask<>(rowType, options, channel, bounds, template, results, from, splitIndex);
+                var right = new ChunkTask<>(rowType, options, channel, bounds, template, results, splitIndex + 1, to);
+                invokeAll(left, right);
+            }
+        }
+    }
+
+
+
+    /**
+     * An InputStream over a byte range of a FileChannel that uses positional reads so the channel can be shared
+     */
+    private static class ChunkInputStream extends InputStream {
+
+        private long position;
+        private final long end;
+        private final FileChannel channel;
+
+        /**
+         * Constructor
+         * @param channel   the file channel
+         * @param start     the start offset, inclusive
+         * @param end       the end offset, exclusive
+         */
+        ChunkInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var single = new byte[1];
+            var count = read(single, 0, 1);
+            return count < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            } else if (position >= end) {
+                return -1;
+            } else {
+                var count = (int)Math.min(length, end - position);
+                var result = channel.read(ByteBuffer.wrap(bytes, offset, count), position);
+                if (result < 0) {
+                    return -1;
                 } else {
-                    var rowKeys = (Range<R>)Range.of(0, rowCounter);
-                    return DataFrame.of(rowKeys, String.class, cols -> columns.forEach(v -> {
-                        var values = v.toArray();
-                        cols.add(v.name, values);
-                    }));
+                    this.position += result;
+                    return result;
                 }
-            } catch (DataFrameException ex) {
-                throw ex;
-            } catch (Exception ex) {
-                throw new DataFrameException("Failed to process CSV parse end", ex);
             }
         }
     }
@@ -317,6 +633,16 @@ public class CsvSourceDefault implements CsvSource {
         }
 
 
+        /**
+         * Returns a new empty column with the same name, index and parser as this column
+         * @param capacity  the initial capacity
+         * @return          the new column
+         */
+        final CsvColumn copy(int capacity) {
+            return new CsvColumn(name, index, capacity, bufferSize, formats, parser);
+        }
+
+
         /**
          * Returns the array of values for this column
          * @return      the array of values
@@ -19,25 +19,31 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameColumn;
 import com.d3x.morpheus.frame.DataFrameCursor;
 import com.d3x.morpheus.frame.DataFrameException;
-import com.d3x.morpheus.frame.DataFrameRow;
+import com.d3x.morpheus.frame.DataFrameRows;
 import com.d3x.morpheus.frame.DataFrameValue;
 import com.d3x.morpheus.util.Collect;
+import com.d3x.morpheus.util.ExecutorContext;
 import com.d3x.morpheus.util.IO;
 import com.d3x.morpheus.util.Initialiser;
 import com.d3x.morpheus.util.Try;
@@ -48,11 +54,18 @@ import com.d3x.morpheus.util.sql.SQLType;
 /**
  * A DataFrameSink implementation that writes DataFrames to a SQL database table.
  *
+ * <p>Rows are bound straight from the DataFrame columns, reading primitive columns without boxing. When the sink
+ * is created from a DataSource, the rows can be split into contiguous partitions that are inserted concurrently
+ * in the frame's executor context, each over its own connection and in its own transaction, so a failed write may
+ * leave other partitions committed. The first partition reuses the connection the sink already holds, so a write
+ * needs no more connections than its partition count, which is capped by the executor parallelism and should not
+ * exceed the size of the connection pool behind the DataSource.</p>
+ *
  * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
  *
  * @author  Xavier Witdouck
  */
-@lombok.AllArgsConstructor()
+@lombok.extern.slf4j.Slf4j()
 public class DbSink {
 
     private static final Map<Class<?>,SQLType> sqlTypeMap = new HashMap<>();
@@ -78,14 +91,23 @@ public class DbSink {
     }
 
 
-    @lombok.NonNull
     private Connection connection;
+    private DataSource dataSource;
+
+    /**
+     * Constructor
+     * @param connection    the connection to write to, which only supports a single partition
+     */
+    public DbSink(@lombok.NonNull Connection connection) {
+        this.connection = connection;
+    }
 
     /**
      * Constructor
-     * @param dataSource    the data source to get connection
+     * @param dataSource    the data source to get connections, one per partition
      */
-    public DbSink(DataSource dataSource) {
+    public DbSink(@lombok.NonNull DataSource dataSource) {
+        this.dataSource = dataSource;
         this.connection = Try.call(dataSource::getConnection);
     }
 
@@ -122,10 +144,10 @@ public class DbSink {
             var metaData = connection.getMetaData();
             var tables = metaData.getTables(null, null, tableName, null);
             if (tables.next()) {
-                System.out.println("The table named " + tableName + " already exists");
+                log.debug("The table named {} already exists", tableName);
             } else {
                 var ddl = getCreateTableSql(frame, options);
-                System.out.println("Executing DDL:\n " + ddl);
+                log.debug("Executing DDL:\n {}", ddl);
                 stmt.execute(ddl);
             }
         } catch (Exception ex) {
@@ -142,47 +164,206 @@ public class DbSink {
      */
     private <R,C> void insertData(DataFrame<R,C> frame, DbSinkOptions<R,C> options) {
         var columnList = getColumnAdapters(frame, options);
-        var insertSql = getInsertSql(columnList, options);
-        System.out.println("Insert SQL: " + insertSql);
-        try (PreparedStatement stmt = connection.prepareStatement(insertSql)) {
-            int rowCount = 0;
-            for (var row : frame.rows()) {
-                for (int i=0; i<columnList.size(); ++i) {
-                    var adapter = columnList.get(i);
-                    var stmtIndex = i+1;
-                    adapter.apply(stmt, stmtIndex, row);
+        var rowCount = frame.rowCount();
+        var partitions = getPartitionCount(rowCount, options, frame.executor());
+        var progress = new Progress(options, rowCount);
+        log.debug("Insert SQL: {}", getInsertSql(columnList, options, 1));
+        log.info("Inserting {} rows into {} over {} partition(s)", rowCount, options.getTableName(), partitions);
+        if (partitions < 2) {
+            insertRows(connection, columnList, 0, rowCount, options, progress);
+        } else {
+            var tasks = new ArrayList<ForkJoinTask<?>>(partitions);
+            for (int i=0; i<partitions; ++i) {
+                var from = (int)((long)rowCount * i / partitions);
+                var to = (int)((long)rowCount * (i + 1) / partitions);
+                if (i == 0) {
+                    tasks.add(ForkJoinTask.adapt(() -> insertRows(connection, columnList, from, to, options, progress)));
+                } else {
+                    tasks.add(ForkJoinTask.adapt(() -> insertPartition(columnList, from, to, options, progress)));
+                }
+            }
+            frame.executor().run(() -> ForkJoinTask.invokeAll(tasks));
+        }
+        log.info("Inserted {} rows into {} in {} millis", rowCount, options.getTableName(), progress.elapsedMillis());
+    }
+
+
+    /**
+     * Inserts a contiguous range of rows over a new connection from the DataSource, which is closed once done
+     * @param columnList    the column adapters, which are copied for use by this partition
+     * @param from          the first row ordinal, inclusive
+     * @param to            the last row ordinal, exclusive
+     * @param options       the sink options
+     * @param progress      the progress tracker
+     * @throws DataFrameException   if this operation fails
+     */
+    private <R,C> void insertPartition(List<ColumnAdapter<R,C>> columnList, int from, int to, DbSinkOptions<R,C> options, Progress progress) {
+        try (Connection conn = dataSource.getConnection()) {
+            insertRows(conn, columnList, from, to, options, progress);
+        } catch (SQLException ex) {
+            var range = String.format("[%s, %s)", from, to);
+            throw new DataFrameException("Failed to get connection to insert rows " + range + " into table named " + options.getTableName(), ex);
+        }
+    }
+
+
+    /**
+     * Inserts a contiguous range of rows over a single connection within one transaction, committed every commit size rows
+     * @param conn          the connection to insert over
+     * @param columnList    the column adapters, which are copied for use by this partition
+     * @param from          the first row ordinal, inclusive
+     * @param to            the last row ordinal, exclusive
+     * @param options       the sink options
+     * @param progress      the progress tracker
+     * @throws DataFrameException   if this operation fails
+     */
+    private <R,C> void insertRows(Connection conn, List<ColumnAdapter<R,C>> columnList, int from, int to, DbSinkOptions<R,C> options, Progress progress) {
+        var adapters = columnList.stream().map(ColumnAdapter::copy).collect(Collectors.toList());
+        var rowsPerInsert = getRowsPerInsert(adapters.size(), options);
+        var commitSize = options.getCommitSize();
+        var autoCommit = Try.call(conn::getAutoCommit);
+        try {
+            conn.setAutoCommit(false);
+            var pending = 0;
+            var uncommitted = 0;
+            var rowOrdinal = from;
+            try (PreparedStatement stmt = conn.prepareStatement(getInsertSql(adapters, options, rowsPerInsert))) {
+                for (; rowOrdinal + rowsPerInsert <= to; rowOrdinal += rowsPerInsert) {
+                    bind(stmt, adapters, rowOrdinal, rowsPerInsert);
+                    stmt.addBatch();
+                    pending += rowsPerInsert;
+                    if (pending >= options.getBatchSize()) {
+                        stmt.executeBatch();
+                        progress.executed(pending);
+                        uncommitted += pending;
+                        pending = 0;
+                        if (commitSize > 0 && uncommitted >= commitSize) {
+                            conn.commit();
+                            progress.committed(uncommitted);
+                            uncommitted = 0;
+                        }
+                    }
                 }
-                stmt.addBatch();
-                rowCount++;
-                if (rowCount % options.getBatchSize() == 0) {
-                    System.out.println("Executing batch, row count is " + rowCount);
+                if (pending > 0) {
                     stmt.executeBatch();
+                    progress.executed(pending);
+                    uncommitted += pending;
+                }
+            }
+            if (rowOrdinal < to) {
+                var remaining = to - rowOrdinal;
+                try (PreparedStatement stmt = conn.prepareStatement(getInsertSql(adapters, options, remaining))) {
+                    bind(stmt, adapters, rowOrdinal, remaining);
+                    stmt.executeUpdate();
+                    progress.executed(remaining);
+                    uncommitted += remaining;
                 }
             }
-            if (rowCount % options.getBatchSize() != 0) {
-                System.out.println("Executing final batch, row count is " + rowCount);
-                stmt.executeBatch();
+            conn.commit();
+            progress.committed(uncommitted);
+        } catch (Exception ex) {
+            rollback(conn);
+            var range = String.format("[%s, %s)", from, to);
+            throw new DataFrameException("Failed to insert rows " + range + " from DataFrame into table named " + options.getTableName(), ex);
+        } finally {
+            try {
+                conn.setAutoCommit(autoCommit);
+            } catch (Exception ex) {
+                log.warn("Failed to restore auto commit on connection", ex);
             }
+        }
+    }
+
+
+    /**
+     * Rolls back the current transaction on the connection, logging rather than throwing any failure
+     * @param conn  the connection to roll back
+     */
+    private static void rollback(Connection conn) {
+        try {
+            conn.rollback();
         } catch (Exception ex) {
-            throw new DataFrameException("Failed to insert data from DataFrame into table named " + options.getTableName(), ex);
+            log.warn("Failed to rollback transaction", ex);
+        }
+    }
+
+
+    /**
+     * Binds the parameters for one or more consecutive rows to the statement
+     * @param stmt          the statement to bind parameters to
+     * @param adapters      the column adapters
+     * @param rowOrdinal    the ordinal of the first row to bind
+     * @param rowCount      the number of rows to bind
+     */
+    private <R,C> void bind(PreparedStatement stmt, List<ColumnAdapter<R,C>> adapters, int rowOrdinal, int rowCount) {
+        var colCount = adapters.size();
+        for (int i=0; i<rowCount; ++i) {
+            for (int j=0; j<colCount; ++j) {
+                var stmtIndex = i * colCount + j + 1;
+                adapters.get(j).apply(stmt, stmtIndex, rowOrdinal + i);
+            }
+        }
+    }
+
+
+    /**
+     * Returns the number of partitions to split the rows into for concurrent inserts
+     * @param rowCount  the number of rows to insert
+     * @param options   the sink options
+     * @param executor  the executor context to insert partitions in, whose parallelism caps the partition count
+     * @return          the number of partitions
+     */
+    private <R,C> int getPartitionCount(int rowCount, DbSinkOptions<R,C> options, ExecutorContext executor) {
+        var parallelism = options.getParallelism();
+        if (parallelism < 2) {
+            return 1;
+        } else if (dataSource == null) {
+            log.warn("Parallel inserts require a DataSource, inserting into {} over a single connection", options.getTableName());
+            return 1;
+        } else if (options.getPlatform() == SQLPlatform.SQLITE) {
+            log.debug("SQLite serializes writers, inserting into {} over a single connection", options.getTableName());
+            return 1;
+        } else {
+            var batchSize = Math.max(1, options.getBatchSize());
+            var batchCount = (rowCount + batchSize - 1) / batchSize;
+            var poolSize = Math.max(1, executor.getParallelism());
+            return Math.max(1, Math.min(Math.min(parallelism, poolSize), batchCount));
         }
     }
 
 
+    /**
+     * Returns the number of rows to bind to each INSERT statement
+     * @param colCount  the number of columns bound per row
+     * @param options   the sink options
+     * @return          the number of rows per INSERT statement
+     */
+    private <R,C> int getRowsPerInsert(int colCount, DbSinkOptions<R,C> options) {
+        var platform = options.getPlatform();
+        if (!options.isMultiRowInsert() || !platform.isMultiRowInsertSupported() || colCount == 0) {
+            return 1;
+        } else {
+            var maxRows = Math.min(platform.getMaxInsertRows(), platform.getMaxParameters() / colCount);
+            return Math.max(1, Math.min(options.getBatchSize(), maxRows));
+        }
+    }
+
 
     /**
      * Constructs the SQL insert statement for the column list specified
      * @param columnList    the column list
      * @param options       the DB sink options
+     * @param rowCount      the number of rows in the VALUES clause
      * @return              the sql insert statement
      */
-    private <R,C> String getInsertSql(List<ColumnAdapter<R,C>> columnList, DbSinkOptions<R,C> options) {
+    private <R,C> String getInsertSql(List<ColumnAdapter<R,C>> columnList, DbSinkOptions<R,C> options, int rowCount) {
         var tableName = options.getTableName();
         var colNames = columnList.stream().map(c -> c.colName).collect(Collectors.toList());
         var params = IntStream.range(0, colNames.size()).mapToObj(i -> "?").collect(Collectors.toList());
-        var paramsString = String.join(",", params);
+        var paramsString = "(" + String.join(",", params) + ")";
+        var valuesString = String.join(",", Collections.nCopies(rowCount, paramsString));
         var columnsString = String.join(",", colNames);
-        return String.format("INSERT INTO %s (%s) VALUES (%s)", tableName, columnsString, paramsString);
+        return String.format("INSERT INTO %s (%s) VALUES %s", tableName, columnsString, valuesString);
     }
 
 
@@ -208,16 +389,20 @@ public class DbSink {
                 var sqlTypeName = metaData.getColumnTypeName(i+1);
                 var sqlType = typeResolver.getType(sqlTypeCode, sqlTypeName);
                 if (Optional.ofNullable(options.getRowKeyColumn()).map(name -> name.equalsIgnoreCase(sqlColName)).orElse(false)) {
-                    columnList.add(new RowKeyAdapter(sqlColName, sqlType, options));
+                    columnList.add(new RowKeyAdapter(sqlColName, sqlType, frame.rows(), options));
                 } else if (Optional.ofNullable(options.getAutoIncrementColumnName()).map(name -> !name.equalsIgnoreCase(sqlColName)).orElse(true)) {
                     var colKey = columnMap2.get(sqlColName);
                     if (colKey == null) {
                         throw new DataFrameException("No match for sql column name: " + sqlColName);
                     }
                     var dataType = frame.cols().type(colKey);
-                    var cursor = frame.cursor().col(colKey);
-                    var mapper = options.getColumnMappings().getMapper(dataType);
-                    columnList.add(new ValueAdapter(sqlColName, sqlType, cursor, mapper));
+                    if (isPrimitive(dataType, sqlType) && !options.getColumnMappings().isCustom(dataType)) {
+                        columnList.add(new PrimitiveAdapter<>(sqlColName, sqlType, frame, colKey));
+                    } else {
+                        var cursor = frame.cursor().col(colKey);
+                        var mapper = options.getColumnMappings().getMapper(dataType);
+                        columnList.add(new ValueAdapter(sqlColName, sqlType, cursor, mapper));
+                    }
                 }
             }
             return columnList;
@@ -226,6 +411,28 @@ public class DbSink {
         }
     }
 
+
+    /**
+     * Returns true if values of the data type can be bound to the SQL type straight from the column without boxing
+     * @param dataType  the DataFrame column type
+     * @param sqlType   the SQL column type
+     * @return          true if a PrimitiveAdapter can be used
+     */
+    private static boolean isPrimitive(Class<?> dataType, SQLType sqlType) {
+        switch (sqlType) {
+            case BIT:       return dataType == Boolean.class;
+            case BOOLEAN:   return dataType == Boolean.class;
+            case TINYINT:   return dataType == Integer.class;
+            case SMALLINT:  return dataType == Integer.class;
+            case INTEGER:   return dataType == Integer.class;
+            case BIGINT:    return dataType == Long.class;
+            case FLOAT:     return dataType == Double.class;
+            case DOUBLE:    return dataType == Double.class;
+            case DECIMAL:   return dataType == Double.class;
+            default:        return false;
+        }
+    }
+
     /**
      * Returns the SQL DDL statement to create a table for the DataFrame specified
      * @param frame     the frame instance
@@ -342,33 +549,42 @@ public class DbSink {
             return String.format("ColumnAdapter{type=%s, colName=%s}", colType, colName);
         }
 
+        /**
+         * Returns an adapter equivalent to this one that can be used concurrently from another thread
+         * @return      the adapter for use by another partition
+         */
+        abstract ColumnAdapter<R,C> copy();
+
         /**
          * Applies a parameter value to the SQL PreparedStatement
          * @param stmt          the PreparedStatement to apply parameter to
          * @param stmtIndex     the statement index for parameter
-         * @param row           the row to extract a value from
+         * @param rowOrdinal    the ordinal of the row to extract a value from
          */
-        abstract void apply(PreparedStatement stmt, int stmtIndex, DataFrameRow<R,C> row);
+        abstract void apply(PreparedStatement stmt, int stmtIndex, int rowOrdinal);
     }
 
 
     /**
-     * A ColumnAdapter implementation that applies a row key from a DataFrameRow to the INSERT PreparedStatement
+     * A ColumnAdapter implementation that applies a row key from a DataFrame row to the INSERT PreparedStatement
      */
     private class RowKeyAdapter<R,C> extends ColumnAdapter<R,C> {
 
         private SQLType rowKeyType;
         private Class<?> rowKeyClass;
+        private DataFrameRows<R,C> rows;
         private Function1<R,?> rowKeyMapper;
 
         /**
          * Constructor
          * @param colName   the column name
          * @param colType   the column type
+         * @param rows      the rows of the frame
          * @param options   the sink options
          */
-        RowKeyAdapter(String colName, SQLType colType, DbSinkOptions<R,C> options) {
+        RowKeyAdapter(String colName, SQLType colType, DataFrameRows<R,C> rows, DbSinkOptions<R,C> options) {
             super(colName, colType);
+            this.rows = rows;
             this.rowKeyMapper = options.getRowKeyMapper();
             this.rowKeyClass = options.getRowKeySqlClass();
             this.rowKeyType = Optional.ofNullable(sqlTypeMap.get(rowKeyClass)).orElseThrow(() ->
@@ -377,8 +593,13 @@ public class DbSink {
         }
 
         @Override
-        void apply(PreparedStatement stmt, int stmtIndex, DataFrameRow<R,C> row) {
-            final R rowKey = row.key();
+        ColumnAdapter<R,C> copy() {
+            return this;
+        }
+
+        @Override
+        void apply(PreparedStatement stmt, int stmtIndex, int rowOrdinal) {
+            final R rowKey = rows.key(rowOrdinal);
             try {
                 switch (rowKeyType) {
                     case BIT:       stmt.setBoolean(stmtIndex, rowKeyMapper.applyAsBoolean(rowKey));             break;
@@ -404,7 +625,7 @@ public class DbSink {
 
 
     /**
-     * A ColumnAdapter implementation that applies a value extracted from a DataFrameRow to the INSERT PreparedStatement
+     * A ColumnAdapter implementation that applies a value extracted from a DataFrame row to the INSERT PreparedStatement
      */
     private class ValueAdapter<R,C> extends ColumnAdapter<R,C> {
 
@@ -425,9 +646,14 @@ public class DbSink {
         }
 
         @Override()
-        void apply(PreparedStatement stmt, int stmtIndex, DataFrameRow<R,C> row) {
+        ColumnAdapter<R,C> copy() {
+            return new ValueAdapter<>(colName, colType, cursor.copy(), mapper);
+        }
+
+        @Override()
+        void apply(PreparedStatement stmt, int stmtIndex, int rowOrdinal) {
             try {
-                this.cursor.rowAt(row.ordinal());
+                this.cursor.rowAt(rowOrdinal);
                 if (cursor.isNull()) {
                     stmt.setNull(stmtIndex, colType.getTypeCode());
                 } else {
@@ -454,4 +680,136 @@ public class DbSink {
             }
         }
     }
+
+
+    /**
+     * A ColumnAdapter implementation that binds boolean, int, long and double columns without boxing through a DataFrameValue
+     */
+    private class PrimitiveAdapter<R,C> extends ColumnAdapter<R,C> {
+
+        private C colKey;
+        private DataFrame<R,C> frame;
+        private DataFrameColumn<R,C> column;
+
+        /**
+         * Constructor
+         * @param colName   the column name in the database
+         * @param colType   the column SQL type, which must be compatible with the column data type
+         * @param frame     the frame to read values from
+         * @param colKey    the key of the column to read values from
+         */
+        PrimitiveAdapter(String colName, SQLType colType, DataFrame<R,C> frame, C colKey) {
+            super(colName, colType);
+            this.frame = frame;
+            this.colKey = colKey;
+            this.column = frame.col(colKey);
+        }
+
+        @Override()
+        ColumnAdapter<R,C> copy() {
+            return new PrimitiveAdapter<>(colName, colType, frame, colKey);
+        }
+
+        @Override()
+        void apply(PreparedStatement stmt, int stmtIndex, int rowOrdinal) {
+            try {
+                switch (colType) {
+                    case BIT:
+                    case BOOLEAN:
+                        if (column.isNullAt(rowOrdinal)) {
+                            stmt.setNull(stmtIndex, colType.getTypeCode());
+                        } else {
+                            stmt.setBoolean(stmtIndex, column.getBooleanAt(rowOrdinal));
+                        }
+                        break;
+                    case TINYINT:
+                    case SMALLINT:
+                    case INTEGER:
+                        if (column.isNullAt(rowOrdinal)) {
+                            stmt.setNull(stmtIndex, colType.getTypeCode());
+                        } else {
+                            stmt.setInt(stmtIndex, column.getIntAt(rowOrdinal));
+                        }
+                        break;
+                    case BIGINT:
+                        if (column.isNullAt(rowOrdinal)) {
+                            stmt.setNull(stmtIndex, colType.getTypeCode());
+                        } else {
+                            stmt.setLong(stmtIndex, column.getLongAt(rowOrdinal));
+                        }
+                        break;
+                    case FLOAT:
+                    case DOUBLE:
+                    case DECIMAL:
+                        var value = column.getDoubleAt(rowOrdinal);
+                        if (Double.isNaN(value)) {
+                            stmt.setNull(stmtIndex, colType.getTypeCode());
+                        } else {
+                            stmt.setDouble(stmtIndex, value);
+                        }
+                        break;
+                    default:    throw new IllegalStateException("Unsupported column type:" + colType);
+                }
+            } catch (Exception ex) {
+                final String coordinates = String.format("(%s, %s)", frame.rows().key(rowOrdinal), colKey);
+                throw new DataFrameException("Failed to apply value to SQL statement at " + coordinates, ex);
+            }
+        }
+    }
+
+
+    /**
+     * Tracks the progress of a write across partitions and notifies the optional listener after each batch
+     */
+    private static class Progress {
+
+        private String tableName;
+        private long totalRows;
+        private long startNanos;
+        private Consumer<DbSinkProgress> listener;
+        private AtomicLong rowCount = new AtomicLong();
+        private AtomicLong batchCount = new AtomicLong();
+        private AtomicLong commitCount = new AtomicLong();
+
+        /**
+         * Constructor
+         * @param options   the sink options
+         * @param totalRows the total number of rows to write
+         */
+        Progress(DbSinkOptions<?,?> options, long totalRows) {
+            this.tableName = options.getTableName();
+            this.listener = options.getProgressListener();
+            this.totalRows = totalRows;
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * Returns the time elapsed since the write started in millis
+         * @return  the elapsed time in millis
+         */
+        long elapsedMillis() {
+            return (System.nanoTime() - startNanos) / 1000000L;
+        }
+
+        /**
+         * Records that a batch of rows has been executed
+         * @param rows  the number of rows in the batch
+         */
+        void executed(int rows) {
+            var rowTotal = rowCount.addAndGet(rows);
+            var batchTotal = batchCount.incrementAndGet();
+            log.debug("Executed batch {} for {}, row count is {} of {}", batchTotal, tableName, rowTotal, totalRows);
+            if (listener != null) {
+                listener.accept(new DbSinkProgress(tableName, totalRows, rowTotal, batchTotal, commitCount.get(), elapsedMillis()));
+            }
+        }
+
+        /**
+         * Records that rows have been committed
+         * @param rows  the number of rows committed
+         */
+        void committed(int rows) {
+            commitCount.addAndGet(rows);
+        }
+    }
 }
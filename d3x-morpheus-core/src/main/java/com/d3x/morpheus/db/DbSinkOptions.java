@@ -23,7 +23,9 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -53,12 +55,23 @@ public class DbSinkOptions<R,C> {
     private Class<?> rowKeySqlClass;
     private Function1<R,?> rowKeyMapper;
     private Function<String,String> colKeyMapper;
+    /** The number of row partitions inserted concurrently, capped by the frame executor parallelism and needing one connection each */
+    private int parallelism;
+    /** The number of rows after which each partition commits its transaction, zero to commit once per partition */
+    private int commitSize;
+    /** True to bind many rows per INSERT statement on platforms that support multi-row VALUES clauses */
+    private boolean multiRowInsert;
+    /** The optional listener notified of progress after each batch is executed, possibly from several threads */
+    private Consumer<DbSinkProgress> progressListener;
 
     /**
      * Constructor
      */
     DbSinkOptions() {
         this.batchSize = 1000;
+        this.parallelism = 1;
+        this.commitSize = 0;
+        this.multiRowInsert = false;
         this.columnMappings = new ColumnMappings();
         this.columnNames = v -> v.toString()
             .toLowerCase()
@@ -98,6 +111,7 @@ public class DbSinkOptions<R,C> {
 
         private Map<Class<?>,Class<?>> sqlTypeMap = new HashMap<>();
         private Map<Class<?>,Function1<DataFrameValue<R,C>,?>> mapperMap = new HashMap<>();
+        private Set<Class<?>> customSet = new HashSet<>();
 
         /**
          * Constructor
@@ -116,6 +130,7 @@ public class DbSinkOptions<R,C> {
             this.add(LocalDate.class, java.sql.Date.class, Function1.toValue(v -> Date.valueOf(v.<LocalDate>getValue())));
             this.add(LocalDateTime.class, Timestamp.class, Function1.toValue(v -> Timestamp.valueOf(v.<LocalDateTime>getValue())));
             this.add(ZonedDateTime.class, Timestamp.class, Function1.toValue(v -> Timestamp.valueOf(v.<ZonedDateTime>getValue().toLocalDateTime())));
+            this.customSet.clear();
         }
 
         /**
@@ -151,6 +166,15 @@ public class DbSinkOptions<R,C> {
             }
         }
 
+        /**
+         * Returns true if the mapping for the data type has been replaced by a call to add()
+         * @param dataType      the DataFrame column type class
+         * @return              true if the data type has a user defined mapping
+         */
+        boolean isCustom(Class<?> dataType) {
+            return customSet.contains(dataType);
+        }
+
         /**
          * Adds a mapping between a DataFrame column type and the approprivate JDBC type
          * @param dataClass  the DataFrame column data type
@@ -165,6 +189,7 @@ public class DbSinkOptions<R,C> {
             Asserts.notNull(mapper, "The sql mapper function cannot be nul");
             this.sqlTypeMap.put(dataClass, sqlClass);
             this.mapperMap.put(dataClass, mapper);
+            this.customSet.add(dataClass);
         }
     }
 }
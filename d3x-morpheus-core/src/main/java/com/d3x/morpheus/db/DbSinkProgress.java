@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.db;
+
+/**
+ * A snapshot of the progress of a DbSink write, reported each time a batch of rows has been executed
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+@lombok.Value()
+public class DbSinkProgress {
+
+    /** The name of the table being written */
+    String tableName;
+    /** The total number of rows to write */
+    long totalRows;
+    /** The number of rows executed so far across all partitions */
+    long rowCount;
+    /** The number of batches executed so far across all partitions */
+    long batchCount;
+    /** The number of rows committed so far across all partitions */
+    long commitCount;
+    /** The time elapsed since the inserts started in milliseconds */
+    long elapsedMillis;
+
+    /**
+     * Returns the fraction of rows executed so far, between 0 and 1
+     * @return  the fraction of rows executed
+     */
+    public double getFraction() {
+        return totalRows > 0 ? (double)rowCount / totalRows : 1d;
+    }
+
+    /**
+     * Returns the average number of rows executed per second so far
+     * @return  the rows per second
+     */
+    public double getRowsPerSecond() {
+        return elapsedMillis > 0 ? rowCount * 1000d / elapsedMillis : Double.NaN;
+    }
+}
@@ -21,11 +21,17 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.d3x.morpheus.array.Array;
 import com.d3x.morpheus.array.ArrayBuilder;
@@ -90,47 +96,13 @@ public class DbSource {
      * @return              the newly created DataFrame
      * @throws DataFrameException if data frame construction from result set fails
      */
-    @SuppressWarnings("unchecked")
     public <R> DataFrame<R,String> apply(Consumer<Options> configurator) throws DataFrameException {
         try {
-            var platform = getPlatform(resultSet);
-            var metaData = resultSet.getMetaData();
             var options = new Options();
             configurator.accept(options);
-            var columns = getColumns(metaData, platform, options);
-            if (!resultSet.next()) {
-                var rowKeys = (Index<R>)Index.empty();
-                return createFrame(rowKeys, columns, options.getColKeyMapper());
-            } else {
-                var counter = 1;
-                var t1 = System.currentTimeMillis();
-                for (ColumnInfo column : columns) {
-                    column.apply(resultSet);
-                }
-                while (resultSet.next()) {
-                    for (ColumnInfo column : columns) {
-                        column.apply(resultSet);
-                    }
-                    if (++counter % options.getLogRowCount() == 0) {
-                        var time = System.currentTimeMillis() - t1;
-                        IO.println("Extracted " + counter + " rows in " + time + " millis");
-                    }
-                }
-                if (options.getRowIndexColumnName() == null) {
-                    var rowKeys = (Array<R>)Range.of(0, counter).toArray();
-                    return createFrame(rowKeys, columns, options.getColKeyMapper());
-                } else {
-                    var name = options.getRowIndexColumnName();
-                    var column = columns.stream().filter(v -> v.name.equalsIgnoreCase(name)).findFirst().orElse(null);
-                    if (column == null) {
-                        throw new IllegalArgumentException("No column matches row index column name: " + name);
-                    } else {
-                        var rowKeys = (Array<R>)column.array.toArray();
-                        var data = columns.stream().filter(v -> !v.name.equalsIgnoreCase(name)).collect(Collectors.toList());
-                        return createFrame(rowKeys, data, options.getColKeyMapper());
-                    }
-                }
-            }
+            var columns = prepare(options, options.getRowCapacity());
+            var rowCount = read(columns, Integer.MAX_VALUE, options);
+            return createFrame(columns, 0, rowCount, options);
         } catch (DataFrameException ex) {
             throw ex;
         } catch (Throwable t) {
@@ -141,6 +113,106 @@ public class DbSource {
     }
 
 
+    /**
+     * Returns a stream of DataFrames that each hold the next chunk of rows from the sql ResultSet
+     * <p>Only one chunk is held in memory at a time, so results larger than the heap can be processed in constant
+     * memory. Without a row index column, row keys are the ordinals of the rows within the entire ResultSet. The
+     * ResultSet is closed once the last chunk has been read, or when the stream is closed.</p>
+     * @param configurator  the options configurator, where chunkSize sets the max rows per DataFrame
+     * @return              the stream of DataFrame chunks, which is empty if the ResultSet has no rows
+     * @throws DataFrameException if the ResultSet cannot be prepared for extraction
+     */
+    public <R> Stream<DataFrame<R,String>> stream(Consumer<Options> configurator) throws DataFrameException {
+        try {
+            var options = new Options();
+            configurator.accept(options);
+            if (options.getChunkSize() < 1) {
+                throw new IllegalArgumentException("The chunk size must be positive: " + options.getChunkSize());
+            } else {
+                var columns = prepare(options, options.getChunkSize());
+                var iterator = new ChunkIterator<R>(columns, options);
+                var spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+                return StreamSupport.stream(spliterator, false).onClose(() -> close(resultSet));
+            }
+        } catch (Throwable t) {
+            close(resultSet);
+            throw new DataFrameException("Failed to initialize DataFrame stream from ResultSet: " + t.getMessage(), t);
+        }
+    }
+
+
+    /**
+     * Applies the fetch size hint and returns the columns to extract from the ResultSet
+     * @param options   the extraction options
+     * @param capacity  the initial row capacity for each column
+     * @return          the list of columns to extract
+     * @throws SQLException if there is a database access error
+     */
+    private List<ColumnInfo> prepare(Options options, int capacity) throws SQLException {
+        var platform = getPlatform(resultSet);
+        var metaData = resultSet.getMetaData();
+        if (options.getFetchSize() > 0) {
+            resultSet.setFetchSize(options.getFetchSize());
+        }
+        return getColumns(metaData, platform, options, capacity);
+    }
+
+
+    /**
+     * Reads up to the max number of rows from the ResultSet into the columns
+     * @param columns   the columns to extract
+     * @param maxRows   the max number of rows to read
+     * @param options   the extraction options
+     * @return          the number of rows read, which is less than max rows only if the ResultSet is exhausted
+     * @throws SQLException if there is a database access error
+     */
+    private int read(List<ColumnInfo> columns, int maxRows, Options options) throws SQLException {
+        var counter = 0;
+        var t1 = System.currentTimeMillis();
+        var columnArray = columns.toArray(new ColumnInfo[0]);
+        while (counter < maxRows && resultSet.next()) {
+            for (ColumnInfo column : columnArray) {
+                column.apply(resultSet);
+            }
+            if (++counter % options.getLogRowCount() == 0) {
+                var time = System.currentTimeMillis() - t1;
+                IO.println("Extracted " + counter + " rows in " + time + " millis");
+            }
+        }
+        return counter;
+    }
+
+
+    /**
+     * Returns a newly created DataFrame from the rows most recently read into the columns
+     * @param columns   the columns holding the rows
+     * @param offset    the ordinal of the first row within the ResultSet
+     * @param rowCount  the number of rows held by the columns
+     * @param options   the extraction options
+     * @return          the newly created DataFrame
+     */
+    @SuppressWarnings("unchecked")
+    private <R> DataFrame<R,String> createFrame(List<ColumnInfo> columns, int offset, int rowCount, Options options) {
+        if (rowCount == 0) {
+            var rowKeys = (Index<R>)Index.empty();
+            return createFrame(rowKeys, columns, options.getColKeyMapper());
+        } else if (options.getRowIndexColumnName() == null) {
+            var rowKeys = (Array<R>)Range.of(offset, offset + rowCount).toArray();
+            return createFrame(rowKeys, columns, options.getColKeyMapper());
+        } else {
+            var name = options.getRowIndexColumnName();
+            var column = columns.stream().filter(v -> v.name.equalsIgnoreCase(name)).findFirst().orElse(null);
+            if (column == null) {
+                throw new IllegalArgumentException("No column matches row index column name: " + name);
+            } else {
+                var rowKeys = (Array<R>)column.array.toArray();
+                var data = columns.stream().filter(v -> !v.name.equalsIgnoreCase(name)).collect(Collectors.toList());
+                return createFrame(rowKeys, data, options.getColKeyMapper());
+            }
+        }
+    }
+
+
     /**
      * Returns the database platform type from the ResultSet
      * @param resultSet the result set
@@ -181,11 +253,11 @@ public class DbSource {
      * @param metaData      the result set meta data
      * @param platform      the database platform
      * @param options       the request descriptor
+     * @param rowCapacity   the initial row capacity for each column
      * @return              the array of column information
      * @throws SQLException if there is a database access error
      */
-    private List<ColumnInfo> getColumns(ResultSetMetaData metaData, SQLPlatform platform, Options options) throws SQLException {
-        var rowCapacity = options.getRowCapacity();
+    private List<ColumnInfo> getColumns(ResultSetMetaData metaData, SQLPlatform platform, Options options, int rowCapacity) throws SQLException {
         var columnCount = metaData.getColumnCount();
         var columnInfoList = new ArrayList<ColumnInfo>(columnCount);
         var typeResolver = SQLType.getTypeResolver(platform);
@@ -231,6 +303,7 @@ public class DbSource {
         private ArrayType typeCode;
         private SQLExtractor extractor;
         private ArrayBuilder<?> array;
+        private Reader reader;
 
 
         /**
@@ -244,8 +317,24 @@ public class DbSource {
             this.name = name;
             this.type = extractor.getDataType();
             this.typeCode = ArrayType.of(type);
-            this.array = ArrayBuilder.of(capacity, type);
             this.extractor = extractor;
+            this.reset(capacity);
+        }
+
+        /**
+         * Replaces the array builder for this column with an empty one, and binds a reader specialized for the column type
+         * @param capacity  the initial capacity for column
+         */
+        final void reset(int capacity) {
+            var builder = ArrayBuilder.of(capacity, type);
+            this.array = builder;
+            switch (typeCode) {
+                case BOOLEAN:   this.reader = rs -> builder.appendBoolean(extractor.getBoolean(rs, index));    break;
+                case INTEGER:   this.reader = rs -> builder.appendInt(extractor.getInt(rs, index));            break;
+                case LONG:      this.reader = rs -> builder.appendLong(extractor.getLong(rs, index));          break;
+                case DOUBLE:    this.reader = rs -> builder.appendDouble(extractor.getDouble(rs, index));      break;
+                default:        this.reader = rs -> builder.append(extractor.getValue(rs, index));             break;
+            }
         }
 
         /**
@@ -254,13 +343,7 @@ public class DbSource {
          */
         final void apply(ResultSet rs) {
             try {
-                switch (typeCode) {
-                    case BOOLEAN:   array.appendBoolean(extractor.getBoolean(rs, index));  break;
-                    case INTEGER:   array.appendInt(extractor.getInt(rs, index));          break;
-                    case LONG:      array.appendLong(extractor.getLong(rs, index));        break;
-                    case DOUBLE:    array.appendDouble(extractor.getDouble(rs, index));    break;
-                    default:        array.append(extractor.getValue(rs, index));           break;
-                }
+                reader.read(rs);
             } catch (Exception ex) {
                 throw new RuntimeException("Failed to extract data for column " + name, ex);
             }
@@ -268,10 +351,87 @@ public class DbSource {
     }
 
 
+    /**
+     * A function that reads the value of a column at the current row of a ResultSet into an array builder
+     */
+    @FunctionalInterface
+    private interface Reader {
+
+        /**
+         * Reads the value at the current row of the ResultSet
+         * @param rs    the ResultSet reference
+         * @throws SQLException if there is a database access error
+         */
+        void read(ResultSet rs) throws SQLException;
+    }
+
+
+    /**
+     * An Iterator that reads the ResultSet in chunks, creating one DataFrame per chunk
+     */
+    private class ChunkIterator<R> implements Iterator<DataFrame<R,String>> {
+
+        private int offset;
+        private boolean done;
+        private Options options;
+        private List<ColumnInfo> columns;
+        private DataFrame<R,String> next;
+
+        /**
+         * Constructor
+         * @param columns   the columns to extract
+         * @param options   the extraction options
+         */
+        ChunkIterator(List<ColumnInfo> columns, Options options) {
+            this.columns = columns;
+            this.options = options;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    var chunkSize = options.getChunkSize();
+                    if (offset > 0) {
+                        columns.forEach(column -> column.reset(chunkSize));
+                    }
+                    var rowCount = read(columns, chunkSize, options);
+                    this.done = rowCount < chunkSize;
+                    this.next = rowCount > 0 ? createFrame(columns, offset, rowCount, options) : null;
+                    this.offset += rowCount;
+                } catch (Exception ex) {
+                    this.done = true;
+                    throw new DataFrameException("Failed to read chunk at row " + offset + " from ResultSet: " + ex.getMessage(), ex);
+                } finally {
+                    if (done) {
+                        close(resultSet);
+                    }
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public DataFrame<R,String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more chunks in ResultSet");
+            } else {
+                var result = next;
+                this.next = null;
+                return result;
+            }
+        }
+    }
+
+
     @lombok.Data()
     public static class Options {
         private int rowCapacity = 1000;
         private int logRowCount = Integer.MAX_VALUE;
+        /** The max number of rows per DataFrame when streaming chunks */
+        private int chunkSize = 100000;
+        /** The number of rows the driver should fetch per round trip, zero for the driver default */
+        private int fetchSize = 0;
         private String rowIndexColumnName;
         private Set<String> excludeColumnSet = new HashSet<>();
         private Function<String,String> colKeyMapper = v -> v;
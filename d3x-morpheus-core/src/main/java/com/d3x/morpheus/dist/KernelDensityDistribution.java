@@ -15,6 +15,7 @@
  */
 package com.d3x.morpheus.dist;
 
+import com.d3x.morpheus.root.BrentRootFinder;
 import com.d3x.morpheus.stats.StatSummary;
 import com.d3x.morpheus.util.DoubleInterval;
 import com.d3x.morpheus.vector.D3xVectorView;
@@ -73,6 +74,26 @@ public class KernelDensityDistribution extends AbstractRealDistribution {
     // generate random deviates...
     private final double sampleScale;
 
+    // Effective support of the kernel function in standardized units,
+    // used to restrict sums to the observations within reach of a point...
+    private final double kernelLower;
+    private final double kernelUpper;
+
+    // Grid used to bracket quantiles, computed on first use...
+    private volatile KernelDensityGrid quantileGrid;
+
+    /**
+     * Kernels with infinite support (the Gaussian) are truncated this
+     * many standard units from the center, where the omitted tail mass
+     * is below double precision.
+     */
+    private static final double TAIL_CUTOFF = 9.0;
+
+    /**
+     * The default number of grid points used for grid evaluation.
+     */
+    public static final int DEFAULT_GRID_SIZE = 1024;
+
     /**
      * The default kernel function.
      */
@@ -127,6 +148,10 @@ public class KernelDensityDistribution extends AbstractRealDistribution {
         this.invN = 1.0 / sample.length;
         this.invNH = invH * invN;
         this.sampleScale = this.bandwidth * kernelFunc.sdev();
+
+        var kernelSupport = kernelFunc.support();
+        this.kernelLower = Math.max(kernelSupport.getLower(), -TAIL_CUTOFF);
+        this.kernelUpper = Math.min(kernelSupport.getUpper(), TAIL_CUTOFF);
     }
 
     /**
@@ -137,19 +162,79 @@ public class KernelDensityDistribution extends AbstractRealDistribution {
         return D3xVectorView.of(sample);
     }
 
+    /**
+     * Evaluates the density and cumulative distribution on a regular grid
+     * spanning the support of this distribution using the default size.
+     *
+     * @return the density and distribution evaluated on the grid.
+     */
+    public KernelDensityGrid grid() {
+        return grid(DEFAULT_GRID_SIZE);
+    }
+
+    /**
+     * Evaluates the density and cumulative distribution on a regular grid
+     * spanning the support of this distribution.  The sample is linearly
+     * binned onto the grid and convolved with the kernel by FFT, so the
+     * cost is {@code O(n + m log m)} rather than {@code O(n m)} for point
+     * by point evaluation.
+     *
+     * @param size the number of grid points.
+     *
+     * @return the density and distribution evaluated on the grid.
+     *
+     * @throws RuntimeException unless the grid has two or more points.
+     */
+    public KernelDensityGrid grid(int size) {
+        return KernelDensityGrid.create(sample, kernelFunc, bandwidth, kernelLower, kernelUpper, size);
+    }
+
     @Override
     public double cdf(double x) {
-        return invN * sum(x, kernelFunc::cdf);
+        // Observations below the window contribute fully, those above not at all...
+        var lower = lowerBound(sample, x - kernelUpper * bandwidth);
+        var upper = upperBound(sample, x - kernelLower * bandwidth);
+        return invN * (lower + sum(x, lower, upper, kernelFunc::cdf));
     }
 
     @Override
     public double pdf(double x) {
-        return invNH * sum(x, kernelFunc::pdf);
+        var lower = lowerBound(sample, x - kernelUpper * bandwidth);
+        var upper = upperBound(sample, x - kernelLower * bandwidth);
+        return invNH * sum(x, lower, upper, kernelFunc::pdf);
     }
 
     @Override
     public double quantile(double F) {
-        return invertCDF(F);
+        validateQuantile(F);
+        var lower = sample[0] - kernelUpper * bandwidth;
+        var upper = sample[sample.length - 1] - kernelLower * bandwidth;
+
+        if (F <= 0.0) {
+            return lower;
+        }
+        else if (F >= 1.0) {
+            return upper;
+        }
+
+        // Bracket the root between adjacent grid points, then widen the
+        // bracket if the binning error has moved the exact CDF outside...
+        var grid = quantileGrid();
+        var index = grid.search(F);
+        var step = grid.getStep();
+        var x0 = grid.getX().get(Math.max(index - 1, 0));
+        var x1 = grid.getX().get(index);
+
+        while (x0 > lower && cdf(x0) > F)
+            x0 = Math.max(x0 - step, lower);
+
+        while (x1 < upper && cdf(x1) < F)
+            x1 = Math.min(x1 + step, upper);
+
+        var tol = 1.0E-06 * sdev();
+        var finder = new BrentRootFinder(tol);
+        var interval = DoubleInterval.closed(x0, x1);
+        return finder.solve(x -> cdf(x) - F, interval, 0.5 * (x0 + x1));
     }
 
     @Override
@@ -215,7 +300,73 @@ public class KernelDensityDistribution extends AbstractRealDistribution {
         }
     }
 
-    private double sum(double x, DoubleUnaryOperator operator) {
-        return Arrays.stream(sample).parallel().map(xi -> invH * (x - xi)).map(operator).sum();
+    private KernelDensityGrid quantileGrid() {
+        var grid = quantileGrid;
+
+        if (grid == null) {
+            grid = grid(DEFAULT_GRID_SIZE);
+            quantileGrid = grid;
+        }
+
+        return grid;
+    }
+
+    private double sum(double x, int lower, int upper, DoubleUnaryOperator operator) {
+        var total = 0.0;
+
+        for (int index = lower; index < upper; ++index)
+            total += operator.applyAsDouble(invH * (x - sample[index]));
+
+        return total;
+    }
+
+    /**
+     * Returns the index of the first element not less than a key.
+     *
+     * @param sorted a sorted array.
+     * @param key    the search key.
+     *
+     * @return the index of the first element {@code >= key}, or the
+     * array length if there is no such element.
+     */
+    static int lowerBound(double[] sorted, double key) {
+        var lower = 0;
+        var upper = sorted.length;
+
+        while (lower < upper) {
+            var middle = (lower + upper) >>> 1;
+
+            if (sorted[middle] < key)
+                lower = middle + 1;
+            else
+                upper = middle;
+        }
+
+        return lower;
+    }
+
+    /**
+     * Returns the index of the first element greater than a key.
+     *
+     * @param sorted a sorted array.
+     * @param key    the search key.
+     *
+     * @return the index of the first element {@code > key}, or the
+     * array length if there is no such element.
+     */
+    static int upperBound(double[] sorted, double key) {
+        var lower = 0;
+        var upper = sorted.length;
+
+        while (lower < upper) {
+            var middle = (lower + upper) >>> 1;
+
+            if (sorted[middle] <= key)
+                lower = middle + 1;
+            else
+                upper = middle;
+        }
+
+        return lower;
     }
 }
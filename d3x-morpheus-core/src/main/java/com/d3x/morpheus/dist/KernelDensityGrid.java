@@ -0,0 +1,250 @@
+/*
+ * Copyright 2018-2023, Talos Trading - All Rights Reserved
+ *
+ * Licensed under a proprietary end-user agreement issued by D3X Systems.
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.d3xsystems.com/static/eula/quanthub-eula.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.dist;
+
+import com.d3x.morpheus.vector.D3xVectorView;
+
+import lombok.Getter;
+
+import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.transform.DftNormalization;
+import org.apache.commons.math3.transform.FastFourierTransformer;
+import org.apache.commons.math3.transform.TransformType;
+
+import java.util.Arrays;
+
+/**
+ * Holds the density and cumulative distribution of a kernel density
+ * estimate evaluated on a regular grid.
+ *
+ * <p>The grid is computed by linearly binning the sample onto the grid
+ * points and convolving the bin weights with the kernel by FFT, following
+ * Wand (1994), "Fast Computation of Multivariate Kernel Estimators".</p>
+ */
+public final class KernelDensityGrid {
+    private final double[] x;
+    private final double[] pdf;
+    private final double[] cdf;
+
+    /**
+     * The spacing between adjacent grid points.
+     */
+    @Getter
+    private final double step;
+
+    private KernelDensityGrid(double[] x, double[] pdf, double[] cdf, double step) {
+        this.x = x;
+        this.pdf = pdf;
+        this.cdf = cdf;
+        this.step = step;
+    }
+
+    /**
+     * Evaluates a kernel density estimate on a regular grid.
+     *
+     * @param sample      the sorted data sample.
+     * @param kernel      the kernel distribution function.
+     * @param bandwidth   the smoothing bandwidth.
+     * @param kernelLower the lower bound of the effective kernel support.
+     * @param kernelUpper the upper bound of the effective kernel support.
+     * @param size        the number of grid points.
+     *
+     * @return the density estimate evaluated on the grid.
+     *
+     * @throws RuntimeException unless the grid has two or more points.
+     */
+    static KernelDensityGrid create(double[] sample,
+                                    RealDistribution kernel,
+                                    double bandwidth,
+                                    double kernelLower,
+                                    double kernelUpper,
+                                    int size) {
+        if (size < 2)
+            throw new IllegalArgumentException("At least two grid points are required.");
+
+        var lower = sample[0] - kernelUpper * bandwidth;
+        var upper = sample[sample.length - 1] - kernelLower * bandwidth;
+        var step = (upper - lower) / (size - 1);
+
+        var x = new double[size];
+        for (int j = 0; j < size; ++j)
+            x[j] = lower + j * step;
+
+        // Linear binning: split each observation between its two
+        // neighbouring grid points in proportion to its proximity...
+        var counts = new double[size];
+        for (double xi : sample) {
+            var t = (xi - lower) / step;
+            var j = Math.min((int) t, size - 2);
+            var frac = t - j;
+            counts[j] += 1.0 - frac;
+            counts[j + 1] += frac;
+        }
+
+        // The number of grid steps spanned by the kernel on either side...
+        var reach = Math.max(kernelUpper, -kernelLower) * bandwidth;
+        var width = (int) Math.min(Math.ceil(reach / step), size - 1);
+
+        // Pad to a power of two long enough that the circular convolution
+        // does not wrap the kernel tails onto the grid...
+        var length = Integer.highestOneBit(size + width - 1) << 1;
+        var pdfWeights = new double[length];
+        var cdfWeights = new double[length];
+
+        for (int l = -width; l <= width; ++l) {
+            var u = l * step / bandwidth;
+            var k = Math.floorMod(l, length);
+            pdfWeights[k] = kernel.pdf(u) / bandwidth;
+            cdfWeights[k] = kernel.cdf(u);
+        }
+
+        var transformer = new FastFourierTransformer(DftNormalization.STANDARD);
+        var countsFT = transformer.transform(Arrays.copyOf(counts, length), TransformType.FORWARD);
+        var pdfConv = convolve(transformer, countsFT, pdfWeights);
+        var cdfConv = convolve(transformer, countsFT, cdfWeights);
+
+        // Observations more than the kernel width below a grid point are
+        // outside the truncated kernel but contribute their full mass...
+        var invN = 1.0 / sample.length;
+        var pdf = new double[size];
+        var cdf = new double[size];
+        var below = 0.0;
+
+        for (int j = 0; j < size; ++j) {
+            if (j > width)
+                below += counts[j - width - 1];
+
+            pdf[j] = Math.max(0.0, invN * pdfConv[j]);
+            cdf[j] = Math.min(1.0, Math.max(j > 0 ? cdf[j - 1] : 0.0, invN * (below + cdfConv[j])));
+        }
+
+        return new KernelDensityGrid(x, pdf, cdf, step);
+    }
+
+    private static double[] convolve(FastFourierTransformer transformer, Complex[] signalFT, double[] weights) {
+        var weightsFT = transformer.transform(weights, TransformType.FORWARD);
+
+        for (int k = 0; k < weightsFT.length; ++k)
+            weightsFT[k] = weightsFT[k].multiply(signalFT[k]);
+
+        var inverse = transformer.transform(weightsFT, TransformType.INVERSE);
+        var result = new double[inverse.length];
+
+        for (int k = 0; k < result.length; ++k)
+            result[k] = inverse[k].getReal();
+
+        return result;
+    }
+
+    /**
+     * Returns the number of grid points.
+     * @return the number of grid points.
+     */
+    public int size() {
+        return x.length;
+    }
+
+    /**
+     * Returns a view of the grid points.
+     * @return a view of the grid points.
+     */
+    public D3xVectorView getX() {
+        return D3xVectorView.of(x);
+    }
+
+    /**
+     * Returns a view of the probability density at the grid points.
+     * @return a view of the probability density at the grid points.
+     */
+    public D3xVectorView getPDF() {
+        return D3xVectorView.of(pdf);
+    }
+
+    /**
+     * Returns a view of the cumulative distribution at the grid points.
+     * @return a view of the cumulative distribution at the grid points.
+     */
+    public D3xVectorView getCDF() {
+        return D3xVectorView.of(cdf);
+    }
+
+    /**
+     * Interpolates the cumulative distribution between grid points.
+     *
+     * @param value the point at which to evaluate the distribution.
+     *
+     * @return the linearly interpolated cumulative distribution.
+     */
+    public double cdf(double value) {
+        if (value < x[0]) {
+            return 0.0;
+        }
+        else if (value > x[x.length - 1]) {
+            return 1.0;
+        }
+        else {
+            return interpolate(cdf, value);
+        }
+    }
+
+    /**
+     * Interpolates the probability density between grid points.
+     *
+     * @param value the point at which to evaluate the density.
+     *
+     * @return the linearly interpolated probability density.
+     */
+    public double pdf(double value) {
+        if (value < x[0] || value > x[x.length - 1]) {
+            return 0.0;
+        }
+        else {
+            return interpolate(pdf, value);
+        }
+    }
+
+    /**
+     * Returns the index of the first grid point where the cumulative
+     * distribution reaches a given probability.
+     *
+     * @param F the cumulative probability.
+     *
+     * @return the index of the first grid point with {@code cdf >= F},
+     * or the last index if there is no such point.
+     */
+    int search(double F) {
+        var lower = 0;
+        var upper = cdf.length - 1;
+
+        while (lower < upper) {
+            var middle = (lower + upper) >>> 1;
+
+            if (cdf[middle] < F)
+                lower = middle + 1;
+            else
+                upper = middle;
+        }
+
+        return lower;
+    }
+
+    private double interpolate(double[] values, double value) {
+        var t = (value - x[0]) / step;
+        var j = Math.min((int) t, x.length - 2);
+        var frac = t - j;
+        return (1.0 - frac) * values[j] + frac * values[j + 1];
+    }
+}
@@ -16,6 +16,8 @@
 package com.d3x.morpheus.filter;
 
 import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 import com.d3x.morpheus.frame.DataFrame;
 import com.d3x.morpheus.util.DoubleComparator;
@@ -31,12 +33,40 @@ import com.d3x.morpheus.vector.D3xVectorView;
  */
 public abstract class AbstractFilter implements TimeSeriesFilter {
     private final LazyValue<Boolean> normalized = LazyValue.of(this::resolveNormalized);
+    private final LazyValue<Double> allMissing = LazyValue.of(this::resolveAllMissing);
 
     private boolean resolveNormalized() {
         var coeffSum = getCoefficients().sum();
         return DoubleComparator.DEFAULT.equals(coeffSum, 1.0);
     }
 
+    private double resolveAllMissing() {
+        // Accumulate the excluded weight in lag order, exactly as apply()
+        // does for a window in which every observation is missing...
+        var excluded = 0.0;
+
+        for (int lag = 0; lag < getWindowLength(); ++lag)
+            excluded += getCoefficient(lag);
+
+        return 0.0 / (1.0 - excluded);
+    }
+
+    /**
+     * Identifies series that contain infinite values, which the recursive
+     * and FFT algorithms cannot remove from a running sum once added.
+     *
+     * @param series the series to examine.
+     *
+     * @return {@code true} iff the series contains an infinite value.
+     */
+    static boolean hasInfinite(double[] series) {
+        for (double value : series)
+            if (Double.isInfinite(value))
+                return true;
+
+        return false;
+    }
+
     /**
      * Ensures that a filter coefficient is valid.
      *
@@ -155,6 +185,67 @@ public abstract class AbstractFilter implements TimeSeriesFilter {
         return result;
     }
 
+    /**
+     * Applies this filter to every complete window in an original time
+     * series: on return, {@code filtered[k]} is equal to the result of
+     * {@code apply(original, k + W - 1)}, where {@code W} is the window
+     * length of this filter.
+     *
+     * <p>This implementation evaluates each window directly in O(W) time.
+     * Subclasses with structured coefficients override this method with
+     * algorithms that require less work per window.</p>
+     *
+     * @param original the original time series (unchanged).
+     * @param filtered the array to hold the filtered values, with length
+     *                 {@code original.length - W + 1}.
+     */
+    protected void applyWindows(double[] original, double[] filtered) {
+        var coeffs = getCoefficients().toArray();
+        var renormalize = renormalize();
+
+        for (int k = 0; k < filtered.length; ++k) {
+            var last = k + coeffs.length - 1;
+            var result = 0.0;
+            var excluded = 0.0;
+
+            for (int lag = 0; lag < coeffs.length; ++lag) {
+                var value = original[last - lag];
+
+                if (renormalize && Double.isNaN(value))
+                    excluded += coeffs[lag];
+                else
+                    result += coeffs[lag] * value;
+            }
+
+            if (renormalize)
+                result /= (1.0 - excluded);
+
+            filtered[k] = result;
+        }
+    }
+
+    /**
+     * Computes a filtered value from the weighted sum of the observed
+     * values in a window and the total weight of the missing values,
+     * following the same renormalization rules as {@code apply()}.
+     *
+     * @param sum      the weighted sum of the observed values.
+     * @param excluded the sum of the coefficients of the missing values.
+     * @param missing  the number of missing values in the window.
+     *
+     * @return the filtered value for the window.
+     */
+    protected double combine(double sum, double excluded, int missing) {
+        if (missing == 0)
+            return sum;
+        else if (!renormalize())
+            return Double.NaN;
+        else if (missing == getWindowLength())
+            return allMissing.get();
+        else
+            return sum / (1.0 - excluded);
+    }
+
     @Override
     public D3xVector apply(D3xVectorView original, boolean truncate) {
         validateOriginal(original);
@@ -188,12 +279,12 @@ public abstract class AbstractFilter implements TimeSeriesFilter {
             }
         }
 
-        var originalIndex = windowLength - 1;
-        var originalLength = original.length();
+        var values = original.toArray();
+        var windows = new double[Math.max(0, values.length - windowLength + 1)];
+        applyWindows(values, windows);
 
-        while (originalIndex < originalLength) {
-            filtered.set(filteredIndex, apply(original, originalIndex));
-            ++originalIndex;
+        for (double value : windows) {
+            filtered.set(filteredIndex, value);
             ++filteredIndex;
         }
     }
@@ -211,12 +302,20 @@ public abstract class AbstractFilter implements TimeSeriesFilter {
         var rowKeys = original.listRowKeys();
         var colKeys = getFilteredKeys(original.listColumnKeys(), truncate);
         var filtered = DataFrame.ofDoubles(rowKeys, colKeys);
+        var rowCount = original.rowCount();
 
-        for (int rowIndex = 0; rowIndex < original.rowCount(); ++rowIndex) {
+        // Each row writes to a disjoint set of cells in the filtered frame,
+        // so the rows may be filtered concurrently...
+        IntConsumer filterRow = rowIndex -> {
             var originalRow = D3xVector.wrap(original.rowAt(rowIndex));
             var filteredRow = D3xVector.wrap(filtered.rowAt(rowIndex));
             applyInPlace(originalRow, filteredRow, truncate);
-        }
+        };
+
+        if (rowCount > 1)
+            original.executor().run(() -> IntStream.range(0, rowCount).parallel().forEach(filterRow));
+        else
+            IntStream.range(0, rowCount).forEach(filterRow);
 
         return filtered;
     }
@@ -15,6 +15,7 @@
  */
 package com.d3x.morpheus.filter;
 
+import com.d3x.morpheus.util.LazyValue;
 import com.d3x.morpheus.vector.D3xVectorView;
 
 import lombok.NonNull;
@@ -23,10 +24,14 @@ import lombok.NonNull;
  * Implements a linear time-series filter with arbitrary coefficients
  * provided by the user.
  *
+ * <p>Filters with long windows are applied by FFT overlap-add convolution
+ * rather than by evaluating each window directly.</p>
+ *
  * @author Scott Shaffer
  */
 public class CustomFilter extends AbstractFilter {
     private final D3xVectorView coefficients;
+    private final LazyValue<OverlapAddConvolver> convolver = LazyValue.of(this::createConvolver);
 
     /**
      * The time-series name for string encoding.
@@ -45,6 +50,48 @@ public class CustomFilter extends AbstractFilter {
         validateCoefficients(coefficients);
     }
 
+    private OverlapAddConvolver createConvolver() {
+        return new OverlapAddConvolver(coefficients.toArray());
+    }
+
+    @Override
+    protected void applyWindows(double[] original, double[] filtered) {
+        if (getWindowLength() < OverlapAddConvolver.MIN_WINDOW || hasInfinite(original))
+            super.applyWindows(original, filtered);
+        else
+            applyFFT(original, filtered);
+    }
+
+    private void applyFFT(double[] original, double[] filtered) {
+        // Convolve the observed values (with zeros in place of missing values)
+        // and, when renormalizing, the indicators of the missing values to
+        // obtain the excluded weight; prefix counts give the number of missing
+        // values in each window...
+        var window = getWindowLength();
+        var observed = new double[original.length];
+        var indicators = new double[original.length];
+        var counts = new int[original.length + 1];
+
+        for (int index = 0; index < original.length; ++index) {
+            if (Double.isNaN(original[index])) {
+                indicators[index] = 1.0;
+                counts[index + 1] = counts[index] + 1;
+            }
+            else {
+                observed[index] = original[index];
+                counts[index + 1] = counts[index];
+            }
+        }
+
+        var sums = convolver.get().convolve(observed);
+        var excluded = counts[original.length] > 0 && renormalize() ? convolver.get().convolve(indicators) : null;
+
+        for (int k = 0; k < filtered.length; ++k) {
+            var missing = counts[k + window] - counts[k];
+            filtered[k] = combine(sums[k], excluded != null ? excluded[k] : 0.0, missing);
+        }
+    }
+
     @Override
     public String encodeArgs() {
         StringBuilder builder = new StringBuilder();
@@ -85,6 +85,26 @@ public class DifferenceFilter extends CustomFilter {
         }
     }
 
+    @Override
+    protected void applyWindows(double[] original, double[] filtered) {
+        // Same arithmetic, in the same order, as the direct convolution;
+        // missing values propagate since the filter is not normalized...
+        switch (order) {
+            case 1:
+                for (int k = 0; k < filtered.length; ++k)
+                    filtered[k] = original[k + 1] - original[k];
+                break;
+
+            case 2:
+                for (int k = 0; k < filtered.length; ++k)
+                    filtered[k] = original[k + 2] - 2.0 * original[k + 1] + original[k];
+                break;
+
+            default:
+                super.applyWindows(original, filtered);
+        }
+    }
+
     @Override
     public String encodeArgs() {
         return Integer.toString(order);
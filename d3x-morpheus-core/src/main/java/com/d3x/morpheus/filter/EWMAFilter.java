@@ -95,6 +95,74 @@ public class EWMAFilter extends CustomFilter {
             throw new MorpheusException("Half-life must be positive.");
     }
 
+    @Override
+    protected void applyWindows(double[] original, double[] filtered) {
+        if (hasInfinite(original)) {
+            super.applyWindows(original, filtered);
+            return;
+        }
+
+        // The coefficients decay geometrically, so the weighted sum for one
+        // window follows from the previous window by decaying every weight,
+        // adding the newest observation and dropping the oldest.  The sums
+        // are recomputed once per window length to bound rounding errors...
+        var coeffs = getCoefficients().toArray();
+        var window = coeffs.length;
+        var decay = Math.exp(LOG_ONE_HALF / halfLife);
+        var drop = decay * coeffs[window - 1];
+
+        var sum = 0.0;
+        var excluded = 0.0;
+        var missing = 0;
+
+        for (int k = 0; k < filtered.length; ++k) {
+            var last = k + window - 1;
+
+            if (k % window == 0) {
+                sum = 0.0;
+                excluded = 0.0;
+                missing = 0;
+
+                for (int lag = 0; lag < window; ++lag) {
+                    var value = original[last - lag];
+
+                    if (Double.isNaN(value)) {
+                        excluded += coeffs[lag];
+                        ++missing;
+                    }
+                    else {
+                        sum += coeffs[lag] * value;
+                    }
+                }
+            }
+            else {
+                var added = original[last];
+                var removed = original[k - 1];
+
+                sum *= decay;
+                excluded *= decay;
+
+                if (Double.isNaN(added)) {
+                    excluded += coeffs[0];
+                    ++missing;
+                }
+                else {
+                    sum += coeffs[0] * added;
+                }
+
+                if (Double.isNaN(removed)) {
+                    excluded -= drop;
+                    --missing;
+                }
+                else {
+                    sum -= drop * removed;
+                }
+            }
+
+            filtered[k] = combine(sum, excluded, missing);
+        }
+    }
+
     @Override
     public String encodeArgs() {
         return String.format("%s%c %s", halfLife, FilterParser.ARG_DELIM, getWindowLength());
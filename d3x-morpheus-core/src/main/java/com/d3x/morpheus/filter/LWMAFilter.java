@@ -64,6 +64,75 @@ public class LWMAFilter extends CustomFilter {
         return 1.0 - DoubleUtil.ratio(lag, window);
     }
 
+    @Override
+    protected void applyWindows(double[] original, double[] filtered) {
+        if (hasInfinite(original)) {
+            super.applyWindows(original, filtered);
+            return;
+        }
+
+        // The coefficients decline linearly by a constant step, so sliding
+        // the window forward raises the weighted sum by the newest value at
+        // full weight and lowers it by one step times the plain sum of the
+        // previous window.  The sums are recomputed once per window length
+        // to bound rounding errors...
+        var coeffs = getCoefficients().toArray();
+        var window = coeffs.length;
+        var step = coeffs[window - 1];
+
+        var sum = 0.0;
+        var plainSum = 0.0;
+        var excluded = 0.0;
+        var missing = 0;
+
+        for (int k = 0; k < filtered.length; ++k) {
+            var last = k + window - 1;
+
+            if (k % window == 0) {
+                sum = 0.0;
+                plainSum = 0.0;
+                excluded = 0.0;
+                missing = 0;
+
+                for (int lag = 0; lag < window; ++lag) {
+                    var value = original[last - lag];
+
+                    if (Double.isNaN(value)) {
+                        excluded += coeffs[lag];
+                        ++missing;
+                    }
+                    else {
+                        sum += coeffs[lag] * value;
+                        plainSum += value;
+                    }
+                }
+            }
+            else {
+                var added = original[last];
+                var removed = original[k - 1];
+
+                sum -= step * plainSum;
+                excluded -= step * missing;
+
+                if (Double.isNaN(added)) {
+                    excluded += coeffs[0];
+                    ++missing;
+                }
+                else {
+                    sum += coeffs[0] * added;
+                    plainSum += added;
+                }
+
+                if (Double.isNaN(removed))
+                    --missing;
+                else
+                    plainSum -= removed;
+            }
+
+            filtered[k] = combine(sum, excluded, missing);
+        }
+    }
+
     @Override
     public String encodeArgs() {
         return Integer.toString(getWindowLength());
@@ -53,6 +53,52 @@ public final class MovingAverageFilter extends AbstractFilter {
         return coeff;
     }
 
+    @Override
+    protected void applyWindows(double[] original, double[] filtered) {
+        if (hasInfinite(original)) {
+            super.applyWindows(original, filtered);
+            return;
+        }
+
+        // Slide the sum of the observed values and the count of the missing
+        // values through the series, recomputing both once per window length
+        // so that rounding errors in the running sum cannot accumulate...
+        var sum = 0.0;
+        var missing = 0;
+
+        for (int k = 0; k < filtered.length; ++k) {
+            var last = k + window - 1;
+
+            if (k % window == 0) {
+                sum = 0.0;
+                missing = 0;
+
+                for (int index = k; index <= last; ++index) {
+                    if (Double.isNaN(original[index]))
+                        ++missing;
+                    else
+                        sum += original[index];
+                }
+            }
+            else {
+                var added = original[last];
+                var removed = original[k - 1];
+
+                if (Double.isNaN(added))
+                    ++missing;
+                else
+                    sum += added;
+
+                if (Double.isNaN(removed))
+                    --missing;
+                else
+                    sum -= removed;
+            }
+
+            filtered[k] = combine(coeff * sum, coeff * missing, missing);
+        }
+    }
+
     @Override
     public String getName() {
         return NAME;
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.filter;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.transform.DftNormalization;
+import org.apache.commons.math3.transform.FastFourierTransformer;
+import org.apache.commons.math3.transform.TransformType;
+
+/**
+ * Convolves time series with a fixed set of filter coefficients by the
+ * FFT overlap-add method: the series is cut into blocks, each block is
+ * convolved with the coefficients by FFT, and the overlapping tails of
+ * the block results are summed.  The cost per observation grows with
+ * {@code log(W)} rather than with the window length {@code W}.
+ *
+ * <p>Instances are immutable and may be shared across threads.</p>
+ *
+ * @author Scott Shaffer
+ */
+final class OverlapAddConvolver {
+    private final int window;
+    private final int fftLength;
+    private final int blockLength;
+    private final double[] coeffsRe;
+    private final double[] coeffsIm;
+
+    /**
+     * The shortest window for which the FFT is faster than evaluating
+     * each window directly.
+     */
+    static final int MIN_WINDOW = 128;
+
+    /**
+     * Creates a convolver for a set of filter coefficients.
+     *
+     * @param coeffs the filter coefficients ordered by time lag.
+     */
+    OverlapAddConvolver(double[] coeffs) {
+        this.window = coeffs.length;
+        this.fftLength = Integer.highestOneBit(window) << 2;
+        this.blockLength = fftLength - window + 1;
+
+        var transform = new double[][] { Arrays.copyOf(coeffs, fftLength), new double[fftLength] };
+        FastFourierTransformer.transformInPlace(transform, DftNormalization.STANDARD, TransformType.FORWARD);
+
+        this.coeffsRe = transform[0];
+        this.coeffsIm = transform[1];
+    }
+
+    /**
+     * Convolves a series with the filter coefficients.
+     *
+     * @param series the series to convolve (unchanged); it must not
+     *               contain missing or infinite values.
+     *
+     * @return an array whose element {@code k} holds the weighted sum
+     * of the window ending at {@code series[k + W - 1]}.
+     */
+    double[] convolve(double[] series) {
+        var length = series.length;
+        var result = new double[Math.max(0, length - window + 1)];
+        var block = new double[2][fftLength];
+
+        for (int start = 0; start < length; start += blockLength) {
+            var blockEnd = Math.min(length, start + blockLength);
+
+            Arrays.fill(block[0], 0.0);
+            Arrays.fill(block[1], 0.0);
+            System.arraycopy(series, start, block[0], 0, blockEnd - start);
+
+            FastFourierTransformer.transformInPlace(block, DftNormalization.STANDARD, TransformType.FORWARD);
+
+            for (int j = 0; j < fftLength; ++j) {
+                var re = block[0][j] * coeffsRe[j] - block[1][j] * coeffsIm[j];
+                var im = block[0][j] * coeffsIm[j] + block[1][j] * coeffsRe[j];
+                block[0][j] = re;
+                block[1][j] = im;
+            }
+
+            FastFourierTransformer.transformInPlace(block, DftNormalization.STANDARD, TransformType.INVERSE);
+
+            // Element t of the block result is the contribution of this block
+            // to the window ending at series[start + t]; the linear result
+            // has (blockEnd - start + W - 1) elements, which never wrap...
+            var resultLength = blockEnd - start + window - 1;
+
+            for (int t = 0; t < resultLength; ++t) {
+                var k = start + t - window + 1;
+
+                if (k < 0)
+                    continue;
+                else if (k >= result.length)
+                    break;
+
+                result[k] += block[0][t];
+            }
+        }
+
+        return result;
+    }
+}
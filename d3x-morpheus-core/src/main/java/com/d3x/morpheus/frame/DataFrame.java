@@ -20,6 +20,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.io.PrintStream;
 import java.net.URL;
+import java.time.temporal.TemporalAmount;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Consumer;
@@ -40,6 +41,7 @@ import com.d3x.morpheus.matrix.D3xMatrix;
 import com.d3x.morpheus.matrix.D3xMatrixView;
 import com.d3x.morpheus.range.Range;
 import com.d3x.morpheus.stats.Stats;
+import com.d3x.morpheus.util.ExecutorContext;
 import com.d3x.morpheus.util.Resource;
 import com.d3x.morpheus.util.functions.ToBooleanFunction;
 import com.d3x.morpheus.vector.D3xVector;
@@ -66,12 +68,25 @@ public interface DataFrame<R,C> extends DataFrameAccess<R,C>, DataFrameOperation
      */
     DataFrame<R,C> parallel();
 
+    /**
+     * Returns a parallel implementation of the DataFrame that executes its parallel operations in the context specified
+     * @param context   the execution context for parallel operations
+     * @return          a parallel implementation of the DataFrame bound to the context
+     */
+    DataFrame<R,C> parallel(ExecutorContext context);
+
     /**
      * Returns a sequential implementation of the DataFrame
      * @return  a sequential implementation of the DataFrame
      */
     DataFrame<R,C> sequential();
 
+    /**
+     * Returns the execution context for parallel operations on this frame
+     * @return  the context bound to this frame, otherwise the global default context
+     */
+    ExecutorContext executor();
+
     /**
      * Returns a deep copy of this <code>DataFrame</code>
      * @return  deep copy of this <code>DataFrame</code>
@@ -261,6 +276,20 @@ public interface DataFrame<R,C> extends DataFrameAccess<R,C>, DataFrameOperation
      */
     DataFrameRegression<R,C> regress();
 
+    /**
+     * Returns an interface to join this frame with another on column values or row keys, this being the left frame
+     * @param right     the right frame of the join
+     * @return          the join interface
+     */
+    DataFrameJoin<R,C> join(DataFrame<?,C> right);
+
+    /**
+     * Returns an interface to resample this frame, keyed by sorted temporal row keys, into buckets of a fixed period
+     * @param period    the bucket period, a Duration, or a Period of days, months or years
+     * @return          the resample interface
+     */
+    DataFrameResample<R,C> resample(TemporalAmount period);
+
     /**
      * Adds all rows & columns from the argument that do not exist in this frame, and applies data for added coordinates
      * @param other     the other frame from which to add rows, columns & data that do not exist in this frame
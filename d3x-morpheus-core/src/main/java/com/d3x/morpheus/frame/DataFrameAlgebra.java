@@ -41,6 +41,14 @@ public interface DataFrameAlgebra<R,C> {
         }
     };
 
+    /**
+     * The element count at or above which a frame is considered large, in which case dot products, and the
+     * inverse, solve and decompositions of the JAMA library, use cache-blocked algorithms. Dot products are split
+     * across the ExecutorContext of a parallel frame, and the JAMA routines across the default ExecutorContext.
+     * A null value disables the blocked algorithms.
+     */
+    ThreadLocal<Integer> BLOCKED_THRESHOLD = ThreadLocal.withInitial(() -> 256 * 256);
+
     /**
      * Returns a reference to the DataFrame decomposition engine
      * @return      the DataFrame decomposition engine
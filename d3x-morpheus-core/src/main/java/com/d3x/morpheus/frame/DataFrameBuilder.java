@@ -15,9 +15,14 @@
  */
 package com.d3x.morpheus.frame;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
@@ -27,14 +32,20 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 
+import com.d3x.morpheus.array.Array;
 import com.d3x.morpheus.array.ArrayBuilder;
 import com.d3x.morpheus.array.ArrayType;
 import com.d3x.morpheus.index.Index;
 import com.d3x.morpheus.index.IndexException;
+import com.d3x.morpheus.util.ExecutorContext;
 
 /**
  * A builder class to iteratively construct a DataFrame
  *
+ * <p>A builder can be shared across threads in one of two ways. A thread safe builder serializes every call on
+ * a single lock, while a concurrent builder gives each producer thread its own segment with a local row key map
+ * and column arrays, so producers never contend, and merges the segments when the frame is built.</p>
+ *
  * @param <R>   the row key type
  * @param <C>   the column key type
  *
@@ -61,9 +72,30 @@ public class DataFrameBuilder<R,C> {
     private Function<C,Object> defaultValue = c -> null;
 
     private Lock lock;
+    private Duplicates duplicates;
+    private volatile List<DataFrameBuilder<R,C>> segments;
+    private ThreadLocal<DataFrameBuilder<R,C>> segment;
+    private volatile boolean built;
     private Index<R> rowKeys;
     private int rowCapacity = DEFAULT_ROW_CAPACITY;
     private Map<C,ArrayBuilder<?>> arrayMap;
+    private Map<C,BitSet> writtenMap;
+
+
+    /**
+     * The resolution of a value written to the same row and column by more than one producer of a concurrent builder
+     */
+    public enum Duplicates {
+
+        /** Keep the value from the segment created first */
+        FIRST,
+
+        /** Keep the value from the segment created last */
+        LAST,
+
+        /** Add numeric values with plus semantics, keeping the last value for other types */
+        SUM
+    }
 
 
     /**
@@ -92,9 +124,14 @@ public class DataFrameBuilder<R,C> {
 
     /**
      * Returns a newly created frame from the contents of this builder
+     * <p>A concurrent builder can only be built once, as its segments are released once merged</p>
      * @return      the newly created DataFrame
+     * @throws IllegalStateException    if this is a concurrent builder that has already been built
      */
     public DataFrame<R,C> build() {
+        if (segments != null) {
+            return release(merge()).build();
+        }
         this.capacity(100, 10);
         return DataFrame.of(rowKeys, colType, columns -> {
             arrayMap.forEach((key, value) -> {
@@ -211,7 +248,16 @@ public class DataFrameBuilder<R,C> {
      * @return  true if builder is thread safe
      */
     public boolean isThreadSafe() {
-        return lock != null;
+        return lock != null || segments != null;
+    }
+
+
+    /**
+     * Returns true if this builder is concurrent, with a segment per producer thread
+     * @return  true if builder is concurrent
+     */
+    public boolean isConcurrent() {
+        return segments != null;
     }
 
 
@@ -277,6 +323,18 @@ public class DataFrameBuilder<R,C> {
     }
 
 
+    /**
+     * Records that a value was written at coordinates, if this builder is a segment of a concurrent builder
+     * @param colKey    the column key
+     * @param coord     the row coordinate
+     */
+    private void written(C colKey, int coord) {
+        if (writtenMap != null) {
+            this.writtenMap.computeIfAbsent(colKey, c -> new BitSet()).set(coord);
+        }
+    }
+
+
     /**
      * Returns true if this builder contains the row key
      * @param rowKey    the row key to check
@@ -341,6 +399,164 @@ public class DataFrameBuilder<R,C> {
     }
 
 
+    /**
+     * Makes this builder concurrent, so that each producer thread writes to its own segment without locking
+     *
+     * <p>Segments are merged by build(), which must only be called once producers have finished writing, for
+     * example after joining the producer threads. Before then, the row and column queries of this builder do not
+     * reflect the data in segments. Once built, the segments are released and any further writes are rejected. Each segment records the coordinates its producer wrote with the put and plus
+     * methods, and only those values are resolved against other segments, so a column a producer did not write in
+     * a row never replaces or adds to a value from another segment.</p>
+     *
+     * @param duplicates    the resolution of values written to the same coordinates by more than one producer
+     * @return              this builder
+     */
+    public synchronized DataFrameBuilder<R,C> concurrent(@NonNull Duplicates duplicates) {
+        if (segments != null) {
+            this.duplicates = duplicates;
+            return this;
+        } else if (rowCount() > 0 || colCount() > 0) {
+            throw new IllegalStateException("A builder can only be made concurrent before any data is added");
+        } else {
+            this.duplicates = duplicates;
+            this.segment = ThreadLocal.withInitial(this::createSegment);
+            this.segments = new CopyOnWriteArrayList<>();
+            return this;
+        }
+    }
+
+
+    /**
+     * Returns a newly created segment for the calling thread of a concurrent builder
+     * @return  the newly created segment
+     */
+    private DataFrameBuilder<R,C> createSegment() {
+        var segment = new DataFrameBuilder<>(rowType, colType);
+        segment.loadFactor = loadFactor;
+        segment.defaultValue = c -> null;
+        segment.writtenMap = new HashMap<>();
+        segment.capacity(rowCapacity, DEFAULT_COL_CAPACITY);
+        this.segments.add(segment);
+        return segment;
+    }
+
+
+    /**
+     * Returns the segment for the calling thread of a concurrent builder, creating it on first use
+     * @return  the segment for the calling thread
+     * @throws IllegalStateException    if this builder has already been built
+     */
+    private DataFrameBuilder<R,C> segment() {
+        if (built) {
+            throw new IllegalStateException("A concurrent builder cannot be written to after it has been built");
+        } else {
+            return segment.get();
+        }
+    }
+
+
+    /**
+     * Releases the segments of this concurrent builder once merged, so that producer threads that outlive
+     * the build do not retain their data, and marks this builder as built so that later writes are rejected
+     * @param result    the builder with merged segments
+     * @return          the builder with merged segments
+     */
+    private synchronized DataFrameBuilder<R,C> release(DataFrameBuilder<R,C> result) {
+        this.built = true;
+        this.segment.remove();
+        this.segments.forEach(segment -> {
+            segment.rowKeys = null;
+            segment.arrayMap = null;
+            segment.writtenMap = null;
+        });
+        this.segments.clear();
+        return result;
+    }
+
+
+    /**
+     * Returns a builder with the segments of this concurrent builder merged, with columns merged in parallel
+     * @return      the builder with merged segments
+     */
+    @SuppressWarnings("unchecked")
+    private DataFrameBuilder<R,C> merge() {
+        if (built) {
+            throw new IllegalStateException("A concurrent builder can only be built once");
+        }
+        var segments = List.copyOf(this.segments);
+        var result = new DataFrameBuilder<>(rowType, colType);
+        result.loadFactor = loadFactor;
+        result.defaultValue = defaultValue;
+        result.capacity(segments.stream().mapToInt(DataFrameBuilder::rowCount).sum(), DEFAULT_COL_CAPACITY);
+        var coords = new int[segments.size()][];
+        var colKeys = new ArrayList<C>();
+        for (int i=0; i<segments.size(); ++i) {
+            var segment = segments.get(i);
+            var rowCount = segment.rowCount();
+            coords[i] = new int[rowCount];
+            for (int j=0; j<rowCount; ++j) {
+                coords[i][j] = result.putRow(segment.rowKeys.getKey(j));
+            }
+            segment.colKeys().forEach(colKey -> {
+                if (!result.hasColumn(colKey)) {
+                    result.array(colKey);
+                    colKeys.add(colKey);
+                }
+            });
+        }
+        var rowCount = result.rowCount();
+        ExecutorContext.getDefault().run(() -> colKeys.parallelStream().forEach(colKey -> {
+            var target = (ArrayBuilder<Object>)result.arrayMap.get(colKey);
+            var written = new BitSet(rowCount);
+            for (int i=0; i<segments.size(); ++i) {
+                var segment = segments.get(i);
+                var source = segment.arrayMap.get(colKey);
+                var cells = segment.writtenMap.get(colKey);
+                if (source != null && cells != null) {
+                    this.merge(target, source.toArray(), cells, coords[i], written);
+                }
+            }
+        }));
+        return result;
+    }
+
+
+    /**
+     * Merges the written values of a segment column into the target column
+     * @param target    the target column
+     * @param source    the segment column
+     * @param cells     the segment row coordinates written by the producer
+     * @param coords    the target row coordinate for each segment row coordinate
+     * @param written   the target row coordinates already written
+     */
+    private void merge(ArrayBuilder<Object> target, Array<?> source, BitSet cells, int[] coords, BitSet written) {
+        var dataType = source.typeCode();
+        var length = Math.min(source.length(), coords.length);
+        for (int i=cells.nextSetBit(0); i>=0 && i<length; i=cells.nextSetBit(i+1)) {
+            var coord = coords[i];
+            var exists = written.get(coord);
+            if (exists && duplicates == Duplicates.FIRST) {
+                continue;
+            } else if (exists && duplicates == Duplicates.SUM && dataType.isNumeric()) {
+                switch (dataType) {
+                    case INTEGER:   target.plusInt(coord, source.getInt(i));        break;
+                    case LONG:      target.plusLong(coord, source.getLong(i));      break;
+                    default:        target.plusDouble(coord, source.getDouble(i));  break;
+                }
+            } else {
+                switch (dataType) {
+                    case BOOLEAN:   target.setBoolean(coord, source.getBoolean(i)); break;
+                    case INTEGER:   target.setInt(coord, source.getInt(i));         break;
+                    case LONG:      target.setLong(coord, source.getLong(i));       break;
+                    case DOUBLE:    target.setDouble(coord, source.getDouble(i));   break;
+                    default:        target.setValue(coord, source.getValue(i));     break;
+                }
+            }
+            written.set(coord);
+        }
+    }
+
+
     /**
      * Replaces an existing row key with a new key
      * @param existing      the existing key to replace
@@ -386,6 +602,10 @@ public class DataFrameBuilder<R,C> {
      * @return          this builder
      */
     public DataFrameBuilder<R,C> addRows(@NonNull Iterable<R> rowKeys) {
+        if (segments != null) {
+            this.segment().addRows(rowKeys);
+            return this;
+        }
         try {
             this.acquireLock();
             this.rowCapacity(DEFAULT_ROW_CAPACITY);
@@ -420,6 +640,10 @@ public class DataFrameBuilder<R,C> {
     public <T> DataFrameBuilder<R,C> addColumns(
         @NonNull Set<C> colKeys,
         @NonNull Class<T> dataType) {
+        if (segments != null) {
+            this.segment().addColumns(colKeys, dataType);
+            return this;
+        }
         this.acquireLock();
         this.capacity(DEFAULT_ROW_CAPACITY, DEFAULT_COL_CAPACITY);
         colKeys.forEach(colKey -> {
@@ -450,12 +674,17 @@ public class DataFrameBuilder<R,C> {
     public DataFrameBuilder<R,C> putBoolean(
         @NonNull R rowKey,
         @NonNull C colKey, boolean value) {
+        if (segments != null) {
+            this.segment().putBoolean(rowKey, colKey, value);
+            return this;
+        }
         try {
             this.acquireLock();
             this.capacity(1000, 10);
             var coord = this.putRow(rowKey);
             var array = this.array(colKey);
             array.setBoolean(coord, value);
+            this.written(colKey, coord);
             return this;
         } finally {
             this.releaseLock();
@@ -473,12 +702,17 @@ public class DataFrameBuilder<R,C> {
     public DataFrameBuilder<R,C> putInt(
         @NonNull R rowKey,
         @NonNull C colKey, int value) {
+        if (segments != null) {
+            this.segment().putInt(rowKey, colKey, value);
+            return this;
+        }
         try {
             this.acquireLock();
             this.capacity(1000, 10);
             var coord = this.putRow(rowKey);
             var array = this.array(colKey);
             array.setInt(coord, value);
+            this.written(colKey, coord);
             return this;
         } finally {
             this.releaseLock();
@@ -496,12 +730,17 @@ public class DataFrameBuilder<R,C> {
     public DataFrameBuilder<R,C> putLong(
         @NonNull R rowKey,
         @NonNull C colKey, long value) {
+        if (segments != null) {
+            this.segment().putLong(rowKey, colKey, value);
+            return this;
+        }
         try {
             this.acquireLock();
             this.capacity(1000, 10);
             var coord = this.putRow(rowKey);
             var array = this.array(colKey);
             array.setLong(coord, value);
+            this.written(colKey, coord);
             return this;
         } finally {
             this.releaseLock();
@@ -519,12 +758,17 @@ public class DataFrameBuilder<R,C> {
     public DataFrameBuilder<R,C> putDouble(
         @NonNull R rowKey,
         @NonNull C colKey, double value) {
+        if (segments != null) {
+            this.segment().putDouble(rowKey, colKey, value);
+            return this;
+        }
         try {
             this.acquireLock();
             this.capacity(1000, 10);
             var coord = this.putRow(rowKey);
             var array = this.array(colKey);
             array.setDouble(coord, value);
+            this.written(colKey, coord);
             return this;
         } finally {
             this.releaseLock();
@@ -542,12 +786,17 @@ public class DataFrameBuilder<R,C> {
     public <T> DataFrameBuilder<R,C> putValue(
         @NonNull R rowKey,
         @NonNull C colKey, T value) {
+        if (segments != null) {
+            this.segment().putValue(rowKey, colKey, value);
+            return this;
+        }
         try {
             this.acquireLock();
             this.capacity(1000, 10);
             var coord = this.putRow(rowKey);
             var array = this.array(colKey);
             array.setValue(coord, value);
+            this.written(colKey, coord);
             return this;
         } finally {
             this.releaseLock();
@@ -565,12 +814,17 @@ public class DataFrameBuilder<R,C> {
     public DataFrameBuilder<R,C> plusInt(
         @NonNull R rowKey,
         @NonNull C colKey, int value) {
+        if (segments != null) {
+            this.segment().plusInt(rowKey, colKey, value);
+            return this;
+        }
         try {
             this.acquireLock();
             this.capacity(1000, 10);
             var coord = this.putRow(rowKey);
             var array = this.array(colKey);
             array.plusInt(coord, value);
+            this.written(colKey, coord);
             return this;
         } finally {
             this.releaseLock();
@@ -588,12 +842,17 @@ public class DataFrameBuilder<R,C> {
     public DataFrameBuilder<R,C> plusLong(
         @NonNull R rowKey,
         @NonNull C colKey, long value) {
+        if (segments != null) {
+            this.segment().plusLong(rowKey, colKey, value);
+            return this;
+        }
         try {
             this.acquireLock();
             this.capacity(1000, 10);
             var coord = this.putRow(rowKey);
             var array = this.array(colKey);
             array.plusLong(coord, value);
+            this.written(colKey, coord);
             return this;
         } finally {
             this.releaseLock();
@@ -611,12 +870,17 @@ public class DataFrameBuilder<R,C> {
     public DataFrameBuilder<R,C> plusDouble(
         @NonNull R rowKey,
         @NonNull C colKey, double value) {
+        if (segments != null) {
+            this.segment().plusDouble(rowKey, colKey, value);
+            return this;
+        }
         try {
             this.acquireLock();
             this.capacity(1000, 10);
             var coord = this.putRow(rowKey);
             var array = this.array(colKey);
             array.plusDouble(coord, value);
+            this.written(colKey, coord);
             return this;
         } finally {
             this.releaseLock();
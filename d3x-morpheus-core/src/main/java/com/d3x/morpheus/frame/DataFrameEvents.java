@@ -15,9 +15,18 @@
  */
 package com.d3x.morpheus.frame;
 
+import java.util.concurrent.Executor;
+
 /**
  * The interface to manage event notifications for a DataFrame
  *
+ * <p>Events are delivered synchronously on the firing thread by default. With asynchronous delivery, consecutive
+ * events of the same type for the same frame are coalesced into one event while pending, so a burst of changes
+ * costs the firing thread a constant amount of work per key, and listeners see fewer, larger events. Events of
+ * a frame are always delivered in the order they were fired. The keys of an event are captured when it is fired,
+ * but the frame itself is not thread safe, so a listener that reads the live frame during asynchronous delivery
+ * must coordinate with the writers, or request snapshots instead.</p>
+ *
  * <p>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></p>
  *
  * @author  Xavier Witdouck
@@ -54,4 +63,17 @@ public interface DataFrameEvents {
      */
     void fireDataFrameEvent(DataFrameEvent event);
 
+    /**
+     * Sets asynchronous delivery of events on the executor provided, after delivering any pending events
+     * @param executor      the executor to deliver events on, null to deliver synchronously on the firing thread
+     * @param maxPending    the max number of coalesced events pending delivery, beyond which firing threads other than the delivery thread block
+     * @param snapshot      true to deliver each event with a copy of the rows and columns it affects, taken on the firing thread and shared by all listeners, in which case events are not coalesced
+     */
+    void setAsync(Executor executor, int maxPending, boolean snapshot);
+
+    /**
+     * Blocks until all events fired so far have been delivered to listeners, or returns at once if called by a listener on the delivery thread
+     */
+    void flush();
+
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.frame;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * An interface to join a DataFrame with another frame on the values of one or more columns, or on row keys.
+ *
+ * <p>The result includes the columns of the left frame followed by the columns of the right frame, less the
+ * join columns of the right frame, whose values are carried by the join columns of the left frame. Column keys
+ * other than join columns must not appear in both frames, and {@link #select(Iterable, Iterable)} can be used
+ * to project away overlapping or unwanted columns before any data is copied. Coordinates with no matching row
+ * take the default value for the column type, which is NaN for doubles and null for objects.</p>
+ *
+ * <p>Frames keyed by LocalDate, LocalDateTime, ZonedDateTime or Instant can also be joined as-of, where each row
+ * of the left frame is matched with the nearest row of the right frame in the direction specified.</p>
+ *
+ * <p>Rows with a null join value never match. When joining on columns, rows appear in the order of the left frame
+ * followed by any unmatched rows of the right frame, except that two frames already sorted on a single int or
+ * long join column are merged in key order.</p>
+ *
+ * @param <R>   the frame row key type
+ * @param <C>   the frame column key type
+ *
+ * <p>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public interface DataFrameJoin<R,C> {
+
+    enum Type {
+
+        /** Only rows with a match in both frames */
+        INNER,
+
+        /** All rows of the left frame, with matches from the right frame where present */
+        LEFT,
+
+        /** All rows of the right frame, with matches from the left frame where present */
+        RIGHT,
+
+        /** All rows of both frames, matched where possible */
+        OUTER
+    }
+
+    enum Direction {
+
+        /** Match the last right row with a key less than or equal to the left key */
+        BACKWARD,
+
+        /** Match the first right row with a key greater than or equal to the left key */
+        FORWARD,
+
+        /** Match the nearest right row in either direction, preferring backward on a tie */
+        NEAREST
+    }
+
+    /**
+     * Restricts the columns copied from each frame into the result of the join
+     * @param leftColumns   the columns of the left frame to include, null for all columns
+     * @param rightColumns  the columns of the right frame to include, null for all columns
+     * @return              this join interface
+     */
+    DataFrameJoin<R,C> select(Iterable<C> leftColumns, Iterable<C> rightColumns);
+
+    /**
+     * Returns the result of joining the frames on columns that share the same keys in both frames
+     * @param type      the join type
+     * @param columns   the join column keys, which must exist in both frames
+     * @return          the joined frame, with an integer row key for each output row
+     */
+    @SuppressWarnings("unchecked")
+    DataFrame<Integer,C> on(Type type, C... columns);
+
+    /**
+     * Returns the result of joining the frames on the columns specified
+     * @param type          the join type
+     * @param leftColumns   the join column keys in the left frame
+     * @param rightColumns  the join column keys in the right frame, matched pair-wise with the left
+     * @return              the joined frame, with an integer row key for each output row
+     */
+    DataFrame<Integer,C> on(Type type, List<C> leftColumns, List<C> rightColumns);
+
+    /**
+     * Returns the result of joining the frames on their row keys, which must be of the same type
+     * @param type  the join type
+     * @return      the joined frame, keyed by the matching row keys
+     */
+    DataFrame<R,C> onRowKeys(Type type);
+
+    /**
+     * Returns the result of an as-of join on sorted temporal row keys, which includes every row of the left frame
+     * @param direction     the direction in which to search for the matching right row
+     * @param tolerance     the max distance between matching keys, in whole days for LocalDate, null for unlimited
+     * @return              the joined frame, keyed by the left row keys
+     */
+    DataFrame<R,C> asOf(Direction direction, Duration tolerance);
+
+}
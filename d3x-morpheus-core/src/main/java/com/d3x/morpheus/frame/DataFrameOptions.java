@@ -57,8 +57,6 @@ public enum DataFrameOptions {
     MAXIMUM,
     AVERAGE;
 
-    private static final int processorCount = Runtime.getRuntime().availableProcessors();
-
     private static ToIntFunction<DataFrame<?,?>> defaultRowSplitThreshold;
     private static ToIntFunction<DataFrame<?,?>> defaultColSplitThreshold;
     private static final ThreadLocal<DataFrameOptions> nanStrategy = new ThreadLocal<>();
@@ -79,14 +77,14 @@ public enum DataFrameOptions {
     static {
         DataFrameOptions.setDefaultRowSplitThreshold(frame -> {
             final int rowCount = frame.rows().count();
-            final int groupCount = rowCount / processorCount;
-            return Math.max(groupCount, 1);
+            final int colCount = frame.cols().count();
+            return frame.executor().splitThreshold(rowCount, colCount);
         });
 
         DataFrameOptions.setDefaultColSplitThreshold(frame -> {
+            final int rowCount = frame.rows().count();
             final int colCount = frame.cols().count();
-            final int groupCount = colCount / processorCount;
-            return Math.max(groupCount, 1);
+            return frame.executor().splitThreshold(colCount, rowCount);
         });
     }
 
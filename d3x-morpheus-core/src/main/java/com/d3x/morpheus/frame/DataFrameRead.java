@@ -17,6 +17,7 @@ package com.d3x.morpheus.frame;
 
 import java.util.function.Consumer;
 
+import com.d3x.morpheus.binary.MorpheusSource;
 import com.d3x.morpheus.csv.CsvSource;
 
 /**
@@ -43,5 +44,21 @@ public interface DataFrameRead {
      */
     <R> DataFrame<R,String> csv(Class<R> rowType, Consumer<CsvSource.Options> configurator);
 
+    /**
+     * Loads underlying Morpheus binary file into a DataFrame, with columns memory mapped read-only
+     * @param rowType       the row key type
+     * @param colType       the column key type
+     * @return      the data frame result containing the file data
+     */
+    <R,C> DataFrame<R,C> morpheus(Class<R> rowType, Class<C> colType);
+
+    /**
+     * Loads underlying Morpheus binary file into a DataFrame
+     * @param rowType       the row key type
+     * @param colType       the column key type
+     * @param configurator  the options configurator
+     * @return      the data frame result containing the file data
+     */
+    <R,C> DataFrame<R,C> morpheus(Class<R> rowType, Class<C> colType, Consumer<MorpheusSource.Options> configurator);
 
 }
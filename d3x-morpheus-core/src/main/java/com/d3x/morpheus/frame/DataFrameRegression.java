@@ -98,4 +98,18 @@ public interface DataFrameRegression<R,C> {
      */
     <T> Optional<T> gls(C regressand, Iterable<C> regressors, DataFrame<?,?> omega, boolean intercept, Function<DataFrameLeastSquares<R,C>,Optional<T>> handler);
 
+    /**
+     * Returns an interface to regression models fitted over a rolling window of rows
+     * @param windowSize    the number of rows in each window
+     * @return              the rolling regression interface
+     */
+    DataFrameRollingRegression<R,C> rolling(int windowSize);
+
+    /**
+     * Returns an interface to regression models fitted over an expanding window of rows
+     * @param minPeriods    the minimum number of observations required to fit a model
+     * @return              the expanding regression interface
+     */
+    DataFrameRollingRegression<R,C> expanding(int minPeriods);
+
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.frame;
+
+import java.util.function.Supplier;
+
+import com.d3x.morpheus.stats.Count;
+import com.d3x.morpheus.stats.Max;
+import com.d3x.morpheus.stats.Mean;
+import com.d3x.morpheus.stats.Min;
+import com.d3x.morpheus.stats.Statistic1;
+import com.d3x.morpheus.stats.Sum;
+
+/**
+ * An interface to resample a DataFrame with sorted temporal row keys into buckets of a fixed period.
+ *
+ * <p>Rows are assigned to buckets whose boundaries are aligned to the epoch, in UTC for time based keys, and each
+ * bucket is keyed by its start. Periods with months or years form calendar buckets, so a period of one month
+ * yields one bucket per calendar month. Periods of days and calendar periods follow the local dates of each
+ * ZonedDateTime key in its own zone. Only buckets that contain at least one row are included in the result.</p>
+ *
+ * @param <R>   the frame row key type
+ * @param <C>   the frame column key type
+ *
+ * <p>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public interface DataFrameResample<R,C> {
+
+    /**
+     * Returns a frame with the first row in each bucket, including all columns
+     * @return  the resampled frame
+     */
+    DataFrame<R,C> first();
+
+    /**
+     * Returns a frame with the last row in each bucket, including all columns
+     * @return  the resampled frame
+     */
+    DataFrame<R,C> last();
+
+    /**
+     * Returns a frame with the statistic of the values in each bucket, including only numeric columns
+     * @param aggregator    the supplier of the statistic used to aggregate each bucket
+     * @return              the resampled frame of doubles
+     */
+    DataFrame<R,C> apply(Supplier<? extends Statistic1> aggregator);
+
+    /**
+     * Returns a frame with the sum of values in each bucket, including only numeric columns
+     * @return  the resampled frame of doubles
+     */
+    default DataFrame<R,C> sum() {
+        return apply(Sum::new);
+    }
+
+    /**
+     * Returns a frame with the mean of values in each bucket, including only numeric columns
+     * @return  the resampled frame of doubles
+     */
+    default DataFrame<R,C> mean() {
+        return apply(Mean::new);
+    }
+
+    /**
+     * Returns a frame with the min of values in each bucket, including only numeric columns
+     * @return  the resampled frame of doubles
+     */
+    default DataFrame<R,C> min() {
+        return apply(Min::new);
+    }
+
+    /**
+     * Returns a frame with the max of values in each bucket, including only numeric columns
+     * @return  the resampled frame of doubles
+     */
+    default DataFrame<R,C> max() {
+        return apply(Max::new);
+    }
+
+    /**
+     * Returns a frame with the count of non-NaN values in each bucket, including only numeric columns
+     * @return  the resampled frame of doubles
+     */
+    default DataFrame<R,C> count() {
+        return apply(Count::new);
+    }
+
+}
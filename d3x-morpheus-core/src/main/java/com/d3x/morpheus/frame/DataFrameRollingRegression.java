@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.frame;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An interface to linear regression models that are re-fitted over a rolling or expanding window of rows in a DataFrame
+ *
+ * <p>The results are frames indexed by the row keys of the source frame, where each row holds the model fitted to the
+ * window ending at that row. Rows whose window contains too few observations to fit the model hold NaN, and rows
+ * with a missing regressand or regressor value are excluded from every window that covers them.</p>
+ *
+ * <p>Models are updated incrementally as rows enter and leave the window, so the cost per row depends only on the
+ * number of regressors and not on the window size. Regressions of many regressands on the same regressors are
+ * independent, and run in parallel if the frame is parallel.</p>
+ *
+ * @param <R>   the row key type
+ * @param <C>   the column key type
+ *
+ * <p>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public interface DataFrameRollingRegression<R,C> {
+
+    enum Stat { N, R_SQUARED, R_SQUARED_ADJ, STD_ERROR }
+
+    /**
+     * Executes a rolling single variable linear regression model using Ordinary Least Squares (OLS)
+     * @param regressand    the column key of the regressand or Y variable
+     * @param regressor     the column key of the regressor or X variable
+     * @param intercept     true to include an intercept / constant term in the model
+     * @return              the time series of regression results
+     */
+    Result<R,C> ols(C regressand, C regressor, boolean intercept);
+
+    /**
+     * Executes a rolling multiple variable linear regression model using Ordinary Least Squares (OLS)
+     * @param regressand    the column key of the regressand or Y variable
+     * @param regressors    the column key(s) of the regressors or X variables
+     * @param intercept     true to include an intercept / constant term in the model
+     * @return              the time series of regression results
+     */
+    Result<R,C> ols(C regressand, Iterable<C> regressors, boolean intercept);
+
+    /**
+     * Executes rolling linear regression models of each regressand on the same regressors using Ordinary Least Squares (OLS)
+     * @param regressands   the column keys of the regressands or Y variables
+     * @param regressors    the column key(s) of the regressors or X variables
+     * @param intercept     true to include an intercept / constant term in the models
+     * @return              the time series of regression results keyed by regressand, in the order of regressands
+     */
+    Map<C,Result<R,C>> ols(Iterable<C> regressands, Iterable<C> regressors, boolean intercept);
+
+
+    /**
+     * The time series of results for a rolling or expanding regression model
+     * @param <R>   the row key type
+     * @param <C>   the column key type
+     */
+    interface Result<R,C> {
+
+        /**
+         * Returns the regressand for this model
+         * @return  the regressand for model
+         */
+        C getRegressand();
+
+        /**
+         * Returns the list of regressors for this model
+         * @return  the list of regressors
+         */
+        List<C> getRegressors();
+
+        /**
+         * Returns true if the model includes an intercept / constant term
+         * @return  true if the model includes an intercept
+         */
+        boolean hasIntercept();
+
+        /**
+         * Returns the beta coefficients, with a row per window and a column per regressor
+         * @return  the frame of beta coefficients
+         */
+        DataFrame<R,C> getBetas();
+
+        /**
+         * Returns the standard errors of the beta coefficients, with a row per window and a column per regressor
+         * @return  the frame of beta standard errors
+         */
+        DataFrame<R,C> getStdErrors();
+
+        /**
+         * Returns the intercept and its standard error, with a row per window and PARAMETER, STD_ERROR columns
+         * <p>The values are NaN if the model does not include an intercept.</p>
+         * @return  the frame of intercept values
+         */
+        DataFrame<R,DataFrameLeastSquares.Field> getIntercept();
+
+        /**
+         * Returns the number of observations, R-squared, adjusted R-squared and regression standard error per window
+         * @return  the frame of goodness of fit statistics
+         */
+        DataFrame<R,Stat> getStats();
+    }
+}
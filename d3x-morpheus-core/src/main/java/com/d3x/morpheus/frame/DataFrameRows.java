@@ -87,6 +87,20 @@ public interface DataFrameRows<R,C> extends DataFrameAxis<R,C,R,C,DataFrameRow<R
      */
     DataFrame<R,StatType> describe(StatType... stats);
 
+    /**
+     * Returns a sorted index over the row keys, which must be int, long, double or temporal values
+     * @return      the sorted index, which is built on first use and then cached with this frame
+     */
+    DataFrameSortedIndex<R,C,R> sorted();
+
+    /**
+     * Returns a sorted index over the values of a column, which must be int, long, double or temporal values
+     * @param colKey    the key of the column to index
+     * @param <V>       the column value type
+     * @return          the sorted index, which is built on first use and then cached with this frame
+     */
+    <V> DataFrameSortedIndex<R,C,V> sorted(C colKey);
+
     /**
      * Maps row keys in place according to the mapper function
      * @param mapper    the mapper function to apply row keys
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.frame;
+
+import java.util.Optional;
+
+/**
+ * A sorted secondary index over the row keys of a DataFrame, or over the values of one of its columns, which
+ * supports range selection, top-k and as-of lookups in O(log n + k) rather than a scan of every row.
+ *
+ * <p>The index holds the row ordinals of the frame sorted by a long coded form of the value, so it is only
+ * available for int, long, double, LocalDate, LocalDateTime, ZonedDateTime and Instant values. Rows with a
+ * null or NaN value are excluded. The index is built on first use, cached with the frame, and rebuilt on the
+ * next use after rows are added or reordered, or after data in the frame changes in the case of a column index.
+ * A cached index is carried over to a copy() of the frame.</p>
+ *
+ * <p>Selections return a filter of the frame with rows in ascending order of value, and rows with equal values
+ * in row order, except for top-k which returns rows in the reverse order.</p>
+ *
+ * @param <R>   the frame row key type
+ * @param <C>   the frame column key type
+ * @param <V>   the indexed value type
+ *
+ * <p>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public interface DataFrameSortedIndex<R,C,V> {
+
+    /**
+     * Returns the number of rows in this index, which excludes rows with a null or NaN value
+     * @return  the number of indexed rows
+     */
+    int size();
+
+    /**
+     * Returns a filter of the frame with rows whose value is within the bounds specified
+     * @param lower     the lower bound, inclusive
+     * @param upper     the upper bound, inclusive
+     * @return          the filtered frame, in ascending order of value
+     */
+    DataFrame<R,C> between(V lower, V upper);
+
+    /**
+     * Returns a filter of the frame with rows whose value is greater than or equal to the value specified
+     * @param value     the lower bound, inclusive
+     * @return          the filtered frame, in ascending order of value
+     */
+    DataFrame<R,C> atLeast(V value);
+
+    /**
+     * Returns a filter of the frame with rows whose value is less than the value specified
+     * @param value     the upper bound, exclusive
+     * @return          the filtered frame, in ascending order of value
+     */
+    DataFrame<R,C> below(V value);
+
+    /**
+     * Returns a filter of the frame with the rows that have the largest values
+     * @param count     the max number of rows to include
+     * @return          the filtered frame, in descending order of value
+     */
+    DataFrame<R,C> top(int count);
+
+    /**
+     * Returns a filter of the frame with the rows that have the smallest values
+     * @param count     the max number of rows to include
+     * @return          the filtered frame, in ascending order of value
+     */
+    DataFrame<R,C> bottom(int count);
+
+    /**
+     * Returns the key of the row with the largest value less than or equal to the value specified
+     * @param value     the value to search for
+     * @return          the matching row key, empty if all values are greater
+     */
+    Optional<R> floor(V value);
+
+    /**
+     * Returns the key of the row with the smallest value greater than or equal to the value specified
+     * @param value     the value to search for
+     * @return          the matching row key, empty if all values are less
+     */
+    Optional<R> ceiling(V value);
+
+}
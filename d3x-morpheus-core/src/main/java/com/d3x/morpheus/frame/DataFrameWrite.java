@@ -19,6 +19,7 @@ import java.io.File;
 import java.io.OutputStream;
 import java.net.URL;
 
+import com.d3x.morpheus.binary.MorpheusSink;
 import com.d3x.morpheus.csv.CsvSink;
 
 /**
@@ -58,4 +59,18 @@ public interface DataFrameWrite<R,C> {
      */
     CsvSink<R,C> csv(String resource);
 
+    /**
+     * Returns a sink to write a DF to a Morpheus binary file
+     * @param file      the output file
+     * @return              the Morpheus sink
+     */
+    MorpheusSink<R,C> morpheus(File file);
+
+    /**
+     * Returns a sink to write a DF to a Morpheus binary file
+     * @param path      the output file path
+     * @return              the Morpheus sink
+     */
+    MorpheusSink<R,C> morpheus(String path);
+
 }
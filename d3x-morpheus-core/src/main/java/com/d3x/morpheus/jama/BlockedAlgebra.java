@@ -0,0 +1,495 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.jama;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+import com.d3x.morpheus.linalg.DenseKernels;
+import com.d3x.morpheus.util.ExecutorContext;
+
+/**
+ * Cache-blocked, fork-join parallel kernels for the JAMA matrix product and the LU, Cholesky and QR decompositions.
+ *
+ * <p>The classic JAMA algorithms are unblocked and single threaded, which is fine for small matrices but leaves most
+ * of a modern machine idle for large ones. The routines here factor a narrow panel of columns at a time and then apply
+ * that panel to the trailing sub-matrix in a single pass, which is where almost all the flops are, splitting the update
+ * across the pool of an ExecutorContext. The inner loops are row-contiguous and run on the dense kernels of the linalg package.</p>
+ *
+ * <p>All routines operate in place on row-major {@code double[][]} storage, and the results agree with the unblocked
+ * JAMA algorithms to within rounding error, with the same pivot choices for the LU decomposition.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public final class BlockedAlgebra {
+
+    /** The number of columns in each panel of the blocked decompositions */
+    public static final int PANEL = 64;
+
+    /** The approximate number of multiply-adds below which a task is not split further */
+    private static final long GRAIN = 1L << 16;
+
+    private static final DenseKernels kernels = DenseKernels.getInstance();
+
+    /**
+     * Private constructor
+     */
+    private BlockedAlgebra() {
+        super();
+    }
+
+
+    /**
+     * A function that processes a contiguous range of rows or columns
+     */
+    private interface Range {
+        void apply(int from, int to);
+    }
+
+
+    /**
+     * Returns the matrix product A * B as a newly allocated array
+     * @param A         the m x n left operand
+     * @param B         the n x p right operand
+     * @param m         the row count of A
+     * @param n         the column count of A, and the row count of B
+     * @param p         the column count of B
+     * @param executor  the context to split the work across, null to run on the calling thread
+     * @return          the m x p product
+     */
+    public static double[][] multiply(double[][] A, double[][] B, int m, int n, int p, ExecutorContext executor) {
+        final double[][] C = new double[m][p];
+        gemm(1d, A, 0, 0, B, 0, 0, C, 0, 0, m, n, p, executor);
+        return C;
+    }
+
+
+    /**
+     * Accumulates C[ci:ci+m, cj:cj+p] += alpha * A[ai:ai+m, ak:ak+n] * B[bk:bk+n, bj:bj+p]
+     * The regions of C that are written must not overlap the regions of A and B that are read.
+     * @param alpha     the scale factor for the product
+     * @param A         the left operand storage
+     * @param ai        the first row of A
+     * @param ak        the first column of A
+     * @param B         the right operand storage
+     * @param bk        the first row of B
+     * @param bj        the first column of B
+     * @param C         the result storage
+     * @param ci        the first row of C
+     * @param cj        the first column of C
+     * @param m         the number of rows in the product
+     * @param n         the inner dimension
+     * @param p         the number of columns in the product
+     * @param executor  the context to split the work across, null to run on the calling thread
+     */
+    static void gemm(double alpha, double[][] A, int ai, int ak, double[][] B, int bk, int bj, double[][] C, int ci, int cj, int m, int n, int p, ExecutorContext executor) {
+        if (m > 0 && n > 0 && p > 0) {
+            forEachRange(0, m, (long)n * p, executor, (from, to) -> {
+                for (int k0 = 0; k0 < n; k0 += DenseKernels.GEMM_BLOCK_K) {
+                    final int k1 = Math.min(n, k0 + DenseKernels.GEMM_BLOCK_K);
+                    for (int j0 = 0; j0 < p; j0 += DenseKernels.GEMM_BLOCK_N) {
+                        final int width = Math.min(p - j0, DenseKernels.GEMM_BLOCK_N);
+                        for (int i = from; i < to; ++i) {
+                            final double[] Arow = A[ai + i];
+                            final double[] Crow = C[ci + i];
+                            for (int k = k0; k < k1; ++k) {
+                                final double a = alpha * Arow[ak + k];
+                                if (a != 0d) {
+                                    kernels.axpy(a, B[bk + k], bj + j0, Crow, cj + j0, width);
+                                }
+                            }
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+
+    /**
+     * Computes the LU decomposition with partial pivoting of the m x n matrix in place, using a blocked right-looking algorithm
+     * On return the strict lower triangle holds the unit lower triangular factor and the upper triangle holds U. Row swaps
+     * are applied by exchanging the row references, so the array of row references itself is permuted.
+     * @param LU        the matrix to factor, overwritten with the factors
+     * @param m         the row count
+     * @param n         the column count
+     * @param piv       the pivot vector of length m, initialized to the identity permutation
+     * @param executor  the context to split the trailing updates across, null to run on the calling thread
+     * @return          the sign of the row permutation, +1 or -1
+     */
+    public static int lu(double[][] LU, int m, int n, int[] piv, ExecutorContext executor) {
+        int pivsign = 1;
+        final int r = Math.min(m, n);
+        for (int k = 0; k < r; k += PANEL) {
+            final int kb = Math.min(PANEL, r - k);
+            final int k1 = k + kb;
+            //Factor the panel of columns k..k1 with partial pivoting
+            for (int j = k; j < k1; ++j) {
+                int p = j;
+                for (int i = j + 1; i < m; ++i) {
+                    if (Math.abs(LU[i][j]) > Math.abs(LU[p][j])) {
+                        p = i;
+                    }
+                }
+                if (p != j) {
+                    final double[] row = LU[p]; LU[p] = LU[j]; LU[j] = row;
+                    final int t = piv[p]; piv[p] = piv[j]; piv[j] = t;
+                    pivsign = -pivsign;
+                }
+                final double[] LUrowj = LU[j];
+                final double pivot = LUrowj[j];
+                if (pivot != 0d) {
+                    for (int i = j + 1; i < m; ++i) {
+                        LU[i][j] /= pivot;
+                    }
+                }
+                for (int i = j + 1; i < m; ++i) {
+                    final double l = LU[i][j];
+                    if (l != 0d && j + 1 < k1) {
+                        kernels.axpy(-l, LUrowj, j + 1, LU[i], j + 1, k1 - j - 1);
+                    }
+                }
+            }
+            //Compute the block row of U, U12 = inverse(L11) * A12
+            final int width = n - k1;
+            if (width > 0) {
+                for (int j = k + 1; j < k1; ++j) {
+                    final double[] LUrowj = LU[j];
+                    for (int t = k; t < j; ++t) {
+                        final double l = LUrowj[t];
+                        if (l != 0d) {
+                            kernels.axpy(-l, LU[t], k1, LUrowj, k1, width);
+                        }
+                    }
+                }
+                //Update the trailing sub-matrix, A22 = A22 - L21 * U12
+                gemm(-1d, LU, k1, k, LU, k, k1, LU, k1, k1, m - k1, kb, width, executor);
+            }
+        }
+        return pivsign;
+    }
+
+
+    /**
+     * Solves L * U * X = B(piv,:) given the factors from an LU decomposition of an n x n matrix
+     * @param LU        the combined LU factors
+     * @param n         the order of the factors
+     * @param X         the permuted right hand side, n x nx, overwritten with the solution
+     * @param nx        the number of right hand side columns
+     * @param executor  the context to split the columns across, null to run on the calling thread
+     */
+    public static void solveLU(double[][] LU, int n, double[][] X, int nx, ExecutorContext executor) {
+        forEachRange(0, nx, (long)n * n, executor, (from, to) -> {
+            final int width = to - from;
+            for (int i = 1; i < n; ++i) {
+                final double[] LUrowi = LU[i];
+                for (int k = 0; k < i; ++k) {
+                    final double l = LUrowi[k];
+                    if (l != 0d) {
+                        kernels.axpy(-l, X[k], from, X[i], from, width);
+                    }
+                }
+            }
+            for (int i = n - 1; i >= 0; --i) {
+                final double[] LUrowi = LU[i];
+                for (int k = i + 1; k < n; ++k) {
+                    final double u = LUrowi[k];
+                    if (u != 0d) {
+                        kernels.axpy(-u, X[k], from, X[i], from, width);
+                    }
+                }
+                final double[] Xrowi = X[i];
+                final double pivot = LUrowi[i];
+                for (int j = from; j < to; ++j) {
+                    Xrowi[j] /= pivot;
+                }
+            }
+        });
+    }
+
+
+    /**
+     * Computes the Cholesky factor of the symmetric n x n matrix A using a blocked right-looking algorithm
+     * @param A         the symmetric matrix to factor, which is not modified
+     * @param L         the n x n array to write the lower triangular factor into
+     * @param n         the order of the matrix
+     * @param executor  the context to split the trailing updates across, null to run on the calling thread
+     * @return          true if the matrix is symmetric and positive definite
+     */
+    public static boolean cholesky(double[][] A, double[][] L, int n, ExecutorContext executor) {
+        boolean isspd = true;
+        for (int i = 0; i < n; ++i) {
+            final double[] Arowi = A[i];
+            final double[] Lrowi = L[i];
+            for (int j = 0; j < i; ++j) {
+                Lrowi[j] = Arowi[j];
+                isspd = isspd & (Arowi[j] == A[j][i]);
+            }
+            Lrowi[i] = Arowi[i];
+            for (int j = i + 1; j < n; ++j) {
+                Lrowi[j] = 0d;
+            }
+        }
+        for (int panel = 0; panel < n; panel += PANEL) {
+            final int k = panel;
+            final int kb = Math.min(PANEL, n - k);
+            final int k1 = k + kb;
+            //Factor the diagonal block
+            for (int j = k; j < k1; ++j) {
+                final double[] Lrowj = L[j];
+                final double d = Lrowj[j] - kernels.dot(Lrowj, k, Lrowj, k, j - k);
+                isspd = isspd & (d > 0d);
+                Lrowj[j] = Math.sqrt(Math.max(d, 0d));
+                for (int i = j + 1; i < k1; ++i) {
+                    final double[] Lrowi = L[i];
+                    Lrowi[j] = (Lrowi[j] - kernels.dot(Lrowi, k, Lrowj, k, j - k)) / Lrowj[j];
+                }
+            }
+            //Compute the panel below the diagonal block, L21 = A21 * inverse(L11')
+            forEachRange(k1, n, (long)kb * kb, executor, (from, to) -> {
+                for (int i = from; i < to; ++i) {
+                    final double[] Lrowi = L[i];
+                    for (int j = k; j < k1; ++j) {
+                        final double[] Lrowj = L[j];
+                        Lrowi[j] = (Lrowi[j] - kernels.dot(Lrowi, k, Lrowj, k, j - k)) / Lrowj[j];
+                    }
+                }
+            });
+            //Update the lower triangle of the trailing sub-matrix, A22 = A22 - L21 * L21'
+            forEachRange(k1, n, (long)(n - k1) * kb / 2, executor, (from, to) -> {
+                for (int j0 = k1; j0 < to; j0 += DenseKernels.GEMM_BLOCK_N) {
+                    final int j1 = Math.min(to, j0 + DenseKernels.GEMM_BLOCK_N);
+                    for (int i = Math.max(from, j0); i < to; ++i) {
+                        final double[] Lrowi = L[i];
+                        final int jmax = Math.min(i + 1, j1);
+                        for (int j = j0; j < jmax; ++j) {
+                            Lrowi[j] -= kernels.dot(Lrowi, k, L[j], k, kb);
+                        }
+                    }
+                }
+            });
+        }
+        return isspd;
+    }
+
+
+    /**
+     * Solves L * L' * X = B given the lower triangular Cholesky factor of an n x n matrix
+     * @param L         the lower triangular factor
+     * @param n         the order of the factor
+     * @param X         the right hand side, n x nx, overwritten with the solution
+     * @param nx        the number of right hand side columns
+     * @param executor  the context to split the columns across, null to run on the calling thread
+     */
+    public static void solveCholesky(double[][] L, int n, double[][] X, int nx, ExecutorContext executor) {
+        forEachRange(0, nx, (long)n * n, executor, (from, to) -> {
+            final int width = to - from;
+            for (int i = 0; i < n; ++i) {
+                final double[] Lrowi = L[i];
+                final double[] Xrowi = X[i];
+                for (int k = 0; k < i; ++k) {
+                    final double l = Lrowi[k];
+                    if (l != 0d) {
+                        kernels.axpy(-l, X[k], from, Xrowi, from, width);
+                    }
+                }
+                final double d = Lrowi[i];
+                for (int j = from; j < to; ++j) {
+                    Xrowi[j] /= d;
+                }
+            }
+            for (int k = n - 1; k >= 0; --k) {
+                final double[] Lrowk = L[k];
+                final double[] Xrowk = X[k];
+                final double d = Lrowk[k];
+                for (int j = from; j < to; ++j) {
+                    Xrowk[j] /= d;
+                }
+                for (int i = 0; i < k; ++i) {
+                    final double l = Lrowk[i];
+                    if (l != 0d) {
+                        kernels.axpy(-l, Xrowk, from, X[i], from, width);
+                    }
+                }
+            }
+        });
+    }
+
+
+    /**
+     * Computes the Householder QR decomposition of the m x n matrix in place, in the same compact form as the JAMA algorithm
+     * Each panel of reflectors is generated column by column, and then applied to the trailing columns in one pass.
+     * @param QR        the matrix to factor, overwritten with R above the diagonal and the Householder vectors below
+     * @param m         the row count
+     * @param n         the column count
+     * @param Rdiag     the array of length n to write the diagonal of R into
+     * @param executor  the context to split the trailing updates across, null to run on the calling thread
+     */
+    public static void qr(double[][] QR, int m, int n, double[] Rdiag, ExecutorContext executor) {
+        for (int k = 0; k < n; k += PANEL) {
+            final int k0 = k;
+            final int k1 = Math.min(n, k + PANEL);
+            for (int j = k0; j < k1; ++j) {
+                double nrm = 0d;
+                for (int i = j; i < m; ++i) {
+                    nrm = Maths.hypot(nrm, QR[i][j]);
+                }
+                if (nrm != 0d) {
+                    if (QR[j][j] < 0) {
+                        nrm = -nrm;
+                    }
+                    for (int i = j; i < m; ++i) {
+                        QR[i][j] /= nrm;
+                    }
+                    QR[j][j] += 1d;
+                    reflect(QR, m, j, j + 1, QR, j + 1, k1, new double[k1 - j - 1]);
+                }
+                Rdiag[j] = -nrm;
+            }
+            forEachRange(k1, n, (long)(m - k0) * (k1 - k0), executor, (from, to) -> {
+                reflect(QR, m, k0, k1, QR, from, to, new double[to - from]);
+            });
+        }
+    }
+
+
+    /**
+     * Computes the least squares solution of A * X = B given the compact QR decomposition of the m x n matrix A
+     * @param QR        the compact QR storage
+     * @param Rdiag     the diagonal of R
+     * @param m         the row count
+     * @param n         the column count
+     * @param X         the right hand side, m x nx, overwritten so that its first n rows hold the solution
+     * @param nx        the number of right hand side columns
+     * @param executor  the context to split the columns across, null to run on the calling thread
+     */
+    public static void solveQR(double[][] QR, double[] Rdiag, int m, int n, double[][] X, int nx, ExecutorContext executor) {
+        forEachRange(0, nx, (long)m * n, executor, (from, to) -> {
+            final int width = to - from;
+            reflect(QR, m, 0, n, X, from, to, new double[width]);
+            for (int i = n - 1; i >= 0; --i) {
+                final double[] QRrowi = QR[i];
+                final double[] Xrowi = X[i];
+                for (int k = i + 1; k < n; ++k) {
+                    final double r = QRrowi[k];
+                    if (r != 0d) {
+                        kernels.axpy(-r, X[k], from, Xrowi, from, width);
+                    }
+                }
+                final double d = Rdiag[i];
+                for (int j = from; j < to; ++j) {
+                    Xrowi[j] /= d;
+                }
+            }
+        });
+    }
+
+
+    /**
+     * Applies the Householder reflections stored in columns r0..r1 of QR to the columns c0..c1 of X
+     * @param QR        the compact QR storage
+     * @param m         the row count
+     * @param r0        the first reflection, inclusive
+     * @param r1        the last reflection, exclusive
+     * @param X         the matrix to transform, which may be QR itself
+     * @param c0        the first column to transform, inclusive
+     * @param c1        the last column to transform, exclusive
+     * @param s         a work array of length at least c1 - c0
+     */
+    private static void reflect(double[][] QR, int m, int r0, int r1, double[][] X, int c0, int c1, double[] s) {
+        final int width = c1 - c0;
+        if (width > 0) {
+            for (int t = r0; t < r1; ++t) {
+                final double h = QR[t][t];
+                if (h != 0d) {
+                    Arrays.fill(s, 0, width, 0d);
+                    for (int i = t; i < m; ++i) {
+                        kernels.axpy(QR[i][t], X[i], c0, s, 0, width);
+                    }
+                    for (int j = 0; j < width; ++j) {
+                        s[j] = -s[j] / h;
+                    }
+                    for (int i = t; i < m; ++i) {
+                        kernels.axpy(QR[i][t], s, 0, X[i], c0, width);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Applies the function to the range from..to, splitting it into sub-ranges across the pool of the context if not null
+     * @param from      the start of the range, inclusive
+     * @param to        the end of the range, exclusive
+     * @param cost      the approximate number of multiply-adds per element of the range
+     * @param executor  the context to process sub-ranges in parallel, null to run on the calling thread
+     * @param range     the function to process each sub-range
+     */
+    private static void forEachRange(int from, int to, long cost, ExecutorContext executor, Range range) {
+        final int count = to - from;
+        if (count <= 0) {
+            return;
+        } else if (executor == null || count == 1 || executor.getParallelism() < 2) {
+            range.apply(from, to);
+        } else {
+            final int splits = executor.getParallelism() * 4;
+            final int threshold = (int)Math.max(1L, Math.max(GRAIN / Math.max(1L, cost), count / splits));
+            executor.invoke(new RangeTask(from, to, threshold, range));
+        }
+    }
+
+
+    /**
+     * A recursive task that splits a range into halves until it falls below a threshold
+     */
+    private static class RangeTask extends RecursiveAction {
+
+        private int from;
+        private int to;
+        private int threshold;
+        private Range range;
+
+        /**
+         * Constructor
+         * @param from      the start of the range, inclusive
+         * @param to        the end of the range, exclusive
+         * @param threshold the length below which the range is not split
+         * @param range     the function to process each sub-range
+         */
+        RangeTask(int from, int to, int threshold, Range range) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.range = range;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                range.apply(from, to);
+            } else {
+                final int mid = from + (to - from) / 2;
+                invokeAll(
+                    new RangeTask(from, mid, threshold, range),
+                    new RangeTask(mid, to, threshold, range)
+                );
+            }
+        }
+    }
+}
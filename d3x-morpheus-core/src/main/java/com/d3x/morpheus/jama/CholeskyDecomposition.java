@@ -15,6 +15,8 @@
  */
 package com.d3x.morpheus.jama;
 
+import com.d3x.morpheus.util.ExecutorContext;
+
    /** Cholesky Decomposition.
    <P>
    For a symmetric, positive definite matrix A, the Cholesky decomposition
@@ -46,6 +48,11 @@ public class CholeskyDecomposition implements java.io.Serializable {
    */
    private boolean isspd;
 
+   /** True if computed with the blocked, parallel algorithm.
+   @serial blocked flag.
+   */
+   private boolean blocked;
+
 /* ------------------------
    Constructor
  * ------------------------ */
@@ -56,6 +63,17 @@ public class CholeskyDecomposition implements java.io.Serializable {
    */
 
    public CholeskyDecomposition (Matrix Arg) {
+      this(Arg, false);
+   }
+
+   /** Cholesky algorithm for symmetric and positive definite matrix.
+       Structure to access L and isspd flag.
+   @param  Arg       Square, symmetric matrix.
+   @param  blocked   true to use the cache-blocked, parallel algorithm, which suits large matrices
+   @see BlockedAlgebra#cholesky(double[][], double[][], int, ExecutorContext)
+   */
+
+   public CholeskyDecomposition (Matrix Arg, boolean blocked) {
 
 
      // Initialize.
@@ -63,6 +81,11 @@ public class CholeskyDecomposition implements java.io.Serializable {
       n = Arg.getRowDimension();
       L = new double[n][n];
       isspd = (Arg.getColumnDimension() == n);
+      this.blocked = blocked && isspd;
+      if (this.blocked) {
+         isspd = BlockedAlgebra.cholesky(A, L, n, ExecutorContext.getDefault());
+         return;
+      }
       // Main loop.
       for (int j = 0; j < n; j++) {
          double[] Lrowj = L[j];
@@ -187,6 +210,11 @@ public class CholeskyDecomposition implements java.io.Serializable {
       double[][] X = B.getArrayCopy();
       int nx = B.getColumnDimension();
 
+      if (blocked) {
+         BlockedAlgebra.solveCholesky(L, n, X, nx, ExecutorContext.getDefault());
+         return new Matrix(X,n,nx);
+      }
+
 	      // Solve L*Y = B;
 	      for (int k = 0; k < n; k++) {
 	        for (int j = 0; j < nx; j++) {
@@ -15,6 +15,8 @@
  */
 package com.d3x.morpheus.jama;
 
+import com.d3x.morpheus.util.ExecutorContext;
+
 /** LU Decomposition.
    <P>
    For an m-by-n matrix A with m >= n, the LU decomposition is an m-by-n
@@ -51,6 +53,11 @@ public class LUDecomposition implements java.io.Serializable {
    */
    private int[] piv;
 
+   /** True if computed with the blocked, parallel algorithm.
+   @serial blocked flag.
+   */
+   private boolean blocked;
+
 /* ------------------------
    Constructor
  * ------------------------ */
@@ -61,9 +68,17 @@ public class LUDecomposition implements java.io.Serializable {
    */
 
    public LUDecomposition (Matrix A) {
+      this(A, false);
+   }
 
-   // Use a "left-looking", dot-product, Crout/Doolittle algorithm.
+   /** LU Decomposition
+       Structure to access L, U and piv.
+   @param  A         Rectangular matrix
+   @param  blocked   true to use the cache-blocked, parallel algorithm, which suits large matrices
+   @see BlockedAlgebra#lu(double[][], int, int, int[], ExecutorContext)
+   */
 
+   public LUDecomposition (Matrix A, boolean blocked) {
       LU = A.getArrayCopy();
       m = A.getRowDimension();
       n = A.getColumnDimension();
@@ -72,6 +87,17 @@ public class LUDecomposition implements java.io.Serializable {
          piv[i] = i;
       }
       pivsign = 1;
+      this.blocked = blocked;
+      if (blocked) {
+         pivsign = BlockedAlgebra.lu(LU, m, n, piv, ExecutorContext.getDefault());
+      } else {
+         crout();
+      }
+   }
+
+   /** Use a "left-looking", dot-product, Crout/Doolittle algorithm. */
+
+   private void crout () {
       double[] LUrowi;
       double[] LUcolj = new double[m];
 
@@ -302,6 +328,11 @@ public class LUDecomposition implements java.io.Serializable {
       Matrix Xmat = B.getMatrix(piv,0,nx-1);
       double[][] X = Xmat.getArray();
 
+      if (blocked && m == n) {
+         BlockedAlgebra.solveLU(LU, n, X, nx, ExecutorContext.getDefault());
+         return Xmat;
+      }
+
       // Solve L*Y = B(piv,:)
       for (int k = 0; k < n; k++) {
          for (int i = k+1; i < n; i++) {
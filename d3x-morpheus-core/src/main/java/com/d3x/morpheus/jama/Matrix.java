@@ -23,6 +23,8 @@ import java.io.PrintWriter;
 import java.io.BufferedReader;
 import java.io.StreamTokenizer;
 
+import com.d3x.morpheus.util.ExecutorContext;
+
 /**
    Jama = Java Matrix class.
 <P>
@@ -774,6 +776,24 @@ public class Matrix implements Cloneable, java.io.Serializable {
       return X;
    }
 
+   /** Linear algebraic matrix multiplication, A * B
+   @param B         another matrix
+   @param blocked   true to use the cache-blocked, parallel algorithm, which suits large matrices
+   @return          Matrix product, A * B
+   @exception  IllegalArgumentException Matrix inner dimensions must agree.
+   @see BlockedAlgebra#multiply(double[][], double[][], int, int, int, ExecutorContext)
+   */
+
+   public Matrix times (Matrix B, boolean blocked) {
+      if (!blocked) {
+         return times(B);
+      } else if (B.m != n) {
+         throw new IllegalArgumentException("Matrix inner dimensions must agree.");
+      } else {
+         return new Matrix(BlockedAlgebra.multiply(A, B.A, m, n, B.n, ExecutorContext.getDefault()), m, B.n);
+      }
+   }
+
    /** LU Decomposition
    @return     LUDecomposition
    @see LUDecomposition
@@ -829,6 +849,17 @@ public class Matrix implements Cloneable, java.io.Serializable {
                        (new QRDecomposition(this)).solve(B));
    }
 
+   /** Solve A*X = B
+   @param B         right hand side
+   @param blocked   true to use the cache-blocked, parallel decompositions, which suit large matrices
+   @return          solution if A is square, least squares solution otherwise
+   */
+
+   public Matrix solve (Matrix B, boolean blocked) {
+      return (m == n ? (new LUDecomposition(this, blocked)).solve(B) :
+                       (new QRDecomposition(this, blocked)).solve(B));
+   }
+
    /** Solve X*A = B, which is also A'*X' = B'
    @param B    right hand side
    @return     solution if A is square, least squares solution otherwise.
@@ -846,6 +877,15 @@ public class Matrix implements Cloneable, java.io.Serializable {
       return solve(identity(m,m));
    }
 
+   /** Matrix inverse or pseudoinverse
+   @param blocked   true to use the cache-blocked, parallel decompositions, which suit large matrices
+   @return          inverse(A) if A is square, pseudoinverse otherwise.
+   */
+
+   public Matrix inverse (boolean blocked) {
+      return solve(identity(m,m), blocked);
+   }
+
    /** Matrix determinant
    @return     determinant
    */
@@ -15,6 +15,8 @@
  */
 package com.d3x.morpheus.jama;
 
+import com.d3x.morpheus.util.ExecutorContext;
+
 /** QR Decomposition.
 <P>
    For an m-by-n matrix A with m >= n, the QR decomposition is an m-by-n
@@ -50,6 +52,11 @@ public class QRDecomposition implements java.io.Serializable {
    */
    private double[] Rdiag;
 
+   /** True if computed with the blocked, parallel algorithm.
+   @serial blocked flag.
+   */
+   private boolean blocked;
+
 /* ------------------------
    Constructor
  * ------------------------ */
@@ -60,11 +67,27 @@ public class QRDecomposition implements java.io.Serializable {
    */
 
    public QRDecomposition (Matrix A) {
+      this(A, false);
+   }
+
+   /** QR Decomposition, computed by Householder reflections.
+       Structure to access R and the Householder vectors and compute Q.
+   @param A         Rectangular matrix
+   @param blocked   true to use the cache-blocked, parallel algorithm, which suits large matrices
+   @see BlockedAlgebra#qr(double[][], int, int, double[], ExecutorContext)
+   */
+
+   public QRDecomposition (Matrix A, boolean blocked) {
       // Initialize.
       QR = A.getArrayCopy();
       m = A.getRowDimension();
       n = A.getColumnDimension();
       Rdiag = new double[n];
+      this.blocked = blocked;
+      if (blocked) {
+         BlockedAlgebra.qr(QR, m, n, Rdiag, ExecutorContext.getDefault());
+         return;
+      }
 
       // Main loop.
       for (int k = 0; k < n; k++) {
@@ -203,6 +226,11 @@ public class QRDecomposition implements java.io.Serializable {
       int nx = B.getColumnDimension();
       double[][] X = B.getArrayCopy();
 
+      if (blocked) {
+         BlockedAlgebra.solveQR(QR, Rdiag, m, n, X, nx, ExecutorContext.getDefault());
+         return (new Matrix(X,n,nx).getMatrix(0,n-1,0,nx-1));
+      }
+
       // Compute Y = transpose(Q)*B
       for (int k = 0; k < n; k++) {
          for (int j = 0; j < nx; j++) {
@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.linalg;
+
+import java.util.Arrays;
+
+import com.d3x.morpheus.util.MorpheusException;
+
+/**
+ * Provides numerical kernels that operate on dense {@code double} arrays,
+ * the building blocks for the array-backed vector and matrix operations.
+ *
+ * <p><b>Implementations.</b> The scalar kernels are plain loops that run on
+ * any JVM.  The SIMD kernels use the incubating JDK Vector API; they ship in
+ * the optional {@code d3x-morpheus-simd} artifact, and are only available when
+ * that artifact is on the class path and the {@code jdk.incubator.vector}
+ * module is resolved, which requires the JVM option
+ * {@code --add-modules jdk.incubator.vector}.  The
+ * instance returned by {@code getInstance()} is selected once at runtime:
+ * the SIMD kernels when available, unless the system property
+ * {@code morpheus.simd} is {@code false}, and the scalar kernels otherwise.</p>
+ *
+ * <p><b>Missing values.</b> The norm kernels {@code sumAbs} and
+ * {@code sumSquares} skip {@code NaN} elements, consistent with the
+ * statistics classes; all other kernels propagate them.</p>
+ *
+ * @author  Scott Shaffer
+ */
+public interface DenseKernels {
+    /**
+     * The system property that disables the SIMD kernels when {@code false}.
+     */
+    String SIMD_PROPERTY = "morpheus.simd";
+
+    /**
+     * The number of rows of {@code B} in each block of the matrix product.
+     */
+    int GEMM_BLOCK_K = 128;
+
+    /**
+     * The number of columns of {@code B} in each block of the matrix product.
+     */
+    int GEMM_BLOCK_N = 256;
+
+    /**
+     * Returns the kernels selected for this JVM.
+     * @return the SIMD kernels if they are available and enabled, otherwise
+     * the scalar kernels.
+     */
+    static DenseKernels getInstance() {
+        return KernelLoader.SELECTED;
+    }
+
+    /**
+     * Returns the scalar kernels, which are always available.
+     * @return the scalar kernels.
+     */
+    static DenseKernels scalar() {
+        return ScalarKernels.INSTANCE;
+    }
+
+    /**
+     * Returns the SIMD kernels.
+     *
+     * @return the SIMD kernels.
+     *
+     * @throws RuntimeException unless the JDK Vector API is available.
+     */
+    static DenseKernels simd() {
+        if (KernelLoader.SIMD != null)
+            return KernelLoader.SIMD;
+        else
+            throw new MorpheusException("The SIMD kernels are not available; add d3x-morpheus-simd to the class path and run with --add-modules jdk.incubator.vector.");
+    }
+
+    /**
+     * Identifies JVMs that can run the SIMD kernels.
+     * @return {@code true} iff the JDK Vector API is available.
+     */
+    static boolean isSimdAvailable() {
+        return KernelLoader.SIMD != null;
+    }
+
+    /**
+     * Returns a short name for these kernels.
+     * @return a short name for these kernels.
+     */
+    String name();
+
+    /**
+     * Computes the dot product of two array segments.
+     *
+     * @param x    the first array.
+     * @param xOff the offset of the first element in the first array.
+     * @param y    the second array.
+     * @param yOff the offset of the first element in the second array.
+     * @param n    the number of elements.
+     *
+     * @return the sum of {@code x[xOff + i] * y[yOff + i]} over {@code i < n}.
+     */
+    double dot(double[] x, int xOff, double[] y, int yOff, int n);
+
+    /**
+     * Adds a scalar multiple of one array segment to another in place:
+     * {@code y[yOff + i] += a * x[xOff + i]} for {@code i < n}.
+     *
+     * @param a    the scalar multiplier.
+     * @param x    the array to scale.
+     * @param xOff the offset of the first element in {@code x}.
+     * @param y    the array to update.
+     * @param yOff the offset of the first element in {@code y}.
+     * @param n    the number of elements.
+     */
+    void axpy(double a, double[] x, int xOff, double[] y, int yOff, int n);
+
+    /**
+     * Forms the linear combination {@code z = a * x + b * y} element by
+     * element; the output may be the same array as either input.
+     *
+     * @param a the coefficient for {@code x}.
+     * @param x the first array.
+     * @param b the coefficient for {@code y}.
+     * @param y the second array.
+     * @param z the output array, which defines the number of elements.
+     */
+    void combine(double a, double[] x, double b, double[] y, double[] z);
+
+    /**
+     * Multiplies two arrays element by element: {@code z = x * y}; the
+     * output may be the same array as either input.
+     *
+     * @param x the first array.
+     * @param y the second array.
+     * @param z the output array, which defines the number of elements.
+     */
+    void multiply(double[] x, double[] y, double[] z);
+
+    /**
+     * Multiplies each element of an array by a scalar in place.
+     *
+     * @param a the scalar factor.
+     * @param x the array to scale.
+     */
+    void scale(double a, double[] x);
+
+    /**
+     * Computes the sum of the absolute values of the non-missing elements.
+     *
+     * @param x the array to sum.
+     *
+     * @return the sum of {@code |x[i]|} over the non-{@code NaN} elements.
+     */
+    double sumAbs(double[] x);
+
+    /**
+     * Computes the sum of the squares of the non-missing elements.
+     *
+     * @param x the array to sum.
+     *
+     * @return the sum of {@code x[i] * x[i]} over the non-{@code NaN} elements.
+     */
+    double sumSquares(double[] x);
+
+    /**
+     * Computes the matrix-vector product {@code y = A * x} for a matrix
+     * stored as an array of rows.
+     *
+     * @param A the {@code M x N} matrix.
+     * @param x the vector of length {@code N}.
+     * @param y the output vector of length {@code M}.
+     */
+    default void gemv(double[][] A, double[] x, double[] y) {
+        for (int i = 0; i < A.length; ++i)
+            y[i] = dot(A[i], 0, x, 0, x.length);
+    }
+
+    /**
+     * Computes the matrix product {@code C = A * B} for matrices stored as
+     * arrays of rows, overwriting the output.
+     *
+     * <p>The product is accumulated one row of {@code C} at a time as a sum
+     * of scaled rows of {@code B}, so the inner loop is a contiguous
+     * {@code axpy}.  The inner dimension and the columns are split into
+     * blocks so that the block of {@code B} being used stays in cache
+     * while it is applied to every row of {@code A}.</p>
+     *
+     * @param A the {@code M x K} left factor.
+     * @param B the {@code K x N} right factor.
+     * @param C the {@code M x N} output matrix.
+     */
+    default void gemm(double[][] A, double[][] B, double[][] C) {
+        final int K = B.length;
+        final int N = K > 0 ? B[0].length : (C.length > 0 ? C[0].length : 0);
+
+        for (double[] row : C)
+            Arrays.fill(row, 0.0);
+
+        for (int kb = 0; kb < K; kb += GEMM_BLOCK_K) {
+            final int kEnd = Math.min(K, kb + GEMM_BLOCK_K);
+
+            for (int jb = 0; jb < N; jb += GEMM_BLOCK_N) {
+                final int width = Math.min(N, jb + GEMM_BLOCK_N) - jb;
+
+                for (int i = 0; i < A.length; ++i) {
+                    final double[] Ai = A[i];
+                    final double[] Ci = C[i];
+
+                    for (int k = kb; k < kEnd; ++k) {
+                        final double aik = Ai[k];
+
+                        if (aik != 0.0)
+                            axpy(aik, B[k], jb, Ci, jb, width);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.linalg;
+
+/**
+ * Selects the dense kernels once, when first used.
+ *
+ * @author  Scott Shaffer
+ */
+final class KernelLoader {
+    private static final String SIMD_MODULE = "jdk.incubator.vector";
+    private static final String SIMD_CLASS = "com.d3x.morpheus.linalg.SimdKernels";
+
+    /**
+     * The SIMD kernels, or {@code null} if the JDK Vector API or the compiled
+     * SIMD class is unavailable.
+     */
+    static final DenseKernels SIMD = loadSimd();
+
+    /**
+     * The kernels returned by {@code DenseKernels.getInstance()}.
+     */
+    static final DenseKernels SELECTED = selectKernels();
+
+    private KernelLoader() {
+    }
+
+    private static DenseKernels loadSimd() {
+        //
+        // The SIMD class links against the incubator module, so it may only be
+        // loaded when that module is present in the boot layer, and it is only
+        // on the class path when the optional d3x-morpheus-simd artifact is...
+        //
+        if (ModuleLayer.boot().findModule(SIMD_MODULE).isEmpty())
+            return null;
+
+        try {
+            return (DenseKernels) Class.forName(SIMD_CLASS).getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException | LinkageError ex) {
+            return null;
+        }
+    }
+
+    private static DenseKernels selectKernels() {
+        if (SIMD != null && Boolean.parseBoolean(System.getProperty(DenseKernels.SIMD_PROPERTY, "true")))
+            return SIMD;
+        else
+            return ScalarKernels.INSTANCE;
+    }
+}
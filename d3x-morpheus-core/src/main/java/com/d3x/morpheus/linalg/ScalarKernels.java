@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.linalg;
+
+/**
+ * Implements the dense kernels with plain scalar loops.
+ *
+ * @author  Scott Shaffer
+ */
+final class ScalarKernels implements DenseKernels {
+    /**
+     * The single instance.
+     */
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    private ScalarKernels() {
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public double dot(double[] x, int xOff, double[] y, int yOff, int n) {
+        double result = 0.0;
+
+        for (int i = 0; i < n; ++i)
+            result += x[xOff + i] * y[yOff + i];
+
+        return result;
+    }
+
+    @Override
+    public void axpy(double a, double[] x, int xOff, double[] y, int yOff, int n) {
+        for (int i = 0; i < n; ++i)
+            y[yOff + i] += a * x[xOff + i];
+    }
+
+    @Override
+    public void combine(double a, double[] x, double b, double[] y, double[] z) {
+        for (int i = 0; i < z.length; ++i)
+            z[i] = a * x[i] + b * y[i];
+    }
+
+    @Override
+    public void multiply(double[] x, double[] y, double[] z) {
+        for (int i = 0; i < z.length; ++i)
+            z[i] = x[i] * y[i];
+    }
+
+    @Override
+    public void scale(double a, double[] x) {
+        for (int i = 0; i < x.length; ++i)
+            x[i] *= a;
+    }
+
+    @Override
+    public double sumAbs(double[] x) {
+        double result = 0.0;
+
+        for (double value : x) {
+            if (!Double.isNaN(value))
+                result += Math.abs(value);
+        }
+
+        return result;
+    }
+
+    @Override
+    public double sumSquares(double[] x) {
+        double result = 0.0;
+
+        for (double value : x) {
+            if (!Double.isNaN(value))
+                result += value * value;
+        }
+
+        return result;
+    }
+}
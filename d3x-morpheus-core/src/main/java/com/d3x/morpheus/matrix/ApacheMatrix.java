@@ -23,6 +23,8 @@ import org.apache.commons.math3.linear.DiagonalMatrix;
 import org.apache.commons.math3.linear.OpenMapRealMatrix;
 import org.apache.commons.math3.linear.RealMatrix;
 
+import com.d3x.morpheus.linalg.DenseKernels;
+import com.d3x.morpheus.util.MorpheusException;
 import com.d3x.morpheus.vector.D3xVector;
 
 /**
@@ -73,6 +75,59 @@ public final class ApacheMatrix implements D3xMatrix {
         return new Array2DRowRealMatrix(matrix.toArray(), false);
     }
 
+    /**
+     * Returns the rows of a matrix with dense physical storage.
+     *
+     * @param matrix the matrix of interest.
+     *
+     * @return the physical storage of a row-major matrix (not a copy),
+     * a copy of the elements of a block matrix or a generic matrix, or
+     * {@code null} for diagonal and sparse matrices.
+     */
+    private static double[][] denseRows(D3xMatrix matrix) {
+        if (matrix instanceof ApacheMatrix) {
+            RealMatrix impl = ((ApacheMatrix) matrix).impl;
+
+            if (impl instanceof Array2DRowRealMatrix)
+                return ((Array2DRowRealMatrix) impl).getDataRef();
+            else if (impl instanceof BlockRealMatrix)
+                return impl.getData();
+            else
+                return null;
+        }
+
+        return matrix.toArray();
+    }
+
+    /**
+     * Returns the rows of this matrix if it is stored in row-major order.
+     *
+     * @return the physical storage of this matrix (not a copy), or
+     * {@code null} unless this matrix is an Array2DRowRealMatrix.
+     */
+    private double[][] rowMajorData() {
+        if (impl instanceof Array2DRowRealMatrix)
+            return ((Array2DRowRealMatrix) impl).getDataRef();
+        else
+            return null;
+    }
+
+    /**
+     * Wraps the rows of a newly computed matrix using the same storage
+     * scheme as {@code dense()}.
+     *
+     * @param rows the matrix rows, which must not be empty.
+     * @param ncol the number of matrix columns.
+     *
+     * @return a matrix with the specified elements.
+     */
+    private static ApacheMatrix wrapDense(double[][] rows, int ncol) {
+        if (rows.length * ncol < BLOCK_THRESHOLD)
+            return wrap(new Array2DRowRealMatrix(rows, false));
+        else
+            return wrap(new BlockRealMatrix(rows));
+    }
+
     /**
      * Creates a new matrix by copying values from a bare array.
      *
@@ -198,6 +253,15 @@ public final class ApacheMatrix implements D3xMatrix {
 
     @Override
     public D3xMatrix multiplyInPlace(double scalar) {
+        double[][] rows = rowMajorData();
+
+        if (rows != null) {
+            for (double[] row : rows)
+                DenseKernels.getInstance().scale(scalar, row);
+
+            return this;
+        }
+
         for (int i = 0; i < nrow(); ++i)
             for (int j = 0; j < ncol(); ++j)
                 impl.multiplyEntry(i, j, scalar);
@@ -222,7 +286,10 @@ public final class ApacheMatrix implements D3xMatrix {
 
     @Override
     public ApacheMatrix minus(D3xMatrix B) {
-        return wrap(impl.subtract(asOperand(B)));
+        if (rowMajorData() != null)
+            return combine(-1.0, B);
+        else
+            return wrap(impl.subtract(asOperand(B)));
     }
 
     @Override
@@ -237,7 +304,26 @@ public final class ApacheMatrix implements D3xMatrix {
 
     @Override
     public ApacheMatrix plus(D3xMatrix B) {
-        return wrap(impl.add(asOperand(B)));
+        if (rowMajorData() != null)
+            return combine(1.0, B);
+        else
+            return wrap(impl.add(asOperand(B)));
+    }
+
+    private ApacheMatrix combine(double b, D3xMatrix B) {
+        validateCongruent(B);
+        double[][] A = rowMajorData();
+        double[][] rowsB = denseRows(B);
+
+        if (rowsB == null)
+            rowsB = B.toArray();
+
+        double[][] C = new double[nrow()][ncol()];
+
+        for (int i = 0; i < C.length; ++i)
+            DenseKernels.getInstance().combine(1.0, A[i], b, rowsB[i], C[i]);
+
+        return wrap(new Array2DRowRealMatrix(C, false));
     }
 
     @Override
@@ -252,12 +338,35 @@ public final class ApacheMatrix implements D3xMatrix {
 
     @Override
     public D3xVector times(D3xVector x) {
-        return D3xVector.wrap(impl.operate(x.toArray()));
+        double[][] A = rowMajorData();
+
+        if (A == null)
+            return D3xVector.wrap(impl.operate(x.toArray()));
+
+        if (x.length() != ncol())
+            throw new MorpheusException("Vector length [%d] does not match the column count [%d].", x.length(), ncol());
+
+        double[] y = new double[nrow()];
+        DenseKernels.getInstance().gemv(A, x.toArray(), y);
+
+        return D3xVector.wrap(y);
     }
 
     @Override
     public ApacheMatrix times(D3xMatrix B) {
-        return wrap(this.impl.multiply(asOperand(B)));
+        double[][] A = denseRows(this);
+        double[][] rowsB = A != null ? denseRows(B) : null;
+
+        if (rowsB == null || nrow() == 0 || B.ncol() == 0)
+            return wrap(this.impl.multiply(asOperand(B)));
+
+        if (ncol() != B.nrow())
+            throw new MorpheusException("Matrix shape mismatch: [(%d, %d) x (%d, %d)].", nrow(), ncol(), B.nrow(), B.ncol());
+
+        double[][] C = new double[nrow()][B.ncol()];
+        DenseKernels.getInstance().gemm(A, rowsB, C);
+
+        return wrapDense(C, B.ncol());
     }
 
     @Override
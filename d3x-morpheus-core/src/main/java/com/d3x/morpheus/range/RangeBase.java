@@ -18,6 +18,8 @@ package com.d3x.morpheus.range;
 import java.util.Arrays;
 import java.util.stream.IntStream;
 
+import com.d3x.morpheus.util.ExecutorContext;
+
 /**
  * A convenience base class for building range implementations
  *
@@ -58,13 +60,16 @@ abstract class RangeBase<T> implements Range<T> {
 
     /**
      * Returns an array with more or less equal segment step counts as a resulting of splitting total steps into segments
-     * The number of segments is determined by the machine processor count as per Runtime.getRuntime().availableProcessors()
+     * The segment size is determined by the default ExecutorContext split threshold, but is capped at half the total
+     * so that a range always yields at least two segments to recurse on, even when the pool has a single worker
      * @param totalStepCount    the total number of steps to segment into more or less equal parts
      * @return                  the array of segment step counts, which sum to the arg
      */
     int[] getSegmentSteps(int totalStepCount) {
-        final int segmentStepCount = totalStepCount / Runtime.getRuntime().availableProcessors();
-        final int segmentCount = totalStepCount / segmentStepCount;
+        if (totalStepCount < 2) return new int[] { totalStepCount };
+        final int threshold = ExecutorContext.getDefault().splitThreshold(totalStepCount);
+        final int segmentStepCount = Math.max(1, Math.min(threshold, totalStepCount / 2));
+        final int segmentCount = Math.max(1, totalStepCount / segmentStepCount);
         var segmentSteps = new int[segmentCount];
         Arrays.fill(segmentSteps, segmentStepCount);
         final int padding = totalStepCount - IntStream.of(segmentSteps).sum();
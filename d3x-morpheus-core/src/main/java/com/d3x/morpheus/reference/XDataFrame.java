@@ -19,11 +19,12 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.time.temporal.TemporalAmount;
 import java.util.Iterator;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -49,6 +50,7 @@ import com.d3x.morpheus.index.Index;
 import com.d3x.morpheus.stats.Stats;
 import com.d3x.morpheus.util.Asserts;
 import com.d3x.morpheus.util.Bounds;
+import com.d3x.morpheus.util.ExecutorContext;
 import com.d3x.morpheus.util.functions.ToBooleanFunction;
 import com.d3x.morpheus.util.text.Formats;
 
@@ -67,6 +69,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     private static final long serialVersionUID = 1L;
 
     private boolean parallel;
+    private transient ExecutorContext executor;
     private XDataFrameEvents events;
     private XDataFrameRows<R,C> rows;
     private XDataFrameColumns<R,C> cols;
@@ -90,8 +93,19 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
      * @param parallel  true for parallel implementation
      */
     XDataFrame(XDataFrameContent<R,C> data, boolean parallel) {
+        this(data, parallel, null);
+    }
+
+    /**
+     * Private constructor used to create DataFrame filtered views
+     * @param data      the data content for this DataFrame
+     * @param parallel  true for parallel implementation
+     * @param executor  the execution context for parallel operations, null for the global default
+     */
+    XDataFrame(XDataFrameContent<R,C> data, boolean parallel, ExecutorContext executor) {
         this.data = data;
         this.parallel = parallel;
+        this.executor = executor;
         this.events = new XDataFrameEvents();
         this.rows = new XDataFrameRows<>(this, parallel);
         this.cols = new XDataFrameColumns<>(this, parallel);
@@ -116,7 +130,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
      * @return          the shallow copy of the frame
      */
     final <X> XDataFrame<X,C> mapRowKeys(IndexMapper<R,X> mapper) {
-        return new XDataFrame<>(data.mapRowKeys(mapper), isParallel());
+        return new XDataFrame<>(data.mapRowKeys(mapper), isParallel(), executor);
     }
 
 
@@ -127,7 +141,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
      * @return          the shallow copy of the frame
      */
     final <Y> XDataFrame<R,Y> mapColKeys(IndexMapper<C,Y> mapper) {
-        return new XDataFrame<>(data.mapColKeys(mapper), isParallel());
+        return new XDataFrame<>(data.mapColKeys(mapper), isParallel(), executor);
     }
 
 
@@ -138,7 +152,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
      * @return          the shallow copy of the frame
      */
     final <X> XDataFrame<X,C> withRowKeys(Index<X> rowKeys) {
-        return new XDataFrame<>(data.withRowKeys(rowKeys), isParallel());
+        return new XDataFrame<>(data.withRowKeys(rowKeys), isParallel(), executor);
     }
 
 
@@ -149,7 +163,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
      * @return          the shallow copy of the frame
      */
     final <Y> XDataFrame<R,Y> withColKeys(Index<Y> colKeys) {
-        return new XDataFrame<>(data.withColKeys(colKeys), isParallel());
+        return new XDataFrame<>(data.withColKeys(colKeys), isParallel(), executor);
     }
 
 
@@ -159,7 +173,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
      * @param colKeys   the column keys for frame, which could include a subset of column keys
      */
     final XDataFrame<R,C> filter(Index<R> rowKeys, Index<C> colKeys) {
-        return new XDataFrame<>(data.filter(rowKeys, colKeys), parallel);
+        return new XDataFrame<>(data.filter(rowKeys, colKeys), parallel, executor);
     }
 
 
@@ -201,13 +215,25 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
 
     @Override()
     public final DataFrame<R,C> parallel() {
-        return parallel ? this : new XDataFrame<>(data, true);
+        return parallel ? this : new XDataFrame<>(data, true, executor);
     }
 
 
     @Override()
     public final DataFrame<R,C> sequential() {
-        return parallel ? new XDataFrame<>(data, false) : this;
+        return parallel ? new XDataFrame<>(data, false, executor) : this;
+    }
+
+
+    @Override()
+    public final DataFrame<R,C> parallel(ExecutorContext context) {
+        return new XDataFrame<>(data, true, Objects.requireNonNull(context, "The executor context cannot be null"));
+    }
+
+
+    @Override()
+    public final ExecutorContext executor() {
+        return executor != null ? executor : ExecutorContext.getDefault();
     }
 
 
@@ -323,10 +349,10 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
             return Optional.empty();
         } else if (rowCount() > colCount()) {
             var task = new MinMaxValueTask(0, rowCount(), true, predicate);
-            return isParallel() ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+            return isParallel() ? executor().invoke(task) : task.compute();
         } else {
             var task = new MinMaxValueTask(0, colCount(), true, predicate);
-            return isParallel() ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+            return isParallel() ? executor().invoke(task) : task.compute();
         }
     }
 
@@ -337,10 +363,10 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
             return Optional.empty();
         } else if (rowCount() > colCount()) {
             var task = new MinMaxValueTask(0, rowCount(), false, predicate);
-            return  isParallel() ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+            return  isParallel() ? executor().invoke(task) : task.compute();
         } else {
             var task = new MinMaxValueTask(0, colCount(), false, predicate);
-            return isParallel() ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+            return isParallel() ? executor().invoke(task) : task.compute();
         }
     }
 
@@ -351,10 +377,10 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
             return Optional.empty();
         } else if (rowCount() > colCount()) {
             var task = new BoundsTask<V>(0, rowCount(), predicate);
-            return isParallel() ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+            return isParallel() ? executor().invoke(task) : task.compute();
         } else {
             var task = new BoundsTask<V>(0, colCount(), predicate);
-            return isParallel() ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+            return isParallel() ? executor().invoke(task) : task.compute();
         }
     }
 
@@ -363,9 +389,9 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     public final DataFrame<R,C> forEachValue(Consumer<DataFrameValue<R,C>> consumer) {
         if (parallel && colCount() > 0) {
             var toIndex = rowCount() * colCount() - 1;
-            var threshold = (rowCount() * colCount()) / Runtime.getRuntime().availableProcessors();
+            var threshold = executor().splitThreshold(rowCount() * colCount());
             var action = new ForEachValue(0, toIndex, threshold, consumer);
-            ForkJoinPool.commonPool().invoke(action);
+            executor().invoke(action);
         } else if (colCount() > 0) {
             var toIndex = rowCount() * colCount() - 1;
             var threshold = Integer.MAX_VALUE;
@@ -380,9 +406,9 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     public final DataFrame<R,C> applyBooleans(ToBooleanFunction<DataFrameValue<R,C>> mapper) {
         if (parallel && colCount() > 0) {
             var toIndex = rowCount() * colCount() - 1;
-            var threshold = (rowCount() * colCount()) / Runtime.getRuntime().availableProcessors();
+            var threshold = executor().splitThreshold(rowCount() * colCount());
             var action = new ApplyBooleans(0, toIndex, threshold, mapper);
-            ForkJoinPool.commonPool().invoke(action);
+            executor().invoke(action);
         } else if (colCount() > 0) {
             var toIndex = rowCount() * colCount() - 1;
             var threshold = Integer.MAX_VALUE;
@@ -397,9 +423,9 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     public final DataFrame<R,C> applyInts(ToIntFunction<DataFrameValue<R,C>> mapper) {
         if (parallel && colCount() > 0) {
             var toIndex = rowCount() * colCount() - 1;
-            var threshold = (rowCount() * colCount()) / Runtime.getRuntime().availableProcessors();
+            var threshold = executor().splitThreshold(rowCount() * colCount());
             var action = new ApplyInts(0, toIndex, threshold, mapper);
-            ForkJoinPool.commonPool().invoke(action);
+            executor().invoke(action);
         } else if (colCount() > 0) {
             var toIndex = rowCount() * colCount() - 1;
             var threshold = Integer.MAX_VALUE;
@@ -414,9 +440,9 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     public final DataFrame<R,C> applyLongs(ToLongFunction<DataFrameValue<R,C>> mapper) {
         if (parallel && colCount() > 0) {
             var toIndex = rowCount() * colCount() - 1;
-            var threshold = (rowCount() * colCount()) / Runtime.getRuntime().availableProcessors();
+            var threshold = executor().splitThreshold(rowCount() * colCount());
             var action = new ApplyLongs(0, toIndex, threshold, mapper);
-            ForkJoinPool.commonPool().invoke(action);
+            executor().invoke(action);
         } else if (colCount() > 0) {
             var toIndex = rowCount() * colCount() - 1;
             var threshold = Integer.MAX_VALUE;
@@ -431,9 +457,9 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     public final DataFrame<R,C> applyDoubles(ToDoubleFunction<DataFrameValue<R,C>> mapper) {
         if (parallel && colCount() > 0) {
             var toIndex = rowCount() * colCount() - 1;
-            var threshold = (rowCount() * colCount()) / Runtime.getRuntime().availableProcessors();
+            var threshold = executor().splitThreshold(rowCount() * colCount());
             var action = new ApplyDoubles(0, toIndex, threshold, mapper);
-            ForkJoinPool.commonPool().invoke(action);
+            executor().invoke(action);
         } else if (colCount() > 0) {
             var toIndex = rowCount() * colCount() - 1;
             var threshold = Integer.MAX_VALUE;
@@ -448,9 +474,9 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     public final DataFrame<R,C> applyValues(Function<DataFrameValue<R,C>,?> mapper) {
         if (parallel && colCount() > 0) {
             var toIndex = rowCount() * colCount() - 1;
-            var threshold = (rowCount() * colCount()) / Runtime.getRuntime().availableProcessors();
+            var threshold = executor().splitThreshold(rowCount() * colCount());
             var action = new ApplyValues(0, toIndex, threshold, mapper);
-            ForkJoinPool.commonPool().invoke(action);
+            executor().invoke(action);
         } else if (colCount() > 0) {
             var toIndex = rowCount() * colCount() - 1;
             var threshold = Integer.MAX_VALUE;
@@ -468,7 +494,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
             var newRowKeys = rowKeys().toArray();
             var newColKeys = Index.of(colKeys().type(),  colKeys().size());
             var content = new XDataFrameContent<>(newRowKeys, newColKeys, Object.class);
-            var newFrame = new XDataFrame<R,C>(content, parallel);
+            var newFrame = new XDataFrame<R,C>(content, parallel, executor);
             var newColumn = newFrame.cols().cursor();
             this.cols().sequential().forEach(column -> {
                 var colKey = column.key();
@@ -573,7 +599,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
 
     @Override
     public DataFrame<C, R> transpose() {
-        return new XDataFrame<>(data.transpose(), isParallel());
+        return new XDataFrame<>(data.transpose(), isParallel(), executor);
     }
 
 
@@ -703,6 +729,18 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     }
 
 
+    @Override
+    public DataFrameJoin<R,C> join(DataFrame<?,C> right) {
+        return new XDataFrameJoin<>(this, right);
+    }
+
+
+    @Override
+    public DataFrameResample<R,C> resample(TemporalAmount period) {
+        return new XDataFrameResample<>(this, period);
+    }
+
+
     @Override()
     public final DataFrame<R,C> addAll(DataFrame<R,C> other) {
         try {
@@ -780,7 +818,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
         var newRowAxis = rowKeys().filter(keys);
         var newColAxis = colKeys();
         var newContents = data.filter(newRowAxis, newColAxis);
-        return new XDataFrame<>(newContents, parallel);
+        return new XDataFrame<>(newContents, parallel, executor);
     }
 
 
@@ -791,7 +829,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
         var newRowAxis = rowKeys().filter(keys);
         var newColAxis = colKeys();
         var newContents = data.filter(newRowAxis, newColAxis);
-        return new XDataFrame<>(newContents, parallel);
+        return new XDataFrame<>(newContents, parallel, executor);
     }
 
 
@@ -800,7 +838,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
         var colKeys = colKeys().toArray(0, Math.min(colCount(), count));
         var newColAxis = colKeys().filter(colKeys);
         var newContents = data.filter(rowKeys(), newColAxis);
-        return new XDataFrame<>(newContents, parallel);
+        return new XDataFrame<>(newContents, parallel, executor);
     }
 
 
@@ -809,7 +847,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
         var colKeys = colKeys().toArray(Math.max(0, colCount() - count), colCount());
         var newColAxis = colKeys().filter(colKeys);
         var newContents = data.filter(rowKeys(), newColAxis);
-        return new XDataFrame<>(newContents, parallel);
+        return new XDataFrame<>(newContents, parallel, executor);
     }
 
 
@@ -818,7 +856,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
         var newRowAxis = rowKeys().filter(rowKeys);
         var newColAxis = colKeys().filter(colKeys);
         var newContents = data.filter(newRowAxis, newColAxis);
-        return new XDataFrame<>(newContents, parallel);
+        return new XDataFrame<>(newContents, parallel, executor);
     }
 
 
@@ -826,12 +864,12 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
     public final DataFrame<R,C> select(Predicate<DataFrameRow<R,C>> rowPredicate, Predicate<DataFrameColumn<R,C>> colPredicate) {
         var selectRows = new SelectRows(0, rowCount()-1, rowPredicate);
         var selectCols = new SelectColumns(0, colCount()-1, colPredicate);
-        var rowKeys = isParallel() ? ForkJoinPool.commonPool().invoke(selectRows) : selectRows.compute();
-        var colKeys = isParallel() ? ForkJoinPool.commonPool().invoke(selectCols) : selectCols.compute();
+        var rowKeys = isParallel() ? executor().invoke(selectRows) : selectRows.compute();
+        var colKeys = isParallel() ? executor().invoke(selectCols) : selectCols.compute();
         var newRowAxis = rowKeys().filter(rowKeys);
         var newColAxis = colKeys().filter(colKeys);
         var newContents = data.filter(newRowAxis, newColAxis);
-        return new XDataFrame<>(newContents, parallel);
+        return new XDataFrame<>(newContents, parallel, executor);
     }
 
 
@@ -904,7 +942,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
         var rowKeys = rows().keyArray();
         var colKeys = cols().keyArray();
         var content = new XDataFrameContent<R,C>(rowKeys, colKeys, type);
-        var result = new XDataFrame<R,C>(content, parallel);
+        var result = new XDataFrame<R,C>(content, parallel, executor);
         result.cols().forEach(writeColumn -> {
             var colKey = writeColumn.key();
             this.cols().forEachValue(colKey, v -> {
@@ -918,31 +956,31 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
 
     @Override
     public DataFrame<R,C> mapToBooleans(C colKey, ToBooleanFunction<DataFrameValue<R,C>> mapper) {
-        return new XDataFrame<>(content().mapToBooleans(this, colKey, mapper), isParallel());
+        return new XDataFrame<>(content().mapToBooleans(this, colKey, mapper), isParallel(), executor);
     }
 
 
     @Override
     public DataFrame<R,C> mapToInts(C colKey, ToIntFunction<DataFrameValue<R,C>> mapper) {
-        return new XDataFrame<>(content().mapToInts(this, colKey, mapper), isParallel());
+        return new XDataFrame<>(content().mapToInts(this, colKey, mapper), isParallel(), executor);
     }
 
 
     @Override
     public DataFrame<R,C> mapToLongs(C colKey, ToLongFunction<DataFrameValue<R,C>> mapper) {
-        return new XDataFrame<>(content().mapToLongs(this, colKey, mapper), isParallel());
+        return new XDataFrame<>(content().mapToLongs(this, colKey, mapper), isParallel(), executor);
     }
 
 
     @Override
     public DataFrame<R,C> mapToDoubles(C colKey, ToDoubleFunction<DataFrameValue<R,C>> mapper) {
-        return new XDataFrame<>(content().mapToDoubles(this, colKey, mapper), isParallel());
+        return new XDataFrame<>(content().mapToDoubles(this, colKey, mapper), isParallel(), executor);
     }
 
 
     @Override
     public <T> DataFrame<R,C> mapToObjects(C colKey, Class<T> type, Function<DataFrameValue<R,C>,T> mapper) {
-        return new XDataFrame<>(content().mapToObjects(this, colKey, type, mapper), isParallel());
+        return new XDataFrame<>(content().mapToObjects(this, colKey, type, mapper), isParallel(), executor);
     }
 
 
@@ -1093,7 +1131,7 @@ class XDataFrame<R,C> implements DataFrame<R,C>, Serializable, Cloneable {
             return Stream.empty();
         } else {
             var valueCount = rowCount() * colCount();
-            var splitThreshold = Math.max(valueCount, valueCount / Runtime.getRuntime().availableProcessors());
+            var splitThreshold = executor().splitThreshold(valueCount);
             return StreamSupport.stream(new DataFrameValueSpliterator<>(0, valueCount-1, rowCount(), splitThreshold), isParallel());
         }
     }
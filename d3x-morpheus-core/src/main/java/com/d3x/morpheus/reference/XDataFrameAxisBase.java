@@ -20,7 +20,6 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.Spliterator;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.RecursiveTask;
 import java.util.function.Consumer;
@@ -226,13 +225,11 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
             return Stream.empty();
         } else if (axisType == Type.ROWS) {
             var rowCount = frame.rowCount();
-            var partitionSize = rowCount / Runtime.getRuntime().availableProcessors();
-            var splitThreshold = Math.max(partitionSize, 10000);
+            var splitThreshold = frame.executor().splitThreshold(rowCount);
             return StreamSupport.stream(new DataFrameVectorSpliterator<>(0, rowCount-1, rowCount, splitThreshold), frame.isParallel());
         } else if (axisType == Type.COLS) {
             var colCount = frame.colCount();
-            var partitionSize = colCount / Runtime.getRuntime().availableProcessors();
-            var splitThreshold = Math.max(partitionSize, 10000);
+            var splitThreshold = frame.executor().splitThreshold(colCount);
             return StreamSupport.stream(new DataFrameVectorSpliterator<>(0, colCount-1, colCount, splitThreshold), frame.isParallel());
         } else {
             throw new DataFrameException("Unsupported axis type: " + axisType);
@@ -293,7 +290,7 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
         if (parallel) {
             var count = count();
             var action = new ForEachVector(0, count - 1, consumer);
-            ForkJoinPool.commonPool().invoke(action);
+            frame.executor().invoke(action);
         } else if (count() > 0) {
             var count = count();
             var vector = createVector(frame, 0);
@@ -376,6 +373,7 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
             throw new DataFrameException("Column axis is immutable for this frame, call copy() first");
         } else {
             this.axis.replace(key, newKey);
+            this.frame.content().indexes().keysChanged();
             return frame;
         }
     }
@@ -403,7 +401,7 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
         } else if (parallel) {
             var count = count();
             var select = new Select(0, count-1, predicate);
-            var keys = ForkJoinPool.commonPool().invoke(select);
+            var keys = frame.executor().invoke(select);
             return createFilter(frame, keys);
         } else {
             var count = count();
@@ -485,7 +483,7 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
     @Override
     public final Optional<V> min(Comparator<V> comparator) {
         final MinVector task = new MinVector(0, count()-1, comparator);
-        final V result = parallel ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+        final V result = parallel ? frame.executor().invoke(task) : task.compute();
         return Optional.ofNullable(result);
     }
 
@@ -493,7 +491,7 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
     @Override
     public final Optional<V> max(Comparator<V> comparator) {
         final MaxVector task = new MaxVector(0, count()-1, comparator);
-        final V result = parallel ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+        final V result = parallel ? frame.executor().invoke(task) : task.compute();
         return Optional.ofNullable(result);
     }
 
@@ -751,7 +749,7 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
             this.comparator = comparator;
             this.threshold = Integer.MAX_VALUE;
             if (parallel) {
-                this.threshold = Math.max(1000, count() / Runtime.getRuntime().availableProcessors());
+                this.threshold = frame.executor().splitThreshold(count());
             }
         }
 
@@ -825,7 +823,7 @@ abstract class XDataFrameAxisBase<X,Y,R,C,V extends DataFrameVector<?,?,R,C,?>,T
             this.comparator = comparator;
             this.threshold = Integer.MAX_VALUE;
             if (parallel) {
-                this.threshold = Math.max(1000, count() / Runtime.getRuntime().availableProcessors());
+                this.threshold = frame.executor().splitThreshold(count());
             }
         }
 
@@ -15,7 +15,6 @@
  */
 package com.d3x.morpheus.reference;
 
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 
 import com.d3x.morpheus.frame.DataFrame;
@@ -33,6 +32,7 @@ import com.d3x.morpheus.stats.StatType;
 import com.d3x.morpheus.stats.Statistic1;
 import com.d3x.morpheus.stats.Statistic2;
 import com.d3x.morpheus.stats.Stats;
+import com.d3x.morpheus.util.ExecutorContext;
 
 /**
  * The reference implementation of the DataFrameAxisStats interface as applied to the column dimension of a DataFrame
@@ -83,6 +83,12 @@ class XDataFrameAxisStats<K,R,C,X,Y> extends XDataFrameStatsBase<X,Y> implements
     }
 
 
+    @Override
+    protected final ExecutorContext executor() {
+        return frame.executor();
+    }
+
+
     @Override
     protected boolean isViable(Statistic1 statistic) {
         return true;
@@ -129,13 +135,13 @@ class XDataFrameAxisStats<K,R,C,X,Y> extends XDataFrameStatsBase<X,Y> implements
                 final Index<K> rowKeys = (Index<K>)Index.of(frame.rows().filter(DataFrameVector::isNumeric).keyArray());
                 final XDataFrame<K,K> result = (XDataFrame<K,K>)DataFrame.ofDoubles(rowKeys, rowKeys);
                 final StatisticAction action = new BivariateRowStatistics(0, result.rows().count()-1, result, covariance);
-                if (isParallel()) ForkJoinPool.commonPool().invoke(action); else action.compute();
+                if (isParallel()) executor().invoke(action); else action.compute();
                 return result;
             } else {
                 final Index<K> colKeys = (Index<K>)Index.of(frame.cols().filter(DataFrameVector::isNumeric).keyArray());
                 final XDataFrame<K,K> result = (XDataFrame<K,K>)DataFrame.ofDoubles(colKeys, colKeys);
                 final StatisticAction action = new BivariateColumnStatistics(0, result.cols().count()-1, result, covariance);
-                if (isParallel()) ForkJoinPool.commonPool().invoke(action); else action.compute();
+                if (isParallel()) executor().invoke(action); else action.compute();
                 return result;
             }
         } catch (Exception ex) {
@@ -153,13 +159,13 @@ class XDataFrameAxisStats<K,R,C,X,Y> extends XDataFrameStatsBase<X,Y> implements
                 final Index<K> rowKeys = (Index<K>)Index.of(frame.rows().filter(DataFrameVector::isNumeric).keyArray());
                 final XDataFrame<K,K> result = (XDataFrame<K,K>)DataFrame.ofDoubles(rowKeys, rowKeys);
                 final StatisticAction action = new BivariateRowStatistics(0, result.rowCount()-1, result, correlation);
-                if (isParallel()) ForkJoinPool.commonPool().invoke(action); else action.compute();
+                if (isParallel()) executor().invoke(action); else action.compute();
                 return result;
             } else {
                 final Index<K> colKeys = (Index<K>)Index.of(frame.cols().filter(DataFrameVector::isNumeric).keyArray());
                 final XDataFrame<K,K> result = (XDataFrame<K,K>)DataFrame.ofDoubles(colKeys, colKeys);
                 final StatisticAction action = new BivariateColumnStatistics(0, result.colCount()-1, result, correlation);
-                if (isParallel()) ForkJoinPool.commonPool().invoke(action); else action.compute();
+                if (isParallel()) executor().invoke(action); else action.compute();
                 return result;
             }
         } catch (Exception ex) {
@@ -235,7 +241,7 @@ class XDataFrameAxisStats<K,R,C,X,Y> extends XDataFrameStatsBase<X,Y> implements
         final XDataFrame<R,C> result = (XDataFrame<R,C>)frame.copy();
         if (parallel) {
             final int colCount = result.cols().count();
-            ForkJoinPool.commonPool().invoke(new Ewma(result, 0, colCount-1, 2, halfLife));
+            executor().invoke(new Ewma(result, 0, colCount-1, 2, halfLife));
         } else {
             final int colCount = result.cols().count();
             new Ewma(result, 0, colCount-1, Integer.MAX_VALUE, halfLife).compute();
@@ -68,6 +68,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
     private Index<C> colKeys;
     private boolean columnStore;
     private List<Array<?>> data;
+    private transient XDataFrameSortedIndex.Cache indexes;
 
     /**
      * Constructor
@@ -76,7 +77,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
      */
     @SuppressWarnings("unchecked")
     XDataFrameContent(Iterable<R> rowKeys, Iterable<C> colKeys, Class<?> dataType) {
-        this(rowKeys, colKeys, true, new ArrayList<>());
+        this(rowKeys, colKeys, true, new ArrayList<>(), new XDataFrameSortedIndex.Cache());
         this.data = new ArrayList<>(this.rowKeys.capacity());
         var rowCapacity = rowKeys().capacity();
         this.colKeys.keys().forEach(colKey -> {
@@ -91,12 +92,14 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
      * @param colKeys       the column axis
      * @param columnStore   true to store data in column major form
      * @param data          the data payload
+     * @param indexes       the cache of sorted indexes
      */
-    private XDataFrameContent(Iterable<R> rowKeys, Iterable<C> colKeys, boolean columnStore, List<Array<?>> data) {
+    private XDataFrameContent(Iterable<R> rowKeys, Iterable<C> colKeys, boolean columnStore, List<Array<?>> data, XDataFrameSortedIndex.Cache indexes) {
         this.columnStore = columnStore;
         this.rowKeys = toIndex(rowKeys);
         this.colKeys = toIndex(colKeys);
         this.data = data;
+        this.indexes = indexes;
     }
 
 
@@ -162,12 +165,21 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
     }
 
 
+    /**
+     * Returns the cache of sorted indexes over this content
+     * @return  the cache of sorted indexes
+     */
+    final XDataFrameSortedIndex.Cache indexes() {
+        return indexes;
+    }
+
+
     /**
      * Returns the transpose of this content
      * @return  the transpose of this content
      */
     final XDataFrameContent<C,R> transpose() {
-        return new XDataFrameContent<>(colKeys, rowKeys, !isColumnStore(), data);
+        return new XDataFrameContent<>(colKeys, rowKeys, !isColumnStore(), data, indexes.view());
     }
 
 
@@ -373,7 +385,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
      * @return          the shallow copy of content
      */
     final <X> XDataFrameContent<X,C> withRowKeys(Index<X> rowKeys) {
-        return new XDataFrameContent<>(rowKeys, colKeys, columnStore, data);
+        return new XDataFrameContent<>(rowKeys, colKeys, columnStore, data, indexes.view());
     }
 
 
@@ -384,7 +396,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
      * @return          the shallow copy of content
      */
     final <Y> XDataFrameContent<R,Y> withColKeys(Index<Y> colKeys) {
-        return new XDataFrameContent<>(rowKeys, colKeys, columnStore, data);
+        return new XDataFrameContent<>(rowKeys, colKeys, columnStore, data, indexes.view());
     }
 
 
@@ -396,7 +408,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
      */
     final <T> XDataFrameContent<T,C> mapRowKeys(IndexMapper<R,T> mapper) {
         final Index<T> newIndex = rowKeys.map(mapper);
-        return new XDataFrameContent<>(newIndex, colKeys, columnStore, data);
+        return new XDataFrameContent<>(newIndex, colKeys, columnStore, data, indexes.view());
     }
 
 
@@ -408,7 +420,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
      */
     final <T> XDataFrameContent<R,T> mapColKeys(IndexMapper<C,T> mapper) {
         final Index<T> newIndex = colKeys.map(mapper);
-        return new XDataFrameContent<>(rowKeys, newIndex, columnStore, data);
+        return new XDataFrameContent<>(rowKeys, newIndex, columnStore, data, indexes.view());
     }
 
 
@@ -426,6 +438,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
             var added = rowKeys.add(rowKey);
             var rowCount = rowKeys.size();
             this.ensureCapacity(rowCount);
+            this.indexes.keysChanged();
             return added;
         }
     }
@@ -454,6 +467,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
             }
             var rowCount = this.rowKeys.size();
             this.ensureCapacity(rowCount);
+            this.indexes.keysChanged();
             return added;
         }
     }
@@ -495,6 +509,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
                 var rowCapacity = rowCapacity();
                 array.expand(rowCapacity);
                 this.data.add(array);
+                this.indexes.keysChanged();
             }
             return added;
         }
@@ -530,7 +545,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
                     }
                     return targetValues;
                 }
-            }));
+            }), indexes.view());
         }
     }
 
@@ -564,7 +579,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
                     }
                     return targetValues;
                 }
-            }));
+            }), indexes.view());
         }
     }
 
@@ -598,7 +613,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
                     }
                     return targetValues;
                 }
-            }));
+            }), indexes.view());
         }
     }
 
@@ -632,7 +647,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
                     }
                     return targetValues;
                 }
-            }));
+            }), indexes.view());
         }
     }
 
@@ -667,7 +682,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
                     }
                     return targetValues;
                 }
-            }));
+            }), indexes.view());
         }
     }
 
@@ -678,7 +693,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
      * @param newColKeys   the optionally filtered column keys
      */
     final XDataFrameContent<R,C> filter(Index<R> newRowKeys, Index<C> newColKeys) {
-        return new XDataFrameContent<>(newRowKeys, newColKeys, columnStore, data);
+        return new XDataFrameContent<>(newRowKeys, newColKeys, columnStore, data, indexes.view());
     }
 
 
@@ -779,7 +794,9 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
      * @return  a deep copy of this contents
      */
     final XDataFrameContent<R,C> copy() {
-        return isColumnStore() ? copyColumnStore() : copyRowStore();
+        final XDataFrameContent<R,C> copy = isColumnStore() ? copyColumnStore() : copyRowStore();
+        copy.indexes = indexes.copy();
+        return copy;
     }
 
 
@@ -849,13 +866,13 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
                 final Index<R> newRowAxis = Index.of(rowKeys);
                 final Index<C> newColAxis = Index.of(colKeys);
                 final List<Array<?>> newData = this.colKeys.keys().map(c -> getArray(c).copy(modelIndexes)).collect(Collectors.toList());
-                return new XDataFrameContent<>(newRowAxis, newColAxis, columnStore, newData);
+                return new XDataFrameContent<>(newRowAxis, newColAxis, columnStore, newData, new XDataFrameSortedIndex.Cache());
             } else if (colKeys().isFilter()) {
                 final Array<C> colKeys = this.colKeys.toArray();
                 final Index<R> newRowAxis = rowKeys.copy(true);
                 final Index<C> newColAxis = Index.of(colKeys);
                 final List<Array<?>> newData = this.colKeys.keys().map(c -> getArray(c).copy()).collect(Collectors.toList());
-                return new XDataFrameContent<>(newRowAxis, newColAxis, columnStore, newData);
+                return new XDataFrameContent<>(newRowAxis, newColAxis, columnStore, newData, new XDataFrameSortedIndex.Cache());
             } else {
                 final XDataFrameContent<R,C> clone = (XDataFrameContent<R,C>)super.clone();
                 clone.data = this.data.stream().map(Array::copy).collect(Collectors.toList());
@@ -962,6 +979,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
      * @return          the previous value
      */
     final boolean booleanAt(int rowIndex, int colIndex, boolean value) {
+        this.indexes.valuesChanged();
         if (columnStore) {
             final Array<?> colArray = data.get(colIndex);
             return colArray.setBoolean(rowIndex, value);
@@ -980,6 +998,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
      * @return          the previous value
      */
     final int intAt(int rowIndex, int colIndex, int value) {
+        this.indexes.valuesChanged();
         if (columnStore) {
             final Array<?> colArray = data.get(colIndex);
             return colArray.setInt(rowIndex, value);
@@ -998,6 +1017,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
      * @return          the previous value
      */
     final long longAt(int rowIndex, int colIndex, long value) {
+        this.indexes.valuesChanged();
         if (columnStore) {
             final Array<?> colArray = data.get(colIndex);
             return colArray.setLong(rowIndex, value);
@@ -1016,6 +1036,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
      * @return          the previous value
      */
     final double doubleAt(int rowIndex, int colIndex, double value) {
+        this.indexes.valuesChanged();
         if (columnStore) {
             final Array<?> colArray = data.get(colIndex);
             return colArray.setDouble(rowIndex, value);
@@ -1035,6 +1056,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
      */
     @SuppressWarnings("unchecked")
     final <V> V valueAt(int rowIndex, int colIndex, V value) {
+        this.indexes.valuesChanged();
         if (columnStore) {
             final Array<V> colArray = (Array<V>)data.get(colIndex);
             return colArray.setValue(rowIndex, value);
@@ -1058,6 +1080,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
         final Class<R> rowType = (Class<R>)is.readObject();
         final Class<C> colType = (Class<C>)is.readObject();
         this.columnStore = is.readBoolean();
+        this.indexes = new XDataFrameSortedIndex.Cache();
         this.rowKeys = Index.of(rowType, rowCount);
         this.colKeys = Index.of(colType, colCount);
         if (columnStore) {
@@ -1363,6 +1386,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
         @Override
         public final void setBoolean(boolean value) {
             try {
+                indexes.valuesChanged();
                 if (columnStore) {
                     array.setBoolean(rowCoord, value);
                 } else {
@@ -1376,6 +1400,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
         @Override
         public final void setInt(int value) {
             try {
+                indexes.valuesChanged();
                 if (columnStore) {
                     array.setInt(rowCoord, value);
                 } else {
@@ -1389,6 +1414,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
         @Override
         public final void setLong(long value) {
             try {
+                indexes.valuesChanged();
                 if (columnStore) {
                     array.setLong(rowCoord, value);
                 } else {
@@ -1402,6 +1428,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
         @Override
         public final void setDouble(double value) {
             try {
+                indexes.valuesChanged();
                 if (columnStore) {
                     array.setDouble(rowCoord, value);
                 } else {
@@ -1416,6 +1443,7 @@ class XDataFrameContent<R,C> implements Serializable, Cloneable {
         @SuppressWarnings("unchecked")
         public final <V> void setValue(V value) {
             try {
+                indexes.valuesChanged();
                 if (columnStore) {
                     ((Array<V>)array).setValue(rowCoord, value);
                 } else {
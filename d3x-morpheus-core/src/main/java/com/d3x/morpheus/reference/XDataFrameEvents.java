@@ -16,17 +16,35 @@
 package com.d3x.morpheus.reference;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.frame.DataFrame;
 import com.d3x.morpheus.frame.DataFrameEvent;
+import com.d3x.morpheus.frame.DataFrameException;
 import com.d3x.morpheus.frame.DataFrameListener;
 import com.d3x.morpheus.frame.DataFrameEvents;
 
 /**
  * The default implementation of the DataFrameNotify interface.
  *
+ * <p>With asynchronous delivery, fired events are appended to a bounded queue of batches, where the last batch
+ * absorbs the next event if it is of the same type for the same frame. Batches accumulate the keys of the events
+ * they absorb on the firing thread, so the delivery thread never reads the frame, which is not thread safe and
+ * whose ordinals can change with an in-place sort. When snapshots are requested, each event is sealed in its own
+ * batch with a copy of the affected region taken on the firing thread. At most one delivery task per frame is
+ * scheduled on the executor at any time, which drains batches in order. A listener that fires an event on the
+ * delivery thread is never blocked by the bound on pending batches, and a flush from that thread returns at once,
+ * as the delivery thread cannot wait on itself; the events it queues are delivered after the listener returns.</p>
+ *
  * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
  *
  * @author  Xavier Witdouck
@@ -35,6 +53,8 @@ class XDataFrameEvents implements DataFrameEvents {
 
     private boolean enabled;
     private transient Set<WeakReference> listenerSet = new LinkedHashSet<>();
+    private transient volatile Delivery delivery;
+    private transient volatile Delivery retired;
 
 
     @Override
@@ -73,6 +93,62 @@ class XDataFrameEvents implements DataFrameEvents {
 
     @Override
     public final void fireDataFrameEvent(DataFrameEvent event) {
+        while (true) {
+            final Delivery delivery = this.delivery;
+            if (delivery == null) {
+                final Delivery retired = this.retired;
+                if (retired != null) {
+                    retired.flush();
+                }
+                this.notifyListeners(event);
+                return;
+            } else if (delivery.add(event)) {
+                return;
+            }
+        }
+    }
+
+
+    @Override
+    public final void setAsync(Executor executor, int maxPending, boolean snapshot) {
+        if (executor != null && maxPending < 1) {
+            throw new DataFrameException("The max pending events must be at least 1, not " + maxPending);
+        } else {
+            final Delivery previous = this.delivery;
+            if (executor != null) {
+                this.delivery = new Delivery(executor, maxPending, snapshot, previous);
+                if (previous != null) {
+                    previous.close();
+                }
+            } else if (previous != null) {
+                this.retired = previous;
+                this.delivery = null;
+                previous.close();
+                if (previous.flush()) {
+                    this.retired = null;
+                }
+            }
+        }
+    }
+
+
+    @Override
+    public final void flush() {
+        final Delivery delivery = this.delivery;
+        final Delivery retired = this.retired;
+        if (delivery != null) {
+            delivery.flush();
+        } else if (retired != null) {
+            retired.flush();
+        }
+    }
+
+
+    /**
+     * Notifies all registered listeners of the event on the calling thread
+     * @param event     the event to notify listeners of
+     */
+    private void notifyListeners(DataFrameEvent<?,?> event) {
         synchronized (this) {
             if (listenerSet.size() > 0) {
                 for (Iterator<WeakReference> references = listenerSet.iterator() ; references.hasNext(); ) {
@@ -87,4 +163,276 @@ class XDataFrameEvents implements DataFrameEvents {
             }
         }
     }
+
+
+    /**
+     * The asynchronous delivery of coalesced events on an executor
+     */
+    private class Delivery implements Runnable {
+
+        private Executor executor;
+        private int maxPending;
+        private boolean snapshot;
+        private boolean closed;
+        private boolean scheduled;
+        private volatile Thread drainer;
+        private Delivery previous;
+        private ArrayDeque<Batch> pending = new ArrayDeque<>();
+        private ReentrantLock lock = new ReentrantLock();
+        private Condition notFull = lock.newCondition();
+        private Condition drained = lock.newCondition();
+
+        /**
+         * Constructor
+         * @param executor      the executor to deliver events on
+         * @param maxPending    the max number of batches pending delivery
+         * @param snapshot      true to deliver batches with a copy of the affected region of the frame
+         * @param previous      the delivery this replaces, which must finish before this delivers, null if none
+         */
+        Delivery(Executor executor, int maxPending, boolean snapshot, Delivery previous) {
+            this.executor = executor;
+            this.maxPending = maxPending;
+            this.snapshot = snapshot;
+            this.previous = previous;
+        }
+
+        /**
+         * Adds an event to the last pending batch if it can be coalesced, otherwise to a new batch
+         * @param event     the event to add
+         * @return          true if added, false if this delivery has been closed
+         */
+        boolean add(DataFrameEvent<?,?> event) {
+            boolean schedule = false;
+            this.lock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                final Batch last = pending.peekLast();
+                if (snapshot || last == null || !last.absorb(event)) {
+                    while (pending.size() >= maxPending && !isDrainer()) {
+                        this.notFull.await();
+                        if (closed) {
+                            return false;
+                        }
+                    }
+                    this.pending.add(new Batch(event, snapshot));
+                }
+                if (!scheduled) {
+                    this.scheduled = true;
+                    schedule = true;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new DataFrameException("Interrupted while waiting to queue DataFrame event", ex);
+            } finally {
+                this.lock.unlock();
+            }
+            if (schedule) {
+                this.schedule();
+            }
+            return true;
+        }
+
+        /**
+         * Stops this delivery from accepting events, so firing threads move on to its replacement
+         */
+        void close() {
+            this.lock.lock();
+            try {
+                this.closed = true;
+                this.notFull.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        /**
+         * Submits this delivery task to the executor
+         */
+        private void schedule() {
+            try {
+                this.executor.execute(this);
+            } catch (RuntimeException ex) {
+                this.lock.lock();
+                try {
+                    this.scheduled = false;
+                } finally {
+                    this.lock.unlock();
+                }
+                throw new DataFrameException("Failed to schedule delivery of DataFrame events", ex);
+            }
+        }
+
+        /**
+         * Returns true if the calling thread is draining this delivery, such as a listener that fires an event
+         * @return  true if called from the delivery task of this delivery
+         */
+        private boolean isDrainer() {
+            return drainer == Thread.currentThread();
+        }
+
+        /**
+         * Blocks until all pending batches have been delivered, unless called from the delivery task itself
+         * @return  true if drained, false if called from the delivery task, which delivers the remaining batches once the listener returns
+         */
+        boolean flush() {
+            if (isDrainer()) {
+                return false;
+            }
+            this.lock.lock();
+            try {
+                while (scheduled) {
+                    this.drained.await();
+                }
+                return true;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new DataFrameException("Interrupted while waiting for DataFrame events to be delivered", ex);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (previous != null) {
+                this.previous.flush();
+                this.previous = null;
+            }
+            this.drainer = Thread.currentThread();
+            try {
+                while (true) {
+                    final Batch batch;
+                    this.lock.lock();
+                    try {
+                        batch = pending.poll();
+                        if (batch == null) {
+                            this.scheduled = false;
+                            this.drained.signalAll();
+                            return;
+                        } else {
+                            this.notFull.signalAll();
+                        }
+                    } finally {
+                        this.lock.unlock();
+                    }
+                    try {
+                        notifyListeners(batch.toEvent());
+                    } catch (Throwable t) {
+                        final Thread thread = Thread.currentThread();
+                        thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+                    }
+                }
+            } finally {
+                this.drainer = null;
+                if (retired == this) {
+                    retired = null;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * A batch of coalesced events of the same type for the same frame
+     */
+    @SuppressWarnings("unchecked")
+    private static class Batch {
+
+        private DataFrame<?,?> frame;
+        private DataFrame<?,?> region;
+        private Class<?> rowKeyType;
+        private Class<?> colKeyType;
+        private DataFrameEvent.Type type;
+        private boolean rowEvent;
+        private boolean colEvent;
+        private Collection<Object> rowKeys;
+        private Collection<Object> colKeys;
+
+        /**
+         * Constructor
+         * @param event     the first event for this batch
+         * @param snapshot  true to seal this batch with a copy of the affected region of the frame
+         */
+        Batch(DataFrameEvent<?,?> event, boolean snapshot) {
+            this.frame = event.frame();
+            this.type = event.type();
+            this.rowKeyType = frame.rows().keyClass();
+            this.colKeyType = frame.cols().keyClass();
+            this.rowEvent = event.rowKeys().length() > 0;
+            this.colEvent = event.colKeys().length() > 0;
+            this.rowKeys = type == DataFrameEvent.Type.UPDATE ? new LinkedHashSet<>() : new ArrayList<>();
+            this.colKeys = type == DataFrameEvent.Type.UPDATE ? new LinkedHashSet<>() : new ArrayList<>();
+            this.add(event);
+            if (snapshot && type != DataFrameEvent.Type.REMOVE) {
+                this.region = region(event, rowEvent, colEvent);
+            }
+        }
+
+        /**
+         * Returns a copy of the region of the event frame affected by the event
+         * @param event     the event
+         * @param rowEvent  true if the event affects specific rows
+         * @param colEvent  true if the event affects specific columns
+         * @return          the copy of the affected region
+         */
+        private static <R,C> DataFrame<R,C> region(DataFrameEvent<R,C> event, boolean rowEvent, boolean colEvent) {
+            final DataFrame<R,C> frame = event.frame();
+            final DataFrame<R,C> rows = rowEvent ? frame.rows().select(event.rowKeys()) : frame;
+            final DataFrame<R,C> cols = colEvent ? rows.cols().select(event.colKeys()) : rows;
+            return cols.copy();
+        }
+
+        /**
+         * Adds the event to this batch if it is of the same type and shape, for the same frame
+         * @param event     the event to absorb
+         * @return          true if absorbed, false if the event requires a new batch
+         */
+        boolean absorb(DataFrameEvent<?,?> event) {
+            if (event.frame() != frame || event.type() != type) {
+                return false;
+            } else if (rowEvent != event.rowKeys().length() > 0 || colEvent != event.colKeys().length() > 0) {
+                return false;
+            } else {
+                this.add(event);
+                return true;
+            }
+        }
+
+        /**
+         * Adds the keys of the event to this batch, where update keys are held in sets to collapse repeats in the order first fired
+         * @param event     the event to add
+         */
+        private void add(DataFrameEvent<?,?> event) {
+            event.rowKeys().forEach(rowKeys::add);
+            event.colKeys().forEach(colKeys::add);
+        }
+
+        /**
+         * Returns an event that describes this batch
+         * @return  the event for this batch, with the snapshot region as the event frame if one was taken
+         */
+        DataFrameEvent<?,?> toEvent() {
+            final Array<Object> rows = keys(rowKeyType, rowKeys);
+            final Array<Object> cols = keys(colKeyType, colKeys);
+            final DataFrame<Object,Object> source = (DataFrame<Object,Object>)(region != null ? region : frame);
+            return new DataFrameEvent<>(source, type, rows, cols);
+        }
+
+        /**
+         * Returns an array of the keys accumulated by this batch
+         * @param keyType   the key type
+         * @param keys      the keys accumulated
+         * @return          the array of keys
+         */
+        private Array<Object> keys(Class<?> keyType, Collection<Object> keys) {
+            final Array<Object> result = Array.of((Class<Object>)keyType, keys.size());
+            int index = 0;
+            for (Object key : keys) {
+                result.setValue(index++, key);
+            }
+            return result;
+        }
+    }
 }
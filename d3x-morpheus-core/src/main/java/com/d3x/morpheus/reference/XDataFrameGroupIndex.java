@@ -0,0 +1,429 @@
+/*
+ * Copyright (C) 2018-2019 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.reference;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+import com.d3x.morpheus.util.ExecutorContext;
+import com.d3x.morpheus.util.Tuple;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.DoubleIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+
+/**
+ * A hierarchical index of row groups that is built without creating an object per row.
+ *
+ * <p>The values of each grouping level are dictionary encoded to dense int codes using primitive hash maps, and the
+ * group at each level is identified by dictionary encoding the composite long key of its parent group and level code.
+ * Each level then records the members of its groups as runs of row ordinals, sorted by group with a counting sort, so
+ * a group is an offset into a single int array. Group keys are created as Tuples only once per group, from the first
+ * row in each group, and groups are numbered in order of first appearance.</p>
+ *
+ * <p>In parallel mode, each partition of rows is encoded against its own dictionary, the partition dictionaries are
+ * then merged in partition order, and finally the local codes are remapped to global codes.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class XDataFrameGroupIndex {
+
+    private Level[] levels;
+
+    /**
+     * Constructor
+     * @param levels    the groups at each level
+     */
+    private XDataFrameGroupIndex(Level[] levels) {
+        this.levels = levels;
+    }
+
+
+    /**
+     * Returns a newly built group index over the values specified
+     * @param rowCount  the number of rows to group
+     * @param values    the accessors of the values to group by, one per level
+     * @param parallel  true to build in parallel
+     * @param chunkSize the number of rows per partition in parallel mode
+     * @return          the newly built group index
+     */
+    static XDataFrameGroupIndex of(int rowCount, Values[] values, boolean parallel, int chunkSize) {
+        var chunks = parallel ? Math.max(1, (rowCount + Math.max(1, chunkSize) - 1) / Math.max(1, chunkSize)) : 1;
+        var levels = new Level[values.length];
+        int[] parentIds = null;
+        for (int i=0; i<values.length; ++i) {
+            var level = values[i];
+            var codes = encode(rowCount, chunks, level::dictionary);
+            if (parentIds == null) {
+                levels[i] = new Level(null, codes, row -> Tuple.of(level.getValue(row)));
+            } else {
+                var parentLevel = levels[i-1];
+                var parents = parentIds;
+                var cardinality = (long)codes.count();
+                IntToLongFunction composite = row -> parents[row] * cardinality + codes.ids[row];
+                var ids = encode(rowCount, chunks, () -> Dictionary.ofLongs(composite));
+                levels[i] = new Level(parentLevel, ids, row -> {
+                    var parent = parentLevel.keys[parents[row]];
+                    var items = new Object[parent.size() + 1];
+                    for (int j=0; j<parent.size(); ++j) items[j] = parent.item(j);
+                    items[items.length-1] = level.getValue(row);
+                    return Tuple.of(items);
+                });
+            }
+            parentIds = levels[i].groupIds;
+        }
+        for (Level level : levels) {
+            level.groupIds = null;
+        }
+        return new XDataFrameGroupIndex(levels);
+    }
+
+
+    /**
+     * Dictionary encodes the values accessed by the dictionaries to dense int codes in order of first appearance
+     * @param rowCount      the number of rows
+     * @param chunks        the number of partitions to encode in parallel
+     * @param dictionaries  the supplier of empty dictionaries over the values
+     * @return              the codes for each row and the first row for each code
+     */
+    private static Codes encode(int rowCount, int chunks, Supplier<Dictionary> dictionaries) {
+        var ids = new int[rowCount];
+        if (chunks <= 1) {
+            var dictionary = dictionaries.get();
+            var firstRows = new IntArrayList();
+            for (int row=0; row<rowCount; ++row) {
+                var code = dictionary.code(row);
+                if (code == firstRows.size()) firstRows.add(row);
+                ids[row] = code;
+            }
+            return new Codes(ids, firstRows.toArray());
+        } else {
+            var chunkSize = (rowCount + chunks - 1) / chunks;
+            var localFirstRows = new int[chunks][];
+            forEachChunk(chunks, chunk -> {
+                var dictionary = dictionaries.get();
+                var firstRows = new IntArrayList();
+                var end = Math.min(rowCount, (chunk + 1) * chunkSize);
+                for (int row=chunk * chunkSize; row<end; ++row) {
+                    var code = dictionary.code(row);
+                    if (code == firstRows.size()) firstRows.add(row);
+                    ids[row] = code;
+                }
+                localFirstRows[chunk] = firstRows.toArray();
+            });
+            var global = dictionaries.get();
+            var firstRows = new IntArrayList();
+            var remap = new int[chunks][];
+            for (int chunk=0; chunk<chunks; ++chunk) {
+                var local = localFirstRows[chunk];
+                remap[chunk] = new int[local.length];
+                for (int j=0; j<local.length; ++j) {
+                    var code = global.code(local[j]);
+                    if (code == firstRows.size()) firstRows.add(local[j]);
+                    remap[chunk][j] = code;
+                }
+            }
+            forEachChunk(chunks, chunk -> {
+                var mapping = remap[chunk];
+                var end = Math.min(rowCount, (chunk + 1) * chunkSize);
+                for (int row=chunk * chunkSize; row<end; ++row) {
+                    ids[row] = mapping[ids[row]];
+                }
+            });
+            return new Codes(ids, firstRows.toArray());
+        }
+    }
+
+
+    /**
+     * Runs the action for each chunk index on the default execution context
+     * @param chunks    the number of chunks
+     * @param action    the action to run for each chunk index
+     */
+    private static void forEachChunk(int chunks, IntConsumer action) {
+        ExecutorContext.getDefault().invoke(new ChunkAction(0, chunks, action));
+    }
+
+
+    /**
+     * Returns the grouping depth
+     * @return  the number of levels
+     */
+    int depth() {
+        return levels.length;
+    }
+
+    /**
+     * Returns the number of groups at the level specified
+     * @param level the group level
+     * @return      the number of groups, zero if level is out of bounds
+     */
+    int groupCount(int level) {
+        return level >= 0 && level < levels.length ? levels[level].keys.length : 0;
+    }
+
+    /**
+     * Returns the key for a group
+     * @param level the group level
+     * @param group the group index within level
+     * @return      the group key
+     */
+    Tuple key(int level, int group) {
+        return levels[level].keys[group];
+    }
+
+    /**
+     * Returns the index of a group at the level implied by the size of its key
+     * @param groupKey  the group key
+     * @return          the group index, -1 if no match
+     */
+    int indexOf(Tuple groupKey) {
+        var level = groupKey.size() - 1;
+        if (level < 0 || level >= levels.length) {
+            return -1;
+        } else {
+            var index = levels[level].lookup().get(groupKey);
+            return index != null ? index : -1;
+        }
+    }
+
+    /**
+     * Returns the index of the parent of a group
+     * @param level the group level, which must be greater than zero
+     * @param group the group index within level
+     * @return      the parent group index at the level above
+     */
+    int parent(int level, int group) {
+        return levels[level].parents[group];
+    }
+
+    /**
+     * Returns the number of rows in a group
+     * @param level the group level
+     * @param group the group index within level
+     * @return      the number of rows in group
+     */
+    int size(int level, int group) {
+        var offsets = levels[level].offsets;
+        return offsets[group + 1] - offsets[group];
+    }
+
+    /**
+     * Returns the ordinal of a row in a group, where rows retain their order in the source
+     * @param level the group level
+     * @param group the group index within level
+     * @param index the index of the row within group
+     * @return      the row ordinal in the source
+     */
+    int ordinal(int level, int group, int index) {
+        return levels[level].ordinals[levels[level].offsets[group] + index];
+    }
+
+    /**
+     * The dense codes assigned to each row along with the first row assigned each code
+     */
+    private static class Codes {
+
+        private int[] ids;
+        private int[] firstRows;
+
+        Codes(int[] ids, int[] firstRows) {
+            this.ids = ids;
+            this.firstRows = firstRows;
+        }
+
+        int count() {
+            return firstRows.length;
+        }
+    }
+
+
+    /**
+     * The groups and their members at a single level
+     */
+    private static class Level {
+
+        private Tuple[] keys;
+        private int[] parents;
+        private int[] groupIds;
+        private int[] offsets;
+        private int[] ordinals;
+        private Map<Tuple,Integer> lookup;
+
+        /**
+         * Constructor
+         * @param parent    the level above, null for the top level
+         * @param codes     the group codes for each row
+         * @param keyFn     the function that creates the group key from the first row of a group
+         */
+        Level(Level parent, Codes codes, IntFunction<Tuple> keyFn) {
+            var groupCount = codes.count();
+            var rowCount = codes.ids.length;
+            this.groupIds = codes.ids;
+            this.keys = new Tuple[groupCount];
+            this.parents = new int[groupCount];
+            this.offsets = new int[groupCount + 1];
+            this.ordinals = new int[rowCount];
+            for (int group=0; group<groupCount; ++group) {
+                var firstRow = codes.firstRows[group];
+                this.keys[group] = keyFn.apply(firstRow);
+                this.parents[group] = parent != null ? parent.groupIds[firstRow] : -1;
+            }
+            for (int row=0; row<rowCount; ++row) {
+                this.offsets[groupIds[row] + 1]++;
+            }
+            for (int group=0; group<groupCount; ++group) {
+                this.offsets[group + 1] += offsets[group];
+            }
+            var cursor = Arrays.copyOf(offsets, groupCount);
+            for (int row=0; row<rowCount; ++row) {
+                this.ordinals[cursor[groupIds[row]]++] = row;
+            }
+        }
+
+        /**
+         * Returns the map of group key to group index for this level, created on first use
+         * @return  the group lookup
+         */
+        synchronized Map<Tuple,Integer> lookup() {
+            if (lookup == null) {
+                this.lookup = new HashMap<>(keys.length * 2);
+                for (int i=0; i<keys.length; ++i) {
+                    this.lookup.put(keys[i], i);
+                }
+            }
+            return lookup;
+        }
+    }
+
+
+    /**
+     * Provides access by row ordinal to the values of one grouping level
+     */
+    interface Values {
+
+        /**
+         * Returns a new empty dictionary over these values
+         * @return  the new dictionary
+         */
+        Dictionary dictionary();
+
+        /**
+         * Returns the value for the row specified, used to create group keys
+         * @param row   the row ordinal
+         * @return      the value for row
+         */
+        Object getValue(int row);
+    }
+
+
+    /**
+     * A dictionary that assigns dense int codes to the values of rows, in order of first appearance
+     */
+    interface Dictionary {
+
+        /**
+         * Returns the code for the value of the row specified, assigning the next code if the value is new
+         * @param row   the row ordinal
+         * @return      the code for value
+         */
+        int code(int row);
+
+        /**
+         * Returns a dictionary over int values
+         * @param values    the int values by row ordinal
+         * @return          the new dictionary
+         */
+        static Dictionary ofInts(IntUnaryOperator values) {
+            var map = new IntIntHashMap();
+            return row -> map.getIfAbsentPut(values.applyAsInt(row), map.size());
+        }
+
+        /**
+         * Returns a dictionary over long values
+         * @param values    the long values by row ordinal
+         * @return          the new dictionary
+         */
+        static Dictionary ofLongs(IntToLongFunction values) {
+            var map = new LongIntHashMap();
+            return row -> map.getIfAbsentPut(values.applyAsLong(row), map.size());
+        }
+
+        /**
+         * Returns a dictionary over double values, where NaN matches NaN
+         * @param values    the double values by row ordinal
+         * @return          the new dictionary
+         */
+        static Dictionary ofDoubles(IntToDoubleFunction values) {
+            var map = new DoubleIntHashMap();
+            return row -> map.getIfAbsentPut(values.applyAsDouble(row), map.size());
+        }
+
+        /**
+         * Returns a dictionary over object values
+         * @param values    the object values by row ordinal
+         * @return          the new dictionary
+         */
+        static Dictionary ofObjects(IntFunction<?> values) {
+            var map = new ObjectIntHashMap<Object>();
+            return row -> map.getIfAbsentPut(values.apply(row), map.size());
+        }
+    }
+
+
+    /**
+     * A RecursiveAction that runs an action for each of a range of chunk indexes
+     */
+    private static class ChunkAction extends RecursiveAction {
+
+        private int from;
+        private int to;
+        private IntConsumer action;
+
+        /**
+         * Constructor
+         * @param from      the first chunk index, inclusive
+         * @param to        the last chunk index, exclusive
+         * @param action    the action to run for each chunk index
+         */
+        ChunkAction(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                this.action.accept(from);
+            } else {
+                var mid = (from + to) >>> 1;
+                invokeAll(new ChunkAction(from, mid, action), new ChunkAction(mid, to, action));
+            }
+        }
+    }
+}
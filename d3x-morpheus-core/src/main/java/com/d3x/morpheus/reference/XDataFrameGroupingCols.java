@@ -18,7 +18,6 @@ package com.d3x.morpheus.reference;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveTask;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -99,7 +98,7 @@ class XDataFrameGroupingCols<R,C> implements DataFrameGrouping.Cols<R,C> {
     static <R,C> XDataFrameGroupingCols<R,C> of(XDataFrame<R,C> source, boolean parallel, Function<DataFrameColumn<R,C>,Tuple> function) {
         final int depth = source.cols().first().map(function).map(Tuple::size).orElse(0);
         final GroupColumnsTask<R,C> task = new GroupColumnsTask<>(source, 0, source.colCount()-1, depth, parallel, function);
-        return parallel ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+        return parallel ? source.executor().invoke(task) : task.compute();
     }
 
     @Override
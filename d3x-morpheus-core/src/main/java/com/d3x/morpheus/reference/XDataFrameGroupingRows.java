@@ -15,18 +15,15 @@
  */
 package com.d3x.morpheus.reference;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.RecursiveTask;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.d3x.morpheus.array.Array;
-import com.d3x.morpheus.array.ArrayBuilder;
-import com.d3x.morpheus.array.ArrayCollector;
+import com.d3x.morpheus.array.ArrayType;
 import com.d3x.morpheus.frame.DataFrame;
 import com.d3x.morpheus.frame.DataFrameException;
 import com.d3x.morpheus.frame.DataFrameGrouping;
@@ -42,6 +39,9 @@ import com.d3x.morpheus.util.Tuple;
 /**
  * An implementation of the DataFrameGrouping interface that groups rows of a DataFrame
  *
+ * <p>Groups are held in an XDataFrameGroupIndex as runs of row ordinals, so grouping by columns never creates an
+ * object per row, and grouped statistics are computed straight from the ordinals without creating a frame per group.</p>
+ *
  * @param <R>   the row key type
  * @param <C>   the column key type
  *
@@ -51,20 +51,20 @@ import com.d3x.morpheus.util.Tuple;
  */
 class XDataFrameGroupingRows<R,C> implements DataFrameGrouping.Rows<R,C> {
 
-    private int depth;
+    private boolean parallel;
     private XDataFrame<R,C> source;
-    private Map<Tuple,Array<R>> groupKeysMap;
+    private XDataFrameGroupIndex groups;
 
     /**
      * Constructor
      * @param source        the source frame for groups
-     * @param depth         the grouping depth
-     * @param groupKeysMap  the apply of keys for each group
+     * @param parallel      true for parallel statistics
+     * @param groups        the index of groups
      */
-    private XDataFrameGroupingRows(XDataFrame<R,C> source, int depth, Map<Tuple,Array<R>> groupKeysMap) {
+    private XDataFrameGroupingRows(XDataFrame<R,C> source, boolean parallel, XDataFrameGroupIndex groups) {
         this.source = source;
-        this.depth = depth;
-        this.groupKeysMap = groupKeysMap;
+        this.parallel = parallel;
+        this.groups = groups;
     }
 
 
@@ -78,20 +78,15 @@ class XDataFrameGroupingRows<R,C> implements DataFrameGrouping.Rows<R,C> {
      * @return          the newly create grouping engine
      */
     static <R,C> XDataFrameGroupingRows<R,C> of(XDataFrame<R,C> source, boolean parallel, Array<C> colKeys) {
-        if (colKeys.length() == 1) {
-            final C colKey = colKeys.getValue(0);
-            final int ordinal = source.colKeys().getOrdinal(colKey);
-            return XDataFrameGroupingRows.of(source, parallel, row -> Tuple.of(row.<Object>getValueAt(ordinal)));
-        } else {
-            var ordinals = source.colKeys().ordinals(colKeys).toArray();
-            return XDataFrameGroupingRows.of(source, parallel, row -> {
-                final Object[] values = new Object[colKeys.length()];
-                for (int i=0; i<ordinals.length; ++i) {
-                    values[i] = row.getValueAt(ordinals[i]);
-                }
-                return Tuple.of(values);
-            });
+        var values = new XDataFrameGroupIndex.Values[colKeys.length()];
+        for (int i=0; i<values.length; ++i) {
+            var colKey = colKeys.getValue(i);
+            var ordinal = source.colKeys().getOrdinal(colKey);
+            values[i] = columnValues(source, ordinal, ArrayType.of(source.cols().type(colKey)));
         }
+        var threshold = DataFrameOptions.getRowSplitThreshold(source);
+        var groups = XDataFrameGroupIndex.of(source.rowCount(), values, parallel, threshold);
+        return new XDataFrameGroupingRows<>(source, parallel, groups);
     }
 
     /**
@@ -103,15 +98,65 @@ class XDataFrameGroupingRows<R,C> implements DataFrameGrouping.Rows<R,C> {
      * @return          the newly create grouping engine
      */
     static <R,C> XDataFrameGroupingRows<R,C> of(XDataFrame<R,C> source, boolean parallel, Function<DataFrameRow<R,C>,Tuple> function) {
-        final int depth = source.rows().first().map(function).map(Tuple::size).orElse(0);
-        final GroupRowsTask<R,C> task = new GroupRowsTask<>(source, 0, source.rowCount()-1, depth, parallel, function);
-        if (parallel) {
-            final Map<Tuple,ArrayBuilder<R>> groupKeyMap = ForkJoinPool.commonPool().invoke(task);
-            return new XDataFrameGroupingRows<>(source, depth, crystallize(groupKeyMap));
-        } else {
-            final Map<Tuple,ArrayBuilder<R>> groupKeyMap = task.compute();
-            return new XDataFrameGroupingRows<>(source, depth, crystallize(groupKeyMap));
+        var rowCount = source.rowCount();
+        var tuples = new Tuple[rowCount];
+        var row = new XDataFrameRow<>(source, false);
+        for (int i=0; i<rowCount; ++i) {
+            row.atOrdinal(i);
+            try {
+                tuples[i] = function.apply(row);
+            } catch (Exception ex) {
+                throw new DataFrameException("Grouping failed at row: " + row.key(), ex);
+            }
+            if (tuples[i].size() != tuples[0].size()) {
+                throw new DataFrameException("Grouping failed at row: " + row.key() + ", group key size " + tuples[i].size() + " differs from " + tuples[0].size());
+            }
+        }
+        var depth = rowCount > 0 ? tuples[0].size() : 0;
+        var values = new XDataFrameGroupIndex.Values[depth];
+        for (int i=0; i<depth; ++i) {
+            var level = i;
+            values[i] = new XDataFrameGroupIndex.Values() {
+                @Override
+                public XDataFrameGroupIndex.Dictionary dictionary() {
+                    return XDataFrameGroupIndex.Dictionary.ofObjects(r -> tuples[r].item(level));
+                }
+                @Override
+                public Object getValue(int r) {
+                    return tuples[r].item(level);
+                }
+            };
         }
+        var threshold = DataFrameOptions.getRowSplitThreshold(source);
+        var groups = XDataFrameGroupIndex.of(rowCount, values, parallel, threshold);
+        return new XDataFrameGroupingRows<>(source, parallel, groups);
+    }
+
+
+    /**
+     * Returns the accessor of values in a column to group by, which encodes primitive columns without boxing
+     * @param source    the source frame
+     * @param ordinal   the column ordinal
+     * @param type      the column data type
+     * @return          the values accessor
+     */
+    private static XDataFrameGroupIndex.Values columnValues(XDataFrame<?,?> source, int ordinal, ArrayType type) {
+        return new XDataFrameGroupIndex.Values() {
+            @Override
+            public XDataFrameGroupIndex.Dictionary dictionary() {
+                switch (type) {
+                    case BOOLEAN:   return XDataFrameGroupIndex.Dictionary.ofInts(row -> source.getBooleanAt(row, ordinal) ? 1 : 0);
+                    case INTEGER:   return XDataFrameGroupIndex.Dictionary.ofInts(row -> source.getIntAt(row, ordinal));
+                    case LONG:      return XDataFrameGroupIndex.Dictionary.ofLongs(row -> source.getLongAt(row, ordinal));
+                    case DOUBLE:    return XDataFrameGroupIndex.Dictionary.ofDoubles(row -> source.getDoubleAt(row, ordinal));
+                    default:        return XDataFrameGroupIndex.Dictionary.ofObjects(row -> source.getValueAt(row, ordinal));
+                }
+            }
+            @Override
+            public Object getValue(int row) {
+                return source.getValueAt(row, ordinal);
+            }
+        };
     }
 
 
@@ -122,7 +167,7 @@ class XDataFrameGroupingRows<R,C> implements DataFrameGrouping.Rows<R,C> {
 
     @Override
     public final int getDepth() {
-        return depth;
+        return groups.depth();
     }
 
     @Override
@@ -132,12 +177,12 @@ class XDataFrameGroupingRows<R,C> implements DataFrameGrouping.Rows<R,C> {
 
     @Override
     public final int getGroupCount(int level) {
-        return (int)groupKeysMap.keySet().stream().filter(g -> g.size() == level + 1).count();
+        return groups.groupCount(level);
     }
 
     @Override
     public final Stream<Tuple> getGroupKeys(int level) {
-        return groupKeysMap.keySet().stream().filter(g -> g.size() == level + 1);
+        return IntStream.range(0, groups.groupCount(level)).mapToObj(group -> groups.key(level, group));
     }
 
     @Override
@@ -147,17 +192,32 @@ class XDataFrameGroupingRows<R,C> implements DataFrameGrouping.Rows<R,C> {
 
     @Override
     public final Stream<Tuple> getChildren(Tuple groupKey) {
-        return groupKeysMap.keySet().stream().filter(g -> g.size() == groupKey.size() + 1 && g.filter(0, groupKey.size()).equals(groupKey));
+        var parent = groups.indexOf(groupKey);
+        var level = groupKey.size();
+        if (parent < 0 || level >= groups.depth()) {
+            return Stream.empty();
+        } else {
+            return IntStream.range(0, groups.groupCount(level))
+                .filter(group -> groups.parent(level, group) == parent)
+                .mapToObj(group -> groups.key(level, group));
+        }
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public final DataFrame<R,C> getGroup(Tuple groupKey) {
-        final Array<R> groupKeys = groupKeysMap.get(groupKey);
-        if (groupKeys == null) {
+        var group = groups.indexOf(groupKey);
+        if (group < 0) {
             throw new DataFrameException("No DataFrame for group " + groupKey);
         } else {
-            final Index<R> rowKeys = source.rowKeys().filter(groupKeys);
+            var level = groupKey.size() - 1;
+            var size = groups.size(level, group);
+            var sourceKeys = source.rowKeys();
+            var groupKeys = Array.of(sourceKeys.type(), size);
+            for (int i=0; i<size; ++i) {
+                groupKeys.setValue(i, sourceKeys.getKey(groups.ordinal(level, group, i)));
+            }
+            final Index<R> rowKeys = sourceKeys.filter(groupKeys);
             final Index<C> colKeys = source.colKeys().readOnly();
             return source.filter(rowKeys, colKeys);
         }
@@ -177,110 +237,7 @@ class XDataFrameGroupingRows<R,C> implements DataFrameGrouping.Rows<R,C> {
 
 
     /**
-     * Returns a apply with the values of the input apply crystallized to Morpheus arrays
-     * @param input     the input apply for which to crystallize the values
-     * @param <K>       the key type
-     * @return          the crystallized apply
-     */
-    private static <K> Map<Tuple,Array<K>> crystallize(Map<Tuple,ArrayBuilder<K>> input) {
-        final Map<Tuple,Array<K>> output = new HashMap<>(input.size());
-        input.forEach((key, value) -> output.put(key, value.toArray()));
-        return output;
-    }
-
-
-    /**
-     * A RecursiveTask implementation to group a DataFrame along the row dimension
-     */
-    private static class GroupRowsTask<X,Y> extends RecursiveTask<Map<Tuple,ArrayBuilder<X>>> {
-
-        private int from;
-        private int to;
-        private int depth;
-        private boolean parallel;
-        private XDataFrame<X,Y> source;
-        private int threshold = Integer.MAX_VALUE;
-        private Function<DataFrameRow<X,Y>,Tuple> function;
-
-        /**
-         * Constructor
-         * @param source    the source frame to group
-         * @param from      the from index (inclusive)
-         * @param to        the to index (inclusive)
-         * @param depth     the grouping depth
-         * @param parallel  true for parallel mode
-         * @param function  the row grouping function
-         */
-        private GroupRowsTask(XDataFrame<X,Y> source, int from, int to, int depth, boolean parallel, Function<DataFrameRow<X,Y>,Tuple> function) {
-            this.source = source;
-            this.from = from;
-            this.to = to;
-            this.depth = depth;
-            this.parallel = parallel;
-            this.function = function;
-            if (parallel) {
-                this.threshold = DataFrameOptions.getRowSplitThreshold(source);
-            }
-        }
-
-        @Override
-        protected Map<Tuple,ArrayBuilder<X>> compute() {
-            final int count = to - from + 1;
-            if (count > threshold) {
-                return split();
-            } else {
-                final Class<X> keyType = source.rows().keyClass();
-                final Map<Tuple,ArrayBuilder<X>> groupKeyMap = new HashMap<>();
-                final XDataFrameRow<X,Y> row = new XDataFrameRow<>(source, false);
-                for (int i=from; i<=to; ++i) {
-                    row.atOrdinal(i);
-                    final X rowKey = row.key();
-                    try {
-                        final Tuple groupKey = function.apply(row);
-                        for (int level=0; level<depth; ++level) {
-                            final Tuple tuple = groupKey.filter(0, level + 1);
-                            ArrayBuilder<X> groupKeyBuilder = groupKeyMap.get(tuple);
-                            if (groupKeyBuilder == null) {
-                                groupKeyBuilder = ArrayBuilder.of(1000, keyType);
-                                groupKeyMap.put(tuple, groupKeyBuilder);
-                            }
-                            groupKeyBuilder.append(rowKey);
-                        }
-                    } catch (Exception ex) {
-                        throw new DataFrameException("Grouping failed at row: " + rowKey, ex);
-                    }
-                }
-                return groupKeyMap;
-            }
-        }
-
-        /**
-         * Splits into two grouping operations and then combines the results of each
-         * @return      the combined grouping of the two split grouping tasks
-         */
-        private Map<Tuple,ArrayBuilder<X>> split() {
-            final int splitCount = (to - from) / 2;
-            final int midPoint = from + splitCount;
-            final GroupRowsTask<X,Y> left  = new GroupRowsTask<>(source, from, midPoint, depth, parallel, function);
-            final GroupRowsTask<X,Y> right = new GroupRowsTask<>(source, midPoint + 1, to, depth, parallel, function);
-            left.fork();
-            final Map<Tuple,ArrayBuilder<X>> rightAns = right.compute();
-            final Map<Tuple,ArrayBuilder<X>> leftAns  = left.join();
-            leftAns.forEach((key, value) -> {
-                final ArrayBuilder<X> existing = rightAns.get(key);
-                if (existing == null) {
-                    rightAns.put(key, value);
-                } else {
-                    existing.appendAll(value);
-                }
-            });
-            return rightAns;
-        }
-    }
-
-
-    /**
-     * Computes bulk statistics over grouped rows
+     * Computes bulk statistics over grouped rows directly from the row ordinals of each group
      */
     private class GroupedRowStats extends StatsAssembler<DataFrame<Tuple,C>> {
 
@@ -298,20 +255,31 @@ class XDataFrameGroupingRows<R,C> implements DataFrameGrouping.Rows<R,C> {
         protected DataFrame<Tuple,C> compute(Statistic1 stat) {
             try {
                 final int groupCount = getGroupCount(level);
-                final Array<Tuple> groupKeys = getGroupKeys(level).collect(ArrayCollector.of(Tuple.class, groupCount));
+                final Array<Tuple> groupKeys = Array.of(Tuple.class, groupCount);
+                for (int i=0; i<groupCount; ++i) {
+                    groupKeys.setValue(i, groups.key(level, i));
+                }
                 final Array<C> columnKeys = source.cols().filter(DataFrameVector::isNumeric).keyArray();
                 final DataFrame<Tuple,C> result = DataFrame.ofDoubles(groupKeys, columnKeys);
-                result.rows().forEach(row -> {
-                    final Tuple groupKey = row.key();
-                    final DataFrame<R,C> group = getGroup(groupKey);
-                    group.cols().forEach(column -> {
-                        final C colKey = column.key();
-                        if (result.cols().contains(colKey)) {
-                            final double value = column.compute(stat, 0, column.size());
-                            row.setDouble(colKey, value);
+                final IntStream columns = IntStream.range(0, columnKeys.length());
+                final IntConsumer action = j -> {
+                    final Statistic1 statistic = stat.copy();
+                    final int ordinal = source.colKeys().getOrdinal(columnKeys.getValue(j));
+                    for (int group=0; group<groupCount; ++group) {
+                        final int size = groups.size(level, group);
+                        statistic.reset();
+                        for (int i=0; i<size; ++i) {
+                            final int row = groups.ordinal(level, group, i);
+                            statistic.add(source.getDoubleAt(row, ordinal));
                         }
-                    });
-                });
+                        result.setDoubleAt(group, j, statistic.getValue());
+                    }
+                };
+                if (parallel) {
+                    source.executor().run(() -> columns.parallel().forEach(action));
+                } else {
+                    columns.forEach(action);
+                }
                 return result;
             } catch (Exception ex) {
                 throw new DataFrameException("Failed to compute grouped row stats: " + ex.getMessage(), ex);
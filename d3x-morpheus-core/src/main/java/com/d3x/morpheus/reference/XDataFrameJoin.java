@@ -0,0 +1,849 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.reference;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.array.ArrayType;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameException;
+import com.d3x.morpheus.frame.DataFrameJoin;
+import com.d3x.morpheus.range.Range;
+import com.d3x.morpheus.util.Collect;
+
+/**
+ * The default implementation of the DataFrameJoin interface, which joins two frames with a partitioned hash join,
+ * or with a sort-merge join when both frames are already sorted on a single int or long join column.
+ *
+ * <p>The join first resolves the matching pairs of row ordinals, and only then copies data, column by column into
+ * arrays sized to the exact number of output rows, so only the selected columns are ever read. The hash table is
+ * built on the right frame in partitions by key hash, and the left frame is probed in chunks, both in parallel when
+ * the left frame is parallel. Single int or long join columns are hashed and compared as primitive longs.</p>
+ *
+ * <p>An as-of join matches rows with a single two pointer pass over the long codes of both sorted row axes.</p>
+ *
+ * @param <R>   the frame row key type
+ * @param <C>   the frame column key type
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class XDataFrameJoin<R,C> implements DataFrameJoin<R,C> {
+
+    private static final int MAX_PARTITIONS = 64;
+
+    private DataFrame<R,C> left;
+    private DataFrame<?,C> right;
+    private List<C> leftColumns;
+    private List<C> rightColumns;
+
+    /**
+     * Constructor
+     * @param left      the left frame
+     * @param right     the right frame
+     */
+    XDataFrameJoin(DataFrame<R,C> left, DataFrame<?,C> right) {
+        this.left = left;
+        this.right = right;
+    }
+
+
+    @Override
+    public DataFrameJoin<R,C> select(Iterable<C> leftColumns, Iterable<C> rightColumns) {
+        this.leftColumns = leftColumns != null ? Collect.asList(leftColumns) : null;
+        this.rightColumns = rightColumns != null ? Collect.asList(rightColumns) : null;
+        return this;
+    }
+
+
+    @Override
+    @SafeVarargs
+    public final DataFrame<Integer,C> on(Type type, C... columns) {
+        final List<C> keys = new ArrayList<>(columns.length);
+        for (C column : columns) keys.add(column);
+        return on(type, keys, keys);
+    }
+
+
+    @Override
+    public DataFrame<Integer,C> on(Type type, List<C> leftKeys, List<C> rightKeys) {
+        if (leftKeys.isEmpty() || leftKeys.size() != rightKeys.size()) {
+            throw new DataFrameException("A join requires one or more pairs of join columns, not %s and %s", leftKeys, rightKeys);
+        } else {
+            final int[] leftKeyOrdinals = ordinals(left, leftKeys, "left");
+            final int[] rightKeyOrdinals = ordinals(right, rightKeys, "right");
+            final Pairs pairs = pairs(type, leftKeyOrdinals, rightKeyOrdinals);
+            final List<Output> outputs = outputs(leftKeyOrdinals, rightKeyOrdinals);
+            final Range<Integer> rowKeys = Range.of(0, pairs.size);
+            return build(rowKeys, outputs, pairs);
+        }
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public DataFrame<R,C> onRowKeys(Type type) {
+        final Class<R> rowType = left.rows().keyClass();
+        if (!rowType.equals(right.rows().keyClass())) {
+            throw new DataFrameException("Cannot join on row keys of type %s and %s", rowType, right.rows().keyClass());
+        } else {
+            final DataFrame<R,C> other = (DataFrame<R,C>)right;
+            final boolean[] matched = new boolean[other.rowCount()];
+            final Pairs pairs = probe(type, matched, (row, result) -> {
+                final int match = other.rows().ordinal(left.rows().key(row));
+                if (match >= 0) {
+                    matched[match] = true;
+                    result.add(row, match);
+                } else if (type == Type.LEFT || type == Type.OUTER) {
+                    result.add(row, -1);
+                }
+            });
+            final Array<R> rowKeys = Array.of(rowType, pairs.size);
+            for (int i = 0; i < pairs.size; ++i) {
+                final int leftRow = pairs.left[i];
+                rowKeys.setValue(i, leftRow >= 0 ? left.rows().key(leftRow) : other.rows().key(pairs.right[i]));
+            }
+            final List<Output> outputs = outputs(new int[0], new int[0]);
+            return build(rowKeys, outputs, pairs);
+        }
+    }
+
+
+    @Override
+    public DataFrame<R,C> asOf(Direction direction, Duration tolerance) {
+        if (!left.rows().keyClass().equals(right.rows().keyClass())) {
+            throw new DataFrameException("Cannot join on row keys of type %s and %s", left.rows().keyClass(), right.rows().keyClass());
+        } else {
+            final XTemporalKeys<R> leftKeys = new XTemporalKeys<>(left);
+            final long[] leftCodes = leftKeys.codes();
+            final long[] rightCodes = new XTemporalKeys<>(right).codes();
+            final long maxDistance = leftKeys.units(tolerance);
+            final Pairs pairs = new Pairs(leftCodes.length);
+            int lower = -1, upper = 0;
+            for (int row = 0; row < leftCodes.length; ++row) {
+                final long code = leftCodes[row];
+                while (lower + 1 < rightCodes.length && rightCodes[lower + 1] <= code) ++lower;
+                while (upper < rightCodes.length && rightCodes[upper] < code) ++upper;
+                final long below = lower >= 0 ? code - rightCodes[lower] : Long.MAX_VALUE;
+                final long above = upper < rightCodes.length ? rightCodes[upper] - code : Long.MAX_VALUE;
+                final int match;
+                switch (direction) {
+                    case BACKWARD:  match = below <= maxDistance && lower >= 0 ? lower : -1;                break;
+                    case FORWARD:   match = above <= maxDistance && upper < rightCodes.length ? upper : -1;  break;
+                    default:        match = below <= above ? (below <= maxDistance && lower >= 0 ? lower : -1) : (above <= maxDistance ? upper : -1);
+                }
+                pairs.add(row, match);
+            }
+            final List<Output> outputs = outputs(new int[0], new int[0]);
+            return build(left.rows().keyArray(), outputs, pairs);
+        }
+    }
+
+
+    /**
+     * Returns the column ordinals for the keys in the frame specified
+     * @param frame     the frame to search
+     * @param keys      the column keys
+     * @param side      the side of the join for error messages
+     * @return          the column ordinals
+     */
+    private int[] ordinals(DataFrame<?,C> frame, List<C> keys, String side) {
+        final int[] ordinals = new int[keys.size()];
+        for (int i = 0; i < ordinals.length; ++i) {
+            ordinals[i] = frame.cols().ordinal(keys.get(i));
+            if (ordinals[i] < 0) {
+                throw new DataFrameException("The column %s does not exist in the %s frame of the join", keys.get(i), side);
+            }
+        }
+        return ordinals;
+    }
+
+
+    /**
+     * Returns the matching pairs of row ordinals for a join on the columns specified
+     * @param type              the join type
+     * @param leftKeyOrdinals   the join column ordinals in the left frame
+     * @param rightKeyOrdinals  the join column ordinals in the right frame
+     * @return                  the matching pairs of row ordinals
+     */
+    private Pairs pairs(Type type, int[] leftKeyOrdinals, int[] rightKeyOrdinals) {
+        if (leftKeyOrdinals.length == 1 && isIntegral(left, leftKeyOrdinals[0]) && isIntegral(right, rightKeyOrdinals[0])) {
+            final LongKeys leftKeys = new LongKeys(left, leftKeyOrdinals[0]);
+            final LongKeys rightKeys = new LongKeys(right, rightKeyOrdinals[0]);
+            if (leftKeys.isSorted() && rightKeys.isSorted()) {
+                return merge(type, leftKeys.values, rightKeys.values);
+            } else {
+                return hash(type, leftKeys, rightKeys);
+            }
+        } else {
+            final ObjectKeys leftKeys = new ObjectKeys(left, leftKeyOrdinals);
+            final ObjectKeys rightKeys = new ObjectKeys(right, rightKeyOrdinals);
+            return hash(type, leftKeys, rightKeys);
+        }
+    }
+
+
+    /**
+     * Returns true if the column holds int or long values
+     * @param frame     the frame
+     * @param ordinal   the column ordinal
+     * @return          true for an integral column
+     */
+    private static <C> boolean isIntegral(DataFrame<?,C> frame, int ordinal) {
+        final ArrayType type = ArrayType.of(frame.cols().type(frame.cols().key(ordinal)));
+        return type == ArrayType.INTEGER || type == ArrayType.LONG;
+    }
+
+
+    /**
+     * Returns the pairs of row ordinals from a sort-merge join of two sorted key arrays
+     * @param type      the join type
+     * @param left      the sorted left keys
+     * @param right     the sorted right keys
+     * @return          the matching pairs of row ordinals in key order
+     */
+    private static Pairs merge(Type type, long[] left, long[] right) {
+        final boolean keepLeft = type == Type.LEFT || type == Type.OUTER;
+        final boolean keepRight = type == Type.RIGHT || type == Type.OUTER;
+        final Pairs pairs = new Pairs(Math.max(left.length, right.length));
+        int i = 0, j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                if (keepLeft) pairs.add(i, -1);
+                ++i;
+            } else if (left[i] > right[j]) {
+                if (keepRight) pairs.add(-1, j);
+                ++j;
+            } else {
+                final long key = left[i];
+                int leftEnd = i, rightEnd = j;
+                while (leftEnd < left.length && left[leftEnd] == key) ++leftEnd;
+                while (rightEnd < right.length && right[rightEnd] == key) ++rightEnd;
+                for (int x = i; x < leftEnd; ++x) {
+                    for (int y = j; y < rightEnd; ++y) {
+                        pairs.add(x, y);
+                    }
+                }
+                i = leftEnd;
+                j = rightEnd;
+            }
+        }
+        while (keepLeft && i < left.length) pairs.add(i++, -1);
+        while (keepRight && j < right.length) pairs.add(-1, j++);
+        return pairs;
+    }
+
+
+    /**
+     * Returns the pairs of row ordinals from a hash join that builds on the right keys and probes with the left
+     * @param type          the join type
+     * @param leftKeys      the left keys
+     * @param rightKeys     the right keys
+     * @return              the matching pairs of row ordinals
+     */
+    private Pairs hash(Type type, Keys leftKeys, Keys rightKeys) {
+        final HashTable table = new HashTable(rightKeys, partitions());
+        final boolean[] matched = new boolean[rightKeys.size()];
+        return probe(type, matched, (row, result) -> {
+            boolean found = false;
+            if (!leftKeys.isNull(row)) {
+                final int hash = leftKeys.hash(row);
+                for (int match = table.first(hash); match >= 0; match = table.next[match]) {
+                    if (leftKeys.matches(row, rightKeys, match)) {
+                        found = true;
+                        matched[match] = true;
+                        result.add(row, match);
+                    }
+                }
+            }
+            if (!found && (type == Type.LEFT || type == Type.OUTER)) {
+                result.add(row, -1);
+            }
+        });
+    }
+
+
+    /**
+     * Probes each row of the left frame in chunks, and appends unmatched right rows for right and outer joins
+     * @param type      the join type
+     * @param matched   the flags for right rows matched by the probe
+     * @param probe     the probe that adds pairs for a left row
+     * @return          the pairs in left row order, followed by unmatched right rows
+     */
+    private Pairs probe(Type type, boolean[] matched, Probe probe) {
+        final int rowCount = left.rowCount();
+        final int chunkSize = left.isParallel() ? left.executor().splitThreshold(rowCount) : Math.max(1, rowCount);
+        final int chunkCount = Math.max(1, (rowCount + chunkSize - 1) / chunkSize);
+        final Pairs[] chunks = new Pairs[chunkCount];
+        this.forEach(chunkCount, chunk -> {
+            final int from = chunk * chunkSize;
+            final int to = Math.min(rowCount, from + chunkSize);
+            final Pairs result = new Pairs(Math.max(16, to - from));
+            for (int row = from; row < to; ++row) {
+                probe.apply(row, result);
+            }
+            chunks[chunk] = result;
+        });
+        final Pairs pairs = Pairs.concat(chunks);
+        if (type == Type.RIGHT || type == Type.OUTER) {
+            for (int row = 0; row < matched.length; ++row) {
+                if (!matched[row]) {
+                    pairs.add(-1, row);
+                }
+            }
+        }
+        return pairs;
+    }
+
+
+    /**
+     * Returns the number of partitions for the hash table, a power of two
+     * @return  the number of partitions
+     */
+    private int partitions() {
+        if (!left.isParallel()) {
+            return 1;
+        } else {
+            final int parallelism = Math.min(MAX_PARTITIONS, left.executor().getParallelism());
+            return Integer.highestOneBit(Math.max(1, parallelism * 2 - 1));
+        }
+    }
+
+
+    /**
+     * Runs the action for each index in the range [0, count), in parallel if the left frame is parallel
+     * @param count     the number of indexes
+     * @param action    the action for each index
+     */
+    private void forEach(int count, IntConsumer action) {
+        if (count == 1 || !left.isParallel()) {
+            IntStream.range(0, count).forEach(action);
+        } else {
+            left.executor().invoke(new ForEach(0, count, action));
+        }
+    }
+
+
+    /**
+     * Returns the output column definitions for the join, left columns followed by right columns
+     * @param leftKeyOrdinals   the left join column ordinals
+     * @param rightKeyOrdinals  the right join column ordinals, which are omitted from the output
+     * @return                  the output column definitions
+     */
+    private List<Output> outputs(int[] leftKeyOrdinals, int[] rightKeyOrdinals) {
+        final List<Output> outputs = new ArrayList<>();
+        final Set<C> keys = new HashSet<>();
+        final List<C> leftKeys = leftColumns != null ? leftColumns : Collect.asList(left.cols().keyArray());
+        final List<C> rightKeys = rightColumns != null ? rightColumns : Collect.asList(right.cols().keyArray());
+        for (int ordinal : ordinals(left, leftKeys, "left")) {
+            final C key = left.cols().key(ordinal);
+            final int index = indexOf(leftKeyOrdinals, ordinal);
+            final int coalesce = index >= 0 ? rightKeyOrdinals[index] : -1;
+            outputs.add(new Output(key, true, ordinal, coalesce));
+            keys.add(key);
+        }
+        for (int ordinal : ordinals(right, rightKeys, "right")) {
+            if (indexOf(rightKeyOrdinals, ordinal) < 0) {
+                final C key = right.cols().key(ordinal);
+                if (!keys.add(key)) {
+                    throw new DataFrameException("The column %s exists in both frames of the join, select it from one side only", key);
+                } else {
+                    outputs.add(new Output(key, false, ordinal, -1));
+                }
+            }
+        }
+        return outputs;
+    }
+
+
+    /**
+     * Returns the index of the value in the array, -1 if not present
+     * @param values    the array to search
+     * @param value     the value to find
+     * @return          the index of value, or -1
+     */
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; ++i) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    /**
+     * Returns a newly created frame with the output columns copied for the pairs of row ordinals
+     * @param rowKeys   the row keys for the result
+     * @param outputs   the output column definitions
+     * @param pairs     the matching pairs of row ordinals
+     * @return          the joined frame
+     */
+    private <X> DataFrame<X,C> build(Iterable<X> rowKeys, List<Output> outputs, Pairs pairs) {
+        final Array<?>[] arrays = new Array<?>[outputs.size()];
+        this.forEach(arrays.length, index -> arrays[index] = outputs.get(index).copy(pairs));
+        return DataFrame.of(rowKeys, left.cols().keyClass(), columns -> {
+            for (int i = 0; i < arrays.length; ++i) {
+                columns.add(outputs.get(i).key, arrays[i]);
+            }
+        });
+    }
+
+
+    /**
+     * Copies a value from a frame into an output array
+     * @param target    the output array
+     * @param index     the index in the output array
+     * @param frame     the source frame
+     * @param row       the source row ordinal
+     * @param col       the source column ordinal
+     */
+    @SuppressWarnings("unchecked")
+    static void copy(Array<?> target, int index, DataFrame<?,?> frame, int row, int col) {
+        switch (target.typeCode()) {
+            case BOOLEAN:   target.setBoolean(index, frame.getBooleanAt(row, col));  break;
+            case INTEGER:   target.setInt(index, frame.getIntAt(row, col));          break;
+            case LONG:      target.setLong(index, getLongAt(frame, row, col));       break;
+            case DOUBLE:    target.setDouble(index, frame.getDoubleAt(row, col));    break;
+            default:        ((Array<Object>)target).setValue(index, frame.getValueAt(row, col));  break;
+        }
+    }
+
+
+    /**
+     * Returns a value from an int or long column in a frame, widening int values to long
+     * @param frame     the source frame
+     * @param row       the source row ordinal
+     * @param col       the source column ordinal
+     * @return          the value as a long
+     */
+    private static long getLongAt(DataFrame<?,?> frame, int row, int col) {
+        if (isInt(frame, col)) {
+            return frame.getIntAt(row, col);
+        } else {
+            return frame.getLongAt(row, col);
+        }
+    }
+
+
+    /**
+     * Returns true if the column holds int values
+     * @param frame     the frame
+     * @param ordinal   the column ordinal
+     * @return          true for an int column
+     */
+    private static <C> boolean isInt(DataFrame<?,C> frame, int ordinal) {
+        final Class<?> type = frame.cols().type(frame.cols().key(ordinal));
+        return ArrayType.of(type) == ArrayType.INTEGER;
+    }
+
+
+    /**
+     * A definition of an output column and where to source its values
+     */
+    private class Output {
+
+        private C key;
+        private boolean fromLeft;
+        private int ordinal;
+        private int coalesce;
+
+        /**
+         * Constructor
+         * @param key       the output column key
+         * @param fromLeft  true if the column is sourced from the left frame
+         * @param ordinal   the column ordinal in the source frame
+         * @param coalesce  the right frame column ordinal for rows with no left match, -1 for none
+         */
+        Output(C key, boolean fromLeft, int ordinal, int coalesce) {
+            this.key = key;
+            this.fromLeft = fromLeft;
+            this.ordinal = ordinal;
+            this.coalesce = coalesce;
+        }
+
+        /**
+         * Returns the data type for this output column
+         * @return  the data type
+         */
+        private Class<?> type() {
+            final Class<?> type = source().cols().type(source().cols().key(ordinal));
+            if (coalesce < 0) {
+                return type;
+            } else {
+                final Class<?> otherType = right.cols().type(right.cols().key(coalesce));
+                if (type.equals(otherType)) {
+                    return type;
+                } else if (isIntegral(left, ordinal) && isIntegral(right, coalesce)) {
+                    return Long.class;
+                } else {
+                    return Object.class;
+                }
+            }
+        }
+
+        /**
+         * Returns the source frame for this output column
+         * @return  the source frame
+         */
+        private DataFrame<?,C> source() {
+            return fromLeft ? left : right;
+        }
+
+        /**
+         * Returns a newly created array with the values of this column for each pair of row ordinals
+         * @param pairs     the matching pairs of row ordinals
+         * @return          the array of values
+         */
+        private Array<?> copy(Pairs pairs) {
+            final DataFrame<?,C> source = source();
+            final int[] rows = fromLeft ? pairs.left : pairs.right;
+            final Array<?> target = Array.of(type(), pairs.size);
+            for (int i = 0; i < pairs.size; ++i) {
+                final int row = rows[i];
+                if (row >= 0) {
+                    XDataFrameJoin.copy(target, i, source, row, ordinal);
+                } else if (coalesce >= 0) {
+                    XDataFrameJoin.copy(target, i, right, pairs.right[i], coalesce);
+                }
+            }
+            return target;
+        }
+    }
+
+
+    /**
+     * A probe that adds the pairs for a single left row
+     */
+    private interface Probe {
+
+        /**
+         * Adds the pairs for the left row to the result
+         * @param row       the left row ordinal
+         * @param result    the result to add pairs to
+         */
+        void apply(int row, Pairs result);
+    }
+
+
+    /**
+     * A growable list of pairs of left and right row ordinals, where -1 indicates no matching row
+     */
+    private static class Pairs {
+
+        private int size;
+        private int[] left;
+        private int[] right;
+
+        /**
+         * Constructor
+         * @param capacity  the initial capacity
+         */
+        Pairs(int capacity) {
+            this.left = new int[Math.max(1, capacity)];
+            this.right = new int[Math.max(1, capacity)];
+        }
+
+        /**
+         * Adds a pair of row ordinals
+         * @param leftRow   the left row ordinal, -1 for none
+         * @param rightRow  the right row ordinal, -1 for none
+         */
+        void add(int leftRow, int rightRow) {
+            if (size == left.length) {
+                this.left = Arrays.copyOf(left, size * 2);
+                this.right = Arrays.copyOf(right, size * 2);
+            }
+            this.left[size] = leftRow;
+            this.right[size] = rightRow;
+            this.size++;
+        }
+
+        /**
+         * Returns the concatenation of the pairs in the order given
+         * @param chunks    the pairs to concatenate
+         * @return          the concatenated pairs
+         */
+        static Pairs concat(Pairs[] chunks) {
+            if (chunks.length == 1) {
+                return chunks[0];
+            } else {
+                final Pairs result = new Pairs(Arrays.stream(chunks).mapToInt(c -> c.size).sum() + 16);
+                for (Pairs chunk : chunks) {
+                    System.arraycopy(chunk.left, 0, result.left, result.size, chunk.size);
+                    System.arraycopy(chunk.right, 0, result.right, result.size, chunk.size);
+                    result.size += chunk.size;
+                }
+                return result;
+            }
+        }
+    }
+
+
+    /**
+     * The join key values for each row of one side of a join
+     */
+    private static abstract class Keys {
+
+        /**
+         * Returns the number of rows
+         * @return  the row count
+         */
+        abstract int size();
+
+        /**
+         * Returns true if the row has a null key, which never matches
+         * @param row   the row ordinal
+         * @return      true if the key is null
+         */
+        abstract boolean isNull(int row);
+
+        /**
+         * Returns the hash code of the key for the row
+         * @param row   the row ordinal
+         * @return      the hash code of the key
+         */
+        abstract int hash(int row);
+
+        /**
+         * Returns true if the key for the row equals the key of a row in other keys of the same kind
+         * @param row       the row ordinal
+         * @param other     the other keys
+         * @param otherRow  the row ordinal in the other keys
+         * @return          true if the keys match
+         */
+        abstract boolean matches(int row, Keys other, int otherRow);
+    }
+
+
+    /**
+     * Keys for a single int or long join column, held as primitive longs
+     */
+    private static class LongKeys extends Keys {
+
+        private long[] values;
+
+        /**
+         * Constructor
+         * @param frame     the frame
+         * @param ordinal   the join column ordinal
+         */
+        LongKeys(DataFrame<?,?> frame, int ordinal) {
+            this.values = new long[frame.rowCount()];
+            if (isInt(frame, ordinal)) {
+                for (int i = 0; i < values.length; ++i) {
+                    this.values[i] = frame.getIntAt(i, ordinal);
+                }
+            } else {
+                for (int i = 0; i < values.length; ++i) {
+                    this.values[i] = frame.getLongAt(i, ordinal);
+                }
+            }
+        }
+
+        /**
+         * Returns true if the keys are in non-decreasing order
+         * @return  true if sorted
+         */
+        boolean isSorted() {
+            for (int i = 1; i < values.length; ++i) {
+                if (values[i] < values[i-1]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        int size() {
+            return values.length;
+        }
+
+        @Override
+        boolean isNull(int row) {
+            return false;
+        }
+
+        @Override
+        int hash(int row) {
+            final long hash = values[row] * 0x9E3779B97F4A7C15L;
+            return (int)(hash ^ (hash >>> 32));
+        }
+
+        @Override
+        boolean matches(int row, Keys other, int otherRow) {
+            return values[row] == ((LongKeys)other).values[otherRow];
+        }
+    }
+
+
+    /**
+     * Keys for any join columns, where multiple columns are combined into a list per row
+     */
+    private static class ObjectKeys extends Keys {
+
+        private Object[] values;
+
+        /**
+         * Constructor
+         * @param frame     the frame
+         * @param ordinals  the join column ordinals
+         */
+        ObjectKeys(DataFrame<?,?> frame, int[] ordinals) {
+            this.values = new Object[frame.rowCount()];
+            for (int i = 0; i < values.length; ++i) {
+                if (ordinals.length == 1) {
+                    this.values[i] = frame.getValueAt(i, ordinals[0]);
+                } else {
+                    final Object[] key = new Object[ordinals.length];
+                    for (int j = 0; j < key.length; ++j) {
+                        key[j] = frame.getValueAt(i, ordinals[j]);
+                    }
+                    final boolean hasNull = Arrays.stream(key).anyMatch(v -> v == null);
+                    this.values[i] = hasNull ? null : Arrays.asList(key);
+                }
+            }
+        }
+
+        @Override
+        int size() {
+            return values.length;
+        }
+
+        @Override
+        boolean isNull(int row) {
+            return values[row] == null;
+        }
+
+        @Override
+        int hash(int row) {
+            final int hash = values[row].hashCode() * 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+
+        @Override
+        boolean matches(int row, Keys other, int otherRow) {
+            return values[row].equals(((ObjectKeys)other).values[otherRow]);
+        }
+    }
+
+
+    /**
+     * A chained hash table over row ordinals, split into partitions by the low bits of the key hash
+     */
+    private class HashTable {
+
+        private int bits;
+        private int[] next;
+        private int[][] heads;
+
+        /**
+         * Constructor
+         * @param keys          the keys to build the table from
+         * @param partitions    the number of partitions, a power of two
+         */
+        HashTable(Keys keys, int partitions) {
+            final int size = keys.size();
+            final int[] hashes = new int[size];
+            final int[] counts = new int[partitions];
+            this.bits = Integer.numberOfTrailingZeros(partitions);
+            this.next = new int[size];
+            this.heads = new int[partitions][];
+            for (int row = 0; row < size; ++row) {
+                if (!keys.isNull(row)) {
+                    hashes[row] = keys.hash(row);
+                    counts[hashes[row] & (partitions - 1)]++;
+                }
+            }
+            final int[][] rows = new int[partitions][];
+            for (int p = 0; p < partitions; ++p) {
+                rows[p] = new int[counts[p]];
+                counts[p] = 0;
+            }
+            for (int row = 0; row < size; ++row) {
+                if (!keys.isNull(row)) {
+                    final int p = hashes[row] & (partitions - 1);
+                    rows[p][counts[p]++] = row;
+                }
+            }
+            forEach(partitions, p -> {
+                final int[] partition = rows[p];
+                final int[] buckets = new int[Integer.highestOneBit(Math.max(1, partition.length) * 2 - 1) * 2];
+                Arrays.fill(buckets, -1);
+                for (int i = partition.length - 1; i >= 0; --i) {
+                    final int row = partition[i];
+                    final int bucket = (hashes[row] >>> bits) & (buckets.length - 1);
+                    this.next[row] = buckets[bucket];
+                    buckets[bucket] = row;
+                }
+                this.heads[p] = buckets;
+            });
+        }
+
+        /**
+         * Returns the first row ordinal in the chain for the hash, -1 if empty
+         * @param hash  the key hash
+         * @return      the first row ordinal in the chain
+         */
+        int first(int hash) {
+            final int[] buckets = heads[hash & (heads.length - 1)];
+            return buckets[(hash >>> bits) & (buckets.length - 1)];
+        }
+    }
+
+
+    /**
+     * A task that runs an action for each index in a range, splitting down to single indexes
+     */
+    private static class ForEach extends RecursiveAction {
+
+        private int from;
+        private int to;
+        private IntConsumer action;
+
+        /**
+         * Constructor
+         * @param from      the from index, inclusive
+         * @param to        the to index, exclusive
+         * @param action    the action for each index
+         */
+        ForEach(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                final int midPoint = from + (to - from) / 2;
+                invokeAll(new ForEach(from, midPoint, action), new ForEach(midPoint, to, action));
+            } else {
+                this.action.accept(from);
+            }
+        }
+    }
+}
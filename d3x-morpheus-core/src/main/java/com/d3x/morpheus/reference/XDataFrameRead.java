@@ -17,6 +17,8 @@ package com.d3x.morpheus.reference;
 
 import java.util.function.Consumer;
 
+import com.d3x.morpheus.binary.MorpheusSource;
+import com.d3x.morpheus.binary.MorpheusSourceDefault;
 import com.d3x.morpheus.csv.CsvSource;
 import com.d3x.morpheus.csv.CsvSourceDefault;
 import com.d3x.morpheus.frame.DataFrame;
@@ -46,4 +48,14 @@ class XDataFrameRead implements DataFrameRead {
     public <R> DataFrame<R, String> csv(Class<R> rowType, Consumer<CsvSource.Options> configurator) {
         return new CsvSourceDefault(resource).read(rowType, configurator);
     }
+
+    @Override
+    public <R, C> DataFrame<R, C> morpheus(Class<R> rowType, Class<C> colType) {
+        return new MorpheusSourceDefault(resource).read(rowType, colType);
+    }
+
+    @Override
+    public <R, C> DataFrame<R, C> morpheus(Class<R> rowType, Class<C> colType, Consumer<MorpheusSource.Options> configurator) {
+        return new MorpheusSourceDefault(resource).read(rowType, colType, configurator);
+    }
 }
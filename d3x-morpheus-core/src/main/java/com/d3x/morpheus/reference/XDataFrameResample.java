@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.reference;
+
+import java.time.temporal.TemporalAmount;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.array.ArrayType;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameResample;
+import com.d3x.morpheus.stats.Statistic1;
+
+/**
+ * The default implementation of the DataFrameResample interface.
+ *
+ * <p>The bucket boundaries are found in a single pass over the long coded row keys, resolving a calendar boundary
+ * only once per bucket rather than once per row. Each column is then aggregated independently over the buckets,
+ * in parallel across columns if the frame is parallel.</p>
+ *
+ * @param <R>   the frame row key type
+ * @param <C>   the frame column key type
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class XDataFrameResample<R,C> implements DataFrameResample<R,C> {
+
+    private DataFrame<R,C> frame;
+    private TemporalAmount period;
+
+    /**
+     * Constructor
+     * @param frame     the frame to resample
+     * @param period    the bucket period, a Duration or Period
+     */
+    XDataFrameResample(DataFrame<R,C> frame, TemporalAmount period) {
+        this.frame = frame;
+        this.period = period;
+    }
+
+
+    @Override
+    public DataFrame<R,C> first() {
+        return select(true);
+    }
+
+
+    @Override
+    public DataFrame<R,C> last() {
+        return select(false);
+    }
+
+
+    @Override
+    public DataFrame<R,C> apply(Supplier<? extends Statistic1> aggregator) {
+        final Buckets buckets = new Buckets();
+        final List<Integer> cols = IntStream.range(0, frame.colCount())
+            .filter(i -> ArrayType.of(frame.cols().type(frame.cols().key(i))).isNumeric())
+            .boxed().collect(Collectors.toList());
+        final Array<?>[] arrays = new Array<?>[cols.size()];
+        this.forEach(arrays.length, index -> {
+            final int col = cols.get(index);
+            final Statistic1 stat = aggregator.get();
+            final Array<Double> values = Array.of(Double.class, buckets.count);
+            for (int bucket = 0; bucket < buckets.count; ++bucket) {
+                stat.reset();
+                for (int row = buckets.starts[bucket]; row < buckets.starts[bucket+1]; ++row) {
+                    stat.add(frame.getDoubleAt(row, col));
+                }
+                values.setDouble(bucket, stat.getValue());
+            }
+            arrays[index] = values;
+        });
+        return DataFrame.of(buckets.keys, frame.cols().keyClass(), columns -> {
+            for (int i = 0; i < arrays.length; ++i) {
+                columns.add(frame.cols().key(cols.get(i)), arrays[i]);
+            }
+        });
+    }
+
+
+    /**
+     * Returns a frame with the first or last row of each bucket
+     * @param first     true for the first row of each bucket, false for the last
+     * @return          the resampled frame
+     */
+    private DataFrame<R,C> select(boolean first) {
+        final Buckets buckets = new Buckets();
+        final Array<?>[] arrays = new Array<?>[frame.colCount()];
+        this.forEach(arrays.length, col -> {
+            final Array<?> values = Array.of(frame.cols().type(frame.cols().key(col)), buckets.count);
+            for (int bucket = 0; bucket < buckets.count; ++bucket) {
+                final int row = first ? buckets.starts[bucket] : buckets.starts[bucket+1] - 1;
+                XDataFrameJoin.copy(values, bucket, frame, row, col);
+            }
+            arrays[col] = values;
+        });
+        return DataFrame.of(buckets.keys, frame.cols().keyClass(), columns -> {
+            for (int i = 0; i < arrays.length; ++i) {
+                columns.add(frame.cols().key(i), arrays[i]);
+            }
+        });
+    }
+
+
+    /**
+     * Runs the action for each column index, in parallel across columns if the frame is parallel
+     * @param count     the number of columns
+     * @param action    the action for each column index
+     */
+    private void forEach(int count, IntConsumer action) {
+        if (frame.isParallel() && count > 1) {
+            frame.executor().run(() -> IntStream.range(0, count).parallel().forEach(action));
+        } else {
+            IntStream.range(0, count).forEach(action);
+        }
+    }
+
+
+    /**
+     * The row boundaries and keys of the non-empty buckets
+     */
+    private class Buckets {
+
+        private int count;
+        private int[] starts;
+        private Array<R> keys;
+
+        /**
+         * Constructor
+         */
+        Buckets() {
+            final XTemporalKeys<R> temporal = new XTemporalKeys<>(frame);
+            final long[] codes = temporal.codes();
+            final long[] bucketKeys = new long[codes.length];
+            this.starts = new int[codes.length + 1];
+            long end = Long.MIN_VALUE;
+            for (int row = 0; row < codes.length; ++row) {
+                if (row == 0 || codes[row] >= end) {
+                    final long start = temporal.bucketStart(row, period);
+                    end = temporal.bucketEnd(row, start, period);
+                    bucketKeys[count] = start;
+                    starts[count++] = row;
+                }
+            }
+            this.starts[count] = codes.length;
+            this.starts = Arrays.copyOf(starts, count + 1);
+            this.keys = Array.of(temporal.type(), count);
+            for (int i = 0; i < count; ++i) {
+                this.keys.setValue(i, temporal.key(bucketKeys[i], starts[i]));
+            }
+        }
+    }
+}
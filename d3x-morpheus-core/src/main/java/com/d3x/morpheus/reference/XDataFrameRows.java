@@ -33,6 +33,7 @@ import com.d3x.morpheus.frame.DataFrameGrouping;
 import com.d3x.morpheus.frame.DataFrameOptions;
 import com.d3x.morpheus.frame.DataFrameRow;
 import com.d3x.morpheus.frame.DataFrameRows;
+import com.d3x.morpheus.frame.DataFrameSortedIndex;
 import com.d3x.morpheus.frame.DataFrameValue;
 import com.d3x.morpheus.stats.StatType;
 import com.d3x.morpheus.util.Parallel;
@@ -167,6 +168,20 @@ class XDataFrameRows<R,C> extends XDataFrameAxisBase<R,C,R,C,DataFrameRow<R,C>,D
         return new XDataFrameAxisStats<>(frame(), isParallel(), false);
     }
 
+    @Override
+    public final DataFrameSortedIndex<R,C,R> sorted() {
+        return frame().content().indexes().get(frame(), null);
+    }
+
+    @Override
+    public final <V> DataFrameSortedIndex<R,C,V> sorted(C colKey) {
+        if (colKey == null) {
+            throw new DataFrameException("The column key for a sorted index cannot be null");
+        } else {
+            return frame().content().indexes().get(frame(), colKey);
+        }
+    }
+
     @Override @Parallel
     public final DataFrame<R,C> sort(boolean ascending) {
         return XDataFrameSorter.sortRows(frame(), ascending, isParallel());
@@ -0,0 +1,433 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.reference;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.array.ArrayType;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameException;
+import com.d3x.morpheus.frame.DataFrameSortedIndex;
+import com.d3x.morpheus.util.SortAlgorithm;
+
+/**
+ * The default implementation of the DataFrameSortedIndex interface.
+ *
+ * <p>The index is a pair of arrays holding the long codes of the values in ascending order, and the row ordinal
+ * of each code, so every query is a binary search followed by a walk over the matching range. Doubles are coded
+ * so that the natural order of the codes matches the numeric order, and temporal values use the same codes as the
+ * underlying arrays. An index is immutable once built, and is cached by the content of the frame together with
+ * the versions of that content it was built from.</p>
+ *
+ * @param <R>   the frame row key type
+ * @param <C>   the frame column key type
+ * @param <V>   the indexed value type
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class XDataFrameSortedIndex<R,C,V> implements DataFrameSortedIndex<R,C,V> {
+
+    private C colKey;
+    private ArrayType type;
+    private long[] codes;
+    private int[] ordinals;
+    private long keysVersion;
+    private long valuesVersion;
+    private XDataFrame<R,C> frame;
+
+    /**
+     * Constructor
+     * @param frame         the frame this index applies to
+     * @param colKey        the column key, null for an index over the row keys
+     * @param type          the array type of the indexed values
+     * @param codes         the value codes in ascending order
+     * @param ordinals      the row ordinal for each code
+     * @param keysVersion   the version of the row keys this index was built from
+     * @param valuesVersion the version of the data this index was built from
+     */
+    private XDataFrameSortedIndex(XDataFrame<R,C> frame, C colKey, ArrayType type, long[] codes, int[] ordinals, long keysVersion, long valuesVersion) {
+        this.frame = frame;
+        this.colKey = colKey;
+        this.type = type;
+        this.codes = codes;
+        this.ordinals = ordinals;
+        this.keysVersion = keysVersion;
+        this.valuesVersion = valuesVersion;
+    }
+
+
+    /**
+     * Returns a newly created index over the row keys or column values of the frame
+     * @param frame         the frame to index
+     * @param colKey        the column key, null to index the row keys
+     * @param keysVersion   the current version of the row keys
+     * @param valuesVersion the current version of the data
+     * @return              the newly created index
+     */
+    private static <R,C,V> XDataFrameSortedIndex<R,C,V> create(XDataFrame<R,C> frame, C colKey, long keysVersion, long valuesVersion) {
+        final int col = colKey == null ? -1 : frame.cols().ordinal(colKey);
+        if (colKey != null && col < 0) {
+            throw new DataFrameException("No column exists in DataFrame for key: " + colKey);
+        }
+        final Class<?> dataType = colKey == null ? frame.rows().keyClass() : frame.cols().type(colKey);
+        final ArrayType type = ArrayType.of(dataType);
+        final Array<R> keys = colKey == null ? frame.rows().keyArray() : null;
+        final boolean coded = keys != null && keys.typeCode() == type;
+        final int rowCount = frame.rowCount();
+        long[] codes = new long[rowCount];
+        int[] ordinals = new int[rowCount];
+        int count = 0;
+        for (int i = 0; i < rowCount; ++i) {
+            switch (type) {
+                case INTEGER:
+                    codes[count] = keys != null ? keys.getInt(i) : frame.getIntAt(i, col);
+                    ordinals[count++] = i;
+                    break;
+                case LONG:
+                    codes[count] = keys != null ? keys.getLong(i) : frame.getLongAt(i, col);
+                    ordinals[count++] = i;
+                    break;
+                case DOUBLE:
+                    final double value = keys != null ? keys.getDouble(i) : frame.getDoubleAt(i, col);
+                    if (!Double.isNaN(value)) {
+                        codes[count] = code(value);
+                        ordinals[count++] = i;
+                    }
+                    break;
+                case LOCAL_DATE:
+                case LOCAL_DATETIME:
+                case ZONED_DATETIME:
+                case INSTANT:
+                    if (coded) {
+                        codes[count] = keys.getLong(i);
+                        ordinals[count++] = i;
+                    } else {
+                        final Object temporal = keys != null ? keys.getValue(i) : frame.getValueAt(i, col);
+                        if (temporal != null) {
+                            codes[count] = XTemporalKeys.code(type, temporal);
+                            ordinals[count++] = i;
+                        }
+                    }
+                    break;
+                default:
+                    throw new DataFrameException("Sorted indexes require int, long, double or temporal values, not " + dataType.getSimpleName());
+            }
+        }
+        if (count < rowCount) {
+            codes = Arrays.copyOf(codes, count);
+            ordinals = Arrays.copyOf(ordinals, count);
+        }
+        if (!isSorted(codes)) {
+            final long[] values = codes;
+            final int[] rows = ordinals;
+            SortAlgorithm.getDefault(frame.isParallel()).sort(0, count, (i, j) -> {
+                final int result = Long.compare(values[i], values[j]);
+                return result != 0 ? result : Integer.compare(rows[i], rows[j]);
+            }, (i, j) -> {
+                final long code = values[i]; values[i] = values[j]; values[j] = code;
+                final int ordinal = rows[i]; rows[i] = rows[j]; rows[j] = ordinal;
+            });
+        }
+        return new XDataFrameSortedIndex<>(frame, colKey, type, codes, ordinals, keysVersion, valuesVersion);
+    }
+
+
+    /**
+     * Returns true if the codes are already in ascending order, which is common for row keys
+     * @param codes the codes to check
+     * @return      true if in ascending order
+     */
+    private static boolean isSorted(long[] codes) {
+        for (int i = 1; i < codes.length; ++i) {
+            if (codes[i] < codes[i-1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Returns a long code for a double whose signed order matches the numeric order of the values
+     * @param value     the double value, which must not be NaN
+     * @return          the long code
+     */
+    private static long code(double value) {
+        final long bits = Double.doubleToLongBits(value + 0d);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+
+    /**
+     * Returns the long code for a value used to query this index
+     * @param value     the value
+     * @return          the long code
+     */
+    private long code(V value) {
+        if (value == null) {
+            throw new DataFrameException("A sorted index cannot be queried with a null value");
+        } else {
+            switch (type) {
+                case INTEGER:   return ((Number)value).intValue();
+                case LONG:      return ((Number)value).longValue();
+                case DOUBLE:    return code(((Number)value).doubleValue());
+                default:        return XTemporalKeys.code(type, value);
+            }
+        }
+    }
+
+
+    /**
+     * Returns true if this index reflects the versions of the content specified
+     * @param keysVersion   the current version of the row keys
+     * @param valuesVersion the current version of the data
+     * @return              true if this index is current
+     */
+    private boolean isCurrent(long keysVersion, long valuesVersion) {
+        return this.keysVersion == keysVersion && (colKey == null || this.valuesVersion == valuesVersion);
+    }
+
+
+    /**
+     * Returns a shallow copy of this index that applies to the frame specified, which must have the same row ordinals
+     * @param frame the frame to apply to
+     * @return      the index for the frame
+     */
+    private XDataFrameSortedIndex<R,C,V> withFrame(XDataFrame<R,C> frame) {
+        if (this.frame == frame) {
+            return this;
+        } else {
+            return new XDataFrameSortedIndex<>(frame, colKey, type, codes, ordinals, keysVersion, valuesVersion);
+        }
+    }
+
+
+    /**
+     * Returns the first position in this index with a code greater than or equal to the code specified
+     * @param code  the code to search for
+     * @return      the insertion point for the code
+     */
+    private int lowerBound(long code) {
+        int low = 0;
+        int high = codes.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (codes[mid] < code) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+
+    /**
+     * Returns the first position in this index with a code strictly greater than the code specified
+     * @param code  the code to search for
+     * @return      the position after the last code less than or equal to the code
+     */
+    private int upperBound(long code) {
+        int low = 0;
+        int high = codes.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (codes[mid] <= code) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+
+    /**
+     * Returns a filter of the frame with the rows between the positions specified
+     * @param from          the from position, inclusive
+     * @param to            the to position, exclusive
+     * @param descending    true to include rows in descending order of value
+     * @return              the filtered frame
+     */
+    private DataFrame<R,C> select(int from, int to, boolean descending) {
+        final int count = Math.max(0, to - from);
+        final Array<R> keys = Array.of(frame.rows().keyClass(), count);
+        for (int i = 0; i < count; ++i) {
+            final int position = descending ? to - 1 - i : from + i;
+            keys.setValue(i, frame.rows().key(ordinals[position]));
+        }
+        return frame.rows().select(keys);
+    }
+
+
+    @Override
+    public final int size() {
+        return codes.length;
+    }
+
+
+    @Override
+    public final DataFrame<R,C> between(V lower, V upper) {
+        return select(lowerBound(code(lower)), upperBound(code(upper)), false);
+    }
+
+
+    @Override
+    public final DataFrame<R,C> atLeast(V value) {
+        return select(lowerBound(code(value)), codes.length, false);
+    }
+
+
+    @Override
+    public final DataFrame<R,C> below(V value) {
+        return select(0, lowerBound(code(value)), false);
+    }
+
+
+    @Override
+    public final DataFrame<R,C> top(int count) {
+        return select(Math.max(0, codes.length - count), codes.length, true);
+    }
+
+
+    @Override
+    public final DataFrame<R,C> bottom(int count) {
+        return select(0, Math.min(codes.length, Math.max(0, count)), false);
+    }
+
+
+    @Override
+    public final Optional<R> floor(V value) {
+        final int position = upperBound(code(value)) - 1;
+        return position < 0 ? Optional.empty() : Optional.of(frame.rows().key(ordinals[position]));
+    }
+
+
+    @Override
+    public final Optional<R> ceiling(V value) {
+        final int position = lowerBound(code(value));
+        return position >= codes.length ? Optional.empty() : Optional.of(frame.rows().key(ordinals[position]));
+    }
+
+
+    /**
+     * A cache of the sorted indexes over a DataFrameContent, with the versions of the content used to invalidate them.
+     *
+     * <p>Contents that share data arrays, such as filters and transposes, share the versions, so a write through any
+     * of them invalidates the indexes of all of them, while each keeps its own indexes since row ordinals differ.
+     * The versions are plain fields, as the index reflects writes that happen before the query, like any read.
+     * Writes only bump the data version once a column index has been built over the shared content, so that cell
+     * writes, including those of parallel operations, do not all write to the same field when nothing is indexed.</p>
+     */
+    static class Cache {
+
+        private static final Object ROW_KEYS = new Object();
+
+        private Versions versions;
+        private Map<Object,XDataFrameSortedIndex<?,?,?>> indexes;
+
+        /**
+         * Constructor
+         */
+        Cache() {
+            this(new Versions(), new ConcurrentHashMap<>());
+        }
+
+        /**
+         * Constructor
+         * @param versions  the versions of the content
+         * @param indexes   the indexes keyed by column key
+         */
+        private Cache(Versions versions, Map<Object,XDataFrameSortedIndex<?,?,?>> indexes) {
+            this.versions = versions;
+            this.indexes = indexes;
+        }
+
+        /**
+         * Returns a cache for content that shares data arrays with the content of this cache
+         * @return  the cache for the shared content
+         */
+        Cache view() {
+            return new Cache(versions, new ConcurrentHashMap<>());
+        }
+
+        /**
+         * Returns a cache for a copy of the content of this cache, which must preserve row ordinals
+         * @return  the cache for the copied content, which includes the indexes of this cache
+         */
+        Cache copy() {
+            final Versions copy = new Versions();
+            copy.keys = versions.keys;
+            copy.values = versions.values;
+            copy.valuesIndexed = versions.valuesIndexed;
+            return new Cache(copy, new ConcurrentHashMap<>(indexes));
+        }
+
+        /**
+         * Records that row keys have been added or reordered
+         */
+        void keysChanged() {
+            this.versions.keys++;
+        }
+
+        /**
+         * Records that data has been written, which only matters once a column index exists over the content
+         */
+        void valuesChanged() {
+            if (versions.valuesIndexed) {
+                this.versions.values++;
+            }
+        }
+
+        /**
+         * Returns the sorted index over the row keys or column values of the frame, creating it if required
+         * @param frame     the frame, which must be backed by the content of this cache
+         * @param colKey    the column key, null for the row keys
+         * @return          the sorted index
+         */
+        @SuppressWarnings("unchecked")
+        <R,C,V> XDataFrameSortedIndex<R,C,V> get(XDataFrame<R,C> frame, C colKey) {
+            final Object key = colKey != null ? colKey : ROW_KEYS;
+            if (colKey != null && !versions.valuesIndexed) {
+                this.versions.valuesIndexed = true;
+            }
+            final long keysVersion = versions.keys;
+            final long valuesVersion = versions.values;
+            XDataFrameSortedIndex<R,C,V> index = (XDataFrameSortedIndex<R,C,V>)indexes.get(key);
+            if (index == null || !index.isCurrent(keysVersion, valuesVersion)) {
+                index = create(frame, colKey, keysVersion, valuesVersion);
+                this.indexes.put(key, index);
+            }
+            return index.withFrame(frame);
+        }
+    }
+
+
+    /**
+     * The versions of the row keys and data of a content
+     */
+    private static class Versions {
+        private long keys;
+        private long values;
+        private volatile boolean valuesIndexed;
+    }
+}
@@ -69,6 +69,7 @@ class XDataFrameSorter {
      */
     static <R,C> XDataFrame<R,C> sortRows(XDataFrame<R,C> frame, boolean ascending, boolean parallel) {
         frame.rowKeys().sort(parallel, ascending);
+        frame.content().indexes().keysChanged();
         return frame;
     }
 
@@ -82,6 +83,7 @@ class XDataFrameSorter {
      */
     static <R,C> XDataFrame<R,C> sortCols(XDataFrame<R,C> frame, boolean ascending, boolean parallel) {
         frame.colKeys().sort(parallel, ascending);
+        frame.content().indexes().keysChanged();
         return frame;
     }
 
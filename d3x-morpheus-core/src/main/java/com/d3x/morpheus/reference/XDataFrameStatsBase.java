@@ -15,7 +15,6 @@
  */
 package com.d3x.morpheus.reference;
 
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 
 import com.d3x.morpheus.frame.DataFrame;
@@ -43,6 +42,7 @@ import com.d3x.morpheus.stats.SumAbs;
 import com.d3x.morpheus.stats.SumLogs;
 import com.d3x.morpheus.stats.SumSquares;
 import com.d3x.morpheus.stats.Variance;
+import com.d3x.morpheus.util.ExecutorContext;
 
 /**
  * A convenience base class for building Stats implementations that return bulk statistics
@@ -81,6 +81,12 @@ abstract class XDataFrameStatsBase<R,C> implements Stats<DataFrame<R,C>> {
      */
     protected abstract int colCount();
 
+    /**
+     * Returns the execution context for parallel computations
+     * @return  the execution context
+     */
+    protected abstract ExecutorContext executor();
+
     /**
      * Returns true is operates in parallel mode
      * @return      true if operates in parallel mode
@@ -253,7 +259,7 @@ abstract class XDataFrameStatsBase<R,C> implements Stats<DataFrame<R,C>> {
             } else {
                 final StatisticAction action = createStatisticAction(statistic, result);
                 if (isParallel()) {
-                    ForkJoinPool.commonPool().invoke(action);
+                    executor().invoke(action);
                 } else {
                     action.compute();
                 }
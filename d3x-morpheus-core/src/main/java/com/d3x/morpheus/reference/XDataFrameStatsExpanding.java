@@ -19,6 +19,7 @@ import com.d3x.morpheus.frame.DataFrameCursor;
 import com.d3x.morpheus.frame.DataFrameException;
 import com.d3x.morpheus.frame.DataFrameOptions;
 import com.d3x.morpheus.stats.Statistic1;
+import com.d3x.morpheus.util.ExecutorContext;
 
 /**
  * The reference implementation of Stats to provide expanding window statistics in either the row or column dimension of a DataFrame
@@ -60,6 +61,12 @@ class XDataFrameStatsExpanding<R,C> extends XDataFrameStatsBase<R,C> {
     }
 
 
+    @Override
+    protected final ExecutorContext executor() {
+        return frame.executor();
+    }
+
+
     @Override
     protected boolean isViable(Statistic1 statistic) {
         switch (axis) {
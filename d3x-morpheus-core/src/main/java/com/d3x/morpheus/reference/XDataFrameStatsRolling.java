@@ -18,11 +18,16 @@ package com.d3x.morpheus.reference;
 import com.d3x.morpheus.frame.DataFrameCursor;
 import com.d3x.morpheus.frame.DataFrameException;
 import com.d3x.morpheus.frame.DataFrameOptions;
+import com.d3x.morpheus.stats.RollingWindow;
 import com.d3x.morpheus.stats.Statistic1;
+import com.d3x.morpheus.util.ExecutorContext;
 
 /**
  * The reference implementation of Stats to provide rolling window statistics in either the row or column dimension of a DataFrame
  *
+ * <p>Each row or column is copied into a buffer and evaluated with a RollingWindow, which updates the statistic
+ * incrementally where the statistic supports it, and otherwise recomputes each window.</p>
+ *
  * @param <R>       the row key type
  * @param <C>       the column key type
  *
@@ -63,6 +68,12 @@ class XDataFrameStatsRolling<R,C> extends XDataFrameStatsBase<R,C> {
     }
 
 
+    @Override
+    protected final ExecutorContext executor() {
+        return frame.executor();
+    }
+
+
     @Override
     protected boolean isViable(Statistic1 statistic) {
         switch (axis) {
@@ -120,21 +131,22 @@ class XDataFrameStatsRolling<R,C> extends XDataFrameStatsBase<R,C> {
             if (count <= threshold) {
                 final int rowCount = frame.rows().count();
                 final int colCount = frame.cols().count();
+                final int last = Math.min(to, rowCount - 1);
+                final double[] values = new double[colCount];
+                final double[] results = new double[colCount];
+                final RollingWindow window = RollingWindow.of(statistic, windowSize);
                 final DataFrameCursor<R,C> readCursor = frame.cursor();
                 final DataFrameCursor<R,C> writeCursor = result.cursor();
-                for (int rowIndex = from; rowIndex < rowCount; ++rowIndex) {
+                for (int rowIndex = from; rowIndex <= last; ++rowIndex) {
                     readCursor.rowAt(rowIndex);
                     writeCursor.rowAt(rowIndex);
+                    for (int colIndex = 0; colIndex < colCount; ++colIndex) {
+                        values[colIndex] = readCursor.colAt(colIndex).getDouble();
+                    }
+                    window.apply(values, colCount, results);
                     for (int colIndex = windowSize-1; colIndex < colCount; colIndex++) {
-                        this.statistic.reset();
-                        final int from = colIndex - windowSize + 1;
-                        for (int i = from; i <= colIndex; ++i) {
-                            final double value = readCursor.colAt(i).getDouble();
-                            this.statistic.add(value);
-                        }
-                        final double statValue = statistic.getValue();
                         writeCursor.colAt(colIndex);
-                        writeCursor.setDouble(statValue);
+                        writeCursor.setDouble(results[colIndex]);
                     }
                 }
             } else {
@@ -180,22 +192,22 @@ class XDataFrameStatsRolling<R,C> extends XDataFrameStatsBase<R,C> {
             if (count <= threshold) {
                 final int rowCount = frame.rows().count();
                 final int colCount = frame.cols().count();
+                final int last = Math.min(to, colCount - 1);
+                final double[] values = new double[rowCount];
+                final double[] results = new double[rowCount];
+                final RollingWindow window = RollingWindow.of(statistic, windowSize);
                 final DataFrameCursor<R,C> readCursor = frame.cursor();
                 final DataFrameCursor<R,C> writeCursor = result.cursor();
-                for (int colIndex = from; colIndex < colCount; ++colIndex) {
+                for (int colIndex = from; colIndex <= last; ++colIndex) {
                     readCursor.colAt(colIndex);
                     writeCursor.colAt(colIndex);
+                    for (int rowIndex = 0; rowIndex < rowCount; ++rowIndex) {
+                        values[rowIndex] = readCursor.rowAt(rowIndex).getDouble();
+                    }
+                    window.apply(values, rowCount, results);
                     for (int rowIndex = windowSize-1; rowIndex < rowCount; rowIndex++) {
-                        this.statistic.reset();
-                        final int from = rowIndex - windowSize + 1;
-                        for (int i = from; i <= rowIndex; ++i) {
-                            readCursor.rowAt(i);
-                            final double value = readCursor.getDouble();
-                            this.statistic.add(value);
-                        }
-                        final double statValue = statistic.getValue();
                         writeCursor.rowAt(rowIndex);
-                        writeCursor.setDouble(statValue);
+                        writeCursor.setDouble(results[rowIndex]);
                     }
                 }
             } else {
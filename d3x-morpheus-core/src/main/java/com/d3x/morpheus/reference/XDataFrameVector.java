@@ -381,8 +381,7 @@ abstract class XDataFrameVector<X,Y,R,C,Z> implements DataFrameVector<X,Y,R,C,Z>
         if (valueCount == 0) {
             return Stream.empty();
         } else {
-            var partitionSize = valueCount / Runtime.getRuntime().availableProcessors();
-            var splitThreshold = Math.max(partitionSize, 5000);
+            var splitThreshold = frame().executor().splitThreshold(valueCount);
             return StreamSupport.stream(new DataFrameValueSpliterator<>(0, valueCount-1, valueCount, splitThreshold), isParallel());
         }
     }
@@ -19,6 +19,8 @@ import java.io.File;
 import java.io.OutputStream;
 import java.net.URL;
 
+import com.d3x.morpheus.binary.MorpheusSink;
+import com.d3x.morpheus.binary.MorpheusSinkDefault;
 import com.d3x.morpheus.csv.CsvSink;
 import com.d3x.morpheus.csv.CsvSinkDefault;
 import com.d3x.morpheus.frame.DataFrame;
@@ -56,4 +58,14 @@ class XDataFrameWrite<R,C> implements DataFrameWrite<R,C> {
     public CsvSink<R, C> csv(String resource) {
         return new CsvSinkDefault<>(Resource.of(resource), frame);
     }
+
+    @Override
+    public MorpheusSink<R, C> morpheus(File file) {
+        return new MorpheusSinkDefault<>(Resource.of(file), frame);
+    }
+
+    @Override
+    public MorpheusSink<R, C> morpheus(String path) {
+        return new MorpheusSinkDefault<>(Resource.of(new File(path)), frame);
+    }
 }
@@ -0,0 +1,291 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.reference;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAmount;
+
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.array.ArrayType;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameException;
+
+/**
+ * The row keys of a frame keyed by LocalDate, LocalDateTime, ZonedDateTime or Instant, held as the long codes used by
+ * the underlying arrays, which are epoch days for LocalDate and epoch millis in UTC for the other types.
+ *
+ * <p>Calendar buckets of ZonedDateTime keys are aligned to local dates in the zone of each key, while those of the
+ * other time based keys are aligned to UTC dates.</p>
+ *
+ * @param <K>   the key type
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class XTemporalKeys<K> {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private Class<K> type;
+    private ArrayType arrayType;
+    private long[] codes;
+    private ZoneId[] zones;
+
+    /**
+     * Constructor
+     * @param frame     the frame whose row keys to read
+     */
+    XTemporalKeys(DataFrame<K,?> frame) {
+        this.type = frame.rows().keyClass();
+        this.arrayType = ArrayType.of(type);
+        switch (arrayType) {
+            case LOCAL_DATE:
+            case LOCAL_DATETIME:
+            case ZONED_DATETIME:
+            case INSTANT:
+                final Array<K> keys = frame.rows().keyArray();
+                final boolean coded = keys.typeCode() == arrayType;
+                this.codes = new long[keys.length()];
+                for (int i = 0; i < codes.length; ++i) {
+                    this.codes[i] = coded ? keys.getLong(i) : code(arrayType, keys.getValue(i));
+                }
+                if (arrayType == ArrayType.ZONED_DATETIME) {
+                    this.zones = new ZoneId[codes.length];
+                    for (int i = 0; i < zones.length; ++i) {
+                        this.zones[i] = ((ZonedDateTime)keys.getValue(i)).getZone();
+                    }
+                }
+                break;
+            default:
+                throw new DataFrameException("Row keys must be LocalDate, LocalDateTime, ZonedDateTime or Instant, not %s", type);
+        }
+        for (int i = 1; i < codes.length; ++i) {
+            if (codes[i] < codes[i-1]) {
+                throw new DataFrameException("Row keys must be sorted in ascending order, see rows().sort(true)");
+            }
+        }
+    }
+
+
+    /**
+     * Returns the key type
+     * @return  the key type
+     */
+    Class<K> type() {
+        return type;
+    }
+
+
+    /**
+     * Returns the sorted long codes of the keys
+     * @return  the sorted key codes
+     */
+    long[] codes() {
+        return codes;
+    }
+
+
+    /**
+     * Returns the number of code units in a day, 1 for LocalDate, otherwise the millis in a day
+     * @return  the code units per day
+     */
+    long unitsPerDay() {
+        return arrayType == ArrayType.LOCAL_DATE ? 1L : MILLIS_PER_DAY;
+    }
+
+
+    /**
+     * Returns the duration expressed in code units for these keys, truncated to whole days for LocalDate
+     * @param duration  the duration, null for unlimited
+     * @return          the duration in code units
+     */
+    long units(Duration duration) {
+        if (duration == null) {
+            return Long.MAX_VALUE;
+        } else if (duration.isNegative()) {
+            throw new DataFrameException("The duration cannot be negative: %s", duration);
+        } else {
+            return arrayType == ArrayType.LOCAL_DATE ? duration.toDays() : duration.toMillis();
+        }
+    }
+
+
+    /**
+     * Returns the long code for a temporal key
+     * @param arrayType the array type of the key
+     * @param key       the key
+     * @return          the long code
+     */
+    static long code(ArrayType arrayType, Object key) {
+        switch (arrayType) {
+            case LOCAL_DATE:        return ((LocalDate)key).toEpochDay();
+            case LOCAL_DATETIME:    return ((LocalDateTime)key).toInstant(ZoneOffset.UTC).toEpochMilli();
+            case ZONED_DATETIME:    return ((ZonedDateTime)key).toInstant().toEpochMilli();
+            default:                return ((Instant)key).toEpochMilli();
+        }
+    }
+
+
+    /**
+     * Returns the key for a long code, in the zone of the key at the row specified for ZonedDateTime
+     * @param code  the long code
+     * @param row   the row of the key whose zone to use
+     * @return      the key
+     */
+    K key(long code, int row) {
+        switch (arrayType) {
+            case LOCAL_DATE:        return type.cast(LocalDate.ofEpochDay(code));
+            case LOCAL_DATETIME:    return type.cast(LocalDateTime.ofInstant(Instant.ofEpochMilli(code), ZoneOffset.UTC));
+            case ZONED_DATETIME:    return type.cast(ZonedDateTime.ofInstant(Instant.ofEpochMilli(code), zones[row]));
+            default:                return type.cast(Instant.ofEpochMilli(code));
+        }
+    }
+
+
+    /**
+     * Returns the start code of the bucket that contains the key at the row specified, for buckets of the period specified
+     * @param row       the row of the key
+     * @param period    the bucket period, a Duration or Period
+     * @return          the start code of the bucket
+     */
+    long bucketStart(int row, TemporalAmount period) {
+        final long code = codes[row];
+        final ZoneId zone = zone(row);
+        final long months = months(period);
+        if (months > 0) {
+            final LocalDate date = localDate(code, zone);
+            final long index = Math.floorDiv(date.getYear() * 12L + date.getMonthValue() - 1, months) * months;
+            final LocalDate start = LocalDate.of((int)Math.floorDiv(index, 12), Math.floorMod(index, 12) + 1, 1);
+            return code(start, zone);
+        } else if (period instanceof Period) {
+            final long days = width(period) / unitsPerDay();
+            final long day = localDate(code, zone).toEpochDay();
+            return code(LocalDate.ofEpochDay(Math.floorDiv(day, days) * days), zone);
+        } else {
+            final long width = width(period);
+            return Math.floorDiv(code, width) * width;
+        }
+    }
+
+
+    /**
+     * Returns the end code, exclusive, of the bucket that starts at the code specified
+     * @param row       the row of the key that opened the bucket
+     * @param start     the start code of the bucket
+     * @param period    the bucket period, a Duration or Period
+     * @return          the end code of the bucket
+     */
+    long bucketEnd(int row, long start, TemporalAmount period) {
+        final ZoneId zone = zone(row);
+        final long months = months(period);
+        if (months > 0) {
+            return code(localDate(start, zone).plusMonths(months), zone);
+        } else if (period instanceof Period) {
+            return code(localDate(start, zone).plusDays(width(period) / unitsPerDay()), zone);
+        } else {
+            return start + width(period);
+        }
+    }
+
+
+    /**
+     * Returns the zone of the key at the row specified, null unless the keys are ZonedDateTime
+     * @param row   the row of the key
+     * @return      the zone of the key, or null
+     */
+    private ZoneId zone(int row) {
+        return zones != null ? zones[row] : null;
+    }
+
+
+    /**
+     * Returns the local date of a code, in the zone specified or in UTC if the zone is null
+     * @param code  the code
+     * @param zone  the zone, null for UTC
+     * @return      the local date
+     */
+    private LocalDate localDate(long code, ZoneId zone) {
+        if (zone == null) {
+            return LocalDate.ofEpochDay(Math.floorDiv(code, unitsPerDay()));
+        } else {
+            return Instant.ofEpochMilli(code).atZone(zone).toLocalDate();
+        }
+    }
+
+
+    /**
+     * Returns the code for the start of a local date, in the zone specified or in UTC if the zone is null
+     * @param date  the local date
+     * @param zone  the zone, null for UTC
+     * @return      the code for the start of the date
+     */
+    private long code(LocalDate date, ZoneId zone) {
+        if (zone == null) {
+            return date.toEpochDay() * unitsPerDay();
+        } else {
+            return date.atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+    }
+
+
+    /**
+     * Returns the number of months in a calendar period, 0 for a fixed width period
+     * @param period    the period
+     * @return          the number of months
+     */
+    private long months(TemporalAmount period) {
+        if (period instanceof Period) {
+            final Period value = (Period)period;
+            if (value.toTotalMonths() > 0 && value.getDays() != 0) {
+                throw new DataFrameException("A resample period cannot combine months and days: %s", period);
+            } else {
+                return Math.max(0L, value.toTotalMonths());
+            }
+        } else {
+            return 0L;
+        }
+    }
+
+
+    /**
+     * Returns the width in code units of a fixed width period
+     * @param period    the period
+     * @return          the width in code units
+     */
+    private long width(TemporalAmount period) {
+        final long width;
+        if (period instanceof Period) {
+            width = ((Period)period).getDays() * unitsPerDay();
+        } else if (period instanceof Duration) {
+            width = units((Duration)period);
+        } else {
+            throw new DataFrameException("Unsupported resample period, expected Duration or Period: %s", period);
+        }
+        if (width <= 0) {
+            throw new DataFrameException("The resample period must be at least one %s: %s", arrayType == ArrayType.LOCAL_DATE ? "day" : "milli", period);
+        } else {
+            return width;
+        }
+    }
+}
@@ -15,7 +15,6 @@
  */
 package com.d3x.morpheus.reference.algebra;
 
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 
 import com.d3x.morpheus.array.Array;
@@ -24,7 +23,9 @@ import com.d3x.morpheus.frame.DataFrame;
 import com.d3x.morpheus.frame.DataFrameAlgebra;
 import com.d3x.morpheus.frame.DataFrameColumn;
 import com.d3x.morpheus.frame.DataFrameException;
+import com.d3x.morpheus.jama.BlockedAlgebra;
 import com.d3x.morpheus.util.Asserts;
+import com.d3x.morpheus.util.ExecutorContext;
 
 /**
  * A convenience base class for building third-party library specific implementations for DataFrame Linear Algebra functionality.
@@ -79,6 +80,34 @@ public abstract class XDataFrameAlgebra<R,C> implements DataFrameAlgebra<R,C> {
     }
 
 
+    /**
+     * Returns true if the frame is large enough to use the cache-blocked, parallel algorithms
+     * @param frame     the frame reference
+     * @return          true if the frame element count is at or above the blocked threshold
+     * @see DataFrameAlgebra#BLOCKED_THRESHOLD
+     */
+    protected static boolean isLarge(DataFrame<?,?> frame) {
+        final Integer threshold = DataFrameAlgebra.BLOCKED_THRESHOLD.get();
+        return threshold != null && (long)frame.rowCount() * frame.colCount() >= threshold;
+    }
+
+
+    /**
+     * Returns a row-major copy of the values in the frame
+     * @param frame     the frame reference
+     * @return          the frame values as doubles
+     */
+    protected static double[][] toArray(DataFrame<?,?> frame) {
+        final double[][] values = new double[frame.rowCount()][frame.colCount()];
+        frame.forEachValue(v -> {
+            final int i = v.rowOrdinal();
+            final int j = v.colOrdinal();
+            values[i][j] = v.getDouble();
+        });
+        return values;
+    }
+
+
     @Override
     public final DataFrame<R,C> plus(Number scalar) throws DataFrameException {
         try {
@@ -311,12 +340,20 @@ public abstract class XDataFrameAlgebra<R,C> implements DataFrameAlgebra<R,C> {
             final DataFrame<R,C> left = frame();
             final Array<R> rowKeys = left.rows().keyArray();
             final Array<Y> colKeys = right.cols().keyArray();
+            if (isLarge(left) || isLarge(right)) {
+                Asserts.check(left.colCount() == right.rowCount(), "The column count of the left frame must match the row count of the right");
+                final double[][] a = toArray(left);
+                final double[][] b = toArray(right);
+                final ExecutorContext executor = frame().isParallel() ? frame().executor() : null;
+                final double[][] c = BlockedAlgebra.multiply(a, b, left.rowCount(), left.colCount(), right.colCount(), executor);
+                return DataFrame.ofDoubles(rowKeys, colKeys, v -> c[v.rowOrdinal()][v.colOrdinal()]);
+            }
             final DataFrame<R,Y> result = DataFrame.ofDoubles(rowKeys, colKeys);
             final int count = result.rowCount() * result.colCount();
             if (frame().isParallel()) {
-                final int threshold = Math.max(10, count / Runtime.getRuntime().availableProcessors());
+                final int threshold = frame().executor().splitThreshold(count, left.colCount());
                 final DotProduct action = new DotProduct(left, right, result, 0, count, threshold);
-                ForkJoinPool.commonPool().invoke(action);
+                frame().executor().invoke(action);
             } else {
                 final int threshold = Integer.MAX_VALUE;
                 final DotProduct action = new DotProduct(left, right, result, 0, count, threshold);
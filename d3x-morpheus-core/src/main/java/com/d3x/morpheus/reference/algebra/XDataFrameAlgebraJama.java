@@ -61,7 +61,7 @@ class XDataFrameAlgebraJama<R,C> extends XDataFrameAlgebra<R,C> {
     public DataFrame<Integer,Integer> inverse() throws DataFrameException {
         try {
             final Matrix matrix = toMatrix(frame());
-            final Matrix inverse = matrix.inverse();
+            final Matrix inverse = matrix.inverse(isLarge(frame()));
             return toDataFrame(inverse);
         } catch (Exception ex) {
             throw new DataFrameException("Failed to compute inverse of DataFrame", ex);
@@ -73,7 +73,7 @@ class XDataFrameAlgebraJama<R,C> extends XDataFrameAlgebra<R,C> {
         try {
             final Matrix b = toMatrix(rhs);
             final Matrix a = toMatrix(frame());
-            final Matrix x =  a.solve(b);
+            final Matrix x =  a.solve(b, isLarge(frame()));
             return toDataFrame(x);
         } catch (Exception ex) {
             throw new DataFrameException("Failed to solve AX=B for frames", ex);
@@ -101,14 +101,7 @@ class XDataFrameAlgebraJama<R,C> extends XDataFrameAlgebra<R,C> {
      * @return          the JAMA matrix
      */
     private Matrix toMatrix(DataFrame<?,?> frame) {
-        final Matrix matrix = new Matrix(frame.rowCount(), frame.colCount());
-        frame.forEachValue(v -> {
-            final int i = v.rowOrdinal();
-            final int j = v.colOrdinal();
-            final double value = v.getDouble();
-            matrix.set(i, j, value);
-        });
-        return matrix;
+        return new Matrix(toArray(frame), frame.rowCount(), frame.colCount());
     }
 
 
@@ -129,12 +122,12 @@ class XDataFrameAlgebraJama<R,C> extends XDataFrameAlgebra<R,C> {
 
         @Override
         public <T> Optional<T> lud(Function<LUD, Optional<T>> handler) {
-            return handler.apply(new XLUD(toMatrix(frame)));
+            return handler.apply(new XLUD(toMatrix(frame), isLarge(frame)));
         }
 
         @Override
         public <T> Optional<T> qrd(Function<QRD, Optional<T>> handler) {
-            return handler.apply(new XQRD(toMatrix(frame)));
+            return handler.apply(new XQRD(toMatrix(frame), isLarge(frame)));
         }
 
         @Override
@@ -149,7 +142,7 @@ class XDataFrameAlgebraJama<R,C> extends XDataFrameAlgebra<R,C> {
 
         @Override
         public <T> Optional<T> cd(Function<CD, Optional<T>> handler) {
-            return handler.apply(new XCD(toMatrix(frame)));
+            return handler.apply(new XCD(toMatrix(frame), isLarge(frame)));
         }
 
     }
@@ -168,9 +161,10 @@ class XDataFrameAlgebraJama<R,C> extends XDataFrameAlgebra<R,C> {
         /**
          * Constructor
          * @param matrix    the matrix to decompose
+         * @param blocked   true to use the blocked, parallel algorithm
          */
-        private XLUD(Matrix matrix) {
-            this.lud = new LUDecomposition(matrix);
+        private XLUD(Matrix matrix, boolean blocked) {
+            this.lud = new LUDecomposition(matrix, blocked);
             this.l = LazyValue.of(() -> toDataFrame(lud.getL()));
             this.u = LazyValue.of(() -> toDataFrame(lud.getU()));
             this.p = LazyValue.of(() -> toDataFrame(null));
@@ -222,9 +216,10 @@ class XDataFrameAlgebraJama<R,C> extends XDataFrameAlgebra<R,C> {
         /**
          * Constructor
          * @param matrix    the input matrix
+         * @param blocked   true to use the blocked, parallel algorithm
          */
-        XQRD(Matrix matrix) {
-            this.qrd = new QRDecomposition(matrix);
+        XQRD(Matrix matrix, boolean blocked) {
+            this.qrd = new QRDecomposition(matrix, blocked);
             this.q = LazyValue.of(() -> toDataFrame(qrd.getQ()));
             this.r = LazyValue.of(() -> toDataFrame(qrd.getR()));
         }
@@ -347,9 +342,10 @@ class XDataFrameAlgebraJama<R,C> extends XDataFrameAlgebra<R,C> {
         /**
          * Constructor
          * @param matrix    the input matrix
+         * @param blocked   true to use the blocked, parallel algorithm
          */
-        XCD(Matrix matrix) {
-            this.cd = new CholeskyDecomposition(matrix);
+        XCD(Matrix matrix, boolean blocked) {
+            this.cd = new CholeskyDecomposition(matrix, blocked);
             this.l = LazyValue.of(() -> toDataFrame(cd.getL()));
         }
 
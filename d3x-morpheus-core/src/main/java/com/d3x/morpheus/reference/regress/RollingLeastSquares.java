@@ -0,0 +1,368 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.reference.regress;
+
+import java.util.Arrays;
+
+/**
+ * An incremental Ordinary Least Squares estimator that fits a model to every rolling or expanding window of a series.
+ *
+ * <p>The estimator accumulates the normal equations X'X and X'y, along with y'y and the sum of y, as rows enter and
+ * leave the window, and keeps the inverse of X'X current with Sherman-Morrison rank-one updates, so each row costs
+ * O(p^2) for p parameters. To bound the accumulation of rounding errors, the sums are recomputed from the rows in
+ * the window and the inverse is recomputed by Cholesky decomposition once every window length (or every
+ * REFRESH_INTERVAL rows for an expanding window), which keeps the amortized cost per row at O(p^2). A rank-one
+ * update that would make the inverse ill-conditioned triggers an immediate Cholesky recompute instead.</p>
+ *
+ * <p>Instances hold mutable working state and are not thread safe, so each thread must use its own instance.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+final class RollingLeastSquares {
+
+    /** The number of rows between full recomputes of the inverse for expanding windows */
+    static final int REFRESH_INTERVAL = 256;
+    /** The index of the observation count in the stats output */
+    static final int N = 0;
+    /** The index of the R-squared in the stats output */
+    static final int R_SQUARED = 1;
+    /** The index of the adjusted R-squared in the stats output */
+    static final int R_SQUARED_ADJ = 2;
+    /** The index of the regression standard error in the stats output */
+    static final int STD_ERROR = 3;
+
+    private static final double SINGULAR_THRESHOLD = 1E-10;
+    private static final double UPDATE_THRESHOLD = 1E-6;
+
+    private int p;
+    private int n;
+    private int steps;
+    private int window;
+    private int minObs;
+    private int refreshInterval;
+    private boolean rolling;
+    private boolean intercept;
+    private boolean inverseValid;
+    private double yty;
+    private double sumY;
+    private double[] z;
+    private double[] u;
+    private double[] xty;
+    private double[][] xtx;
+    private double[][] factor;
+    private double[][] inverse;
+
+
+    /**
+     * Constructor
+     * @param regressors    the number of regressors, excluding the intercept
+     * @param intercept     true to include an intercept / constant term in the model
+     * @param window        the number of rows in a rolling window, or zero for an expanding window
+     * @param minObs        the minimum number of observations required to fit the model
+     */
+    RollingLeastSquares(int regressors, boolean intercept, int window, int minObs) {
+        this.intercept = intercept;
+        this.p = regressors + (intercept ? 1 : 0);
+        this.rolling = window > 0;
+        this.window = window;
+        this.minObs = Math.max(minObs, p + 1);
+        this.refreshInterval = rolling ? window : REFRESH_INTERVAL;
+        this.z = new double[p];
+        this.u = new double[p];
+        this.xty = new double[p];
+        this.xtx = new double[p][p];
+        this.factor = new double[p][p];
+        this.inverse = new double[p][p];
+    }
+
+
+    /**
+     * Returns the number of parameters in the model, including the intercept
+     * @return  the number of model parameters
+     */
+    int getParameterCount() {
+        return p;
+    }
+
+
+    /**
+     * Fits the model to the window ending at every row of the series
+     * <p>Parameters are ordered with the intercept first, if present, followed by the regressors. The output
+     * values for rows whose window has too few observations, or a singular design matrix, are NaN.</p>
+     * @param y             the regressand values
+     * @param x             the regressor values, with one array per regressor
+     * @param betas         the output parameter estimates, with one array of series length per parameter
+     * @param stdErrors     the output parameter standard errors, with one array of series length per parameter
+     * @param stats         the output N, R_SQUARED, R_SQUARED_ADJ and STD_ERROR, with one array of series length each
+     */
+    void fit(double[] y, double[][] x, double[][] betas, double[][] stdErrors, double[][] stats) {
+        this.reset();
+        for (int t = 0; t < y.length; ++t) {
+            if (rolling && t >= window && isValid(y, x, t - window)) {
+                this.update(y, x, t - window, -1d);
+            }
+            if (isValid(y, x, t)) {
+                this.update(y, x, t, 1d);
+            }
+            if (++steps >= refreshInterval) {
+                this.refresh(y, x, t);
+            } else if (!inverseValid && n >= p) {
+                this.inverseValid = invert();
+            }
+            if (rolling && t < window - 1) {
+                this.writeMissing(t, betas, stdErrors, stats);
+            } else {
+                this.write(t, betas, stdErrors, stats);
+            }
+        }
+    }
+
+
+    /**
+     * Resets all working state before fitting a new series
+     */
+    private void reset() {
+        this.n = 0;
+        this.steps = 0;
+        this.yty = 0d;
+        this.sumY = 0d;
+        this.inverseValid = false;
+        Arrays.fill(xty, 0d);
+        for (double[] row : xtx) {
+            Arrays.fill(row, 0d);
+        }
+    }
+
+
+    /**
+     * Returns true if the regressand and all regressors are finite for the row
+     * @param y     the regressand values
+     * @param x     the regressor values
+     * @param row   the row index
+     * @return      true if the row is a valid observation
+     */
+    private boolean isValid(double[] y, double[][] x, int row) {
+        if (!Double.isFinite(y[row])) {
+            return false;
+        } else {
+            for (double[] column : x) {
+                if (!Double.isFinite(column[row])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+
+    /**
+     * Loads the design matrix row into the z working vector
+     * @param x     the regressor values
+     * @param row   the row index
+     */
+    private void load(double[][] x, int row) {
+        final int offset = intercept ? 1 : 0;
+        if (intercept) {
+            this.z[0] = 1d;
+        }
+        for (int j = 0; j < x.length; ++j) {
+            this.z[j + offset] = x[j][row];
+        }
+    }
+
+
+    /**
+     * Adds or removes the row in the sums of the normal equations, without touching the inverse
+     * @param y     the regressand values
+     * @param x     the regressor values
+     * @param row   the row index
+     * @param sign  1 to add the row, -1 to remove the row
+     */
+    private void accumulate(double[] y, double[][] x, int row, double sign) {
+        this.load(x, row);
+        final double value = y[row];
+        for (int i = 0; i < p; ++i) {
+            final double zi = sign * z[i];
+            this.xty[i] += zi * value;
+            for (int j = 0; j < p; ++j) {
+                this.xtx[i][j] += zi * z[j];
+            }
+        }
+        this.yty += sign * value * value;
+        this.sumY += sign * value;
+        this.n += (int)sign;
+    }
+
+
+    /**
+     * Adds or removes the row, applying a Sherman-Morrison rank-one update to the inverse of X'X
+     * @param y     the regressand values
+     * @param x     the regressor values
+     * @param row   the row index
+     * @param sign  1 to add the row, -1 to remove the row
+     */
+    private void update(double[] y, double[][] x, int row, double sign) {
+        this.accumulate(y, x, row, sign);
+        if (inverseValid) {
+            double denominator = 1d;
+            for (int i = 0; i < p; ++i) {
+                double sum = 0d;
+                for (int j = 0; j < p; ++j) {
+                    sum += inverse[i][j] * z[j];
+                }
+                this.u[i] = sum;
+                denominator += sign * z[i] * sum;
+            }
+            if (!(denominator > UPDATE_THRESHOLD)) {
+                this.inverseValid = false;
+            } else {
+                final double scale = sign / denominator;
+                for (int i = 0; i < p; ++i) {
+                    final double ui = scale * u[i];
+                    for (int j = 0; j < p; ++j) {
+                        this.inverse[i][j] -= ui * u[j];
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Recomputes the sums from the rows in the window ending at t, and recomputes the inverse
+     * @param y     the regressand values
+     * @param x     the regressor values
+     * @param t     the index of the last row in the window
+     */
+    private void refresh(double[] y, double[][] x, int t) {
+        if (rolling) {
+            this.reset();
+            for (int row = Math.max(0, t - window + 1); row <= t; ++row) {
+                if (isValid(y, x, row)) {
+                    this.accumulate(y, x, row, 1d);
+                }
+            }
+        }
+        this.steps = 0;
+        this.inverseValid = n >= p && invert();
+    }
+
+
+    /**
+     * Computes the inverse of X'X by Cholesky decomposition
+     * @return  true if X'X is positive definite, false if it is singular or nearly so
+     */
+    private boolean invert() {
+        final double[][] l = factor;
+        for (int j = 0; j < p; ++j) {
+            double pivot = xtx[j][j];
+            for (int k = 0; k < j; ++k) {
+                pivot -= l[j][k] * l[j][k];
+            }
+            if (!(pivot > SINGULAR_THRESHOLD * xtx[j][j])) {
+                return false;
+            }
+            l[j][j] = Math.sqrt(pivot);
+            for (int i = j + 1; i < p; ++i) {
+                double sum = xtx[i][j];
+                for (int k = 0; k < j; ++k) {
+                    sum -= l[i][k] * l[j][k];
+                }
+                l[i][j] = sum / l[j][j];
+            }
+        }
+        // Replace the lower triangle of L with the lower triangle of L^-1, row by row...
+        for (int i = 0; i < p; ++i) {
+            for (int j = 0; j < i; ++j) {
+                double sum = 0d;
+                for (int k = j; k < i; ++k) {
+                    sum += l[i][k] * l[k][j];
+                }
+                l[i][j] = -sum / l[i][i];
+            }
+            l[i][i] = 1d / l[i][i];
+        }
+        // The inverse of X'X = L L' is the product of (L^-1)' and L^-1
+        for (int i = 0; i < p; ++i) {
+            for (int j = 0; j <= i; ++j) {
+                double sum = 0d;
+                for (int k = i; k < p; ++k) {
+                    sum += l[k][i] * l[k][j];
+                }
+                this.inverse[i][j] = sum;
+                this.inverse[j][i] = sum;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Writes the model fitted to the current window to the outputs
+     * @param t             the row index
+     * @param betas         the output parameter estimates
+     * @param stdErrors     the output parameter standard errors
+     * @param stats         the output model statistics
+     */
+    private void write(int t, double[][] betas, double[][] stdErrors, double[][] stats) {
+        if (!inverseValid || n < minObs) {
+            this.writeMissing(t, betas, stdErrors, stats);
+        } else {
+            double rss = yty;
+            for (int i = 0; i < p; ++i) {
+                double beta = 0d;
+                for (int j = 0; j < p; ++j) {
+                    beta += inverse[i][j] * xty[j];
+                }
+                this.u[i] = beta;
+                rss -= beta * xty[i];
+            }
+            rss = Math.max(0d, rss);
+            final int df = n - p;
+            final double errorVariance = rss / df;
+            final double tss = intercept ? yty - sumY * sumY / n : yty;
+            for (int i = 0; i < p; ++i) {
+                betas[i][t] = u[i];
+                stdErrors[i][t] = Math.sqrt(Math.max(0d, inverse[i][i]) * errorVariance);
+            }
+            stats[N][t] = n;
+            stats[R_SQUARED][t] = 1d - rss / tss;
+            stats[R_SQUARED_ADJ][t] = 1d - (rss * (n - (intercept ? 1 : 0))) / (tss * df);
+            stats[STD_ERROR][t] = Math.sqrt(errorVariance);
+        }
+    }
+
+
+    /**
+     * Writes NaN outputs for a row whose window cannot be fitted
+     * @param t             the row index
+     * @param betas         the output parameter estimates
+     * @param stdErrors     the output parameter standard errors
+     * @param stats         the output model statistics
+     */
+    private void writeMissing(int t, double[][] betas, double[][] stdErrors, double[][] stats) {
+        for (int i = 0; i < p; ++i) {
+            betas[i][t] = Double.NaN;
+            stdErrors[i][t] = Double.NaN;
+        }
+        stats[N][t] = n;
+        stats[R_SQUARED][t] = Double.NaN;
+        stats[R_SQUARED_ADJ][t] = Double.NaN;
+        stats[STD_ERROR][t] = Double.NaN;
+    }
+}
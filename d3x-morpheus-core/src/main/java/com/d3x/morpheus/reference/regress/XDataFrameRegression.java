@@ -20,8 +20,10 @@ import java.util.function.Function;
 
 import com.d3x.morpheus.array.Array;
 import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameException;
 import com.d3x.morpheus.frame.DataFrameLeastSquares;
 import com.d3x.morpheus.frame.DataFrameRegression;
+import com.d3x.morpheus.frame.DataFrameRollingRegression;
 import com.d3x.morpheus.util.Collect;
 
 /**
@@ -75,4 +77,18 @@ public class XDataFrameRegression<R,C> implements DataFrameRegression<R,C> {
     public <T> Optional<T> gls(C regressand, Iterable<C> regressors, DataFrame<?, ?> omega, boolean intercept, Function<DataFrameLeastSquares<R, C>, Optional<T>> handler) {
         return handler.apply(new XDataFrame_GLS<>(frame, regressand, Collect.asList(regressors), intercept, omega));
     }
+
+    @Override
+    public DataFrameRollingRegression<R,C> rolling(int windowSize) {
+        if (windowSize <= 0) {
+            throw new DataFrameException("The window size for a rolling regression must be > 0: " + windowSize);
+        } else {
+            return new XDataFrameRollingRegression<>(frame, windowSize, 0);
+        }
+    }
+
+    @Override
+    public DataFrameRollingRegression<R,C> expanding(int minPeriods) {
+        return new XDataFrameRollingRegression<>(frame, 0, minPeriods);
+    }
 }
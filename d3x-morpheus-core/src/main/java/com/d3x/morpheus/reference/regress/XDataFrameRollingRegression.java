@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.reference.regress;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameException;
+import com.d3x.morpheus.frame.DataFrameLeastSquares.Field;
+import com.d3x.morpheus.frame.DataFrameRollingRegression;
+import com.d3x.morpheus.util.Collect;
+
+/**
+ * The reference implementation of the DataFrameRollingRegression interface for rolling and expanding windows
+ *
+ * @param <R>       the row key type
+ * @param <C>       the column key type
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+class XDataFrameRollingRegression<R,C> implements DataFrameRollingRegression<R,C> {
+
+    private static final List<Stat> stats = Arrays.asList(Stat.values());
+    private static final List<Field> interceptFields = Arrays.asList(Field.PARAMETER, Field.STD_ERROR);
+
+    private DataFrame<R,C> frame;
+    private int windowSize;
+    private int minPeriods;
+
+    /**
+     * Constructor
+     * @param frame         the frame to operate on
+     * @param windowSize    the number of rows in a rolling window, or zero for an expanding window
+     * @param minPeriods    the minimum number of observations required to fit a model
+     */
+    XDataFrameRollingRegression(DataFrame<R,C> frame, int windowSize, int minPeriods) {
+        this.frame = frame;
+        this.windowSize = windowSize;
+        this.minPeriods = minPeriods;
+    }
+
+
+    @Override
+    public Result<R,C> ols(C regressand, C regressor, boolean intercept) {
+        return ols(regressand, Collect.asList(regressor), intercept);
+    }
+
+
+    @Override
+    public Result<R,C> ols(C regressand, Iterable<C> regressors, boolean intercept) {
+        final List<C> regressorList = Collect.asList(regressors);
+        final double[][] x = columns(regressorList);
+        return compute(regressand, regressorList, x, intercept);
+    }
+
+
+    @Override
+    public Map<C,Result<R,C>> ols(Iterable<C> regressands, Iterable<C> regressors, boolean intercept) {
+        final List<C> regressandList = Collect.asList(regressands);
+        final List<C> regressorList = Collect.asList(regressors);
+        final double[][] x = columns(regressorList);
+        final List<Result<R,C>> results = frame.isParallel()
+            ? frame.executor().call(() -> regressandList.parallelStream().map(c -> compute(c, regressorList, x, intercept)).collect(Collectors.toList()))
+            : regressandList.stream().map(c -> compute(c, regressorList, x, intercept)).collect(Collectors.toList());
+        final Map<C,Result<R,C>> resultMap = new LinkedHashMap<>(regressandList.size());
+        results.forEach(result -> resultMap.put(result.getRegressand(), result));
+        return resultMap;
+    }
+
+
+    /**
+     * Returns the values of the columns specified, with one array per column
+     * @param keys  the column keys
+     * @return      the column values
+     */
+    private double[][] columns(List<C> keys) {
+        if (keys.size() == 0) {
+            throw new DataFrameException("At least one regressor must be specified");
+        } else {
+            final double[][] values = new double[keys.size()][];
+            for (int i = 0; i < keys.size(); ++i) {
+                values[i] = frame.col(keys.get(i)).getDoubleArray();
+            }
+            return values;
+        }
+    }
+
+
+    /**
+     * Computes the rolling regression of a regressand on the regressor values
+     * @param regressand    the regressand key
+     * @param regressors    the regressor keys
+     * @param x             the regressor values, with one array per regressor
+     * @param intercept     true to include an intercept / constant term in the model
+     * @return              the regression results
+     */
+    private Result<R,C> compute(C regressand, List<C> regressors, double[][] x, boolean intercept) {
+        try {
+            final int rowCount = frame.rowCount();
+            final double[] y = frame.col(regressand).getDoubleArray();
+            final RollingLeastSquares model = new RollingLeastSquares(regressors.size(), intercept, windowSize, minPeriods);
+            final int p = model.getParameterCount();
+            final double[][] betas = new double[p][rowCount];
+            final double[][] stdErrors = new double[p][rowCount];
+            final double[][] statValues = new double[stats.size()][rowCount];
+            model.fit(y, x, betas, stdErrors, statValues);
+            return new Series<>(frame.rows().keyArray(), regressand, regressors, intercept, betas, stdErrors, statValues);
+        } catch (DataFrameException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            final String message = "Rolling regression failed for %s on %s";
+            throw new DataFrameException(String.format(message, regressand, Arrays.toString(regressors.toArray())), ex);
+        }
+    }
+
+
+    /**
+     * The time series of results for a rolling or expanding regression model
+     * @param <R>   the row key type
+     * @param <C>   the column key type
+     */
+    private static class Series<R,C> implements Result<R,C> {
+
+        private C regressand;
+        private List<C> regressors;
+        private boolean intercept;
+        private DataFrame<R,C> betas;
+        private DataFrame<R,C> stdErrors;
+        private DataFrame<R,Field> interceptFrame;
+        private DataFrame<R,Stat> statFrame;
+
+        /**
+         * Constructor
+         * @param rowKeys       the row keys for the result frames
+         * @param regressand    the regressand key
+         * @param regressors    the regressor keys
+         * @param intercept     true if the model includes an intercept
+         * @param betas         the parameter estimates, with the intercept first if present
+         * @param stdErrors     the parameter standard errors, with the intercept first if present
+         * @param statValues    the model statistics in Stat order
+         */
+        Series(Array<R> rowKeys, C regressand, List<C> regressors, boolean intercept, double[][] betas, double[][] stdErrors, double[][] statValues) {
+            final int offset = intercept ? 1 : 0;
+            this.regressand = regressand;
+            this.regressors = regressors;
+            this.intercept = intercept;
+            this.betas = DataFrame.ofDoubles(rowKeys, regressors, v -> betas[v.colOrdinal() + offset][v.rowOrdinal()]);
+            this.stdErrors = DataFrame.ofDoubles(rowKeys, regressors, v -> stdErrors[v.colOrdinal() + offset][v.rowOrdinal()]);
+            this.statFrame = DataFrame.ofDoubles(rowKeys, stats, v -> statValues[v.colOrdinal()][v.rowOrdinal()]);
+            this.interceptFrame = DataFrame.ofDoubles(rowKeys, interceptFields, v -> {
+                if (!intercept) {
+                    return Double.NaN;
+                } else if (v.colKey() == Field.PARAMETER) {
+                    return betas[0][v.rowOrdinal()];
+                } else {
+                    return stdErrors[0][v.rowOrdinal()];
+                }
+            });
+        }
+
+        @Override
+        public C getRegressand() {
+            return regressand;
+        }
+
+        @Override
+        public List<C> getRegressors() {
+            return Collections.unmodifiableList(regressors);
+        }
+
+        @Override
+        public boolean hasIntercept() {
+            return intercept;
+        }
+
+        @Override
+        public DataFrame<R,C> getBetas() {
+            return betas;
+        }
+
+        @Override
+        public DataFrame<R,C> getStdErrors() {
+            return stdErrors;
+        }
+
+        @Override
+        public DataFrame<R,Field> getIntercept() {
+            return interceptFrame;
+        }
+
+        @Override
+        public DataFrame<R,Stat> getStats() {
+            return statFrame;
+        }
+    }
+}
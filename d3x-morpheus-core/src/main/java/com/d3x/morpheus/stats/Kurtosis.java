@@ -77,6 +77,30 @@ public class Kurtosis implements Statistic1 {
         return n;
     }
 
+    @Override
+    public boolean isRemovable() {
+        return true;
+    }
+
+    @Override
+    public long remove(double value) {
+        if (Double.isNaN(value)) {
+            return n;
+        } else if (n <= 1) {
+            return reset().getN();
+        } else {
+            var prevN = (double)n;
+            var m1 = this.m1 + (this.m1 - value) / --n;
+            var dev = value - m1;
+            var devSq = dev * dev;
+            this.m1 = m1;
+            this.m2 = Math.max(0d, m2 - devSq * n / prevN);
+            this.m3 = m3 - devSq * dev * n * (n - 1d) / (prevN * prevN) + 3d * dev * m2 / prevN;
+            this.m4 = m4 - devSq * devSq * n * (n * n - n + 1d) / (prevN * prevN * prevN) - 6d * devSq * m2 / (prevN * prevN) + 4d * dev * m3 / prevN;
+            return n;
+        }
+    }
+
     @Override
     public Statistic1 copy() {
         try {
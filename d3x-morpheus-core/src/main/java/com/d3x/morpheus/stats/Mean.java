@@ -57,6 +57,23 @@ public class Mean implements Statistic1 {
         return n;
     }
 
+    @Override
+    public boolean isRemovable() {
+        return true;
+    }
+
+    @Override
+    public long remove(double value) {
+        if (!Double.isNaN(value)) {
+            if (--n == 0) {
+                this.m1 = 0d;
+            } else {
+                this.m1 += (m1 - value) / n;
+            }
+        }
+        return n;
+    }
+
     @Override
     public Statistic1 copy() {
         try {
@@ -62,6 +62,20 @@ public class MeanAbs implements Statistic1 {
         return n;
     }
 
+    @Override
+    public boolean isRemovable() {
+        return true;
+    }
+
+    @Override
+    public long remove(double value) {
+        if (!Double.isNaN(value)) {
+            sum -= Math.abs(value);
+            --n;
+        }
+        return n;
+    }
+
     @Override
     public Statistic1 copy() {
         try {
@@ -43,6 +43,15 @@ public class Percentile implements Statistic1 {
     }
 
 
+    /**
+     * Returns the requested percentile for this statistic
+     * @return  the requested percentile in the range (0, 1]
+     */
+    double getNth() {
+        return nth;
+    }
+
+
     @Override
     public long getN() {
         return n;
@@ -0,0 +1,393 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.stats;
+
+import java.util.Arrays;
+
+import com.d3x.morpheus.util.Asserts;
+
+/**
+ * A class that evaluates a uni-variate statistic over a sliding window that moves along a series of values.
+ *
+ * <p>Statistics that support removal are updated in O(1) per step by adding the incoming value and removing the
+ * outgoing value, min and max are tracked with a monotonic deque, and percentiles (including median) use an
+ * order statistic tree over value ranks. All other statistics fall back to recomputing each window from scratch.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public abstract class RollingWindow {
+
+    /** The number of windows after which removable statistics are re-seeded to bound rounding drift */
+    private static final int RESEED_WINDOWS = 8;
+
+    protected final int windowSize;
+
+    /**
+     * Constructor
+     * @param windowSize    the window size
+     */
+    protected RollingWindow(int windowSize) {
+        Asserts.check(windowSize > 0, "The window size must be > 0");
+        this.windowSize = windowSize;
+    }
+
+
+    /**
+     * Returns a newly created rolling window for the statistic specified
+     * @param statistic     the statistic to evaluate over each window, which is not modified
+     * @param windowSize    the window size
+     * @return              the rolling window
+     */
+    public static RollingWindow of(Statistic1 statistic, int windowSize) {
+        var type = statistic.getClass();
+        if (type == Min.class) {
+            return new Extreme(windowSize, true);
+        } else if (type == Max.class) {
+            return new Extreme(windowSize, false);
+        } else if (type == Median.class || type == Percentile.class) {
+            return new Quantile(windowSize, ((Percentile)statistic).getNth());
+        } else if (statistic.isRemovable()) {
+            return new Incremental(statistic, windowSize);
+        } else {
+            return new Recompute(statistic, windowSize);
+        }
+    }
+
+
+    /**
+     * Returns the window size for this rolling window
+     * @return  the window size
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+
+    /**
+     * Returns true if this window avoids recomputing the statistic over every window
+     * @return  true if updates are incremental
+     */
+    public boolean isIncremental() {
+        return true;
+    }
+
+
+    /**
+     * Computes the statistic over every complete window in the values, storing the result at the last ordinal of each window
+     * @param values    the series of values
+     * @param length    the number of values to consider, starting from zero
+     * @param result    the array to write results to, entries before windowSize - 1 are not modified
+     */
+    public abstract void apply(double[] values, int length, double[] result);
+
+
+    /**
+     * Returns the statistic computed from scratch over the window ending at the ordinal specified
+     * @param statistic the statistic to compute
+     * @param values    the series of values
+     * @param end       the last ordinal of window
+     * @return          the statistic value
+     */
+    protected double compute(Statistic1 statistic, double[] values, int end) {
+        statistic.reset();
+        for (int i = end - windowSize + 1; i <= end; ++i) {
+            statistic.add(values[i]);
+        }
+        return statistic.getValue();
+    }
+
+
+
+    /**
+     * A RollingWindow that recomputes the statistic over the full window at every step
+     */
+    private static class Recompute extends RollingWindow {
+
+        private final Statistic1 statistic;
+
+        /**
+         * Constructor
+         * @param statistic     the statistic to compute
+         * @param windowSize    the window size
+         */
+        Recompute(Statistic1 statistic, int windowSize) {
+            super(windowSize);
+            this.statistic = statistic.copy();
+        }
+
+        @Override
+        public boolean isIncremental() {
+            return false;
+        }
+
+        @Override
+        public void apply(double[] values, int length, double[] result) {
+            for (int i = windowSize - 1; i < length; ++i) {
+                result[i] = compute(statistic, values, i);
+            }
+        }
+    }
+
+
+
+    /**
+     * A RollingWindow for statistics that can remove values, which adds the incoming and removes the outgoing value at each step
+     */
+    private static class Incremental extends RollingWindow {
+
+        private final boolean skipsNaN;
+        private final Statistic1 statistic;
+        private final Statistic1 fallback;
+
+        /**
+         * Constructor
+         * @param statistic     the removable statistic
+         * @param windowSize    the window size
+         */
+        Incremental(Statistic1 statistic, int windowSize) {
+            super(windowSize);
+            this.statistic = statistic.copy();
+            this.fallback = statistic.copy();
+            this.skipsNaN = statistic.copy().reset().add(Double.NaN) == 0L;
+        }
+
+        @Override
+        public void apply(double[] values, int length, double[] result) {
+            var nanCount = 0;
+            var reseedCount = 0;
+            var reseedLimit = (long)windowSize * RESEED_WINDOWS;
+            this.statistic.reset();
+            for (int i = 0; i < length; ++i) {
+                var value = values[i];
+                if (Double.isNaN(value)) {
+                    nanCount++;
+                } else {
+                    this.statistic.add(value);
+                }
+                if (i >= windowSize - 1) {
+                    if (nanCount > 0 && !skipsNaN) {
+                        result[i] = compute(fallback, values, i);
+                    } else {
+                        result[i] = statistic.getValue();
+                    }
+                    var outgoing = values[i - windowSize + 1];
+                    if (Double.isNaN(outgoing)) {
+                        nanCount--;
+                    } else if (++reseedCount < reseedLimit) {
+                        this.statistic.remove(outgoing);
+                    } else {
+                        reseedCount = 0;
+                        this.statistic.reset();
+                        for (int j = i - windowSize + 2; j <= i; ++j) {
+                            if (!Double.isNaN(values[j])) {
+                                this.statistic.add(values[j]);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+
+
+    /**
+     * A RollingWindow for min or max that maintains a monotonic deque of window ordinals
+     */
+    private static class Extreme extends RollingWindow {
+
+        private final boolean min;
+        private final int[] deque;
+
+        /**
+         * Constructor
+         * @param windowSize    the window size
+         * @param min           true for min, false for max
+         */
+        Extreme(int windowSize, boolean min) {
+            super(windowSize);
+            this.min = min;
+            this.deque = new int[windowSize];
+        }
+
+        @Override
+        public void apply(double[] values, int length, double[] result) {
+            var head = 0;
+            var size = 0;
+            for (int i = 0; i < length; ++i) {
+                if (size > 0 && deque[head] <= i - windowSize) {
+                    head = (head + 1) % windowSize;
+                    size--;
+                }
+                var value = values[i];
+                if (!Double.isNaN(value)) {
+                    while (size > 0 && !dominates(values[deque[(head + size - 1) % windowSize]], value)) {
+                        size--;
+                    }
+                    this.deque[(head + size) % windowSize] = i;
+                    size++;
+                }
+                if (i >= windowSize - 1) {
+                    if (min) {
+                        //Min treats NaN as part of the sample but starts from Double.MAX_VALUE
+                        result[i] = size > 0 ? Math.min(values[deque[head]], Double.MAX_VALUE) : Double.MAX_VALUE;
+                    } else {
+                        result[i] = size > 0 ? values[deque[head]] : Double.NEGATIVE_INFINITY;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns true if the existing value remains a candidate after the incoming value is added
+         * @param existing  the existing value at the back of the deque
+         * @param incoming  the incoming value
+         * @return          true if existing should be retained
+         */
+        private boolean dominates(double existing, double incoming) {
+            return min ? existing < incoming : existing > incoming;
+        }
+    }
+
+
+
+    /**
+     * A RollingWindow for percentiles that maintains a Fenwick tree of counts over the ranks of the distinct values
+     */
+    private static class Quantile extends RollingWindow {
+
+        private final double nth;
+
+        /**
+         * Constructor
+         * @param windowSize    the window size
+         * @param nth           the percentile in the range (0, 1]
+         */
+        Quantile(int windowSize, double nth) {
+            super(windowSize);
+            this.nth = nth;
+        }
+
+        @Override
+        public void apply(double[] values, int length, double[] result) {
+            var distinct = distinct(values, length);
+            var count = 0;
+            var ranks = new int[length];
+            var tree = new int[distinct.length + 1];
+            for (int i = 0; i < length; ++i) {
+                var value = values[i];
+                ranks[i] = Double.isNaN(value) ? -1 : Arrays.binarySearch(distinct, value);
+                if (ranks[i] >= 0) {
+                    update(tree, ranks[i], 1);
+                    count++;
+                }
+                if (i >= windowSize - 1) {
+                    result[i] = quantile(tree, distinct, count);
+                    var outgoing = ranks[i - windowSize + 1];
+                    if (outgoing >= 0) {
+                        update(tree, outgoing, -1);
+                        count--;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the sorted distinct non-NaN values in the series
+         * @param values    the series of values
+         * @param length    the number of values
+         * @return          the sorted distinct values
+         */
+        private double[] distinct(double[] values, int length) {
+            var count = 0;
+            var sorted = new double[length];
+            for (int i = 0; i < length; ++i) {
+                if (!Double.isNaN(values[i])) {
+                    sorted[count++] = values[i];
+                }
+            }
+            Arrays.sort(sorted, 0, count);
+            var unique = 0;
+            for (int i = 0; i < count; ++i) {
+                if (unique == 0 || Double.compare(sorted[unique-1], sorted[i]) != 0) {
+                    sorted[unique++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, unique);
+        }
+
+        /**
+         * Returns the percentile using the same R-7 estimation as the Percentile statistic
+         * @param tree      the Fenwick tree of counts
+         * @param distinct  the sorted distinct values
+         * @param count     the number of non-NaN values in window
+         * @return          the percentile value
+         */
+        private double quantile(int[] tree, double[] distinct, int count) {
+            if (count == 0) {
+                return Double.NaN;
+            } else {
+                var p = (nth * 100d) / 100d;
+                var pos = p == 0d ? 0d : p == 1d ? count : 1d + (count - 1d) * p;
+                if (pos < 1d) {
+                    return select(tree, distinct, 0);
+                } else if (pos >= count) {
+                    return select(tree, distinct, count - 1);
+                } else {
+                    var floor = Math.floor(pos);
+                    var index = (int)floor;
+                    var lower = select(tree, distinct, index - 1);
+                    var upper = select(tree, distinct, index);
+                    return lower + (pos - floor) * (upper - lower);
+                }
+            }
+        }
+
+        /**
+         * Adds a delta to the count for the rank specified
+         * @param tree      the Fenwick tree of counts
+         * @param rank      the zero based rank
+         * @param delta     the delta to apply
+         */
+        private static void update(int[] tree, int rank, int delta) {
+            for (int i = rank + 1; i < tree.length; i += i & (-i)) {
+                tree[i] += delta;
+            }
+        }
+
+        /**
+         * Returns the k-th smallest value currently in the window
+         * @param tree      the Fenwick tree of counts
+         * @param distinct  the sorted distinct values
+         * @param k         the zero based order statistic
+         * @return          the k-th smallest value
+         */
+        private static double select(int[] tree, double[] distinct, int k) {
+            var index = 0;
+            var remaining = k + 1;
+            for (int step = Integer.highestOneBit(distinct.length); step > 0; step >>= 1) {
+                var next = index + step;
+                if (next < tree.length && tree[next] < remaining) {
+                    index = next;
+                    remaining -= tree[next];
+                }
+            }
+            return distinct[index];
+        }
+    }
+}
@@ -72,6 +72,29 @@ public class Skew implements Statistic1 {
         return n;
     }
 
+    @Override
+    public boolean isRemovable() {
+        return true;
+    }
+
+    @Override
+    public long remove(double value) {
+        if (Double.isNaN(value)) {
+            return n;
+        } else if (n <= 1) {
+            return reset().getN();
+        } else {
+            final double prevN = n;
+            final double m1 = this.m1 + (this.m1 - value) / --n;
+            final double dev = value - m1;
+            final double devSq = dev * dev;
+            this.m1 = m1;
+            this.m2 = Math.max(0d, m2 - devSq * n / prevN);
+            this.m3 = m3 - devSq * dev * n * (n - 1d) / (prevN * prevN) + 3d * dev * m2 / prevN;
+            return n;
+        }
+    }
+
     @Override
     public Statistic1 copy() {
         try {
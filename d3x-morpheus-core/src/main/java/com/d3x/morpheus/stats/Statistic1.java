@@ -64,6 +64,24 @@ public interface Statistic1 extends Statistic {
      */
     long add(double value);
 
+    /**
+     * Returns true if this statistic supports removal of previously added values via {@link #remove(double)}
+     * @return      true if values can be removed from the sample
+     */
+    default boolean isRemovable() {
+        return false;
+    }
+
+    /**
+     * Removes a value that was previously added to the sample for this statistic
+     * @param value     the value to remove, which must have been previously added
+     * @return          the sample size after removing value
+     * @throws StatException    if this statistic does not support removal
+     */
+    default long remove(double value) {
+        throw new StatException("Statistic does not support removal of values: " + getType());
+    }
+
     /**
      * Adds new values to the sample for this statistic.
      *
@@ -59,6 +59,20 @@ public class SumAbs implements Statistic1 {
         return n;
     }
 
+    @Override
+    public boolean isRemovable() {
+        return true;
+    }
+
+    @Override
+    public long remove(double value) {
+        if (!Double.isNaN(value)) {
+            this.sum -= Math.abs(value);
+            this.n--;
+        }
+        return n;
+    }
+
     @Override
     public Statistic1 copy() {
         try {
@@ -80,6 +80,26 @@ public class Variance implements Statistic1 {
         return n;
     }
 
+    @Override
+    public boolean isRemovable() {
+        return true;
+    }
+
+    @Override
+    public long remove(double value) {
+        if (!Double.isNaN(value)) {
+            if (--n == 0) {
+                this.m1 = 0d;
+                this.m2 = 0d;
+            } else {
+                final double prevM1 = m1;
+                this.m1 += (m1 - value) / n;
+                this.m2 = Math.max(0d, m2 - (value - m1) * (value - prevM1));
+            }
+        }
+        return n;
+    }
+
     @Override
     public Statistic1 copy() {
         try {
@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.util;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * An execution context that routes the parallel operations of Morpheus through a caller supplied ForkJoinPool.
+ *
+ * <p>Arrays, sorting and other operations that are not bound to a DataFrame use the global default context,
+ * while a DataFrame uses the context it was bound to via <code>parallel(ExecutorContext)</code>, falling back
+ * to the default. The default context wraps the common pool, so Morpheus can be isolated from other work in
+ * the common pool by installing a dedicated pool with {@link #setDefault(ExecutorContext)}.</p>
+ *
+ * <p>The context also decides how finely work is split, so that no leaf task is given less than a minimum
+ * amount of work, where the cost of forking would dominate.</p>
+ *
+ * <p>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class ExecutorContext {
+
+    /** The default minimum number of units of work per leaf task */
+    public static final int DEFAULT_MIN_TASK_SIZE = 10000;
+
+    private static volatile ExecutorContext defaultContext = new ExecutorContext(ForkJoinPool.commonPool(), DEFAULT_MIN_TASK_SIZE);
+
+    private ForkJoinPool pool;
+    private int minTaskSize;
+    private LongAdder invocations = new LongAdder();
+
+
+    /**
+     * Constructor
+     * @param pool          the pool to execute tasks
+     * @param minTaskSize   the minimum number of units of work per leaf task
+     */
+    private ExecutorContext(ForkJoinPool pool, int minTaskSize) {
+        Asserts.check(minTaskSize > 0, "The min task size must be > 0");
+        this.pool = Objects.requireNonNull(pool, "The fork join pool cannot be null");
+        this.minTaskSize = minTaskSize;
+    }
+
+
+    /**
+     * Returns a new context that executes tasks in the pool with the default min task size
+     * @param pool  the pool to execute tasks
+     * @return      the newly created context
+     */
+    public static ExecutorContext of(ForkJoinPool pool) {
+        return new ExecutorContext(pool, DEFAULT_MIN_TASK_SIZE);
+    }
+
+
+    /**
+     * Returns a new context that executes tasks in the pool
+     * @param pool          the pool to execute tasks
+     * @param minTaskSize   the minimum number of units of work per leaf task
+     * @return              the newly created context
+     */
+    public static ExecutorContext of(ForkJoinPool pool, int minTaskSize) {
+        return new ExecutorContext(pool, minTaskSize);
+    }
+
+
+    /**
+     * Returns the global default context, which initially wraps the common pool
+     * @return  the global default context
+     */
+    public static ExecutorContext getDefault() {
+        return defaultContext;
+    }
+
+
+    /**
+     * Sets the global default context used by all parallel operations not bound to a specific context
+     * @param context   the new default context
+     */
+    public static void setDefault(ExecutorContext context) {
+        defaultContext = Objects.requireNonNull(context, "The executor context cannot be null");
+    }
+
+
+    /**
+     * Returns the pool that executes tasks for this context
+     * @return  the fork join pool
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+
+    /**
+     * Returns the target parallelism of the pool for this context
+     * @return  the pool parallelism
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+
+    /**
+     * Returns the minimum number of units of work per leaf task
+     * @return  the min task size
+     */
+    public int getMinTaskSize() {
+        return minTaskSize;
+    }
+
+
+    /**
+     * Executes the task in the pool for this context and returns its result
+     * <p>If called from a worker of the same pool, the task is run by the calling thread rather than
+     * submitted, which avoids blocking a worker on a nested submission.</p>
+     * @param task  the task to execute
+     * @param <T>   the result type
+     * @return      the task result
+     */
+    public <T> T invoke(ForkJoinTask<T> task) {
+        this.invocations.increment();
+        if (ForkJoinTask.getPool() == pool) {
+            return task.invoke();
+        } else {
+            return pool.invoke(task);
+        }
+    }
+
+
+    /**
+     * Runs the action in the pool for this context, so that parallel streams it evaluates are forked in that pool
+     * @param action    the action to run
+     */
+    public void run(Runnable action) {
+        this.call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+
+    /**
+     * Calls the supplier in the pool for this context, so that parallel streams it evaluates are forked in that pool
+     * @param supplier  the supplier to call
+     * @param <T>       the result type
+     * @return          the result of the supplier
+     */
+    public <T> T call(Supplier<T> supplier) {
+        this.invocations.increment();
+        if (ForkJoinTask.getPool() == pool) {
+            return supplier.get();
+        } else {
+            return pool.submit(supplier::get).join();
+        }
+    }
+
+
+    /**
+     * Returns the number of items above which a range should be split, where each item is one unit of work
+     * @param count     the number of items in the range
+     * @return          the split threshold
+     */
+    public int splitThreshold(int count) {
+        return splitThreshold(count, 1);
+    }
+
+
+    /**
+     * Returns the number of items above which a range should be split
+     * <p>The range is divided evenly across the pool parallelism, unless that would leave a leaf task
+     * with less than the min task size in units of work, in which case fewer tasks are created.</p>
+     * @param count         the number of items in the range
+     * @param workPerItem   the units of work to process one item, such as the column count when splitting rows
+     * @return              the split threshold
+     */
+    public int splitThreshold(int count, int workPerItem) {
+        var parallelism = Math.max(1, getParallelism());
+        var evenSplit = (int)(((long)count + parallelism - 1) / parallelism);
+        var minItems = (minTaskSize + Math.max(1, workPerItem) - 1) / Math.max(1, workPerItem);
+        return Math.max(1, Math.max(evenSplit, minItems));
+    }
+
+
+    /**
+     * Returns a snapshot of the metrics for this context and its pool
+     * @return  the metrics snapshot
+     */
+    public Metrics getMetrics() {
+        return new Metrics(
+            invocations.sum(),
+            pool.getStealCount(),
+            pool.getQueuedTaskCount(),
+            pool.getQueuedSubmissionCount(),
+            pool.getActiveThreadCount(),
+            pool.getPoolSize(),
+            pool.getParallelism()
+        );
+    }
+
+
+    @Override
+    public String toString() {
+        return "ExecutorContext{pool=" + pool + ", minTaskSize=" + minTaskSize + "}";
+    }
+
+
+    /**
+     * A snapshot of the metrics for an ExecutorContext and its pool
+     */
+    @lombok.Value()
+    public static class Metrics {
+        /** The number of top level tasks invoked through the context */
+        long invocations;
+        /** The number of tasks stolen by one worker from the queue of another in the pool */
+        long steals;
+        /** The number of tasks currently queued by workers in the pool */
+        long queuedTasks;
+        /** The number of submissions currently waiting for a worker in the pool */
+        long queuedSubmissions;
+        /** The number of workers currently executing tasks in the pool */
+        int activeThreads;
+        /** The number of workers started in the pool */
+        int poolSize;
+        /** The target parallelism of the pool */
+        int parallelism;
+    }
+}
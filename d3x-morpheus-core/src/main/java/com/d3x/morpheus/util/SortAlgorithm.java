@@ -15,7 +15,6 @@
  */
 package com.d3x.morpheus.util;
 
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 
 /**
@@ -248,7 +247,7 @@ public abstract class SortAlgorithm {
 
         @Override
         public void sort(int from, int to, IntComparator comp, Swapper swapper) {
-            ForkJoinPool.commonPool().invoke(new FastUtilForkJoinQuickSort(from, to, comp, swapper));
+            ExecutorContext.getDefault().invoke(new FastUtilForkJoinQuickSort(from, to, comp, swapper));
         }
     }
 
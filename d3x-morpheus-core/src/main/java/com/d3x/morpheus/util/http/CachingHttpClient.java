@@ -0,0 +1,437 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.util.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.d3x.morpheus.util.IO;
+import com.d3x.morpheus.util.Initialiser;
+
+/**
+ * An HttpClient that serves GET requests from a local on-disk HttpCache, delegating to another client on a miss.
+ *
+ * <p>Entries within the cache time to live are served without any network call. Expired entries that carry an
+ * ETag or Last-Modified validator are revalidated with a conditional request, and a 304 response refreshes the
+ * entry without transferring the content again. Concurrent requests for the same URL with the same request headers
+ * and cookies are coalesced, so that only one network call is in flight for them and the other callers are served
+ * from the result it stores. Cached entries
+ * retain all response headers, so headers such as pagination cursors are replayed on a hit. Responses other than
+ * 200 and 304 are not cached, and POST requests always pass straight through to the delegate.</p>
+ *
+ * <p>To route the sources that use the default client through a cache, wrap the default client at startup:</p>
+ * <pre>
+ *     HttpClient.setDefault(new CachingHttpClient(HttpClient.getDefault(), cache));
+ * </pre>
+ *
+ * @author Xavier Witdouck
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ */
+public class CachingHttpClient extends HttpClient {
+
+    private HttpCache cache;
+    private HttpClient delegate;
+    private LongAdder hitCount = new LongAdder();
+    private LongAdder fetchCount = new LongAdder();
+    private LongAdder revalidateCount = new LongAdder();
+    private LongAdder coalescedCount = new LongAdder();
+    private ConcurrentHashMap<String,CompletableFuture<Outcome>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     * @param delegate  the client used to make network calls
+     * @param cache     the cache to serve and store responses
+     */
+    public CachingHttpClient(HttpClient delegate, HttpCache cache) {
+        this.delegate = Objects.requireNonNull(delegate, "The delegate http client cannot be null");
+        this.cache = Objects.requireNonNull(cache, "The http cache cannot be null");
+    }
+
+
+    /**
+     * Returns the cache used by this client
+     * @return  the cache for this client
+     */
+    public HttpCache getCache() {
+        return cache;
+    }
+
+
+    /**
+     * Returns the number of requests served from the cache without any network call
+     * @return  the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+
+    /**
+     * Returns the number of network calls that transferred response content
+     * @return  the number of full fetches
+     */
+    public long getFetchCount() {
+        return fetchCount.sum();
+    }
+
+
+    /**
+     * Returns the number of conditional network calls answered with 304 Not Modified
+     * @return  the number of revalidations
+     */
+    public long getRevalidateCount() {
+        return revalidateCount.sum();
+    }
+
+
+    /**
+     * Returns the number of requests that waited on an in-flight call for the same URL and request headers
+     * @return  the number of coalesced requests
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+
+    @Override
+    public <T> Optional<T> doGet(Consumer<HttpRequest<T>> configurator) {
+        final HttpRequest<T> request = Initialiser.apply(new HttpRequest<>(HttpMethod.GET), configurator);
+        final HttpResponse response = resolve(request);
+        try {
+            return request.getResponseHandler().flatMap(handler -> handler.onResponse(response));
+        } finally {
+            IO.close(response);
+        }
+    }
+
+
+    @Override
+    public <T> Optional<T> doPost(Consumer<HttpPost<T>> configurator) {
+        return delegate.doPost(configurator);
+    }
+
+
+    /**
+     * Returns the response for the request, from the cache where possible
+     * @param request   the request descriptor
+     * @return          the response to pass to the request handler
+     */
+    private HttpResponse resolve(HttpRequest<?> request) {
+        final String key = request.getUrl().toString();
+        final Optional<HttpCache.Entry> cached = cache.get(key).filter(HttpCache.Entry::isFresh);
+        if (cached.isPresent()) {
+            try {
+                final HttpResponse response = new CachedResponse(cached.get());
+                this.hitCount.increment();
+                return response;
+            } catch (NoSuchFileException ex) {
+                this.cache.invalidate(key);
+            } catch (IOException ex) {
+                throw new HttpException(request, "Failed to read cached response for " + key, ex);
+            }
+        }
+        final String flightKey = flightKey(request);
+        final CompletableFuture<Outcome> future = new CompletableFuture<>();
+        final CompletableFuture<Outcome> existing = inFlight.putIfAbsent(flightKey, future);
+        if (existing != null) {
+            try {
+                this.coalescedCount.increment();
+                return existing.join().open();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException ? (RuntimeException)ex.getCause() : ex;
+            }
+        } else {
+            try {
+                final Outcome outcome = fetch(key, request);
+                future.complete(outcome);
+                return outcome.open();
+            } catch (RuntimeException ex) {
+                future.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                this.inFlight.remove(flightKey, future);
+            }
+        }
+    }
+
+
+    /**
+     * Returns the key that identifies requests which can share one network call, which are requests for the same URL
+     * with the same request headers, cookies and error handling, since any of these can change the response
+     * @param request   the request descriptor
+     * @return          the key for coalescing
+     */
+    private static String flightKey(HttpRequest<?> request) {
+        final StringBuilder key = new StringBuilder(request.getUrl().toString());
+        new TreeMap<>(request.getHeaders()).forEach((name, value) -> key.append("\nH:").append(name).append('=').append(value));
+        new TreeMap<>(request.getCookies()).forEach((name, value) -> key.append("\nC:").append(name).append('=').append(value));
+        return request.isClientErrors() ? key.append("\nE").toString() : key.toString();
+    }
+
+
+    /**
+     * Executes the request against the delegate client, revalidating any existing entry, and stores the result
+     * @param key       the cache key for request
+     * @param request   the request descriptor
+     * @return          the outcome of the network call
+     */
+    private Outcome fetch(String key, HttpRequest<?> request) {
+        final HttpCache.Entry cached = cache.get(key).orElse(null);
+        if (cached != null && cached.isFresh()) {
+            return Outcome.of(cached);
+        } else {
+            return delegate.<Outcome>doGet(conditional -> {
+                conditional.setUrl(request.getUrl());
+                conditional.setRetryCount(request.getRetryCount());
+                conditional.setReadTimeout(request.getReadTimeout());
+                conditional.setConnectTimeout(request.getConnectTimeout());
+                conditional.setClientErrors(request.isClientErrors());
+                conditional.getHeaders().putAll(request.getHeaders());
+                conditional.getCookies().putAll(request.getCookies());
+                if (cached != null) {
+                    cached.getEtag().ifPresent(etag -> conditional.getHeaders().put("If-None-Match", etag));
+                    cached.getLastModified().ifPresent(value -> conditional.getHeaders().put("If-Modified-Since", value));
+                }
+                conditional.setResponseHandler(response -> {
+                    try {
+                        final int statusCode = response.getStatus().getCode();
+                        if (statusCode == 304 && cached != null) {
+                            this.revalidateCount.increment();
+                            return Optional.of(Outcome.of(cache.refresh(cached)));
+                        } else if (statusCode == 200 && !isNoStore(response)) {
+                            final List<HttpHeader> headers = storedHeaders(response);
+                            final HttpCache.Entry entry = cache.put(key, response.getStream(), headers);
+                            this.fetchCount.increment();
+                            return Optional.of(Outcome.of(entry));
+                        } else {
+                            this.fetchCount.increment();
+                            return Optional.of(Outcome.of(response));
+                        }
+                    } catch (IOException ex) {
+                        throw new HttpException(request, "Failed to cache response for " + key, ex);
+                    }
+                });
+            }).orElseThrow(() -> new HttpException(request, "No response received for " + key, null));
+        }
+    }
+
+
+    /**
+     * Returns true if the response forbids storage in a cache
+     * @param response  the response to check
+     * @return          true if Cache-Control includes no-store
+     */
+    private static boolean isNoStore(HttpResponse response) {
+        final String cacheControl = header(response, "Cache-Control");
+        return cacheControl != null && cacheControl.toLowerCase().contains("no-store");
+    }
+
+
+    /**
+     * Returns the response headers to record with a cache entry, which excludes headers that describe how the content
+     * was transferred, since the cache stores the decoded content and serves it with its own Content-Length
+     * @param response  the response to record
+     * @return          the headers to store with the entry
+     */
+    private static List<HttpHeader> storedHeaders(HttpResponse response) {
+        final List<HttpHeader> headers = new ArrayList<>();
+        for (HttpHeader header : response.getHeaders()) {
+            final String name = header.getKey();
+            if (name != null && header.getValue() != null && !isTransferHeader(name)) {
+                headers.add(header);
+            }
+        }
+        return headers;
+    }
+
+
+    /**
+     * Returns true if the header describes how the content was transferred rather than the content itself
+     * @param name  the header name
+     * @return      true for Content-Length, Content-Encoding and Transfer-Encoding
+     */
+    private static boolean isTransferHeader(String name) {
+        return name.equalsIgnoreCase("Content-Length") || name.equalsIgnoreCase("Content-Encoding") || name.equalsIgnoreCase("Transfer-Encoding");
+    }
+
+
+    /**
+     * Returns the first value of the named header in the response, ignoring case
+     * @param response  the response to search
+     * @param name      the header name
+     * @return          the header value, null if not present
+     */
+    private static String header(HttpResponse response, String name) {
+        for (HttpHeader header : response.getHeaders()) {
+            if (name.equalsIgnoreCase(header.getKey())) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * The result of a network call, from which each coalesced caller opens its own response
+     */
+    private static class Outcome {
+
+        private HttpCache.Entry entry;
+        private HttpStatus status;
+        private List<HttpHeader> headers;
+        private byte[] content;
+
+        /**
+         * Returns an outcome served from a cache entry
+         * @param entry     the cache entry
+         * @return          the outcome
+         */
+        static Outcome of(HttpCache.Entry entry) {
+            final Outcome outcome = new Outcome();
+            outcome.entry = entry;
+            return outcome;
+        }
+
+        /**
+         * Returns an outcome that buffers an uncacheable response in memory
+         * @param response  the response to buffer
+         * @return          the outcome
+         * @throws IOException  if the response content cannot be read
+         */
+        static Outcome of(HttpResponse response) throws IOException {
+            final Outcome outcome = new Outcome();
+            outcome.status = response.getStatus();
+            outcome.headers = new ArrayList<>(response.getHeaders());
+            try (InputStream is = response.getStream()) {
+                outcome.content = is != null ? is.readAllBytes() : new byte[0];
+            }
+            return outcome;
+        }
+
+        /**
+         * Returns a new response for this outcome
+         * @return  the response
+         */
+        HttpResponse open() {
+            try {
+                if (entry != null) {
+                    return new CachedResponse(entry);
+                } else {
+                    return new BufferedResponse(status, headers, content);
+                }
+            } catch (IOException ex) {
+                throw new RuntimeException("Failed to open cached response content", ex);
+            }
+        }
+    }
+
+
+    /**
+     * An HttpResponse that streams content from a cache entry
+     */
+    private static class CachedResponse implements HttpResponse {
+
+        private InputStream stream;
+        private List<HttpHeader> headers;
+
+        /**
+         * Constructor
+         * @param entry         the cache entry
+         * @throws IOException  if the content cannot be opened
+         */
+        CachedResponse(HttpCache.Entry entry) throws IOException {
+            this.stream = entry.open();
+            this.headers = new ArrayList<>(entry.getHeaders());
+            this.headers.add(new HttpHeader("Content-Length", String.valueOf(entry.getSize())));
+        }
+
+        @Override
+        public HttpStatus getStatus() {
+            return new HttpStatus(200, "OK");
+        }
+
+        @Override
+        public InputStream getStream() {
+            return stream;
+        }
+
+        @Override
+        public List<HttpHeader> getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.stream.close();
+        }
+    }
+
+
+    /**
+     * An HttpResponse over content buffered in memory
+     */
+    private static class BufferedResponse implements HttpResponse {
+
+        private HttpStatus status;
+        private List<HttpHeader> headers;
+        private InputStream stream;
+
+        /**
+         * Constructor
+         * @param status    the response status
+         * @param headers   the response headers
+         * @param content   the response content
+         */
+        BufferedResponse(HttpStatus status, List<HttpHeader> headers, byte[] content) {
+            this.status = status;
+            this.headers = headers;
+            this.stream = new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public HttpStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public InputStream getStream() {
+            return stream;
+        }
+
+        @Override
+        public List<HttpHeader> getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public void close() {
+            //Nothing to release
+        }
+    }
+}
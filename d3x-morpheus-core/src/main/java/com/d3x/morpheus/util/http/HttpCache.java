@@ -0,0 +1,500 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.util.http;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * A size bounded, content addressed store of HTTP response bodies on local disk, used by the CachingHttpClient.
+ *
+ * <p>Each response body is written once to a blob file named by the SHA-256 digest of its content, so identical
+ * responses for different URLs share storage. A small properties file per cache key records the blob digest along
+ * with the response headers, which carry the ETag and Last-Modified validators used for conditional revalidation
+ * as well as any application headers such as pagination cursors, and the time the entry was last confirmed to be
+ * current. Entries are evicted in least recently used order whenever the total size of the blobs
+ * exceeds the configured limit. The store survives restarts, so a scheduled job only re-downloads what changed.</p>
+ *
+ * @author Xavier Witdouck
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ */
+public class HttpCache {
+
+    private File blobDir;
+    private File entryDir;
+    private long maxBytes;
+    private Duration timeToLive;
+    private long totalBytes;
+    private Map<String,Integer> blobRefs = new HashMap<>();
+    private LinkedHashMap<String,Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * Constructor
+     * @param directory     the root directory for the cache, created if it does not exist
+     * @param maxBytes      the maximum number of bytes of response content to retain
+     * @param timeToLive    the period for which an entry is served without revalidation
+     */
+    public HttpCache(File directory, long maxBytes, Duration timeToLive) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("The cache size limit must be > 0, not " + maxBytes);
+        } else if (timeToLive == null || timeToLive.isNegative()) {
+            throw new IllegalArgumentException("The cache time to live must be non-negative");
+        } else {
+            this.blobDir = new File(directory, "blobs");
+            this.entryDir = new File(directory, "entries");
+            this.maxBytes = maxBytes;
+            this.timeToLive = timeToLive;
+            this.load();
+        }
+    }
+
+
+    /**
+     * Returns the period for which an entry is served without revalidation
+     * @return  the time to live for entries
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+
+    /**
+     * Returns the maximum number of bytes of response content retained by this cache
+     * @return  the size limit in bytes
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+
+    /**
+     * Returns the number of bytes of response content currently held in this cache
+     * @return  the current size in bytes
+     */
+    public synchronized long getSize() {
+        return totalBytes;
+    }
+
+
+    /**
+     * Returns the number of entries currently held in this cache
+     * @return  the number of entries
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+
+    /**
+     * Returns true if this cache holds an entry for the key
+     * @param key   the cache key, typically the request URL
+     * @return      true if an entry exists
+     */
+    public synchronized boolean contains(String key) {
+        return entries.containsKey(digest(key));
+    }
+
+
+    /**
+     * Removes the entry for the key if one exists
+     * @param key   the cache key, typically the request URL
+     */
+    public synchronized void invalidate(String key) {
+        final Entry entry = entries.remove(digest(key));
+        if (entry != null) {
+            delete(entry);
+        }
+    }
+
+
+    /**
+     * Removes all entries from this cache
+     */
+    public synchronized void clear() {
+        entries.values().forEach(this::delete);
+        entries.clear();
+    }
+
+
+    /**
+     * Returns the entry for the key, marking it as most recently used
+     * @param key   the cache key, typically the request URL
+     * @return      the optional entry
+     */
+    synchronized Optional<Entry> get(String key) {
+        final Entry entry = entries.get(digest(key));
+        if (entry != null && !entry.getBlobFile().exists()) {
+            entries.remove(entry.id);
+            delete(entry);
+            return Optional.empty();
+        } else {
+            return Optional.ofNullable(entry);
+        }
+    }
+
+
+    /**
+     * Writes the content to the store and records an entry for the key, replacing any existing entry
+     * @param key           the cache key, typically the request URL
+     * @param content       the response content, which is fully consumed
+     * @param headers       the response headers, excluding those that describe the transfer encoding of the content
+     * @return              the newly recorded entry
+     * @throws IOException  if the content cannot be read or written
+     */
+    Entry put(String key, InputStream content, List<HttpHeader> headers) throws IOException {
+        Files.createDirectories(blobDir.toPath());
+        final Path tmpFile = Files.createTempFile(blobDir.toPath(), "blob", ".tmp");
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (OutputStream os = new DigestOutputStream(Files.newOutputStream(tmpFile), digest)) {
+                content.transferTo(os);
+            }
+            final String blob = hex(digest.digest());
+            final long size = Files.size(tmpFile);
+            synchronized (this) {
+                final File blobFile = new File(blobDir, blob);
+                if (!blobFile.exists()) {
+                    Files.move(tmpFile, blobFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                }
+                final Entry entry = new Entry(digest(key), blob, size, headers, System.currentTimeMillis());
+                this.record(entry);
+                this.evict(entry);
+                return entry;
+            }
+        } catch (IOException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IOException("Failed to write response content to cache for " + key, ex);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+
+    /**
+     * Marks an entry as current after the server confirmed it has not been modified
+     * @param entry         the entry to refresh
+     * @return              the refreshed entry
+     * @throws IOException  if the entry meta-data cannot be written
+     */
+    synchronized Entry refresh(Entry entry) throws IOException {
+        final Entry refreshed = new Entry(entry.id, entry.blob, entry.size, entry.headers, System.currentTimeMillis());
+        this.record(refreshed);
+        return refreshed;
+    }
+
+
+    /**
+     * Records the entry in memory and on disk, releasing the blob of any entry it replaces
+     * @param entry         the entry to record
+     * @throws IOException  if the entry meta-data cannot be written
+     */
+    private void record(Entry entry) throws IOException {
+        Files.createDirectories(entryDir.toPath());
+        final Properties properties = new Properties();
+        properties.setProperty("blob", entry.blob);
+        properties.setProperty("size", String.valueOf(entry.size));
+        properties.setProperty("storedAt", String.valueOf(entry.storedAt));
+        properties.setProperty("headers", String.valueOf(entry.headers.size()));
+        for (int i = 0; i < entry.headers.size(); ++i) {
+            final HttpHeader header = entry.headers.get(i);
+            properties.setProperty("header." + i + ".key", header.getKey());
+            properties.setProperty("header." + i + ".value", header.getValue());
+        }
+        final Path tmpFile = Files.createTempFile(entryDir.toPath(), "entry", ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        Files.move(tmpFile, new File(entryDir, entry.id).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        final Entry previous = entries.put(entry.id, entry);
+        this.retain(entry.blob, entry.size);
+        if (previous != null) {
+            this.release(previous.blob, previous.size);
+        }
+    }
+
+
+    /**
+     * Evicts least recently used entries until the cache is within its size limit
+     * @param keep  the entry to keep regardless of size
+     */
+    private void evict(Entry keep) {
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            final Entry entry = iterator.next();
+            if (entry != keep) {
+                iterator.remove();
+                this.delete(entry);
+            }
+        }
+    }
+
+
+    /**
+     * Deletes the meta-data file for an entry that has been removed, and its blob if no longer referenced
+     * @param entry the entry removed from memory
+     */
+    private void delete(Entry entry) {
+        try {
+            Files.deleteIfExists(new File(entryDir, entry.id).toPath());
+            this.release(entry.blob, entry.size);
+        } catch (IOException ex) {
+            throw new RuntimeException("Failed to delete cache entry " + entry.id, ex);
+        }
+    }
+
+
+    /**
+     * Increments the reference count of a blob
+     * @param blob  the blob digest
+     * @param size  the blob size in bytes
+     */
+    private void retain(String blob, long size) {
+        final int count = blobRefs.merge(blob, 1, Integer::sum);
+        if (count == 1) {
+            this.totalBytes += size;
+        }
+    }
+
+
+    /**
+     * Decrements the reference count of a blob, deleting the blob file when it is no longer referenced
+     * @param blob  the blob digest
+     * @param size  the blob size in bytes
+     */
+    private void release(String blob, long size) {
+        final Integer count = blobRefs.computeIfPresent(blob, (key, value) -> value > 1 ? value - 1 : null);
+        if (count == null) {
+            try {
+                this.totalBytes -= size;
+                Files.deleteIfExists(new File(blobDir, blob).toPath());
+            } catch (IOException ex) {
+                throw new RuntimeException("Failed to delete cache blob " + blob, ex);
+            }
+        }
+    }
+
+
+    /**
+     * Loads the entries persisted in the cache directory, ordered by last access time
+     */
+    private void load() {
+        if (entryDir.isDirectory()) {
+            final File[] files = entryDir.listFiles(file -> file.isFile() && !file.getName().endsWith(".tmp"));
+            final List<File> fileList = new ArrayList<>(List.of(files != null ? files : new File[0]));
+            fileList.sort(Comparator.comparingLong(File::lastModified));
+            for (File file : fileList) {
+                try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                    final Properties properties = new Properties();
+                    properties.load(reader);
+                    final String blob = properties.getProperty("blob");
+                    final long size = Long.parseLong(properties.getProperty("size"));
+                    final long storedAt = Long.parseLong(properties.getProperty("storedAt"));
+                    final int headerCount = Integer.parseInt(properties.getProperty("headers"));
+                    final List<HttpHeader> headers = new ArrayList<>(headerCount);
+                    for (int i = 0; i < headerCount; ++i) {
+                        final String key = Objects.requireNonNull(properties.getProperty("header." + i + ".key"));
+                        final String value = Objects.requireNonNull(properties.getProperty("header." + i + ".value"));
+                        headers.add(new HttpHeader(key, value));
+                    }
+                    final Entry entry = new Entry(file.getName(), blob, size, headers, storedAt);
+                    if (entry.getBlobFile().exists()) {
+                        this.entries.put(entry.id, entry);
+                        this.retain(entry.blob, entry.size);
+                    } else {
+                        Files.deleteIfExists(file.toPath());
+                    }
+                } catch (Exception ex) {
+                    file.delete();
+                }
+            }
+            this.evict(null);
+        }
+        if (blobDir.isDirectory()) {
+            try (Stream<Path> blobs = Files.list(blobDir.toPath())) {
+                blobs.filter(path -> !blobRefs.containsKey(path.getFileName().toString())).forEach(path -> path.toFile().delete());
+            } catch (IOException ex) {
+                throw new RuntimeException("Failed to list cache directory " + blobDir, ex);
+            }
+        }
+    }
+
+
+    /**
+     * Returns the hex encoded SHA-256 digest of the key, which names the entry file for the key
+     * @param key   the cache key
+     * @return      the digest of the key
+     */
+    private static String digest(String key) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return hex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception ex) {
+            throw new RuntimeException("Failed to compute digest of cache key", ex);
+        }
+    }
+
+
+    /**
+     * Returns the lower case hex encoding of the bytes
+     * @param bytes the bytes to encode
+     * @return      the hex string
+     */
+    private static String hex(byte[] bytes) {
+        final char[] digits = "0123456789abcdef".toCharArray();
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; ++i) {
+            chars[2 * i] = digits[(bytes[i] >> 4) & 0xF];
+            chars[2 * i + 1] = digits[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+
+    /**
+     * An immutable record of a response held in the cache
+     */
+    class Entry {
+
+        private String id;
+        private String blob;
+        private long size;
+        private List<HttpHeader> headers;
+        private long storedAt;
+
+        /**
+         * Constructor
+         * @param id            the digest of the cache key
+         * @param blob          the digest of the content
+         * @param size          the content size in bytes
+         * @param headers       the response headers
+         * @param storedAt      the epoch millis when the content was last confirmed current
+         */
+        Entry(String id, String blob, long size, List<HttpHeader> headers, long storedAt) {
+            this.id = id;
+            this.blob = blob;
+            this.size = size;
+            this.headers = List.copyOf(headers);
+            this.storedAt = storedAt;
+        }
+
+        /**
+         * Returns the file that holds the content for this entry
+         * @return  the blob file
+         */
+        File getBlobFile() {
+            return new File(blobDir, blob);
+        }
+
+        /**
+         * Returns a stream to read the content of this entry, marking the entry as recently used on disk
+         * @return              the input stream for entry content
+         * @throws IOException  if the content cannot be opened
+         */
+        InputStream open() throws IOException {
+            final InputStream stream = new BufferedInputStream(Files.newInputStream(getBlobFile().toPath()));
+            try {
+                Files.setLastModifiedTime(new File(entryDir, id).toPath(), FileTime.fromMillis(System.currentTimeMillis()));
+            } catch (NoSuchFileException ex) {
+                //Entry was evicted after the stream was opened, which is harmless
+            }
+            return stream;
+        }
+
+        /**
+         * Returns the content size in bytes
+         * @return  the content size
+         */
+        long getSize() {
+            return size;
+        }
+
+        /**
+         * Returns the response headers recorded for this entry
+         * @return  the immutable list of response headers
+         */
+        List<HttpHeader> getHeaders() {
+            return headers;
+        }
+
+        /**
+         * Returns the first value of the named response header for this entry, ignoring case
+         * @param name  the header name
+         * @return      the optional header value
+         */
+        Optional<String> getHeader(String name) {
+            return headers.stream().filter(header -> name.equalsIgnoreCase(header.getKey())).map(HttpHeader::getValue).findFirst();
+        }
+
+        /**
+         * Returns the ETag validator for this entry
+         * @return  the optional ETag
+         */
+        Optional<String> getEtag() {
+            return getHeader("ETag");
+        }
+
+        /**
+         * Returns the Last-Modified validator for this entry
+         * @return  the optional Last-Modified value
+         */
+        Optional<String> getLastModified() {
+            return getHeader("Last-Modified");
+        }
+
+        /**
+         * Returns true if this entry has a validator for conditional revalidation
+         * @return  true if entry can be revalidated
+         */
+        boolean isRevalidatable() {
+            return getEtag().isPresent() || getLastModified().isPresent();
+        }
+
+        /**
+         * Returns true if this entry is within its time to live
+         * @return  true if entry can be served without revalidation
+         */
+        boolean isFresh() {
+            return System.currentTimeMillis() - storedAt < timeToLive.toMillis();
+        }
+    }
+}
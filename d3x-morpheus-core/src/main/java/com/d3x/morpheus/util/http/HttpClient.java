@@ -146,7 +146,8 @@ public abstract class HttpClient {
                     request.getContent().ifPresent(bytes -> write(bytes, conn));
                     final String message = conn.getResponseMessage();
                     final HttpStatus status = new HttpStatus(statusCode, message);
-                    final HttpResponse response = new DefaultResponse(status, conn);
+                    final boolean error = statusCode >= 400 && statusCode < 500 && request.isClientErrors();
+                    final HttpResponse response = new DefaultResponse(status, conn, error);
                     return request.getResponseHandler().flatMap(handler -> handler.onResponse(response));
                 } catch (HttpException ex) {
                     throw ex; //no retries based on our own internally generated exception
@@ -202,12 +203,14 @@ public abstract class HttpClient {
 
         /**
          * Constructor
-         * @param conn  the http connection object
+         * @param status    the response status
+         * @param conn      the http connection object
+         * @param error     true to read the error stream of a client error response
          */
-        DefaultResponse(HttpStatus status, HttpURLConnection conn) throws IOException {
+        DefaultResponse(HttpStatus status, HttpURLConnection conn, boolean error) throws IOException {
             this.conn = conn;
             this.status = status;
-            this.stream = conn.getInputStream();
+            this.stream = error ? errorStream(conn) : conn.getInputStream();
             this.headers = new ArrayList<>();
             conn.getHeaderFields().forEach((key, values) -> {
                 if (key != null && values != null && !values.isEmpty()) {
@@ -218,6 +221,16 @@ public abstract class HttpClient {
             });
         }
 
+        /**
+         * Returns the error stream of a client error response, for requests that handle client errors
+         * @param conn  the http connection object
+         * @return      the error stream, or an empty stream if the response has no body
+         */
+        private static InputStream errorStream(HttpURLConnection conn) {
+            final InputStream stream = conn.getErrorStream();
+            return stream != null ? stream : InputStream.nullInputStream();
+        }
+
         /**
          * Returns the content encoding for response
          * @return  the content encoding
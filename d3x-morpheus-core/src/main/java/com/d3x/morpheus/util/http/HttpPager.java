@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.util.http;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * A fetch pipeline for paginated HTTP resources that loads the first page, discovers the page count from it,
+ * and then loads the remaining pages concurrently with a bounded number of requests in flight.
+ *
+ * <p>Pages are numbered from 1, and are returned in page order regardless of the order in which they complete,
+ * so callers can assemble a result that is identical to a sequential walk of the pages. If any page fails, the
+ * pages not yet started are abandoned and the first failure is rethrown.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author Xavier Witdouck
+ */
+public class HttpPager {
+
+    /** The default maximum number of page requests in flight */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private int maxInFlight;
+
+    /**
+     * Constructor
+     */
+    public HttpPager() {
+        this(DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Constructor
+     * @param maxInFlight   the maximum number of page requests in flight at any time
+     */
+    public HttpPager(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("The max in flight requests must be > 0, not " + maxInFlight);
+        } else {
+            this.maxInFlight = maxInFlight;
+        }
+    }
+
+
+    /**
+     * Returns the maximum number of page requests in flight at any time
+     * @return  the max number of requests in flight
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+
+    /**
+     * Loads all pages of a paginated resource
+     * @param loader        the function to load a page given its 1-based page number
+     * @param pageCount     the function to extract the total page count from the first page
+     * @param <P>           the page type
+     * @return              the list of pages in page order
+     */
+    public <P> List<P> fetch(IntFunction<P> loader, ToIntFunction<P> pageCount) {
+        final P first = loader.apply(1);
+        final int count = Math.max(1, pageCount.applyAsInt(first));
+        if (count == 1) {
+            return List.of(first);
+        } else {
+            final Object[] pages = new Object[count];
+            final Semaphore permits = new Semaphore(maxInFlight);
+            final List<CompletableFuture<Void>> futures = new ArrayList<>(count - 1);
+            final ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxInFlight, count - 1), runnable -> {
+                final Thread thread = new Thread(runnable, "HttpPager");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                pages[0] = first;
+                for (int i = 1; i < count; ++i) {
+                    final int index = i;
+                    permits.acquire();
+                    if (futures.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                        permits.release();
+                        break;
+                    }
+                    futures.add(CompletableFuture.runAsync(() -> {
+                        try {
+                            pages[index] = loader.apply(index + 1);
+                        } finally {
+                            permits.release();
+                        }
+                    }, executor));
+                }
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+                @SuppressWarnings("unchecked")
+                final List<P> result = (List<P>)Arrays.asList(pages);
+                return result;
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException ? (RuntimeException)ex.getCause() : ex;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while fetching pages", ex);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
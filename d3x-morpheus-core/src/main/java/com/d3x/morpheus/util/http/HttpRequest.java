@@ -39,6 +39,7 @@ public class HttpRequest<T> implements java.io.Serializable, Cloneable {
     private int retryCount;
     private int readTimeout;
     private int connectTimeout;
+    private boolean clientErrors;
     private Map<String,String> headers;
     private Map<String,String> cookies;
     private HttpClient.ResponseHandler<T> responseHandler;
@@ -64,6 +65,7 @@ public class HttpRequest<T> implements java.io.Serializable, Cloneable {
         this.retryCount = request.retryCount;
         this.readTimeout = request.readTimeout;
         this.connectTimeout = request.connectTimeout;
+        this.clientErrors = request.clientErrors;
         this.headers.putAll(request.headers);
         this.cookies.putAll(request.cookies);
         this.responseHandler = request.responseHandler;
@@ -114,6 +116,16 @@ public class HttpRequest<T> implements java.io.Serializable, Cloneable {
         this.connectTimeout = connectTimeout;
     }
 
+    /**
+     * Sets whether responses with a client error status (4xx) are passed to the response handler with the error content
+     * <p>By default any response with a status of 400 or more fails the request, which is retried up to the retry
+     * count. Server errors (5xx) fail and are retried regardless of this setting.</p>
+     * @param clientErrors  true to pass client error responses to the response handler
+     */
+    public void setClientErrors(boolean clientErrors) {
+        this.clientErrors = clientErrors;
+    }
+
     /**
      * Sets the value of the Accept Http header
      * @param accept    the Accept value
@@ -198,6 +210,14 @@ public class HttpRequest<T> implements java.io.Serializable, Cloneable {
         return connectTimeout;
     }
 
+    /**
+     * Returns true if responses with a client error status (4xx) are passed to the response handler
+     * @return  true if client error responses are passed to the response handler
+     */
+    public boolean isClientErrors() {
+        return clientErrors;
+    }
+
     /**
      * Returns the response handler for this request
      * @return      the response handler for this request
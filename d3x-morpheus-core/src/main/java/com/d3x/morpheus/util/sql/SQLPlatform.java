@@ -48,4 +48,45 @@ public enum SQLPlatform {
         }
     }
 
+
+    /**
+     * Returns true if this platform accepts an INSERT with multiple rows in the VALUES clause
+     * @return  true if multi-row inserts are supported
+     */
+    public boolean isMultiRowInsertSupported() {
+        switch (this) {
+            case H2:        return true;
+            case HSQL:      return true;
+            case SQLITE:    return true;
+            case MYSQL:     return true;
+            case MSSQL:     return true;
+            default:        return false;
+        }
+    }
+
+
+    /**
+     * Returns the max number of rows this platform accepts in the VALUES clause of a single INSERT
+     * @return  the max number of rows per multi-row insert
+     */
+    public int getMaxInsertRows() {
+        switch (this) {
+            case MSSQL:     return 1000;
+            default:        return Integer.MAX_VALUE;
+        }
+    }
+
+
+    /**
+     * Returns the max number of bind parameters this platform accepts in a single prepared statement
+     * @return  the max number of bind parameters per statement
+     */
+    public int getMaxParameters() {
+        switch (this) {
+            case SQLITE:    return 999;
+            case MSSQL:     return 2099;
+            default:        return 32767;
+        }
+    }
+
 }
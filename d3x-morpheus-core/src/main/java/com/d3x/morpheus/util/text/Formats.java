@@ -24,6 +24,7 @@ import java.time.Period;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -35,7 +36,6 @@ import java.util.Set;
 import java.util.TimeZone;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import com.d3x.morpheus.util.Asserts;
 import com.d3x.morpheus.util.functions.ToBooleanFunction;
@@ -516,15 +516,27 @@ public class Formats {
      */
     @SuppressWarnings("unchecked")
     public Optional<Parser<?>> findParser(Collection<String> values) {
-        var nonNullValues = values.stream().filter(v -> !nullCheck.applyAsBoolean(v)).collect(Collectors.toList());
+        var shapes = TextScanner.ALL;
+        var nonNullValues = new ArrayList<String>(values.size());
+        for (String value : values) {
+            if (!nullCheck.applyAsBoolean(value)) {
+                nonNullValues.add(value);
+                if (shapes != 0) {
+                    shapes = TextScanner.classify(value, shapes);
+                }
+            }
+        }
         if (nonNullValues.size() == 0) {
             return Optional.empty();
         } else {
             for (var entry : parserMap.entrySet()) {
                 var parser = entry.getValue();
-                var allMatch = nonNullValues.stream().allMatch(parser::isSupported);
-                if (allMatch && !parser.getType().equals(Object.class)) {
-                    return Optional.of(parser.optimize(nonNullValues.iterator().next()));
+                if (!parser.getType().equals(Object.class)) {
+                    var shape = parser.getShape();
+                    var allMatch = shape != 0 ? (shapes & shape) != 0 : nonNullValues.stream().allMatch(parser::isSupported);
+                    if (allMatch) {
+                        return Optional.of(parser.optimize(nonNullValues.get(0)));
+                    }
                 }
             }
             return Optional.empty();
@@ -37,23 +37,12 @@ import java.util.TimeZone;
  */
 public class SmartFormat extends java.text.Format {
 
-    private static final String INTEGER_REGEX = "[-+]?[0-9]+";
-    private static final String DOUBLE_REGEX = "[-+]?[0-9]*\\.?[0-9]+";
-    private static final String PERCENT_REGEX = "([-+]?[0-9]*\\.?[0-9]+)%";
-    private static final String SCIENTIFIC_REGEX = "[-+]?[0-9]*\\.?[0-9]*([Ee][+-]?[0-9]+)?";
-    private static final String DATE1_REGEX = "(\\d{4})-(\\d{2})-(\\d{2})";
     private static final String DATE2_REGEX = "(\\d{2})-(\\d{2})-(\\d{4})";
     private static final String DATE3_REGEX = "(\\d{1,2})/(\\d{1,2})/(\\d{4})";
     private static final String DATE4_REGEX = "(\\d{2})-([A-Za-z]{3})-(\\d{4})";
     private static final String TIME_REGEX_1 = "(\\d{1,2}):(\\d{1,2})";
     private static final String TIME_REGEX_2 = "(\\d{1,2}):(\\d{1,2})(am|pm)";
 
-    private Matcher integerMatcher = Pattern.compile(INTEGER_REGEX).matcher("");
-    private Matcher doubleMatcher = Pattern.compile(DOUBLE_REGEX).matcher("");
-    private Matcher percentMatcher = Pattern.compile(PERCENT_REGEX).matcher("");
-    private Matcher scientificMatcher = Pattern.compile(SCIENTIFIC_REGEX).matcher("");
-
-    private Matcher date1Matcher = Pattern.compile(DATE1_REGEX).matcher("");
     private Matcher date2Matcher = Pattern.compile(DATE2_REGEX).matcher("");
     private Matcher date3Matcher = Pattern.compile(DATE3_REGEX).matcher("");
     private Matcher date4Matcher = Pattern.compile(DATE4_REGEX).matcher("");
@@ -156,19 +145,13 @@ public class SmartFormat extends java.text.Format {
             } else if (value.equalsIgnoreCase("NaN")) {
                 position.setIndex(value.length());
                 return Double.NaN;
-            } else if (doubleMatcher.reset(value).matches()) {
-                position.setIndex(value.length());
-                return Double.parseDouble(value);
-            } else if (percentMatcher.reset(value).matches()) {
-                position.setIndex(value.length());
-                return Double.parseDouble(percentMatcher.group(1)) / 100d;
-            } else if (scientificMatcher.reset(value).matches()) {
+            } else if (TextScanner.isDecimal(value, 0, value.length())) {
                 position.setIndex(value.length());
-                return Double.parseDouble(value);
-            } else if (integerMatcher.reset(value).matches()) {
+                return TextScanner.parseDouble(value, 0, value.length());
+            } else if (value.endsWith("%") && TextScanner.isDecimal(value, 0, value.length() - 1)) {
                 position.setIndex(value.length());
-                return value.length() > 8 ? Long.parseLong(value) : Integer.parseInt(value);
-            } else if (date1Matcher.reset(value).matches()) {
+                return TextScanner.parseDouble(value, 0, value.length() - 1) / 100d;
+            } else if (TextScanner.hasIsoDateShape(value, 0, value.length())) {
                 return dateFormat1.parseObject(value, position);
             } else if (date2Matcher.reset(value).matches()) {
                 return dateFormat2.parseObject(value, position);
@@ -0,0 +1,543 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.util.text;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * A hand written scanner that recognizes and parses booleans, integers, doubles and ISO dates without regular expressions.
+ *
+ * <p>All methods operate on a slice <code>[from, to)</code> of a CharSequence, so values can be scanned in place
+ * within a larger buffer, such as a CharBuffer over a char[], and none of them allocate except when a double
+ * cannot be converted exactly by the fast path, in which case the JDK parser is used as an exact fallback.</p>
+ *
+ * <p>The classify() method reports which types a value could be parsed as, which allows the type of a column
+ * to be inferred in a single pass over a sample of its values.</p>
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public final class TextScanner {
+
+    /** The flag for values that can be parsed as a boolean */
+    public static final int BOOLEAN = 1;
+    /** The flag for values that can be parsed as an int */
+    public static final int INTEGER = 2;
+    /** The flag for values that can be parsed as a long */
+    public static final int LONG = 4;
+    /** The flag for values that can be parsed as a double, including NaN in any case */
+    public static final int DOUBLE = 8;
+    /** All the flags reported by classify() */
+    public static final int ALL = BOOLEAN | INTEGER | LONG | DOUBLE;
+
+    private static final String MAX_INT = "2147483647";
+    private static final String MIN_INT = "2147483648";
+    private static final String MAX_LONG = "9223372036854775807";
+    private static final String MIN_LONG = "9223372036854775808";
+
+    private static final String[] TRUE_VALUES = {"true", "yes", "on", "y"};
+    private static final String[] FALSE_VALUES = {"false", "no", "off", "n"};
+
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Private constructor
+     */
+    private TextScanner() {
+        super();
+    }
+
+
+    /**
+     * Returns the subset of the candidate flags for the types the value can be parsed as
+     * @param text          the value to classify
+     * @param candidates    the flags to test, which can be narrowed as values are classified to skip needless work
+     * @return              the flags of the candidate types the value can be parsed as
+     */
+    public static int classify(CharSequence text, int candidates) {
+        var result = 0;
+        var length = text.length();
+        if ((candidates & BOOLEAN) != 0 && isBoolean(text, 0, length)) {
+            result |= BOOLEAN;
+        }
+        if ((candidates & INTEGER) != 0 && isInt(text, 0, length)) {
+            result |= INTEGER;
+        }
+        if ((candidates & LONG) != 0 && isLong(text, 0, length)) {
+            result |= LONG;
+        }
+        if ((candidates & DOUBLE) != 0 && (equalsIgnoreCase(text, 0, length, "nan") || isDouble(text, 0, length))) {
+            result |= DOUBLE;
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns true if the value is one of the supported boolean words, ignoring case
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @return      true if the value is a boolean word
+     */
+    public static boolean isBoolean(CharSequence text, int from, int to) {
+        return indexOf(TRUE_VALUES, text, from, to) >= 0 || indexOf(FALSE_VALUES, text, from, to) >= 0;
+    }
+
+
+    /**
+     * Returns true if the value is one of the supported words for true, namely true, yes, on or y, ignoring case
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @return      true if the value represents true, false for any other value
+     */
+    public static boolean parseBoolean(CharSequence text, int from, int to) {
+        return indexOf(TRUE_VALUES, text, from, to) >= 0;
+    }
+
+
+    /**
+     * Returns true if the value is an optionally signed decimal integer of at most 10 digits within the range of an int
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @return      true if the value can be parsed as an int
+     */
+    public static boolean isInt(CharSequence text, int from, int to) {
+        return isInteger(text, from, to, MAX_INT, MIN_INT);
+    }
+
+
+    /**
+     * Returns true if the value is an optionally signed decimal integer of at most 19 digits within the range of a long
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @return      true if the value can be parsed as a long
+     */
+    public static boolean isLong(CharSequence text, int from, int to) {
+        return isInteger(text, from, to, MAX_LONG, MIN_LONG);
+    }
+
+
+    /**
+     * Parses an int from the value
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @return      the parsed int
+     * @throws FormatException  if the value cannot be parsed as an int
+     */
+    public static int parseInt(CharSequence text, int from, int to) {
+        if (!isInt(text, from, to)) {
+            throw new FormatException("Cannot parse value into an int: " + text.subSequence(from, to));
+        } else {
+            return (int)accumulate(text, from, to);
+        }
+    }
+
+
+    /**
+     * Parses a long from the value
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @return      the parsed long
+     * @throws FormatException  if the value cannot be parsed as a long
+     */
+    public static long parseLong(CharSequence text, int from, int to) {
+        if (!isLong(text, from, to)) {
+            throw new FormatException("Cannot parse value into a long: " + text.subSequence(from, to));
+        } else {
+            return accumulate(text, from, to);
+        }
+    }
+
+
+    /**
+     * Returns true if the value is a plain decimal number, with an optional sign, fraction and exponent
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @return      true if the value is a plain decimal number
+     */
+    public static boolean isDecimal(CharSequence text, int from, int to) {
+        var index = from;
+        var digits = 0;
+        if (index < to && isSign(text.charAt(index))) {
+            ++index;
+        }
+        while (index < to && isDigit(text.charAt(index))) {
+            ++index;
+            ++digits;
+        }
+        if (index < to && text.charAt(index) == '.') {
+            ++index;
+            while (index < to && isDigit(text.charAt(index))) {
+                ++index;
+                ++digits;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        } else if (index < to && (text.charAt(index) == 'e' || text.charAt(index) == 'E')) {
+            ++index;
+            if (index < to && isSign(text.charAt(index))) {
+                ++index;
+            }
+            var start = index;
+            while (index < to && isDigit(text.charAt(index))) {
+                ++index;
+            }
+            return index > start && index == to;
+        } else {
+            return index == to;
+        }
+    }
+
+
+    /**
+     * Returns true if the value can be parsed by Double.parseDouble(), without throwing exceptions except for hex values
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @return      true if the value can be parsed as a double
+     */
+    public static boolean isDouble(CharSequence text, int from, int to) {
+        while (from < to && text.charAt(from) <= ' ') ++from;
+        while (to > from && text.charAt(to - 1) <= ' ') --to;
+        if (from == to) {
+            return false;
+        } else if (isDecimal(text, from, to)) {
+            return true;
+        } else if (isSuffix(text.charAt(to - 1)) && isDecimal(text, from, to - 1)) {
+            return true;
+        } else {
+            var start = isSign(text.charAt(from)) ? from + 1 : from;
+            if (equals(text, start, to, "Infinity") || equals(text, start, to, "NaN")) {
+                return true;
+            } else if (to - start > 2 && text.charAt(start) == '0' && (text.charAt(start + 1) == 'x' || text.charAt(start + 1) == 'X')) {
+                try {
+                    Double.parseDouble(text.subSequence(from, to).toString());
+                    return true;
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+    }
+
+
+    /**
+     * Parses a double from the value with the same result as Double.parseDouble()
+     * <p>Decimal values with at most 18 significant digits whose mantissa and power of ten are both exactly
+     * representable are converted with a single correctly rounded multiply or divide. All other values are
+     * passed to Double.parseDouble(), so the result is always the correctly rounded double.</p>
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @return      the parsed double
+     * @throws NumberFormatException    if the value cannot be parsed as a double
+     */
+    public static double parseDouble(CharSequence text, int from, int to) {
+        while (from < to && text.charAt(from) <= ' ') ++from;
+        while (to > from && text.charAt(to - 1) <= ' ') --to;
+        var index = from;
+        var negative = false;
+        if (index < to && isSign(text.charAt(index))) {
+            negative = text.charAt(index) == '-';
+            ++index;
+        }
+        var exact = true;
+        var anyDigits = false;
+        var mantissa = 0L;
+        var significant = 0;
+        var exponent = 0;
+        while (index < to && isDigit(text.charAt(index))) {
+            var digit = text.charAt(index++) - '0';
+            anyDigits = true;
+            if (mantissa == 0 && digit == 0) {
+                continue;
+            } else if (significant < 18) {
+                mantissa = mantissa * 10 + digit;
+                ++significant;
+            } else {
+                exact &= digit == 0;
+                ++exponent;
+            }
+        }
+        if (index < to && text.charAt(index) == '.') {
+            ++index;
+            while (index < to && isDigit(text.charAt(index))) {
+                var digit = text.charAt(index++) - '0';
+                anyDigits = true;
+                if (mantissa == 0 && digit == 0) {
+                    --exponent;
+                } else if (significant < 18) {
+                    mantissa = mantissa * 10 + digit;
+                    ++significant;
+                    --exponent;
+                } else {
+                    exact &= digit == 0;
+                }
+            }
+        }
+        if (anyDigits && index < to && (text.charAt(index) == 'e' || text.charAt(index) == 'E')) {
+            ++index;
+            var negativeExponent = false;
+            if (index < to && isSign(text.charAt(index))) {
+                negativeExponent = text.charAt(index) == '-';
+                ++index;
+            }
+            var start = index;
+            var value = 0;
+            while (index < to && isDigit(text.charAt(index))) {
+                value = Math.min(value * 10 + (text.charAt(index++) - '0'), 100000);
+            }
+            exact &= index > start;
+            exponent += negativeExponent ? -value : value;
+        }
+        if (!anyDigits || index != to || !exact) {
+            return Double.parseDouble(text.subSequence(from, to).toString());
+        } else if (mantissa == 0) {
+            return negative ? -0d : 0d;
+        } else if (mantissa > MAX_EXACT_MANTISSA || exponent < -22 || exponent > 22) {
+            return Double.parseDouble(text.subSequence(from, to).toString());
+        } else {
+            var value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+            return negative ? -value : value;
+        }
+    }
+
+
+    /**
+     * Returns true if the value has the shape of an ISO local date, namely yyyy-MM-dd, regardless of validity
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @return      true if the value has the shape of an ISO local date
+     */
+    public static boolean hasIsoDateShape(CharSequence text, int from, int to) {
+        if (to - from != 10 || text.charAt(from + 4) != '-' || text.charAt(from + 7) != '-') {
+            return false;
+        } else {
+            for (int i = 0; i < 10; ++i) {
+                if (i != 4 && i != 7 && !isDigit(text.charAt(from + i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+
+    /**
+     * Returns true if the value is a valid ISO local date of the form yyyy-MM-dd with a year from 1 to 9999
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @return      true if the value is a valid ISO local date
+     */
+    public static boolean isIsoDate(CharSequence text, int from, int to) {
+        if (!hasIsoDateShape(text, from, to)) {
+            return false;
+        } else {
+            var year = digits(text, from, from + 4);
+            var month = digits(text, from + 5, from + 7);
+            var day = digits(text, from + 8, from + 10);
+            return year >= 1 && month >= 1 && month <= 12 && day >= 1 && day <= Month.of(month).length(Year.isLeap(year));
+        }
+    }
+
+
+    /**
+     * Parses an ISO local date of the form yyyy-MM-dd from the value
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @return      the parsed date
+     * @throws FormatException  if the value is not a valid ISO local date
+     */
+    public static LocalDate parseIsoDate(CharSequence text, int from, int to) {
+        if (!isIsoDate(text, from, to)) {
+            throw new FormatException("Cannot parse value into an ISO LocalDate: " + text.subSequence(from, to));
+        } else {
+            var year = digits(text, from, from + 4);
+            var month = digits(text, from + 5, from + 7);
+            var day = digits(text, from + 8, from + 10);
+            return LocalDate.of(year, month, day);
+        }
+    }
+
+
+    /**
+     * Returns true if the value equals the lower case word specified, ignoring case
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @param word  the lower case word to compare to
+     * @return      true if the value equals the word ignoring case
+     */
+    public static boolean equalsIgnoreCase(CharSequence text, int from, int to, String word) {
+        if (to - from != word.length()) {
+            return false;
+        } else {
+            for (int i = 0; i < word.length(); ++i) {
+                if (Character.toLowerCase(text.charAt(from + i)) != word.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+
+    /**
+     * Returns true if the value is a sign followed by at most as many digits as the bound, and does not exceed the bound
+     * @param text      the text to scan
+     * @param from      the index of the first char, inclusive
+     * @param to        the index of the last char, exclusive
+     * @param max       the digits of the maximum positive value
+     * @param min       the digits of the magnitude of the minimum negative value
+     * @return          true if the value is an integer within the bounds
+     */
+    private static boolean isInteger(CharSequence text, int from, int to, String max, String min) {
+        var start = from < to && isSign(text.charAt(from)) ? from + 1 : from;
+        var count = to - start;
+        if (count < 1 || count > max.length()) {
+            return false;
+        } else {
+            for (int i = start; i < to; ++i) {
+                if (!isDigit(text.charAt(i))) {
+                    return false;
+                }
+            }
+            if (count < max.length()) {
+                return true;
+            } else {
+                // Digit strings of equal length compare in the same order as their values...
+                var bound = text.charAt(from) == '-' ? min : max;
+                for (int i = 0; i < count; ++i) {
+                    var c = text.charAt(start + i);
+                    var b = bound.charAt(i);
+                    if (c != b) {
+                        return c < b;
+                    }
+                }
+                return true;
+            }
+        }
+    }
+
+
+    /**
+     * Accumulates a validated integer value, negatively so that the minimum value does not overflow
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @return      the integer value
+     */
+    private static long accumulate(CharSequence text, int from, int to) {
+        var negative = text.charAt(from) == '-';
+        var start = isSign(text.charAt(from)) ? from + 1 : from;
+        var result = 0L;
+        for (int i = start; i < to; ++i) {
+            result = result * 10 - (text.charAt(i) - '0');
+        }
+        return negative ? result : -result;
+    }
+
+
+    /**
+     * Returns the value of a run of digits already known to be valid
+     * @param text  the text to scan
+     * @param from  the index of the first digit, inclusive
+     * @param to    the index of the last digit, exclusive
+     * @return      the value of the digits
+     */
+    private static int digits(CharSequence text, int from, int to) {
+        var result = 0;
+        for (int i = from; i < to; ++i) {
+            result = result * 10 + (text.charAt(i) - '0');
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns the index of the word that equals the value ignoring case, or -1 if none do
+     * @param words the lower case words to compare to
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @return      the index of the matching word, or -1
+     */
+    private static int indexOf(String[] words, CharSequence text, int from, int to) {
+        for (int i = 0; i < words.length; ++i) {
+            if (equalsIgnoreCase(text, from, to, words[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    /**
+     * Returns true if the value equals the word specified, respecting case
+     * @param text  the text to scan
+     * @param from  the index of the first char, inclusive
+     * @param to    the index of the last char, exclusive
+     * @param word  the word to compare to
+     * @return      true if the value equals the word
+     */
+    private static boolean equals(CharSequence text, int from, int to, String word) {
+        if (to - from != word.length()) {
+            return false;
+        } else {
+            for (int i = 0; i < word.length(); ++i) {
+                if (text.charAt(from + i) != word.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+
+    private static boolean isSign(char c) {
+        return c == '-' || c == '+';
+    }
+
+
+    private static boolean isSuffix(char c) {
+        return c == 'd' || c == 'D' || c == 'f' || c == 'F';
+    }
+}
@@ -121,6 +121,18 @@ public abstract class Parser<T> extends Function1<String,T> {
     }
 
 
+    /**
+     * Returns the TextScanner flag that classifies the values this parser supports, or zero if none does
+     * <p>When non-zero, a value is supported exactly when it is not null and TextScanner.classify() reports
+     * this flag for it, which allows a column type to be inferred by classifying each value once rather
+     * than testing every candidate parser against every value.</p>
+     * @return      the TextScanner flag for supported values, or zero if values must be tested with isSupported()
+     */
+    public int getShape() {
+        return 0;
+    }
+
+
     /**
      * Returns a possibly modified version of this parser optimized to parse values of the form presented
      * @param value     the format of the value to optimize for
@@ -271,7 +283,7 @@ public abstract class Parser<T> extends Function1<String,T> {
      * @return  newly created Parser
      */
     public static Parser<Double> ofDouble() {
-        return new ParserOfDouble(defaultNullCheck, Double::parseDouble);
+        return new ParserOfDouble(defaultNullCheck);
     }
 
     /**
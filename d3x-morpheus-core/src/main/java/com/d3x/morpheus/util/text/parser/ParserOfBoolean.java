@@ -15,12 +15,10 @@
  */
 package com.d3x.morpheus.util.text.parser;
 
-import java.util.Set;
-
-import com.d3x.morpheus.util.Collect;
 import com.d3x.morpheus.util.functions.FunctionStyle;
 import com.d3x.morpheus.util.functions.ToBooleanFunction;
 import com.d3x.morpheus.util.text.FormatException;
+import com.d3x.morpheus.util.text.TextScanner;
 
 /**
  * A Parser implementation for booleans
@@ -31,9 +29,6 @@ import com.d3x.morpheus.util.text.FormatException;
  */
 class ParserOfBoolean extends Parser<Boolean> {
 
-    private static final Set<String> trueSet = Collect.asSet("true", "yes", "on", "y");
-    private static final Set<String> falseSet = Collect.asSet("false", "no", "off", "n");
-
     /**
      * Constructor
      * @param nullChecker   the null checker function
@@ -42,9 +37,14 @@ class ParserOfBoolean extends Parser<Boolean> {
         super(FunctionStyle.BOOLEAN, Boolean.class, nullChecker);
     }
 
+    @Override
+    public int getShape() {
+        return TextScanner.BOOLEAN;
+    }
+
     @Override
     public final boolean isSupported(String value) {
-        return !getNullChecker().applyAsBoolean(value) && (trueSet.contains(lower(value)) || falseSet.contains(lower(value)));
+        return !getNullChecker().applyAsBoolean(value) && TextScanner.isBoolean(value, 0, value.length());
     }
 
     @Override
@@ -55,18 +55,9 @@ class ParserOfBoolean extends Parser<Boolean> {
     @Override
     public final boolean applyAsBoolean(String value) {
         try {
-            return !getNullChecker().applyAsBoolean(value) && trueSet.contains(lower(value));
+            return !getNullChecker().applyAsBoolean(value) && TextScanner.parseBoolean(value, 0, value.length());
         } catch (Exception ex) {
             throw new FormatException("Failed to parse value into Boolean: " + value, ex);
         }
     }
-
-    /**
-     * Returns lower case version of value or null if value is null
-     * @param value the value to convert to lower case
-     * @return      the lower case value
-     */
-    private static String lower(String value) {
-        return value != null ? value.toLowerCase() : null;
-    }
 }
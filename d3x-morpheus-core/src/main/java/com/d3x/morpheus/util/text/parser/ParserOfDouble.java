@@ -15,16 +15,12 @@
  */
 package com.d3x.morpheus.util.text.parser;
 
-import java.util.HashSet;
-import java.util.Set;
-import java.util.function.Function;
 import java.util.function.ToDoubleFunction;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import com.d3x.morpheus.util.functions.FunctionStyle;
 import com.d3x.morpheus.util.functions.ToBooleanFunction;
 import com.d3x.morpheus.util.text.FormatException;
+import com.d3x.morpheus.util.text.TextScanner;
 
 /**
  * A Parser implementation for doubles
@@ -35,22 +31,22 @@ import com.d3x.morpheus.util.text.FormatException;
  */
 class ParserOfDouble extends Parser<Double> {
 
-    private static final Set<Pattern> patternSet = new HashSet<>();
-
+    private boolean scan;
     private ToDoubleFunction<String> handler;
 
-    /*
-     * Static initializer
+    /**
+     * Constructor for a parser that accepts any value accepted by Double.parseDouble(), using the TextScanner
+     * @param nullChecker   the null checker function
      */
-    static {
-        patternSet.add(Pattern.compile("NaN|[-+]?[0-9]+\\.?[0-9]*"));
-        patternSet.add(Pattern.compile("[-+]?[0-9]+\\.?[0-9]*([Ee][+-]?[0-9]+)?"));
+    ParserOfDouble(ToBooleanFunction<String> nullChecker) {
+        super(FunctionStyle.DOUBLE, Double.class, nullChecker);
+        this.scan = true;
     }
 
     /**
      * Constructor
      * @param nullChecker   the null checker function
-     * @param handler       the handler for this parser, which may be null in order to use pattern matching
+     * @param handler       the handler for this parser, which may be null in order to accept only plain decimals with a leading digit
      */
     ParserOfDouble(ToBooleanFunction<String> nullChecker, ToDoubleFunction<String> handler) {
         super(FunctionStyle.DOUBLE, Double.class, nullChecker);
@@ -62,40 +58,66 @@ class ParserOfDouble extends Parser<Double> {
         return this;
     }
 
+    @Override
+    public int getShape() {
+        return scan ? TextScanner.DOUBLE : 0;
+    }
+
     @Override
     public final boolean isSupported(String value) {
-        try {
-            if (getNullChecker().applyAsBoolean(value)) {
-                return false;
-            } else {
-                applyAsDouble(value);
+        if (getNullChecker().applyAsBoolean(value)) {
+            return false;
+        } else if (isNaN(value)) {
+            return true;
+        } else if (scan) {
+            return TextScanner.isDouble(value, 0, value.length());
+        } else if (handler == null) {
+            return isPlain(value);
+        } else {
+            try {
+                handler.applyAsDouble(value);
                 return true;
+            } catch (Exception ex) {
+                return false;
             }
-        } catch (Exception ex) {
-            return false;
         }
     }
 
     @Override
     public final double applyAsDouble(String value) {
         try {
-            if (getNullChecker().applyAsBoolean(value) || value.equalsIgnoreCase("NaN")) {
+            if (getNullChecker().applyAsBoolean(value) || isNaN(value)) {
                 return Double.NaN;
+            } else if (scan) {
+                return TextScanner.parseDouble(value, 0, value.length());
+            } else if (handler != null) {
+                return handler.applyAsDouble(value);
+            } else if (isPlain(value)) {
+                return TextScanner.parseDouble(value, 0, value.length());
             } else {
-                if (handler != null) {
-                    return handler.applyAsDouble(value);
-                } else {
-                    for (Pattern pattern : patternSet) {
-                        var matcher = pattern.matcher(value);
-                        if (matcher.reset(value).matches()) {
-                            return Double.parseDouble(value);
-                        }
-                    }
-                    throw new IllegalArgumentException("Unable to parse value into Double: " + value);
-                }
+                throw new IllegalArgumentException("Unable to parse value into Double: " + value);
             }
         } catch (Exception ex) {
             throw new FormatException("Failed to parse value into Double: " + value, ex);
         }
     }
+
+    /**
+     * Returns true if the value is NaN, ignoring case
+     * @param value     the value to check
+     * @return          true if value is NaN
+     */
+    private static boolean isNaN(String value) {
+        return TextScanner.equalsIgnoreCase(value, 0, value.length(), "nan");
+    }
+
+    /**
+     * Returns true if the value is a plain decimal with at least one digit before any decimal point
+     * @param value     the value to check
+     * @return          true if value is a plain decimal
+     */
+    private static boolean isPlain(String value) {
+        var start = value.startsWith("-") || value.startsWith("+") ? 1 : 0;
+        return start < value.length() && Character.isDigit(value.charAt(start)) && TextScanner.isDecimal(value, 0, value.length());
+    }
 }
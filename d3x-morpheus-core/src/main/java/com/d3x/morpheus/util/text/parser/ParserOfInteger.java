@@ -15,11 +15,10 @@
  */
 package com.d3x.morpheus.util.text.parser;
 
-import java.util.regex.Pattern;
-
 import com.d3x.morpheus.util.functions.FunctionStyle;
 import com.d3x.morpheus.util.functions.ToBooleanFunction;
 import com.d3x.morpheus.util.text.FormatException;
+import com.d3x.morpheus.util.text.TextScanner;
 
 /**
  * A Parser implementation for ints
@@ -30,8 +29,6 @@ import com.d3x.morpheus.util.text.FormatException;
  */
 class ParserOfInteger extends Parser<Integer> {
 
-    private static final Pattern pattern = Pattern.compile("[-+]?[0-9]{1,10}");
-
     /**
      * Constructor
      * @param nullChecker   the null checker function
@@ -45,9 +42,14 @@ class ParserOfInteger extends Parser<Integer> {
         return this;
     }
 
+    @Override
+    public int getShape() {
+        return TextScanner.INTEGER;
+    }
+
     @Override
     public final boolean isSupported(String value) {
-        return !getNullChecker().applyAsBoolean(value) && pattern.matcher(value).matches();
+        return !getNullChecker().applyAsBoolean(value) && TextScanner.isInt(value, 0, value.length());
     }
 
     @Override
@@ -55,10 +57,8 @@ class ParserOfInteger extends Parser<Integer> {
         try {
             if (getNullChecker().applyAsBoolean(value)) {
                 return 0;
-            } else if (pattern.matcher(value).matches()) {
-                return Integer.parseInt(value);
             } else {
-                throw new IllegalArgumentException("Cannot parse value into an int: " + value + " pattern: " + pattern.pattern());
+                return TextScanner.parseInt(value, 0, value.length());
             }
         } catch (Exception ex) {
             throw new FormatException("Failed to parse value into Integer: " + value, ex);
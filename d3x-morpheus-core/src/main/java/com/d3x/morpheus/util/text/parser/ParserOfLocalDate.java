@@ -26,6 +26,7 @@ import java.util.regex.Pattern;
 import com.d3x.morpheus.util.functions.FunctionStyle;
 import com.d3x.morpheus.util.functions.ToBooleanFunction;
 import com.d3x.morpheus.util.text.FormatException;
+import com.d3x.morpheus.util.text.TextScanner;
 
 /**
  * A Parser implementation for LocalDate objects.
@@ -36,6 +37,7 @@ import com.d3x.morpheus.util.text.FormatException;
  */
 class ParserOfLocalDate extends Parser<LocalDate> {
 
+    private static final DateTimeFormatter isoFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final Map<Pattern,DateTimeFormatter> patternMap = new LinkedHashMap<>();
 
     private Supplier<DateTimeFormatter> format;
@@ -44,7 +46,6 @@ class ParserOfLocalDate extends Parser<LocalDate> {
      * Static initializer
      */
     static {
-        patternMap.put(Pattern.compile("\\d{4}-\\d{2}-\\d{2}"), DateTimeFormatter.ofPattern("yyyy-MM-dd"));
         patternMap.put(Pattern.compile("\\d{2}-\\p{Alpha}{3}]-\\d{4}"), DateTimeFormatter.ofPattern("dd-MMM-yyyy"));
     }
 
@@ -63,6 +64,8 @@ class ParserOfLocalDate extends Parser<LocalDate> {
     public Parser<LocalDate> optimize(String value) {
         if (value == null) {
             throw new IllegalArgumentException("Cannot optimize to parse a null");
+        } else if (TextScanner.hasIsoDateShape(value, 0, value.length())) {
+            return new ParserOfLocalDate(getNullChecker(), () -> isoFormat);
         } else {
             for (Map.Entry<Pattern,DateTimeFormatter> entry : patternMap.entrySet()) {
                 final Matcher matcher = entry.getKey().matcher(value);
@@ -79,6 +82,9 @@ class ParserOfLocalDate extends Parser<LocalDate> {
     @Override
     public final boolean isSupported(String value) {
         if (!getNullChecker().applyAsBoolean(value)) {
+            if (TextScanner.hasIsoDateShape(value, 0, value.length())) {
+                return true;
+            }
             for (Map.Entry<Pattern,DateTimeFormatter> entry : patternMap.entrySet()) {
                 final Matcher matcher = entry.getKey().matcher(value);
                 if (matcher.reset(value).matches()) {
@@ -97,8 +103,12 @@ class ParserOfLocalDate extends Parser<LocalDate> {
                 return null;
             } else {
                 final DateTimeFormatter formatter = format.get();
-                if (formatter != null) {
+                if (isIso(formatter) && TextScanner.isIsoDate(value, 0, value.length())) {
+                    return TextScanner.parseIsoDate(value, 0, value.length());
+                } else if (formatter != null) {
                     return LocalDate.parse(value, formatter);
+                } else if (TextScanner.hasIsoDateShape(value, 0, value.length())) {
+                    return LocalDate.parse(value, isoFormat);
                 } else {
                     for (Map.Entry<Pattern,DateTimeFormatter> entry : patternMap.entrySet()) {
                         final Matcher matcher = entry.getKey().matcher(value);
@@ -113,4 +123,15 @@ class ParserOfLocalDate extends Parser<LocalDate> {
             throw new FormatException("Failed to parse value into LocalDate: " + value, ex);
         }
     }
+
+
+    /**
+     * Returns true if the formatter parses valid yyyy-MM-dd dates exactly as the TextScanner does
+     * <p>A null formatter selects a format by pattern matching, which also resolves yyyy-MM-dd values with the ISO pattern.</p>
+     * @param formatter     the formatter, which may be null
+     * @return              true if valid ISO dates can be parsed by the TextScanner
+     */
+    private static boolean isIso(DateTimeFormatter formatter) {
+        return formatter == null || formatter == isoFormat || formatter == DateTimeFormatter.ISO_LOCAL_DATE;
+    }
 }
@@ -15,11 +15,10 @@
  */
 package com.d3x.morpheus.util.text.parser;
 
-import java.util.regex.Pattern;
-
 import com.d3x.morpheus.util.functions.FunctionStyle;
 import com.d3x.morpheus.util.functions.ToBooleanFunction;
 import com.d3x.morpheus.util.text.FormatException;
+import com.d3x.morpheus.util.text.TextScanner;
 
 /**
  * A Parser implementation for longs
@@ -30,8 +29,6 @@ import com.d3x.morpheus.util.text.FormatException;
  */
 class ParserOfLong extends Parser<Long> {
 
-    private static final Pattern pattern = Pattern.compile("[-+]?[0-9]{1,20}");
-
     /**
      * Constructor
      * @param nullChecker   the null checker function
@@ -40,9 +37,14 @@ class ParserOfLong extends Parser<Long> {
         super(FunctionStyle.LONG, Long.class, nullChecker);
     }
 
+    @Override
+    public int getShape() {
+        return TextScanner.LONG;
+    }
+
     @Override
     public final boolean isSupported(String value) {
-        return !getNullChecker().applyAsBoolean(value) && pattern.matcher(value).matches();
+        return !getNullChecker().applyAsBoolean(value) && TextScanner.isLong(value, 0, value.length());
     }
 
     @Override
@@ -55,10 +57,8 @@ class ParserOfLong extends Parser<Long> {
         try {
             if (getNullChecker().applyAsBoolean(value)) {
                 return 0L;
-            } else if (pattern.matcher(value).matches()) {
-                return Long.parseLong(value);
             } else {
-                throw new IllegalArgumentException("Cannot parse value into an long: " + value + " pattern: " + pattern.pattern());
+                return TextScanner.parseLong(value, 0, value.length());
             }
         } catch (Exception ex) {
             throw new FormatException("Failed to parse value into Long: " + value, ex);
@@ -17,6 +17,8 @@ package com.d3x.morpheus.vector;
 
 import lombok.NonNull;
 
+import com.d3x.morpheus.linalg.DenseKernels;
+
 import org.apache.commons.math3.linear.ArrayRealVector;
 import org.apache.commons.math3.linear.OpenMapRealVector;
 import org.apache.commons.math3.linear.RealVector;
@@ -62,6 +64,21 @@ public final class ApacheVector implements D3xVector {
         return new ArrayRealVector(vector.toArray(), false);
     }
 
+    /**
+     * Returns the array that stores the elements of a dense vector.
+     *
+     * @param vector the vector of interest.
+     *
+     * @return the physical storage of the specified vector (not a copy),
+     * or {@code null} unless the vector is a dense ApacheVector.
+     */
+    private static double[] denseData(D3xVector vector) {
+        if (vector instanceof ApacheVector && ((ApacheVector) vector).impl instanceof ArrayRealVector)
+            return ((ArrayRealVector) ((ApacheVector) vector).impl).getDataRef();
+        else
+            return null;
+    }
+
     /**
      * Returns a new vector by copying values from a bare array.
      *
@@ -145,12 +162,25 @@ public final class ApacheVector implements D3xVector {
 
     @Override
     public ApacheVector combine(double a, double b, D3xVector v) {
-        return wrap(impl.combine(a, b, asOperand(v)));
+        if (denseData(this) != null)
+            return copy().combineInPlace(a, b, v);
+        else
+            return wrap(impl.combine(a, b, asOperand(v)));
     }
 
     @Override
     public ApacheVector combineInPlace(double a, double b, D3xVector v) {
-        impl.combineToSelf(a, b, asOperand(v));
+        double[] x = denseData(this);
+
+        if (x != null) {
+            validateCongruent(v);
+            double[] y = denseData(v);
+            DenseKernels.getInstance().combine(a, x, b, y != null ? y : v.toArray(), x);
+        }
+        else {
+            impl.combineToSelf(a, b, asOperand(v));
+        }
+
         return this;
     }
 
@@ -161,7 +191,16 @@ public final class ApacheVector implements D3xVector {
 
     @Override
     public double dot(D3xVector vector) {
-        return impl.dotProduct(asOperand(vector));
+        double[] x = denseData(this);
+        double[] y = denseData(vector);
+
+        if (x != null && y != null) {
+            validateCongruent(vector);
+            return DenseKernels.getInstance().dot(x, 0, y, 0, x.length);
+        }
+        else {
+            return impl.dotProduct(asOperand(vector));
+        }
     }
 
     @Override
@@ -189,10 +228,36 @@ public final class ApacheVector implements D3xVector {
 
     @Override
     public ApacheVector multiplyInPlace(double scalar) {
-        impl.mapMultiplyToSelf(scalar);
+        double[] x = denseData(this);
+
+        if (x != null)
+            DenseKernels.getInstance().scale(scalar, x);
+        else
+            impl.mapMultiplyToSelf(scalar);
+
         return this;
     }
 
+    @Override
+    public double norm1() {
+        double[] x = denseData(this);
+
+        if (x != null)
+            return DenseKernels.getInstance().sumAbs(x);
+        else
+            return D3xVector.super.norm1();
+    }
+
+    @Override
+    public double norm2() {
+        double[] x = denseData(this);
+
+        if (x != null)
+            return Math.sqrt(DenseKernels.getInstance().sumSquares(x));
+        else
+            return D3xVector.super.norm2();
+    }
+
     @Override
     public void set(int index, double value) {
         impl.setEntry(index, value);
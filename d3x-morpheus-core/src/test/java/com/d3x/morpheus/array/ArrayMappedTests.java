@@ -16,6 +16,10 @@
 package com.d3x.morpheus.array;
 
 
+import java.io.File;
+import java.nio.ReadOnlyBufferException;
+import java.time.LocalDate;
+import java.time.Month;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
@@ -24,6 +28,8 @@ import java.util.Random;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import com.d3x.morpheus.TestSuite;
+
 /**
  * Unit tests specific to memory mapped arrays
  *
@@ -33,6 +39,7 @@ import org.testng.annotations.Test;
  */
 public class ArrayMappedTests {
 
+    private File tmpDir = TestSuite.getOutputDir("array-mapped-tests");
 
 
     @Test()
@@ -100,4 +107,82 @@ public class ArrayMappedTests {
             System.out.println(v1);
         }
     }
+
+
+    @Test()
+    public void testPersistentReopen() {
+        var file = new File(tmpDir, "persistent-doubles.dat");
+        file.delete();
+        var array1 = Array.mmap(file, Double.class, 1000, false);
+        Assert.assertEquals(array1.style(), ArrayStyle.MAPPED);
+        Assert.assertFalse(array1.isReadOnly());
+        array1.applyDoubles(v -> v.index() * 2d);
+        array1.expand(1500);
+        Assert.assertTrue(Double.isNaN(array1.getDouble(1499)));
+        array1.setDouble(1499, 7d);
+        var array2 = Array.mmap(file, Double.class, false);
+        Assert.assertEquals(array2.length(), 1500);
+        for (int i=0; i<1000; ++i) {
+            Assert.assertEquals(array2.getDouble(i), i * 2d, "Values match at index " + i);
+        }
+        Assert.assertEquals(array2.getDouble(1499), 7d);
+        var array3 = Array.mmap(file, Double.class, 2000, -1d, false);
+        Assert.assertEquals(array3.length(), 2000);
+        Assert.assertEquals(array3.getDouble(999), 1998d);
+        Assert.assertEquals(array3.getDouble(1999), -1d);
+        Assert.assertEquals(file.length(), 2000L * 8L);
+    }
+
+
+    @Test()
+    public void testReadOnlySharing() {
+        var file = new File(tmpDir, "read-only-longs.dat");
+        file.delete();
+        Array.mmap(file, Long.class, 100, false).applyLongs(v -> v.index() * 3L);
+        var reader1 = Array.mmap(file, Long.class, true);
+        var reader2 = Array.mmap(file, Long.class, 50, true);
+        Assert.assertTrue(reader1.isReadOnly());
+        Assert.assertSame(reader1.readOnly(), reader1);
+        Assert.assertEquals(reader1.length(), 100);
+        Assert.assertEquals(reader2.length(), 50);
+        Assert.assertEquals(reader1.getLong(99), 297L);
+        Assert.assertEquals(reader2.getLong(49), 147L);
+        Assert.expectThrows(ReadOnlyBufferException.class, () -> reader1.setLong(0, 1L));
+        Assert.expectThrows(ArrayException.class, () -> reader1.expand(200));
+        Assert.expectThrows(ArrayException.class, () -> Array.mmap(file, Long.class, 101, true));
+        var copy = reader1.copy(10, 20);
+        Assert.assertFalse(copy.isReadOnly());
+        Assert.assertEquals(copy.getLong(0), 30L);
+        copy.setLong(0, -1L);
+        Assert.assertEquals(reader1.getLong(10), 30L);
+    }
+
+
+    @Test(expectedExceptions = ArrayException.class)
+    public void testReadOnlyMissingFile() {
+        Array.mmap(new File(tmpDir, "missing.dat"), Double.class, true);
+    }
+
+
+    @Test()
+    public void testPersistentCodedTypes() {
+        var start = LocalDate.of(2020, 1, 1);
+        var dates = new File(tmpDir, "persistent-dates.dat");
+        var booleans = new File(tmpDir, "persistent-booleans.dat");
+        var months = new File(tmpDir, "persistent-months.dat");
+        dates.delete();
+        booleans.delete();
+        months.delete();
+        Array.mmap(dates, LocalDate.class, 100, false).applyValues(v -> v.index() % 10 == 0 ? null : start.plusDays(v.index()));
+        Array.mmap(booleans, Boolean.class, 100, false).applyBooleans(v -> v.index() % 3 == 0);
+        Array.mmap(months, Month.class, 100, false).applyValues(v -> Month.of(1 + v.index() % 12));
+        var dateArray = Array.mmap(dates, LocalDate.class, true);
+        var booleanArray = Array.mmap(booleans, Boolean.class, true);
+        var monthArray = Array.mmap(months, Month.class, true);
+        for (int i=0; i<100; ++i) {
+            Assert.assertEquals(dateArray.getValue(i), i % 10 == 0 ? null : start.plusDays(i));
+            Assert.assertEquals(booleanArray.getBoolean(i), i % 3 == 0);
+            Assert.assertEquals(monthArray.getValue(i), Month.of(1 + i % 12));
+        }
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.array.mapped;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.d3x.morpheus.TestSuite;
+
+/**
+ * Unit tests of memory mapped regions that span multiple chunks, using a small chunk size in place of the 1GB default
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class MappedRegionTests {
+
+    private File tmpDir = TestSuite.getOutputDir("mapped-region-tests");
+
+
+    private MappedRegion create(String name, int width, int length, int chunkBytes) throws Exception {
+        tmpDir.mkdirs();
+        var file = new File(tmpDir, name);
+        file.delete();
+        try (var raf = new RandomAccessFile(file, "rw")) {
+            return new MappedRegion(file, raf.getChannel(), FileChannel.MapMode.READ_WRITE, 0L, width, length, true, chunkBytes);
+        }
+    }
+
+
+    @Test()
+    public void testChunkedGrowth() throws Exception {
+        var region = create("chunked-doubles.dat", 8, 10, 64);
+        Assert.assertEquals(region.chunkCount(), 2);
+        for (int i=0; i<10; ++i) region.putDouble(i, i + 0.5d);
+        region.grow(37);
+        Assert.assertEquals(region.length(), 37);
+        Assert.assertEquals(region.chunkCount(), 5);
+        Assert.assertEquals(region.file().length(), 37L * 8L);
+        for (int i=10; i<37; ++i) region.putDouble(i, i + 0.5d);
+        for (int i=0; i<37; ++i) {
+            Assert.assertEquals(region.getDouble(i), i + 0.5d, "Values match at index " + i);
+        }
+    }
+
+
+    @Test()
+    public void testChunkedCopy() throws Exception {
+        var source = create("chunked-source.dat", 4, 100, 32);
+        var target = create("chunked-target.dat", 4, 100, 48);
+        for (int i=0; i<100; ++i) source.putInt(i, i * 7);
+        source.copyTo(3, target, 11, 80);
+        for (int i=0; i<80; ++i) {
+            Assert.assertEquals(target.getInt(11 + i), (3 + i) * 7, "Values match at index " + i);
+        }
+        Assert.assertEquals(target.getInt(10), 0);
+        Assert.assertEquals(target.getInt(91), 0);
+    }
+
+
+    @Test()
+    public void testOffsetRegion() throws Exception {
+        var region = create("offset-longs.dat", 8, 20, 64);
+        for (int i=0; i<20; ++i) region.putLong(i, i * 11L);
+        try (var raf = new RandomAccessFile(region.file(), "r")) {
+            var attached = new MappedRegion(region.file(), raf.getChannel(), FileChannel.MapMode.READ_ONLY, 40L, 8, 12, false, 32);
+            Assert.assertTrue(attached.isReadOnly());
+            Assert.assertEquals(attached.chunkCount(), 3);
+            for (int i=0; i<12; ++i) {
+                Assert.assertEquals(attached.getLong(i), (i + 5) * 11L, "Values match at index " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.array.ArrayBuilder;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameAsserts;
+import com.d3x.morpheus.frame.DataFrameException;
+import com.d3x.morpheus.index.Index;
+import com.d3x.morpheus.range.Range;
+
+/**
+ * A unit test of the binary DataFrame codec and its LZ4 block compression
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class DataFrameCodecTests {
+
+    private static final ZoneId[] ZONES = { ZoneId.of("UTC"), ZoneId.of("America/New_York"), ZoneId.of("Europe/London") };
+
+
+    @DataProvider(name="compressed")
+    public Object[][] compressed() {
+        return new Object[][] { {true}, {false} };
+    }
+
+
+    /**
+     * Returns a frame keyed by date with a column of each encoding, including nulls and NaNs
+     * @param rowCount  the row count
+     * @return          the newly created frame
+     */
+    private DataFrame<LocalDate,String> createFrame(int rowCount) {
+        var random = new Random(7);
+        var start = LocalDate.of(2000, 1, 3);
+        var rowKeys = Index.of(ArrayBuilder.of(rowCount, LocalDate.class).appendAll(Range.of(0, rowCount).map(start::plusDays)).toArray());
+        return DataFrame.of(rowKeys, String.class, columns -> {
+            columns.add("Booleans", Array.of(Boolean.class, rowCount).applyBooleans(v -> random.nextBoolean()));
+            columns.add("Ints", Array.of(Integer.class, rowCount).applyInts(v -> random.nextInt()));
+            columns.add("Longs", Array.of(Long.class, rowCount).applyLongs(v -> random.nextLong()));
+            columns.add("Doubles", Array.of(Double.class, rowCount).applyDoubles(v -> v.index() % 7 == 0 ? Double.NaN : random.nextGaussian()));
+            columns.add("Instants", Array.of(Instant.class, rowCount).applyValues(v -> v.index() % 9 == 0 ? null : Instant.ofEpochMilli(1500000000000L + v.index() * 1000L)));
+            columns.add("Zoned", Array.of(ZonedDateTime.class, rowCount).applyValues(v -> v.index() % 11 == 0 ? null : ZonedDateTime.of(2020, 1, 1, 9, 30, 0, 0, ZONES[v.index() % 3]).plusMinutes(v.index())));
+            columns.add("Sectors", Array.of(String.class, rowCount).applyValues(v -> v.index() % 13 == 0 ? null : "Sector-" + v.index() % 5));
+            columns.add("Names", Array.of(String.class, rowCount).applyValues(v -> v.index() % 3 == 0 ? null : "Name-é-" + v.index()));
+            columns.add("Months", Array.of(Month.class, rowCount).applyValues(v -> Month.of(1 + v.index() % 12)));
+        });
+    }
+
+
+    @Test(dataProvider="compressed")
+    public void testRoundTrip(boolean compressed) {
+        var frame = createFrame(5000);
+        var codec = DataFrameCodec.create(options -> {
+            options.setCompressed(compressed);
+            options.setBlockSize(4096);
+        });
+        var bytes = codec.encode(frame);
+        var result = codec.decode(LocalDate.class, String.class, bytes);
+        DataFrameAsserts.assertEqualsByIndex(result, frame);
+        assertEquals(result.rows().keyClass(), LocalDate.class);
+        assertEquals(result.cols().type("Doubles"), Double.class);
+        assertEquals(result.cols().type("Zoned"), ZonedDateTime.class);
+        assertEquals(result.cols().type("Months"), Month.class);
+        assertEquals(result.<ZonedDateTime>getValue(LocalDate.of(2000, 1, 4), "Zoned"), frame.<ZonedDateTime>getValue(LocalDate.of(2000, 1, 4), "Zoned"));
+        result.rows().add(LocalDate.of(1999, 1, 1));
+        assertEquals(result.rowCount(), 5001);
+    }
+
+
+    @Test()
+    public void testKeyTypes() {
+        var codec = DataFrameCodec.create();
+        var ints = DataFrame.ofDoubles(Range.of(0, 1000).map(i -> i * 3 - 500), Range.of(0, 10));
+        var longs = DataFrame.ofDoubles(Range.of(0L, 1000L).map(i -> Long.MAX_VALUE - i * 1000000007L), Array.of(Long.class, -5L, Long.MIN_VALUE, 7L));
+        var zoned = DataFrame.ofDoubles(Range.of(0, 500).map(i -> ZonedDateTime.of(2021, 3, 1, 0, 0, 0, 0, ZONES[1]).plusHours(i)), Array.of(String.class, "A", "B"));
+        var strings = DataFrame.ofDoubles(Array.of(String.class, "X", "Y", "Z"), Array.of(Month.class, Month.JANUARY, Month.MARCH));
+        ints.applyDoubles(v -> v.rowOrdinal() * 10 + v.colOrdinal());
+        longs.applyDoubles(v -> v.rowOrdinal() - v.colOrdinal());
+        zoned.applyDoubles(v -> Math.sqrt(v.rowOrdinal()));
+        strings.applyDoubles(v -> v.rowOrdinal());
+        DataFrameAsserts.assertEqualsByIndex(codec.decode(Integer.class, Integer.class, codec.encode(ints)), ints);
+        DataFrameAsserts.assertEqualsByIndex(codec.decode(Long.class, Long.class, codec.encode(longs)), longs);
+        DataFrameAsserts.assertEqualsByIndex(codec.decode(ZonedDateTime.class, String.class, codec.encode(zoned)), zoned);
+        DataFrameAsserts.assertEqualsByIndex(codec.decode(String.class, Month.class, codec.encode(strings)), strings);
+    }
+
+
+    @Test()
+    public void testViewsAndEmptyFrames() {
+        var codec = DataFrameCodec.create(options -> options.setBlockSize(100));
+        var frame = createFrame(1000);
+        var view = frame.rows().select(row -> row.ordinal() % 3 == 1).cols().select("Doubles", "Sectors", "Zoned");
+        DataFrameAsserts.assertEqualsByIndex(codec.decode(LocalDate.class, String.class, codec.encode(view)), view);
+        var empty = DataFrame.of(Index.of(LocalDate.class, 0), String.class, columns -> {
+            columns.add("Names", String.class);
+            columns.add("Doubles", Double.class);
+        });
+        var result = codec.decode(LocalDate.class, String.class, codec.encode(empty));
+        assertEquals(result.rowCount(), 0);
+        assertEquals(result.cols().keyArray().toList(), empty.cols().keyArray().toList());
+        assertEquals(result.cols().type("Names"), String.class);
+        assertEquals(result.cols().type("Doubles"), Double.class);
+    }
+
+
+    @Test()
+    public void testStreamCarriesMultipleFrames() throws Exception {
+        var codec = DataFrameCodec.create(options -> options.setBlockSize(256));
+        var first = createFrame(300);
+        var second = createFrame(50).cols().select("Ints", "Names");
+        var os = new ByteArrayOutputStream();
+        codec.encode(first, os);
+        codec.encode(second, os);
+        os.write(42);
+        var is = new ByteArrayInputStream(os.toByteArray());
+        DataFrameAsserts.assertEqualsByIndex(codec.decode(LocalDate.class, String.class, is), first);
+        DataFrameAsserts.assertEqualsByIndex(codec.decode(LocalDate.class, String.class, is), second);
+        assertEquals(is.read(), 42);
+    }
+
+
+    @Test()
+    public void testCompression() {
+        var frame = createFrame(20000).cols().select("Ints", "Sectors", "Instants");
+        frame.col("Ints").applyInts(v -> v.rowOrdinal() % 17);
+        var raw = DataFrameCodec.create(options -> options.setCompressed(false)).encode(frame);
+        var packed = DataFrameCodec.create(options -> options.setCompressed(true)).encode(frame);
+        assertTrue(packed.length * 3 < raw.length, "Compressed " + packed.length + " vs raw " + raw.length);
+        DataFrameAsserts.assertEqualsByIndex(DataFrameCodec.create().decode(LocalDate.class, String.class, packed), frame);
+    }
+
+
+    @Test()
+    public void testErrors() {
+        var codec = DataFrameCodec.create();
+        var bytes = codec.encode(createFrame(10));
+        expectThrows(DataFrameException.class, () -> codec.decode(String.class, String.class, bytes));
+        expectThrows(DataFrameException.class, () -> codec.decode(LocalDate.class, String.class, Arrays.copyOf(bytes, bytes.length - 3)));
+        expectThrows(DataFrameException.class, () -> codec.decode(LocalDate.class, String.class, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12}));
+    }
+
+
+    @Test()
+    public void testLZ4Block() {
+        var random = new Random(11);
+        for (int length : new int[] {0, 1, 5, 12, 13, 19, 64, 1000, 70000, 300000}) {
+            var noise = new byte[length];
+            var runs = new byte[length];
+            var text = new byte[length];
+            random.nextBytes(noise);
+            for (int i=0; i<length; ++i) {
+                runs[i] = (byte)(i / 500);
+                text[i] = (byte)("the quick brown fox jumps over the lazy dog ".charAt(i % 44) + (i % 997 == 0 ? 1 : 0));
+            }
+            for (byte[] source : new byte[][] {noise, runs, text}) {
+                var packed = new byte[LZ4Block.maxCompressedLength(length) + 3];
+                var packedLength = LZ4Block.compress(source, 0, length, packed, 3);
+                assertTrue(packedLength <= LZ4Block.maxCompressedLength(length));
+                var result = new byte[length + 2];
+                LZ4Block.decompress(packed, 3, packedLength, result, 2, length);
+                assertEquals(Arrays.copyOfRange(result, 2, length + 2), source, "Round trip of " + length + " bytes");
+                if (source != noise && length >= 1000) {
+                    assertTrue(packedLength < length / 4, "Compressed " + length + " bytes to " + packedLength);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.binary;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.Random;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.d3x.morpheus.TestSuite;
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.array.ArrayBuilder;
+import com.d3x.morpheus.array.ArrayException;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameAsserts;
+import com.d3x.morpheus.frame.DataFrameException;
+import com.d3x.morpheus.index.Index;
+import com.d3x.morpheus.range.Range;
+
+/**
+ * A unit test of the Morpheus columnar binary source and sink
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author  Xavier Witdouck
+ */
+public class MorpheusFileTests {
+
+    private File tmpDir = TestSuite.getOutputDir("morpheus-file-tests");
+
+
+    @DataProvider(name="mapped")
+    public Object[][] mapped() {
+        return new Object[][] { {true}, {false} };
+    }
+
+
+    /**
+     * Returns a frame with a column of each encoding, including nulls and NaNs
+     * @param rowCount  the row count
+     * @return          the newly created frame
+     */
+    private DataFrame<String,String> createFrame(int rowCount) {
+        var random = new Random(3);
+        var start = LocalDateTime.of(2020, 1, 1, 9, 30);
+        var rowKeys = Index.of(ArrayBuilder.of(rowCount, String.class).appendAll(Range.of(0, rowCount).map(i -> "R" + i)).toArray());
+        return DataFrame.of(rowKeys, String.class, columns -> {
+            columns.add("Booleans", Array.of(Boolean.class, rowCount).applyBooleans(v -> random.nextBoolean()));
+            columns.add("Ints", Array.of(Integer.class, rowCount).applyInts(v -> random.nextInt()));
+            columns.add("Longs", Array.of(Long.class, rowCount).applyLongs(v -> random.nextLong()));
+            columns.add("Doubles", Array.of(Double.class, rowCount).applyDoubles(v -> v.index() % 7 == 0 ? Double.NaN : random.nextDouble()));
+            columns.add("Dates", Array.of(LocalDate.class, rowCount).applyValues(v -> v.index() % 5 == 0 ? null : start.toLocalDate().plusDays(v.index())));
+            columns.add("DateTimes", Array.of(LocalDateTime.class, rowCount).applyValues(v -> start.plusSeconds(v.index())));
+            columns.add("Strings", Array.of(String.class, rowCount).applyValues(v -> v.index() % 3 == 0 ? null : "Value-é-" + v.index()));
+            columns.add("Months", Array.of(Month.class, rowCount).applyValues(v -> Month.of(1 + v.index() % 12)));
+        });
+    }
+
+
+    @Test(dataProvider="mapped")
+    public void testRoundTrip(boolean mapped) {
+        var file = new File(tmpDir, "round-trip.mrph");
+        var frame = createFrame(1000);
+        frame.write().morpheus(file).apply(options -> options.setBlockSize(64));
+        var result = DataFrame.read(file).morpheus(String.class, String.class, options -> options.setMapped(mapped));
+        DataFrameAsserts.assertEqualsByIndex(result, frame);
+        assertEquals(result.cols().type("Doubles"), Double.class);
+        assertEquals(result.cols().type("Months"), Month.class);
+        if (mapped) {
+            try {
+                result.rows().add("R1000");
+                throw new AssertionError("Columns attached to a file region cannot be expanded");
+            } catch (ArrayException ex) {
+                assertTrue(ex.getMessage().startsWith("Cannot expand"), ex.getMessage());
+            }
+        } else {
+            result.rows().add("R1000");
+            assertEquals(result.rowCount(), 1001);
+        }
+    }
+
+
+    @Test(dataProvider="mapped")
+    public void testRowRangeAndProjection(boolean mapped) {
+        var file = new File(tmpDir, "row-range.mrph");
+        var frame = createFrame(500);
+        frame.write().morpheus(file).apply(options -> options.setBlockSize(50));
+        var result = DataFrame.read(file).morpheus(String.class, String.class, options -> {
+            options.setMapped(mapped);
+            options.setRowRange(123, 377);
+            options.setIncludeColumns("Ints", "Dates", "Strings", "Months");
+        });
+        var expected = frame.rows().select(row -> row.ordinal() >= 123 && row.ordinal() < 377).cols().select("Ints", "Dates", "Strings", "Months");
+        DataFrameAsserts.assertEqualsByIndex(result, expected);
+        var excluded = DataFrame.read(file).morpheus(String.class, String.class, options -> {
+            options.setMapped(mapped);
+            options.setExcludeColumns("Strings");
+            options.setRowRange(490, 1000);
+        });
+        assertEquals(excluded.rowCount(), 10);
+        assertEquals(excluded.colCount(), 7);
+        assertTrue(!excluded.cols().contains("Strings"));
+    }
+
+
+    @Test()
+    public void testEmptyFrame() {
+        var file = new File(tmpDir, "empty.mrph");
+        var frame = createFrame(0);
+        frame.write().morpheus(file).apply();
+        var result = DataFrame.read(file).morpheus(String.class, String.class);
+        DataFrameAsserts.assertEqualStructure(result, frame);
+    }
+
+
+    @Test()
+    public void testCopyOfMappedFrameCanExpand() {
+        var file = new File(tmpDir, "expand.mrph");
+        createFrame(100).write().morpheus(file).apply();
+        var result = DataFrame.read(file).morpheus(String.class, String.class).copy();
+        result.rows().add("R100");
+        assertEquals(result.rowCount(), 101);
+        assertTrue(Double.isNaN(result.getDouble("R100", "Doubles")));
+    }
+
+
+    @Test(expectedExceptions = DataFrameException.class)
+    public void testRowTypeMismatch() {
+        var file = new File(tmpDir, "row-type.mrph");
+        createFrame(10).write().morpheus(file).apply();
+        DataFrame.read(file).morpheus(Integer.class, String.class);
+    }
+
+
+    @Test(expectedExceptions = DataFrameException.class)
+    public void testBadMagic() throws Exception {
+        var file = new File(tmpDir, "bad-magic.mrph");
+        tmpDir.mkdirs();
+        try (var os = new FileOutputStream(file)) {
+            os.write(new byte[64]);
+        }
+        DataFrame.read(file).morpheus(String.class, String.class);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.collect;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ConcurrentCacheTest {
+
+    @Test
+    public void testWeightBound() {
+        var cache = new ConcurrentCache<String, String>(ConcurrentCache.Eviction.LRU, 10, (key, value) -> value.length(), 1);
+        cache.put("A", "aaaa");
+        cache.put("B", "bbbb");
+        Assert.assertEquals(cache.getWeight(), 8L);
+        cache.put("C", "cccc");
+        Assert.assertEquals(cache.getWeight(), 8L);
+        Assert.assertFalse(cache.containsKey("A"));
+        cache.put("B", "b");
+        Assert.assertEquals(cache.getWeight(), 5L);
+        Assert.assertEquals(List.copyOf(cache.values()), List.of("cccc", "b"));
+        cache.put("D", "dddddddddddd");
+        Assert.assertFalse(cache.containsKey("D"));
+        Assert.assertEquals(cache.getWeight(), 5L);
+        Assert.assertEquals(cache.remove("C"), "cccc");
+        Assert.assertEquals(cache.getWeight(), 1L);
+        Assert.assertEquals(cache.size(), 1);
+    }
+
+
+    @Test
+    public void testLfuRetainsFrequentItems() {
+        var cache = new ConcurrentCache<Integer, Integer>(ConcurrentCache.Eviction.LFU, 4, (key, value) -> 1, 1);
+        IntStream.range(0, 4).forEach(i -> cache.put(i, i));
+        IntStream.range(0, 10).forEach(i -> Assert.assertEquals(cache.get(0), Integer.valueOf(0)));
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+        cache.put(4, 4);
+        Assert.assertTrue(cache.containsKey(0), "The frequently used item is retained despite being least recent");
+        Assert.assertEquals(cache.size(), 4);
+    }
+
+
+    @Test
+    public void testSegments() {
+        var cache = new ConcurrentCache<Integer, Integer>(ConcurrentCache.Eviction.LRU, 1000, (key, value) -> 1, 12);
+        Assert.assertEquals(cache.getConcurrencyLevel(), 8);
+        IntStream.range(0, 5000).forEach(i -> cache.put(i, i));
+        Assert.assertTrue(cache.size() <= 1000);
+        Assert.assertEquals(cache.getWeight(), cache.size());
+        Assert.assertEquals(cache.values().size(), cache.size());
+        Assert.assertEquals(new ConcurrentCache<>(ConcurrentCache.Eviction.LRU, 3, (key, value) -> 1, 64).getConcurrencyLevel(), 2);
+        cache.clear();
+        Assert.assertTrue(cache.isEmpty());
+        Assert.assertEquals(cache.getWeight(), 0L);
+    }
+
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        var threads = 16;
+        var calls = new AtomicInteger();
+        var cache = ConcurrentCache.<Integer, String>lru(100);
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = IntStream.range(0, threads).mapToObj(i -> executor.submit(() -> {
+                start.await();
+                return cache.getOrCompute(7, key -> {
+                    calls.incrementAndGet();
+                    sleep(50);
+                    return "V" + key;
+                });
+            })).toList();
+            start.countDown();
+            for (Future<String> future : futures) {
+                Assert.assertEquals(future.get(), "V7");
+            }
+            Assert.assertEquals(calls.get(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    @Test
+    public void testSingleFlightFailure() {
+        var cache = WormCache.<Integer, String>create();
+        Assert.expectThrows(UnsupportedOperationException.class, () -> cache.getOrCompute(1, key -> {
+            throw new UnsupportedOperationException();
+        }));
+        Assert.assertFalse(cache.containsKey(1));
+        Assert.assertEquals(cache.getOrCompute(1, key -> "V1"), "V1");
+    }
+
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testRecursiveAssign() {
+        var cache = ConcurrentCache.<Integer, String>lru(10);
+        cache.getOrCompute(1, key -> cache.getOrCompute(1, k -> "V1"));
+    }
+
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        var threads = 8;
+        var cache = ConcurrentCache.<Integer, Integer>lfu(64);
+        var computed = new ConcurrentHashMap<Integer, Integer>();
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; ++t) {
+                var seed = t;
+                executor.submit(() -> {
+                    for (int i = 0; i < 20000; ++i) {
+                        var key = (i * 31 + seed * 17) % 256;
+                        var value = cache.getOrCompute(key, k -> {
+                            computed.merge(k, 1, Integer::sum);
+                            return k * 2;
+                        });
+                        Assert.assertEquals(value.intValue(), key * 2);
+                    }
+                });
+            }
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+            Assert.assertTrue(cache.size() <= 64);
+            Assert.assertEquals(cache.getWeight(), cache.size());
+            Assert.assertEquals(cache.values().size(), cache.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.conreg;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameAsserts;
+import com.d3x.morpheus.series.DoubleSeries;
+import com.d3x.morpheus.util.ExecutorContext;
+import com.d3x.morpheus.util.MorpheusException;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class ConstrainedRegressionBatchTest extends ConstrainedRegressionTestBase {
+    private static final List<String> dates = List.of("d1", "d2", "d3", "d4", "d5", "d6", "d7", "d8");
+
+    private final DataFrame<String, String> observationFrame = buildObservationFrame();
+    private final DataFrame<String, String> regressorFrame = observationFrame.cols().select(getRegressors());
+    private final DataFrame<String, String> regressandFrame = buildRegressandFrame();
+    private final DataFrame<String, String> weightFrame = buildWeightFrame();
+
+    private final ForkJoinPool sequentialPool = new ForkJoinPool(1);
+    private final ForkJoinPool parallelPool = new ForkJoinPool(4);
+
+    @AfterClass
+    public void shutdownPools() {
+        sequentialPool.shutdown();
+        parallelPool.shutdown();
+    }
+
+    private DataFrame<String, String> buildRegressandFrame() {
+        Random random = new Random(20211016);
+        return DataFrame.ofDoubles(dates, observationRows, v ->
+                observationFrame.getDouble(v.colKey(), regressand) + random.nextGaussian());
+    }
+
+    private DataFrame<String, String> buildWeightFrame() {
+        return DataFrame.ofDoubles(dates, observationRows, v -> observationFrame.getDouble(v.colKey(), weight));
+    }
+
+    private static ConstrainedRegressionBatch<String, String, String> buildBatch(ExecutorContext executor) {
+        return ConstrainedRegressionBatch.<String, String, String>create(getRegressors())
+                .withConstraint(descriptorConstraint)
+                .withConstraint(categoryConstraint)
+                .withExecutor(executor);
+    }
+
+    private ExecutorContext sequential() {
+        return ExecutorContext.of(sequentialPool, Integer.MAX_VALUE);
+    }
+
+    private ExecutorContext parallel() {
+        return ExecutorContext.of(parallelPool, 1);
+    }
+
+    private ConstrainedRegressionResult<String, String> solveSingle(String date) {
+        List<Double> values = new ArrayList<>();
+
+        for (String row : observationRows)
+            values.add(regressandFrame.getDouble(date, row));
+
+        ConstrainedRegressionModel<String, String> model =
+                ConstrainedRegressionModel.create(regressorFrame, DoubleSeries.build(String.class, observationRows, values))
+                        .withRegressors(getRegressors())
+                        .withWeights(DoubleSeries.from(observationFrame, weight))
+                        .withConstraint(descriptorConstraint)
+                        .withConstraint(categoryConstraint);
+
+        return ConstrainedRegressionSolver.build(model).solve();
+    }
+
+    @Test
+    public void testMatchesSolver() {
+        ConstrainedRegressionBatchResult<String, String, String> result =
+                buildBatch(sequential()).solve(regressandFrame, date -> regressorFrame, weightFrame);
+
+        assertEquals(result.getBetaCoefficients().listRowKeys(), dates);
+        assertEquals(result.getBetaCoefficients().listColumnKeys(), getRegressors());
+        assertEquals(result.getDualValues().listColumnKeys(), List.of(descriptorConstraintName, categoryName));
+
+        for (String date : dates) {
+            ConstrainedRegressionResult<String, String> expected = solveSingle(date);
+
+            for (String regressor : getRegressors())
+                assertEquals(result.getBetaCoefficient(date, regressor), expected.getBetaCoefficient(regressor), 1.0E-08);
+
+            for (String constraint : List.of(descriptorConstraintName, categoryName))
+                assertEquals(result.getDualValues().getDouble(date, constraint), expected.getDualValues().getDouble(constraint), 1.0E-06);
+
+            for (String row : observationRows)
+                assertEquals(result.getResiduals().getDouble(date, row), expected.getResiduals().getDouble(row), 1.0E-08);
+
+            assertEquals(result.getStatistics().getDouble(date, ConstrainedRegressionStat.OBSERVATIONS), 10.0);
+        }
+
+        // Every cross section has the same design and weights...
+        assertEquals(result.getDecompositionCount(), 1);
+    }
+
+    @Test
+    public void testParallel() {
+        ConstrainedRegressionBatchResult<String, String, String> expected =
+                buildBatch(sequential()).solve(regressandFrame, date -> regressorFrame, weightFrame);
+
+        ConstrainedRegressionBatchResult<String, String, String> actual =
+                buildBatch(parallel()).solve(regressandFrame, date -> regressorFrame, weightFrame);
+
+        DataFrameAsserts.assertEqualsByIndex(actual.getBetaCoefficients(), expected.getBetaCoefficients());
+        DataFrameAsserts.assertEqualsByIndex(actual.getStatistics(), expected.getStatistics());
+
+        // Every block shares the one distinct design...
+        assertEquals(expected.getDecompositionCount(), 1);
+        assertEquals(actual.getDecompositionCount(), 1);
+    }
+
+    @Test
+    public void testMissingObservations() {
+        DataFrame<String, String> regressands = regressandFrame.copy();
+        regressands.setDouble("d3", "row2", Double.NaN);
+
+        ConstrainedRegressionBatchResult<String, String, String> result =
+                buildBatch(sequential()).solve(regressands, date -> regressorFrame, weightFrame);
+
+        ConstrainedRegressionBatchResult<String, String, String> parallel =
+                buildBatch(parallel()).solve(regressands, date -> regressorFrame, weightFrame);
+
+        // The design changes on d3 and again on d4, and there are only two
+        // distinct designs, which the parallel blocks share...
+        assertEquals(result.getDecompositionCount(), 3);
+        assertTrue(parallel.getDecompositionCount() <= 2);
+        DataFrameAsserts.assertEqualsByIndex(parallel.getBetaCoefficients(), result.getBetaCoefficients());
+
+        assertEquals(result.getStatistics().getDouble("d3", ConstrainedRegressionStat.OBSERVATIONS), 9.0);
+        assertTrue(Double.isNaN(result.getResiduals().getDouble("d3", "row2")));
+
+        for (String regressor : getRegressors())
+            assertEquals(result.getBetaCoefficient("d4", regressor), solveSingle("d4").getBetaCoefficient(regressor), 1.0E-08);
+    }
+
+    @Test
+    public void testConstraintsSatisfied() {
+        ConstrainedRegressionBatchResult<String, String, String> result =
+                buildBatch(parallel()).solve(regressandFrame, date -> regressorFrame);
+
+        for (String date : dates) {
+            DataFrame<String, String> betas = result.getBetaCoefficients();
+            assertEquals(betas.getDouble(date, "x1") + 2.0 * betas.getDouble(date, "x2"), 3.0, 1.0E-09);
+            assertEquals(betas.getDouble(date, "Ford") + betas.getDouble(date, "GM") + betas.getDouble(date, "BMW"), 0.0, 1.0E-09);
+        }
+    }
+
+    @Test(expectedExceptions = MorpheusException.class)
+    public void testNegativeWeight() {
+        DataFrame<String, String> weights = weightFrame.copy();
+        weights.setDouble("d2", "row4", -1.0);
+        buildBatch(sequential()).solve(regressandFrame, date -> regressorFrame, weights);
+    }
+}
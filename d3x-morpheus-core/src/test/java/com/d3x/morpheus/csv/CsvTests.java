@@ -92,7 +92,22 @@ public class CsvTests {
             });
         });
         frame.out().print();
-        readAndValidate(frame, rowType, file);
+        readAndValidate(frame, rowType, file, false);
+    }
+
+
+    @Test(dataProvider="parallel")
+    public void testLargeFileRead(boolean parallel) {
+        var file = new File(tmpDir, "DataFrame-large-" + parallel + ".csv");
+        var frame = TestDataFrames.createMixedRandomFrame(Integer.class, 50000);
+        frame.write().csv(file).apply(options -> {
+            options.withFormats(formats -> {
+                formats.setPrinter("LocalDateTimeColumn", Printer.ofLocalDateTime(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+                formats.setPrinter("ZonedDateTimeColumn", Printer.ofZonedDateTime(DateTimeFormatter.ISO_ZONED_DATE_TIME));
+            });
+        });
+        assertTrue(file.length() > 4 * 1024 * 1024, "File is large enough to be split into chunks");
+        readAndValidate(frame, Integer.class, file, parallel);
     }
 
 
@@ -100,11 +115,14 @@ public class CsvTests {
      * Loads the DataFrame from the file and compares it to original
      * @param original  the original frame
      * @param file      the file to read from
+     * @param parallel  true to parse the file in parallel chunks
      */
-    private <T> void readAndValidate(DataFrame<T,String> original, Class<T> rowType, File file) {
+    private <T> void readAndValidate(DataFrame<T,String> original, Class<T> rowType, File file, boolean parallel) {
         var formats = new Formats();
         var parser = formats.getParserOrFail(rowType);
         var result = DataFrame.read(file).csv(rowType, options -> {
+            options.setParallel(parallel);
+            options.setParallelism(4);
             options.setFormats(formats);
             options.setRowKeyColumnName("DataFrame");
             options.getFormats().setParser("DataFrame", parser);
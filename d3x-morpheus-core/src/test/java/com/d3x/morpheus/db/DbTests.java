@@ -27,9 +27,13 @@ import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import com.d3x.morpheus.frame.DataFrame;
 import com.d3x.morpheus.range.Range;
+import com.d3x.morpheus.util.ExecutorContext;
 import com.d3x.morpheus.util.IO;
 import com.d3x.morpheus.util.functions.Function1;
 import org.apache.commons.dbcp2.BasicDataSource;
@@ -220,6 +224,40 @@ public class DbTests {
 
 
 
+    @Test(dataProvider="databases", dependsOnMethods="testEtfWrite")
+    public void testEtfStream(String dbName) throws Exception {
+        var conn = dataSourceMap.get(dbName).getConnection();
+        try {
+            var expected = DataFrame.read(conn.createStatement().executeQuery("select Ticker, AUM from ETF")).<String>apply(options -> {
+                options.setRowIndexColumnName("Ticker");
+            });
+            var chunks = DataFrame.read(conn.createStatement().executeQuery("select Ticker, AUM from ETF")).<String>stream(options -> {
+                options.setChunkSize(500);
+                options.setFetchSize(100);
+                options.setRowIndexColumnName("Ticker");
+            }).collect(Collectors.toList());
+            Assert.assertEquals(chunks.size(), 4);
+            Assert.assertEquals(chunks.stream().mapToInt(DataFrame::rowCount).sum(), 1685);
+            chunks.forEach(chunk -> {
+                Assert.assertTrue(chunk.rowCount() <= 500);
+                Assert.assertEquals(chunk.colCount(), 1);
+                chunk.rows().keys().forEach(ticker -> {
+                    Assert.assertEquals(chunk.rows().getDouble(ticker, 0), expected.rows().getDouble(ticker, 0), 0.0000001);
+                });
+            });
+            var ordinals = DataFrame.read(conn.createStatement().executeQuery("select Ticker from ETF")).<Integer>stream(options -> {
+                options.setChunkSize(1000);
+            }).map(chunk -> chunk.rows().keyArray()).collect(Collectors.toList());
+            Assert.assertEquals(ordinals.size(), 2);
+            Assert.assertEquals(ordinals.get(0).getValue(0), Integer.valueOf(0));
+            Assert.assertEquals(ordinals.get(1).getValue(0), Integer.valueOf(1000));
+            Assert.assertEquals(ordinals.get(1).getValue(684), Integer.valueOf(1684));
+        } finally {
+            IO.close(conn);
+        }
+    }
+
+
     @Test(dataProvider = "databases")
     public void testEtfWrite(String dbName) {
         var source = dataSourceMap.get(dbName);
@@ -291,6 +329,48 @@ public class DbTests {
     }
 
 
+    @Test(dataProvider = "databases")
+    public void testParallelMultiRowWrite(String dbName) throws Exception {
+        var pool = new ForkJoinPool(4);
+        var frame1 = createRandomFrame(5003).parallel(ExecutorContext.of(pool));
+        var progress = new AtomicReference<DbSinkProgress>();
+        var sink = new DbSink(dataSourceMap.get(dbName));
+        try {
+            sink.write(frame1, options -> {
+                options.setBatchSize(500);
+                options.setCommitSize(1000);
+                options.setParallelism(4);
+                options.setMultiRowInsert(true);
+                options.setTableName("BulkTable");
+                options.setRowKeyMapping("RowKey", Integer.class, Function1.toInt(v -> v));
+                options.setProgressListener(p -> progress.accumulateAndGet(p, (p1, p2) -> p1 == null || p2.getRowCount() > p1.getRowCount() ? p2 : p1));
+            });
+        } finally {
+            pool.shutdown();
+        }
+
+        Assert.assertEquals(progress.get().getRowCount(), 5003L);
+        Assert.assertEquals(progress.get().getTotalRows(), 5003L);
+
+        var conn = dataSourceMap.get(dbName).getConnection();
+        try {
+            var resultSet = conn.createStatement().executeQuery("select * from BulkTable");
+            var frame2 = DataFrame.read(resultSet).<Integer>apply(options -> {
+                options.setRowIndexColumnName("RowKey");
+                options.setColKeyMapper(v -> v.toLowerCase().replace("column_", "Column-"));
+            });
+            Assert.assertEquals(frame2.rowCount(), frame1.rowCount());
+            frame1.rows().keys().forEach(rowKey -> {
+                Assert.assertEquals(frame2.<Number>getValue(rowKey, "Column-1").longValue(), frame1.getInt(rowKey, "Column-1"));
+                Assert.assertEquals(frame2.<Number>getValue(rowKey, "Column-5").doubleValue(), frame1.getDouble(rowKey, "Column-5"), 1e-12);
+                Assert.assertEquals(frame2.<Number>getValue(rowKey, "Column-9").longValue(), frame1.getLong(rowKey, "Column-9"));
+            });
+        } finally {
+            IO.close(conn);
+        }
+    }
+
+
     private DataFrame<Integer,String> createRandomFrame(int rowCount) {
         final Range<Integer> rowKeys = Range.of(0, rowCount);
         return DataFrame.of(rowKeys, String.class, columns -> {
@@ -15,8 +15,11 @@
  */
 package com.d3x.morpheus.dist;
 
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.List;
+
 /**
  * @author Scott Shaffer
  */
@@ -145,4 +148,55 @@ public class KernelDensityDistributionTest extends RealDistributionTestBase {
         runMomentTest(kernelDist35, kernelSample35, 0.04, true);
         runMomentTest(kernelDist36, kernelSample36, 0.04, true);
     }
+
+    @Test
+    public void testWindowing() {
+        for (var dist : List.of(kernelDist11, kernelDist13, kernelDist15, kernelDist24, kernelDist32, kernelDist36)) {
+            var sample = dist.getSample().toArray();
+            var kernel = dist.getKernelFunc();
+            var h = dist.getBandwidth();
+
+            streamX(dist, 50).forEach(x -> {
+                var pdf = 0.0;
+                var cdf = 0.0;
+
+                for (double xi : sample) {
+                    pdf += kernel.pdf((x - xi) / h);
+                    cdf += kernel.cdf((x - xi) / h);
+                }
+
+                Assert.assertEquals(dist.pdf(x), pdf / (sample.length * h), 1.0E-12);
+                Assert.assertEquals(dist.cdf(x), cdf / sample.length, 1.0E-12);
+            });
+        }
+    }
+
+    @Test
+    public void testGrid() {
+        for (var dist : List.of(kernelDist13, kernelDist14, kernelDist15, kernelDist23, kernelDist35, kernelDist36)) {
+            var grid = dist.grid(2048);
+            Assert.assertEquals(grid.size(), 2048);
+            Assert.assertEquals(grid.getCDF().get(0), 0.0, 1.0E-06);
+            Assert.assertEquals(grid.getCDF().get(grid.size() - 1), 1.0, 1.0E-06);
+
+            for (int j = 0; j < grid.size(); j += 16) {
+                var x = grid.getX().get(j);
+                Assert.assertEquals(grid.getPDF().get(j), dist.pdf(x), 0.01 * dist.pdf(dist.mean()));
+                Assert.assertEquals(grid.getCDF().get(j), dist.cdf(x), 1.0E-03);
+                Assert.assertEquals(grid.cdf(x), grid.getCDF().get(j), 1.0E-12);
+            }
+        }
+    }
+
+    @Test
+    public void testQuantiles() {
+        for (var dist : List.of(kernelDist11, kernelDist12, kernelDist15, kernelDist23, kernelDist34, kernelDist35)) {
+            for (double F = 0.0001; F < 1.0; F += 0.0371) {
+                Assert.assertEquals(dist.cdf(dist.quantile(F)), F, 1.0E-06);
+            }
+
+            Assert.assertEquals(dist.quantile(0.0), dist.getSample().get(0) - dist.getBandwidth() * Math.min(dist.getKernelFunc().support().getUpper(), 9.0), 1.0E-12);
+            Assert.assertEquals(dist.cdf(dist.quantile(1.0)), 1.0, 1.0E-12);
+        }
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018-2021, D3X Systems LLC - All Rights Reserved
+ *
+ * Licensed under a proprietary end-user agreement issued by D3X Systems.
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.d3xsystems.com/static/eula/quanthub-eula.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.filter;
+
+import java.util.Random;
+
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.range.Range;
+import com.d3x.morpheus.vector.D3xVector;
+import com.d3x.morpheus.vector.D3xVectorView;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Compares the recursive and FFT filter algorithms with the direct
+ * evaluation of each window.
+ *
+ * @author Scott Shaffer
+ */
+public final class FastFilterTest {
+    private static final double TOLERANCE = 1.0E-10;
+
+    @DataProvider(name = "filters")
+    public Object[][] filters() {
+        var random = new Random(20211015L);
+        var coeffs = new double[300];
+
+        for (int lag = 0; lag < coeffs.length; ++lag)
+            coeffs[lag] = random.nextGaussian();
+
+        return new Object[][] {
+                { new MovingAverageFilter(1) },
+                { new MovingAverageFilter(20) },
+                { new EWMAFilter(10.0, 60) },
+                { new EWMAFilter(250.0, 500) },
+                { new LWMAFilter(1) },
+                { new LWMAFilter(45) },
+                { DifferenceFilter.FIRST },
+                { DifferenceFilter.SECOND },
+                { new CustomFilter(D3xVectorView.of(coeffs)) },
+                { new CustomFilter(EWMAFilter.computeWeights(100.0, 200)) }
+        };
+    }
+
+    @Test(dataProvider = "filters")
+    public void testComplete(TimeSeriesFilter filter) {
+        assertDirect(filter, createSeries(2000, 0.0, 1L));
+    }
+
+    @Test(dataProvider = "filters")
+    public void testMissing(TimeSeriesFilter filter) {
+        var series = createSeries(2000, 0.05, 2L);
+
+        // A long run of missing values covers entire windows...
+        for (int index = 300; index < 900; ++index)
+            series[index] = Double.NaN;
+
+        assertDirect(filter, series);
+    }
+
+    @Test(dataProvider = "filters")
+    public void testInfinite(TimeSeriesFilter filter) {
+        var series = createSeries(1000, 0.0, 3L);
+        series[600] = Double.POSITIVE_INFINITY;
+        assertDirect(filter, series);
+    }
+
+    @Test
+    public void testByRow() {
+        var filter = new EWMAFilter(5.0, 20);
+        var frame = DataFrame.ofDoubles(Range.of(0, 50), Range.of(0, 200), v -> Math.sin(v.rowOrdinal() + 0.1 * v.colOrdinal()));
+        var filtered = filter.byrow(frame, true);
+
+        Assert.assertEquals(filtered.rowCount(), 50);
+        Assert.assertEquals(filtered.colCount(), 181);
+
+        for (int row = 0; row < frame.rowCount(); ++row) {
+            var expected = filter.apply(D3xVector.copyOf(frame.rowAt(row)), true);
+
+            for (int col = 0; col < filtered.colCount(); ++col)
+                Assert.assertEquals(filtered.getDoubleAt(row, col), expected.get(col), TOLERANCE);
+        }
+    }
+
+    private static double[] createSeries(int length, double missingProb, long seed) {
+        var random = new Random(seed);
+        var series = new double[length];
+
+        for (int index = 0; index < length; ++index)
+            series[index] = random.nextDouble() < missingProb ? Double.NaN : 100.0 + 10.0 * random.nextGaussian();
+
+        return series;
+    }
+
+    private static void assertDirect(TimeSeriesFilter filter, double[] series) {
+        var original = D3xVectorView.of(series);
+        var filtered = filter.apply(original, false);
+
+        // Rounding errors scale with the magnitude of the terms in each sum...
+        var scale = 0.0;
+
+        for (int lag = 0; lag < filter.getWindowLength(); ++lag)
+            scale += 200.0 * Math.abs(filter.getCoefficient(lag));
+
+        for (int index = filter.getWindowLength() - 1; index < series.length; ++index) {
+            var expected = filter.apply(original, index);
+            var actual = filtered.get(index);
+
+            if (Double.isNaN(expected))
+                Assert.assertTrue(Double.isNaN(actual), String.format("%s at %d: %f", filter, index, actual));
+            else
+                Assert.assertEquals(actual, expected, TOLERANCE * scale, String.format("%s at %d", filter, index));
+        }
+
+        for (int index = 0; index < filter.getWindowLength() - 1; ++index)
+            Assert.assertTrue(Double.isNaN(filtered.get(index)));
+    }
+}
@@ -20,6 +20,10 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import com.d3x.morpheus.util.IO;
 import org.testng.Assert;
@@ -261,4 +265,128 @@ public class DataFrameBuilderTests {
         });
 
     }
+
+
+    @Test()
+    public void concurrentProducers() throws Exception {
+        var producers = 16;
+        var rowsPerProducer = 10000;
+        var builder = DataFrame.builder(Integer.class, String.class).concurrent(DataFrameBuilder.Duplicates.SUM);
+        var executor = Executors.newFixedThreadPool(producers);
+        IntStream.range(0, producers).forEach(producer -> executor.submit(() -> {
+            for (int i = 0; i < rowsPerProducer; ++i) {
+                var rowKey = producer * rowsPerProducer + i;
+                builder.putDouble(rowKey, "Price", rowKey * 0.5d);
+                builder.putInt(rowKey, "Feed", producer);
+                builder.plusDouble(-1, "Total", 1d);
+                builder.plusLong(-1, "Count", 1L);
+            }
+        }));
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        Assert.assertTrue(builder.isConcurrent());
+        var frame = builder.build();
+        Assert.assertEquals(frame.rowCount(), producers * rowsPerProducer + 1);
+        Assert.assertEquals(frame.colCount(), 4);
+        Assert.assertEquals(frame.getDouble(-1, "Total"), (double)(producers * rowsPerProducer));
+        Assert.assertEquals(frame.getLong(-1, "Count"), (long)(producers * rowsPerProducer));
+        Assert.assertTrue(Double.isNaN(frame.getDouble(-1, "Price")));
+        for (int rowKey = 0; rowKey < producers * rowsPerProducer; ++rowKey) {
+            Assert.assertEquals(frame.getDouble(rowKey, "Price"), rowKey * 0.5d);
+            Assert.assertEquals(frame.getInt(rowKey, "Feed"), rowKey / rowsPerProducer);
+        }
+    }
+
+
+    @Test()
+    public void concurrentDuplicates() throws Exception {
+        var date1 = LocalDate.now();
+        var date2 = LocalDate.now().plusDays(1);
+        for (DataFrameBuilder.Duplicates duplicates : DataFrameBuilder.Duplicates.values()) {
+            var builder = DataFrame.builder(LocalDate.class, String.class).concurrent(duplicates);
+            var first = new Thread(() -> {
+                builder.putDouble(date1, "X", 1d);
+                builder.putValue(date1, "Y", "A");
+            });
+            var second = new Thread(() -> {
+                builder.putDouble(date1, "X", 2d);
+                builder.putDouble(date2, "X", 3d);
+                builder.putValue(date2, "Y", "B");
+            });
+            first.start();
+            first.join();
+            second.start();
+            second.join();
+            var frame = builder.build();
+            Assert.assertEquals(frame.rows().keyArray().toList(), List.of(date1, date2));
+            Assert.assertEquals(frame.getDouble(date2, "X"), 3d);
+            Assert.assertEquals(frame.getValue(date1, "Y"), "A");
+            Assert.assertEquals(frame.getValue(date2, "Y"), "B");
+            switch (duplicates) {
+                case FIRST: Assert.assertEquals(frame.getDouble(date1, "X"), 1d);   break;
+                case LAST:  Assert.assertEquals(frame.getDouble(date1, "X"), 2d);   break;
+                case SUM:   Assert.assertEquals(frame.getDouble(date1, "X"), 3d);   break;
+                default:    throw new IllegalArgumentException("Unexpected resolution: " + duplicates);
+            }
+        }
+    }
+
+
+    @Test()
+    public void concurrentUnwrittenDefaults() throws Exception {
+        var date1 = LocalDate.now();
+        var date2 = LocalDate.now().plusDays(1);
+        for (DataFrameBuilder.Duplicates duplicates : DataFrameBuilder.Duplicates.values()) {
+            var builder = DataFrame.builder(LocalDate.class, String.class).concurrent(duplicates);
+            var first = new Thread(() -> {
+                builder.putInt(date1, "N", 4);
+                builder.putInt(date2, "M", 1);
+                builder.putInt(date2, "K", 5);
+            });
+            var second = new Thread(() -> {
+                builder.putInt(date1, "M", 2);
+                builder.putInt(date2, "N", 7);
+                builder.plusInt(date2, "K", 6);
+            });
+            first.start();
+            first.join();
+            second.start();
+            second.join();
+            var frame = builder.build();
+            Assert.assertEquals(frame.getInt(date1, "N"), 4);
+            Assert.assertEquals(frame.getInt(date2, "N"), 7);
+            Assert.assertEquals(frame.getInt(date1, "M"), 2);
+            Assert.assertEquals(frame.getInt(date2, "M"), 1);
+            switch (duplicates) {
+                case FIRST: Assert.assertEquals(frame.getInt(date2, "K"), 5);   break;
+                case LAST:  Assert.assertEquals(frame.getInt(date2, "K"), 6);   break;
+                case SUM:   Assert.assertEquals(frame.getInt(date2, "K"), 11);  break;
+                default:    throw new IllegalArgumentException("Unexpected resolution: " + duplicates);
+            }
+        }
+    }
+
+
+    @Test()
+    public void concurrentRejectsWritesAfterBuild() throws Exception {
+        var builder = DataFrame.builder(String.class, String.class).concurrent(DataFrameBuilder.Duplicates.LAST);
+        var producer = Executors.newSingleThreadExecutor();
+        try {
+            producer.submit(() -> builder.putDouble("R1", "C1", 1d)).get();
+            var frame = builder.build();
+            Assert.assertEquals(frame.getDouble("R1", "C1"), 1d);
+            var ex = Assert.expectThrows(ExecutionException.class, () -> producer.submit(() -> builder.putDouble("R2", "C1", 2d)).get());
+            Assert.assertTrue(ex.getCause() instanceof IllegalStateException);
+            Assert.expectThrows(IllegalStateException.class, () -> builder.putDouble("R3", "C1", 3d));
+            Assert.expectThrows(IllegalStateException.class, builder::build);
+        } finally {
+            producer.shutdown();
+        }
+    }
+
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void concurrentRequiresEmptyBuilder() {
+        DataFrame.builder(String.class, String.class).putDouble("R1", "C1", 1d).concurrent(DataFrameBuilder.Duplicates.LAST);
+    }
 }
@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.frame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import com.d3x.morpheus.array.Array;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the synchronous and asynchronous delivery of DataFrame events
+ *
+ * @author Xavier Witdouck
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ */
+public class DataFrameEventsTest {
+
+    /**
+     * Returns a frame of doubles with events enabled
+     * @return  the frame of doubles
+     */
+    private DataFrame<String,String> frame() {
+        final DataFrame<String,String> frame = DataFrame.ofDoubles(List.of("R0", "R1", "R2"), List.of("C0", "C1"));
+        frame.events().setEnabled(true);
+        return frame;
+    }
+
+
+    @Test()
+    public void synchronousDelivery() {
+        final DataFrame<String,String> frame = frame();
+        final List<DataFrameEvent> events = new ArrayList<>();
+        final DataFrameListener listener = events::add;
+        frame.events().addDataFrameListener(listener);
+        frame.rows().add("R3");
+        frame.rows().add("R4");
+        Assert.assertEquals(events.size(), 2);
+        Assert.assertEquals(events.get(1).rowKeys().toList(), List.of("R4"));
+    }
+
+
+    @Test()
+    public void coalescedInOrder() {
+        final DataFrame<String,String> frame = frame();
+        final List<Runnable> tasks = new ArrayList<>();
+        final List<DataFrameEvent> events = new ArrayList<>();
+        final DataFrameListener listener = events::add;
+        frame.events().addDataFrameListener(listener);
+        frame.events().setAsync(tasks::add, 16, false);
+        frame.rows().add("R3");
+        frame.rows().add("R4");
+        frame.events().fireDataFrameEvent(DataFrameEvent.createUpdateEvent(frame, "R4", "C1"));
+        frame.events().fireDataFrameEvent(DataFrameEvent.createUpdateEvent(frame, "R0", "C0"));
+        frame.events().fireDataFrameEvent(DataFrameEvent.createUpdateEvent(frame, "R4", "C0"));
+        frame.cols().add("C2", Double.class);
+        Assert.assertTrue(events.isEmpty());
+        Assert.assertEquals(tasks.size(), 1);
+        tasks.get(0).run();
+        Assert.assertEquals(events.size(), 3);
+        Assert.assertEquals(events.get(0).type(), DataFrameEvent.Type.ADD);
+        Assert.assertEquals(events.get(0).rowKeys().toList(), List.of("R3", "R4"));
+        Assert.assertEquals(events.get(1).type(), DataFrameEvent.Type.UPDATE);
+        Assert.assertEquals(events.get(1).rowKeys().toList(), List.of("R4", "R0"));
+        Assert.assertEquals(events.get(1).colKeys().toList(), List.of("C1", "C0"));
+        Assert.assertEquals(events.get(2).type(), DataFrameEvent.Type.ADD);
+        Assert.assertEquals(events.get(2).colKeys().toList(), List.of("C2"));
+        Assert.assertTrue(events.get(2).rowKeys().toList().isEmpty());
+    }
+
+
+    @Test()
+    public void snapshotDelivery() {
+        final DataFrame<String,String> frame = frame();
+        final List<Runnable> tasks = new ArrayList<>();
+        final List<DataFrameEvent> events = new ArrayList<>();
+        final DataFrameListener listener = events::add;
+        frame.events().addDataFrameListener(listener);
+        frame.events().setAsync(tasks::add, 16, true);
+        frame.setDouble("R1", "C1", 5d);
+        frame.events().fireDataFrameEvent(DataFrameEvent.createUpdateEvent(frame, Array.of(String.class, "R1"), Array.of(String.class, "C1")));
+        frame.setDouble("R1", "C1", 6d);
+        frame.rows().add("R3");
+        Assert.assertTrue(events.isEmpty());
+        tasks.forEach(Runnable::run);
+        Assert.assertEquals(events.size(), 2);
+        final DataFrame<String,String> snapshot = events.get(0).frame();
+        Assert.assertNotSame(snapshot, frame);
+        Assert.assertEquals(snapshot.rowCount(), 1);
+        Assert.assertEquals(snapshot.colCount(), 1);
+        Assert.assertEquals(snapshot.getDouble("R1", "C1"), 5d);
+    }
+
+
+    @Test()
+    public void keysCapturedWhenFired() {
+        final DataFrame<String,String> frame = frame();
+        final List<Runnable> tasks = new ArrayList<>();
+        final List<DataFrameEvent> events = new ArrayList<>();
+        final DataFrameListener listener = events::add;
+        frame.events().addDataFrameListener(listener);
+        frame.events().setAsync(tasks::add, 16, false);
+        frame.events().fireDataFrameEvent(DataFrameEvent.createUpdateEvent(frame, "R0", "C0"));
+        frame.rows().sort(false);
+        frame.events().fireDataFrameEvent(DataFrameEvent.createUpdateEvent(frame, "R2", "C0"));
+        frame.events().fireDataFrameEvent(DataFrameEvent.createUpdateEvent(frame, "R0", "C0"));
+        tasks.forEach(Runnable::run);
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertEquals(events.get(0).rowKeys().toList(), List.of("R0", "R2"));
+        Assert.assertEquals(events.get(0).colKeys().toList(), List.of("C0"));
+    }
+
+
+    @Test()
+    public void backpressure() throws Exception {
+        final DataFrame<String,String> frame = frame();
+        final List<Runnable> tasks = new CopyOnWriteArrayList<>();
+        final List<DataFrameEvent> events = new CopyOnWriteArrayList<>();
+        final DataFrameListener listener = events::add;
+        frame.events().addDataFrameListener(listener);
+        frame.events().setAsync(tasks::add, 1, false);
+        frame.rows().add("R3");
+        final Thread writer = new Thread(() -> frame.cols().add("C2", Double.class));
+        writer.start();
+        writer.join(200);
+        Assert.assertTrue(writer.isAlive());
+        Assert.assertTrue(events.isEmpty());
+        tasks.get(0).run();
+        writer.join();
+        tasks.stream().skip(1).forEach(Runnable::run);
+        Assert.assertEquals(events.size(), 2);
+        Assert.assertEquals(events.get(0).rowKeys().toList(), List.of("R3"));
+        Assert.assertEquals(events.get(1).colKeys().toList(), List.of("C2"));
+    }
+
+
+    @Test(timeOut = 10000)
+    public void flushOnExecutor() {
+        final DataFrame<String,String> frame = frame();
+        final List<DataFrameEvent> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch release = new CountDownLatch(1);
+        final DataFrameListener listener = event -> {
+            events.add(event);
+            await(release);
+        };
+        final var executor = Executors.newSingleThreadExecutor();
+        try {
+            frame.events().addDataFrameListener(listener);
+            frame.events().setAsync(executor, 4, false);
+            for (int i = 0; i < 10000; ++i) {
+                frame.rows().add("K" + i);
+            }
+            release.countDown();
+            frame.events().flush();
+            final long added = events.stream().mapToLong(e -> e.rowKeys().length()).sum();
+            Assert.assertEquals(added, 10000L);
+            Assert.assertTrue(events.size() <= 2, "Adds fired while the listener is blocked coalesce into one event");
+            frame.events().setAsync(null, 0, false);
+            frame.rows().add("Z");
+            Assert.assertEquals(events.get(events.size() - 1).rowKeys().toList(), List.of("Z"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+
+    @Test(timeOut = 10000)
+    public void reentrantFire() {
+        final DataFrame<String,String> frame = frame();
+        final List<DataFrameEvent> events = new CopyOnWriteArrayList<>();
+        final DataFrameListener listener = event -> {
+            events.add(event);
+            if (event.type() == DataFrameEvent.Type.ADD && event.rowKeys().toList().equals(List.of("R3"))) {
+                frame.events().fireDataFrameEvent(DataFrameEvent.createUpdateEvent(frame, "R3", "C0"));
+                frame.events().fireDataFrameEvent(DataFrameEvent.createColumnAdd(frame, Array.of(String.class, "C2")));
+                frame.events().flush();
+            }
+        };
+        final var executor = Executors.newSingleThreadExecutor();
+        try {
+            frame.events().addDataFrameListener(listener);
+            frame.events().setAsync(executor, 1, false);
+            frame.rows().add("R3");
+            frame.events().flush();
+            Assert.assertEquals(events.size(), 3);
+            Assert.assertEquals(events.get(1).type(), DataFrameEvent.Type.UPDATE);
+            Assert.assertEquals(events.get(2).colKeys().toList(), List.of("C2"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+
+    @Test(timeOut = 10000)
+    public void reentrantSetSynchronous() {
+        final DataFrame<String,String> frame = frame();
+        final List<DataFrameEvent> events = new CopyOnWriteArrayList<>();
+        final DataFrameListener listener = event -> {
+            events.add(event);
+            if (event.rowKeys().toList().equals(List.of("R3"))) {
+                frame.events().setAsync(null, 0, false);
+            }
+        };
+        final var executor = Executors.newSingleThreadExecutor();
+        try {
+            frame.events().addDataFrameListener(listener);
+            frame.events().setAsync(executor, 1, false);
+            frame.rows().add("R3");
+            frame.cols().add("C2", Double.class);
+            frame.rows().add("R4");
+            frame.events().flush();
+            Assert.assertEquals(events.size(), 3);
+            Assert.assertEquals(events.get(0).rowKeys().toList(), List.of("R3"));
+            Assert.assertEquals(events.get(1).colKeys().toList(), List.of("C2"));
+            Assert.assertEquals(events.get(2).rowKeys().toList(), List.of("R4"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+
+    /**
+     * Waits for the latch to be released on behalf of a listener
+     * @param latch the latch to wait on
+     */
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ex);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.frame;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.range.Range;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the DataFrameJoin interface
+ *
+ * @author Xavier Witdouck
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ */
+public class DataFrameJoinTest {
+
+    /**
+     * Returns a frame of trades with an unsorted instrument id column
+     * @return  the trades frame
+     */
+    private DataFrame<Integer,String> trades() {
+        return DataFrame.of(Range.of(0, 5), String.class, columns -> {
+            columns.add("id", Array.of(Integer.class, 3, 1, 2, 3, 9));
+            columns.add("qty", Array.of(Double.class, 30d, 10d, 20d, 31d, 90d));
+        });
+    }
+
+    /**
+     * Returns a frame of prices with a repeated instrument id
+     * @return  the prices frame
+     */
+    private DataFrame<Integer,String> prices() {
+        return DataFrame.of(Range.of(0, 4), String.class, columns -> {
+            columns.add("id", Array.of(Long.class, 2L, 3L, 4L, 2L));
+            columns.add("price", Array.of(Double.class, 2.0d, 3.0d, 4.0d, 2.5d));
+        });
+    }
+
+
+    @Test()
+    public void innerHashJoin() {
+        final DataFrame<Integer,String> result = trades().join(prices()).on(DataFrameJoin.Type.INNER, "id");
+        Assert.assertEquals(result.rowCount(), 4);
+        Assert.assertEquals(result.cols().keyArray().toList(), List.of("id", "qty", "price"));
+        Assert.assertEquals(result.col("qty").toDoubleStream().boxed().toArray(), new Double[] {30d, 20d, 20d, 31d});
+        Assert.assertEquals(result.col("price").toDoubleStream().boxed().toArray(), new Double[] {3d, 2d, 2.5d, 3d});
+        Assert.assertEquals(result.cols().type("id"), Long.class);
+    }
+
+
+    @Test()
+    public void leftAndOuterJoin() {
+        final DataFrame<Integer,String> leftJoin = trades().join(prices()).on(DataFrameJoin.Type.LEFT, "id");
+        Assert.assertEquals(leftJoin.rowCount(), 6);
+        Assert.assertEquals(leftJoin.getDoubleAt(1, 1), 10d, 0d);
+        Assert.assertTrue(Double.isNaN(leftJoin.getDoubleAt(1, 2)));
+        Assert.assertEquals(leftJoin.getDoubleAt(5, 1), 90d, 0d);
+        Assert.assertTrue(Double.isNaN(leftJoin.getDoubleAt(5, 2)));
+        final DataFrame<Integer,String> outerJoin = trades().join(prices()).on(DataFrameJoin.Type.OUTER, "id");
+        Assert.assertEquals(outerJoin.rowCount(), 7);
+        Assert.assertEquals(outerJoin.getLongAt(6, 0), 4L);
+        Assert.assertTrue(Double.isNaN(outerJoin.getDoubleAt(6, 1)));
+        Assert.assertEquals(outerJoin.getDoubleAt(6, 2), 4d, 0d);
+        final DataFrame<Integer,String> rightJoin = trades().join(prices()).on(DataFrameJoin.Type.RIGHT, "id");
+        Assert.assertEquals(rightJoin.rowCount(), 5);
+    }
+
+
+    @Test()
+    public void sortMergeJoin() {
+        final DataFrame<Integer,String> left = DataFrame.of(Range.of(0, 5), String.class, columns -> {
+            columns.add("date", Array.of(Long.class, 1L, 2L, 2L, 4L, 6L));
+            columns.add("a", Array.of(Double.class, 1d, 2d, 3d, 4d, 6d));
+        });
+        final DataFrame<Integer,String> right = DataFrame.of(Range.of(0, 4), String.class, columns -> {
+            columns.add("date", Array.of(Long.class, 2L, 3L, 4L, 4L));
+            columns.add("b", Array.of(Double.class, 20d, 30d, 40d, 41d));
+        });
+        final DataFrame<Integer,String> outer = left.join(right).on(DataFrameJoin.Type.OUTER, "date");
+        Assert.assertEquals(outer.col("date").toLongStream().boxed().toArray(), new Long[] {1L, 2L, 2L, 3L, 4L, 4L, 6L});
+        Assert.assertEquals(outer.col("b").toDoubleStream().boxed().toArray(), new Double[] {Double.NaN, 20d, 20d, 30d, 40d, 41d, Double.NaN});
+    }
+
+
+    @Test()
+    public void multipleColumnJoin() {
+        final DataFrame<Integer,String> left = DataFrame.of(Range.of(0, 3), String.class, columns -> {
+            columns.add("country", Array.of(String.class, "US", "US", "GB"));
+            columns.add("sector", Array.of(String.class, "Tech", "Energy", "Tech"));
+            columns.add("weight", Array.of(Double.class, 0.5d, 0.3d, 0.2d));
+        });
+        final DataFrame<Integer,String> right = DataFrame.of(Range.of(0, 3), String.class, columns -> {
+            columns.add("region", Array.of(String.class, "GB", "US", "US"));
+            columns.add("industry", Array.of(String.class, "Tech", "Tech", "Banks"));
+            columns.add("beta", Array.of(Double.class, 1.1d, 1.3d, 0.9d));
+        });
+        final DataFrame<Integer,String> result = left.join(right).on(DataFrameJoin.Type.INNER, List.of("country", "sector"), List.of("region", "industry"));
+        Assert.assertEquals(result.rowCount(), 2);
+        Assert.assertEquals(result.cols().keyArray().toList(), List.of("country", "sector", "weight", "beta"));
+        Assert.assertEquals(result.getDoubleAt(0, 3), 1.3d, 0d);
+        Assert.assertEquals(result.getDoubleAt(1, 3), 1.1d, 0d);
+    }
+
+
+    @Test()
+    public void rowKeyJoin() {
+        final DataFrame<String,String> left = DataFrame.of(List.of("A", "B", "C"), String.class, columns -> {
+            columns.add("x", Array.of(Double.class, 1d, 2d, 3d));
+        });
+        final DataFrame<String,String> right = DataFrame.of(List.of("C", "D", "A"), String.class, columns -> {
+            columns.add("y", Array.of(Double.class, 30d, 40d, 10d));
+        });
+        final DataFrame<String,String> inner = left.join(right).onRowKeys(DataFrameJoin.Type.INNER);
+        Assert.assertEquals(inner.rows().keyArray().toList(), List.of("A", "C"));
+        Assert.assertEquals(inner.getDoubleAt(1, 1), 30d, 0d);
+        final DataFrame<String,String> outer = left.join(right).onRowKeys(DataFrameJoin.Type.OUTER);
+        Assert.assertEquals(outer.rows().keyArray().toList(), List.of("A", "B", "C", "D"));
+        Assert.assertTrue(Double.isNaN(outer.getDoubleAt(3, 0)));
+    }
+
+
+    @Test()
+    public void projection() {
+        final DataFrame<Integer,String> result = trades().join(prices()).select(List.of("id"), List.of("price")).on(DataFrameJoin.Type.INNER, "id");
+        Assert.assertEquals(result.cols().keyArray().toList(), List.of("id", "price"));
+    }
+
+
+    @Test(expectedExceptions = DataFrameException.class)
+    public void columnCollision() {
+        trades().join(trades()).on(DataFrameJoin.Type.INNER, "id");
+    }
+
+
+    @Test()
+    public void parallelMatchesSequential() {
+        final Random random = new Random(7);
+        final DataFrame<Integer,String> left = DataFrame.of(Range.of(0, 200000), String.class, columns -> {
+            columns.add("key", Array.of(Integer.class, 200000).applyInts(v -> random.nextInt(50000)));
+            columns.add("a", Array.of(Double.class, 200000).applyDoubles(v -> random.nextDouble()));
+        });
+        final DataFrame<Integer,String> right = DataFrame.of(Range.of(0, 60000), String.class, columns -> {
+            columns.add("key", Array.of(Integer.class, 60000).applyInts(v -> random.nextInt(50000)));
+            columns.add("b", Array.of(Double.class, 60000).applyDoubles(v -> random.nextDouble()));
+        });
+        for (DataFrameJoin.Type type : DataFrameJoin.Type.values()) {
+            final DataFrame<Integer,String> sequential = left.sequential().join(right).on(type, "key");
+            final DataFrame<Integer,String> parallel = left.parallel().join(right).on(type, "key");
+            Assert.assertEquals(parallel.rowCount(), sequential.rowCount());
+            DataFrameAsserts.assertEqualsByIndex(parallel, sequential);
+        }
+    }
+
+
+    @Test()
+    public void asOfJoinOnTimestamps() {
+        final LocalDateTime start = LocalDateTime.of(2020, 1, 2, 9, 30);
+        final List<LocalDateTime> ticks = List.of(start.plusSeconds(5), start.plusSeconds(65), start.plusSeconds(150), start.plusSeconds(600));
+        final List<LocalDateTime> bars = List.of(start, start.plusMinutes(1), start.plusMinutes(2), start.plusMinutes(3));
+        final DataFrame<LocalDateTime,String> left = DataFrame.of(ticks, String.class, columns -> {
+            columns.add("price", Array.of(Double.class, 10d, 11d, 12d, 13d));
+        });
+        final DataFrame<LocalDateTime,String> right = DataFrame.of(bars, String.class, columns -> {
+            columns.add("vwap", Array.of(Double.class, 1d, 2d, 3d, 4d));
+        });
+        final DataFrame<LocalDateTime,String> backward = left.join(right).asOf(DataFrameJoin.Direction.BACKWARD, Duration.ofMinutes(2));
+        Assert.assertEquals(backward.rows().keyArray().toList(), ticks);
+        Assert.assertEquals(backward.col("vwap").toDoubleStream().boxed().toArray(), new Double[] {1d, 2d, 3d, Double.NaN});
+        final DataFrame<LocalDateTime,String> forward = left.join(right).asOf(DataFrameJoin.Direction.FORWARD, null);
+        Assert.assertEquals(forward.col("vwap").toDoubleStream().boxed().toArray(), new Double[] {2d, 3d, 4d, Double.NaN});
+        final DataFrame<LocalDateTime,String> nearest = left.join(right).asOf(DataFrameJoin.Direction.NEAREST, Duration.ofSeconds(30));
+        Assert.assertEquals(nearest.col("vwap").toDoubleStream().boxed().toArray(), new Double[] {1d, 2d, 3d, Double.NaN});
+    }
+
+
+    @Test()
+    public void asOfJoinOnDates() {
+        final List<LocalDate> dates = List.of(LocalDate.of(2020, 1, 3), LocalDate.of(2020, 1, 6), LocalDate.of(2020, 1, 7));
+        final DataFrame<LocalDate,String> left = DataFrame.of(dates, String.class, columns -> {
+            columns.add("a", Array.of(Double.class, 1d, 2d, 3d));
+        });
+        final DataFrame<LocalDate,String> right = DataFrame.of(List.of(LocalDate.of(2020, 1, 3), LocalDate.of(2020, 1, 7)), String.class, columns -> {
+            columns.add("b", Array.of(Double.class, 30d, 70d));
+        });
+        final DataFrame<LocalDate,String> result = left.join(right).asOf(DataFrameJoin.Direction.BACKWARD, Duration.ofDays(3));
+        Assert.assertEquals(result.col("b").toDoubleStream().boxed().toArray(), new Double[] {30d, 30d, 70d});
+    }
+
+
+    @Test(expectedExceptions = DataFrameException.class)
+    public void asOfJoinRequiresSortedKeys() {
+        final DataFrame<LocalDate,String> left = DataFrame.of(List.of(LocalDate.of(2020, 1, 7), LocalDate.of(2020, 1, 6)), String.class, columns -> {
+            columns.add("a", Array.of(Double.class, 1d, 2d));
+        });
+        final DataFrame<LocalDate,String> right = DataFrame.of(List.of(LocalDate.of(2020, 1, 3)), String.class, columns -> {
+            columns.add("b", Array.of(Double.class, 30d));
+        });
+        left.join(right).asOf(DataFrameJoin.Direction.BACKWARD, null);
+    }
+}
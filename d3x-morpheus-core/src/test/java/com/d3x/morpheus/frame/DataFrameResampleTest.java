@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.frame;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.range.Range;
+import com.d3x.morpheus.stats.Median;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the DataFrameResample interface
+ *
+ * @author Xavier Witdouck
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ */
+public class DataFrameResampleTest {
+
+    /**
+     * Returns a frame of one minute ticks starting at 09:30, with a price and a label column
+     * @return  the frame of ticks
+     */
+    private DataFrame<LocalDateTime,String> ticks() {
+        final LocalDateTime start = LocalDateTime.of(2020, 1, 2, 9, 30);
+        final List<LocalDateTime> times = List.of(start, start.plusMinutes(1), start.plusMinutes(4), start.plusMinutes(5), start.plusMinutes(17));
+        return DataFrame.of(times, String.class, columns -> {
+            columns.add("price", Array.of(Double.class, 1d, 2d, 3d, 4d, 5d));
+            columns.add("size", Array.of(Integer.class, 10, 20, 30, 40, 50));
+            columns.add("venue", Array.of(String.class, "A", "B", "C", "D", "E"));
+        });
+    }
+
+
+    @Test()
+    public void aggregateFixedPeriod() {
+        final DataFrame<LocalDateTime,String> result = ticks().resample(Duration.ofMinutes(5)).sum();
+        final LocalDateTime start = LocalDateTime.of(2020, 1, 2, 9, 30);
+        Assert.assertEquals(result.rows().keyArray().toList(), List.of(start, start.plusMinutes(5), start.plusMinutes(15)));
+        Assert.assertEquals(result.cols().keyArray().toList(), List.of("price", "size"));
+        Assert.assertEquals(result.col("price").toDoubleStream().boxed().toArray(), new Double[] {6d, 4d, 5d});
+        Assert.assertEquals(result.col("size").toDoubleStream().boxed().toArray(), new Double[] {60d, 40d, 50d});
+        final DataFrame<LocalDateTime,String> median = ticks().resample(Duration.ofMinutes(5)).apply(Median::new);
+        Assert.assertEquals(median.getDoubleAt(0, 0), 2d, 0d);
+    }
+
+
+    @Test()
+    public void firstAndLast() {
+        final DataFrame<LocalDateTime,String> first = ticks().resample(Duration.ofMinutes(5)).first();
+        final DataFrame<LocalDateTime,String> last = ticks().resample(Duration.ofMinutes(5)).last();
+        Assert.assertEquals(first.col("venue").toArray().toList(), List.of("A", "D", "E"));
+        Assert.assertEquals(last.col("venue").toArray().toList(), List.of("C", "D", "E"));
+        Assert.assertEquals(last.cols().type("size"), Integer.class);
+        Assert.assertEquals(last.getIntAt(0, 1), 30);
+    }
+
+
+    @Test()
+    public void calendarMonths() {
+        final LocalDate start = LocalDate.of(2019, 12, 30);
+        final List<LocalDate> dates = Range.of(0, 70).map(start::plusDays).toArray().toList();
+        final DataFrame<LocalDate,String> frame = DataFrame.of(dates, String.class, columns -> {
+            columns.add("value", Array.of(Double.class, 70).applyDoubles(v -> 1d));
+        });
+        final DataFrame<LocalDate,String> monthly = frame.resample(Period.ofMonths(1)).count();
+        Assert.assertEquals(monthly.rows().keyArray().toList(), List.of(LocalDate.of(2019, 12, 1), LocalDate.of(2020, 1, 1), LocalDate.of(2020, 2, 1), LocalDate.of(2020, 3, 1)));
+        Assert.assertEquals(monthly.col("value").toDoubleStream().boxed().toArray(), new Double[] {2d, 31d, 29d, 8d});
+        final DataFrame<LocalDate,String> quarterly = frame.resample(Period.ofMonths(3)).sum();
+        Assert.assertEquals(quarterly.rows().keyArray().toList(), List.of(LocalDate.of(2019, 10, 1), LocalDate.of(2020, 1, 1)));
+        Assert.assertEquals(quarterly.col("value").toDoubleStream().boxed().toArray(), new Double[] {2d, 68d});
+    }
+
+
+    @Test()
+    public void zonedCalendarBuckets() {
+        final ZoneId zone = ZoneId.of("America/New_York");
+        final ZonedDateTime t1 = ZonedDateTime.of(2021, 1, 31, 20, 0, 0, 0, zone);
+        final ZonedDateTime t2 = ZonedDateTime.of(2021, 2, 1, 10, 0, 0, 0, zone);
+        final ZonedDateTime t3 = ZonedDateTime.of(2021, 2, 1, 21, 0, 0, 0, zone);
+        final DataFrame<ZonedDateTime,String> frame = DataFrame.of(List.of(t1, t2, t3), String.class, columns -> {
+            columns.add("value", Array.of(Double.class, 1d, 2d, 3d));
+        });
+        final DataFrame<ZonedDateTime,String> monthly = frame.resample(Period.ofMonths(1)).count();
+        Assert.assertEquals(monthly.rows().keyArray().toList(), List.of(ZonedDateTime.of(2021, 1, 1, 0, 0, 0, 0, zone), ZonedDateTime.of(2021, 2, 1, 0, 0, 0, 0, zone)));
+        Assert.assertEquals(monthly.col("value").toDoubleStream().boxed().toArray(), new Double[] {1d, 2d});
+        final DataFrame<ZonedDateTime,String> daily = frame.resample(Period.ofDays(1)).sum();
+        Assert.assertEquals(daily.rows().keyArray().toList(), List.of(ZonedDateTime.of(2021, 1, 31, 0, 0, 0, 0, zone), ZonedDateTime.of(2021, 2, 1, 0, 0, 0, 0, zone)));
+        Assert.assertEquals(daily.col("value").toDoubleStream().boxed().toArray(), new Double[] {1d, 5d});
+    }
+
+
+    @Test()
+    public void parallelMatchesSequential() {
+        final LocalDateTime start = LocalDateTime.of(2020, 1, 2, 0, 0);
+        final List<LocalDateTime> times = Range.of(0, 100000).map(i -> start.plusSeconds(i * 7L)).toArray().toList();
+        final DataFrame<LocalDateTime,String> frame = DataFrame.of(times, String.class, columns -> {
+            for (int i = 0; i < 8; ++i) {
+                columns.add("C" + i, Array.of(Double.class, 100000).applyDoubles(v -> Math.random()));
+            }
+        });
+        final DataFrame<LocalDateTime,String> sequential = frame.sequential().resample(Duration.ofHours(1)).mean();
+        final DataFrame<LocalDateTime,String> parallel = frame.parallel().resample(Duration.ofHours(1)).mean();
+        DataFrameAsserts.assertEqualsByIndex(parallel, sequential);
+    }
+
+
+    @Test(expectedExceptions = DataFrameException.class)
+    public void unsortedKeys() {
+        final DataFrame<LocalDate,String> frame = DataFrame.of(List.of(LocalDate.of(2020, 1, 2), LocalDate.of(2020, 1, 1)), String.class, columns -> {
+            columns.add("value", Array.of(Double.class, 1d, 2d));
+        });
+        frame.resample(Period.ofDays(1)).sum();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.frame;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.range.Range;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the DataFrameSortedIndex interface
+ *
+ * @author Xavier Witdouck
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ */
+public class DataFrameSortedIndexTest {
+
+    /**
+     * Returns a frame keyed by unsorted integers, with a price and a date column
+     * @return  the frame of values
+     */
+    private DataFrame<Integer,String> values() {
+        return DataFrame.of(List.of(5, 3, 9, 1, 7), String.class, columns -> {
+            columns.add("price", Array.of(Double.class, 2.5d, -1d, Double.NaN, 8d, 2.5d));
+            columns.add("date", Array.of(LocalDate.class, LocalDate.of(2020, 1, 3), LocalDate.of(2020, 1, 1), null, LocalDate.of(2020, 1, 5), LocalDate.of(2020, 1, 2)));
+        });
+    }
+
+
+    @Test()
+    public void rowKeyRanges() {
+        final DataFrameSortedIndex<Integer,String,Integer> index = values().rows().sorted();
+        Assert.assertEquals(index.size(), 5);
+        Assert.assertEquals(index.between(3, 7).rows().keyArray().toList(), List.of(3, 5, 7));
+        Assert.assertEquals(index.atLeast(6).rows().keyArray().toList(), List.of(7, 9));
+        Assert.assertEquals(index.below(5).rows().keyArray().toList(), List.of(1, 3));
+        Assert.assertEquals(index.between(10, 20).rowCount(), 0);
+        Assert.assertEquals(index.between(3, 7).getDoubleAt(0, 0), -1d, 0d);
+    }
+
+
+    @Test()
+    public void columnRangesAndTopK() {
+        final DataFrameSortedIndex<Integer,String,Double> index = values().rows().sorted("price");
+        Assert.assertEquals(index.size(), 4);
+        Assert.assertEquals(index.between(-1d, 2.5d).rows().keyArray().toList(), List.of(3, 5, 7));
+        Assert.assertEquals(index.atLeast(0d).rows().keyArray().toList(), List.of(5, 7, 1));
+        Assert.assertEquals(index.below(2.5d).rows().keyArray().toList(), List.of(3));
+        Assert.assertEquals(index.top(2).rows().keyArray().toList(), List.of(1, 7));
+        Assert.assertEquals(index.bottom(2).rows().keyArray().toList(), List.of(3, 5));
+        Assert.assertEquals(index.top(10).rowCount(), 4);
+    }
+
+
+    @Test()
+    public void asOfLookups() {
+        final DataFrameSortedIndex<Integer,String,LocalDate> index = values().rows().sorted("date");
+        Assert.assertEquals(index.size(), 4);
+        Assert.assertEquals(index.floor(LocalDate.of(2020, 1, 4)), Optional.of(5));
+        Assert.assertEquals(index.floor(LocalDate.of(2020, 1, 2)), Optional.of(7));
+        Assert.assertEquals(index.ceiling(LocalDate.of(2020, 1, 4)), Optional.of(1));
+        Assert.assertEquals(index.floor(LocalDate.of(2019, 12, 31)), Optional.empty());
+        Assert.assertEquals(index.ceiling(LocalDate.of(2020, 1, 6)), Optional.empty());
+    }
+
+
+    @Test()
+    public void invalidatedByChanges() {
+        final DataFrame<Integer,String> frame = values();
+        Assert.assertEquals(frame.rows().sorted().atLeast(9).rows().keyArray().toList(), List.of(9));
+        Assert.assertSame(frame.rows().sorted("price"), frame.rows().sorted("price"));
+        frame.rows().add(11);
+        frame.setDouble(11, "price", 100d);
+        Assert.assertEquals(frame.rows().sorted().atLeast(9).rows().keyArray().toList(), List.of(9, 11));
+        Assert.assertEquals(frame.rows().sorted("price").top(1).rows().keyArray().toList(), List.of(11));
+        frame.setDouble(3, "price", 200d);
+        Assert.assertEquals(frame.rows().sorted("price").top(1).rows().keyArray().toList(), List.of(3));
+        frame.rows().sort(true);
+        Assert.assertEquals(frame.rows().sorted("price").bottom(1).rows().keyArray().toList(), List.of(5));
+    }
+
+
+    @Test()
+    public void sharedWithCopiesAndViews() {
+        final DataFrame<Integer,String> frame = values();
+        final DataFrame<Integer,String> view = frame.rows().select(3, 7, 9);
+        Assert.assertEquals(view.rows().sorted("price").bottom(3).rows().keyArray().toList(), List.of(3, 7));
+        final DataFrame<Integer,String> copy = frame.rows().sorted("price").between(0d, 10d).copy();
+        Assert.assertEquals(copy.rows().sorted("price").top(1).rows().keyArray().toList(), List.of(1));
+        view.setDouble(7, "price", 50d);
+        Assert.assertEquals(frame.rows().sorted("price").top(1).rows().keyArray().toList(), List.of(7));
+        Assert.assertEquals(copy.rows().sorted("price").top(1).rows().keyArray().toList(), List.of(1));
+    }
+
+
+    @Test()
+    public void matchesScan() {
+        final DataFrame<Integer,String> frame = DataFrame.of(Range.of(0, 100000), String.class, columns -> {
+            columns.add("value", Array.of(Double.class, 100000).applyDoubles(v -> Math.random() * 2d - 1d));
+        });
+        final DataFrame<Integer,String> selected = frame.parallel().rows().sorted("value").between(-0.1d, 0.2d);
+        final List<Integer> expected = frame.rows().select(row -> row.getDouble("value") >= -0.1d && row.getDouble("value") <= 0.2d).rows().keys().collect(Collectors.toList());
+        final List<Integer> actual = selected.rows().keys().sorted().collect(Collectors.toList());
+        Assert.assertEquals(actual, expected);
+        for (int i = 1; i < selected.rowCount(); ++i) {
+            Assert.assertTrue(selected.getDoubleAt(i, 0) >= selected.getDoubleAt(i - 1, 0));
+        }
+    }
+
+
+    @Test(expectedExceptions = DataFrameException.class)
+    public void unsupportedType() {
+        final DataFrame<Integer,String> frame = DataFrame.of(List.of(1, 2), String.class, columns -> {
+            columns.add("name", Array.of(String.class, "A", "B"));
+        });
+        frame.rows().sorted("name");
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.jama;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the blocked, parallel JAMA algorithms, which must agree with the classic unblocked versions
+ *
+ * @author Xavier Witdouck
+ */
+public class BlockedAlgebraTest {
+
+    private static final double TOLERANCE = 1E-9;
+
+    private final Random random = new Random(20200101);
+
+
+    @DataProvider(name = "square")
+    public Object[][] square() {
+        return new Object[][] { {1}, {17}, {63}, {64}, {65}, {150}, {257} };
+    }
+
+
+    @DataProvider(name = "shapes")
+    public Object[][] shapes() {
+        return new Object[][] { {1, 1}, {70, 70}, {200, 130}, {130, 200}, {300, 65} };
+    }
+
+
+    private Matrix random(int m, int n) {
+        final Matrix matrix = new Matrix(m, n);
+        for (int i = 0; i < m; ++i) {
+            for (int j = 0; j < n; ++j) {
+                matrix.set(i, j, random.nextDouble() * 10d - 5d);
+            }
+        }
+        return matrix;
+    }
+
+
+    private void assertEquals(Matrix actual, Matrix expected) {
+        Assert.assertEquals(actual.getRowDimension(), expected.getRowDimension());
+        Assert.assertEquals(actual.getColumnDimension(), expected.getColumnDimension());
+        for (int i = 0; i < expected.getRowDimension(); ++i) {
+            for (int j = 0; j < expected.getColumnDimension(); ++j) {
+                final double value = expected.get(i, j);
+                final double delta = Math.max(TOLERANCE, Math.abs(value) * TOLERANCE);
+                Assert.assertEquals(actual.get(i, j), value, delta, String.format("Values match at (%s,%s)", i, j));
+            }
+        }
+    }
+
+
+    @Test(dataProvider = "shapes")
+    public void testTimes(int m, int n) {
+        final Matrix a = random(m, n);
+        final Matrix b = random(n, m + 3);
+        assertEquals(a.times(b, true), a.times(b));
+        if (m != n) {
+            Assert.expectThrows(IllegalArgumentException.class, () -> a.times(a, true));
+        }
+    }
+
+
+    @Test(dataProvider = "shapes")
+    public void testLU(int m, int n) {
+        if (m < n) {
+            //The classic algorithm only supports m >= n
+            final LUDecomposition lud = new LUDecomposition(random(m, n), true);
+            Assert.assertEquals(lud.getL().getRowDimension(), m);
+            return;
+        }
+        final Matrix a = random(m, n);
+        final LUDecomposition expected = new LUDecomposition(a);
+        final LUDecomposition actual = new LUDecomposition(a, true);
+        Assert.assertEquals(actual.getPivot(), expected.getPivot());
+        assertEquals(actual.getL(), expected.getL());
+        assertEquals(actual.getU(), expected.getU());
+        if (m == n) {
+            final Matrix b = random(m, 5);
+            Assert.assertEquals(actual.det(), expected.det(), Math.abs(expected.det()) * TOLERANCE);
+            assertEquals(actual.solve(b), expected.solve(b));
+            assertEquals(a.inverse(true), a.inverse());
+        }
+    }
+
+
+    @Test()
+    public void testSingularLU() {
+        final Matrix a = random(100, 100);
+        for (int i = 0; i < 100; ++i) {
+            a.set(i, 70, 0d);
+        }
+        final LUDecomposition lud = new LUDecomposition(a, true);
+        Assert.assertFalse(lud.isNonsingular());
+        Assert.assertEquals(lud.det(), 0d, 1E-6);
+        Assert.expectThrows(RuntimeException.class, () -> lud.solve(random(100, 1)));
+    }
+
+
+    @Test(dataProvider = "square")
+    public void testCholesky(int n) {
+        final Matrix x = random(n + 10, n);
+        final Matrix a = x.transpose().times(x);
+        final CholeskyDecomposition expected = new CholeskyDecomposition(a);
+        final CholeskyDecomposition actual = new CholeskyDecomposition(a, true);
+        Assert.assertTrue(actual.isSPD());
+        assertEquals(actual.getL(), expected.getL());
+        final Matrix b = random(n, 4);
+        assertEquals(actual.solve(b), expected.solve(b));
+        assertEquals(a.times(actual.solve(b)), b);
+    }
+
+
+    @Test()
+    public void testCholeskyNotSPD() {
+        final Matrix a = random(90, 90);
+        Assert.assertFalse(new CholeskyDecomposition(a, true).isSPD());
+        final Matrix x = random(100, 90);
+        final Matrix b = x.transpose().times(x);
+        b.set(80, 80, -1d);
+        Assert.assertFalse(new CholeskyDecomposition(b, true).isSPD());
+    }
+
+
+    @Test(dataProvider = "shapes")
+    public void testQR(int m, int n) {
+        if (m >= n) {
+            final Matrix a = random(m, n);
+            final QRDecomposition expected = new QRDecomposition(a);
+            final QRDecomposition actual = new QRDecomposition(a, true);
+            Assert.assertTrue(actual.isFullRank());
+            assertEquals(actual.getH(), expected.getH());
+            assertEquals(actual.getR(), expected.getR());
+            assertEquals(actual.getQ(), expected.getQ());
+            final Matrix b = random(m, 3);
+            assertEquals(actual.solve(b), expected.solve(b));
+            assertEquals(a.solve(b, true), a.solve(b));
+        }
+    }
+}
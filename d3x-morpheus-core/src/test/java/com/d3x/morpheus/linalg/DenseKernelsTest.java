@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.linalg;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.d3x.morpheus.matrix.ApacheMatrix;
+import com.d3x.morpheus.matrix.D3xMatrix;
+import com.d3x.morpheus.vector.D3xVector;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.BlockRealMatrix;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class DenseKernelsTest {
+    private static final Random random = new Random(20240117);
+    private static final double TOLERANCE = 1.0E-10;
+
+    @DataProvider(name = "kernels")
+    public Object[][] kernels() {
+        List<Object[]> kernels = new ArrayList<>();
+        kernels.add(new Object[] { DenseKernels.scalar() });
+
+        if (DenseKernels.isSimdAvailable())
+            kernels.add(new Object[] { DenseKernels.simd() });
+
+        return kernels.toArray(new Object[0][]);
+    }
+
+    private static double[] random(int length) {
+        double[] values = new double[length];
+
+        for (int index = 0; index < length; ++index)
+            values[index] = random.nextGaussian();
+
+        return values;
+    }
+
+    private static double[][] random(int nrow, int ncol) {
+        double[][] values = new double[nrow][];
+
+        for (int row = 0; row < nrow; ++row)
+            values[row] = random(ncol);
+
+        return values;
+    }
+
+    @Test(dataProvider = "kernels")
+    public void testVectorKernels(DenseKernels kernels) {
+        for (int n : new int[] { 0, 1, 3, 4, 7, 8, 9, 31, 64, 1001 }) {
+            double[] x = random(n + 3);
+            double[] y = random(n + 5);
+            double dot = 0.0;
+
+            for (int i = 0; i < n; ++i)
+                dot += x[3 + i] * y[5 + i];
+
+            assertEquals(kernels.dot(x, 3, y, 5, n), dot, TOLERANCE * (1 + n));
+
+            double[] axpy = y.clone();
+            kernels.axpy(2.5, x, 3, axpy, 5, n);
+
+            for (int i = 0; i < n + 5; ++i)
+                assertEquals(axpy[i], i < 5 ? y[i] : y[i] + 2.5 * x[i - 2], TOLERANCE);
+
+            double[] u = random(n);
+            double[] v = random(n);
+            double[] z = new double[n];
+
+            kernels.combine(-1.5, u, 0.5, v, z);
+
+            for (int i = 0; i < n; ++i)
+                assertEquals(z[i], -1.5 * u[i] + 0.5 * v[i], TOLERANCE);
+
+            kernels.multiply(u, v, z);
+
+            for (int i = 0; i < n; ++i)
+                assertEquals(z[i], u[i] * v[i], TOLERANCE);
+
+            double[] scaled = u.clone();
+            kernels.scale(-3.0, scaled);
+
+            for (int i = 0; i < n; ++i)
+                assertEquals(scaled[i], -3.0 * u[i], TOLERANCE);
+        }
+    }
+
+    @Test(dataProvider = "kernels")
+    public void testNormsSkipMissing(DenseKernels kernels) {
+        double[] x = random(103);
+        double sumAbs = 0.0;
+        double sumSquares = 0.0;
+
+        for (int i = 0; i < x.length; ++i) {
+            if (i % 5 == 2) {
+                x[i] = Double.NaN;
+            }
+            else {
+                sumAbs += Math.abs(x[i]);
+                sumSquares += x[i] * x[i];
+            }
+        }
+
+        assertEquals(kernels.sumAbs(x), sumAbs, TOLERANCE);
+        assertEquals(kernels.sumSquares(x), sumSquares, TOLERANCE);
+        assertEquals(kernels.sumAbs(new double[0]), 0.0);
+        assertEquals(kernels.sumSquares(new double[] { Double.NaN }), 0.0);
+    }
+
+    @Test(dataProvider = "kernels")
+    public void testMatrixKernels(DenseKernels kernels) {
+        //
+        // The dimensions span several blocks with ragged edges...
+        //
+        int M = 37;
+        int K = DenseKernels.GEMM_BLOCK_K * 2 + 11;
+        int N = DenseKernels.GEMM_BLOCK_N + 29;
+
+        double[][] A = random(M, K);
+        double[][] B = random(K, N);
+        double[][] C = random(M, N);
+        double[] x = random(K);
+        double[] y = new double[M];
+
+        kernels.gemm(A, B, C);
+        kernels.gemv(A, x, y);
+
+        double[][] expectedC = new Array2DRowRealMatrix(A).multiply(new Array2DRowRealMatrix(B)).getData();
+        double[] expectedY = new Array2DRowRealMatrix(A).operate(x);
+
+        for (int i = 0; i < M; ++i) {
+            assertEquals(y[i], expectedY[i], 1.0E-9);
+
+            for (int j = 0; j < N; ++j)
+                assertEquals(C[i][j], expectedC[i][j], 1.0E-9);
+        }
+    }
+
+    @Test
+    public void testSelection() {
+        DenseKernels kernels = DenseKernels.getInstance();
+
+        if (DenseKernels.isSimdAvailable() && !"false".equals(System.getProperty(DenseKernels.SIMD_PROPERTY)))
+            assertSame(kernels, DenseKernels.simd());
+        else
+            assertSame(kernels, DenseKernels.scalar());
+
+        assertEquals(DenseKernels.scalar().name(), "scalar");
+    }
+
+    @Test
+    public void testApacheVector() {
+        double[] x = random(257);
+        double[] y = random(257);
+        ArrayRealVector rx = new ArrayRealVector(x);
+        ArrayRealVector ry = new ArrayRealVector(y);
+
+        D3xVector vx = D3xVector.copyOf(x);
+        D3xVector vy = D3xVector.copyOf(y);
+
+        assertEquals(vx.dot(vy), rx.dotProduct(ry), TOLERANCE);
+        assertEquals(vx.norm1(), rx.getL1Norm(), TOLERANCE);
+        assertEquals(vx.norm2(), rx.getNorm(), TOLERANCE);
+        assertTrue(vx.combine(2.0, -0.5, vy).equalsVector(D3xVector.wrap(rx.combine(2.0, -0.5, ry).toArray())));
+        assertTrue(vx.copy().multiplyInPlace(3.0).equalsVector(D3xVector.wrap(rx.mapMultiply(3.0).toArray())));
+        assertTrue(vx.plus(D3xVector.sparse(257)).equalsVector(vx));
+        assertTrue(vx.equalsVector(D3xVector.wrap(x)));
+
+        D3xVector sparse = D3xVector.sparse(257);
+        sparse.set(7, 2.0);
+        assertEquals(sparse.dot(vy), 2.0 * y[7], TOLERANCE);
+        assertEquals(vy.dot(sparse), 2.0 * y[7], TOLERANCE);
+
+        assertThrows(RuntimeException.class, () -> vx.dot(D3xVector.dense(3)));
+        assertThrows(RuntimeException.class, () -> vx.combineInPlace(1.0, 1.0, D3xVector.dense(3)));
+    }
+
+    @Test
+    public void testApacheMatrix() {
+        double[][] a = random(60, 90);
+        double[][] b = random(90, 50);
+        double[][] c = random(60, 90);
+
+        Array2DRowRealMatrix ra = new Array2DRowRealMatrix(a);
+        Array2DRowRealMatrix rb = new Array2DRowRealMatrix(b);
+        Array2DRowRealMatrix rc = new Array2DRowRealMatrix(c);
+
+        D3xMatrix A = D3xMatrix.copyOf(a);
+        D3xMatrix B = ApacheMatrix.wrap(new BlockRealMatrix(b));
+        D3xMatrix C = D3xMatrix.copyOf(c);
+        D3xVector x = D3xVector.copyOf(random(90));
+
+        assertTrue(A.times(B).equalsMatrix(D3xMatrix.wrap(ra.multiply(rb).getData())));
+        assertTrue(A.times(x).equalsVector(D3xVector.wrap(ra.operate(x.toArray()))));
+        assertTrue(A.plus(C).equalsMatrix(D3xMatrix.wrap(ra.add(rc).getData())));
+        assertTrue(A.minus(C).equalsMatrix(D3xMatrix.wrap(ra.subtract(rc).getData())));
+        assertTrue(A.copy().multiplyInPlace(2.0).equalsMatrix(D3xMatrix.wrap(ra.scalarMultiply(2.0).getData())));
+        assertTrue(A.times(D3xMatrix.identity(90)).equalsMatrix(A));
+
+        assertThrows(RuntimeException.class, () -> A.times(A));
+        assertThrows(RuntimeException.class, () -> A.times(D3xVector.dense(60)));
+        assertThrows(RuntimeException.class, () -> A.plus(B));
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.d3x.morpheus.reference;
 
+import java.util.Optional;
 import java.util.Random;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -376,6 +377,30 @@ public class AlgebraTests {
     }
 
 
+    @Test(dataProvider = "styles")
+    public void testBlocked(DataFrameAlgebra.Lib lib, boolean parallel) {
+        DataFrameAlgebra.LIBRARY.set(lib);
+        DataFrameAlgebra.BLOCKED_THRESHOLD.set(0);
+        try {
+            Array.of(20, 77, 135).forEach(count -> {
+                var left = random(count, count, parallel, double.class);
+                var right = random(count, 30, parallel, double.class);
+                assertEquals(left.dot(right), toMatrix(left).multiply(toMatrix(right)));
+                assertEquals(left.inverse(), new LUDecomposition(toMatrix(left)).getSolver().getInverse());
+                assertEquals(left.solve(right), new LUDecomposition(toMatrix(left)).getSolver().solve(toMatrix(right)));
+                var tall = random(count * 3, count, parallel, double.class);
+                var spd = tall.transpose().dot(tall);
+                var expected = new LUDecomposition(toMatrix(spd)).getSolver().solve(toMatrix(right));
+                assertEquals(spd.decomp().cd(cd -> Optional.of(cd.solve(right))).orElseThrow(), expected);
+                assertEquals(spd.decomp().lud(lud -> Optional.of(lud.solve(right))).orElseThrow(), expected);
+                assertEquals(spd.decomp().qrd(qrd -> Optional.of(qrd.solve(right))).orElseThrow(), expected);
+            });
+        } finally {
+            DataFrameAlgebra.BLOCKED_THRESHOLD.remove();
+        }
+    }
+
+
     @Test()
     public void testMultiply() {
         var weights = random(3000, 1, false, Double.class);
@@ -15,6 +15,9 @@
  */
 package com.d3x.morpheus.reference;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -29,6 +32,7 @@ import com.d3x.morpheus.frame.DataFrameColumn;
 import com.d3x.morpheus.frame.DataFrameGrouping;
 import com.d3x.morpheus.frame.DataFrameRow;
 import com.d3x.morpheus.index.Index;
+import com.d3x.morpheus.range.Range;
 import com.d3x.morpheus.util.Tuple;
 
 /**
@@ -161,6 +165,107 @@ public class GroupingTests {
     }
 
 
+    @Test(dataProvider = "parallel")
+    public void testGroupedStats(boolean parallel) {
+        final DataFrame<String,String> source = frame();
+        final DataFrameGrouping.Rows<String,String> grouping = parallel ? source.rows().parallel().groupBy("Asset Class", "Region") : source.rows().sequential().groupBy("Asset Class", "Region");
+        for (int level=0; level<2; ++level) {
+            final DataFrame<Tuple,String> sums = grouping.stats(level).sum();
+            final DataFrame<Tuple,String> means = grouping.stats(level).mean();
+            final DataFrame<Tuple,String> counts = grouping.stats(level).count();
+            final DataFrame<Tuple,String> mins = grouping.stats(level).min();
+            final DataFrame<Tuple,String> maxs = grouping.stats(level).max();
+            Assert.assertEquals(sums.rowCount(), grouping.getGroupCount(level));
+            Assert.assertTrue(sums.cols().contains("AUM"));
+            sums.rows().keys().forEach(groupKey -> {
+                final DataFrame<String,String> group = grouping.getGroup(groupKey);
+                sums.cols().keys().forEach(colKey -> {
+                    final String msg = "Stats match for " + groupKey + " and " + colKey;
+                    final double sum = group.col(colKey).stats().sum();
+                    assertEquals(sums.getDouble(groupKey, colKey), sum, Math.abs(sum) * 1e-10, msg);
+                    assertEquals(means.getDouble(groupKey, colKey), group.col(colKey).stats().mean(), 1e-6, msg);
+                    assertEquals(counts.getDouble(groupKey, colKey), group.col(colKey).stats().count(), 0d, msg);
+                    assertEquals(mins.getDouble(groupKey, colKey), group.col(colKey).stats().min(), 0d, msg);
+                    assertEquals(maxs.getDouble(groupKey, colKey), group.col(colKey).stats().max(), 0d, msg);
+                });
+            });
+        }
+    }
+
+
+    @Test(dataProvider = "parallel")
+    public void testGroupByPrimitiveColumns(boolean parallel) {
+        final int rowCount = 10000;
+        final DataFrame<Integer,String> source = DataFrame.of(Range.of(0, rowCount), String.class, columns -> {
+            columns.add("Ints", Array.of(Integer.class, rowCount).applyInts(v -> v.index() % 7));
+            columns.add("Doubles", Array.of(Double.class, rowCount).applyDoubles(v -> v.index() % 5 == 0 ? Double.NaN : (v.index() % 3) * 0.5d));
+            columns.add("Booleans", Array.of(Boolean.class, rowCount).applyBooleans(v -> v.index() % 2 == 0));
+            columns.add("Strings", Array.of(String.class, rowCount).applyValues(v -> v.index() % 11 == 0 ? null : "S" + v.index() % 4));
+            columns.add("Values", Array.of(Double.class, rowCount).applyDoubles(v -> v.index()));
+        });
+        final DataFrameGrouping.Rows<Integer,String> grouping = parallel
+            ? source.rows().parallel().groupBy("Ints", "Doubles", "Booleans", "Strings")
+            : source.rows().sequential().groupBy("Ints", "Doubles", "Booleans", "Strings");
+        final LinkedHashMap<Tuple,List<Integer>> expected = new LinkedHashMap<>();
+        source.rows().forEach(row -> {
+            final Tuple key = Tuple.of(row.getValue("Ints"), row.getValue("Doubles"), row.getValue("Booleans"), row.getValue("Strings"));
+            expected.computeIfAbsent(key, k -> new ArrayList<>()).add(row.key());
+        });
+        Assert.assertEquals(grouping.getDepth(), 4);
+        Assert.assertEquals(grouping.getGroupKeys(3).collect(Collectors.toList()), new ArrayList<>(expected.keySet()), "Groups are ordered by first appearance");
+        expected.forEach((groupKey, rowKeys) -> {
+            final DataFrame<Integer,String> group = grouping.getGroup(groupKey);
+            Assert.assertEquals(group.rows().keyArray().toList(), rowKeys, "Group rows match for " + groupKey);
+        });
+        final Tuple parent = grouping.getGroupKeys(2).findFirst().orElseThrow();
+        grouping.getChildren(parent).forEach(child -> Assert.assertEquals(grouping.getParent(child).orElseThrow(), parent));
+        final int childRows = grouping.getChildren(parent).mapToInt(child -> grouping.getGroup(child).rowCount()).sum();
+        Assert.assertEquals(childRows, grouping.getGroup(parent).rowCount());
+        Assert.assertEquals(grouping.getGroupKeys(0).count(), 7L);
+        Assert.assertEquals(grouping.getChildren(Tuple.of(99)).count(), 0L);
+    }
+
+
+    @Test()
+    public void testPartitionedGroupIndex() {
+        final int rowCount = 5000;
+        final int[] ints = new int[rowCount];
+        final String[] strings = new String[rowCount];
+        for (int i=0; i<rowCount; ++i) {
+            ints[i] = (i * 31) % 17;
+            strings[i] = "K" + (i * 7) % 13;
+        }
+        final XDataFrameGroupIndex.Values[] values = {
+            new XDataFrameGroupIndex.Values() {
+                public XDataFrameGroupIndex.Dictionary dictionary() { return XDataFrameGroupIndex.Dictionary.ofInts(row -> ints[row]); }
+                public Object getValue(int row) { return ints[row]; }
+            },
+            new XDataFrameGroupIndex.Values() {
+                public XDataFrameGroupIndex.Dictionary dictionary() { return XDataFrameGroupIndex.Dictionary.ofObjects(row -> strings[row]); }
+                public Object getValue(int row) { return strings[row]; }
+            }
+        };
+        final XDataFrameGroupIndex sequential = XDataFrameGroupIndex.of(rowCount, values, false, rowCount);
+        final XDataFrameGroupIndex partitioned = XDataFrameGroupIndex.of(rowCount, values, true, 37);
+        Assert.assertEquals(partitioned.depth(), 2);
+        for (int level=0; level<2; ++level) {
+            Assert.assertEquals(partitioned.groupCount(level), sequential.groupCount(level));
+            int total = 0;
+            for (int group=0; group<sequential.groupCount(level); ++group) {
+                Assert.assertEquals(partitioned.key(level, group), sequential.key(level, group));
+                Assert.assertEquals(partitioned.size(level, group), sequential.size(level, group));
+                for (int i=0; i<sequential.size(level, group); ++i) {
+                    final int row = partitioned.ordinal(level, group, i);
+                    Assert.assertEquals(row, sequential.ordinal(level, group, i));
+                    Assert.assertEquals((int)partitioned.key(level, group).item(0), ints[row]);
+                }
+                total += partitioned.size(level, group);
+            }
+            Assert.assertEquals(total, rowCount);
+        }
+    }
+
+
     @Test()
     public void testTranspose() {
         final DataFrame<String,String> source = frame();
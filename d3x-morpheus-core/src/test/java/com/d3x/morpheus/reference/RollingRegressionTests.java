@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.reference;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameAsserts;
+import com.d3x.morpheus.frame.DataFrameLeastSquares;
+import com.d3x.morpheus.frame.DataFrameLeastSquares.Field;
+import com.d3x.morpheus.frame.DataFrameRollingRegression;
+import com.d3x.morpheus.frame.DataFrameRollingRegression.Stat;
+import com.d3x.morpheus.range.Range;
+
+/**
+ * Unit tests for rolling and expanding Ordinary Least Squares regressions
+ *
+ * @author  Xavier Witdouck
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ */
+public class RollingRegressionTests {
+
+    private static final List<String> regressors = List.of("X1", "X2");
+
+
+    @DataProvider(name="intercept")
+    public Object[][] intercept() {
+        return new Object[][] { {true}, {false} };
+    }
+
+
+    @DataProvider(name="parallel")
+    public Object[][] parallel() {
+        return new Object[][] { {true}, {false} };
+    }
+
+
+    /**
+     * Returns a frame with regressands Y1, Y2 that are linear in regressors X1, X2 plus noise
+     * @param rowCount  the row count
+     * @return          the newly created frame
+     */
+    private static DataFrame<Integer,String> createFrame(int rowCount) {
+        final Random random = new Random(20181016L);
+        final DataFrame<Integer,String> frame = DataFrame.ofDoubles(Range.of(0, rowCount), List.of("Y1", "Y2", "X1", "X2"));
+        frame.applyDoubles(v -> v.colKey().startsWith("X") ? random.nextGaussian() : 0d);
+        frame.rows().forEach(row -> {
+            final double x1 = row.getDouble("X1");
+            final double x2 = row.getDouble("X2");
+            row.setDouble("Y1", 0.5d + 1.5d * x1 - 2d * x2 + 0.3d * random.nextGaussian());
+            row.setDouble("Y2", -1d + 0.2d * x1 + 0.7d * x2 + random.nextGaussian());
+        });
+        return frame;
+    }
+
+
+    /**
+     * Asserts the rolling result for a row matches a full OLS fit to the rows in its window
+     * @param frame     the source frame
+     * @param result    the rolling result
+     * @param row       the row ordinal of the window end
+     * @param start     the row ordinal of the window start
+     */
+    private static void assertWindow(DataFrame<Integer,String> frame, DataFrameRollingRegression.Result<Integer,String> result, int row, int start) {
+        final DataFrame<Integer,String> window = frame.rows().select(start, row - start + 1);
+        window.regress().ols(result.getRegressand(), regressors, result.hasIntercept(), model -> {
+            for (String regressor : regressors) {
+                Assert.assertEquals(result.getBetas().getDouble(row, regressor), model.getBetaValue(regressor, Field.PARAMETER), 1E-8);
+                Assert.assertEquals(result.getStdErrors().getDouble(row, regressor), model.getBetaValue(regressor, Field.STD_ERROR), 1E-8);
+            }
+            if (result.hasIntercept()) {
+                Assert.assertEquals(result.getIntercept().getDouble(row, Field.PARAMETER), model.getInterceptValue(Field.PARAMETER), 1E-8);
+                Assert.assertEquals(result.getIntercept().getDouble(row, Field.STD_ERROR), model.getInterceptValue(Field.STD_ERROR), 1E-8);
+            }
+            Assert.assertEquals(result.getStats().getDouble(row, Stat.N), (double)window.rowCount());
+            Assert.assertEquals(result.getStats().getDouble(row, Stat.R_SQUARED), model.getRSquared(), 1E-8);
+            Assert.assertEquals(result.getStats().getDouble(row, Stat.R_SQUARED_ADJ), model.getRSquaredAdj(), 1E-8);
+            Assert.assertEquals(result.getStats().getDouble(row, Stat.STD_ERROR), model.getStdError(), 1E-8);
+            return Optional.empty();
+        });
+    }
+
+
+    @Test(dataProvider="intercept")
+    public void rolling(boolean intercept) {
+        final DataFrame<Integer,String> frame = createFrame(500);
+        final DataFrameRollingRegression.Result<Integer,String> result = frame.regress().rolling(60).ols("Y1", regressors, intercept);
+        Assert.assertEquals(result.getBetas().rowCount(), 500);
+        Assert.assertEquals(result.getBetas().cols().keyArray().toList(), regressors);
+        Assert.assertTrue(Double.isNaN(result.getBetas().getDouble(58, "X1")));
+        for (int row : new int[] {59, 60, 118, 119, 120, 250, 499}) {
+            assertWindow(frame, result, row, row - 59);
+        }
+        Assert.assertEquals(result.getBetas().getDouble(499, "X1"), 1.5d, 0.2d);
+        Assert.assertEquals(result.getBetas().getDouble(499, "X2"), -2d, 0.2d);
+    }
+
+
+    @Test(dataProvider="intercept")
+    public void expanding(boolean intercept) {
+        final DataFrame<Integer,String> frame = createFrame(700);
+        final DataFrameRollingRegression.Result<Integer,String> result = frame.regress().expanding(20).ols("Y1", regressors, intercept);
+        Assert.assertTrue(Double.isNaN(result.getBetas().getDouble(18, "X1")));
+        for (int row : new int[] {19, 20, 255, 256, 300, 699}) {
+            assertWindow(frame, result, row, 0);
+        }
+        if (!intercept) {
+            Assert.assertTrue(Double.isNaN(result.getIntercept().getDouble(699, Field.PARAMETER)));
+        }
+    }
+
+
+    @Test()
+    public void missingValues() {
+        final DataFrame<Integer,String> frame = createFrame(200);
+        frame.setDouble(100, "Y1", Double.NaN);
+        frame.setDouble(110, "X2", Double.NaN);
+        final DataFrameRollingRegression.Result<Integer,String> result = frame.regress().rolling(50).ols("Y1", regressors, true);
+        final DataFrame<Integer,String> window = frame.rows().select(v -> v.ordinal() > 100 && v.ordinal() <= 149 && v.ordinal() != 110);
+        Assert.assertEquals(result.getStats().getDouble(149, Stat.N), 48d);
+        Assert.assertEquals(result.getStats().getDouble(150, Stat.N), 49d);
+        window.regress().ols("Y1", regressors, true, model -> {
+            Assert.assertEquals(result.getBetas().getDouble(149, "X1"), model.getBetaValue("X1", Field.PARAMETER), 1E-8);
+            Assert.assertEquals(result.getStats().getDouble(149, Stat.R_SQUARED), model.getRSquared(), 1E-8);
+            return Optional.empty();
+        });
+    }
+
+
+    @Test()
+    public void singularWindow() {
+        final DataFrame<Integer,String> frame = createFrame(100);
+        frame.applyDoubles(v -> v.colKey().equals("X2") ? 2d * frame.getDouble(v.rowKey(), "X1") : v.getDouble());
+        final DataFrameRollingRegression.Result<Integer,String> result = frame.regress().rolling(20).ols("Y1", regressors, true);
+        Assert.assertTrue(result.getBetas().col("X1").toDoubleStream().allMatch(Double::isNaN));
+    }
+
+
+    @Test(dataProvider="parallel")
+    public void multipleRegressands(boolean parallel) {
+        final DataFrame<Integer,String> source = createFrame(400);
+        final DataFrame<Integer,String> frame = parallel ? source.parallel() : source.sequential();
+        final var results = frame.regress().rolling(100).ols(List.of("Y1", "Y2"), regressors, true);
+        Assert.assertEquals(List.copyOf(results.keySet()), List.of("Y1", "Y2"));
+        for (String regressand : List.of("Y1", "Y2")) {
+            final DataFrameRollingRegression.Result<Integer,String> expected = source.regress().rolling(100).ols(regressand, regressors, true);
+            final DataFrameRollingRegression.Result<Integer,String> actual = results.get(regressand);
+            Assert.assertEquals(actual.getRegressand(), regressand);
+            DataFrameAsserts.assertEqualsByIndex(actual.getBetas(), expected.getBetas());
+            DataFrameAsserts.assertEqualsByIndex(actual.getStats(), expected.getStats());
+        }
+        assertWindow(source, results.get("Y2"), 399, 300);
+    }
+
+
+    @Test()
+    public void solverInvariance() {
+        final DataFrame<Integer,String> frame = createFrame(120);
+        final DataFrameRollingRegression.Result<Integer,String> result = frame.regress().expanding(0).ols("Y2", "X1", true);
+        frame.regress().ols("Y2", "X1", true, model -> {
+            model.withSolver(DataFrameLeastSquares.Solver.INV);
+            Assert.assertEquals(result.getBetas().getDouble(119, "X1"), model.getBetaValue("X1", Field.PARAMETER), 1E-8);
+            return Optional.empty();
+        });
+    }
+}
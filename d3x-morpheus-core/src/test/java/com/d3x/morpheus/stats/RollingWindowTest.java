@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.stats;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class RollingWindowTest {
+
+    private static final double TOLERANCE = 1.0E-6;
+
+    @DataProvider(name = "stats")
+    public Object[][] stats() {
+        return new Object[][] {
+            { new Sum(), true },
+            { new Count(), true },
+            { new Mean(), true },
+            { new MeanAbs(), true },
+            { new SumAbs(), true },
+            { new SumSquares(), true },
+            { new Variance(), true },
+            { new StdDev(), true },
+            { new StdErrorMean(), true },
+            { new Skew(), true },
+            { new Kurtosis(), true },
+            { new Min(), true },
+            { new Max(), true },
+            { new Median(), true },
+            { new Percentile(0.8), true },
+            { new Product(), false },
+            { new GeoMean(), false },
+        };
+    }
+
+
+    @Test(dataProvider = "stats")
+    public void testIncrementalMatchesRecompute(Statistic1 statistic, boolean incremental) {
+        var random = new Random(7);
+        var values = new double[2000];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = random.nextInt(10) == 0 ? Double.NaN : random.nextInt(20) == 0 ? 50d : random.nextDouble() * 2d - 0.5d;
+        }
+        for (int windowSize : new int[] {1, 3, 20, 250}) {
+            var window = RollingWindow.of(statistic, windowSize);
+            var result = new double[values.length];
+            Arrays.fill(result, -999d);
+            window.apply(values, values.length, result);
+            assertEquals(window.isIncremental(), incremental);
+            for (int i = 0; i < values.length; ++i) {
+                if (i < windowSize - 1) {
+                    assertEquals(result[i], -999d, "Values before first full window are not modified");
+                } else {
+                    var stat = statistic.copy().reset();
+                    for (int j = i - windowSize + 1; j <= i; ++j) stat.add(values[j]);
+                    var expected = stat.getValue();
+                    var message = statistic.getType() + " matches for window " + windowSize + " at " + i;
+                    if (Double.isNaN(expected)) {
+                        assertTrue(Double.isNaN(result[i]), message);
+                    } else {
+                        assertEquals(result[i], expected, TOLERANCE * Math.max(1d, Math.abs(expected)), message);
+                    }
+                }
+            }
+        }
+    }
+
+
+    @Test()
+    public void testRemove() {
+        var variance = new Variance();
+        for (double value : new double[] {1d, 2d, 3d, 4d, 10d}) variance.add(value);
+        variance.remove(10d);
+        assertEquals(variance.getN(), 4L);
+        assertEquals(variance.getValue(), 5.0 / 3.0, TOLERANCE);
+        variance.remove(1d);
+        variance.remove(2d);
+        variance.remove(3d);
+        assertEquals(variance.getValue(), 0d, TOLERANCE);
+        variance.remove(4d);
+        assertTrue(Double.isNaN(variance.getValue()));
+    }
+
+
+    @Test()
+    public void testRemoveNaN() {
+        for (Statistic1 statistic : new Statistic1[] {new Skew(), new Kurtosis()}) {
+            for (double value : new double[] {1d, 2d, 4d, 8d, 16d}) statistic.add(value);
+            var expected = statistic.getValue();
+            assertEquals(statistic.remove(Double.NaN), 5L);
+            assertEquals(statistic.getN(), 5L);
+            assertEquals(statistic.getValue(), expected, TOLERANCE, statistic.getType() + " ignores NaN on remove");
+        }
+    }
+
+
+    @Test(expectedExceptions = StatException.class)
+    public void testRemoveUnsupported() {
+        var median = new Median();
+        assertFalse(median.isRemovable());
+        median.add(1d);
+        median.remove(1d);
+    }
+}
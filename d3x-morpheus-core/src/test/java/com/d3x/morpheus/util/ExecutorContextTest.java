@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.util;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.range.Range;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the ExecutorContext class
+ *
+ * @author  Xavier Witdouck
+ */
+public class ExecutorContextTest {
+
+
+    @Test()
+    public void splitThreshold() {
+        var context = ExecutorContext.of(new ForkJoinPool(4), 1000);
+        try {
+            Assert.assertEquals(context.getParallelism(), 4);
+            Assert.assertEquals(context.splitThreshold(100000), 25000);
+            Assert.assertEquals(context.splitThreshold(100), 1000);
+            Assert.assertEquals(context.splitThreshold(100000, 10), 25000);
+            Assert.assertEquals(context.splitThreshold(1000, 10), 250);
+            Assert.assertEquals(context.splitThreshold(10, 1000), 3);
+            Assert.assertEquals(context.splitThreshold(0), 1000);
+        } finally {
+            context.getPool().shutdown();
+        }
+    }
+
+
+    @Test()
+    public void frameUsesBoundPool() {
+        var pool = new ForkJoinPool(2);
+        try {
+            var context = ExecutorContext.of(pool, 100);
+            var pools = ConcurrentHashMap.<ForkJoinPool>newKeySet();
+            var frame = DataFrame.ofDoubles(Range.of(0, 1000), Range.of(0, 10)).parallel(context);
+            Assert.assertSame(frame.executor(), context);
+            Assert.assertSame(frame.sequential().executor(), context);
+            frame.applyDoubles(v -> {
+                var thread = Thread.currentThread();
+                if (thread instanceof ForkJoinWorkerThread) {
+                    pools.add(((ForkJoinWorkerThread)thread).getPool());
+                }
+                return v.rowOrdinal() + v.colOrdinal();
+            });
+            Assert.assertEquals(pools, Set.of(pool));
+            Assert.assertEquals(frame.getDoubleAt(999, 9), 1008d);
+            Assert.assertTrue(context.getMetrics().getInvocations() > 0);
+            Assert.assertEquals(context.getMetrics().getParallelism(), 2);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+
+    @Test()
+    public void blockedDotUsesBoundPool() {
+        var pool = new ForkJoinPool(2);
+        try {
+            var context = ExecutorContext.of(pool, 100);
+            var left = DataFrame.ofDoubles(Range.of(0, 300), Range.of(0, 300), v -> v.rowOrdinal() + v.colOrdinal()).parallel(context);
+            var right = DataFrame.ofDoubles(Range.of(0, 300), Range.of(0, 2), v -> 1d);
+            var sequential = left.sequential().dot(right);
+            Assert.assertEquals(context.getMetrics().getInvocations(), 0L);
+            var parallel = left.dot(right);
+            Assert.assertTrue(context.getMetrics().getInvocations() > 0);
+            Assert.assertEquals(parallel.getDoubleAt(299, 1), sequential.getDoubleAt(299, 1));
+            Assert.assertEquals(parallel.getDoubleAt(299, 1), 299d * 300d + 299d * 300d / 2d);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+
+    @Test()
+    public void frameUsesDefault() {
+        var frame = DataFrame.ofDoubles(Range.of(0, 10), Range.of(0, 2));
+        Assert.assertSame(frame.executor(), ExecutorContext.getDefault());
+        Assert.assertSame(frame.parallel().executor(), ExecutorContext.getDefault());
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.util;
+
+import java.nio.CharBuffer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+import com.d3x.morpheus.util.text.FormatException;
+import com.d3x.morpheus.util.text.Formats;
+import com.d3x.morpheus.util.text.TextScanner;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the TextScanner class and the type inference in Formats
+ *
+ * @author  Xavier Witdouck
+ */
+public class TextScannerTest {
+
+
+    @DataProvider(name="doubles")
+    public Object[][] doubles() {
+        return new Object[][] {
+            {"0"}, {"-0"}, {"+1.5"}, {".5"}, {"5."}, {"0.1"}, {"1e10"}, {"1E-5"}, {"  3.25 "}, {"2.5f"}, {"1d"},
+            {"NaN"}, {"-Infinity"}, {"0x1p3"}, {"3.14159265358979323846"}, {"9007199254740993"}, {"123456789012345678901234"},
+            {"1.7976931348623157e308"}, {"4.9e-324"}, {"2.2250738585072011e-308"}, {"1e23"}, {"8.41e21"}, {"123456789012345.6789"}
+        };
+    }
+
+
+    @Test(dataProvider="doubles")
+    public void parseDouble(String value) {
+        Assert.assertTrue(TextScanner.isDouble(value, 0, value.length()), value);
+        var expected = Double.parseDouble(value);
+        var actual = TextScanner.parseDouble(value, 0, value.length());
+        Assert.assertEquals(Double.doubleToRawLongBits(actual), Double.doubleToRawLongBits(expected), value);
+    }
+
+
+    @Test()
+    public void parseRandomDoubles() {
+        var random = new Random(20181016L);
+        for (int i=0; i<100000; ++i) {
+            var value = random.nextDouble() * Math.pow(10d, random.nextInt(40) - 20);
+            var text = random.nextBoolean() ? Double.toString(value) : String.format("%." + random.nextInt(17) + "f", value);
+            var actual = TextScanner.parseDouble(text, 0, text.length());
+            Assert.assertEquals(Double.doubleToRawLongBits(actual), Double.doubleToRawLongBits(Double.parseDouble(text)), text);
+        }
+    }
+
+
+    @Test()
+    public void parseSlice() {
+        var buffer = CharBuffer.wrap("x,12.75,-42,true,2014-05-22".toCharArray());
+        Assert.assertEquals(TextScanner.parseDouble(buffer, 2, 7), 12.75d);
+        Assert.assertEquals(TextScanner.parseInt(buffer, 8, 11), -42);
+        Assert.assertTrue(TextScanner.parseBoolean(buffer, 12, 16));
+        Assert.assertEquals(TextScanner.parseIsoDate(buffer, 17, 27), LocalDate.of(2014, 5, 22));
+    }
+
+
+    @Test()
+    public void rejectInvalid() {
+        for (String value : List.of("", " ", "-", ".", "1e", "e5", "abc", "1.2.3", "--1")) {
+            Assert.assertFalse(TextScanner.isDouble(value, 0, value.length()), value);
+            Assert.assertFalse(TextScanner.isDecimal(value, 0, value.length()), value);
+            Assert.assertFalse(TextScanner.isLong(value, 0, value.length()), value);
+        }
+    }
+
+
+    @Test()
+    public void integerBounds() {
+        Assert.assertTrue(TextScanner.isInt("2147483647", 0, 10));
+        Assert.assertTrue(TextScanner.isInt("-2147483648", 0, 11));
+        Assert.assertFalse(TextScanner.isInt("2147483648", 0, 10));
+        Assert.assertFalse(TextScanner.isInt("-2147483649", 0, 11));
+        Assert.assertEquals(TextScanner.parseInt("-2147483648", 0, 11), Integer.MIN_VALUE);
+        Assert.assertTrue(TextScanner.isLong("9223372036854775807", 0, 19));
+        Assert.assertFalse(TextScanner.isLong("9223372036854775808", 0, 19));
+        Assert.assertEquals(TextScanner.parseLong("-9223372036854775808", 0, 20), Long.MIN_VALUE);
+    }
+
+
+    @Test(expectedExceptions={FormatException.class})
+    public void parseIntOverflow() {
+        TextScanner.parseInt("3000000000", 0, 10);
+    }
+
+
+    @Test()
+    public void booleansAndDates() {
+        for (String value : List.of("true", "TRUE", "Yes", "on", "y")) {
+            Assert.assertTrue(TextScanner.isBoolean(value, 0, value.length()), value);
+            Assert.assertTrue(TextScanner.parseBoolean(value, 0, value.length()), value);
+        }
+        for (String value : List.of("false", "No", "OFF", "n")) {
+            Assert.assertTrue(TextScanner.isBoolean(value, 0, value.length()), value);
+            Assert.assertFalse(TextScanner.parseBoolean(value, 0, value.length()), value);
+        }
+        Assert.assertFalse(TextScanner.isBoolean("truth", 0, 5));
+        Assert.assertTrue(TextScanner.isIsoDate("2020-02-29", 0, 10));
+        Assert.assertFalse(TextScanner.isIsoDate("2019-02-29", 0, 10));
+        Assert.assertTrue(TextScanner.hasIsoDateShape("2019-02-29", 0, 10));
+        Assert.assertFalse(TextScanner.hasIsoDateShape("2019/02/28", 0, 10));
+    }
+
+
+    @Test()
+    public void classify() {
+        Assert.assertEquals(TextScanner.classify("12", TextScanner.ALL), TextScanner.INTEGER | TextScanner.LONG | TextScanner.DOUBLE);
+        Assert.assertEquals(TextScanner.classify("3000000000", TextScanner.ALL), TextScanner.LONG | TextScanner.DOUBLE);
+        Assert.assertEquals(TextScanner.classify("1.5", TextScanner.ALL), TextScanner.DOUBLE);
+        Assert.assertEquals(TextScanner.classify("nan", TextScanner.ALL), TextScanner.DOUBLE);
+        Assert.assertEquals(TextScanner.classify("Yes", TextScanner.ALL), TextScanner.BOOLEAN);
+        Assert.assertEquals(TextScanner.classify("1.5", TextScanner.BOOLEAN), 0);
+        Assert.assertEquals(TextScanner.classify("hello", TextScanner.ALL), 0);
+    }
+
+
+    @Test()
+    public void findParser() {
+        var formats = new Formats();
+        Assert.assertEquals(formats.findParser(List.of("1", "2.5", "null", "NaN")).get().getType(), Double.class);
+        Assert.assertEquals(formats.findParser(List.of("true", "no", "")).get().getType(), Boolean.class);
+        Assert.assertEquals(formats.findParser(List.of("2014-01-02", "2015-03-04")).get().getType(), LocalDate.class);
+        Assert.assertEquals(formats.findParser(List.of("a", "1")).get().getType(), String.class);
+        Assert.assertFalse(formats.findParser(List.of("null", "")).isPresent());
+    }
+}
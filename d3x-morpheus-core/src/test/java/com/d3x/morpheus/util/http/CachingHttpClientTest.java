@@ -0,0 +1,336 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.util.http;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.d3x.morpheus.util.IO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the CachingHttpClient and HttpCache against a local stand-in HTTP server
+ *
+ * @author Xavier Witdouck
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ */
+public class CachingHttpClientTest {
+
+    private File directory;
+    private HttpServer server;
+    private AtomicInteger transfers = new AtomicInteger();
+    private AtomicInteger notModified = new AtomicInteger();
+    private AtomicInteger errors = new AtomicInteger();
+    private volatile long latency = 0L;
+
+
+    @BeforeMethod()
+    public void setup() throws IOException {
+        this.transfers.set(0);
+        this.notModified.set(0);
+        this.errors.set(0);
+        this.latency = 0L;
+        this.directory = Files.createTempDirectory("http-cache").toFile();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+
+    @AfterMethod()
+    public void teardown() throws IOException {
+        this.server.stop(0);
+        try (var paths = Files.walk(directory.toPath())) {
+            paths.sorted((p1, p2) -> p2.compareTo(p1)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+
+    /**
+     * Serves a body derived from the request path and Accept header, with an ETag validator and optional latency,
+     * or an error with the status code in the path for paths under /error/
+     * @param exchange  the http exchange
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (latency > 0) Thread.sleep(latency);
+            final String path = exchange.getRequestURI().getPath();
+            if (path.startsWith("/error/")) {
+                final byte[] body = "failed".getBytes(StandardCharsets.UTF_8);
+                this.errors.incrementAndGet();
+                exchange.sendResponseHeaders(Integer.parseInt(path.substring(7)), body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+                return;
+            }
+            final String accept = exchange.getRequestHeaders().getFirst("Accept");
+            final String suffix = accept != null && accept.matches("text/\\w+") ? " as " + accept : "";
+            final byte[] body = ("content for " + path + suffix + " ".repeat(100)).getBytes(StandardCharsets.UTF_8);
+            final String etag = "\"" + path.hashCode() + "\"";
+            exchange.getResponseHeaders().add("ETag", etag);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.getResponseHeaders().add("Cursor_ID", "cursor" + path.replace('/', '-'));
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                this.notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                this.transfers.incrementAndGet();
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            }
+        } catch (InterruptedException ex) {
+            throw new IOException(ex);
+        } finally {
+            exchange.close();
+        }
+    }
+
+
+    /**
+     * Returns the content at the path on the stand-in server
+     * @param client    the client to use
+     * @param path      the request path
+     * @return          the response content
+     */
+    private String get(HttpClient client, String path) {
+        final String url = "http://127.0.0.1:" + server.getAddress().getPort() + path;
+        return client.<String>doGet(request -> {
+            request.setUrl(url);
+            request.setResponseHandler(response -> {
+                try {
+                    return Optional.of(IO.readText(response.getStream()));
+                } catch (IOException ex) {
+                    throw new RuntimeException(ex);
+                }
+            });
+        }).orElse(null);
+    }
+
+
+    /**
+     * Returns the first value of the named header in the response for the path on the stand-in server
+     * @param client    the client to use
+     * @param path      the request path
+     * @param name      the header name
+     * @return          the header value, null if not present
+     */
+    private String header(HttpClient client, String path, String name) {
+        final String url = "http://127.0.0.1:" + server.getAddress().getPort() + path;
+        return client.<String>doGet(request -> {
+            request.setUrl(url);
+            request.setResponseHandler(response -> response.getHeaders().stream()
+                .filter(header -> name.equalsIgnoreCase(header.getKey()))
+                .map(HttpHeader::getValue)
+                .findFirst()
+            );
+        }).orElse(null);
+    }
+
+
+    @Test()
+    public void hitWithinTimeToLive() {
+        final CachingHttpClient client = new CachingHttpClient(HttpClient.getDefault(), new HttpCache(directory, 1_000_000, Duration.ofHours(1)));
+        final String first = get(client, "/catalog");
+        final String second = get(client, "/catalog");
+        Assert.assertTrue(first.startsWith("content for /catalog"));
+        Assert.assertEquals(second, first);
+        Assert.assertEquals(transfers.get(), 1);
+        Assert.assertEquals(client.getFetchCount(), 1L);
+        Assert.assertEquals(client.getHitCount(), 1L);
+    }
+
+
+    @Test()
+    public void revalidateWhenExpired() {
+        final CachingHttpClient client = new CachingHttpClient(HttpClient.getDefault(), new HttpCache(directory, 1_000_000, Duration.ZERO));
+        final String first = get(client, "/catalog");
+        final String second = get(client, "/catalog");
+        Assert.assertEquals(second, first);
+        Assert.assertEquals(transfers.get(), 1);
+        Assert.assertEquals(notModified.get(), 1);
+        Assert.assertEquals(client.getRevalidateCount(), 1L);
+    }
+
+
+    @Test()
+    public void coalesceConcurrentRequests() throws Exception {
+        this.latency = 300L;
+        final CachingHttpClient client = new CachingHttpClient(HttpClient.getDefault(), new HttpCache(directory, 1_000_000, Duration.ofHours(1)));
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; ++i) {
+                futures.add(executor.submit(() -> get(client, "/indicator")));
+            }
+            for (Future<String> future : futures) {
+                Assert.assertTrue(future.get().startsWith("content for /indicator"));
+            }
+            Assert.assertEquals(transfers.get(), 1);
+            Assert.assertEquals(client.getFetchCount() + client.getHitCount() + client.getCoalescedCount(), 8L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    @Test()
+    public void coalesceOnlyMatchingHeaders() throws Exception {
+        this.latency = 300L;
+        final CachingHttpClient client = new CachingHttpClient(HttpClient.getDefault(), new HttpCache(directory, 1_000_000, Duration.ofHours(1)));
+        final String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/indicator";
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<Future<String>> futures = new ArrayList<>();
+            for (String accept : List.of("text/csv", "text/json")) {
+                futures.add(executor.submit(() -> client.<String>doGet(request -> {
+                    request.setUrl(url);
+                    request.setAccept(accept);
+                    request.setResponseHandler(response -> {
+                        try {
+                            return Optional.of(IO.readText(response.getStream()));
+                        } catch (IOException ex) {
+                            throw new RuntimeException(ex);
+                        }
+                    });
+                }).orElse(null)));
+            }
+            Assert.assertTrue(futures.get(0).get().startsWith("content for /indicator as text/csv"));
+            Assert.assertTrue(futures.get(1).get().startsWith("content for /indicator as text/json"));
+            Assert.assertEquals(transfers.get(), 2);
+            Assert.assertEquals(client.getCoalescedCount(), 0L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    @Test()
+    public void serverErrorsRetried() {
+        final String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/error/500";
+        final CachingHttpClient client = new CachingHttpClient(HttpClient.getDefault(), new HttpCache(directory, 1_000_000, Duration.ofHours(1)));
+        for (HttpClient target : List.of(HttpClient.getDefault(), client)) {
+            this.errors.set(0);
+            try {
+                target.<String>doGet(request -> {
+                    request.setUrl(url);
+                    request.setRetryCount(2);
+                    request.setClientErrors(true);
+                    request.setResponseHandler(response -> Optional.of("handled"));
+                });
+                Assert.fail("Expected an HttpException for a 500 response");
+            } catch (HttpException ex) {
+                Assert.assertEquals(errors.get(), 3);
+            }
+        }
+        Assert.assertEquals(client.getCache().getEntryCount(), 0);
+    }
+
+
+    @Test()
+    public void clientErrorsOptIn() {
+        final String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/error/404";
+        try {
+            HttpClient.getDefault().<String>doGet(request -> {
+                request.setUrl(url);
+                request.setRetryCount(2);
+                request.setResponseHandler(response -> Optional.of("handled"));
+            });
+            Assert.fail("Expected an HttpException for a 404 response");
+        } catch (HttpException ex) {
+            Assert.assertEquals(errors.get(), 3);
+        }
+        this.errors.set(0);
+        final String body = HttpClient.getDefault().<String>doGet(request -> {
+            request.setUrl(url);
+            request.setRetryCount(2);
+            request.setClientErrors(true);
+            request.setResponseHandler(response -> {
+                try {
+                    return Optional.of(response.getStatus().getCode() + ":" + IO.readText(response.getStream()));
+                } catch (IOException ex) {
+                    throw new RuntimeException(ex);
+                }
+            });
+        }).orElse(null);
+        Assert.assertEquals(body, "404:failed");
+        Assert.assertEquals(errors.get(), 1);
+    }
+
+
+    @Test()
+    public void evictLeastRecentlyUsed() {
+        final CachingHttpClient client = new CachingHttpClient(HttpClient.getDefault(), new HttpCache(directory, 300, Duration.ofHours(1)));
+        get(client, "/a");
+        get(client, "/b");
+        get(client, "/a");
+        get(client, "/c");
+        final String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        Assert.assertEquals(client.getCache().getEntryCount(), 2);
+        Assert.assertTrue(client.getCache().getSize() <= 300);
+        Assert.assertTrue(client.getCache().contains(base + "/a"));
+        Assert.assertFalse(client.getCache().contains(base + "/b"));
+        Assert.assertTrue(client.getCache().contains(base + "/c"));
+    }
+
+
+    @Test()
+    public void persistAcrossInstances() {
+        final CachingHttpClient client1 = new CachingHttpClient(HttpClient.getDefault(), new HttpCache(directory, 1_000_000, Duration.ofHours(1)));
+        final String first = get(client1, "/countries");
+        final CachingHttpClient client2 = new CachingHttpClient(HttpClient.getDefault(), new HttpCache(directory, 1_000_000, Duration.ofHours(1)));
+        final String second = get(client2, "/countries");
+        Assert.assertEquals(second, first);
+        Assert.assertEquals(transfers.get(), 1);
+        Assert.assertEquals(client2.getHitCount(), 1L);
+        Assert.assertEquals(client2.getCache().getEntryCount(), 1);
+    }
+
+
+    @Test()
+    public void replayHeadersOnHit() {
+        final CachingHttpClient client1 = new CachingHttpClient(HttpClient.getDefault(), new HttpCache(directory, 1_000_000, Duration.ofHours(1)));
+        Assert.assertEquals(header(client1, "/table", "Cursor_ID"), "cursor-table");
+        Assert.assertEquals(header(client1, "/table", "Cursor_ID"), "cursor-table");
+        Assert.assertEquals(header(client1, "/table", "Content-Type"), "text/plain");
+        Assert.assertEquals(client1.getHitCount(), 2L);
+        final CachingHttpClient client2 = new CachingHttpClient(HttpClient.getDefault(), new HttpCache(directory, 1_000_000, Duration.ofHours(1)));
+        Assert.assertEquals(header(client2, "/table", "Cursor_ID"), "cursor-table");
+        Assert.assertEquals(client2.getHitCount(), 1L);
+        Assert.assertEquals(transfers.get(), 1);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.util.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.d3x.morpheus.util.IO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the HttpPager against a local mock server with injected latency
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ *
+ * @author Xavier Witdouck
+ */
+public class HttpPagerTest {
+
+    private static final int pageCount = 12;
+    private static final long latency = 100L;
+
+    private HttpServer server;
+    private AtomicInteger requests = new AtomicInteger();
+    private AtomicInteger inFlight = new AtomicInteger();
+    private AtomicInteger maxInFlight = new AtomicInteger();
+
+
+    @BeforeMethod()
+    public void setup() throws IOException {
+        this.requests.set(0);
+        this.inFlight.set(0);
+        this.maxInFlight.set(0);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+
+    @AfterMethod()
+    public void teardown() {
+        this.server.stop(0);
+    }
+
+
+    /**
+     * Serves a page as "page,pageCount" after a delay, tracking the number of concurrent requests
+     * @param exchange  the http exchange
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            this.requests.incrementAndGet();
+            this.maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(latency);
+            final String page = exchange.getRequestURI().getQuery().replace("page=", "");
+            final byte[] body = (page + "," + pageCount).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        } catch (InterruptedException ex) {
+            throw new IOException(ex);
+        } finally {
+            this.inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+
+    /**
+     * Loads a page from the mock server, returning the page number and page count it reports
+     * @param page  the page number
+     * @return      the page number and page count
+     */
+    private int[] load(int page) {
+        final String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/items?page=" + page;
+        return HttpClient.getDefault().<int[]>doGet(request -> {
+            request.setUrl(url);
+            request.setResponseHandler(response -> {
+                try {
+                    final String[] tokens = IO.readText(response.getStream()).trim().split(",");
+                    return Optional.of(new int[] {Integer.parseInt(tokens[0]), Integer.parseInt(tokens[1])});
+                } catch (IOException ex) {
+                    throw new RuntimeException(ex);
+                }
+            });
+        }).orElseThrow();
+    }
+
+
+    @Test()
+    public void pagesInOrder() {
+        final long t1 = System.currentTimeMillis();
+        final List<int[]> pages = new HttpPager(4).fetch(this::load, first -> first[1]);
+        final long elapsed = System.currentTimeMillis() - t1;
+        final List<Integer> pageNumbers = pages.stream().map(page -> page[0]).collect(Collectors.toList());
+        Assert.assertEquals(pageNumbers, IntStream.rangeClosed(1, pageCount).boxed().collect(Collectors.toList()));
+        Assert.assertEquals(requests.get(), pageCount);
+        Assert.assertTrue(maxInFlight.get() <= 4, "In flight requests bounded, max was " + maxInFlight.get());
+        Assert.assertTrue(maxInFlight.get() > 1, "Requests issued concurrently");
+        Assert.assertTrue(elapsed < latency * pageCount, "Faster than sequential, took " + elapsed + " millis");
+    }
+
+
+    @Test()
+    public void singlePage() {
+        final List<int[]> pages = new HttpPager(4).fetch(this::load, first -> 1);
+        Assert.assertEquals(pages.size(), 1);
+        Assert.assertEquals(requests.get(), 1);
+    }
+
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void failedPage() {
+        new HttpPager(2).fetch(page -> {
+            if (page == 5) {
+                throw new IllegalStateException("Failed to load page " + page);
+            } else {
+                return load(page);
+            }
+        }, first -> first[1]);
+    }
+}
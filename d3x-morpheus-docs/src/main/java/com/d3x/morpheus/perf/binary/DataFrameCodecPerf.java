@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.perf.binary;
+
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.binary.DataFrameCodec;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.frame.DataFrameAsserts;
+import com.d3x.morpheus.index.Index;
+import com.d3x.morpheus.range.Range;
+import com.d3x.morpheus.util.IO;
+import com.d3x.morpheus.util.PerfStat;
+import com.d3x.morpheus.viz.chart.Chart;
+
+/**
+ * Compares the size and the write and read throughput of a DataFrame shipped with java.io.Serializable against the
+ * binary DataFrameCodec, with and without LZ4 block compression, after checking that each round trips the frame.
+ */
+public class DataFrameCodecPerf {
+
+    private static final int ROW_COUNT = 1000000;
+
+    public static void main(String[] args) {
+
+        final Random random = new Random(1);
+        final LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        final Index<LocalDateTime> rowKeys = Index.of(Range.of(0, ROW_COUNT).map(start::plusMinutes).toArray());
+        final DataFrame<LocalDateTime,String> frame = DataFrame.of(rowKeys, String.class, columns -> {
+            columns.add("Open", Array.of(Double.class, ROW_COUNT).applyDoubles(v -> 100d + random.nextGaussian()));
+            columns.add("High", Array.of(Double.class, ROW_COUNT).applyDoubles(v -> 101d + random.nextGaussian()));
+            columns.add("Low", Array.of(Double.class, ROW_COUNT).applyDoubles(v -> 99d + random.nextGaussian()));
+            columns.add("Close", Array.of(Double.class, ROW_COUNT).applyDoubles(v -> 100d + random.nextGaussian()));
+            columns.add("Volume", Array.of(Integer.class, ROW_COUNT).applyInts(v -> random.nextInt(10000)));
+            columns.add("Venue", Array.of(String.class, ROW_COUNT).applyValues(v -> "Venue-" + random.nextInt(8)));
+            columns.add("Halted", Array.of(Boolean.class, ROW_COUNT).applyBooleans(v -> random.nextInt(100) == 0));
+        });
+
+        final DataFrameCodec codec = DataFrameCodec.create(options -> options.setCompressed(false));
+        final DataFrameCodec lz4 = DataFrameCodec.create(options -> options.setCompressed(true));
+        final byte[] serialized = serialize(frame);
+        final byte[] encoded = codec.encode(frame);
+        final byte[] compressed = lz4.encode(frame);
+
+        DataFrameAsserts.assertEqualsByIndex(deserialize(serialized), frame);
+        DataFrameAsserts.assertEqualsByIndex(codec.decode(LocalDateTime.class, String.class, encoded), frame);
+        DataFrameAsserts.assertEqualsByIndex(lz4.decode(LocalDateTime.class, String.class, compressed), frame);
+
+        IO.println(String.format("Serializable: %,d bytes", serialized.length));
+        IO.println(String.format("Codec: %,d bytes", encoded.length));
+        IO.println(String.format("Codec with LZ4: %,d bytes", compressed.length));
+
+        final DataFrame<String,String> timing = PerfStat.run(10, TimeUnit.MILLISECONDS, false, tasks -> {
+            tasks.put("Serializable (write)", () -> serialize(frame));
+            tasks.put("Codec (write)", () -> codec.encode(frame));
+            tasks.put("Codec with LZ4 (write)", () -> lz4.encode(frame));
+            tasks.put("Serializable (read)", () -> deserialize(serialized));
+            tasks.put("Codec (read)", () -> codec.decode(LocalDateTime.class, String.class, encoded));
+            tasks.put("Codec with LZ4 (read)", () -> lz4.decode(LocalDateTime.class, String.class, compressed));
+        });
+
+        timing.out().print();
+
+        Chart.create().withBarPlot(timing, false, chart -> {
+            chart.title().withText("DataFrame Serialization Performance (Serializable vs Codec)");
+            chart.subtitle().withText(String.format("%,d rows, 7 columns, sizes %,d vs %,d vs %,d bytes", ROW_COUNT, serialized.length, encoded.length, compressed.length));
+            chart.title().withFont(new Font("Verdana", Font.PLAIN, 16));
+            chart.plot().axes().domain().label().withText("Statistic");
+            chart.plot().axes().range(0).label().withText("Time in Milliseconds");
+            chart.legend().on();
+            chart.show();
+        });
+    }
+
+
+    /**
+     * Returns the frame written with an ObjectOutputStream
+     * @param frame the frame to serialize
+     * @return      the serialized bytes
+     */
+    private static byte[] serialize(DataFrame<?,?> frame) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream os = new ObjectOutputStream(bytes)) {
+                os.writeObject(frame);
+            }
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+
+    /**
+     * Returns the frame read with an ObjectInputStream
+     * @param bytes the serialized bytes
+     * @return      the frame
+     */
+    @SuppressWarnings("unchecked")
+    private static DataFrame<LocalDateTime,String> deserialize(byte[] bytes) {
+        try (ObjectInputStream is = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (DataFrame<LocalDateTime,String>)is.readObject();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
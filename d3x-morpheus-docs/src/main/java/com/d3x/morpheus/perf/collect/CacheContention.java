@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.perf.collect;
+
+import java.awt.*;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import com.d3x.morpheus.collect.ConcurrentCache;
+import com.d3x.morpheus.collect.LRUCache;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.range.Range;
+import com.d3x.morpheus.util.IO;
+import com.d3x.morpheus.viz.chart.Chart;
+
+/**
+ * Measures cache throughput with 1 to 64 threads performing a mix of hits and misses on a skewed key distribution,
+ * comparing the lock-striped caches against an access-ordered LinkedHashMap guarded by a single lock.
+ */
+public class CacheContention {
+
+    private static final int CAPACITY = 10000;
+    private static final int KEY_RANGE = 50000;
+    private static final int OPS_PER_THREAD = 1000000;
+
+    public static void main(String[] args) throws Exception {
+
+        final Range<Integer> threadCounts = Range.of(0, 7).map(i -> 1 << i);
+        final Map<String,IntFunction<Function<Integer,Integer>>> caches = new LinkedHashMap<>();
+
+        caches.put("Synchronized LinkedHashMap", n -> {
+            final Map<Integer,Integer> map = Collections.synchronizedMap(new LinkedHashMap<>(CAPACITY, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer,Integer> eldest) {
+                    return size() > CAPACITY;
+                }
+            });
+            return key -> map.computeIfAbsent(key, k -> k * 2);
+        });
+        caches.put("LRUCache", n -> {
+            final LRUCache<Integer,Integer> cache = LRUCache.create(CAPACITY);
+            return key -> cache.getOrCompute(key, k -> k * 2);
+        });
+        caches.put("ConcurrentCache (LRU)", n -> {
+            final ConcurrentCache<Integer,Integer> cache = new ConcurrentCache<>(ConcurrentCache.Eviction.LRU, CAPACITY, (k, v) -> 1, n);
+            return key -> cache.getOrCompute(key, k -> k * 2);
+        });
+        caches.put("ConcurrentCache (LFU)", n -> {
+            final ConcurrentCache<Integer,Integer> cache = new ConcurrentCache<>(ConcurrentCache.Eviction.LFU, CAPACITY, (k, v) -> 1, n);
+            return key -> cache.getOrCompute(key, k -> k * 2);
+        });
+
+        final DataFrame<Integer,String> results = DataFrame.ofDoubles(threadCounts, caches.keySet());
+        for (Integer threadCount : threadCounts) {
+            for (Map.Entry<String,IntFunction<Function<Integer,Integer>>> entry : caches.entrySet()) {
+                final Function<Integer,Integer> cache = entry.getValue().apply(threadCount);
+                run(cache, threadCount, OPS_PER_THREAD / 10);
+                final double opsPerMilli = run(cache, threadCount, OPS_PER_THREAD);
+                results.setDouble(threadCount, entry.getKey(), opsPerMilli);
+                IO.println(String.format("%s with %s threads: %.0f ops/ms", entry.getKey(), threadCount, opsPerMilli));
+            }
+        }
+
+        results.out().print();
+
+        Chart.create().withLinePlot(results, chart -> {
+            chart.title().withText("Cache Throughput under Contention");
+            chart.subtitle().withText(String.format("Capacity %s, %s distinct keys, %s operations per thread", CAPACITY, KEY_RANGE, OPS_PER_THREAD));
+            chart.title().withFont(new Font("Verdana", Font.PLAIN, 16));
+            chart.plot().axes().domain().label().withText("Thread Count");
+            chart.plot().axes().range(0).label().withText("Operations per Millisecond");
+            chart.legend().on().bottom();
+            chart.show();
+        });
+    }
+
+
+    /**
+     * Runs the operations across the threads and returns the aggregate throughput
+     * @param cache         the cache lookup function
+     * @param threadCount   the number of threads
+     * @param opsPerThread  the number of lookups performed by each thread
+     * @return              the throughput in operations per millisecond
+     */
+    private static double run(Function<Integer,Integer> cache, int threadCount, int opsPerThread) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final CountDownLatch done = new CountDownLatch(threadCount);
+            for (int i = 0; i < threadCount; ++i) {
+                executor.submit(() -> {
+                    try {
+                        start.await();
+                        final ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int j = 0; j < opsPerThread; ++j) {
+                            //Squaring a uniform variate skews lookups towards the low keys
+                            final double u = random.nextDouble();
+                            cache.apply((int)(u * u * KEY_RANGE));
+                        }
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                    return null;
+                });
+            }
+            final long t1 = System.nanoTime();
+            start.countDown();
+            done.await();
+            final long t2 = System.nanoTime();
+            return (double)threadCount * opsPerThread / ((t2 - t1) / 1000000d);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
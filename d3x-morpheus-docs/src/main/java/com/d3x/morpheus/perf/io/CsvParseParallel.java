@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.d3x.morpheus.perf.io;
+
+import java.awt.*;
+import java.io.File;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import com.d3x.morpheus.viz.chart.Chart;
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.range.Range;
+import com.d3x.morpheus.util.PerfStat;
+
+public class CsvParseParallel {
+
+    public static void main(String[] args) {
+
+        final int rowCount = 5000000;
+        final File file = new File(System.getProperty("java.io.tmpdir"), "CsvParseParallel.csv");
+        final LocalDate start = LocalDate.of(2000, 1, 1);
+        final DataFrame<Integer,String> frame = DataFrame.ofDoubles(Range.of(0, rowCount), Range.of(0, 10).map(i -> "C" + i), v -> Math.random());
+        frame.cols().add("Date", LocalDate.class, v -> start.plusDays(v.rowOrdinal() % 10000));
+        frame.write().csv(file).apply();
+
+        DataFrame<String,String> timingStats = PerfStat.run(5, TimeUnit.MILLISECONDS, false, tasks -> {
+
+            tasks.put("Sequential", () -> DataFrame.read(file).csv(Integer.class, options -> {
+                options.setHeader(true);
+                options.setParallel(false);
+                options.setRowKeyColumnName("DataFrame");
+            }));
+
+            tasks.put("Parallel", () -> DataFrame.read(file).csv(Integer.class, options -> {
+                options.setHeader(true);
+                options.setParallel(true);
+                options.setRowKeyColumnName("DataFrame");
+            }));
+
+        });
+
+        Chart.create().withBarPlot(timingStats, false, chart -> {
+            chart.title().withText("CSV Parsing Performance (Sequential vs Parallel Chunks)");
+            chart.subtitle().withText(String.format("File Size: %sMB, %s lines, 12 columns", file.length() / (1024 * 1024), rowCount));
+            chart.title().withFont(new Font("Verdana", Font.PLAIN, 16));
+            chart.plot().axes().domain().label().withText("Statistic");
+            chart.plot().axes().range(0).label().withText("Time in Milliseconds");
+            chart.legend().on();
+            chart.show();
+        });
+
+    }
+
+}
@@ -36,10 +36,13 @@ import java.time.temporal.Temporal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -47,6 +50,10 @@ import java.util.zip.ZipFile;
 import com.d3x.morpheus.frame.DataFrame;
 import com.d3x.morpheus.frame.DataFrameRow;
 import com.d3x.morpheus.util.IO;
+import com.d3x.morpheus.util.http.HttpClient;
+import com.d3x.morpheus.util.http.HttpException;
+import com.d3x.morpheus.util.http.HttpPager;
+import com.d3x.morpheus.util.http.HttpResponse;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonDeserializationContext;
@@ -55,11 +62,11 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonParseException;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.univocity.parsers.common.ParsingContext;
 import com.univocity.parsers.common.processor.RowProcessor;
 import com.univocity.parsers.csv.CsvParser;
 import com.univocity.parsers.csv.CsvParserSettings;
-import org.apache.http.Header;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
@@ -82,6 +89,7 @@ import static com.d3x.morpheus.quandl.QuandlField.START_DATE;
 public class QuandlSource {
 
     private static final ThreadLocal<String> apiKeyThreadLocal = new ThreadLocal<>();
+    private static final int SEARCH_PAGE_SIZE = 100;
 
     private Gson gson;
     /** The default API key to use */
@@ -90,6 +98,8 @@ public class QuandlSource {
     @lombok.Getter @lombok.Setter private String baseUrl;
     /** The http client to interact with Quandl */
     private CloseableHttpClient httpClient;
+    /** The pager used to fetch the pages of paginated requests concurrently */
+    @lombok.Getter @lombok.Setter private HttpPager pager = new HttpPager();
 
 
     /**
@@ -217,45 +227,131 @@ public class QuandlSource {
 
     /**
      * Executes a Quandl search operation for datasets that match the expression specified
+     * <p>The first page of results reports the total page count, and the remaining pages are then fetched
+     * concurrently by the pager for this source, and assembled in page order.</p>
      * @param expression    the search expression
      * @return              the frame with dataset meta-data
      */
     public DataFrame<Integer,QuandlField> search(String expression) {
-        JsonReader reader = null;
-        CloseableHttpResponse response = null;
         try {
             var search = URLEncoder.encode(expression, "UTF-8");
-            var url = createUrl("/api/v3/datasets.json", "query=" + search + "&per_page=2000");
-            var frame = QuandlDatasetInfo.frame(2000);
+            var baseUrl = createUrl("/api/v3/datasets.json", "query=" + search + "&per_page=" + SEARCH_PAGE_SIZE).toString();
+            var pages = pager.fetch(page -> {
+                try {
+                    var url = new URL(baseUrl + "&page=" + page);
+                    return doGet(url, response -> parseSearch(new JsonReader(new BufferedReader(new InputStreamReader(response.getStream())))));
+                } catch (MalformedURLException ex) {
+                    throw new QuandlException("Failed to create Quandl REST url", ex);
+                }
+            }, SearchPage::getPageCount);
+            var rowCount = pages.stream().mapToInt(SearchPage::getRowCount).sum();
+            var frame = QuandlDatasetInfo.frame(Math.max(rowCount, 10));
             var row = frame.rows().cursor();
-            response = doGet(url.toString(), null);
-            reader = new JsonReader(new BufferedReader(new InputStreamReader(response.getEntity().getContent())));
-            reader.beginObject();
-            reader.nextName();
-            reader.beginArray();
-            while (reader.hasNext()) {
-                var info = (QuandlDatasetInfo)gson.fromJson(reader, QuandlDatasetInfo.class);
-                frame.rows().add(info.getId());
-                row.atKey(info.getId());
-                row.setValue(QuandlField.DATABASE_CODE, info.getDatabaseCode());
-                row.setValue(QuandlField.DATASET_CODE, info.getDatasetCode());
-                row.setValue(QuandlField.NAME, info.getName());
-                row.setValue(QuandlField.DESCRIPTION, info.getDescription());
-                row.setValue(QuandlField.LAST_REFRESH_TIME, info.getRefreshedAt());
-                row.setValue(QuandlField.START_DATE, info.getOldestAvailableDate());
-                row.setValue(QuandlField.END_DATE, info.getNewestAvailableDate());
-                row.setValue(QuandlField.COLUMN_NAMES, info.getColumnNames());
-                row.setValue(QuandlField.FREQUENCY, info.getFrequency());
-                row.setValue(QuandlField.DATASET_TYPE, info.getType());
-                row.setValue(QuandlField.PREMIUM, info.isPremium());
-                row.setValue(QuandlField.DATABASE_ID, info.getDatabaseId());
+            for (SearchPage page : pages) {
+                for (int i = 0; i < page.getRowCount(); ++i) {
+                    final Integer id = page.ids.get(i);
+                    if (frame.rows().add(id)) {
+                        row.atKey(id);
+                        for (Map.Entry<QuandlField,List<Object>> column : page.columns.entrySet()) {
+                            final Object value = column.getValue().get(i);
+                            if (value != null) {
+                                row.setValue(column.getKey(), value);
+                            }
+                        }
+                    }
+                }
             }
             return frame;
         } catch (Exception ex) {
             throw new QuandlException("Failed to execute search request for " + expression, ex);
+        }
+    }
+
+
+    /**
+     * Stream parses a page of the JSON search response directly into columns, without intermediate objects
+     * @param reader        the JSON reader for search response
+     * @return              the page of dataset meta-data
+     * @throws Exception    if the response cannot be parsed
+     */
+    private SearchPage parseSearch(JsonReader reader) throws Exception {
+        try {
+            final SearchPage page = new SearchPage();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final String name = reader.nextName();
+                if (name.equals("datasets")) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        this.parseDataset(reader, page);
+                    }
+                    reader.endArray();
+                } else if (name.equals("meta")) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        if (reader.nextName().equals("total_pages") && reader.peek() == JsonToken.NUMBER) {
+                            page.pageCount = reader.nextInt();
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return page;
         } finally {
             IO.close(reader);
-            IO.close(response);
+        }
+    }
+
+
+    /**
+     * Parses a single dataset meta-data record and appends it to the page columns
+     * @param reader        the JSON reader positioned at a dataset object
+     * @param page          the page to append to
+     * @throws Exception    if the record cannot be parsed
+     */
+    private void parseDataset(JsonReader reader, SearchPage page) throws Exception {
+        Integer id = null;
+        final Map<QuandlField,Object> values = new HashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+            } else {
+                switch (name) {
+                    case "id":                      id = reader.nextInt();                                                          break;
+                    case "database_code":           values.put(QuandlField.DATABASE_CODE, reader.nextString());                     break;
+                    case "dataset_code":            values.put(QuandlField.DATASET_CODE, reader.nextString());                      break;
+                    case "name":                    values.put(QuandlField.NAME, reader.nextString());                              break;
+                    case "description":             values.put(QuandlField.DESCRIPTION, reader.nextString());                       break;
+                    case "refreshed_at":            values.put(LAST_REFRESH_TIME, ZonedDateTime.parse(reader.nextString()));        break;
+                    case "oldest_available_date":   values.put(START_DATE, LocalDate.parse(reader.nextString()));                   break;
+                    case "newest_available_date":   values.put(END_DATE, LocalDate.parse(reader.nextString()));                     break;
+                    case "frequency":               values.put(QuandlField.FREQUENCY, reader.nextString());                         break;
+                    case "type":                    values.put(QuandlField.DATASET_TYPE, reader.nextString());                      break;
+                    case "premium":                 values.put(QuandlField.PREMIUM, reader.nextBoolean());                          break;
+                    case "database_id":             values.put(QuandlField.DATABASE_ID, reader.nextInt());                          break;
+                    case "column_names":
+                        final List<String> columnNames = new ArrayList<>();
+                        reader.beginArray();
+                        while (reader.hasNext()) columnNames.add(reader.nextString());
+                        reader.endArray();
+                        values.put(QuandlField.COLUMN_NAMES, columnNames);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+        }
+        reader.endObject();
+        if (id != null) {
+            page.ids.add(id);
+            page.columns.forEach((field, column) -> column.add(values.get(field)));
         }
     }
 
@@ -267,20 +363,11 @@ public class QuandlSource {
      * @return          the database meta-data definition
      */
     public QuandlDatabaseInfo getMetaData(String database) throws QuandlException {
-        JsonReader reader = null;
-        CloseableHttpResponse response = null;
         try {
             final URL url = createUrl("/api/v3/databases/" + database + ".json");
-            response = doGet(url.toString(), null);
-            reader = new JsonReader(new BufferedReader(new InputStreamReader(response.getEntity().getContent())));
-            reader.beginObject();
-            reader.nextName();
-            return gson.fromJson(reader, QuandlDatabaseInfo.class);
+            return doGet(url, response -> readMetaData(response, QuandlDatabaseInfo.class));
         } catch (Exception ex) {
             throw new QuandlException("Failed to load database meta-data for " + database, ex);
-        } finally {
-            IO.close(reader);
-            IO.close(response);
         }
     }
 
@@ -292,20 +379,31 @@ public class QuandlSource {
      * @return          the dataset meta-data definition
      */
     public QuandlDatasetInfo getMetaData(String database, String dataset) throws QuandlException {
-        JsonReader reader = null;
-        CloseableHttpResponse response = null;
         try {
             final URL url = createUrl("/api/v3/datasets/" + database + "/" + dataset + "/metadata.json");
-            response = doGet(url.toString(), null);
-            reader = new JsonReader(new BufferedReader(new InputStreamReader(response.getEntity().getContent())));
-            reader.beginObject();
-            reader.nextName();
-            return gson.fromJson(reader, QuandlDatasetInfo.class);
+            return doGet(url, response -> readMetaData(response, QuandlDatasetInfo.class));
         } catch (Exception ex) {
             throw new QuandlException("Failed to load dataset meta-data for " + database + "/" + dataset, ex);
+        }
+    }
+
+
+    /**
+     * Parses a single meta-data object wrapped in the JSON response
+     * @param response      the http response
+     * @param type          the meta-data type
+     * @return              the meta-data object
+     * @throws Exception    if the response cannot be parsed
+     */
+    private <T> T readMetaData(HttpResponse response, Class<T> type) throws Exception {
+        JsonReader reader = null;
+        try {
+            reader = new JsonReader(new BufferedReader(new InputStreamReader(response.getStream())));
+            reader.beginObject();
+            reader.nextName();
+            return gson.fromJson(reader, type);
         } finally {
             IO.close(reader);
-            IO.close(response);
         }
     }
 
@@ -343,7 +441,6 @@ public class QuandlSource {
      * @return          the resulting DataFrame
      */
     public DataFrame<Integer,String> getDataTable(Consumer<DataTableOptions> consumer) {
-        CloseableHttpResponse response = null;
         final DataTableOptions options = initOptions(DataTableOptions.class, consumer);
         try {
             final String database = options.getDatabase();
@@ -351,28 +448,38 @@ public class QuandlSource {
             final String queryString = options.toQueryString();
             final String urlPath = "/api/v3/datatables/" + database + "/" + dataset + ".csv";
             final URL url = createUrl(urlPath, queryString);
-            response = doGet(url.toString(), null);
-            final DataFrame<Integer,String> frame = DataFrame.read(response.getEntity().getContent()).csv();
-            Header cursorId = response.getFirstHeader("Cursor_ID");
-            while (cursorId != null) {
-                final String nextQuery = queryString + "&qopts.cursor_id=" + cursorId.getValue();
+            final AtomicReference<String> cursorId = new AtomicReference<>();
+            final DataFrame<Integer,String> frame = doGet(url, response -> readDataTablePage(response, cursorId));
+            while (cursorId.get() != null) {
+                final String nextQuery = queryString + "&qopts.cursor_id=" + cursorId.get();
                 final URL nextUrl = createUrl(urlPath, nextQuery);
-                IO.close(response);
-                response = doGet(nextUrl.toString(), null);
-                final DataFrame<Integer,String> nextPage = DataFrame.read(response.getEntity().getContent()).csv();
+                final DataFrame<Integer,String> nextPage = doGet(nextUrl, response -> readDataTablePage(response, cursorId));
                 final DataFrame<Integer,String> nextFrame = nextPage.rows().mapKeys(row -> frame.rowCount() + row.ordinal());
-                cursorId = response.getFirstHeader("Cursor_ID");
                 frame.rows().addAll(nextFrame);
             }
             return frame;
         } catch (Exception ex) {
             throw new QuandlException("Failed to load data-table from Quandl for: " + options, ex);
-        } finally {
-            IO.close(response);
         }
     }
 
 
+    /**
+     * Parses a page of a Quandl DataTable response, capturing the cursor for the next page if any
+     * @param response  the http response
+     * @param cursorId  the reference to receive the cursor for the next page, null if this is the last page
+     * @return          the DataFrame for this page
+     */
+    private DataFrame<Integer,String> readDataTablePage(HttpResponse response, AtomicReference<String> cursorId) {
+        cursorId.set(null);
+        response.getHeaders().stream()
+            .filter(header -> header.getKey().equalsIgnoreCase("Cursor_ID"))
+            .findFirst()
+            .ifPresent(header -> cursorId.set(header.getValue()));
+        return DataFrame.read(response.getStream()).csv();
+    }
+
+
     /**
      * Returns initialized quandl options based on consumer
      * @param configurator  the options configurator
@@ -446,6 +553,34 @@ public class QuandlSource {
     }
 
 
+    /**
+     * Performs an HTTP GET through the Morpheus HttpClient, so requests are served from any cache installed as the default client
+     * <p>A client error response fails immediately, while server errors and connection failures are retried</p>
+     * @param url       the request url
+     * @param reader    the function to read the response content
+     * @return          the result produced by the reader
+     */
+    private <T> T doGet(URL url, ResponseReader<T> reader) {
+        return HttpClient.getDefault().<T>doGet(request -> {
+            request.setUrl(url);
+            request.setRetryCount(2);
+            request.setClientErrors(true);
+            request.setResponseHandler(response -> {
+                final int statusCode = response.getStatus().getCode();
+                if (statusCode != 200) {
+                    throw new HttpException(request, "Quandl response code of " + statusCode + " to " + url, null);
+                } else {
+                    try {
+                        return Optional.ofNullable(reader.read(response));
+                    } catch (Exception ex) {
+                        throw new HttpException(request, "Failed to read Quandl response for " + url, ex);
+                    }
+                }
+            });
+        }).orElseThrow(() -> new QuandlException("No response from Quandl for " + url));
+    }
+
+
     /**
      * Performs an HTTP GET and returns the Apache response object
      * @param url       the request url
@@ -472,6 +607,60 @@ public class QuandlSource {
 
 
 
+    /**
+     * A page of dataset meta-data from a Quandl search, held in columns in the order of the response
+     */
+    private static class SearchPage {
+
+        private static final List<QuandlField> fields = QuandlDatasetInfo.frame(0).cols().keyList();
+
+        private int pageCount = 1;
+        private List<Integer> ids = new ArrayList<>();
+        private Map<QuandlField,List<Object>> columns = new LinkedHashMap<>();
+
+        /**
+         * Constructor
+         */
+        SearchPage() {
+            fields.forEach(field -> columns.put(field, new ArrayList<>()));
+        }
+
+        /**
+         * Returns the total number of pages reported by the response
+         * @return  the total page count
+         */
+        int getPageCount() {
+            return pageCount;
+        }
+
+        /**
+         * Returns the number of dataset records in this page
+         * @return  the number of records
+         */
+        int getRowCount() {
+            return ids.size();
+        }
+    }
+
+
+
+    /**
+     * A function that reads the content of a Quandl response
+     * @param <T>   the type produced
+     */
+    private interface ResponseReader<T> {
+
+        /**
+         * Reads the response content
+         * @param response      the http response
+         * @return              the result
+         * @throws Exception    if the content cannot be read
+         */
+        T read(HttpResponse response) throws Exception;
+    }
+
+
+
     /**
      * A CSV row processor to parse dataset codes for a Quandl database.
      */
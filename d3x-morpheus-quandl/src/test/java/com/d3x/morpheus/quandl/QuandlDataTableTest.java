@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2014-2018 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.quandl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.d3x.morpheus.frame.DataFrame;
+import com.d3x.morpheus.util.http.CachingHttpClient;
+import com.d3x.morpheus.util.http.HttpCache;
+import com.d3x.morpheus.util.http.HttpClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for Quandl data-table pagination against a local stand-in server, with and without a caching client
+ *
+ * @author Xavier Witdouck
+ *
+ * <p><strong>This is open source software released under the <a href="http://www.apache.org/licenses/LICENSE-2.0">Apache 2.0 License</a></strong></p>
+ */
+public class QuandlDataTableTest {
+
+    private File directory;
+    private HttpServer server;
+    private HttpClient defaultClient;
+    private AtomicInteger requests = new AtomicInteger();
+
+
+    @BeforeMethod()
+    public void setup() throws IOException {
+        this.requests.set(0);
+        this.defaultClient = HttpClient.getDefault();
+        this.directory = Files.createTempDirectory("quandl-cache").toFile();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        this.server.createContext("/api/v3/datatables/", this::handle);
+        this.server.start();
+    }
+
+
+    @AfterMethod()
+    public void teardown() throws IOException {
+        HttpClient.setDefault(defaultClient);
+        this.server.stop(0);
+        try (var paths = Files.walk(directory.toPath())) {
+            paths.sorted((p1, p2) -> p2.compareTo(p1)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+
+    /**
+     * Serves three pages of a data-table linked by Cursor_ID headers, a 503 for the FAIL dataset, or a 404 for an unknown dataset
+     * @param exchange  the http exchange
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            this.requests.incrementAndGet();
+            final String path = exchange.getRequestURI().getPath();
+            final String query = exchange.getRequestURI().getQuery();
+            if (path.endsWith("/TEST/FAIL.csv")) {
+                exchange.sendResponseHeaders(503, -1);
+            } else if (!path.endsWith("/TEST/PAGES.csv")) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                final int page = query.contains("qopts.cursor_id=page2") ? 2 : query.contains("qopts.cursor_id=page3") ? 3 : 1;
+                final StringBuilder csv = new StringBuilder("ticker,value\n");
+                for (int i = 0; i < 2; ++i) {
+                    csv.append("T").append(page).append(i).append(",").append(page * 10 + i).append("\n");
+                }
+                if (page < 3) {
+                    exchange.getResponseHeaders().add("Cursor_ID", "page" + (page + 1));
+                }
+                final byte[] body = csv.toString().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/csv");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+
+    /**
+     * Returns a Quandl source bound to the stand-in server
+     * @return  the Quandl source
+     */
+    private QuandlSource source() {
+        return new QuandlSource("http://127.0.0.1:" + server.getAddress().getPort(), "test");
+    }
+
+
+    /**
+     * Loads the paginated data-table from the stand-in server
+     * @return  the data-table frame
+     */
+    private DataFrame<Integer,String> load() {
+        return source().getDataTable(options -> {
+            options.setDatabase("TEST");
+            options.setDataset("PAGES");
+        });
+    }
+
+
+    @Test()
+    public void allPagesWithDefaultClient() {
+        final DataFrame<Integer,String> frame = load();
+        Assert.assertEquals(frame.rowCount(), 6);
+        Assert.assertEquals(frame.getValue(5, "ticker"), "T31");
+        Assert.assertEquals(requests.get(), 3);
+    }
+
+
+    @Test()
+    public void allPagesWithCachingClient() {
+        final HttpCache cache = new HttpCache(directory, 1_000_000, Duration.ofHours(1));
+        final CachingHttpClient client = new CachingHttpClient(HttpClient.getDefault(), cache);
+        HttpClient.setDefault(client);
+        final DataFrame<Integer,String> first = load();
+        final DataFrame<Integer,String> second = load();
+        Assert.assertEquals(first.rowCount(), 6);
+        Assert.assertEquals(second.rowCount(), 6);
+        Assert.assertEquals(second.getValue(5, "ticker"), "T31");
+        Assert.assertEquals(requests.get(), 3);
+        Assert.assertEquals(client.getHitCount(), 3L);
+    }
+
+
+    @Test()
+    public void clientErrorNotRetried() {
+        try {
+            source().getDataTable(options -> {
+                options.setDatabase("TEST");
+                options.setDataset("MISSING");
+            });
+            Assert.fail("Expected a QuandlException for a 404 response");
+        } catch (QuandlException ex) {
+            Assert.assertEquals(requests.get(), 1);
+        }
+    }
+
+
+    @Test()
+    public void serverErrorRetried() {
+        try {
+            source().getDataTable(options -> {
+                options.setDatabase("TEST");
+                options.setDataset("FAIL");
+            });
+            Assert.fail("Expected a QuandlException for a 503 response");
+        } catch (QuandlException ex) {
+            Assert.assertEquals(requests.get(), 3);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.linalg;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implements the dense kernels with the incubating JDK Vector API, using the
+ * widest vector shape the hardware supports and scalar loops for the tails.
+ *
+ * <p>This class must only be loaded when the {@code jdk.incubator.vector}
+ * module is resolved; {@code KernelLoader} checks that before loading it
+ * reflectively.  Dot products and sums accumulate in vector lanes, so their
+ * rounding differs slightly from the scalar kernels.  The element-wise kernels
+ * round exactly as the scalar kernels do, whichever lane or tail computes an
+ * element, so that symmetric products such as {@code A'A} remain symmetric.</p>
+ *
+ * @author  Scott Shaffer
+ */
+final class SimdKernels implements DenseKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    SimdKernels() {
+    }
+
+    @Override
+    public String name() {
+        return "simd-" + SPECIES.vectorBitSize();
+    }
+
+    @Override
+    public double dot(double[] x, int xOff, double[] y, int yOff, int n) {
+        int i = 0;
+        int bound = SPECIES.loopBound(n);
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+
+        for (; i < bound; i += SPECIES.length()) {
+            var vx = DoubleVector.fromArray(SPECIES, x, xOff + i);
+            var vy = DoubleVector.fromArray(SPECIES, y, yOff + i);
+            sum = vx.fma(vy, sum);
+        }
+
+        double result = sum.reduceLanes(VectorOperators.ADD);
+
+        for (; i < n; ++i)
+            result += x[xOff + i] * y[yOff + i];
+
+        return result;
+    }
+
+    @Override
+    public void axpy(double a, double[] x, int xOff, double[] y, int yOff, int n) {
+        int i = 0;
+        int bound = SPECIES.loopBound(n);
+        DoubleVector va = DoubleVector.broadcast(SPECIES, a);
+
+        for (; i < bound; i += SPECIES.length()) {
+            var vx = DoubleVector.fromArray(SPECIES, x, xOff + i);
+            var vy = DoubleVector.fromArray(SPECIES, y, yOff + i);
+            vx.mul(va).add(vy).intoArray(y, yOff + i);
+        }
+
+        for (; i < n; ++i)
+            y[yOff + i] += a * x[xOff + i];
+    }
+
+    @Override
+    public void combine(double a, double[] x, double b, double[] y, double[] z) {
+        int i = 0;
+        int n = z.length;
+        int bound = SPECIES.loopBound(n);
+        DoubleVector va = DoubleVector.broadcast(SPECIES, a);
+        DoubleVector vb = DoubleVector.broadcast(SPECIES, b);
+
+        for (; i < bound; i += SPECIES.length()) {
+            var vx = DoubleVector.fromArray(SPECIES, x, i);
+            var vy = DoubleVector.fromArray(SPECIES, y, i);
+            vx.mul(va).add(vy.mul(vb)).intoArray(z, i);
+        }
+
+        for (; i < n; ++i)
+            z[i] = a * x[i] + b * y[i];
+    }
+
+    @Override
+    public void multiply(double[] x, double[] y, double[] z) {
+        int i = 0;
+        int n = z.length;
+        int bound = SPECIES.loopBound(n);
+
+        for (; i < bound; i += SPECIES.length()) {
+            var vx = DoubleVector.fromArray(SPECIES, x, i);
+            var vy = DoubleVector.fromArray(SPECIES, y, i);
+            vx.mul(vy).intoArray(z, i);
+        }
+
+        for (; i < n; ++i)
+            z[i] = x[i] * y[i];
+    }
+
+    @Override
+    public void scale(double a, double[] x) {
+        int i = 0;
+        int bound = SPECIES.loopBound(x.length);
+
+        for (; i < bound; i += SPECIES.length())
+            DoubleVector.fromArray(SPECIES, x, i).mul(a).intoArray(x, i);
+
+        for (; i < x.length; ++i)
+            x[i] *= a;
+    }
+
+    @Override
+    public double sumAbs(double[] x) {
+        int i = 0;
+        int bound = SPECIES.loopBound(x.length);
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+
+        for (; i < bound; i += SPECIES.length()) {
+            var vx = DoubleVector.fromArray(SPECIES, x, i);
+            VectorMask<Double> valid = vx.test(VectorOperators.IS_NAN).not();
+            sum = sum.add(vx.abs(), valid);
+        }
+
+        double result = sum.reduceLanes(VectorOperators.ADD);
+
+        for (; i < x.length; ++i) {
+            if (!Double.isNaN(x[i]))
+                result += Math.abs(x[i]);
+        }
+
+        return result;
+    }
+
+    @Override
+    public double sumSquares(double[] x) {
+        int i = 0;
+        int bound = SPECIES.loopBound(x.length);
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+
+        for (; i < bound; i += SPECIES.length()) {
+            var vx = DoubleVector.fromArray(SPECIES, x, i);
+            VectorMask<Double> valid = vx.test(VectorOperators.IS_NAN).not();
+            sum = sum.add(vx.mul(vx), valid);
+        }
+
+        double result = sum.reduceLanes(VectorOperators.ADD);
+
+        for (; i < x.length; ++i) {
+            if (!Double.isNaN(x[i]))
+                result += x[i] * x[i];
+        }
+
+        return result;
+    }
+}
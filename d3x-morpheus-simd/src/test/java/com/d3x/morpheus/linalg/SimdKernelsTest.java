@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2014-2021 D3X Systems - All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.d3x.morpheus.linalg;
+
+import java.util.Random;
+
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class SimdKernelsTest {
+    private static final Random random = new Random(20240117);
+    private static final double TOLERANCE = 1.0E-10;
+
+    private static final DenseKernels scalar = DenseKernels.scalar();
+
+    private static double[] random(int length) {
+        double[] values = new double[length];
+
+        for (int index = 0; index < length; ++index)
+            values[index] = random.nextGaussian();
+
+        return values;
+    }
+
+    private static double[][] random(int nrow, int ncol) {
+        double[][] values = new double[nrow][];
+
+        for (int row = 0; row < nrow; ++row)
+            values[row] = random(ncol);
+
+        return values;
+    }
+
+    @Test
+    public void testSelection() {
+        //
+        // The surefire configuration resolves the incubator module, so the
+        // SIMD kernels must be loaded from this artifact and selected...
+        //
+        assertTrue(DenseKernels.isSimdAvailable());
+        assertTrue(DenseKernels.simd() instanceof SimdKernels);
+        assertTrue(DenseKernels.simd().name().startsWith("simd-"));
+
+        if ("false".equals(System.getProperty(DenseKernels.SIMD_PROPERTY)))
+            assertSame(DenseKernels.getInstance(), scalar);
+        else
+            assertSame(DenseKernels.getInstance(), DenseKernels.simd());
+    }
+
+    @Test
+    public void testVectorKernels() {
+        DenseKernels simd = DenseKernels.simd();
+
+        //
+        // The lengths cover empty, tail-only and whole-vector cases for
+        // every species from 128 to 512 bits...
+        //
+        for (int n : new int[] { 0, 1, 2, 3, 7, 8, 9, 15, 16, 17, 1001 }) {
+            double[] x = random(n + 3);
+            double[] y = random(n + 5);
+
+            assertEquals(simd.dot(x, 3, y, 5, n), scalar.dot(x, 3, y, 5, n), TOLERANCE * (1 + n));
+
+            double[] axpy1 = y.clone();
+            double[] axpy2 = y.clone();
+            simd.axpy(2.5, x, 3, axpy1, 5, n);
+            scalar.axpy(2.5, x, 3, axpy2, 5, n);
+            assertEquals(axpy1, axpy2);
+
+            double[] u = random(n);
+            double[] v = random(n);
+            double[] z1 = new double[n];
+            double[] z2 = new double[n];
+
+            simd.combine(-1.5, u, 0.5, v, z1);
+            scalar.combine(-1.5, u, 0.5, v, z2);
+            assertEquals(z1, z2);
+
+            simd.multiply(u, v, z1);
+            scalar.multiply(u, v, z2);
+            assertEquals(z1, z2);
+
+            double[] scaled1 = u.clone();
+            double[] scaled2 = u.clone();
+            simd.scale(-3.0, scaled1);
+            scalar.scale(-3.0, scaled2);
+            assertEquals(scaled1, scaled2);
+
+            if (n > 2) {
+                u[n / 2] = Double.NaN;
+                u[n - 1] = Double.NaN;
+            }
+
+            assertEquals(simd.sumAbs(u), scalar.sumAbs(u), TOLERANCE * (1 + n));
+            assertEquals(simd.sumSquares(u), scalar.sumSquares(u), TOLERANCE * (1 + n));
+        }
+    }
+
+    @Test
+    public void testMatrixKernels() {
+        int M = 37;
+        int K = DenseKernels.GEMM_BLOCK_K + 11;
+        int N = DenseKernels.GEMM_BLOCK_N + 29;
+
+        double[][] A = random(M, K);
+        double[][] B = random(K, N);
+        double[][] C1 = random(M, N);
+        double[][] C2 = new double[M][];
+        double[] x = random(K);
+        double[] y1 = new double[M];
+        double[] y2 = new double[M];
+
+        for (int i = 0; i < M; ++i)
+            C2[i] = C1[i].clone();
+
+        DenseKernels.simd().gemm(A, B, C1);
+        DenseKernels.simd().gemv(A, x, y1);
+        scalar.gemm(A, B, C2);
+        scalar.gemv(A, x, y2);
+
+        for (int i = 0; i < M; ++i) {
+            assertEquals(y1[i], y2[i], 1.0E-9);
+
+            for (int j = 0; j < N; ++j)
+                assertEquals(C1[i][j], C2[i][j], 1.0E-9);
+        }
+    }
+}
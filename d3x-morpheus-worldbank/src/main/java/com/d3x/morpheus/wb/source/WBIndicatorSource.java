@@ -16,22 +16,25 @@
 package com.d3x.morpheus.wb.source;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.IntStream;
 
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 
+import com.d3x.morpheus.array.Array;
+import com.d3x.morpheus.array.ArrayBuilder;
 import com.d3x.morpheus.frame.DataFrame;
 import com.d3x.morpheus.frame.DataFrameException;
 import com.d3x.morpheus.frame.DataFrameSource;
 import com.d3x.morpheus.index.Index;
 import com.d3x.morpheus.range.Range;
 import com.d3x.morpheus.util.Initialiser;
+import com.d3x.morpheus.util.http.HttpPager;
 import com.d3x.morpheus.util.text.parser.Parser;
 import com.d3x.morpheus.wb.WBException;
 import com.d3x.morpheus.wb.WBLoader;
@@ -50,11 +53,22 @@ import com.d3x.morpheus.wb.WBResponse;
 public class WBIndicatorSource implements DataFrameSource<LocalDate,String,WBIndicatorSource.Options> {
 
 
+    private HttpPager pager;
+
     /**
      * Constructor
      */
     public WBIndicatorSource() {
-        super();
+        this(new HttpPager());
+    }
+
+
+    /**
+     * Constructor
+     * @param pager     the pager used to fetch the pages of each query concurrently
+     */
+    public WBIndicatorSource(HttpPager pager) {
+        this.pager = pager;
     }
 
 
@@ -90,17 +104,17 @@ public class WBIndicatorSource implements DataFrameSource<LocalDate,String,WBInd
      */
     private DataFrame<LocalDate,String> getIndicatorValues(String indicator, Range<LocalDate> dateRange, String country, int batchSize) {
         final WBLoader loader = new WBLoader();
-        final String peekUrl = createURL(indicator, dateRange, country, 1, 5);
-        final Function<JsonReader,DataFrame<LocalDate,String>> handler = createMessageHandler(indicator);
-        final WBResponse<DataFrame<LocalDate,String>> peek = loader.load(peekUrl, handler);
-        final int requestCount = peek.getRequestCount(batchSize);
-        final IntStream pages = requestCount > 10 ? IntStream.range(0, requestCount).parallel() : IntStream.range(0, requestCount);
-        return DataFrame.combineFirst(pages.mapToObj(i -> {
-            final int page = i + 1;
+        final Function<JsonReader,IndicatorPage> handler = createMessageHandler(indicator);
+        final List<WBResponse<IndicatorPage>> pages = pager.fetch(page -> {
             final String url = createURL(indicator, dateRange, country, page, batchSize);
-            final WBResponse<DataFrame<LocalDate,String>> response = loader.load(url, handler);
-            return response.getBody();
-        }));
+            return loader.load(url, handler);
+        }, first -> first.getRequestCount(batchSize));
+        final Index<LocalDate> rowKeys = Index.of(LocalDate.class, 5000);
+        final Index<String> colKeys = Index.of(String.class, 1000);
+        pages.forEach(page -> page.getBody().addKeys(rowKeys, colKeys));
+        final DataFrame<LocalDate,String> frame = DataFrame.ofDoubles(rowKeys, colKeys);
+        pages.forEach(page -> page.getBody().apply(frame));
+        return frame;
     }
 
 
@@ -125,20 +139,18 @@ public class WBIndicatorSource implements DataFrameSource<LocalDate,String,WBInd
      * @param indicator     the indicator ticker
      * @return              the message handler
      */
-    private Function<JsonReader,DataFrame<LocalDate,String>> createMessageHandler(String indicator) {
+    private Function<JsonReader,IndicatorPage> createMessageHandler(String indicator) {
         return reader -> {
             try {
+                final IndicatorPage page = new IndicatorPage();
                 if (reader.peek() == JsonToken.NULL) {
-                    return DataFrame.empty(LocalDate.class, String.class);
+                    return page;
                 }
                 String name = null;
                 String country = null;
                 String date = null;
                 String value = null;
                 final Parser<Double> doubleParser = Parser.ofDouble();
-                final Index<LocalDate> rowKeys = Index.of(LocalDate.class, 5000);
-                final Index<String> colKeys = Index.of(String.class, 1000);
-                DataFrame<LocalDate,String> frame = DataFrame.ofDoubles(rowKeys, colKeys);
                 while (reader.hasNext()) {
                     final JsonToken jsonToken = reader.peek();
                     if (jsonToken == JsonToken.BEGIN_OBJECT) {
@@ -182,17 +194,15 @@ public class WBIndicatorSource implements DataFrameSource<LocalDate,String,WBInd
                                 if (!date.equalsIgnoreCase("MRV")) {
                                     final int year = Integer.parseInt(date);
                                     final LocalDate localDate = LocalDate.of(year, 12, 31);
-                                    final double indicatorValue = doubleParser.apply(value);
-                                    frame.rows().add(localDate);
-                                    frame.cols().add(country, Double.class);
-                                    frame.setDouble(localDate, country, indicatorValue);
+                                    final Double indicatorValue = doubleParser.apply(value);
+                                    page.add(localDate, country, indicatorValue != null ? indicatorValue : Double.NaN);
                                     name = null; date = null; value = null; country = null;
                                 }
                             }
                         }
                     }
                 }
-                return frame;
+                return page;
             } catch (Exception ex) {
                 throw new WBException("Failed to extract indicator values for " + indicator, ex);
             }
@@ -200,6 +210,60 @@ public class WBIndicatorSource implements DataFrameSource<LocalDate,String,WBInd
     }
 
 
+    /**
+     * The indicator observations parsed from one page of a World Bank response, held in columns
+     */
+    private static class IndicatorPage {
+
+        private ArrayBuilder<LocalDate> dates = ArrayBuilder.of(1000, LocalDate.class);
+        private ArrayBuilder<String> countries = ArrayBuilder.of(1000, String.class);
+        private ArrayBuilder<Double> values = ArrayBuilder.of(1000, Double.class);
+
+        /**
+         * Adds an observation to this page
+         * @param date      the observation date
+         * @param country   the country code
+         * @param value     the indicator value
+         */
+        void add(LocalDate date, String country, double value) {
+            this.dates.append(date);
+            this.countries.append(country);
+            this.values.appendDouble(value);
+        }
+
+        /**
+         * Adds the dates and countries in this page to the row and column keys of the combined frame
+         * @param rowKeys   the row keys for the combined frame
+         * @param colKeys   the column keys for the combined frame
+         */
+        void addKeys(Index<LocalDate> rowKeys, Index<String> colKeys) {
+            final Array<LocalDate> dateArray = dates.toArray();
+            final Array<String> countryArray = countries.toArray();
+            for (int i = 0; i < dateArray.length(); ++i) {
+                rowKeys.add(dateArray.getValue(i));
+                colKeys.add(countryArray.getValue(i));
+            }
+        }
+
+        /**
+         * Writes the values in this page into the combined frame, retaining any value written by an earlier page
+         * @param frame     the combined frame
+         */
+        void apply(DataFrame<LocalDate,String> frame) {
+            final Array<LocalDate> dateArray = dates.toArray();
+            final Array<String> countryArray = countries.toArray();
+            final Array<Double> valueArray = values.toArray();
+            for (int i = 0; i < dateArray.length(); ++i) {
+                final LocalDate date = dateArray.getValue(i);
+                final String country = countryArray.getValue(i);
+                if (Double.isNaN(frame.getDouble(date, country))) {
+                    frame.setDouble(date, country, valueArray.getDouble(i));
+                }
+            }
+        }
+    }
+
+
     /**
      * An options definition for the WBIndicatorSource
      */